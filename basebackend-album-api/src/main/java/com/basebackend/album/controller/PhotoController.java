@@ -7,6 +7,8 @@ import com.basebackend.album.dto.UploadPhotoDTO;
 import com.basebackend.album.service.PhotoService;
 import com.basebackend.album.service.TimelineService;
 import com.basebackend.album.vo.PhotoVO;
+import com.basebackend.album.vo.TimelineDayVO;
+import com.basebackend.album.vo.TimelinePageVO;
 import com.basebackend.album.vo.TimelineVO;
 import com.basebackend.common.context.UserContextHolder;
 import com.basebackend.common.dto.PageResult;
@@ -103,6 +105,22 @@ public class PhotoController {
         return Result.success(timelineService.getTimeline(userId, page, size));
     }
 
+    /** 时间轴（游标滚动） */
+    @GetMapping("/timeline/scroll")
+    public Result<TimelinePageVO> scrollTimeline(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        Long userId = UserContextHolder.requireUserId();
+        return Result.success(timelineService.scrollTimeline(userId, cursor, size));
+    }
+
+    /** 时间轴日期标题 */
+    @GetMapping("/timeline/days")
+    public Result<List<TimelineDayVO>> timelineDays() {
+        Long userId = UserContextHolder.requireUserId();
+        return Result.success(timelineService.getTimelineDays(userId));
+    }
+
     /** 搜索照片 */
     @GetMapping("/search")
     public Result<PageResult<PhotoVO>> searchPhotos(
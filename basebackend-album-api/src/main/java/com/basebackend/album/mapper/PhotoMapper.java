@@ -2,7 +2,18 @@ package com.basebackend.album.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.basebackend.album.entity.Photo;
+import com.basebackend.album.vo.TimelineDayVO;
+import org.apache.ibatis.annotations.Arg;
+import org.apache.ibatis.annotations.ConstructorArgs;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 照片/视频 Mapper
@@ -11,4 +22,90 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface PhotoMapper extends BaseMapper<Photo> {
+
+    /**
+     * 按日期分组统计照片数量（时间倒序）
+     * <p>
+     * 走 idx_album_day(album_id, shoot_date) 覆盖索引，只返回日期和数量。
+     * </p>
+     */
+    @Select("""
+            <script>
+            SELECT shoot_date AS day, COUNT(*) AS cnt
+            FROM album_photo
+            WHERE deleted = 0
+              AND album_id IN
+              <foreach collection="albumIds" item="albumId" open="(" separator="," close=")">#{albumId}</foreach>
+            GROUP BY shoot_date
+            ORDER BY shoot_date DESC
+            </script>
+            """)
+    @ConstructorArgs({
+            @Arg(column = "day", javaType = LocalDate.class),
+            @Arg(column = "cnt", javaType = Integer.class)
+    })
+    List<TimelineDayVO> selectDayBuckets(@Param("albumIds") Collection<Long> albumIds);
+
+    /**
+     * 时间轴 keyset 分页：取排在游标 (sortTime, id) 之后的 limit 张照片
+     *
+     * @param albumIds   可见相册ID
+     * @param cursorTime 游标排序时间（首页为 null）
+     * @param cursorId   游标照片ID
+     * @param limit      条数
+     */
+    @Select("""
+            <script>
+            SELECT * FROM album_photo
+            WHERE deleted = 0
+              AND album_id IN
+              <foreach collection="albumIds" item="albumId" open="(" separator="," close=")">#{albumId}</foreach>
+              <if test="cursorTime != null">
+                AND (sort_time &lt; #{cursorTime} OR (sort_time = #{cursorTime} AND id &lt; #{cursorId}))
+              </if>
+            ORDER BY sort_time DESC, id DESC
+            LIMIT #{limit}
+            </script>
+            """)
+    List<Photo> selectTimelinePage(@Param("albumIds") Collection<Long> albumIds,
+                                   @Param("cursorTime") LocalDateTime cursorTime,
+                                   @Param("cursorId") Long cursorId,
+                                   @Param("limit") int limit);
+
+    /**
+     * 查询日期区间内的照片（含首尾日期，时间倒序）
+     */
+    @Select("""
+            <script>
+            SELECT * FROM album_photo
+            WHERE deleted = 0
+              AND album_id IN
+              <foreach collection="albumIds" item="albumId" open="(" separator="," close=")">#{albumId}</foreach>
+              AND shoot_date BETWEEN #{fromDay} AND #{toDay}
+            ORDER BY sort_time DESC, id DESC
+            </script>
+            """)
+    List<Photo> selectByDayRange(@Param("albumIds") Collection<Long> albumIds,
+                                 @Param("fromDay") LocalDate fromDay,
+                                 @Param("toDay") LocalDate toDay);
+
+    /**
+     * 回填媒体处理结果
+     * <p>
+     * 固定列的 SQL 便于 BATCH 执行器合并为一个 JDBC 批次；
+     * 拍摄时间和坐标只在为空时回填，不覆盖用户手动修改的值。
+     * </p>
+     */
+    @Update("""
+            UPDATE album_photo SET
+                width = COALESCE(#{width}, width),
+                height = COALESCE(#{height}, height),
+                thumbnail_path = COALESCE(#{thumbnailPath}, thumbnail_path),
+                taken_at = COALESCE(taken_at, #{takenAt}),
+                latitude = COALESCE(latitude, #{latitude}),
+                longitude = COALESCE(longitude, #{longitude}),
+                exif_data = COALESCE(#{exifData}, exif_data)
+            WHERE id = #{id}
+            """)
+    int updateMediaInfo(Photo photo);
 }
@@ -0,0 +1,34 @@
+package com.basebackend.album.media;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 从图片头部解析出的 EXIF 信息
+ *
+ * @param takenAt     拍摄时间（DateTimeOriginal）
+ * @param orientation 方向（1-8，缺省为 1）
+ * @param make        设备厂商
+ * @param model       设备型号
+ * @param latitude    纬度
+ * @param longitude   经度
+ * @author BearTeam
+ */
+public record ExifMetadata(
+        LocalDateTime takenAt,
+        int orientation,
+        String make,
+        String model,
+        BigDecimal latitude,
+        BigDecimal longitude
+) {
+
+    public static final ExifMetadata EMPTY = new ExifMetadata(null, 1, null, null, null, null);
+
+    /**
+     * 方向为 5-8 时图片需旋转 90°，宽高互换
+     */
+    public boolean swapsDimensions() {
+        return orientation >= 5 && orientation <= 8;
+    }
+}
@@ -0,0 +1,243 @@
+package com.basebackend.album.media;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 流式 EXIF 解析器
+ * <p>
+ * 顺序扫描 JPEG 段头，只读取 APP1(Exif) 段（最多 64KB），遇到图像数据（SOS）即停止，
+ * 不解码像素、不依赖第三方库。仅提取时间轴和展示需要的少量标签，损坏或缺失的标签按空值处理。
+ * </p>
+ *
+ * @author BearTeam
+ */
+public final class ExifReader {
+
+    private static final DateTimeFormatter EXIF_TIME = DateTimeFormatter.ofPattern("yyyy:MM:dd HH:mm:ss");
+
+    private static final int MAX_IFD_ENTRIES = 512;
+
+    private static final int TAG_MAKE = 0x010F;
+    private static final int TAG_MODEL = 0x0110;
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TAG_DATE_TIME = 0x0132;
+    private static final int TAG_EXIF_IFD = 0x8769;
+    private static final int TAG_GPS_IFD = 0x8825;
+    private static final int TAG_DATE_TIME_ORIGINAL = 0x9003;
+    private static final int TAG_GPS_LATITUDE_REF = 0x0001;
+    private static final int TAG_GPS_LATITUDE = 0x0002;
+    private static final int TAG_GPS_LONGITUDE_REF = 0x0003;
+    private static final int TAG_GPS_LONGITUDE = 0x0004;
+
+    private static final int TYPE_ASCII = 2;
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_RATIONAL = 5;
+
+    private ExifReader() {
+    }
+
+    /**
+     * 从 JPEG 数据流头部读取 EXIF；非 JPEG 或无 EXIF 时返回 {@link ExifMetadata#EMPTY}
+     *
+     * @param input 图片数据流（由调用方关闭，建议带缓冲）
+     */
+    public static ExifMetadata read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        try {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return ExifMetadata.EMPTY;
+            }
+            while (true) {
+                if (in.readUnsignedByte() != 0xFF) {
+                    return ExifMetadata.EMPTY;
+                }
+                int marker = in.readUnsignedByte();
+                while (marker == 0xFF) {
+                    marker = in.readUnsignedByte();
+                }
+                if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD8)) {
+                    continue;
+                }
+                // 图像数据开始：EXIF 只会出现在其之前
+                if (marker == 0xDA || marker == 0xD9) {
+                    return ExifMetadata.EMPTY;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return ExifMetadata.EMPTY;
+                }
+                if (marker == 0xE1 && length > 6) {
+                    byte[] segment = in.readNBytes(length);
+                    if (segment.length == length && isExifHeader(segment)) {
+                        try {
+                            return parseTiff(ByteBuffer.wrap(segment, 6, length - 6).slice());
+                        } catch (IndexOutOfBoundsException e) {
+                            // EXIF 偏移量损坏
+                            return ExifMetadata.EMPTY;
+                        }
+                    }
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (EOFException e) {
+            return ExifMetadata.EMPTY;
+        }
+    }
+
+    private static boolean isExifHeader(byte[] segment) {
+        return segment[0] == 'E' && segment[1] == 'x' && segment[2] == 'i' && segment[3] == 'f'
+                && segment[4] == 0 && segment[5] == 0;
+    }
+
+    static ExifMetadata parseTiff(ByteBuffer tiff) {
+        if (tiff.remaining() < 8) {
+            return ExifMetadata.EMPTY;
+        }
+        short byteOrder = tiff.getShort(0);
+        if (byteOrder == 0x4949) {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (byteOrder == 0x4D4D) {
+            tiff.order(ByteOrder.BIG_ENDIAN);
+        } else {
+            return ExifMetadata.EMPTY;
+        }
+        if ((tiff.getShort(2) & 0xFFFF) != 42) {
+            return ExifMetadata.EMPTY;
+        }
+
+        Map<Integer, Integer> ifd0 = readIfd(tiff, tiff.getInt(4));
+        Map<Integer, Integer> exifIfd = readIfd(tiff, intValue(tiff, ifd0.get(TAG_EXIF_IFD), -1));
+        Map<Integer, Integer> gpsIfd = readIfd(tiff, intValue(tiff, ifd0.get(TAG_GPS_IFD), -1));
+
+        LocalDateTime takenAt = parseTime(ascii(tiff, exifIfd.get(TAG_DATE_TIME_ORIGINAL)));
+        if (takenAt == null) {
+            takenAt = parseTime(ascii(tiff, ifd0.get(TAG_DATE_TIME)));
+        }
+        int orientation = intValue(tiff, ifd0.get(TAG_ORIENTATION), 1);
+        if (orientation < 1 || orientation > 8) {
+            orientation = 1;
+        }
+        return new ExifMetadata(
+                takenAt,
+                orientation,
+                ascii(tiff, ifd0.get(TAG_MAKE)),
+                ascii(tiff, ifd0.get(TAG_MODEL)),
+                coordinate(tiff, gpsIfd.get(TAG_GPS_LATITUDE), ascii(tiff, gpsIfd.get(TAG_GPS_LATITUDE_REF)), "S"),
+                coordinate(tiff, gpsIfd.get(TAG_GPS_LONGITUDE), ascii(tiff, gpsIfd.get(TAG_GPS_LONGITUDE_REF)), "W"));
+    }
+
+    /**
+     * 读取一个 IFD，返回 标签 -> 条目起始位置
+     */
+    private static Map<Integer, Integer> readIfd(ByteBuffer tiff, int offset) {
+        Map<Integer, Integer> entries = new HashMap<>();
+        if (offset < 8 || offset + 2 > tiff.limit()) {
+            return entries;
+        }
+        int count = Math.min(tiff.getShort(offset) & 0xFFFF, MAX_IFD_ENTRIES);
+        for (int i = 0; i < count; i++) {
+            int entry = offset + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                break;
+            }
+            entries.put(tiff.getShort(entry) & 0xFFFF, entry);
+        }
+        return entries;
+    }
+
+    /**
+     * 条目值所在位置：不超过 4 字节时内联在条目中，否则为偏移量
+     */
+    private static int valuePosition(ByteBuffer tiff, int entry, int byteCount) {
+        return byteCount <= 4 ? entry + 8 : tiff.getInt(entry + 8);
+    }
+
+    private static int intValue(ByteBuffer tiff, Integer entry, int defaultValue) {
+        if (entry == null) {
+            return defaultValue;
+        }
+        int type = tiff.getShort(entry + 2) & 0xFFFF;
+        if (type == TYPE_SHORT) {
+            return tiff.getShort(entry + 8) & 0xFFFF;
+        }
+        if (type == TYPE_LONG) {
+            return tiff.getInt(entry + 8);
+        }
+        return defaultValue;
+    }
+
+    private static String ascii(ByteBuffer tiff, Integer entry) {
+        if (entry == null || (tiff.getShort(entry + 2) & 0xFFFF) != TYPE_ASCII) {
+            return null;
+        }
+        int count = tiff.getInt(entry + 4);
+        int position = valuePosition(tiff, entry, count);
+        if (count <= 0 || count > tiff.limit() || position < 0 || position + count > tiff.limit()) {
+            return null;
+        }
+        byte[] bytes = new byte[count];
+        tiff.get(position, bytes);
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] == 0) {
+            end--;
+        }
+        String value = new String(bytes, 0, end, StandardCharsets.US_ASCII).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 度分秒（3 个 RATIONAL）转为 7 位小数的十进制坐标
+     */
+    private static BigDecimal coordinate(ByteBuffer tiff, Integer entry, String ref, String negativeRef) {
+        if (entry == null || (tiff.getShort(entry + 2) & 0xFFFF) != TYPE_RATIONAL
+                || tiff.getInt(entry + 4) < 3) {
+            return null;
+        }
+        int position = tiff.getInt(entry + 8);
+        if (position < 0 || position + 24 > tiff.limit()) {
+            return null;
+        }
+        double degrees = rational(tiff, position)
+                + rational(tiff, position + 8) / 60
+                + rational(tiff, position + 16) / 3600;
+        if (Double.isNaN(degrees) || Double.isInfinite(degrees)) {
+            return null;
+        }
+        if (negativeRef.equalsIgnoreCase(ref)) {
+            degrees = -degrees;
+        }
+        return BigDecimal.valueOf(degrees).setScale(7, RoundingMode.HALF_UP);
+    }
+
+    private static double rational(ByteBuffer tiff, int position) {
+        long numerator = tiff.getInt(position) & 0xFFFFFFFFL;
+        long denominator = tiff.getInt(position + 4) & 0xFFFFFFFFL;
+        return denominator == 0 ? 0 : (double) numerator / denominator;
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value, EXIF_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.basebackend.album.media;
+
+import com.basebackend.album.entity.Photo;
+import com.basebackend.album.mapper.PhotoMapper;
+import com.basebackend.album.service.TimelineService;
+import com.basebackend.common.util.JsonUtils;
+import com.basebackend.file.config.MinioProperties;
+import com.basebackend.file.service.FileService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 相册媒体异步处理流水线
+ * <p>
+ * 照片入库（事务提交）后投递到有界工作线程池，依次完成：
+ * <ol>
+ *     <li>EXIF：只读取文件头部的 APP1 段，得到拍摄时间、方向、设备和坐标</li>
+ *     <li>缩略图：降采样解码一次，按配置倍率输出多个尺寸，同时得到原图宽高</li>
+ *     <li>回填：结果进入待写队列，按条数或时间间隔以 JDBC 批量更新；
+ *     拍摄时间回填使照片换日时，提交后清除原日期和新日期的时间轴日期缓存</li>
+ * </ol>
+ * 工作队列满时由提交线程自行处理（CallerRuns），上传量突增时自然限速而不会无限堆积。
+ * 各阶段耗时记录为 {@code album.media.stage}，队列深度记录为 {@code album.media.queue}。
+ * </p>
+ *
+ * @author BearTeam
+ */
+@Slf4j
+@Component
+public class MediaProcessingPipeline {
+
+    private static final String METRIC_STAGE = "album.media.stage";
+    private static final String METRIC_QUEUE = "album.media.queue";
+    private static final String METRIC_PROCESSED = "album.media.processed";
+
+    private final MediaProcessingProperties properties;
+    private final MinioProperties minioProperties;
+    private final FileService fileService;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final MeterRegistry meterRegistry;
+    private final TimelineService timelineService;
+
+    private final BlockingQueue<PendingUpdate> pendingUpdates = new LinkedBlockingQueue<>();
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public MediaProcessingPipeline(MediaProcessingProperties properties,
+                                   MinioProperties minioProperties,
+                                   FileService fileService,
+                                   SqlSessionFactory sqlSessionFactory,
+                                   @Autowired(required = false) MeterRegistry meterRegistry,
+                                   TimelineService timelineService) {
+        this.properties = properties;
+        this.minioProperties = minioProperties;
+        this.fileService = fileService;
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.meterRegistry = meterRegistry;
+        this.timelineService = timelineService;
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, properties.getWorkerThreads());
+        workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                Thread.ofPlatform().name("album-media-", 0).daemon().factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("album-media-flush").daemon().factory());
+        long interval = Math.max(50, properties.getFlushIntervalMs());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_QUEUE, workers, e -> e.getQueue().size())
+                    .tag("queue", "work")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_QUEUE, pendingUpdates, BlockingQueue::size)
+                    .tag("queue", "update")
+                    .register(meterRegistry);
+        }
+        log.info("相册媒体处理流水线已启动: workers={}, queueCapacity={}, batchSize={}",
+                threads, properties.getQueueCapacity(), properties.getBatchSize());
+    }
+
+    /**
+     * 投递照片处理任务；处于事务中时在提交后投递，保证工作线程能看到照片记录
+     */
+    public void submit(Photo photo) {
+        if (!properties.isEnabled() || !isImage(photo)) {
+            return;
+        }
+        MediaTask task = new MediaTask(photo.getId(), photo.getFilePath(), timelineDay(photo));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(task);
+                }
+            });
+        } else {
+            enqueue(task);
+        }
+    }
+
+    private void enqueue(MediaTask task) {
+        if (workers.isShutdown()) {
+            return;
+        }
+        workers.execute(() -> process(task));
+    }
+
+    void process(MediaTask task) {
+        try {
+            Path source = fileService.getFile(task.filePath()).toPath();
+
+            ExifMetadata exif = timed("exif", () -> readExif(source));
+            Photo update = timed("thumbnail", () -> generateThumbnails(task, source, exif));
+            if (update == null) {
+                count("skipped");
+                return;
+            }
+            pendingUpdates.add(new PendingUpdate(update, task.timelineDay()));
+            count("success");
+            if (pendingUpdates.size() >= properties.getBatchSize()) {
+                flusher.execute(this::flushQuietly);
+            }
+        } catch (RuntimeException e) {
+            count("failed");
+            log.warn("照片媒体处理失败: photoId={}, error={}", task.photoId(), e.getMessage());
+        }
+    }
+
+    private ExifMetadata readExif(Path source) {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source))) {
+            return ExifReader.read(in);
+        } catch (IOException e) {
+            log.debug("读取 EXIF 失败: path={}, error={}", source, e.getMessage());
+            return ExifMetadata.EMPTY;
+        }
+    }
+
+    /**
+     * 生成缩略图并组装待回填的字段；格式不受支持时返回 null
+     */
+    private Photo generateThumbnails(MediaTask task, Path source, ExifMetadata exif) {
+        int baseWidth = properties.getThumbnailWidth() != null
+                ? properties.getThumbnailWidth() : minioProperties.getThumbnailWidth();
+        int baseHeight = properties.getThumbnailHeight() != null
+                ? properties.getThumbnailHeight() : minioProperties.getThumbnailHeight();
+        float quality = properties.getImageQuality() != null
+                ? properties.getImageQuality() : minioProperties.getImageQuality();
+
+        List<ThumbnailGenerator.Target> targets = new ArrayList<>();
+        List<String> accessPaths = new ArrayList<>();
+        for (Integer scale : properties.getThumbnailScales()) {
+            int width = baseWidth * scale;
+            int height = baseHeight * scale;
+            String accessPath = thumbnailPath(task.filePath(), width, height);
+            targets.add(new ThumbnailGenerator.Target(width, height,
+                    source.resolveSibling(accessPath.substring(accessPath.lastIndexOf('/') + 1))));
+            accessPaths.add(accessPath);
+        }
+
+        try {
+            ThumbnailGenerator.Dimension original = ThumbnailGenerator.probe(source);
+            if (original == null) {
+                return null;
+            }
+            List<ThumbnailGenerator.Dimension> generated =
+                    ThumbnailGenerator.generate(source, targets, exif.orientation(), quality);
+
+            Photo update = new Photo();
+            update.setId(task.photoId());
+            // 宽高按摆正后的方向记录
+            update.setWidth(exif.swapsDimensions() ? original.height() : original.width());
+            update.setHeight(exif.swapsDimensions() ? original.width() : original.height());
+            update.setThumbnailPath(generated.isEmpty() ? null : accessPaths.getFirst());
+            update.setTakenAt(exif.takenAt());
+            update.setLatitude(exif.latitude());
+            update.setLongitude(exif.longitude());
+            update.setExifData(exifJson(exif));
+            return update;
+        } catch (IOException e) {
+            throw new IllegalStateException("缩略图生成失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 缩略图访问路径：原图同目录，文件名追加尺寸后缀
+     */
+    static String thumbnailPath(String filePath, int width, int height) {
+        int slash = filePath.lastIndexOf('/');
+        int dot = filePath.lastIndexOf('.');
+        String base = dot > slash ? filePath.substring(0, dot) : filePath;
+        return base + "_" + width + "x" + height + ".jpg";
+    }
+
+    private static String exifJson(ExifMetadata exif) {
+        if (ExifMetadata.EMPTY.equals(exif)) {
+            return null;
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (exif.takenAt() != null) {
+            values.put("DateTimeOriginal", exif.takenAt().toString());
+        }
+        values.put("Orientation", exif.orientation());
+        if (exif.make() != null) {
+            values.put("Make", exif.make());
+        }
+        if (exif.model() != null) {
+            values.put("Model", exif.model());
+        }
+        return JsonUtils.toJsonString(values);
+    }
+
+    /**
+     * 批量回填：同一 SQL 在 BATCH 执行器下合并为一次 JDBC 批量提交
+     */
+    void flush() {
+        List<PendingUpdate> batch = new ArrayList<>(properties.getBatchSize());
+        while (pendingUpdates.drainTo(batch, properties.getBatchSize()) > 0) {
+            List<PendingUpdate> current = batch;
+            Set<LocalDate> movedDays = new HashSet<>();
+            timed("flush", () -> {
+                try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, true)) {
+                    PhotoMapper mapper = session.getMapper(PhotoMapper.class);
+                    for (PendingUpdate pending : current) {
+                        mapper.updateMediaInfo(pending.photo());
+                        pending.collectMovedDays(movedDays);
+                    }
+                    session.flushStatements();
+                }
+                return null;
+            });
+            // 回填已提交后再清缓存，避免并发请求把旧日期重新加载进缓存
+            if (!movedDays.isEmpty()) {
+                timelineService.evictTimelineDays(movedDays);
+            }
+            log.debug("照片媒体信息批量回填: count={}, movedDays={}", current.size(), movedDays.size());
+            batch = new ArrayList<>(properties.getBatchSize());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("照片媒体信息回填失败: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("相册媒体处理未在 30 秒内完成，剩余任务将被丢弃: {}", workers.shutdownNow().size());
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushQuietly();
+    }
+
+    /**
+     * 照片当前所在的时间轴日期，与库表生成列 shoot_date 一致
+     */
+    private static LocalDate timelineDay(Photo photo) {
+        LocalDateTime sortTime = photo.getTakenAt() != null ? photo.getTakenAt() : photo.getCreateTime();
+        return sortTime != null ? sortTime.toLocalDate() : LocalDate.now();
+    }
+
+    private static boolean isImage(Photo photo) {
+        if (photo.getMediaType() != null && photo.getMediaType() != 0) {
+            return false;
+        }
+        return photo.getMimeType() == null || photo.getMimeType().startsWith("image/");
+    }
+
+    private <T> T timed(String stage, Supplier<T> action) {
+        if (meterRegistry == null) {
+            return action.get();
+        }
+        return Timer.builder(METRIC_STAGE)
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(action);
+    }
+
+    private void count(String result) {
+        if (meterRegistry != null) {
+            meterRegistry.counter(METRIC_PROCESSED, "result", result).increment();
+        }
+    }
+
+    /**
+     * 处理任务
+     */
+    record MediaTask(Long photoId, String filePath, LocalDate timelineDay) {
+    }
+
+    /**
+     * 待回填的媒体信息及照片回填前所在的时间轴日期
+     */
+    record PendingUpdate(Photo photo, LocalDate previousDay) {
+
+        /**
+         * 拍摄时间回填使照片换日时，收集原日期和新日期
+         */
+        void collectMovedDays(Set<LocalDate> days) {
+            if (photo.getTakenAt() == null) {
+                return;
+            }
+            LocalDate newDay = photo.getTakenAt().toLocalDate();
+            if (!newDay.equals(previousDay)) {
+                days.add(previousDay);
+                days.add(newDay);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.basebackend.album.media;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 相册媒体处理配置
+ * <p>
+ * 缩略图基准尺寸和压缩质量未配置时沿用 {@code minio.thumbnail-width/height}、{@code minio.image-quality}。
+ * </p>
+ *
+ * @author BearTeam
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "album.media")
+public class MediaProcessingProperties {
+
+    /**
+     * 是否启用上传后异步处理
+     */
+    private boolean enabled = true;
+
+    /**
+     * 处理线程数
+     */
+    private int workerThreads = 2;
+
+    /**
+     * 待处理队列容量，队列满时由提交线程自行处理（反压）
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * 元数据批量更新条数
+     */
+    private int batchSize = 50;
+
+    /**
+     * 元数据批量更新最大间隔（毫秒）
+     */
+    private long flushIntervalMs = 500;
+
+    /**
+     * 缩略图倍率：1 为网格图，2 为高清预览；数据库记录第一个倍率的路径
+     */
+    private List<Integer> thumbnailScales = List.of(1, 2);
+
+    /**
+     * 缩略图基准宽度，为空时使用 MinIO 配置
+     */
+    private Integer thumbnailWidth;
+
+    /**
+     * 缩略图基准高度，为空时使用 MinIO 配置
+     */
+    private Integer thumbnailHeight;
+
+    /**
+     * 缩略图 JPEG 质量（0.0-1.0），为空时使用 MinIO 配置
+     */
+    private Float imageQuality;
+}
@@ -0,0 +1,242 @@
+package com.basebackend.album.media;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 缩略图生成器
+ * <p>
+ * 先只读图片头获取原始尺寸，再按最大目标尺寸计算整数降采样因子，
+ * 通过 {@link ImageReadParam#setSourceSubsampling} 在解码阶段跳过像素，
+ * 内存中只保留不小于目标尺寸的降采样位图，不会持有原图全分辨率栅格。
+ * 多个尺寸共用一次解码，缩放前按 EXIF 方向摆正。
+ * </p>
+ *
+ * @author BearTeam
+ */
+public final class ThumbnailGenerator {
+
+    private ThumbnailGenerator() {
+    }
+
+    /**
+     * 读取图片原始尺寸（不解码像素）
+     *
+     * @return 尺寸，格式不受支持时返回 null
+     */
+    public static Dimension probe(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            ImageReader reader = readerFor(input);
+            if (reader == null) {
+                return null;
+            }
+            try {
+                reader.setInput(input, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 生成多个尺寸的 JPEG 缩略图（等比缩放到目标框内，不放大）
+     *
+     * @param source      原图
+     * @param targets     目标尺寸与输出路径
+     * @param orientation EXIF 方向（1-8）
+     * @param quality     JPEG 质量（0.0-1.0）
+     * @return 实际输出的尺寸，与 targets 顺序一致；格式不受支持时返回空列表
+     */
+    public static List<Dimension> generate(Path source, List<Target> targets, int orientation,
+                                           float quality) throws IOException {
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+        boolean swap = orientation >= 5 && orientation <= 8;
+        Target largest = targets.stream()
+                .max(Comparator.comparingLong(t -> (long) t.width() * t.height()))
+                .orElseThrow();
+
+        BufferedImage decoded;
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            ImageReader reader = readerFor(input);
+            if (reader == null) {
+                return List.of();
+            }
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                // 旋转 90° 的图片，目标框的宽高对应原图的高宽
+                int boxWidth = swap ? largest.height() : largest.width();
+                int boxHeight = swap ? largest.width() : largest.height();
+                ImageReadParam param = reader.getDefaultReadParam();
+                int factor = subsamplingFactor(width, height, boxWidth, boxHeight);
+                if (factor > 1) {
+                    param.setSourceSubsampling(factor, factor, 0, 0);
+                }
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        BufferedImage oriented = orient(decoded, orientation);
+        List<Dimension> results = new ArrayList<>(targets.size());
+        for (Target target : targets) {
+            BufferedImage scaled = fit(oriented, target.width(), target.height());
+            writeJpeg(scaled, target.output(), quality);
+            results.add(new Dimension(scaled.getWidth(), scaled.getHeight()));
+        }
+        return results;
+    }
+
+    /**
+     * 最大整数降采样因子：降采样后仍不小于目标框，保证缩放质量
+     */
+    static int subsamplingFactor(int width, int height, int boxWidth, int boxHeight) {
+        if (boxWidth <= 0 || boxHeight <= 0) {
+            return 1;
+        }
+        double scale = Math.min((double) boxWidth / width, (double) boxHeight / height);
+        if (scale >= 1) {
+            return 1;
+        }
+        return Math.max(1, (int) Math.floor(1 / scale));
+    }
+
+    private static ImageReader readerFor(ImageInputStream input) {
+        if (input == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        return readers.hasNext() ? readers.next() : null;
+    }
+
+    private static BufferedImage fit(BufferedImage image, int boxWidth, int boxHeight) {
+        double scale = Math.min(1.0, Math.min((double) boxWidth / image.getWidth(),
+                (double) boxHeight / image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // 透明背景（PNG/GIF）输出为 JPEG 时铺白底
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * 按 EXIF 方向摆正图片
+     */
+    static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean swap = orientation >= 5;
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2 -> {
+                transform.translate(w, 0);
+                transform.scale(-1, 1);
+            }
+            case 3 -> {
+                transform.translate(w, h);
+                transform.rotate(Math.PI);
+            }
+            case 4 -> {
+                transform.translate(0, h);
+                transform.scale(1, -1);
+            }
+            case 5 -> {
+                transform.rotate(Math.PI / 2);
+                transform.scale(1, -1);
+            }
+            case 6 -> {
+                transform.translate(h, 0);
+                transform.rotate(Math.PI / 2);
+            }
+            case 7 -> {
+                transform.scale(-1, 1);
+                transform.translate(-h, w);
+                transform.rotate(3 * Math.PI / 2);
+            }
+            case 8 -> {
+                transform.translate(0, w);
+                transform.rotate(3 * Math.PI / 2);
+            }
+            default -> {
+                return image;
+            }
+        }
+        BufferedImage result = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.drawImage(image, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path output, float quality) throws IOException {
+        Path parent = output.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(output.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(Math.clamp(quality, 0.1f, 1.0f));
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 缩略图目标
+     *
+     * @param width  目标框宽度
+     * @param height 目标框高度
+     * @param output 输出文件
+     */
+    public record Target(int width, int height, Path output) {
+    }
+
+    /**
+     * 图片尺寸
+     */
+    public record Dimension(int width, int height) {
+    }
+}
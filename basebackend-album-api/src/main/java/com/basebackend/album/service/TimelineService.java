@@ -1,7 +1,11 @@
 package com.basebackend.album.service;
 
+import com.basebackend.album.vo.TimelineDayVO;
+import com.basebackend.album.vo.TimelinePageVO;
 import com.basebackend.album.vo.TimelineVO;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,4 +24,36 @@ public interface TimelineService {
      * @return 时间轴列表
      */
     List<TimelineVO> getTimeline(Long userId, int page, int size);
+
+    /**
+     * 按游标滚动查询时间轴
+     *
+     * @param userId 当前用户ID
+     * @param cursor 上一页返回的游标，首页传 null
+     * @param size   每页照片数
+     * @return 时间轴分页
+     */
+    TimelinePageVO scrollTimeline(Long userId, String cursor, int size);
+
+    /**
+     * 查询时间轴日期标题（日期 + 当日照片数）
+     *
+     * @param userId 当前用户ID
+     * @return 日期分组列表（时间倒序）
+     */
+    List<TimelineDayVO> getTimelineDays(Long userId);
+
+    /**
+     * 清除用户的日期分组缓存（照片增删后调用）
+     *
+     * @param userId 用户ID
+     */
+    void evictTimelineDays(Long userId);
+
+    /**
+     * 清除包含指定日期的日期分组缓存（照片拍摄时间回填或变更后调用，传入原日期和新日期）
+     *
+     * @param days 受影响的日期
+     */
+    void evictTimelineDays(Collection<LocalDate> days);
 }
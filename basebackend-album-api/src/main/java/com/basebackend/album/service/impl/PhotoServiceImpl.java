@@ -13,7 +13,9 @@ import com.basebackend.album.entity.PhotoLike;
 import com.basebackend.album.mapper.AlbumMapper;
 import com.basebackend.album.mapper.PhotoLikeMapper;
 import com.basebackend.album.mapper.PhotoMapper;
+import com.basebackend.album.media.MediaProcessingPipeline;
 import com.basebackend.album.service.PhotoService;
+import com.basebackend.album.service.TimelineService;
 import com.basebackend.album.vo.PhotoVO;
 import com.basebackend.common.dto.PageResult;
 import com.basebackend.common.exception.BusinessException;
@@ -40,6 +42,8 @@ public class PhotoServiceImpl implements PhotoService {
     private final AlbumMapper albumMapper;
     private final PhotoLikeMapper photoLikeMapper;
     private final FileService fileService;
+    private final TimelineService timelineService;
+    private final MediaProcessingPipeline mediaProcessingPipeline;
 
     /**
      * 将照片实体转为 VO
@@ -99,11 +103,14 @@ public class PhotoServiceImpl implements PhotoService {
         }
 
         photoMapper.insert(photo);
+        // 缩略图、EXIF、宽高在事务提交后异步回填
+        mediaProcessingPipeline.submit(photo);
 
         // 更新相册照片计数
         album.setPhotoCount(album.getPhotoCount() + 1);
         albumMapper.updateById(album);
 
+        timelineService.evictTimelineDays(userId);
         log.info("照片上传成功: photoId={}, albumId={}", photo.getId(), dto.albumId());
         return toVO(photo, userId);
     }
@@ -154,6 +161,7 @@ public class PhotoServiceImpl implements PhotoService {
         }
         // 软删除
         photoMapper.deleteById(photoId);
+        timelineService.evictTimelineDays(userId);
 
         // 更新相册照片计数
         Album album = albumMapper.selectById(photo.getAlbumId());
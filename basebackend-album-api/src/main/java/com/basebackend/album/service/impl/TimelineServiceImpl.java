@@ -11,17 +11,31 @@ import com.basebackend.album.mapper.PhotoLikeMapper;
 import com.basebackend.album.mapper.PhotoMapper;
 import com.basebackend.album.service.TimelineService;
 import com.basebackend.album.vo.PhotoVO;
+import com.basebackend.album.vo.TimelineDayVO;
+import com.basebackend.album.vo.TimelinePageVO;
 import com.basebackend.album.vo.TimelineVO;
+import com.basebackend.common.exception.BusinessException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * 时间轴服务实现
+ * <p>
+ * 排序时间为 COALESCE(拍摄时间, 上传时间)，与库表生成列 sort_time / shoot_date 保持一致：
+ * <ul>
+ *     <li>日期标题在库内 GROUP BY 得到，按用户短时缓存</li>
+ *     <li>滚动分页按 (sort_time, id) keyset 游标查询，不使用 OFFSET</li>
+ *     <li>当前用户是否点赞对整页照片一次 IN 查询</li>
+ * </ul>
+ * </p>
  *
  * @author BearTeam
  */
@@ -29,79 +43,190 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TimelineServiceImpl implements TimelineService {
 
+    /** 滚动分页单页最大照片数 */
+    private static final int MAX_SCROLL_SIZE = 200;
+
+    private static final String CURSOR_SEPARATOR = "|";
+
     private final PhotoMapper photoMapper;
     private final AlbumMapper albumMapper;
     private final FamilyMemberMapper familyMemberMapper;
     private final PhotoLikeMapper photoLikeMapper;
 
+    /**
+     * 用户日期分组缓存：照片增删时由 {@link #evictTimelineDays(Long)} 清除当前用户，
+     * 其他家庭成员依赖短 TTL 最终一致；拍摄时间回填使照片换日时，
+     * 由 {@link #evictTimelineDays(Collection)} 清除含原日期或新日期的所有用户
+     */
+    private final Cache<Long, List<TimelineDayVO>> dayBucketCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
     @Override
     public List<TimelineVO> getTimeline(Long userId, int page, int size) {
-        // 查询用户所有可见的相册ID（个人 + 所属家庭）
+        List<Long> albumIds = visibleAlbumIds(userId);
+        if (albumIds.isEmpty() || page < 1 || size < 1) {
+            return List.of();
+        }
+
+        // 分页：按日期分组数分页，日期分组来自库内统计
+        List<TimelineDayVO> days = loadDays(userId, albumIds);
+        int fromIndex = (page - 1) * size;
+        if (fromIndex >= days.size()) {
+            return List.of();
+        }
+        List<TimelineDayVO> pageDays = days.subList(fromIndex, Math.min(fromIndex + size, days.size()));
+
+        // 只查询本页日期区间内的照片
+        List<Photo> photos = photoMapper.selectByDayRange(albumIds,
+                pageDays.getLast().date(), pageDays.getFirst().date());
+        Map<LocalDate, List<Photo>> grouped = groupByDay(photos);
+        Set<Long> likedIds = likedPhotoIds(userId, photos);
+
+        List<TimelineVO> result = new ArrayList<>(pageDays.size());
+        for (TimelineDayVO day : pageDays) {
+            List<Photo> dayPhotos = grouped.get(day.date());
+            if (dayPhotos == null) {
+                continue;
+            }
+            List<PhotoVO> photoVOs = dayPhotos.stream().map(p -> toVO(p, likedIds)).toList();
+            result.add(new TimelineVO(day.date(), photoVOs.size(), photoVOs));
+        }
+        return result;
+    }
+
+    @Override
+    public TimelinePageVO scrollTimeline(Long userId, String cursor, int size) {
+        List<Long> albumIds = visibleAlbumIds(userId);
+        if (albumIds.isEmpty()) {
+            return new TimelinePageVO(List.of(), null, false);
+        }
+        int limit = Math.clamp(size, 1, MAX_SCROLL_SIZE);
+        TimelineCursor position = TimelineCursor.decode(cursor);
+
+        // 多取一条判断是否还有下一页
+        List<Photo> photos = photoMapper.selectTimelinePage(albumIds,
+                position != null ? position.sortTime() : null,
+                position != null ? position.photoId() : null,
+                limit + 1);
+        boolean hasMore = photos.size() > limit;
+        if (hasMore) {
+            photos = photos.subList(0, limit);
+        }
+
+        Map<LocalDate, Integer> dayCounts = new HashMap<>();
+        for (TimelineDayVO day : loadDays(userId, albumIds)) {
+            dayCounts.put(day.date(), day.count());
+        }
+        Set<Long> likedIds = likedPhotoIds(userId, photos);
+
+        List<TimelineVO> groups = new ArrayList<>();
+        groupByDay(photos).forEach((day, dayPhotos) -> {
+            List<PhotoVO> photoVOs = dayPhotos.stream().map(p -> toVO(p, likedIds)).toList();
+            // 同一日期可能跨页，count 取当日总数
+            groups.add(new TimelineVO(day, dayCounts.getOrDefault(day, photoVOs.size()), photoVOs));
+        });
+
+        String nextCursor = hasMore ? TimelineCursor.of(photos.getLast()).encode() : null;
+        return new TimelinePageVO(groups, nextCursor, hasMore);
+    }
+
+    @Override
+    public List<TimelineDayVO> getTimelineDays(Long userId) {
+        List<Long> albumIds = visibleAlbumIds(userId);
+        if (albumIds.isEmpty()) {
+            return List.of();
+        }
+        return loadDays(userId, albumIds);
+    }
+
+    @Override
+    public void evictTimelineDays(Long userId) {
+        if (userId != null) {
+            dayBucketCache.invalidate(userId);
+        }
+    }
+
+    @Override
+    public void evictTimelineDays(Collection<LocalDate> days) {
+        if (days == null || days.isEmpty()) {
+            return;
+        }
+        // 能看到该照片的用户，其缓存（照片入库后加载）必然含原日期
+        dayBucketCache.asMap().values().removeIf(cached ->
+                cached.stream().anyMatch(day -> days.contains(day.date())));
+    }
+
+    /**
+     * 查询用户所有可见的相册ID（个人 + 所属家庭）
+     */
+    private List<Long> visibleAlbumIds(Long userId) {
         List<Long> familyIds = familyMemberMapper.selectList(
                 new LambdaQueryWrapper<FamilyMember>()
                         .eq(FamilyMember::getUserId, userId))
                 .stream().map(FamilyMember::getFamilyId).toList();
 
         LambdaQueryWrapper<Album> albumWrapper = new LambdaQueryWrapper<Album>()
+                .select(Album::getId)
                 .and(w -> {
                     w.eq(Album::getOwnerId, userId);
                     if (!familyIds.isEmpty()) {
                         w.or().in(Album::getFamilyId, familyIds);
                     }
                 });
-        List<Long> albumIds = albumMapper.selectList(albumWrapper)
+        return albumMapper.selectList(albumWrapper)
                 .stream().map(Album::getId).toList();
+    }
 
-        if (albumIds.isEmpty()) {
-            return List.of();
-        }
+    private List<TimelineDayVO> loadDays(Long userId, List<Long> albumIds) {
+        return dayBucketCache.get(userId, key -> List.copyOf(photoMapper.selectDayBuckets(albumIds)));
+    }
 
-        // 查询所有照片，按 taken_at 或 create_time 排序
-        List<Photo> photos = photoMapper.selectList(
-                new LambdaQueryWrapper<Photo>()
-                        .in(Photo::getAlbumId, albumIds)
-                        .orderByDesc(Photo::getTakenAt)
-                        .orderByDesc(Photo::getCreateTime));
-
-        // 按日期分组
-        Map<LocalDate, List<Photo>> grouped = photos.stream()
-                .collect(Collectors.groupingBy(
-                        p -> {
-                            LocalDateTime dt = p.getTakenAt() != null ? p.getTakenAt() : p.getCreateTime();
-                            return dt != null ? dt.toLocalDate() : LocalDate.now();
-                        },
-                        LinkedHashMap::new,
-                        Collectors.toList()));
-
-        // 分页：按日期分组数分页
-        List<Map.Entry<LocalDate, List<Photo>>> entries = new ArrayList<>(grouped.entrySet());
-        int fromIndex = (page - 1) * size;
-        int toIndex = Math.min(fromIndex + size, entries.size());
-        if (fromIndex >= entries.size()) {
-            return List.of();
+    /**
+     * 按日期分组（照片已按时间倒序，分组保持顺序）
+     */
+    private static Map<LocalDate, List<Photo>> groupByDay(List<Photo> photos) {
+        Map<LocalDate, List<Photo>> grouped = new LinkedHashMap<>();
+        for (Photo photo : photos) {
+            grouped.computeIfAbsent(sortTime(photo).toLocalDate(), k -> new ArrayList<>()).add(photo);
         }
+        return grouped;
+    }
 
-        List<Map.Entry<LocalDate, List<Photo>>> pageEntries = entries.subList(fromIndex, toIndex);
+    /**
+     * 排序时间，与库表生成列 sort_time 一致
+     */
+    private static LocalDateTime sortTime(Photo photo) {
+        if (photo.getTakenAt() != null) {
+            return photo.getTakenAt();
+        }
+        return photo.getCreateTime() != null ? photo.getCreateTime() : LocalDateTime.now();
+    }
 
-        return pageEntries.stream().map(entry -> {
-            List<PhotoVO> photoVOs = entry.getValue().stream()
-                    .map(p -> toVO(p, userId)).toList();
-            return new TimelineVO(entry.getKey(), photoVOs.size(), photoVOs);
-        }).toList();
+    /**
+     * 一次查询整页照片中当前用户已点赞的照片ID
+     */
+    private Set<Long> likedPhotoIds(Long userId, List<Photo> photos) {
+        if (userId == null || photos.isEmpty()) {
+            return Set.of();
+        }
+        List<Long> photoIds = photos.stream().map(Photo::getId).toList();
+        Set<Long> liked = new HashSet<>();
+        for (PhotoLike like : photoLikeMapper.selectList(
+                new LambdaQueryWrapper<PhotoLike>()
+                        .select(PhotoLike::getPhotoId)
+                        .eq(PhotoLike::getUserId, userId)
+                        .in(PhotoLike::getPhotoId, photoIds))) {
+            liked.add(like.getPhotoId());
+        }
+        return liked;
     }
 
     /**
      * 将照片实体转为 VO
      */
-    private PhotoVO toVO(Photo photo, Long userId) {
-        Boolean liked = false;
-        if (userId != null) {
-            Long likeCount = photoLikeMapper.selectCount(
-                    new LambdaQueryWrapper<PhotoLike>()
-                            .eq(PhotoLike::getPhotoId, photo.getId())
-                            .eq(PhotoLike::getUserId, userId));
-            liked = likeCount > 0;
-        }
+    private PhotoVO toVO(Photo photo, Set<Long> likedIds) {
         return new PhotoVO(
                 photo.getId(), photo.getAlbumId(),
                 photo.getFileName(), photo.getFilePath(),
@@ -112,7 +237,36 @@ public class TimelineServiceImpl implements TimelineService {
                 photo.getLatitude(), photo.getLongitude(),
                 photo.getDescription(), photo.getTags(),
                 photo.getLikeCount(), photo.getCommentCount(),
-                liked, null, photo.getCreateTime()
+                likedIds.contains(photo.getId()), null, photo.getCreateTime()
         );
     }
+
+    /**
+     * 时间轴游标：最后一张照片的 (排序时间, ID)，Base64URL 编码
+     */
+    record TimelineCursor(LocalDateTime sortTime, Long photoId) {
+
+        static TimelineCursor of(Photo photo) {
+            return new TimelineCursor(sortTime(photo), photo.getId());
+        }
+
+        String encode() {
+            String raw = sortTime + CURSOR_SEPARATOR + photoId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TimelineCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int index = raw.lastIndexOf(CURSOR_SEPARATOR);
+                return new TimelineCursor(LocalDateTime.parse(raw.substring(0, index)),
+                        Long.parseLong(raw.substring(index + 1)));
+            } catch (RuntimeException e) {
+                throw BusinessException.paramError("无效的时间轴游标");
+            }
+        }
+    }
 }
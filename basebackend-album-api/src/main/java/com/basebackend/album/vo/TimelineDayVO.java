@@ -0,0 +1,16 @@
+package com.basebackend.album.vo;
+
+import java.time.LocalDate;
+
+/**
+ * 时间轴日期分组 VO（日期标题）
+ *
+ * @param date  日期
+ * @param count 当日照片数量
+ * @author BearTeam
+ */
+public record TimelineDayVO(
+        LocalDate date,
+        Integer count
+) {
+}
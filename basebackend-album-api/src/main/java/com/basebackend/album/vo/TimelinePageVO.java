@@ -0,0 +1,18 @@
+package com.basebackend.album.vo;
+
+import java.util.List;
+
+/**
+ * 时间轴游标分页 VO
+ *
+ * @param groups     按日期分组的照片（同一日期可能跨页，count 始终为当日总数）
+ * @param nextCursor 下一页游标，没有更多数据时为 null
+ * @param hasMore    是否还有更多
+ * @author BearTeam
+ */
+public record TimelinePageVO(
+        List<TimelineVO> groups,
+        String nextCursor,
+        Boolean hasMore
+) {
+}
@@ -0,0 +1,11 @@
+-- ============================================================
+-- 时间轴 keyset 分页与日期分组
+-- 排序时间 = COALESCE(拍摄时间, 上传时间)，以 (sort_time, id) 作为游标翻页；
+-- 日期分组在库内按 shoot_date GROUP BY，不再把全部照片加载到内存
+-- ============================================================
+
+ALTER TABLE album_photo
+    ADD COLUMN sort_time DATETIME AS (COALESCE(taken_at, create_time)) STORED COMMENT '时间轴排序时间',
+    ADD COLUMN shoot_date DATE AS (DATE(COALESCE(taken_at, create_time))) STORED COMMENT '时间轴日期',
+    ADD INDEX idx_timeline(sort_time, id),
+    ADD INDEX idx_album_day(album_id, shoot_date);
@@ -0,0 +1,88 @@
+package com.basebackend.album.media;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExifReader 流式 EXIF 解析测试")
+class ExifReaderTest {
+
+    @Test
+    @DisplayName("解析拍摄时间、方向和设备信息")
+    void shouldReadExifFromApp1Segment() throws Exception {
+        ExifMetadata exif = ExifReader.read(new ByteArrayInputStream(jpeg(tiff(50), true)));
+
+        assertThat(exif.takenAt()).isEqualTo(LocalDateTime.of(2024, 5, 1, 12, 30, 45));
+        assertThat(exif.orientation()).isEqualTo(6);
+        assertThat(exif.swapsDimensions()).isTrue();
+        assertThat(exif.make()).isEqualTo("Canon");
+        assertThat(exif.latitude()).isNull();
+    }
+
+    @Test
+    @DisplayName("非 JPEG、图像数据先于 APP1 时返回空元数据")
+    void shouldReturnEmptyWithoutExif() throws Exception {
+        assertThat(ExifReader.read(new ByteArrayInputStream("not an image".getBytes(StandardCharsets.US_ASCII))))
+                .isEqualTo(ExifMetadata.EMPTY);
+        assertThat(ExifReader.read(new ByteArrayInputStream(jpeg(tiff(50), false))))
+                .isEqualTo(ExifMetadata.EMPTY);
+    }
+
+    @Test
+    @DisplayName("偏移量越界的标签按空值处理")
+    void shouldIgnoreCorruptedOffsets() throws Exception {
+        ExifMetadata exif = ExifReader.read(new ByteArrayInputStream(jpeg(tiff(4096), true)));
+
+        assertThat(exif.make()).isNull();
+        assertThat(exif.orientation()).isEqualTo(6);
+        assertThat(exif.takenAt()).isNotNull();
+    }
+
+    /**
+     * 大端 TIFF：IFD0(Make, Orientation, ExifIFD) + ExifIFD(DateTimeOriginal)
+     */
+    private static byte[] tiff(int makeOffset) {
+        ByteBuffer buf = ByteBuffer.allocate(94);
+        buf.put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8);
+        buf.putShort((short) 3);
+        buf.putShort((short) 0x010F).putShort((short) 2).putInt(6).putInt(makeOffset);
+        buf.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) 6).putShort((short) 0);
+        buf.putShort((short) 0x8769).putShort((short) 4).putInt(1).putInt(56);
+        buf.putInt(0);
+        buf.put("Canon\0".getBytes(StandardCharsets.US_ASCII));
+        buf.putShort((short) 1);
+        buf.putShort((short) 0x9003).putShort((short) 2).putInt(20).putInt(74);
+        buf.putInt(0);
+        buf.put("2024:05:01 12:30:45\0".getBytes(StandardCharsets.US_ASCII));
+        return buf.array();
+    }
+
+    private static byte[] jpeg(byte[] tiff, boolean exifFirst) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0xFF);
+        out.write(0xD8);
+        if (!exifFirst) {
+            writeSos(out);
+        }
+        int length = 2 + 6 + tiff.length;
+        out.write(0xFF);
+        out.write(0xE1);
+        out.write(length >> 8);
+        out.write(length & 0xFF);
+        out.writeBytes("Exif\0\0".getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(tiff);
+        writeSos(out);
+        return out.toByteArray();
+    }
+
+    private static void writeSos(ByteArrayOutputStream out) {
+        out.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xDA, 0, 2, 1, 2, 3});
+    }
+}
@@ -0,0 +1,84 @@
+package com.basebackend.album.media;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ThumbnailGenerator 缩略图生成测试")
+class ThumbnailGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("一次解码输出多个尺寸，等比缩放到目标框内")
+    void shouldGenerateMultipleSizes() throws Exception {
+        Path source = image(800, 400);
+        Path small = tempDir.resolve("photo_200x200.jpg");
+        Path large = tempDir.resolve("photo_400x400.jpg");
+
+        List<ThumbnailGenerator.Dimension> result = ThumbnailGenerator.generate(source,
+                List.of(new ThumbnailGenerator.Target(200, 200, small),
+                        new ThumbnailGenerator.Target(400, 400, large)),
+                1, 0.8f);
+
+        assertThat(result).containsExactly(
+                new ThumbnailGenerator.Dimension(200, 100),
+                new ThumbnailGenerator.Dimension(400, 200));
+        BufferedImage written = ImageIO.read(small.toFile());
+        assertThat(written.getWidth()).isEqualTo(200);
+        assertThat(written.getHeight()).isEqualTo(100);
+        assertThat(Files.exists(large)).isTrue();
+    }
+
+    @Test
+    @DisplayName("按 EXIF 方向旋转后再缩放")
+    void shouldApplyOrientation() throws Exception {
+        Path source = image(800, 400);
+
+        List<ThumbnailGenerator.Dimension> result = ThumbnailGenerator.generate(source,
+                List.of(new ThumbnailGenerator.Target(200, 200, tempDir.resolve("rotated.jpg"))),
+                6, 0.8f);
+
+        assertThat(result).containsExactly(new ThumbnailGenerator.Dimension(100, 200));
+    }
+
+    @Test
+    @DisplayName("只读文件头获取尺寸，不支持的格式返回 null")
+    void shouldProbeDimensions() throws Exception {
+        assertThat(ThumbnailGenerator.probe(image(640, 480)))
+                .isEqualTo(new ThumbnailGenerator.Dimension(640, 480));
+
+        Path text = Files.writeString(tempDir.resolve("note.txt"), "hello");
+        assertThat(ThumbnailGenerator.probe(text)).isNull();
+    }
+
+    @Test
+    @DisplayName("降采样因子保证解码结果不小于目标框")
+    void shouldComputeSubsamplingFactor() {
+        assertThat(ThumbnailGenerator.subsamplingFactor(4000, 3000, 400, 400)).isEqualTo(10);
+        assertThat(ThumbnailGenerator.subsamplingFactor(4000, 3000, 800, 800)).isEqualTo(5);
+        assertThat(ThumbnailGenerator.subsamplingFactor(300, 200, 400, 400)).isEqualTo(1);
+    }
+
+    private Path image(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillRect(0, 0, width / 2, height);
+        g.dispose();
+        Path path = tempDir.resolve("source-" + width + "x" + height + ".jpg");
+        ImageIO.write(image, "jpg", path.toFile());
+        return path;
+    }
+}
@@ -0,0 +1,144 @@
+package com.basebackend.album.service.impl;
+
+import com.basebackend.album.entity.Album;
+import com.basebackend.album.entity.Photo;
+import com.basebackend.album.entity.PhotoLike;
+import com.basebackend.album.mapper.AlbumMapper;
+import com.basebackend.album.mapper.FamilyMemberMapper;
+import com.basebackend.album.mapper.PhotoLikeMapper;
+import com.basebackend.album.mapper.PhotoMapper;
+import com.basebackend.album.vo.TimelineDayVO;
+import com.basebackend.album.vo.TimelinePageVO;
+import com.basebackend.common.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimelineServiceImpl 时间轴测试")
+class TimelineServiceImplTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private PhotoMapper photoMapper;
+
+    @Mock
+    private AlbumMapper albumMapper;
+
+    @Mock
+    private FamilyMemberMapper familyMemberMapper;
+
+    @Mock
+    private PhotoLikeMapper photoLikeMapper;
+
+    @InjectMocks
+    private TimelineServiceImpl timelineService;
+
+    @BeforeEach
+    void setUp() {
+        Album album = new Album();
+        album.setId(100L);
+        when(familyMemberMapper.selectList(any())).thenReturn(List.of());
+        when(albumMapper.selectList(any())).thenReturn(List.of(album));
+    }
+
+    @Test
+    @DisplayName("游标分页返回下一页游标，日期标题取当日总数，点赞状态一次查询")
+    void shouldScrollWithCursorAndBatchLikes() {
+        LocalDateTime day1 = LocalDateTime.of(2025, 5, 2, 10, 0);
+        LocalDateTime day2 = LocalDateTime.of(2025, 5, 1, 9, 0);
+        when(photoMapper.selectTimelinePage(eq(List.of(100L)), isNull(), isNull(), eq(3)))
+                .thenReturn(List.of(photo(3L, day1), photo(2L, day2), photo(1L, day2.minusHours(1))));
+        when(photoMapper.selectDayBuckets(List.of(100L))).thenReturn(List.of(
+                new TimelineDayVO(day1.toLocalDate(), 1),
+                new TimelineDayVO(day2.toLocalDate(), 5)));
+        PhotoLike like = new PhotoLike();
+        like.setPhotoId(2L);
+        when(photoLikeMapper.selectList(any())).thenReturn(List.of(like));
+
+        TimelinePageVO page = timelineService.scrollTimeline(USER_ID, null, 2);
+
+        assertThat(page.hasMore()).isTrue();
+        assertThat(page.groups()).hasSize(2);
+        assertThat(page.groups().get(1).date()).isEqualTo(LocalDate.of(2025, 5, 1));
+        assertThat(page.groups().get(1).count()).isEqualTo(5);
+        assertThat(page.groups().get(1).photos().getFirst().liked()).isTrue();
+        assertThat(page.groups().get(0).photos().getFirst().liked()).isFalse();
+        verify(photoLikeMapper, times(1)).selectList(any());
+        verify(photoLikeMapper, never()).selectCount(any());
+
+        TimelineServiceImpl.TimelineCursor cursor = TimelineServiceImpl.TimelineCursor.decode(page.nextCursor());
+        assertThat(cursor.photoId()).isEqualTo(2L);
+        assertThat(cursor.sortTime()).isEqualTo(day2);
+    }
+
+    @Test
+    @DisplayName("最后一页不返回游标")
+    void shouldReturnNoCursorOnLastPage() {
+        when(photoMapper.selectTimelinePage(any(), any(), any(), anyInt()))
+                .thenReturn(List.of(photo(1L, LocalDateTime.of(2025, 1, 1, 0, 0))));
+        when(photoMapper.selectDayBuckets(any())).thenReturn(List.of());
+        when(photoLikeMapper.selectList(any())).thenReturn(List.of());
+
+        String cursor = new TimelineServiceImpl.TimelineCursor(LocalDateTime.of(2025, 2, 1, 0, 0), 9L).encode();
+        TimelinePageVO page = timelineService.scrollTimeline(USER_ID, cursor, 20);
+
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+        verify(photoMapper).selectTimelinePage(List.of(100L), LocalDateTime.of(2025, 2, 1, 0, 0), 9L, 21);
+    }
+
+    @Test
+    @DisplayName("非法游标抛出参数异常")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> timelineService.scrollTimeline(USER_ID, "not-a-cursor", 20))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("拍摄时间回填换日后清除含原日期或新日期的日期缓存")
+    void shouldEvictCachedDaysContainingMovedDate() {
+        LocalDate uploadDay = LocalDate.of(2025, 6, 1);
+        when(photoMapper.selectDayBuckets(List.of(100L)))
+                .thenReturn(List.of(new TimelineDayVO(uploadDay, 1)))
+                .thenReturn(List.of(new TimelineDayVO(LocalDate.of(2024, 12, 25), 1)));
+
+        assertThat(timelineService.getTimelineDays(USER_ID)).extracting(TimelineDayVO::date).containsExactly(uploadDay);
+
+        timelineService.evictTimelineDays(List.of(LocalDate.of(2020, 1, 1)));
+        assertThat(timelineService.getTimelineDays(USER_ID)).extracting(TimelineDayVO::date).containsExactly(uploadDay);
+
+        timelineService.evictTimelineDays(List.of(uploadDay, LocalDate.of(2024, 12, 25)));
+        assertThat(timelineService.getTimelineDays(USER_ID)).extracting(TimelineDayVO::date)
+                .containsExactly(LocalDate.of(2024, 12, 25));
+        verify(photoMapper, times(2)).selectDayBuckets(List.of(100L));
+    }
+
+    private static Photo photo(Long id, LocalDateTime takenAt) {
+        Photo photo = new Photo();
+        photo.setId(id);
+        photo.setAlbumId(100L);
+        photo.setTakenAt(takenAt);
+        return photo;
+    }
+}
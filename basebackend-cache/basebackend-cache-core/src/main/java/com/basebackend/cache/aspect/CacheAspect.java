@@ -9,6 +9,7 @@ import com.basebackend.cache.hook.CacheOperationHook;
 import com.basebackend.cache.manager.MultiLevelCacheManager;
 import com.basebackend.cache.service.RedisService;
 import com.basebackend.cache.util.CacheKeyGenerator;
+import com.basebackend.common.expression.MethodExpressionEvaluator;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -16,13 +17,8 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
-import org.springframework.core.DefaultParameterNameDiscoverer;
-import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -52,14 +48,9 @@ public class CacheAspect {
     private RedisTemplate<String, Object> redisTemplate;
 
     /**
-     * SpEL 表达式解析器
+     * SpEL 表达式求值器（共享已解析表达式缓存，启用 MIXED 编译模式）
      */
-    private final ExpressionParser parser = new SpelExpressionParser();
-
-    /**
-     * 参数名称发现器
-     */
-    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final MethodExpressionEvaluator expressionEvaluator = MethodExpressionEvaluator.shared();
 
     public CacheAspect(
             RedisService redisService,
@@ -91,7 +82,7 @@ public class CacheAspect {
         EvaluationContext context = createEvaluationContext(method, args, target, null);
 
         // 检查条件表达式
-        if (!evaluateCondition(cacheable.condition(), context)) {
+        if (!evaluateCondition(cacheable.condition(), method, context)) {
             log.debug("Condition not met for @Cacheable, executing method directly");
             return joinPoint.proceed();
         }
@@ -137,7 +128,7 @@ public class CacheAspect {
         context = createEvaluationContext(method, args, target, result);
 
         // 检查 unless 条件
-        if (evaluateUnless(cacheable.unless(), context)) {
+        if (evaluateUnless(cacheable.unless(), method, context)) {
             log.debug("Unless condition met for @Cacheable, not caching result");
             return result;
         }
@@ -178,13 +169,13 @@ public class CacheAspect {
         EvaluationContext context = createEvaluationContext(method, args, target, result);
 
         // 检查条件表达式
-        if (!evaluateCondition(cachePut.condition(), context)) {
+        if (!evaluateCondition(cachePut.condition(), method, context)) {
             log.debug("Condition not met for @CachePut, not caching result");
             return result;
         }
 
         // 检查 unless 条件
-        if (evaluateUnless(cachePut.unless(), context)) {
+        if (evaluateUnless(cachePut.unless(), method, context)) {
             log.debug("Unless condition met for @CachePut, not caching result");
             return result;
         }
@@ -255,7 +246,7 @@ public class CacheAspect {
     private void evictCache(CacheEvict cacheEvict, Object target, Method method,
             Object[] args, EvaluationContext context) {
         // 检查条件表达式
-        if (!evaluateCondition(cacheEvict.condition(), context)) {
+        if (!evaluateCondition(cacheEvict.condition(), method, context)) {
             log.debug("Condition not met for @CacheEvict, skipping cache eviction");
             return;
         }
@@ -319,8 +310,7 @@ public class CacheAspect {
         // 如果键表达式包含 SpEL 表达式，进行解析
         if (StringUtils.hasText(keyExpression) && keyExpression.contains("#")) {
             try {
-                Expression expression = parser.parseExpression(keyExpression);
-                Object value = expression.getValue(context);
+                Object value = expressionEvaluator.getValue(keyExpression, method, context);
                 parsedKey = value != null ? value.toString() : "";
                 log.debug("Parsed SpEL key expression '{}' to '{}'", keyExpression, parsedKey);
             } catch (Exception e) {
@@ -338,17 +328,17 @@ public class CacheAspect {
      * 解析失败时返回 false，表示"跳过缓存，直接执行方法"，这是安全的默认行为。
      *
      * @param conditionExpression 条件表达式
+     * @param method              被拦截的方法（表达式缓存键的一部分）
      * @param context             SpEL 上下文
      * @return 如果条件为空返回 true；解析失败返回 false
      */
-    private boolean evaluateCondition(String conditionExpression, EvaluationContext context) {
+    private boolean evaluateCondition(String conditionExpression, Method method, EvaluationContext context) {
         if (!StringUtils.hasText(conditionExpression)) {
             return true;
         }
 
         try {
-            Expression expression = parser.parseExpression(conditionExpression);
-            Boolean result = expression.getValue(context, Boolean.class);
+            Boolean result = expressionEvaluator.getValue(conditionExpression, method, context, Boolean.class);
             log.debug("Evaluated condition '{}' to {}", conditionExpression, result);
             return result != null && result;
         } catch (Exception e) {
@@ -364,17 +354,17 @@ public class CacheAspect {
      * 因此解析失败时应返回 true（不缓存）以避免缓存不应缓存的数据。
      *
      * @param unlessExpression unless 表达式
+     * @param method           被拦截的方法（表达式缓存键的一部分）
      * @param context          SpEL 上下文
      * @return 如果 unless 为空返回 false（不跳过缓存）；解析失败返回 true（跳过缓存）
      */
-    private boolean evaluateUnless(String unlessExpression, EvaluationContext context) {
+    private boolean evaluateUnless(String unlessExpression, Method method, EvaluationContext context) {
         if (!StringUtils.hasText(unlessExpression)) {
             return false;
         }
 
         try {
-            Expression expression = parser.parseExpression(unlessExpression);
-            Boolean result = expression.getValue(context, Boolean.class);
+            Boolean result = expressionEvaluator.getValue(unlessExpression, method, context, Boolean.class);
             log.debug("Evaluated unless '{}' to {}", unlessExpression, result);
             return result != null && result;
         } catch (Exception e) {
@@ -395,8 +385,7 @@ public class CacheAspect {
     private EvaluationContext createEvaluationContext(Method method, Object[] args,
             Object target, Object result) {
         // 使用 Spring 的 MethodBasedEvaluationContext 支持方法参数名称
-        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
-                target, method, args, parameterNameDiscoverer);
+        MethodBasedEvaluationContext context = expressionEvaluator.createContext(target, method, args);
 
         // 添加方法返回值到上下文（用于 unless 条件和 @CachePut 的键解析）
         if (result != null) {
@@ -3,6 +3,7 @@ package com.basebackend.cache.aspect;
 import com.basebackend.cache.annotation.DistributedLock;
 import com.basebackend.cache.exception.CacheLockException;
 import com.basebackend.cache.lock.DistributedLockService;
+import com.basebackend.common.expression.MethodExpressionEvaluator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -10,11 +11,7 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.redisson.api.RLock;
-import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
@@ -31,7 +28,7 @@ import java.util.concurrent.TimeUnit;
 public class DistributedLockAspect {
 
     private final DistributedLockService lockService;
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final MethodExpressionEvaluator expressionEvaluator = MethodExpressionEvaluator.shared();
 
     @Around("@annotation(com.basebackend.cache.annotation.DistributedLock)")
     public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
@@ -40,7 +37,7 @@ public class DistributedLockAspect {
         DistributedLock lockAnnotation = method.getAnnotation(DistributedLock.class);
 
         // 解析锁键
-        String lockKey = parseLockKey(lockAnnotation.key(), method, joinPoint.getArgs());
+        String lockKey = parseLockKey(lockAnnotation.key(), joinPoint.getTarget(), method, joinPoint.getArgs());
         long waitTime = lockAnnotation.waitTime();
         long leaseTime = lockAnnotation.leaseTime();
         TimeUnit timeUnit = lockAnnotation.timeUnit();
@@ -107,8 +104,11 @@ public class DistributedLockAspect {
 
     /**
      * 解析锁键，支持 SpEL 表达式
+     * <p>
+     * 除参数名（#paramName / #p0 / #a0）外，保留 #arg0、#args、#params 的兼容写法。
+     * </p>
      */
-    private String parseLockKey(String keyExpression, Method method, Object[] args) {
+    private String parseLockKey(String keyExpression, Object target, Method method, Object[] args) {
         if (!keyExpression.contains("#")) {
             // 不包含 SpEL 表达式，直接返回
             return keyExpression;
@@ -116,7 +116,7 @@ public class DistributedLockAspect {
 
         try {
             // 创建 SpEL 上下文
-            EvaluationContext context = new StandardEvaluationContext();
+            MethodBasedEvaluationContext context = expressionEvaluator.createContext(target, method, args);
 
             // 设置方法参数（使用参数索引）
             for (int i = 0; i < args.length; i++) {
@@ -128,8 +128,7 @@ public class DistributedLockAspect {
             context.setVariable("params", args);
 
             // 解析表达式
-            Expression expression = parser.parseExpression(keyExpression);
-            Object value = expression.getValue(context);
+            Object value = expressionEvaluator.getValue(keyExpression, method, context);
             return value != null ? value.toString() : keyExpression;
         } catch (Exception e) {
             log.error("Failed to parse lock key expression: {}", keyExpression, e);
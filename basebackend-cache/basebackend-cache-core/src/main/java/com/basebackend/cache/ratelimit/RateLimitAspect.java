@@ -2,6 +2,7 @@ package com.basebackend.cache.ratelimit;
 
 import com.basebackend.cache.annotation.RateLimit;
 import com.basebackend.cache.config.CacheProperties;
+import com.basebackend.common.expression.MethodExpressionEvaluator;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
@@ -12,10 +13,6 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.redisson.api.RateType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
-import org.springframework.core.DefaultParameterNameDiscoverer;
-import org.springframework.core.ParameterNameDiscoverer;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -36,8 +33,7 @@ public class RateLimitAspect {
     private final CacheProperties cacheProperties;
     private final MeterRegistry meterRegistry;
 
-    private final ExpressionParser parser = new SpelExpressionParser();
-    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final MethodExpressionEvaluator expressionEvaluator = MethodExpressionEvaluator.shared();
 
     public RateLimitAspect(
             RateLimitService rateLimitService,
@@ -97,9 +93,9 @@ public class RateLimitAspect {
 
         if (keyExpression.contains("#")) {
             try {
-                MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
-                        joinPoint.getTarget(), method, joinPoint.getArgs(), parameterNameDiscoverer);
-                Object value = parser.parseExpression(keyExpression).getValue(context);
+                MethodBasedEvaluationContext context = expressionEvaluator.createContext(
+                        joinPoint.getTarget(), method, joinPoint.getArgs());
+                Object value = expressionEvaluator.getValue(keyExpression, method, context);
                 return value != null ? value.toString() : keyExpression;
             } catch (Exception e) {
                 log.error("Failed to parse SpEL rate limit key: {}", keyExpression, e);
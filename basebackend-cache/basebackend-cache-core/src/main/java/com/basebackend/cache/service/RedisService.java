@@ -970,4 +970,15 @@ public class RedisService {
     public Long lRemove(String key, long count, Object value) {
         return executeWithFallback(() -> redisTemplate.opsForList().remove(key, count, value), 0L, "lRemove");
     }
+
+    // ========== Pub/Sub 操作 ==========
+
+    /**
+     * 向频道发布消息
+     *
+     * @return 收到消息的订阅者数量，Redis 不可用时返回 0
+     */
+    public Long publish(String channel, Object message) {
+        return executeWithFallback(() -> redisTemplate.convertAndSend(channel, message), 0L, "publish");
+    }
 }
@@ -3,6 +3,7 @@ package com.basebackend.common.audit.aspect;
 import com.basebackend.common.audit.AuditEvent;
 import com.basebackend.common.audit.AuditEventPublisher;
 import com.basebackend.common.audit.AuditLog;
+import com.basebackend.common.expression.MethodExpressionEvaluator;
 import com.basebackend.common.util.JsonUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -11,12 +12,7 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.core.DefaultParameterNameDiscoverer;
-import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
 
 import java.lang.reflect.Method;
@@ -29,8 +25,7 @@ public class AuditLogAspect {
     @Lazy @Nullable
     private final HttpServletRequest httpServletRequest;
 
-    private static final ExpressionParser PARSER = new SpelExpressionParser();
-    private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+    private static final MethodExpressionEvaluator EVALUATOR = MethodExpressionEvaluator.shared();
 
     @Around("@annotation(auditLog)")
     public Object around(ProceedingJoinPoint joinPoint, AuditLog auditLog) throws Throwable {
@@ -76,24 +71,13 @@ public class AuditLogAspect {
             return template;
         }
         try {
-            EvaluationContext ctx = buildEvaluationContext(method, args);
-            return PARSER.parseExpression(template, new org.springframework.expression.common.TemplateParserContext()).getValue(ctx, String.class);
+            EvaluationContext ctx = EVALUATOR.createContext(null, method, args);
+            return EVALUATOR.getTemplateValue(template, method, ctx, String.class);
         } catch (Exception e) {
             return template;
         }
     }
 
-    private EvaluationContext buildEvaluationContext(Method method, Object[] args) {
-        StandardEvaluationContext ctx = new StandardEvaluationContext();
-        String[] paramNames = NAME_DISCOVERER.getParameterNames(method);
-        if (paramNames != null) {
-            for (int i = 0; i < paramNames.length; i++) {
-                ctx.setVariable(paramNames[i], args[i]);
-            }
-        }
-        return ctx;
-    }
-
     private String resolveOperator() {
         try {
             Class<?> holderClass = Class.forName("com.basebackend.common.context.UserContextHolder");
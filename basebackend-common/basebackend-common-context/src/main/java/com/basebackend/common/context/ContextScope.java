@@ -0,0 +1,208 @@
+package com.basebackend.common.context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 携带请求上下文的结构化并发作用域
+ * <p>
+ * 每个子任务运行在独立的虚拟线程上，并自动绑定打开作用域时捕获的 {@link RequestContext}，
+ * 子任务中 {@link ScopedRequestContext}、{@link UserContextHolder}、{@link TenantContextHolder} 都能读到同一上下文。
+ * 语义与 {@code StructuredTaskScope} 的"任一失败即取消"策略一致：
+ * </p>
+ * <ul>
+ *   <li>任一子任务失败时取消（中断）其余子任务，{@link #join()} 抛出第一个失败原因</li>
+ *   <li>{@link #close()} 取消未完成的子任务并等待全部线程结束，子任务不会活得比作用域更久</li>
+ *   <li>只有打开作用域的线程可以 fork / join / close</li>
+ * </ul>
+ *
+ * <h3>使用示例：</h3>
+ * <pre>{@code
+ * try (ContextScope scope = ContextScope.open()) {
+ *     Future<User> user = scope.fork(() -> userService.load(userId));
+ *     Future<List<Order>> orders = scope.fork(() -> orderService.listByUser(userId));
+ *     scope.join();
+ *     return new Profile(user.resultNow(), orders.resultNow());
+ * }
+ * }</pre>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ * @see ScopedRequestContext
+ */
+public final class ContextScope implements AutoCloseable {
+
+    private static final ThreadFactory THREAD_FACTORY = Thread.ofVirtual().name("context-scope-", 0).factory();
+
+    private final RequestContext context;
+    private final Thread owner;
+    private final List<Future<?>> subtasks = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean closed;
+
+    private ContextScope(RequestContext context) {
+        this.context = Objects.requireNonNull(context, "context cannot be null");
+        this.owner = Thread.currentThread();
+    }
+
+    /**
+     * 打开作用域，子任务绑定当前上下文（见 {@link ScopedRequestContext#capture()}）
+     */
+    public static ContextScope open() {
+        return new ContextScope(ScopedRequestContext.capture());
+    }
+
+    /**
+     * 打开作用域，子任务绑定指定上下文
+     *
+     * @param context 请求上下文
+     */
+    public static ContextScope open(RequestContext context) {
+        return new ContextScope(context);
+    }
+
+    /**
+     * 并发执行全部任务并按提交顺序返回结果，任一失败时取消其余任务
+     *
+     * @param tasks 任务
+     * @param <T>   返回值类型
+     * @return 结果列表
+     * @throws ExecutionException   任一任务失败，cause 为第一个失败原因
+     * @throws InterruptedException 等待时被中断
+     */
+    public static <T> List<T> invokeAll(Collection<? extends Callable<? extends T>> tasks)
+            throws ExecutionException, InterruptedException {
+        try (ContextScope scope = open()) {
+            List<Future<? extends T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<? extends T> task : tasks) {
+                futures.add(scope.fork(task));
+            }
+            scope.join();
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<? extends T> future : futures) {
+                results.add(future.resultNow());
+            }
+            return results;
+        }
+    }
+
+    /**
+     * 在新的虚拟线程上执行子任务
+     * <p>
+     * 返回的 Future 在 {@link #join()} 之后可用 {@link Future#resultNow()} 取结果。
+     * </p>
+     *
+     * @param task 子任务
+     * @param <T>  返回值类型
+     * @return 子任务结果
+     */
+    public <T> Future<T> fork(Callable<? extends T> task) {
+        Objects.requireNonNull(task, "task cannot be null");
+        ensureOwner();
+        if (closed) {
+            throw new IllegalStateException("Context scope is closed");
+        }
+        FutureTask<T> future = new FutureTask<>(() -> {
+            try {
+                return ScopedRequestContext.call(context, task::call);
+            } catch (Throwable e) {
+                onFailure(e);
+                throw e;
+            }
+        });
+        synchronized (subtasks) {
+            subtasks.add(future);
+        }
+        if (failure.get() != null) {
+            future.cancel(true);
+            return future;
+        }
+        Thread thread = THREAD_FACTORY.newThread(future);
+        threads.add(thread);
+        thread.start();
+        return future;
+    }
+
+    /**
+     * 等待全部子任务完成
+     *
+     * @throws ExecutionException   任一子任务失败，cause 为第一个失败原因
+     * @throws InterruptedException 等待时被中断
+     */
+    public void join() throws ExecutionException, InterruptedException {
+        ensureOwner();
+        for (Future<?> subtask : subtasks) {
+            try {
+                subtask.get();
+            } catch (CancellationException | ExecutionException ignored) {
+                // 失败原因统一记录在 failure 中
+            }
+        }
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new ExecutionException(cause);
+        }
+    }
+
+    /**
+     * 取消未完成的子任务并等待全部线程结束
+     * <p>
+     * 被取消的 Future 会立即返回，这里按线程等待，保证子任务的线程不会在作用域关闭后继续运行。
+     * 等待期间被中断时继续等待，返回前恢复中断标记。
+     * </p>
+     */
+    @Override
+    public void close() {
+        ensureOwner();
+        if (closed) {
+            return;
+        }
+        closed = true;
+        cancelAll();
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void onFailure(Throwable e) {
+        if (failure.compareAndSet(null, e)) {
+            cancelAll();
+        }
+    }
+
+    private void cancelAll() {
+        List<Future<?>> snapshot;
+        synchronized (subtasks) {
+            snapshot = List.copyOf(subtasks);
+        }
+        for (Future<?> subtask : snapshot) {
+            subtask.cancel(true);
+        }
+    }
+
+    private void ensureOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Context scope can only be used by the thread that opened it");
+        }
+    }
+}
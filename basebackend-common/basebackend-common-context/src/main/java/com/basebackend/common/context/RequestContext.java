@@ -0,0 +1,38 @@
+package com.basebackend.common.context;
+
+/**
+ * 请求上下文快照
+ * <p>
+ * 不可变地组合一次请求的用户上下文和租户上下文，作为 {@link ScopedRequestContext} 绑定的值。
+ * 修改时通过 {@link #withUser} / {@link #withTenant} 生成新实例，再重新绑定。
+ * </p>
+ *
+ * @param user   用户上下文，可为 null
+ * @param tenant 租户上下文，可为 null
+ * @author BaseBackend Team
+ * @since 1.0.0
+ * @see ScopedRequestContext
+ */
+public record RequestContext(UserContext user, TenantContextInfo tenant) {
+
+    /**
+     * 空上下文
+     */
+    public static final RequestContext EMPTY = new RequestContext(null, null);
+
+    public static RequestContext of(UserContext user, TenantContextInfo tenant) {
+        return user == null && tenant == null ? EMPTY : new RequestContext(user, tenant);
+    }
+
+    public RequestContext withUser(UserContext user) {
+        return of(user, tenant);
+    }
+
+    public RequestContext withTenant(TenantContextInfo tenant) {
+        return of(user, tenant);
+    }
+
+    public boolean isEmpty() {
+        return user == null && tenant == null;
+    }
+}
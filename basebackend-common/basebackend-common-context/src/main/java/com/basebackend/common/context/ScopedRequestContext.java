@@ -0,0 +1,153 @@
+package com.basebackend.common.context;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * 基于 {@link ScopedValue} 的请求上下文
+ * <p>
+ * 上下文只在 {@link #run} / {@link #call} 的调用范围内有效，退出后自动解除绑定，无需手动清除；
+ * 传递给子任务时只需捕获一个引用（{@link #wrap}），不像 TransmittableThreadLocal 那样
+ * 每次提交任务都要复制、重放全部 TTL 值，适合虚拟线程和 {@link ContextScope}。
+ * </p>
+ *
+ * <h3>与 TTL 持有者的兼容：</h3>
+ * <ul>
+ *   <li>{@link UserContextHolder} / {@link TenantContextHolder} 在线程上未设置值时回退读取当前绑定，
+ *   已有调用方无需修改即可在绑定范围内拿到上下文</li>
+ *   <li>{@link #capture()} 在未绑定时从 TTL 持有者取快照，仍在 Filter 中设置 TTL 的链路也能切换到本 API</li>
+ * </ul>
+ *
+ * <h3>使用示例：</h3>
+ * <pre>{@code
+ * Profile profile = ScopedRequestContext.call(RequestContext.of(user, tenant), () -> {
+ *     Long userId = UserContextHolder.getUserId();
+ *     try (ContextScope scope = ContextScope.open()) {
+ *         Future<Order> order = scope.fork(() -> orderService.load(orderId));
+ *         Future<Account> account = scope.fork(() -> accountService.load(userId));
+ *         scope.join();
+ *         return merge(order.resultNow(), account.resultNow());
+ *     }
+ * });
+ * }</pre>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ * @see RequestContext
+ * @see ContextScope
+ */
+public final class ScopedRequestContext {
+
+    private ScopedRequestContext() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    private static final ScopedValue<RequestContext> CONTEXT = ScopedValue.newInstance();
+
+    // ========== 绑定 ==========
+
+    /**
+     * 绑定上下文执行操作
+     *
+     * @param context 请求上下文
+     * @param action  要执行的操作
+     */
+    public static void run(RequestContext context, Runnable action) {
+        Objects.requireNonNull(context, "context cannot be null");
+        Objects.requireNonNull(action, "action cannot be null");
+        ScopedValue.where(CONTEXT, context).run(action);
+    }
+
+    /**
+     * 绑定上下文执行操作（带返回值）
+     *
+     * @param context 请求上下文
+     * @param op      要执行的操作
+     * @param <T>     返回值类型
+     * @param <X>     操作抛出的异常类型
+     * @return 操作返回值
+     */
+    public static <T, X extends Throwable> T call(RequestContext context, ScopedValue.CallableOp<? extends T, X> op)
+            throws X {
+        Objects.requireNonNull(context, "context cannot be null");
+        Objects.requireNonNull(op, "op cannot be null");
+        return ScopedValue.where(CONTEXT, context).call(op);
+    }
+
+    // ========== 读取 ==========
+
+    /**
+     * 当前线程是否绑定了请求上下文
+     */
+    public static boolean isBound() {
+        return CONTEXT.isBound();
+    }
+
+    /**
+     * 获取当前绑定的请求上下文（不回退到 TTL 持有者）
+     *
+     * @return 请求上下文，未绑定时返回 null
+     */
+    public static RequestContext get() {
+        return CONTEXT.isBound() ? CONTEXT.get() : null;
+    }
+
+    /**
+     * 获取当前绑定的请求上下文（Optional 包装）
+     *
+     * @return 请求上下文 Optional
+     */
+    public static Optional<RequestContext> getOptional() {
+        return Optional.ofNullable(get());
+    }
+
+    /**
+     * 捕获当前上下文，用于传递给其他线程
+     * <p>
+     * 结果与 {@link UserContextHolder#get()} / {@link TenantContextHolder#get()} 一致：
+     * 线程上通过 TTL 设置的值优先，其次为当前绑定；未在线程上设置值时直接复用绑定的实例。
+     * </p>
+     *
+     * @return 请求上下文，两者都不存在时返回 {@link RequestContext#EMPTY}
+     */
+    public static RequestContext capture() {
+        UserContext user = UserContextHolder.get();
+        TenantContextInfo tenant = TenantContextHolder.get();
+        RequestContext bound = get();
+        if (bound != null && bound.user() == user && bound.tenant() == tenant) {
+            return bound;
+        }
+        return RequestContext.of(user, tenant);
+    }
+
+    // ========== 任务包装 ==========
+
+    /**
+     * 包装任务，执行时绑定提交时捕获的上下文
+     * <p>
+     * 用于把任务交给未经 {@link ContextScope} 管理的线程池或虚拟线程。
+     * </p>
+     *
+     * @param task 任务
+     * @return 包装后的任务
+     */
+    public static Runnable wrap(Runnable task) {
+        Objects.requireNonNull(task, "task cannot be null");
+        RequestContext context = capture();
+        return () -> ScopedValue.where(CONTEXT, context).run(task);
+    }
+
+    /**
+     * 包装任务，执行时绑定提交时捕获的上下文
+     *
+     * @param task 任务
+     * @param <T>  返回值类型
+     * @return 包装后的任务
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Objects.requireNonNull(task, "task cannot be null");
+        RequestContext context = capture();
+        return () -> ScopedValue.where(CONTEXT, context).call(task::call);
+    }
+}
@@ -31,6 +31,7 @@ import java.util.function.Supplier;
  *   <li>必须在请求处理完成后调用 {@link #clear()} 方法，避免内存泄漏</li>
  *   <li>建议在 Filter 或 Interceptor 中统一管理上下文的设置和清除</li>
  *   <li>租户上下文通常在用户上下文之前设置，用于数据隔离</li>
+ *   <li>线程上未设置时回退读取 {@link ScopedRequestContext} 的绑定，虚拟线程场景优先使用后者</li>
  * </ul>
  *
  * @author BaseBackend Team
@@ -69,7 +70,7 @@ public final class TenantContextHolder {
      * @return 租户上下文 Optional
      */
     public static Optional<TenantContextInfo> getOptional() {
-        return Optional.ofNullable(CONTEXT.get());
+        return Optional.ofNullable(current());
     }
 
     /**
@@ -82,7 +83,7 @@ public final class TenantContextHolder {
      * @return 租户上下文对象，可能为 null
      */
     public static TenantContextInfo get() {
-        return CONTEXT.get();
+        return current();
     }
 
     /**
@@ -92,7 +93,7 @@ public final class TenantContextHolder {
      * @return 租户上下文对象，如果不存在则返回默认值
      */
     public static TenantContextInfo getOrDefault(TenantContextInfo defaultValue) {
-        TenantContextInfo context = CONTEXT.get();
+        TenantContextInfo context = current();
         return context != null ? context : defaultValue;
     }
 
@@ -112,7 +113,19 @@ public final class TenantContextHolder {
      * @return 是否存在上下文
      */
     public static boolean isPresent() {
-        return CONTEXT.get() != null;
+        return current() != null;
+    }
+
+    /**
+     * 当前租户上下文：线程上设置的值优先，未设置时回退到 {@link ScopedRequestContext} 的绑定
+     */
+    private static TenantContextInfo current() {
+        TenantContextInfo context = CONTEXT.get();
+        if (context != null) {
+            return context;
+        }
+        RequestContext scoped = ScopedRequestContext.get();
+        return scoped != null ? scoped.tenant() : null;
     }
 
     // ========== 便捷访问器方法 ==========
@@ -123,7 +136,7 @@ public final class TenantContextHolder {
      * @return 租户ID，如果上下文不存在则返回 null
      */
     public static Long getTenantId() {
-        TenantContextInfo context = CONTEXT.get();
+        TenantContextInfo context = current();
         return context != null ? context.getTenantId() : null;
     }
 
@@ -133,7 +146,7 @@ public final class TenantContextHolder {
      * @return 租户编码，如果上下文不存在则返回 null
      */
     public static String getTenantCode() {
-        TenantContextInfo context = CONTEXT.get();
+        TenantContextInfo context = current();
         return context != null ? context.getTenantCode() : null;
     }
 
@@ -143,7 +156,7 @@ public final class TenantContextHolder {
      * @return 租户名称，如果上下文不存在则返回 null
      */
     public static String getTenantName() {
-        TenantContextInfo context = CONTEXT.get();
+        TenantContextInfo context = current();
         return context != null ? context.getTenantName() : null;
     }
 
@@ -153,7 +166,7 @@ public final class TenantContextHolder {
      * @return 是否启用，如果上下文不存在则返回 false
      */
     public static boolean isEnabled() {
-        TenantContextInfo context = CONTEXT.get();
+        TenantContextInfo context = current();
         return context != null && context.isEnabled();
     }
 
@@ -163,7 +176,7 @@ public final class TenantContextHolder {
      * @return 是否禁用，如果上下文不存在则返回 false
      */
     public static boolean isDisabled() {
-        TenantContextInfo context = CONTEXT.get();
+        TenantContextInfo context = current();
         return context != null && context.isDisabled();
     }
 
@@ -173,7 +186,7 @@ public final class TenantContextHolder {
      * @return 是否过期，如果上下文不存在则返回 false
      */
     public static boolean isExpired() {
-        TenantContextInfo context = CONTEXT.get();
+        TenantContextInfo context = current();
         return context != null && context.isExpired();
     }
 
@@ -183,7 +196,7 @@ public final class TenantContextHolder {
      * @return 套餐编码，如果上下文不存在则返回 null
      */
     public static String getPackageCode() {
-        TenantContextInfo context = CONTEXT.get();
+        TenantContextInfo context = current();
         return context != null ? context.getPackageCode() : null;
     }
 
@@ -193,7 +206,7 @@ public final class TenantContextHolder {
      * @return 隔离模式，如果上下文不存在则返回 null
      */
     public static String getIsolationMode() {
-        TenantContextInfo context = CONTEXT.get();
+        TenantContextInfo context = current();
         return context != null ? context.getIsolationMode() : null;
     }
 
@@ -237,7 +250,7 @@ public final class TenantContextHolder {
      * @throws IllegalStateException 如果上下文不存在
      */
     public static TenantContextInfo require() {
-        TenantContextInfo context = CONTEXT.get();
+        TenantContextInfo context = current();
         if (context == null) {
             throw new IllegalStateException("Tenant context is not present");
         }
@@ -267,6 +280,7 @@ public final class TenantContextHolder {
      * <p>
      * 临时清除租户上下文，执行操作后恢复。
      * 适用于需要访问全局数据（跨租户数据）的场景。
+     * 处于 {@link ScopedRequestContext} 绑定范围内时，操作期间同样看不到绑定中的租户。
      * </p>
      *
      * @param action 要执行的操作
@@ -276,7 +290,12 @@ public final class TenantContextHolder {
         TenantContextInfo backup = CONTEXT.get();
         try {
             CONTEXT.remove();
-            action.run();
+            RequestContext scoped = ScopedRequestContext.get();
+            if (scoped != null && scoped.tenant() != null) {
+                ScopedRequestContext.run(scoped.withTenant(null), action);
+            } else {
+                action.run();
+            }
         } finally {
             restoreContext(backup);
         }
@@ -287,6 +306,7 @@ public final class TenantContextHolder {
      * <p>
      * 临时清除租户上下文，执行操作后恢复。
      * 适用于需要访问全局数据（跨租户数据）的场景。
+     * 处于 {@link ScopedRequestContext} 绑定范围内时，操作期间同样看不到绑定中的租户。
      * </p>
      *
      * @param supplier 要执行的操作
@@ -298,6 +318,10 @@ public final class TenantContextHolder {
         TenantContextInfo backup = CONTEXT.get();
         try {
             CONTEXT.remove();
+            RequestContext scoped = ScopedRequestContext.get();
+            if (scoped != null && scoped.tenant() != null) {
+                return ScopedRequestContext.call(scoped.withTenant(null), supplier::get);
+            }
             return supplier.get();
         } finally {
             restoreContext(backup);
@@ -29,6 +29,7 @@ import java.util.Optional;
  *   <li>必须在请求处理完成后调用 {@link #clear()} 方法，避免内存泄漏</li>
  *   <li>建议在 Filter 或 Interceptor 中统一管理上下文的设置和清除</li>
  *   <li>使用线程池时，需要配合 TTL 的 TtlExecutors 包装线程池</li>
+ *   <li>线程上未设置时回退读取 {@link ScopedRequestContext} 的绑定，虚拟线程场景优先使用后者</li>
  * </ul>
  *
  * @author BaseBackend Team
@@ -67,7 +68,7 @@ public final class UserContextHolder {
      * @return 用户上下文 Optional
      */
     public static Optional<UserContext> getOptional() {
-        return Optional.ofNullable(CONTEXT.get());
+        return Optional.ofNullable(current());
     }
 
     /**
@@ -80,7 +81,7 @@ public final class UserContextHolder {
      * @return 用户上下文对象，可能为 null
      */
     public static UserContext get() {
-        return CONTEXT.get();
+        return current();
     }
 
     /**
@@ -90,7 +91,7 @@ public final class UserContextHolder {
      * @return 用户上下文对象，如果不存在则返回默认值
      */
     public static UserContext getOrDefault(UserContext defaultValue) {
-        UserContext context = CONTEXT.get();
+        UserContext context = current();
         return context != null ? context : defaultValue;
     }
 
@@ -110,7 +111,19 @@ public final class UserContextHolder {
      * @return 是否存在上下文
      */
     public static boolean isPresent() {
-        return CONTEXT.get() != null;
+        return current() != null;
+    }
+
+    /**
+     * 当前用户上下文：线程上设置的值优先，未设置时回退到 {@link ScopedRequestContext} 的绑定
+     */
+    private static UserContext current() {
+        UserContext context = CONTEXT.get();
+        if (context != null) {
+            return context;
+        }
+        RequestContext scoped = ScopedRequestContext.get();
+        return scoped != null ? scoped.user() : null;
     }
 
     // ========== 便捷访问器方法 ==========
@@ -121,7 +134,7 @@ public final class UserContextHolder {
      * @return 用户ID，如果上下文不存在则返回 null
      */
     public static Long getUserId() {
-        UserContext context = CONTEXT.get();
+        UserContext context = current();
         return context != null ? context.getUserId() : null;
     }
 
@@ -131,7 +144,7 @@ public final class UserContextHolder {
      * @return 用户名，如果上下文不存在则返回 null
      */
     public static String getUsername() {
-        UserContext context = CONTEXT.get();
+        UserContext context = current();
         return context != null ? context.getUsername() : null;
     }
 
@@ -141,7 +154,7 @@ public final class UserContextHolder {
      * @return 用户昵称，如果上下文不存在则返回 null
      */
     public static String getNickname() {
-        UserContext context = CONTEXT.get();
+        UserContext context = current();
         return context != null ? context.getNickname() : null;
     }
 
@@ -151,7 +164,7 @@ public final class UserContextHolder {
      * @return 部门ID，如果上下文不存在则返回 null
      */
     public static Long getDeptId() {
-        UserContext context = CONTEXT.get();
+        UserContext context = current();
         return context != null ? context.getDeptId() : null;
     }
 
@@ -162,7 +175,7 @@ public final class UserContextHolder {
      * @return 是否拥有该角色，如果上下文不存在则返回 false
      */
     public static boolean hasRole(String roleCode) {
-        UserContext context = CONTEXT.get();
+        UserContext context = current();
         return context != null && context.hasRole(roleCode);
     }
 
@@ -173,7 +186,7 @@ public final class UserContextHolder {
      * @return 是否拥有该权限，如果上下文不存在则返回 false
      */
     public static boolean hasPermission(String permission) {
-        UserContext context = CONTEXT.get();
+        UserContext context = current();
         return context != null && context.hasPermission(permission);
     }
 
@@ -183,7 +196,7 @@ public final class UserContextHolder {
      * @return 是否为超级管理员，如果上下文不存在则返回 false
      */
     public static boolean isSuperAdmin() {
-        UserContext context = CONTEXT.get();
+        UserContext context = current();
         return context != null && context.isAdmin();
     }
 
@@ -198,7 +211,7 @@ public final class UserContextHolder {
      * @throws IllegalStateException 如果上下文不存在
      */
     public static UserContext require() {
-        UserContext context = CONTEXT.get();
+        UserContext context = current();
         if (context == null) {
             throw new IllegalStateException("User context is not present");
         }
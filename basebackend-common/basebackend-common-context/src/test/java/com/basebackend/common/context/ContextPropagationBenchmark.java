@@ -0,0 +1,124 @@
+package com.basebackend.common.context;
+
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 10 万个虚拟线程任务的上下文传递基准测试
+ * <p>
+ * 每个任务在虚拟线程上读取一次用户ID和租户ID：
+ * {@code ttl} 为原有方式，{@link UserContextHolder} / {@link TenantContextHolder} 设置 TTL，
+ * 经 {@link TtlExecutors} 包装的虚拟线程执行器在每次提交时捕获、重放；
+ * {@code scopedWrap} 为 {@link ScopedRequestContext#wrap(Runnable)} 包装后提交到普通虚拟线程执行器；
+ * {@code contextScope} 为 {@link ContextScope#fork} 逐个派生子任务。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContextPropagationBenchmark {
+
+    private static final int TASKS = 100_000;
+
+    private final LongAdder checksum = new LongAdder();
+    private RequestContext context;
+    private ExecutorService virtualExecutor;
+    private ExecutorService ttlExecutor;
+
+    @Setup
+    public void setUp() {
+        TenantContextInfo tenant = () -> 7L;
+        context = RequestContext.of(UserContext.builder().userId(42L).username("bench").build(), tenant);
+        virtualExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        ttlExecutor = TtlExecutors.getTtlExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @TearDown
+    public void tearDown() {
+        virtualExecutor.close();
+        ttlExecutor.close();
+    }
+
+    @Benchmark
+    public long ttl() throws Exception {
+        UserContextHolder.set(context.user());
+        TenantContextHolder.set(context.tenant());
+        try {
+            List<Future<?>> futures = new ArrayList<>(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                futures.add(ttlExecutor.submit(this::readContext));
+            }
+            return await(futures);
+        } finally {
+            UserContextHolder.clear();
+            TenantContextHolder.clear();
+        }
+    }
+
+    @Benchmark
+    public long scopedWrap() throws Exception {
+        return ScopedRequestContext.call(context, () -> {
+            List<Future<?>> futures = new ArrayList<>(TASKS);
+            for (int i = 0; i < TASKS; i++) {
+                futures.add(virtualExecutor.submit(ScopedRequestContext.wrap(this::readContext)));
+            }
+            return await(futures);
+        });
+    }
+
+    @Benchmark
+    public long contextScope() throws Exception {
+        try (ContextScope scope = ContextScope.open(context)) {
+            for (int i = 0; i < TASKS; i++) {
+                scope.fork(() -> {
+                    readContext();
+                    return null;
+                });
+            }
+            scope.join();
+        }
+        return checksum.sum();
+    }
+
+    private void readContext() {
+        checksum.add(UserContextHolder.getUserId() + TenantContextHolder.getTenantId());
+    }
+
+    private long await(List<Future<?>> futures) throws ExecutionException, InterruptedException {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return checksum.sum();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ContextPropagationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
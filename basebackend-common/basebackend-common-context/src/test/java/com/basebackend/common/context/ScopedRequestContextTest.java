@@ -0,0 +1,185 @@
+package com.basebackend.common.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ScopedRequestContext + ContextScope 单元测试
+ */
+class ScopedRequestContextTest {
+
+    private static final RequestContext CONTEXT = RequestContext.of(
+            UserContext.builder().userId(1L).username("alice").build(), new TestTenantContext(100L));
+
+    @AfterEach
+    void tearDown() {
+        UserContextHolder.clear();
+        TenantContextHolder.clear();
+    }
+
+    // ========== 绑定与兼容 ==========
+
+    @Nested
+    @DisplayName("绑定与 TTL 兼容")
+    class Binding {
+
+        @Test
+        @DisplayName("绑定范围内 Holder 回退读取绑定，退出后自动解除")
+        void shouldExposeBindingThroughHolders() {
+            ScopedRequestContext.run(CONTEXT, () -> {
+                assertThat(ScopedRequestContext.get()).isSameAs(CONTEXT);
+                assertThat(UserContextHolder.getUserId()).isEqualTo(1L);
+                assertThat(TenantContextHolder.getTenantId()).isEqualTo(100L);
+            });
+
+            assertThat(ScopedRequestContext.isBound()).isFalse();
+            assertThat(UserContextHolder.get()).isNull();
+            assertThat(TenantContextHolder.get()).isNull();
+        }
+
+        @Test
+        @DisplayName("线程上设置的 TTL 值优先于绑定")
+        void shouldPreferThreadLocalValue() {
+            ScopedRequestContext.run(CONTEXT, () -> {
+                UserContextHolder.set(UserContext.builder().userId(2L).build());
+                try {
+                    assertThat(UserContextHolder.getUserId()).isEqualTo(2L);
+                    assertThat(ScopedRequestContext.capture().user().getUserId()).isEqualTo(2L);
+                    assertThat(ScopedRequestContext.capture().tenant()).isSameAs(CONTEXT.tenant());
+                } finally {
+                    UserContextHolder.clear();
+                }
+            });
+        }
+
+        @Test
+        @DisplayName("未绑定时 capture 从 TTL 持有者取快照")
+        void shouldCaptureFromThreadLocalWhenUnbound() {
+            assertThat(ScopedRequestContext.capture()).isSameAs(RequestContext.EMPTY);
+
+            TenantContextHolder.set(new TestTenantContext(200L));
+
+            RequestContext captured = ScopedRequestContext.capture();
+            assertThat(captured.user()).isNull();
+            assertThat(captured.tenant().getTenantId()).isEqualTo(200L);
+        }
+
+        @Test
+        @DisplayName("wrap 的任务在其他线程上绑定提交时的上下文")
+        void shouldBindWrappedTaskOnOtherThread() throws Exception {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Callable<Long> task = ScopedRequestContext.call(CONTEXT,
+                        () -> ScopedRequestContext.wrap(UserContextHolder::getUserId));
+
+                assertThat(executor.submit(task).get()).isEqualTo(1L);
+            }
+        }
+
+        @Test
+        @DisplayName("ignoreTenant 在绑定范围内同样隐藏租户")
+        void shouldHideBoundTenantWhenIgnoringTenant() {
+            ScopedRequestContext.run(CONTEXT, () -> {
+                Long ignored = TenantContextHolder.ignoreTenant(TenantContextHolder::getTenantId);
+
+                assertThat(ignored).isNull();
+                assertThat(UserContextHolder.getUserId()).isEqualTo(1L);
+                assertThat(TenantContextHolder.getTenantId()).isEqualTo(100L);
+            });
+        }
+    }
+
+    // ========== 结构化并发 ==========
+
+    @Nested
+    @DisplayName("ContextScope")
+    class Scope {
+
+        @Test
+        @DisplayName("子任务在虚拟线程上读到打开作用域时的上下文")
+        void shouldPropagateContextToSubtasks() throws Exception {
+            List<Long> userIds = ScopedRequestContext.call(CONTEXT, () -> ContextScope.invokeAll(
+                    IntStream.range(0, 1000)
+                            .<Callable<Long>>mapToObj(i -> () -> {
+                                assertThat(Thread.currentThread().isVirtual()).isTrue();
+                                return UserContextHolder.getUserId() + TenantContextHolder.getTenantId();
+                            })
+                            .toList()));
+
+            assertThat(userIds).hasSize(1000).containsOnly(101L);
+        }
+
+        @Test
+        @DisplayName("任一子任务失败时取消其余子任务，join 抛出第一个失败原因")
+        void shouldCancelSiblingsOnFailure() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            AtomicBoolean interrupted = new AtomicBoolean();
+
+            try (ContextScope scope = ContextScope.open(CONTEXT)) {
+                Future<Object> slow = scope.fork(() -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                        throw e;
+                    }
+                    return null;
+                });
+                started.await();
+                scope.fork(() -> {
+                    throw new IllegalStateException("boom");
+                });
+
+                assertThatThrownBy(scope::join)
+                        .isInstanceOf(ExecutionException.class)
+                        .hasCauseInstanceOf(IllegalStateException.class)
+                        .hasRootCauseMessage("boom");
+                assertThat(slow.isCancelled()).isTrue();
+            }
+            assertThat(interrupted).isTrue();
+        }
+
+        @Test
+        @DisplayName("只有打开作用域的线程可以 fork")
+        void shouldRejectForkFromOtherThread() {
+            try (ContextScope scope = ContextScope.open(CONTEXT)) {
+                scope.fork(() -> scope.fork(() -> null));
+
+                assertThatThrownBy(scope::join)
+                        .isInstanceOf(ExecutionException.class)
+                        .hasCauseInstanceOf(IllegalStateException.class);
+            }
+        }
+    }
+
+    private static final class TestTenantContext implements TenantContextInfo {
+        private static final long serialVersionUID = 1L;
+
+        private final Long tenantId;
+
+        private TestTenantContext(Long tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        @Override
+        public Long getTenantId() {
+            return tenantId;
+        }
+    }
+}
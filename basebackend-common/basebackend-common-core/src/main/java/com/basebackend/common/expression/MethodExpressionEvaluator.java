@@ -0,0 +1,147 @@
+package com.basebackend.common.expression;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+
+/**
+ * 基于方法的 SpEL 表达式求值器
+ * <p>
+ * 供各注解切面（缓存、分布式锁、限流、幂等、审计等）共享使用：
+ * <ul>
+ *     <li>按 (方法, 表达式, 是否模板) 缓存已解析的 {@link Expression}，避免每次调用重复解析</li>
+ *     <li>解析器启用 {@link SpelCompilerMode#MIXED}，热点表达式在达到阈值后编译为字节码，
+ *     编译失败时自动回退解释执行</li>
+ *     <li>统一使用 {@link MethodBasedEvaluationContext} 进行参数名发现，
+ *     支持 {@code #paramName}、{@code #p0}、{@code #a0} 写法</li>
+ * </ul>
+ * 表达式通常来源于注解属性，但调用方也可能传入动态拼接的表达式，因此缓存按条目数设上限，
+ * 超出后按 Caffeine 的 W-TinyLFU 策略淘汰冷门表达式。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public class MethodExpressionEvaluator {
+
+    private static final MethodExpressionEvaluator SHARED = new MethodExpressionEvaluator();
+
+    private static final ParserContext TEMPLATE_PARSER_CONTEXT = new TemplateParserContext();
+
+    /**
+     * 默认缓存的最大表达式数量
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private final SpelExpressionParser parser;
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer;
+
+    private final Cache<ExpressionKey, Expression> expressionCache;
+
+    public MethodExpressionEvaluator() {
+        this(new SpelExpressionParser(new SpelParserConfiguration(
+                SpelCompilerMode.MIXED, MethodExpressionEvaluator.class.getClassLoader())),
+                new DefaultParameterNameDiscoverer());
+    }
+
+    public MethodExpressionEvaluator(SpelExpressionParser parser, ParameterNameDiscoverer parameterNameDiscoverer) {
+        this(parser, parameterNameDiscoverer, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize 缓存的最大表达式数量
+     */
+    public MethodExpressionEvaluator(SpelExpressionParser parser, ParameterNameDiscoverer parameterNameDiscoverer,
+                                     long maximumSize) {
+        this.parser = parser;
+        this.parameterNameDiscoverer = parameterNameDiscoverer;
+        this.expressionCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * 获取全局共享实例
+     */
+    public static MethodExpressionEvaluator shared() {
+        return SHARED;
+    }
+
+    /**
+     * 创建方法级 SpEL 求值上下文
+     *
+     * @param target 目标对象（作为根对象，可为 null）
+     * @param method 被拦截的方法
+     * @param args   方法实参
+     * @return 求值上下文
+     */
+    public MethodBasedEvaluationContext createContext(Object target, Method method, Object[] args) {
+        return new MethodBasedEvaluationContext(target, method, args, parameterNameDiscoverer);
+    }
+
+    /**
+     * 对普通 SpEL 表达式求值
+     */
+    public Object getValue(String expression, Method method, EvaluationContext context) {
+        return getExpression(expression, method, false).getValue(context);
+    }
+
+    /**
+     * 对普通 SpEL 表达式求值并转换为指定类型
+     */
+    public <T> T getValue(String expression, Method method, EvaluationContext context, Class<T> resultType) {
+        return getExpression(expression, method, false).getValue(context, resultType);
+    }
+
+    /**
+     * 对模板表达式（{@code #{...}} 形式）求值并转换为指定类型
+     */
+    public <T> T getTemplateValue(String template, Method method, EvaluationContext context, Class<T> resultType) {
+        return getExpression(template, method, true).getValue(context, resultType);
+    }
+
+    /**
+     * 获取（或解析并缓存）表达式
+     */
+    public Expression getExpression(String expression, Method method, boolean template) {
+        ExpressionKey key = new ExpressionKey(method, expression, template);
+        Expression cached = expressionCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // 解析失败（语法错误）时异常直接抛出，不会写入缓存
+        return expressionCache.get(key, k -> k.template()
+                ? parser.parseExpression(k.expression(), TEMPLATE_PARSER_CONTEXT)
+                : parser.parseExpression(k.expression()));
+    }
+
+    /**
+     * 当前缓存的表达式数量
+     */
+    public int size() {
+        expressionCache.cleanUp();
+        return (int) expressionCache.estimatedSize();
+    }
+
+    /**
+     * 清空表达式缓存
+     */
+    public void clear() {
+        expressionCache.invalidateAll();
+    }
+
+    private record ExpressionKey(Method method, String expression, boolean template) {
+    }
+}
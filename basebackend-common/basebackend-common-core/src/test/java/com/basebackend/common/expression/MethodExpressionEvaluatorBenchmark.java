@@ -0,0 +1,91 @@
+package com.basebackend.common.expression;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存键 SpEL 求值基准
+ * <p>
+ * {@code parsePerCall} 还原各切面改造前的写法（每次调用 parseExpression），
+ * {@code cachedMixed} 为 {@link MethodExpressionEvaluator} 的缓存 + MIXED 编译路径。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodExpressionEvaluatorBenchmark {
+
+    private static final String KEY_EXPRESSION = "'user:' + #id + ':' + #query.status";
+
+    private final ExpressionParser legacyParser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer nameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final MethodExpressionEvaluator evaluator = new MethodExpressionEvaluator();
+
+    private final SampleService target = new SampleService();
+    private Method method;
+    private Object[] args;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = SampleService.class.getMethod("find", Long.class, Query.class);
+        args = new Object[]{1024L, new Query("ACTIVE")};
+    }
+
+    @Benchmark
+    public Object parsePerCall() {
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(target, method, args, nameDiscoverer);
+        return legacyParser.parseExpression(KEY_EXPRESSION).getValue(context);
+    }
+
+    @Benchmark
+    public Object cachedMixed() {
+        MethodBasedEvaluationContext context = evaluator.createContext(target, method, args);
+        return evaluator.getValue(KEY_EXPRESSION, method, context);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MethodExpressionEvaluatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    public static class Query {
+        private final String status;
+
+        public Query(String status) {
+            this.status = status;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+    }
+
+    public static class SampleService {
+        public Object find(Long id, Query query) {
+            return id;
+        }
+    }
+}
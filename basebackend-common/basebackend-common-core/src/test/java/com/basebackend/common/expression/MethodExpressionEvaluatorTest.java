@@ -0,0 +1,98 @@
+package com.basebackend.common.expression;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * MethodExpressionEvaluator 单元测试
+ */
+class MethodExpressionEvaluatorTest {
+
+    private MethodExpressionEvaluator evaluator;
+    private Method method;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        evaluator = new MethodExpressionEvaluator();
+        method = SampleService.class.getMethod("find", Long.class, String.class);
+    }
+
+    @Test
+    @DisplayName("按参数名、#p0、#a0 解析")
+    void shouldResolveParameterNames() {
+        EvaluationContext context = evaluator.createContext(new SampleService(), method, new Object[]{42L, "alice"});
+
+        assertThat(evaluator.getValue("#id + ':' + #name", method, context)).isEqualTo("42:alice");
+        assertThat(evaluator.getValue("#p0", method, context)).isEqualTo(42L);
+        assertThat(evaluator.getValue("#a1", method, context)).isEqualTo("alice");
+    }
+
+    @Test
+    @DisplayName("同一方法同一表达式只解析一次")
+    void shouldCacheParsedExpression() {
+        Expression first = evaluator.getExpression("#id", method, false);
+        Expression second = evaluator.getExpression("#id", method, false);
+
+        assertThat(second).isSameAs(first);
+        assertThat(evaluator.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("模板表达式与普通表达式分别缓存")
+    void shouldSeparateTemplateAndPlainExpressions() {
+        EvaluationContext context = evaluator.createContext(null, method, new Object[]{7L, "bob"});
+
+        String value = evaluator.getTemplateValue("user #{#name} (#{#id})", method, context, String.class);
+
+        assertThat(value).isEqualTo("user bob (7)");
+        evaluator.getExpression("#name", method, false);
+        assertThat(evaluator.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("多次求值（触发 MIXED 编译）结果保持一致")
+    void shouldStayCorrectAfterCompilation() {
+        for (int i = 0; i < 500; i++) {
+            EvaluationContext context = evaluator.createContext(null, method, new Object[]{(long) i, "u" + i});
+            assertThat(evaluator.getValue("#name + ':' + #id", method, context, String.class))
+                    .isEqualTo("u" + i + ":" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("语法错误不写入缓存")
+    void shouldNotCacheInvalidExpression() {
+        assertThatThrownBy(() -> evaluator.getExpression("#id +", method, false))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(evaluator.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("缓存条目数不超过上限")
+    void shouldBoundCachedExpressions() {
+        MethodExpressionEvaluator bounded = new MethodExpressionEvaluator(
+                new SpelExpressionParser(), new DefaultParameterNameDiscoverer(), 16);
+
+        for (int i = 0; i < 200; i++) {
+            bounded.getExpression("#id + " + i, method, false);
+        }
+
+        assertThat(bounded.size()).isLessThanOrEqualTo(16);
+    }
+
+    static class SampleService {
+        public String find(Long id, String name) {
+            return name + id;
+        }
+    }
+}
@@ -5,7 +5,7 @@ import com.basebackend.common.datascope.annotation.DataScope;
 import com.basebackend.common.datascope.config.DataScopeProperties;
 import com.basebackend.common.datascope.context.DataScopeContext;
 import com.basebackend.common.datascope.handler.DataScopeSqlBuilder;
-import lombok.RequiredArgsConstructor;
+import com.basebackend.common.datascope.handler.DeptHierarchyIndex;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -29,11 +29,24 @@ import java.lang.reflect.Method;
  */
 @Slf4j
 @Aspect
-@RequiredArgsConstructor
 public class DataScopeAspect {
 
     private final DataScopeProperties properties;
 
+    /**
+     * 部门层级索引（可为 null）
+     */
+    private final DeptHierarchyIndex hierarchyIndex;
+
+    public DataScopeAspect(DataScopeProperties properties) {
+        this(properties, null);
+    }
+
+    public DataScopeAspect(DataScopeProperties properties, DeptHierarchyIndex hierarchyIndex) {
+        this.properties = properties;
+        this.hierarchyIndex = hierarchyIndex;
+    }
+
     @Around("execution(* *(..)) && (" +
             "@annotation(com.basebackend.common.datascope.annotation.DataScope) || " +
             "@within(com.basebackend.common.datascope.annotation.DataScope) || " +
@@ -61,7 +74,8 @@ public class DataScopeAspect {
                     dataScope.deptField(),
                     dataScope.userAlias(),
                     dataScope.userField(),
-                    properties
+                    properties,
+                    hierarchyIndex
             );
 
             if (condition != null && !condition.isEmpty()) {
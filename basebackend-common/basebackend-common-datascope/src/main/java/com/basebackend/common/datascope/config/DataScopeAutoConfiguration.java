@@ -1,8 +1,10 @@
 package com.basebackend.common.datascope.config;
 
 import com.basebackend.common.datascope.aspect.DataScopeAspect;
+import com.basebackend.common.datascope.handler.DeptHierarchyIndex;
 import com.basebackend.common.datascope.interceptor.DataScopeInterceptor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -33,8 +35,9 @@ public class DataScopeAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public DataScopeAspect dataScopeAspect(DataScopeProperties properties) {
+    public DataScopeAspect dataScopeAspect(DataScopeProperties properties,
+                                           ObjectProvider<DeptHierarchyIndex> hierarchyIndexProvider) {
         log.info("初始化数据权限 AOP 切面");
-        return new DataScopeAspect(properties);
+        return new DataScopeAspect(properties, hierarchyIndexProvider.getIfAvailable());
     }
 }
@@ -27,4 +27,35 @@ public class DataScopeProperties {
      * 部门表名
      */
     private String deptTableName = "sys_dept";
+
+    /**
+     * 部门层级索引配置
+     */
+    private Hierarchy hierarchy = new Hierarchy();
+
+    /**
+     * 部门层级索引配置
+     * <p>
+     * 启用后"本部门及以下"不再使用 {@code FIND_IN_SET(deptId, ancestors)} 全表扫描，
+     * 而是内联内存索引中的部门ID，或回退到闭包表的主键范围查询。
+     * </p>
+     */
+    @Data
+    public static class Hierarchy {
+
+        /**
+         * 是否启用层级索引
+         */
+        private boolean enabled = false;
+
+        /**
+         * 部门闭包表名（ancestor_id, descendant_id, depth）
+         */
+        private String closureTableName = "sys_dept_closure";
+
+        /**
+         * 下级部门数量不超过该值时直接内联为 IN 列表，超过则使用闭包表子查询
+         */
+        private int inlineLimit = 500;
+    }
 }
@@ -6,6 +6,7 @@ import com.basebackend.common.datascope.config.DataScopeProperties;
 import com.basebackend.common.datascope.context.DataScopeContext;
 import com.basebackend.common.datascope.enums.DataScopeType;
 
+import java.util.StringJoiner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -66,6 +67,24 @@ public final class DataScopeSqlBuilder {
     public static String buildCondition(DataScopeType type, String deptAlias, String deptField,
                                         String userAlias, String userField,
                                         DataScopeProperties properties) {
+        return buildCondition(type, deptAlias, deptField, userAlias, userField, properties, null);
+    }
+
+    /**
+     * 构建数据权限 SQL 条件（支持部门层级索引）
+     *
+     * @param type           数据范围类型
+     * @param deptAlias      部门表别名
+     * @param deptField      部门ID字段名
+     * @param userAlias      用户表别名
+     * @param userField      创建者字段名
+     * @param properties     配置属性（可为 null，仅 DEPT_AND_BELOW 使用）
+     * @param hierarchyIndex 部门层级索引（可为 null，仅在启用层级索引时使用）
+     * @return SQL 条件片段（不含前导 AND），ALL 类型返回空字符串
+     */
+    public static String buildCondition(DataScopeType type, String deptAlias, String deptField,
+                                        String userAlias, String userField,
+                                        DataScopeProperties properties, DeptHierarchyIndex hierarchyIndex) {
         if (type == null) {
             return denyCondition();
         }
@@ -84,7 +103,10 @@ public final class DataScopeSqlBuilder {
         try {
             return switch (type) {
                 case DEPT -> buildDeptCondition(deptAlias, deptField, user.getDeptId());
-                case DEPT_AND_BELOW -> buildDeptAndBelowCondition(deptAlias, deptField, user.getDeptId(), deptTableName);
+                case DEPT_AND_BELOW -> properties != null && properties.getHierarchy().isEnabled()
+                        ? buildDeptAndBelowCondition(deptAlias, deptField, user.getDeptId(),
+                                properties.getHierarchy(), hierarchyIndex)
+                        : buildDeptAndBelowCondition(deptAlias, deptField, user.getDeptId(), deptTableName);
                 case SELF -> buildSelfCondition(userAlias, userField, user.getUserId());
                 case CUSTOM -> buildCustomCondition();
                 case AUTO -> denyCondition();
@@ -124,6 +146,37 @@ public final class DataScopeSqlBuilder {
         );
     }
 
+    /**
+     * 本部门及以下（层级索引）:
+     * 内存索引可用且下级部门不多时为 {deptAlias}.{deptField} IN ({部门ID列表})，
+     * 否则为 {deptAlias}.{deptField} IN (SELECT descendant_id FROM {closureTable} WHERE ancestor_id = {deptId})
+     */
+    static String buildDeptAndBelowCondition(String deptAlias, String deptField, Long deptId,
+                                             DataScopeProperties.Hierarchy hierarchy,
+                                             DeptHierarchyIndex hierarchyIndex) {
+        if (deptId == null) {
+            return "";
+        }
+        validateIdentifier(deptAlias, "deptAlias");
+        validateIdentifier(deptField, "deptField");
+
+        long[] deptIds = hierarchyIndex != null ? hierarchyIndex.getSelfAndDescendantIds(deptId) : null;
+        if (deptIds != null && deptIds.length > 0 && deptIds.length <= hierarchy.getInlineLimit()) {
+            if (deptIds.length == 1) {
+                return String.format("%s.%s = %d", deptAlias, deptField, deptIds[0]);
+            }
+            StringJoiner joiner = new StringJoiner(", ", deptAlias + "." + deptField + " IN (", ")");
+            for (long id : deptIds) {
+                joiner.add(Long.toString(id));
+            }
+            return joiner.toString();
+        }
+
+        validateIdentifier(hierarchy.getClosureTableName(), "closureTableName");
+        return String.format("%s.%s IN (SELECT descendant_id FROM %s WHERE ancestor_id = %d)",
+                deptAlias, deptField, hierarchy.getClosureTableName(), deptId);
+    }
+
     /**
      * 仅本人: AND {userAlias}.{userField} = {currentUserId}
      */
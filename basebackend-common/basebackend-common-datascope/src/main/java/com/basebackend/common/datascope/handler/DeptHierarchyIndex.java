@@ -0,0 +1,22 @@
+package com.basebackend.common.datascope.handler;
+
+/**
+ * 部门层级索引
+ * <p>
+ * 由持有部门数据的服务实现（如 system-api 基于闭包表 + 内存区间树的实现），
+ * 供 {@link DataScopeSqlBuilder} 把"本部门及以下"改写为可走索引的 {@code IN} 查询。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public interface DeptHierarchyIndex {
+
+    /**
+     * 获取部门及其所有下级部门的 ID
+     *
+     * @param deptId 部门ID
+     * @return 包含自身的部门ID数组；索引尚未加载或部门不存在时返回 null
+     */
+    long[] getSelfAndDescendantIds(long deptId);
+}
@@ -164,4 +164,52 @@ class DataScopeSqlBuilderTest {
             assertThat(sql).contains("my_dept_table");
         }
     }
+
+    @Nested
+    @DisplayName("部门层级索引")
+    class HierarchyIndex {
+
+        @BeforeEach
+        void enableHierarchy() {
+            properties.getHierarchy().setEnabled(true);
+            properties.getHierarchy().setInlineLimit(3);
+        }
+
+        @Test
+        @DisplayName("下级部门较少时内联为 IN 列表")
+        void shouldInlineDescendantIds() {
+            String sql = DataScopeSqlBuilder.buildCondition(DataScopeType.DEPT_AND_BELOW,
+                    "d", "dept_id", "u", "create_by", properties, deptId -> new long[]{10, 11, 12});
+            assertThat(sql).isEqualTo("d.dept_id IN (10, 11, 12)");
+        }
+
+        @Test
+        @DisplayName("叶子部门退化为等值条件")
+        void shouldUseEqualityForLeafDept() {
+            String sql = DataScopeSqlBuilder.buildCondition(DataScopeType.DEPT_AND_BELOW,
+                    "d", "dept_id", "u", "create_by", properties, deptId -> new long[]{10});
+            assertThat(sql).isEqualTo("d.dept_id = 10");
+        }
+
+        @Test
+        @DisplayName("下级部门过多或索引未加载时使用闭包表")
+        void shouldFallBackToClosureTable() {
+            String expected = "d.dept_id IN (SELECT descendant_id FROM sys_dept_closure WHERE ancestor_id = 10)";
+            assertThat(DataScopeSqlBuilder.buildCondition(DataScopeType.DEPT_AND_BELOW,
+                    "d", "dept_id", "u", "create_by", properties, deptId -> new long[]{10, 11, 12, 13}))
+                    .isEqualTo(expected);
+            assertThat(DataScopeSqlBuilder.buildCondition(DataScopeType.DEPT_AND_BELOW,
+                    "d", "dept_id", "u", "create_by", properties, deptId -> null))
+                    .isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("闭包表名不合法时拒绝访问")
+        void shouldDenyOnInvalidClosureTable() {
+            properties.getHierarchy().setClosureTableName("sys_dept_closure; DROP TABLE x");
+            String sql = DataScopeSqlBuilder.buildCondition(DataScopeType.DEPT_AND_BELOW,
+                    "d", "dept_id", "u", "create_by", properties, null);
+            assertThat(sql).isEqualTo("1 = 0");
+        }
+    }
 }
@@ -6,6 +6,7 @@ import com.basebackend.common.event.impl.SpringDomainEventPublisher;
 import com.basebackend.common.event.retry.EventCleanupScheduler;
 import com.basebackend.common.event.retry.EventRetryScheduler;
 import com.basebackend.common.event.store.EventStore;
+import com.basebackend.common.event.store.FileEventStore;
 import com.basebackend.common.event.store.InMemoryEventStore;
 import com.basebackend.common.event.store.JdbcEventStore;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -19,6 +20,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.nio.file.Path;
+
 @AutoConfiguration
 @EnableConfigurationProperties(EventProperties.class)
 @ConditionalOnProperty(prefix = "basebackend.common.event", name = "enabled", havingValue = "true", matchIfMissing = true)
@@ -52,6 +55,21 @@ public class EventAutoConfiguration {
         }
     }
 
+    /**
+     * 文件事件存储（分段追加日志）
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "basebackend.common.event.store", name = "type", havingValue = "file")
+    static class FileEventStoreConfiguration {
+        @Bean(destroyMethod = "close")
+        @ConditionalOnMissingBean(EventStore.class)
+        public EventStore eventStore(EventProperties properties) {
+            EventProperties.File file = properties.getStore().getFile();
+            return new FileEventStore(Path.of(file.getDirectory()), file.getSegmentSize().toBytes(),
+                    file.getFsyncPolicy(), file.getFsyncInterval());
+        }
+    }
+
     /**
      * 可靠事件发布器（当 EventStore 可用时）
      */
@@ -1,7 +1,11 @@
 package com.basebackend.common.event.config;
 
+import com.basebackend.common.event.store.FileEventStore;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 
 @Data
 @ConfigurationProperties("basebackend.common.event")
@@ -27,9 +31,37 @@ public class EventProperties {
     @Data
     public static class Store {
         /**
-         * 存储类型：memory / jdbc
+         * 存储类型：memory / jdbc / file
          */
         private String type = "memory";
+
+        /**
+         * 文件存储配置（type=file 时生效）
+         */
+        private File file = new File();
+    }
+
+    @Data
+    public static class File {
+        /**
+         * 日志目录
+         */
+        private String directory = "data/event-log";
+
+        /**
+         * 单个段文件大小，写满后滚动到新段
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * fsync 策略：ALWAYS（每次组提交后）/ INTERVAL（按间隔）/ NEVER（仅滚动和关闭时）
+         */
+        private FileEventStore.FsyncPolicy fsyncPolicy = FileEventStore.FsyncPolicy.ALWAYS;
+
+        /**
+         * INTERVAL 策略下的 fsync 间隔
+         */
+        private Duration fsyncInterval = Duration.ofMillis(100);
     }
 
     @Data
@@ -1,14 +1,15 @@
 package com.basebackend.common.event.retry;
 
 import com.basebackend.common.event.DomainEvent;
+import com.basebackend.common.event.store.EventFailure;
 import com.basebackend.common.event.store.EventStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,6 +18,10 @@ import java.util.List;
  * 定时扫描 PENDING 和 FAILED 状态的事件，重新发布到 Spring ApplicationEvent。
  * 采用指数退避重试间隔（1s, 2s, 4s, 8s...），超过 maxRetries 后标记为 FAILED 不再重试。
  * </p>
+ * <p>
+ * 每批事件发布完后统一变更状态：成功的一次 {@link EventStore#markAllAsPublished}，
+ * 失败的连同重试次数和下次重试时间一次 {@link EventStore#markAllAsFailed}。
+ * </p>
  *
  * @author BaseBackend Team
  * @since 1.0.0
@@ -39,38 +44,55 @@ public class EventRetryScheduler {
 
     @Scheduled(fixedDelayString = "${basebackend.common.event.retry.interval-seconds:30}000")
     public void retryPendingEvents() {
-        List<DomainEvent> pendingEvents = eventStore.findPendingEvents(batchSize);
-        for (DomainEvent event : pendingEvents) {
-            retryEvent(event);
-        }
+        retryEvents(eventStore.findPendingEvents(batchSize));
+        retryEvents(eventStore.findFailedEvents(batchSize));
+    }
 
-        List<DomainEvent> failedEvents = eventStore.findFailedEvents(batchSize);
-        for (DomainEvent event : failedEvents) {
-            retryEvent(event);
+    private void retryEvents(List<DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<String> published = new ArrayList<>(events.size());
+        List<EventFailure> failures = new ArrayList<>();
+        for (DomainEvent event : events) {
+            String failReason = retryEvent(event);
+            if (failReason == null) {
+                published.add(event.getEventId());
+            } else {
+                failures.add(EventFailure.of(event, failReason));
+            }
+        }
+        if (!published.isEmpty()) {
+            eventStore.markAllAsPublished(published);
+        }
+        if (!failures.isEmpty()) {
+            eventStore.markAllAsFailed(failures);
         }
     }
 
-    private void retryEvent(DomainEvent event) {
+    /**
+     * @return 失败原因，发布成功时返回 null
+     */
+    private String retryEvent(DomainEvent event) {
         if (event.getRetryCount() >= event.getMaxRetries()) {
-            eventStore.markAsFailed(event.getEventId(), "Max retries exceeded");
             log.warn("Event {} exceeded max retries ({}), marked as permanently failed",
                     event.getEventId(), event.getMaxRetries());
-            return;
+            return "Max retries exceeded";
         }
 
         try {
             applicationEventPublisher.publishEvent(event);
-            eventStore.markAsPublished(event.getEventId());
             log.info("Event {} retried successfully (attempt {})",
                     event.getEventId(), event.getRetryCount() + 1);
+            return null;
         } catch (Exception e) {
             event.incrementRetryCount();
             // 指数退避：1s, 2s, 4s, 8s...
             long delaySeconds = (long) Math.pow(2, event.getRetryCount() - 1);
             event.setNextRetryTime(LocalDateTime.now().plusSeconds(delaySeconds));
-            eventStore.markAsFailed(event.getEventId(), e.getMessage());
             log.warn("Event {} retry failed (attempt {}), next retry in {}s",
                     event.getEventId(), event.getRetryCount(), delaySeconds, e);
+            return e.getMessage() != null ? e.getMessage() : e.getClass().getName();
         }
     }
 }
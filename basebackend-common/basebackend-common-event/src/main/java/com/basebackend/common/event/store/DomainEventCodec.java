@@ -0,0 +1,104 @@
+package com.basebackend.common.event.store;
+
+import com.basebackend.common.event.DomainEvent;
+import com.basebackend.common.event.EventStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+
+/**
+ * 事件序列化与还原，JDBC 与文件事件存储共用
+ * <p>
+ * 事件体以 JSON 保存；还原时按类名反序列化，类不存在或反序列化失败时降级为包装原始 JSON 的事件，
+ * 再把存储中的标识、时间戳和重试状态写回事件对象。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+final class DomainEventCodec {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventCodec.class);
+
+    private final ObjectMapper objectMapper;
+
+    DomainEventCodec() {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    String serialize(DomainEvent event) throws Exception {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    /**
+     * 还原事件
+     *
+     * @param className 反序列化使用的类名
+     */
+    DomainEvent restore(String className, String eventId, String eventType, String eventData, String source,
+                        LocalDateTime timestamp, int retryCount, int maxRetries,
+                        EventStatus status, LocalDateTime nextRetryTime) {
+        DomainEvent event = deserializeEvent(className, eventData, source);
+        setField(event, "eventId", eventId);
+        setField(event, "eventType", eventType);
+        setField(event, "timestamp", timestamp);
+        setField(event, "source", source);
+        setField(event, "retryCount", retryCount);
+        event.setMaxRetries(maxRetries);
+        event.setStatus(status);
+        event.setNextRetryTime(nextRetryTime);
+        return event;
+    }
+
+    private DomainEvent deserializeEvent(String className, String eventData, String source) {
+        try {
+            Class<?> rawClass = Class.forName(className);
+            if (DomainEvent.class.isAssignableFrom(rawClass)) {
+                @SuppressWarnings("unchecked")
+                Class<? extends DomainEvent> eventClass = (Class<? extends DomainEvent>) rawClass;
+                return objectMapper.readValue(eventData, eventClass);
+            }
+        } catch (ClassNotFoundException e) {
+            log.warn("事件类不存在，使用降级包装事件: eventType={}", className);
+        } catch (Exception e) {
+            log.warn("事件反序列化失败，使用降级包装事件: eventType={}", className, e);
+        }
+        return new RehydratedDomainEvent(source, eventData);
+    }
+
+    private void setField(DomainEvent target, String fieldName, Object value) {
+        try {
+            Class<?> current = target.getClass();
+            while (current != null) {
+                try {
+                    var field = current.getDeclaredField(fieldName);
+                    field.setAccessible(true);
+                    field.set(target, value);
+                    return;
+                } catch (NoSuchFieldException ignored) {
+                    current = current.getSuperclass();
+                }
+            }
+            throw new NoSuchFieldException(fieldName);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to restore event field: " + fieldName, e);
+        }
+    }
+
+    private static final class RehydratedDomainEvent extends DomainEvent {
+        private final String rawEventData;
+
+        private RehydratedDomainEvent(String source, String rawEventData) {
+            super(source);
+            this.rawEventData = rawEventData;
+        }
+
+        public String getRawEventData() {
+            return rawEventData;
+        }
+    }
+}
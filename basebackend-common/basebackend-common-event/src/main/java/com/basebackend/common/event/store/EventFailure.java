@@ -0,0 +1,22 @@
+package com.basebackend.common.event.store;
+
+import com.basebackend.common.event.DomainEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量标记失败时单个事件的失败信息，连同重试状态一起落库
+ *
+ * @param eventId       事件 ID
+ * @param reason        失败原因
+ * @param retryCount    已重试次数
+ * @param nextRetryTime 下次重试时间，可为 null
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public record EventFailure(String eventId, String reason, int retryCount, LocalDateTime nextRetryTime) {
+
+    public static EventFailure of(DomainEvent event, String reason) {
+        return new EventFailure(event.getEventId(), reason, event.getRetryCount(), event.getNextRetryTime());
+    }
+}
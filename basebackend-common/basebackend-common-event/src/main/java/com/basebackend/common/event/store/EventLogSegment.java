@@ -0,0 +1,291 @@
+package com.basebackend.common.event.store;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32C;
+
+/**
+ * 事件日志段文件
+ * <p>
+ * 文件名为该段第一条记录的偏移量（20 位补零）+ {@code .log}，只追加写入。每条记录一帧：
+ * <pre>
+ * | length:int | crc32c:int | offset:long | type:byte | payload |
+ * </pre>
+ * {@code length} 为 offset 起的字节数，CRC 覆盖 offset、type 和 payload。
+ * 稀疏索引只在内存中：每隔约 {@code indexIntervalBytes} 字节记录一次（偏移量, 文件位置），
+ * 按偏移量读取时二分定位到前一个索引点再顺序扫描。
+ * </p>
+ * <p>写入只由日志写线程执行，读取可并发。</p>
+ */
+final class EventLogSegment implements Closeable {
+
+    static final String SUFFIX = ".log";
+    static final int HEADER_BYTES = 8;
+    static final int MIN_BODY_BYTES = 9;
+
+    private final long baseOffset;
+    private final Path file;
+    private final FileChannel channel;
+    private final int indexIntervalBytes;
+
+    private volatile long size;
+    private volatile long nextOffset;
+
+    private long[] indexOffsets = new long[16];
+    private long[] indexPositions = new long[16];
+    private int indexSize;
+    private long lastIndexedPosition = -1;
+
+    /**
+     * 该段内仍被未投递事件引用的记录数（事件记录及其最新状态记录），为 0 时可被压缩删除
+     */
+    private final AtomicInteger liveRecords = new AtomicInteger();
+    private volatile int eventCount;
+
+    private EventLogSegment(long baseOffset, Path file, FileChannel channel, int indexIntervalBytes) throws IOException {
+        this.baseOffset = baseOffset;
+        this.file = file;
+        this.channel = channel;
+        this.indexIntervalBytes = indexIntervalBytes;
+        this.size = channel.size();
+        this.nextOffset = baseOffset;
+    }
+
+    static EventLogSegment open(Path directory, long baseOffset, int indexIntervalBytes) throws IOException {
+        Path file = directory.resolve(String.format("%020d", baseOffset) + SUFFIX);
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new EventLogSegment(baseOffset, file, channel, indexIntervalBytes);
+    }
+
+    /**
+     * 从文件名解析段起始偏移量，不是段文件时返回 -1
+     */
+    static long parseBaseOffset(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 恢复：顺序校验全部帧并重建索引
+     *
+     * @return 有效数据的末尾位置；小于文件大小说明尾部有残缺或损坏的帧
+     */
+    long recover(FrameVisitor visitor) throws IOException {
+        long position = 0;
+        long expectedOffset = baseOffset;
+        Frame frame;
+        while ((frame = readFrame(position)) != null && frame.offset() == expectedOffset) {
+            index(frame.offset(), position);
+            visitor.visit(frame);
+            position = frame.nextPosition();
+            expectedOffset++;
+        }
+        nextOffset = expectedOffset;
+        return position;
+    }
+
+    /**
+     * 截断到指定位置（丢弃残缺的尾部帧）
+     */
+    void truncate(long position) throws IOException {
+        channel.truncate(position);
+        channel.force(true);
+        size = position;
+    }
+
+    /**
+     * 追加已编码的帧
+     *
+     * @param frames    帧数据（position 到 limit）
+     * @param offsets   各帧偏移量
+     * @param positions 各帧在 {@code frames} 中的起始位置
+     * @param count     帧数
+     */
+    void append(ByteBuffer frames, long[] offsets, int[] positions, int count) throws IOException {
+        long start = size;
+        long writePosition = start;
+        while (frames.hasRemaining()) {
+            writePosition += channel.write(frames, writePosition);
+        }
+        for (int i = 0; i < count; i++) {
+            index(offsets[i], start + positions[i]);
+        }
+        nextOffset = offsets[count - 1] + 1;
+        size = writePosition;
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * 读取指定位置的帧，位置超出已写入数据、帧不完整或校验失败时返回 null
+     */
+    Frame readFrame(long position) throws IOException {
+        long limit = size;
+        if (position + HEADER_BYTES > limit) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(header, position);
+        int length = header.getInt(0);
+        int crc = header.getInt(4);
+        if (length < MIN_BODY_BYTES || position + HEADER_BYTES + length > limit) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length);
+        readFully(body, position + HEADER_BYTES);
+        CRC32C checksum = new CRC32C();
+        checksum.update(body.array(), 0, length);
+        if ((int) checksum.getValue() != crc) {
+            return null;
+        }
+        return new Frame(body.getLong(0), body.get(8),
+                Arrays.copyOfRange(body.array(), MIN_BODY_BYTES, length), position + HEADER_BYTES + length);
+    }
+
+    /**
+     * 按偏移量查找帧，不存在时返回 null
+     */
+    Frame find(long offset) throws IOException {
+        long position = floorPosition(offset);
+        Frame frame;
+        while ((frame = readFrame(position)) != null) {
+            if (frame.offset() == offset) {
+                return frame;
+            }
+            if (frame.offset() > offset) {
+                return null;
+            }
+            position = frame.nextPosition();
+        }
+        return null;
+    }
+
+    /**
+     * 不大于 {@code offset} 的最近索引点的文件位置
+     */
+    synchronized long floorPosition(long offset) {
+        int low = 0;
+        int high = indexSize - 1;
+        long position = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexOffsets[mid] <= offset) {
+                position = indexPositions[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return position;
+    }
+
+    private synchronized void index(long offset, long position) {
+        if (lastIndexedPosition >= 0 && position - lastIndexedPosition < indexIntervalBytes) {
+            return;
+        }
+        if (indexSize == indexOffsets.length) {
+            indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+            indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+        }
+        indexOffsets[indexSize] = offset;
+        indexPositions[indexSize++] = position;
+        lastIndexedPosition = position;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of event log segment: " + file);
+            }
+        }
+    }
+
+    /**
+     * 编码一帧写入 {@code buffer} 当前位置
+     */
+    static void writeFrame(ByteBuffer buffer, long offset, byte type, byte[] payload) {
+        int start = buffer.position();
+        int length = MIN_BODY_BYTES + payload.length;
+        buffer.putInt(length);
+        buffer.putInt(0);
+        buffer.putLong(offset);
+        buffer.put(type);
+        buffer.put(payload);
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.array(), buffer.arrayOffset() + start + HEADER_BYTES, length);
+        buffer.putInt(start + 4, (int) checksum.getValue());
+    }
+
+    static int frameBytes(byte[] payload) {
+        return HEADER_BYTES + MIN_BODY_BYTES + payload.length;
+    }
+
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    long nextOffset() {
+        return nextOffset;
+    }
+
+    long size() {
+        return size;
+    }
+
+    AtomicInteger liveRecords() {
+        return liveRecords;
+    }
+
+    int eventCount() {
+        return eventCount;
+    }
+
+    void incrementEventCount() {
+        eventCount++;
+    }
+
+    /**
+     * 关闭并删除段文件
+     */
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return file.getFileName().toString();
+    }
+
+    record Frame(long offset, byte type, byte[] payload, long nextPosition) {
+    }
+
+    @FunctionalInterface
+    interface FrameVisitor {
+        void visit(Frame frame) throws IOException;
+    }
+}
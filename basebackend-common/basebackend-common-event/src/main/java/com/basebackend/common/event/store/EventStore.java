@@ -4,6 +4,7 @@ import com.basebackend.common.event.DomainEvent;
 import com.basebackend.common.event.EventStatus;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -47,6 +48,35 @@ public interface EventStore {
      */
     void markAsConsumed(String eventId);
 
+    /**
+     * 批量保存事件，默认逐个 {@link #save}
+     */
+    default void saveAll(List<DomainEvent> events) {
+        events.forEach(this::save);
+    }
+
+    /**
+     * 批量标记为已发布，默认逐个 {@link #markAsPublished}
+     */
+    default void markAllAsPublished(Collection<String> eventIds) {
+        eventIds.forEach(this::markAsPublished);
+    }
+
+    /**
+     * 批量标记为已消费，默认逐个 {@link #markAsConsumed}
+     */
+    default void markAllAsConsumed(Collection<String> eventIds) {
+        eventIds.forEach(this::markAsConsumed);
+    }
+
+    /**
+     * 批量标记为失败
+     * <p>默认逐个 {@link #markAsFailed}；实现可同时落库 {@link EventFailure} 中的重试次数和下次重试时间。</p>
+     */
+    default void markAllAsFailed(Collection<EventFailure> failures) {
+        failures.forEach(failure -> markAsFailed(failure.eventId(), failure.reason()));
+    }
+
     /**
      * 删除过期事件
      *
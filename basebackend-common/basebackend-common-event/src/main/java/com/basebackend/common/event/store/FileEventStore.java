@@ -0,0 +1,859 @@
+package com.basebackend.common.event.store;
+
+import com.basebackend.common.event.DomainEvent;
+import com.basebackend.common.event.EventStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 基于分段追加日志的文件事件存储
+ * <p>
+ * 事件和状态变更都以带 CRC 校验的帧追加到日志段文件（见 {@link EventLogSegment}），从不原地修改：
+ * <ul>
+ *     <li>写入由单个写线程执行，并发的 save/状态变更合并为一次写入和一次 fsync（组提交），
+ *     fsync 时机由 {@link FsyncPolicy} 决定；</li>
+ *     <li>段文件写满 {@code segmentBytes} 后滚动到新段；</li>
+ *     <li>内存中只保存未投递（PENDING/FAILED）事件的状态和偏移量，事件体按需经稀疏索引从文件读取；</li>
+ *     <li>日志消费者通过 {@link #read} 按偏移量顺序读取事件，并用 {@link #commitCheckpoint} 保存消费位置；</li>
+ *     <li>不再含未投递事件、且所有消费者都已读过的最早的连续旧段在滚动时和 {@link #deleteExpiredEvents} 时整段删除（压缩）。</li>
+ * </ul>
+ * 启动时顺序扫描全部段重建状态，最后一段尾部残缺的帧（进程在写入中途退出）会被截断。
+ * </p>
+ * <p>
+ * 与 JDBC 存储不同，写入不参与业务事务：{@link #save} 返回即已落盘（{@link FsyncPolicy#ALWAYS}），
+ * 业务事务回滚后事件仍会被发布，适合单实例或对事务一致性要求不高的场景。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public class FileEventStore implements EventStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileEventStore.class);
+
+    /**
+     * fsync 策略
+     */
+    public enum FsyncPolicy {
+        /**
+         * 每次组提交后 fsync 再返回，进程或机器崩溃都不丢已返回的写入
+         */
+        ALWAYS,
+        /**
+         * 写入页缓存即返回，最多每隔 {@code fsyncInterval} fsync 一次，机器崩溃可能丢失最近一个间隔的写入
+         */
+        INTERVAL,
+        /**
+         * 只在段滚动和关闭时 fsync，由操作系统决定刷盘时机
+         */
+        NEVER
+    }
+
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+    public static final Duration DEFAULT_FSYNC_INTERVAL = Duration.ofMillis(100);
+
+    static final byte TYPE_EVENT = 1;
+    static final byte TYPE_STATUS = 2;
+    static final byte TYPE_TOMBSTONE = 3;
+
+    private static final int INDEX_INTERVAL_BYTES = 4096;
+    private static final int MAX_GROUP_REQUESTS = 1024;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+    private static final String CHECKPOINT_FILE = "consumer-offsets.properties";
+    private static final AppendRequest SHUTDOWN = new AppendRequest(List.of(), new CompletableFuture<>());
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final DomainEventCodec codec = new DomainEventCodec();
+
+    private final ConcurrentSkipListMap<Long, EventLogSegment> segments = new ConcurrentSkipListMap<>();
+    private final Map<String, Entry> undelivered = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Entry> undeliveredByOffset = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> checkpoints = new ConcurrentHashMap<>();
+    private final BlockingQueue<AppendRequest> appendQueue = new LinkedBlockingQueue<>();
+    private final Object compactionLock = new Object();
+    private final Thread writer;
+
+    private volatile EventLogSegment active;
+    private volatile boolean closed;
+
+    // 以下字段仅由写线程访问
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private long nextOffset;
+    private long lastSyncNanos = System.nanoTime();
+    private boolean dirty;
+
+    public FileEventStore(Path directory) {
+        this(directory, DEFAULT_SEGMENT_BYTES, FsyncPolicy.ALWAYS, DEFAULT_FSYNC_INTERVAL);
+    }
+
+    /**
+     * @param directory     日志目录，不存在时创建
+     * @param segmentBytes  单个段文件的滚动大小
+     * @param fsyncPolicy   fsync 策略
+     * @param fsyncInterval {@link FsyncPolicy#INTERVAL} 时的 fsync 间隔
+     */
+    public FileEventStore(Path directory, long segmentBytes, FsyncPolicy fsyncPolicy, Duration fsyncInterval) {
+        this.directory = directory;
+        this.segmentBytes = Math.max(segmentBytes, INDEX_INTERVAL_BYTES);
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = Math.max(1, fsyncInterval.toNanos());
+        try {
+            Files.createDirectories(directory);
+            recover();
+            loadCheckpoints();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open event log: " + directory, e);
+        }
+        this.writer = new Thread(this::runWriter, "file-event-store-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        log.info("File event store opened: dir={}, segments={}, undelivered={}, nextOffset={}",
+                directory, segments.size(), undelivered.size(), nextOffset);
+    }
+
+    // ========== EventStore ==========
+
+    @Override
+    public void save(DomainEvent event) {
+        saveAll(List.of(event));
+    }
+
+    @Override
+    public void saveAll(List<DomainEvent> events) {
+        List<LogRecord> records = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            try {
+                records.add(LogRecord.event(event, codec.serialize(event)));
+            } catch (Exception e) {
+                log.error("Failed to serialize domain event: eventId={}", event.getEventId(), e);
+                throw new RuntimeException("Failed to save domain event", e);
+            }
+        }
+        append(records);
+    }
+
+    @Override
+    public List<DomainEvent> findPendingEvents(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return findEvents(limit, entry -> entry.status == EventStatus.PENDING && entry.isDue(now));
+    }
+
+    @Override
+    public List<DomainEvent> findFailedEvents(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return findEvents(limit, entry -> entry.status == EventStatus.FAILED
+                && entry.retryCount < entry.maxRetries && entry.isDue(now));
+    }
+
+    @Override
+    public void markAsPublished(String eventId) {
+        markAllAsPublished(List.of(eventId));
+    }
+
+    @Override
+    public void markAsFailed(String eventId, String reason) {
+        Entry entry = undelivered.get(eventId);
+        if (entry != null) {
+            append(List.of(LogRecord.status(eventId, EventStatus.FAILED, reason, entry.retryCount, entry.nextRetryTime)));
+        }
+    }
+
+    @Override
+    public void markAsConsumed(String eventId) {
+        markAllAsConsumed(List.of(eventId));
+    }
+
+    @Override
+    public void markAllAsPublished(Collection<String> eventIds) {
+        markDelivered(eventIds, EventStatus.PUBLISHED);
+    }
+
+    @Override
+    public void markAllAsConsumed(Collection<String> eventIds) {
+        markDelivered(eventIds, EventStatus.CONSUMED);
+    }
+
+    @Override
+    public void markAllAsFailed(Collection<EventFailure> failures) {
+        List<LogRecord> records = new ArrayList<>(failures.size());
+        for (EventFailure failure : failures) {
+            if (undelivered.containsKey(failure.eventId())) {
+                records.add(LogRecord.status(failure.eventId(), EventStatus.FAILED, failure.reason(),
+                        failure.retryCount(), failure.nextRetryTime()));
+            }
+        }
+        append(records);
+    }
+
+    /**
+     * 为超过保留时长的 FAILED 事件写入删除标记，然后执行压缩
+     * <p>已投递事件不单独删除，所在段整段压缩；返回值为本次压缩从磁盘删除的事件数。</p>
+     */
+    @Override
+    public int deleteExpiredEvents(Duration olderThan) {
+        LocalDateTime threshold = LocalDateTime.now().minus(olderThan);
+        List<LogRecord> tombstones = new ArrayList<>();
+        for (Entry entry : undeliveredByOffset.values()) {
+            if (entry.status == EventStatus.FAILED && entry.createdAt.isBefore(threshold)) {
+                tombstones.add(LogRecord.tombstone(entry.eventId));
+            }
+        }
+        append(tombstones);
+        int deleted = compact();
+        if (deleted > 0 || !tombstones.isEmpty()) {
+            log.info("Compacted event log: expiredFailed={}, deletedEvents={}", tombstones.size(), deleted);
+        }
+        return deleted;
+    }
+
+    // ========== 日志消费 ==========
+
+    /**
+     * 从指定偏移量起顺序读取事件（含已投递事件，直到所在段被压缩）
+     * <p>返回的事件状态为保存时的状态；偏移量不连续（状态记录同样占用偏移量）。</p>
+     *
+     * @param fromOffset 起始偏移量（含），通常为 {@link #getCheckpoint} 的结果
+     * @param maxEvents  最多返回的事件数
+     */
+    public List<LoggedEvent> read(long fromOffset, int maxEvents) {
+        List<LoggedEvent> result = new ArrayList<>();
+        Long startKey = segments.floorKey(fromOffset);
+        NavigableMap<Long, EventLogSegment> tail = startKey == null ? segments : segments.tailMap(startKey, true);
+        for (EventLogSegment segment : tail.values()) {
+            try {
+                long position = segment.floorPosition(fromOffset);
+                EventLogSegment.Frame frame;
+                while (result.size() < maxEvents && (frame = segment.readFrame(position)) != null) {
+                    position = frame.nextPosition();
+                    if (frame.offset() >= fromOffset && frame.type() == TYPE_EVENT) {
+                        result.add(new LoggedEvent(frame.offset(), decodeEvent(frame.payload(), null)));
+                    }
+                }
+            } catch (IOException e) {
+                // 段在读取期间被压缩删除
+                log.debug("Skip unreadable event log segment {}: {}", segment, e.getMessage());
+            }
+            if (result.size() >= maxEvents) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 消费者下一次读取的偏移量，未提交过时返回日志起始偏移量
+     */
+    public long getCheckpoint(String consumer) {
+        Long checkpoint = checkpoints.get(consumer);
+        return checkpoint != null ? checkpoint : getLogStartOffset();
+    }
+
+    /**
+     * 保存消费位置（下一次读取的偏移量）
+     * <p>提交过位置的消费者会阻止压缩删除其尚未读取的段。</p>
+     */
+    public void commitCheckpoint(String consumer, long nextOffset) {
+        checkpoints.put(consumer, nextOffset);
+        persistCheckpoints();
+    }
+
+    /**
+     * 删除消费者及其位置，之后不再阻止压缩
+     */
+    public void removeConsumer(String consumer) {
+        if (checkpoints.remove(consumer) != null) {
+            persistCheckpoints();
+        }
+    }
+
+    public long getLogStartOffset() {
+        Map.Entry<Long, EventLogSegment> first = segments.firstEntry();
+        return first != null ? first.getKey() : 0;
+    }
+
+    public long getLogEndOffset() {
+        return active.nextOffset();
+    }
+
+    /**
+     * 从最早的段开始，连续删除不再含未投递事件、且所有消费者都已读过的非活动段
+     *
+     * @return 删除的事件数
+     */
+    public int compact() {
+        synchronized (compactionLock) {
+            EventLogSegment current = active;
+            long minCheckpoint = checkpoints.values().stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+            int deleted = 0;
+            for (EventLogSegment segment : segments.headMap(current.baseOffset(), false).values()) {
+                // 只删除最早的连续段：状态记录和删除标记不计入 liveRecords，若越过仍被引用的段删除后面的段，
+                // 重启回放时前面段中的事件会因缺少投递记录而重新变为 PENDING
+                if (segment.liveRecords().get() > 0 || segment.nextOffset() > minCheckpoint) {
+                    break;
+                }
+                segments.remove(segment.baseOffset());
+                try {
+                    segment.delete();
+                } catch (IOException e) {
+                    log.warn("Failed to delete compacted event log segment {}: {}", segment, e.getMessage());
+                }
+                deleted += segment.eventCount();
+                log.debug("Compacted event log segment {}", segment);
+            }
+            return deleted;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        appendQueue.add(SHUTDOWN);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (EventLogSegment segment : segments.values()) {
+            try {
+                segment.force();
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Failed to close event log segment {}: {}", segment, e.getMessage());
+            }
+        }
+        log.info("File event store closed: dir={}", directory);
+    }
+
+    // ========== 查询 ==========
+
+    private List<DomainEvent> findEvents(int limit, Predicate<Entry> filter) {
+        List<DomainEvent> result = new ArrayList<>();
+        for (Entry entry : undeliveredByOffset.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (!filter.test(entry)) {
+                continue;
+            }
+            EventLogSegment segment = segments.get(entry.eventSegment);
+            try {
+                EventLogSegment.Frame frame = segment == null ? null : segment.find(entry.offset);
+                if (frame != null) {
+                    result.add(decodeEvent(frame.payload(), entry));
+                }
+            } catch (IOException e) {
+                log.warn("Failed to read domain event: eventId={}, offset={}", entry.eventId, entry.offset, e);
+            }
+        }
+        return result;
+    }
+
+    private DomainEvent decodeEvent(byte[] payload, Entry entry) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String eventId = readString(in);
+        String className = readString(in);
+        String eventType = readString(in);
+        String source = readString(in);
+        LocalDateTime createdAt = readTime(in);
+        int retryCount = in.readInt();
+        int maxRetries = in.readInt();
+        LocalDateTime nextRetryTime = readTime(in);
+        String eventData = readString(in);
+        if (entry != null) {
+            return codec.restore(className, eventId, eventType, eventData, source, createdAt,
+                    entry.retryCount, entry.maxRetries, entry.status, entry.nextRetryTime);
+        }
+        return codec.restore(className, eventId, eventType, eventData, source, createdAt,
+                retryCount, maxRetries, EventStatus.PENDING, nextRetryTime);
+    }
+
+    private void markDelivered(Collection<String> eventIds, EventStatus status) {
+        List<LogRecord> records = new ArrayList<>(eventIds.size());
+        for (String eventId : eventIds) {
+            // 不在未投递集合中的事件已投递过，无需再记录
+            if (undelivered.containsKey(eventId)) {
+                records.add(LogRecord.status(eventId, status, null, 0, null));
+            }
+        }
+        append(records);
+    }
+
+    // ========== 写入 ==========
+
+    /**
+     * 提交给写线程并等待写入完成（按 fsync 策略）
+     */
+    private void append(List<LogRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (closed) {
+            throw new IllegalStateException("File event store is closed");
+        }
+        AppendRequest request = new AppendRequest(records, new CompletableFuture<>());
+        appendQueue.add(request);
+        try {
+            request.done().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IllegalStateException("Failed to append event log: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void runWriter() {
+        List<AppendRequest> group = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                AppendRequest first = dirty
+                        ? appendQueue.poll(Math.max(0, fsyncIntervalNanos - (System.nanoTime() - lastSyncNanos)),
+                        TimeUnit.NANOSECONDS)
+                        : appendQueue.take();
+                if (first == null) {
+                    sync();
+                    continue;
+                }
+                group.add(first);
+                appendQueue.drainTo(group, MAX_GROUP_REQUESTS - 1);
+                running = !group.remove(SHUTDOWN);
+                writeGroup(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (IOException | RuntimeException e) {
+                log.error("Event log write failed: dir={}", directory, e);
+                group.forEach(request -> request.done().completeExceptionally(e));
+                recoverAfterWriteFailure();
+            } finally {
+                group.clear();
+            }
+        }
+        try {
+            sync();
+        } catch (IOException e) {
+            log.warn("Failed to sync event log on shutdown: {}", e.getMessage());
+        }
+        // 关闭后入队的请求
+        List<AppendRequest> remaining = new ArrayList<>();
+        appendQueue.drainTo(remaining);
+        remaining.forEach(request -> request.done().completeExceptionally(
+                new IllegalStateException("File event store is closed")));
+    }
+
+    /**
+     * 一组请求写入一次、fsync 一次；写满时先写出已缓冲的帧再滚动
+     */
+    private void writeGroup(List<AppendRequest> group) throws IOException {
+        int recordCount = 0;
+        for (AppendRequest request : group) {
+            recordCount += request.records().size();
+        }
+        long[] offsets = new long[recordCount];
+        int[] positions = new int[recordCount];
+        LogRecord[] pending = new LogRecord[recordCount];
+        int count = 0;
+        boolean rolled = false;
+        buffer.clear();
+        for (AppendRequest request : group) {
+            for (LogRecord record : request.records()) {
+                int frameBytes = EventLogSegment.frameBytes(record.payload());
+                long segmentSize = active.size() + buffer.position();
+                if (segmentSize > 0 && segmentSize + frameBytes > segmentBytes) {
+                    flush(offsets, positions, pending, count);
+                    count = 0;
+                    roll();
+                    rolled = true;
+                }
+                ensureCapacity(frameBytes);
+                positions[count] = buffer.position();
+                offsets[count] = nextOffset;
+                pending[count++] = record;
+                EventLogSegment.writeFrame(buffer, nextOffset++, record.type(), record.payload());
+            }
+        }
+        flush(offsets, positions, pending, count);
+
+        long now = System.nanoTime();
+        if (fsyncPolicy == FsyncPolicy.ALWAYS || (fsyncPolicy == FsyncPolicy.INTERVAL && now - lastSyncNanos >= fsyncIntervalNanos)) {
+            sync();
+        } else if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            dirty = true;
+        }
+        group.forEach(request -> request.done().complete(null));
+        if (rolled) {
+            compact();
+        }
+    }
+
+    /**
+     * 写出缓冲的帧并应用到内存状态
+     */
+    private void flush(long[] offsets, int[] positions, LogRecord[] pending, int count) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        buffer.flip();
+        EventLogSegment segment = active;
+        segment.append(buffer, offsets, positions, count);
+        buffer.clear();
+        for (int i = 0; i < count; i++) {
+            apply(pending[i], offsets[i], segment);
+        }
+    }
+
+    private void roll() throws IOException {
+        EventLogSegment previous = active;
+        previous.force();
+        EventLogSegment segment = EventLogSegment.open(directory, nextOffset, INDEX_INTERVAL_BYTES);
+        segments.put(segment.baseOffset(), segment);
+        active = segment;
+        log.debug("Rolled event log segment: {} -> {}", previous, segment);
+    }
+
+    private void sync() throws IOException {
+        if (dirty || fsyncPolicy == FsyncPolicy.ALWAYS) {
+            active.force();
+        }
+        dirty = false;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    /**
+     * 写入失败后截掉当前段中未完整写入的部分，偏移量回退到段内最后一条有效记录之后
+     */
+    private void recoverAfterWriteFailure() {
+        EventLogSegment segment = active;
+        try {
+            segment.truncate(segment.size());
+        } catch (IOException e) {
+            log.error("Failed to truncate event log segment {} after write failure", segment, e);
+        }
+        nextOffset = segment.nextOffset();
+        buffer.clear();
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+
+    // ========== 状态 ==========
+
+    /**
+     * 把一条记录应用到内存状态；启动恢复与写线程共用，保证两者结果一致
+     */
+    private void apply(LogRecord record, long offset, EventLogSegment segment) {
+        switch (record.type()) {
+            case TYPE_EVENT -> {
+                segment.incrementEventCount();
+                Entry previous = undelivered.get(record.eventId());
+                if (previous != null) {
+                    release(previous);
+                }
+                Entry entry = new Entry(record.eventId(), offset, segment.baseOffset(), record.createdAt(),
+                        record.retryCount(), record.maxRetries(), record.nextRetryTime());
+                undelivered.put(entry.eventId, entry);
+                undeliveredByOffset.put(offset, entry);
+                segment.liveRecords().incrementAndGet();
+            }
+            case TYPE_STATUS -> {
+                Entry entry = undelivered.get(record.eventId());
+                if (entry == null) {
+                    return;
+                }
+                if (record.status() == EventStatus.PUBLISHED || record.status() == EventStatus.CONSUMED) {
+                    release(entry);
+                    return;
+                }
+                entry.status = record.status();
+                entry.retryCount = record.retryCount();
+                entry.nextRetryTime = record.nextRetryTime();
+                segment.liveRecords().incrementAndGet();
+                if (entry.statusSegment >= 0) {
+                    unreference(entry.statusSegment);
+                }
+                entry.statusSegment = segment.baseOffset();
+            }
+            case TYPE_TOMBSTONE -> {
+                Entry entry = undelivered.get(record.eventId());
+                if (entry != null) {
+                    release(entry);
+                }
+            }
+            default -> log.warn("Unknown event log record type {} at offset {}", record.type(), offset);
+        }
+    }
+
+    private void release(Entry entry) {
+        undelivered.remove(entry.eventId, entry);
+        undeliveredByOffset.remove(entry.offset, entry);
+        unreference(entry.eventSegment);
+        if (entry.statusSegment >= 0) {
+            unreference(entry.statusSegment);
+        }
+    }
+
+    private void unreference(long segmentBase) {
+        EventLogSegment segment = segments.get(segmentBase);
+        if (segment != null) {
+            segment.liveRecords().decrementAndGet();
+        }
+    }
+
+    // ========== 启动恢复 ==========
+
+    private void recover() throws IOException {
+        List<Long> baseOffsets;
+        try (Stream<Path> files = Files.list(directory)) {
+            baseOffsets = files.mapToLong(EventLogSegment::parseBaseOffset).filter(base -> base >= 0)
+                    .sorted().boxed().toList();
+        }
+        for (int i = 0; i < baseOffsets.size(); i++) {
+            EventLogSegment segment = EventLogSegment.open(directory, baseOffsets.get(i), INDEX_INTERVAL_BYTES);
+            segments.put(segment.baseOffset(), segment);
+            long validBytes = segment.recover(frame ->
+                    apply(LogRecord.decode(frame.type(), frame.payload()), frame.offset(), segment));
+            if (validBytes < segment.size()) {
+                if (i == baseOffsets.size() - 1) {
+                    log.warn("Truncating corrupt tail of event log segment {}: {} -> {} bytes",
+                            segment, segment.size(), validBytes);
+                    segment.truncate(validBytes);
+                } else {
+                    log.error("Event log segment {} is corrupt after {} bytes, remaining records are skipped",
+                            segment, validBytes);
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            EventLogSegment segment = EventLogSegment.open(directory, 0, INDEX_INTERVAL_BYTES);
+            segments.put(0L, segment);
+        }
+        active = segments.lastEntry().getValue();
+        nextOffset = active.nextOffset();
+    }
+
+    private void loadCheckpoints() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        properties.forEach((consumer, offset) -> checkpoints.put((String) consumer, Long.parseLong((String) offset)));
+    }
+
+    private synchronized void persistCheckpoints() {
+        Properties properties = new Properties();
+        checkpoints.forEach((consumer, offset) -> properties.setProperty(consumer, Long.toString(offset)));
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, null);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to persist consumer checkpoints: " + file, e);
+        }
+    }
+
+    // ========== 记录编码 ==========
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(time.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * 日志中的事件
+     *
+     * @param offset 事件记录的偏移量，处理完后以 {@code offset + 1} 提交消费位置
+     */
+    public record LoggedEvent(long offset, DomainEvent event) {
+    }
+
+    private record AppendRequest(List<LogRecord> records, CompletableFuture<Void> done) {
+    }
+
+    /**
+     * 日志记录：编码后的 payload 以及应用到内存状态所需的字段
+     */
+    private record LogRecord(byte type, String eventId, EventStatus status, LocalDateTime createdAt,
+                             int retryCount, int maxRetries, LocalDateTime nextRetryTime, byte[] payload) {
+
+        static LogRecord event(DomainEvent event, String eventData) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(eventData.length() + 256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeString(out, event.getEventId());
+            writeString(out, event.getClass().getName());
+            writeString(out, event.getEventType());
+            writeString(out, event.getSource());
+            writeTime(out, event.getTimestamp());
+            out.writeInt(event.getRetryCount());
+            out.writeInt(event.getMaxRetries());
+            writeTime(out, event.getNextRetryTime());
+            writeString(out, eventData);
+            return new LogRecord(TYPE_EVENT, event.getEventId(), EventStatus.PENDING, event.getTimestamp(),
+                    event.getRetryCount(), event.getMaxRetries(), event.getNextRetryTime(), bytes.toByteArray());
+        }
+
+        static LogRecord status(String eventId, EventStatus status, String reason,
+                                int retryCount, LocalDateTime nextRetryTime) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+                DataOutputStream out = new DataOutputStream(bytes);
+                writeString(out, eventId);
+                out.writeByte(status.ordinal());
+                out.writeInt(retryCount);
+                writeTime(out, nextRetryTime);
+                writeString(out, reason);
+                return new LogRecord(TYPE_STATUS, eventId, status, null, retryCount, 0, nextRetryTime,
+                        bytes.toByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        static LogRecord tombstone(String eventId) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+                writeString(new DataOutputStream(bytes), eventId);
+                return new LogRecord(TYPE_TOMBSTONE, eventId, null, null, 0, 0, null, bytes.toByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * 恢复时解码；事件记录只解析状态字段，不读取事件体
+         */
+        static LogRecord decode(byte type, byte[] payload) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            String eventId = readString(in);
+            return switch (type) {
+                case TYPE_EVENT -> {
+                    readString(in);
+                    readString(in);
+                    readString(in);
+                    LocalDateTime createdAt = readTime(in);
+                    int retryCount = in.readInt();
+                    int maxRetries = in.readInt();
+                    yield new LogRecord(type, eventId, EventStatus.PENDING, createdAt,
+                            retryCount, maxRetries, readTime(in), payload);
+                }
+                case TYPE_STATUS -> {
+                    EventStatus status = EventStatus.values()[in.readByte()];
+                    int retryCount = in.readInt();
+                    yield new LogRecord(type, eventId, status, null, retryCount, 0, readTime(in), payload);
+                }
+                default -> new LogRecord(type, eventId, null, null, 0, 0, null, payload);
+            };
+        }
+    }
+
+    /**
+     * 未投递事件的内存状态
+     */
+    private static final class Entry {
+        final String eventId;
+        final long offset;
+        final long eventSegment;
+        final LocalDateTime createdAt;
+        final int maxRetries;
+        volatile EventStatus status = EventStatus.PENDING;
+        volatile int retryCount;
+        volatile LocalDateTime nextRetryTime;
+        /**
+         * 最新状态记录所在段，没有状态记录时为 -1
+         */
+        long statusSegment = -1;
+
+        Entry(String eventId, long offset, long eventSegment, LocalDateTime createdAt,
+              int retryCount, int maxRetries, LocalDateTime nextRetryTime) {
+            this.eventId = eventId;
+            this.offset = offset;
+            this.eventSegment = eventSegment;
+            this.createdAt = createdAt;
+            this.retryCount = retryCount;
+            this.maxRetries = maxRetries;
+            this.nextRetryTime = nextRetryTime;
+        }
+
+        boolean isDue(LocalDateTime now) {
+            LocalDateTime next = nextRetryTime;
+            return next == null || !next.isAfter(now);
+        }
+    }
+}
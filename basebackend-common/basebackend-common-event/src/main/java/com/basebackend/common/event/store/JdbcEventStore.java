@@ -2,8 +2,6 @@ package com.basebackend.common.event.store;
 
 import com.basebackend.common.event.DomainEvent;
 import com.basebackend.common.event.EventStatus;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
@@ -16,6 +14,9 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -24,6 +25,10 @@ import java.util.List;
  * 基于 JdbcTemplate 实现事件持久化，不依赖特定 ORM。
  * 表结构见 resources/db/event_store.sql。
  * </p>
+ * <p>
+ * 批量方法按 {@value #BATCH_SIZE} 条分批：保存走 JDBC batch，已发布/已消费按 {@code id IN (...)} 一条语句更新，
+ * 失败状态连同重试次数和下次重试时间走 JDBC batch 更新。
+ * </p>
  *
  * @author BaseBackend Team
  * @since 1.0.0
@@ -44,39 +49,65 @@ public class JdbcEventStore implements EventStore {
             "UPDATE domain_event SET status = ?, updated_at = ? WHERE id = ?";
     private static final String UPDATE_FAILED_WITH_REASON_SQL =
             "UPDATE domain_event SET status = ?, fail_reason = ?, updated_at = ? WHERE id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO domain_event (id, event_type, event_data, status, source, retry_count, max_retries, next_retry_time, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_FAILED_WITH_RETRY_SQL =
+            "UPDATE domain_event SET status = ?, fail_reason = ?, retry_count = ?, next_retry_time = ?, updated_at = ? WHERE id = ?";
+    private static final String UPDATE_FAILED_WITH_RETRY_LEGACY_SQL =
+            "UPDATE domain_event SET status = ?, retry_count = ?, next_retry_time = ?, updated_at = ? WHERE id = ?";
+    private static final int BATCH_SIZE = 500;
 
     private final JdbcTemplate jdbcTemplate;
-    private final ObjectMapper objectMapper;
+    private final DomainEventCodec codec;
 
     public JdbcEventStore(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.codec = new DomainEventCodec();
     }
 
     @Override
     public void save(DomainEvent event) {
         try {
-            String eventData = objectMapper.writeValueAsString(event);
-            jdbcTemplate.update(
-                    "INSERT INTO domain_event (id, event_type, event_data, status, source, retry_count, max_retries, next_retry_time, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
-                    event.getEventId(),
-                    event.getEventType(),
-                    eventData,
-                    EventStatus.PENDING.name(),
-                    event.getSource(),
-                    event.getRetryCount(),
-                    event.getMaxRetries(),
-                    event.getNextRetryTime(),
-                    event.getTimestamp(),
-                    LocalDateTime.now()
-            );
+            jdbcTemplate.update(INSERT_SQL, insertArgs(event, LocalDateTime.now()));
         } catch (Exception e) {
             log.error("Failed to save domain event: eventId={}", event.getEventId(), e);
             throw new RuntimeException("Failed to save domain event", e);
         }
     }
 
+    @Override
+    public void saveAll(List<DomainEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        for (List<DomainEvent> batch : partition(events)) {
+            try {
+                List<Object[]> args = new ArrayList<>(batch.size());
+                for (DomainEvent event : batch) {
+                    args.add(insertArgs(event, now));
+                }
+                jdbcTemplate.batchUpdate(INSERT_SQL, args);
+            } catch (Exception e) {
+                log.error("Failed to save domain events: count={}, firstEventId={}",
+                        batch.size(), batch.get(0).getEventId(), e);
+                throw new RuntimeException("Failed to save domain events", e);
+            }
+        }
+    }
+
+    private Object[] insertArgs(DomainEvent event, LocalDateTime now) throws Exception {
+        return new Object[]{
+                event.getEventId(),
+                event.getEventType(),
+                codec.serialize(event),
+                EventStatus.PENDING.name(),
+                event.getSource(),
+                event.getRetryCount(),
+                event.getMaxRetries(),
+                event.getNextRetryTime(),
+                event.getTimestamp(),
+                now
+        };
+    }
+
     @Override
     public List<DomainEvent> findPendingEvents(int limit) {
         return jdbcTemplate.query(
@@ -126,6 +157,65 @@ public class JdbcEventStore implements EventStore {
         jdbcTemplate.update(UPDATE_STATUS_SQL, EventStatus.CONSUMED.name(), LocalDateTime.now(), eventId);
     }
 
+    @Override
+    public void markAllAsPublished(Collection<String> eventIds) {
+        updateStatusIn(EventStatus.PUBLISHED, eventIds);
+    }
+
+    @Override
+    public void markAllAsConsumed(Collection<String> eventIds) {
+        updateStatusIn(EventStatus.CONSUMED, eventIds);
+    }
+
+    @Override
+    public void markAllAsFailed(Collection<EventFailure> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        for (List<EventFailure> batch : partition(failures)) {
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_FAILED_WITH_RETRY_SQL, batch.stream()
+                        .map(f -> new Object[]{EventStatus.FAILED.name(), f.reason(), f.retryCount(),
+                                f.nextRetryTime(), now, f.eventId()})
+                        .toList());
+            } catch (BadSqlGrammarException ex) {
+                if (!isMissingFailReasonColumn(ex)) {
+                    throw ex;
+                }
+                log.warn("domain_event 缺少 fail_reason 列，回退到兼容 SQL: count={}", batch.size());
+                jdbcTemplate.batchUpdate(UPDATE_FAILED_WITH_RETRY_LEGACY_SQL, batch.stream()
+                        .map(f -> new Object[]{EventStatus.FAILED.name(), f.retryCount(),
+                                f.nextRetryTime(), now, f.eventId()})
+                        .toList());
+            }
+        }
+    }
+
+    /**
+     * 按 {@code id IN (...)} 批量变更状态
+     */
+    private void updateStatusIn(EventStatus status, Collection<String> eventIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (List<String> batch : partition(eventIds)) {
+            String sql = "UPDATE domain_event SET status = ?, updated_at = ? WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(batch.size(), "?")) + ")";
+            Object[] args = new Object[batch.size() + 2];
+            args[0] = status.name();
+            args[1] = now;
+            for (int i = 0; i < batch.size(); i++) {
+                args[i + 2] = batch.get(i);
+            }
+            jdbcTemplate.update(sql, args);
+        }
+    }
+
+    private static <T> List<List<T>> partition(Collection<T> items) {
+        List<T> list = items instanceof List<T> l ? l : new ArrayList<>(items);
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += BATCH_SIZE) {
+            batches.add(list.subList(from, Math.min(from + BATCH_SIZE, list.size())));
+        }
+        return batches;
+    }
+
     @Override
     public int deleteExpiredEvents(Duration olderThan) {
         LocalDateTime threshold = LocalDateTime.now().minus(olderThan);
@@ -155,58 +245,8 @@ public class JdbcEventStore implements EventStore {
         Timestamp nextRetryTimestamp = rs.getTimestamp("next_retry_time");
         LocalDateTime nextRetryTime = nextRetryTimestamp != null ? nextRetryTimestamp.toLocalDateTime() : null;
 
-        DomainEvent event = deserializeEvent(eventType, eventData, source);
-        restoreStoredState(event, eventId, eventType, createdAt, source, retryCount, maxRetries, status, nextRetryTime);
-        return event;
-    }
-
-    private DomainEvent deserializeEvent(String eventType, String eventData, String source) {
-        try {
-            Class<?> rawClass = Class.forName(eventType);
-            if (DomainEvent.class.isAssignableFrom(rawClass)) {
-                @SuppressWarnings("unchecked")
-                Class<? extends DomainEvent> eventClass = (Class<? extends DomainEvent>) rawClass;
-                return objectMapper.readValue(eventData, eventClass);
-            }
-        } catch (ClassNotFoundException e) {
-            log.warn("事件类不存在，使用降级包装事件: eventType={}", eventType);
-        } catch (Exception e) {
-            log.warn("事件反序列化失败，使用降级包装事件: eventType={}", eventType, e);
-        }
-        return new RehydratedDomainEvent(source, eventData);
-    }
-
-    private void restoreStoredState(DomainEvent event, String eventId, String eventType,
-                                    LocalDateTime timestamp, String source,
-                                    int retryCount, int maxRetries,
-                                    EventStatus status, LocalDateTime nextRetryTime) {
-        setField(event, "eventId", eventId);
-        setField(event, "eventType", eventType);
-        setField(event, "timestamp", timestamp);
-        setField(event, "source", source);
-        setField(event, "retryCount", retryCount);
-        event.setMaxRetries(maxRetries);
-        event.setStatus(status);
-        event.setNextRetryTime(nextRetryTime);
-    }
-
-    private void setField(DomainEvent target, String fieldName, Object value) {
-        try {
-            Class<?> current = target.getClass();
-            while (current != null) {
-                try {
-                    var field = current.getDeclaredField(fieldName);
-                    field.setAccessible(true);
-                    field.set(target, value);
-                    return;
-                } catch (NoSuchFieldException ignored) {
-                    current = current.getSuperclass();
-                }
-            }
-            throw new NoSuchFieldException(fieldName);
-        } catch (ReflectiveOperationException e) {
-            throw new IllegalStateException("Failed to restore event field: " + fieldName, e);
-        }
+        return codec.restore(eventType, eventId, eventType, eventData, source, createdAt,
+                retryCount, maxRetries, status, nextRetryTime);
     }
 
     private LocalDateTime toLocalDateTime(Timestamp timestamp) {
@@ -224,17 +264,4 @@ public class JdbcEventStore implements EventStore {
         String message = ex.getMessage();
         return message != null && message.contains("fail_reason");
     }
-
-    private static final class RehydratedDomainEvent extends DomainEvent {
-        private final String rawEventData;
-
-        private RehydratedDomainEvent(String source, String rawEventData) {
-            super(source);
-            this.rawEventData = rawEventData;
-        }
-
-        public String getRawEventData() {
-            return rawEventData;
-        }
-    }
 }
@@ -0,0 +1,269 @@
+package com.basebackend.common.event.store;
+
+import com.basebackend.common.event.DomainEvent;
+import com.basebackend.common.event.EventStatus;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * FileEventStore 单元测试
+ */
+class FileEventStoreTest {
+
+    private static final long SMALL_SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path dir;
+
+    private FileEventStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    @DisplayName("保存后按写入顺序查到 PENDING 事件，事件体可反序列化")
+    void shouldFindPendingEventsInOrder() {
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+        List<DomainEvent> events = events(3);
+
+        store.saveAll(events);
+
+        List<DomainEvent> pending = store.findPendingEvents(10);
+        assertThat(pending).extracting(DomainEvent::getEventId)
+                .containsExactlyElementsOf(events.stream().map(DomainEvent::getEventId).toList());
+        assertThat(pending.get(0)).isInstanceOf(FileTestEvent.class);
+        assertThat(((FileTestEvent) pending.get(0)).getName()).isEqualTo("event-0");
+        assertThat(pending.get(0).getTimestamp()).isEqualTo(events.get(0).getTimestamp());
+        assertThat(store.findPendingEvents(2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("批量状态变更：已发布不再出现，失败事件带重试状态")
+    void shouldApplyBatchStatusChanges() {
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+        List<DomainEvent> events = events(3);
+        store.saveAll(events);
+        DomainEvent failed = events.get(2);
+        failed.incrementRetryCount();
+
+        store.markAllAsPublished(List.of(events.get(0).getEventId()));
+        store.markAllAsConsumed(List.of(events.get(1).getEventId()));
+        store.markAllAsFailed(List.of(EventFailure.of(failed, "网络超时")));
+
+        assertThat(store.findPendingEvents(10)).isEmpty();
+        List<DomainEvent> failedEvents = store.findFailedEvents(10);
+        assertThat(failedEvents).hasSize(1);
+        assertThat(failedEvents.get(0).getStatus()).isEqualTo(EventStatus.FAILED);
+        assertThat(failedEvents.get(0).getRetryCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("重启后从日志恢复未投递事件及其状态")
+    void shouldRecoverStateAfterRestart() {
+        store = open(FileEventStore.FsyncPolicy.NEVER);
+        List<DomainEvent> events = events(200);
+        store.saveAll(events);
+        store.markAllAsPublished(events.subList(0, 150).stream().map(DomainEvent::getEventId).toList());
+        DomainEvent failed = events.get(150);
+        failed.incrementRetryCount();
+        failed.setNextRetryTime(LocalDateTime.now().minusSeconds(1));
+        store.markAllAsFailed(List.of(EventFailure.of(failed, "boom")));
+        store.close();
+
+        store = open(FileEventStore.FsyncPolicy.NEVER);
+
+        assertThat(store.findPendingEvents(1000)).hasSize(49);
+        assertThat(store.findFailedEvents(10)).singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getEventId()).isEqualTo(failed.getEventId());
+                    assertThat(event.getRetryCount()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    @DisplayName("最后一段尾部残缺的帧在启动时被截断，之后可继续写入")
+    void shouldTruncateTornTail() throws IOException {
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+        store.saveAll(events(2));
+        store.close();
+        Path last = lastSegment();
+        long validSize = Files.size(last);
+        Files.write(last, new byte[]{0, 0, 0, 64, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+        store.save(new FileTestEvent("unit-test", "after-crash"));
+
+        assertThat(store.findPendingEvents(10)).hasSize(3);
+        assertThat(Files.size(last)).isGreaterThan(validSize);
+        store.close();
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+        assertThat(store.findPendingEvents(10)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("段滚动后压缩删除已全部投递的旧段，消费位置未到时保留")
+    void shouldCompactDeliveredSegmentsAfterConsumersPass() throws IOException {
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+        store.commitCheckpoint("audit", 0);
+        List<DomainEvent> events = events(100);
+        store.saveAll(events);
+        store.markAllAsPublished(events.stream().map(DomainEvent::getEventId).toList());
+        store.saveAll(events(50));
+
+        assertThat(segmentCount()).isGreaterThan(1);
+        assertThat(store.compact()).isZero();
+        assertThat(store.getLogStartOffset()).isZero();
+
+        store.commitCheckpoint("audit", store.getLogEndOffset());
+        int deleted = store.deleteExpiredEvents(Duration.ofDays(7));
+
+        assertThat(deleted).isEqualTo(100);
+        assertThat(store.getLogStartOffset()).isPositive();
+        assertThat(store.findPendingEvents(1000)).hasSize(50);
+    }
+
+    @Test
+    @DisplayName("压缩后重启，已投递和已删除的事件不会重新变为待投递")
+    void shouldNotResurrectDeliveredEventsAfterCompactionAndRestart() throws IOException {
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+        List<DomainEvent> events = events(60);
+        store.saveAll(events);
+        DomainEvent failed = events.get(1);
+        failed.incrementRetryCount();
+        failed.setNextRetryTime(LocalDateTime.now().minusSeconds(1));
+        store.markAllAsFailed(List.of(EventFailure.of(failed, "boom")));
+        List<String> delivered = events.subList(2, 60).stream().map(DomainEvent::getEventId).toList();
+        store.markAllAsPublished(delivered);
+        store.saveAll(events(50));
+        assertThat(segmentCount()).isGreaterThan(2);
+
+        // 首段仍有待投递的 events[0]，其后只含状态记录和删除标记的段不能先于它被删除
+        store.deleteExpiredEvents(Duration.ZERO);
+        store.close();
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+
+        assertThat(store.findPendingEvents(1000)).hasSize(51)
+                .extracting(DomainEvent::getEventId)
+                .contains(events.get(0).getEventId())
+                .doesNotContainAnyElementsOf(delivered);
+        assertThat(store.findFailedEvents(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("消费者按偏移量读取并提交位置，重启后从提交位置继续")
+    void shouldReadFromCommittedCheckpoint() {
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+        List<DomainEvent> events = events(10);
+        store.saveAll(events);
+        store.markAllAsPublished(List.of(events.get(0).getEventId()));
+
+        List<FileEventStore.LoggedEvent> firstBatch = store.read(store.getCheckpoint("search"), 4);
+        assertThat(firstBatch).extracting(logged -> logged.event().getEventId())
+                .containsExactlyElementsOf(events.subList(0, 4).stream().map(DomainEvent::getEventId).toList());
+        store.commitCheckpoint("search", firstBatch.get(3).offset() + 1);
+        store.close();
+
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+        List<FileEventStore.LoggedEvent> rest = store.read(store.getCheckpoint("search"), 100);
+
+        assertThat(rest).extracting(logged -> logged.event().getEventId())
+                .containsExactlyElementsOf(events.subList(4, 10).stream().map(DomainEvent::getEventId).toList());
+    }
+
+    @Test
+    @DisplayName("并发保存经组提交全部落盘")
+    void shouldGroupCommitConcurrentSaves() throws Exception {
+        store = open(FileEventStore.FsyncPolicy.INTERVAL);
+        FileEventStore target = store;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                String name = "event-" + i;
+                futures.add(executor.submit(() -> target.save(new FileTestEvent("unit-test", name))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        store.close();
+
+        store = open(FileEventStore.FsyncPolicy.INTERVAL);
+        assertThat(store.findPendingEvents(2000)).hasSize(1000);
+    }
+
+    @Test
+    @DisplayName("关闭后写入抛出异常")
+    void shouldRejectWritesAfterClose() {
+        store = open(FileEventStore.FsyncPolicy.ALWAYS);
+        store.close();
+
+        assertThatThrownBy(() -> store.save(new FileTestEvent("unit-test", "late")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private FileEventStore open(FileEventStore.FsyncPolicy policy) {
+        return new FileEventStore(dir, SMALL_SEGMENT_BYTES, policy, Duration.ofMillis(20));
+    }
+
+    private static List<DomainEvent> events(int count) {
+        return IntStream.range(0, count)
+                .<DomainEvent>mapToObj(i -> new FileTestEvent("unit-test", "event-" + i))
+                .toList();
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".log")).sorted()
+                    .reduce((first, second) -> second).orElseThrow();
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".log")).count();
+        }
+    }
+
+    static class FileTestEvent extends DomainEvent {
+        private final String name;
+
+        @JsonCreator
+        FileTestEvent(@JsonProperty("source") String source,
+                      @JsonProperty("name") String name) {
+            super(source);
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
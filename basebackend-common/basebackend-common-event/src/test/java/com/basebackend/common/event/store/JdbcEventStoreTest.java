@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -17,12 +18,15 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -139,6 +143,42 @@ class JdbcEventStoreTest {
         );
     }
 
+    @Test
+    @DisplayName("markAllAsPublished 应以 IN 条件一条语句更新")
+    void shouldUpdateStatusWithInClause() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        JdbcEventStore eventStore = new JdbcEventStore(jdbcTemplate);
+
+        eventStore.markAllAsPublished(List.of("e1", "e2", "e3"));
+
+        verify(jdbcTemplate).update(
+                eq("UPDATE domain_event SET status = ?, updated_at = ? WHERE id IN (?, ?, ?)"),
+                eq(EventStatus.PUBLISHED.name()),
+                any(LocalDateTime.class),
+                eq("e1"),
+                eq("e2"),
+                eq("e3")
+        );
+    }
+
+    @Test
+    @DisplayName("saveAll 应按批次走 JDBC batch 插入")
+    @SuppressWarnings("unchecked")
+    void shouldBatchInsertWhenSaveAll() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        JdbcEventStore eventStore = new JdbcEventStore(jdbcTemplate);
+        List<DomainEvent> events = IntStream.range(0, 1200)
+                .<DomainEvent>mapToObj(i -> new JdbcTestEvent("unit-test", "event-" + i))
+                .toList();
+
+        eventStore.saveAll(events);
+
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(startsWith("INSERT INTO domain_event"), batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(500, 500, 200);
+        assertThat(batches.getAllValues().get(2).get(199)[0]).isEqualTo(events.get(1199).getEventId());
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private void mockQueryResult(JdbcTemplate jdbcTemplate,
                                  String eventId,
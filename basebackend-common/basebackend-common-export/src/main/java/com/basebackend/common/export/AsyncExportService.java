@@ -3,6 +3,10 @@ package com.basebackend.common.export;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -16,6 +20,10 @@ import java.util.function.Supplier;
  * 支持大数据量场景（>10000条），后台线程生成文件，
  * 通过 taskId 查询状态和下载结果。任务超时自动清理。
  * </p>
+ * <p>
+ * {@link #exportToFileAsync} 走流式导出：逐行写入临时文件，任务状态中实时更新已导出行数，
+ * 结果通过 {@link ExportResult#getFile()} 获取，任务过期时文件一并删除。
+ * </p>
  *
  * @author BaseBackend Team
  * @since 1.0.0
@@ -29,9 +37,18 @@ public class AsyncExportService implements AutoCloseable {
     private final Map<String, ExportTaskStatus> taskMap = new ConcurrentHashMap<>();
     private final ScheduledExecutorService cleanupScheduler;
     private final long taskTtlMillis;
+    private final Path tempDir;
 
     public AsyncExportService(ExportManager exportManager, int threadPoolSize, long taskTtlHours) {
+        this(exportManager, threadPoolSize, taskTtlHours, null);
+    }
+
+    /**
+     * @param tempDir 流式导出临时文件目录，为 null 时使用系统临时目录
+     */
+    public AsyncExportService(ExportManager exportManager, int threadPoolSize, long taskTtlHours, Path tempDir) {
         this.exportManager = exportManager;
+        this.tempDir = tempDir;
         int normalizedPoolSize = threadPoolSize > 0 ? threadPoolSize : 1;
         if (normalizedPoolSize != threadPoolSize) {
             log.warn("Invalid async export threadPoolSize={}, fallback to 1", threadPoolSize);
@@ -55,15 +72,8 @@ public class AsyncExportService implements AutoCloseable {
      * @return 任务 ID
      */
     public <T> String exportAsync(Supplier<List<T>> dataSupplier, Class<T> clazz, ExportFormat format) {
-        String taskId = UUID.randomUUID().toString();
-        long now = System.currentTimeMillis();
-        ExportTaskStatus status = ExportTaskStatus.builder()
-                .taskId(taskId)
-                .status(ExportTaskStatus.Status.PENDING)
-                .createdAt(now)
-                .updatedAt(now)
-                .build();
-        taskMap.put(taskId, status);
+        ExportTaskStatus status = createTask();
+        String taskId = status.getTaskId();
 
         executor.submit(() -> {
             try {
@@ -83,6 +93,62 @@ public class AsyncExportService implements AutoCloseable {
         return taskId;
     }
 
+    /**
+     * 提交流式导出任务，结果写入临时文件
+     *
+     * @param source  数据源，在工作线程中遍历（使用数据库游标时需自行保证连接/事务在遍历期间有效）
+     * @param clazz   数据类型
+     * @param format  导出格式
+     * @param options 流式导出选项，其中的进度回调会在更新任务状态后调用
+     * @return 任务 ID
+     */
+    public <T> String exportToFileAsync(ExportRowSource<T> source, Class<T> clazz, ExportFormat format,
+                                        StreamingExportOptions options) {
+        StreamingExportService service = exportManager.getStreamingService(format);
+        ExportTaskStatus status = createTask();
+        String taskId = status.getTaskId();
+        ExportProgressListener userListener = options.getProgressListener();
+        StreamingExportOptions taskOptions = options.toBuilder()
+                .progressListener((rows, finished) -> {
+                    status.setProcessedRows(rows);
+                    status.setUpdatedAt(System.currentTimeMillis());
+                    if (userListener != null) {
+                        userListener.onProgress(rows, finished);
+                    }
+                })
+                .build();
+        String baseName = taskOptions.getBaseName() == null || taskOptions.getBaseName().isBlank()
+                ? clazz.getSimpleName() : taskOptions.getBaseName();
+        String fileName = taskOptions.getCompression().fileName(baseName + service.fileExtension());
+
+        executor.submit(() -> {
+            Path file = null;
+            try {
+                updateStatus(status, ExportTaskStatus.Status.PROCESSING);
+                file = createTempFile(fileName);
+                long rows;
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    rows = service.export(source, clazz, out, taskOptions);
+                }
+                status.setResult(ExportResult.builder()
+                        .fileName(fileName)
+                        .contentType(service.contentType())
+                        .file(file)
+                        .build());
+                updateStatus(status, ExportTaskStatus.Status.COMPLETED);
+                log.info("Async streaming export task completed: taskId={}, format={}, rows={}, bytes={}",
+                        taskId, format, rows, Files.size(file));
+            } catch (Exception e) {
+                deleteQuietly(file);
+                status.setMessage(e.getMessage());
+                updateStatus(status, ExportTaskStatus.Status.FAILED);
+                log.error("Async streaming export task failed: taskId={}", taskId, e);
+            }
+        });
+
+        return taskId;
+    }
+
     /**
      * 查询导出任务状态
      */
@@ -110,10 +176,46 @@ public class AsyncExportService implements AutoCloseable {
                 return false;
             }
             long completedAt = resolveTerminalTimestamp(taskStatus, now);
-            return now - completedAt >= taskTtlMillis;
+            if (now - completedAt < taskTtlMillis) {
+                return false;
+            }
+            if (taskStatus.getResult() != null) {
+                deleteQuietly(taskStatus.getResult().getFile());
+            }
+            return true;
         });
     }
 
+    private ExportTaskStatus createTask() {
+        long now = System.currentTimeMillis();
+        ExportTaskStatus status = ExportTaskStatus.builder()
+                .taskId(UUID.randomUUID().toString())
+                .status(ExportTaskStatus.Status.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        taskMap.put(status.getTaskId(), status);
+        return status;
+    }
+
+    private Path createTempFile(String fileName) throws IOException {
+        String suffix = "-" + fileName.replaceAll("[^A-Za-z0-9._-]", "_");
+        return tempDir == null
+                ? Files.createTempFile("export-", suffix)
+                : Files.createTempFile(Files.createDirectories(tempDir), "export-", suffix);
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete export file: {}", file, e);
+        }
+    }
+
     private long resolveTerminalTimestamp(ExportTaskStatus status, long now) {
         if (status.getCompletedAt() != null) {
             return status.getCompletedAt();
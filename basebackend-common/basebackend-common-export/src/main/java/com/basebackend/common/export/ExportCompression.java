@@ -0,0 +1,38 @@
+package com.basebackend.common.export;
+
+/**
+ * 流式导出压缩方式
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public enum ExportCompression {
+
+    /**
+     * 不压缩
+     */
+    NONE(""),
+
+    /**
+     * gzip 压缩，文件名追加 .gz
+     */
+    GZIP(".gz"),
+
+    /**
+     * zip 打包（单个条目），文件名追加 .zip
+     */
+    ZIP(".zip");
+
+    private final String suffix;
+
+    ExportCompression(String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * 压缩后的文件名
+     */
+    public String fileName(String baseName) {
+        return baseName + suffix;
+    }
+}
@@ -1,5 +1,6 @@
 package com.basebackend.common.export;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -17,11 +18,19 @@ import java.util.stream.Collectors;
 public class ExportManager {
 
     private final Map<ExportFormat, ExportService> exportServiceMap;
+    private final Map<ExportFormat, StreamingExportService> streamingServiceMap;
 
     public ExportManager(List<ExportService> exportServices) {
+        this(exportServices, List.of());
+    }
+
+    public ExportManager(List<ExportService> exportServices, List<StreamingExportService> streamingServices) {
         this.exportServiceMap = exportServices.stream()
                 .collect(Collectors.toMap(ExportService::supportedFormat, Function.identity(),
                         (existing, replacement) -> replacement));
+        this.streamingServiceMap = streamingServices.stream()
+                .collect(Collectors.toMap(StreamingExportService::supportedFormat, Function.identity(),
+                        (existing, replacement) -> replacement));
     }
 
     /**
@@ -41,6 +50,35 @@ public class ExportManager {
         return service.export(data, clazz);
     }
 
+    /**
+     * 流式导出到输出流
+     *
+     * @param source  数据源
+     * @param clazz   数据类型
+     * @param format  导出格式
+     * @param out     输出流，完成后刷新但不关闭
+     * @param options 流式导出选项
+     * @return 导出的数据行数
+     * @throws UnsupportedExportFormatException 如果请求的格式没有流式实现
+     */
+    public <T> long export(ExportRowSource<T> source, Class<T> clazz, ExportFormat format,
+                           OutputStream out, StreamingExportOptions options) {
+        return getStreamingService(format).export(source, clazz, out, options);
+    }
+
+    /**
+     * 获取指定格式的流式导出服务
+     *
+     * @throws UnsupportedExportFormatException 如果请求的格式没有流式实现
+     */
+    public StreamingExportService getStreamingService(ExportFormat format) {
+        StreamingExportService service = streamingServiceMap.get(format);
+        if (service == null) {
+            throw new UnsupportedExportFormatException(format);
+        }
+        return service;
+    }
+
     /**
      * 检查是否支持指定格式
      */
@@ -0,0 +1,19 @@
+package com.basebackend.common.export;
+
+/**
+ * 流式导出进度回调
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ExportProgressListener {
+
+    /**
+     * 每写出 {@link StreamingExportOptions#getProgressInterval()} 行及结束时回调一次
+     *
+     * @param rows     已写出的行数
+     * @param finished 是否已写完
+     */
+    void onProgress(long rows, boolean finished);
+}
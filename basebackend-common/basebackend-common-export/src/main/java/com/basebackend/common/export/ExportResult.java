@@ -3,6 +3,8 @@ package com.basebackend.common.export;
 import lombok.Builder;
 import lombok.Data;
 
+import java.nio.file.Path;
+
 @Data
 @Builder
 public class ExportResult {
@@ -10,4 +12,9 @@ public class ExportResult {
     private String fileName;
     private String contentType;
     private byte[] content;
+
+    /**
+     * 流式导出生成的文件（此时 content 为空），任务过期时删除
+     */
+    private Path file;
 }
@@ -0,0 +1,107 @@
+package com.basebackend.common.export;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 流式导出数据源
+ * <p>
+ * 逐行把数据推给导出器，导出器写完一行即可丢弃，整个导出过程不持有完整列表。
+ * 可直接对接 MyBatis 的 {@code ResultHandler}：
+ * </p>
+ * <pre>{@code
+ * ExportRowSource<UserVO> source = sink -> userMapper.selectForExport(query,
+ *         context -> sink.accept(context.getResultObject()));
+ * }</pre>
+ * <p>
+ * 也可以用 {@link #cursor}（MyBatis {@code Cursor}）、{@link #stream} 或 {@link #keyset} 构造。
+ * 使用 Cursor/ResultHandler 时需在事务（或保持连接）内调用，MySQL 还需设置 {@code fetchSize = Integer.MIN_VALUE}
+ * 才会真正流式读取。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ExportRowSource<T> {
+
+    /**
+     * 按顺序把每一行交给 {@code sink}
+     */
+    void forEach(Consumer<? super T> sink);
+
+    /**
+     * 内存中的列表
+     */
+    static <T> ExportRowSource<T> of(List<T> rows) {
+        return rows::forEach;
+    }
+
+    /**
+     * 游标（如 MyBatis {@code Cursor}），遍历结束后若可关闭则关闭
+     */
+    static <T> ExportRowSource<T> cursor(Supplier<? extends Iterable<T>> cursorSupplier) {
+        return sink -> {
+            Iterable<T> cursor = cursorSupplier.get();
+            try {
+                cursor.forEach(sink);
+            } finally {
+                if (cursor instanceof AutoCloseable closeable) {
+                    try {
+                        closeable.close();
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Failed to close export cursor", e);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * {@link Stream}，遍历结束后关闭
+     */
+    static <T> ExportRowSource<T> stream(Supplier<Stream<T>> streamSupplier) {
+        return sink -> {
+            try (Stream<T> stream = streamSupplier.get()) {
+                stream.forEachOrdered(sink);
+            }
+        };
+    }
+
+    /**
+     * 键集分页：每页按"上一页最后一行的键"查询下一页，避免深分页的 OFFSET 扫描
+     *
+     * @param pageSize     每页行数，返回行数不足一页时结束
+     * @param pageLoader   (上一页最后一个键, 页大小) -> 下一页，首页的键为 null
+     * @param keyExtractor 从行中取排序键（查询需按该键升序）
+     */
+    static <T, K> ExportRowSource<T> keyset(int pageSize, BiFunction<K, Integer, List<T>> pageLoader,
+                                            Function<T, K> keyExtractor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        return sink -> {
+            K lastKey = null;
+            while (true) {
+                List<T> page = pageLoader.apply(lastKey, pageSize);
+                if (page == null || page.isEmpty()) {
+                    return;
+                }
+                page.forEach(sink);
+                if (page.size() < pageSize) {
+                    return;
+                }
+                K nextKey = keyExtractor.apply(page.get(page.size() - 1));
+                if (Objects.equals(nextKey, lastKey)) {
+                    throw new IllegalStateException("Keyset pagination did not advance: " + nextKey);
+                }
+                lastKey = nextKey;
+            }
+        };
+    }
+}
@@ -22,6 +22,11 @@ public class ExportTaskStatus {
     private String message;
     private ExportResult result;
 
+    /**
+     * 已导出的行数（流式导出时随进度更新）
+     */
+    private Long processedRows;
+
     /**
      * 任务创建时间戳（毫秒）
      */
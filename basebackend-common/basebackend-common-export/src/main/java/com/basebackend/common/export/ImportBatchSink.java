@@ -0,0 +1,75 @@
+package com.basebackend.common.export;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 流式导入的批量写入目标
+ * <p>
+ * 每个分块的有效行调用一次 {@link #write}，返回即视为已持久化，随后记录断点；
+ * 抛出异常时导入中止，已提交分块的断点保留，可从断点续传。
+ * 在调用 {@link StreamingImportService#importData} 的线程中按行号顺序调用。
+ * </p>
+ *
+ * <pre>{@code
+ * // MyBatis-Plus
+ * ImportBatchSink<SysUser> sink = rows -> userService.saveBatch(rows, rows.size());
+ *
+ * // JDBC 批量插入，每个分块一个事务
+ * ImportBatchSink<SysUser> sink = ImportBatchSink.jdbc(dataSource,
+ *         "INSERT INTO sys_user (username, nickname) VALUES (?, ?)",
+ *         (ps, user) -> {
+ *             ps.setString(1, user.getUsername());
+ *             ps.setString(2, user.getNickname());
+ *         });
+ * }</pre>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ImportBatchSink<T> {
+
+    void write(List<T> rows);
+
+    /**
+     * 基于 JDBC batch 的写入目标，每个分块在一个事务内 {@code executeBatch} 并提交
+     *
+     * @param sql    带占位符的 INSERT 语句
+     * @param binder 为每行设置参数
+     */
+    static <T> ImportBatchSink<T> jdbc(DataSource dataSource, String sql, StatementBinder<T> binder) {
+        return rows -> {
+            try (Connection connection = dataSource.getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (T row : rows) {
+                        binder.bind(statement, row);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("JDBC batch insert failed: " + e.getMessage(), e);
+            }
+        };
+    }
+
+    /**
+     * 为 {@link PreparedStatement} 设置一行的参数
+     */
+    @FunctionalInterface
+    interface StatementBinder<T> {
+        void bind(PreparedStatement statement, T row) throws SQLException;
+    }
+}
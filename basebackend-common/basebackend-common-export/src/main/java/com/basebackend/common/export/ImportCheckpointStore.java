@@ -0,0 +1,104 @@
+package com.basebackend.common.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 流式导入断点存储
+ * <p>
+ * 断点是已提交的最后一个数据行号：该行及之前的行已写入目标（或已记入错误报告），
+ * 同一 jobId 再次导入时从下一行开始。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public interface ImportCheckpointStore {
+
+    /**
+     * @return 已提交的最后一个数据行号，没有断点时返回 0
+     */
+    long load(String jobId);
+
+    void save(String jobId, long committedRow);
+
+    /**
+     * 删除断点，之后同一 jobId 会从头导入
+     */
+    void clear(String jobId);
+
+    /**
+     * 进程内断点，适合同一实例内失败重试
+     */
+    static ImportCheckpointStore inMemory() {
+        Map<String, Long> checkpoints = new ConcurrentHashMap<>();
+        return new ImportCheckpointStore() {
+            @Override
+            public long load(String jobId) {
+                return checkpoints.getOrDefault(jobId, 0L);
+            }
+
+            @Override
+            public void save(String jobId, long committedRow) {
+                checkpoints.put(jobId, committedRow);
+            }
+
+            @Override
+            public void clear(String jobId) {
+                checkpoints.remove(jobId);
+            }
+        };
+    }
+
+    /**
+     * 文件断点，每个任务一个 {@code <jobId>.checkpoint} 文件，先写临时文件再原子替换，进程重启后仍可续传
+     */
+    static ImportCheckpointStore directory(Path dir) {
+        return new ImportCheckpointStore() {
+            @Override
+            public long load(String jobId) {
+                Path file = file(jobId);
+                try {
+                    return Files.exists(file) ? Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim()) : 0L;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read import checkpoint: " + file, e);
+                }
+            }
+
+            @Override
+            public void save(String jobId, long committedRow) {
+                Path file = file(jobId);
+                try {
+                    Files.createDirectories(dir);
+                    Path temp = Files.writeString(dir.resolve(file.getFileName() + ".tmp"),
+                            Long.toString(committedRow), StandardCharsets.UTF_8);
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to write import checkpoint: " + file, e);
+                }
+            }
+
+            @Override
+            public void clear(String jobId) {
+                try {
+                    Files.deleteIfExists(file(jobId));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to delete import checkpoint for job " + jobId, e);
+                }
+            }
+
+            private Path file(String jobId) {
+                if (jobId == null || !jobId.matches("[A-Za-z0-9._-]+")) {
+                    throw new IllegalArgumentException("Invalid import job id: " + jobId);
+                }
+                return dir.resolve(jobId + ".checkpoint");
+            }
+        };
+    }
+}
@@ -12,6 +12,10 @@ public class ImportResult<T> {
     private int totalRows;
     private int successRows;
     private int failedRows;
+    /**
+     * 断点续传时跳过的已提交行数
+     */
+    private int skippedRows;
     private List<String> errors;
     private List<T> data;
 }
@@ -0,0 +1,25 @@
+package com.basebackend.common.export;
+
+/**
+ * 流式导入中解析出的一行数据
+ *
+ * @param rowNumber 数据行号（从 1 开始，不含表头；多工作表时连续编号）
+ * @param data      解析出的对象，解析失败时为 null
+ * @param error     解析失败原因，成功时为 null
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public record ImportRow<T>(long rowNumber, T data, String error) {
+
+    public static <T> ImportRow<T> of(long rowNumber, T data) {
+        return new ImportRow<>(rowNumber, data, null);
+    }
+
+    public static <T> ImportRow<T> failed(long rowNumber, String error) {
+        return new ImportRow<>(rowNumber, null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.basebackend.common.export;
+
+import java.util.List;
+
+/**
+ * 流式导入的行校验器
+ * <p>
+ * 在校验线程池中并行调用，实现必须线程安全；需要查库的校验（如唯一性）建议在实现内部自行缓存或批量预取。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ImportRowValidator<T> {
+
+    /**
+     * @return 校验失败原因，通过时返回空列表
+     */
+    List<String> validate(T row);
+}
@@ -0,0 +1,48 @@
+package com.basebackend.common.export;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 流式导出选项
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Data
+@Builder(toBuilder = true)
+public class StreamingExportOptions {
+
+    /**
+     * 压缩方式
+     */
+    @Builder.Default
+    private ExportCompression compression = ExportCompression.NONE;
+
+    /**
+     * 文件名（不含扩展名），默认取数据类型的类名；ZIP 条目名同样使用该名称
+     */
+    private String baseName;
+
+    /**
+     * 每个工作表最多的数据行数（不含表头），超出时新建工作表，仅 Excel 导出时生效
+     * <p>XLSX 单表上限 1,048,576 行</p>
+     */
+    @Builder.Default
+    private int maxRowsPerSheet = 1_000_000;
+
+    /**
+     * 进度回调间隔（行）
+     */
+    @Builder.Default
+    private int progressInterval = 10_000;
+
+    /**
+     * 进度回调，可为 null
+     */
+    private ExportProgressListener progressListener;
+
+    public static StreamingExportOptions defaults() {
+        return StreamingExportOptions.builder().build();
+    }
+}
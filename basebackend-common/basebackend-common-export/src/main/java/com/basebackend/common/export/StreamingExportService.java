@@ -0,0 +1,33 @@
+package com.basebackend.common.export;
+
+import java.io.OutputStream;
+
+/**
+ * 流式导出服务
+ * <p>
+ * 与 {@link ExportService} 不同，数据逐行从 {@link ExportRowSource} 读取并直接写入输出流，
+ * 内存占用与导出行数无关，适合大数据量导出。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public interface StreamingExportService {
+
+    ExportFormat supportedFormat();
+
+    /**
+     * 文件扩展名（不含压缩后缀），如 ".csv"
+     */
+    String fileExtension();
+
+    String contentType();
+
+    /**
+     * 逐行导出到输出流
+     * <p>按 {@code options} 压缩；完成后刷新但不关闭 {@code out}，由调用方（如 Servlet 容器）负责关闭。</p>
+     *
+     * @return 导出的数据行数
+     */
+    <T> long export(ExportRowSource<T> source, Class<T> clazz, OutputStream out, StreamingExportOptions options);
+}
@@ -0,0 +1,66 @@
+package com.basebackend.common.export;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.nio.file.Path;
+
+/**
+ * 流式导入选项
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Data
+@Builder(toBuilder = true)
+public class StreamingImportOptions<T> {
+
+    /**
+     * 每个分块的行数：一个分块校验一次、调用一次 {@link ImportBatchSink#write}、记录一次断点
+     */
+    @Builder.Default
+    private int chunkSize = 1000;
+
+    /**
+     * 解析线程与写入线程之间最多排队的分块数，队列满时解析线程阻塞，
+     * 内存中最多约 {@code (queueCapacity + 1) * chunkSize} 行
+     */
+    @Builder.Default
+    private int queueCapacity = 8;
+
+    /**
+     * 行校验器，可为 null
+     */
+    private ImportRowValidator<T> validator;
+
+    /**
+     * 错误报告文件（CSV：行号、原因），解析或校验失败的行逐块追加写入；为 null 时不生成
+     * <p>断点续传时追加到已有文件末尾</p>
+     */
+    private Path errorReport;
+
+    /**
+     * 任务 ID，与 {@link #checkpointStore} 同时设置时启用断点续传
+     */
+    private String jobId;
+
+    /**
+     * 断点存储，可为 null
+     */
+    private ImportCheckpointStore checkpointStore;
+
+    /**
+     * {@link ImportResult#getErrors()} 中最多保留的错误条数，完整错误见错误报告
+     */
+    @Builder.Default
+    private int maxErrors = 100;
+
+    /**
+     * 进度回调，每提交一个分块回调一次，{@code rows} 为已提交的最后一个数据行号；可为 null
+     */
+    private ExportProgressListener progressListener;
+
+    public static <T> StreamingImportOptions<T> defaults() {
+        return StreamingImportOptions.<T>builder().build();
+    }
+}
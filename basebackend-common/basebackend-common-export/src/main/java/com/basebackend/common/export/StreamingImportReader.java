@@ -0,0 +1,27 @@
+package com.basebackend.common.export;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * 流式导入解析器
+ * <p>
+ * 与 {@link ImportService} 不同，解析出的行逐个交给回调而不汇总成列表，内存占用与文件行数无关。
+ * 字段映射与类型转换规则与对应格式的 {@link ImportService} 一致。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public interface StreamingImportReader {
+
+    ExportFormat supportedFormat();
+
+    /**
+     * 逐行解析，回调异常会中止解析并原样（或被解析库包装后）抛出
+     *
+     * @param skipRows 跳过的数据行数（断点续传），被跳过的行不做对象映射
+     * @param consumer 行回调，在调用线程中按行号顺序调用
+     */
+    <T> void read(InputStream input, Class<T> clazz, long skipRows, Consumer<ImportRow<T>> consumer);
+}
@@ -0,0 +1,328 @@
+package com.basebackend.common.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 流水线式大文件导入服务
+ * <p>
+ * 解析、校验、写入三段流水线：
+ * <ol>
+ *     <li>解析线程通过 {@link StreamingImportReader} 逐行解析，凑满一个分块后提交到校验线程池，
+ *     并把结果 Future 放入有界队列（队列满时解析阻塞，内存占用与文件行数无关）；</li>
+ *     <li>校验线程池并行执行 {@link ImportRowValidator}；</li>
+ *     <li>调用线程按队列顺序取出已校验的分块，有效行交给 {@link ImportBatchSink} 批量写入，
+ *     失败行写入错误报告，然后记录断点。</li>
+ * </ol>
+ * 分块按行号顺序提交，断点之前的行都已处理完毕；写入失败时抛出异常，以相同 jobId 重新导入即从断点继续。
+ * 全部分块写入完成后删除断点，之后以相同 jobId 导入新文件会从头开始。
+ * 返回的 {@link ImportResult} 只包含计数和部分错误，不包含数据。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public class StreamingImportService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingImportService.class);
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final Map<ExportFormat, StreamingImportReader> readers;
+    private final ExecutorService validationExecutor;
+    private final ExecutorService readerExecutor;
+
+    /**
+     * @param validationThreads 校验线程数，小于 1 时取 CPU 核数
+     */
+    public StreamingImportService(List<StreamingImportReader> readers, int validationThreads) {
+        this.readers = readers.stream()
+                .collect(Collectors.toMap(StreamingImportReader::supportedFormat, Function.identity(), (a, b) -> a));
+        int threads = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        this.validationExecutor = Executors.newFixedThreadPool(threads, daemonThreadFactory("streaming-import-validate-"));
+        this.readerExecutor = Executors.newCachedThreadPool(daemonThreadFactory("streaming-import-read-"));
+    }
+
+    /**
+     * 导入数据，阻塞到全部分块写入完成
+     *
+     * @param input   输入流，由调用方关闭
+     * @param sink    批量写入目标，在调用线程中执行
+     * @param options 导入选项
+     * @throws UnsupportedExportFormatException 没有对应格式的解析器时抛出
+     * @throws IllegalStateException            解析、校验或写入失败时抛出，已提交分块的断点保留；成功时删除断点
+     */
+    public <T> ImportResult<T> importData(InputStream input, Class<T> clazz, ExportFormat format,
+                                          ImportBatchSink<T> sink, StreamingImportOptions<T> options) {
+        StreamingImportReader reader = getReader(format);
+        String jobId = options.getJobId();
+        ImportCheckpointStore checkpoints = jobId == null ? null : options.getCheckpointStore();
+        long startRow = checkpoints == null ? 0 : checkpoints.load(jobId);
+        if (startRow > 0) {
+            log.info("Resuming streaming import: jobId={}, startRow={}", jobId, startRow);
+        }
+
+        BlockingQueue<Future<Chunk<T>>> queue = new ArrayBlockingQueue<>(Math.max(1, options.getQueueCapacity()));
+        AtomicBoolean aborted = new AtomicBoolean();
+        Future<?> reading = readerExecutor.submit(() ->
+                readChunks(reader, input, clazz, startRow, options, queue, aborted));
+
+        Counters counters = new Counters(startRow, Math.max(0, options.getMaxErrors()));
+        try (ErrorReport report = ErrorReport.open(options.getErrorReport(), startRow > 0)) {
+            Chunk<T> chunk;
+            while ((chunk = await(queue.take())) != Chunk.END) {
+                if (!chunk.valid().isEmpty()) {
+                    sink.write(chunk.valid());
+                }
+                report.write(chunk.failed());
+                counters.commit(chunk);
+                if (checkpoints != null) {
+                    checkpoints.save(jobId, chunk.lastRow());
+                }
+                if (options.getProgressListener() != null) {
+                    options.getProgressListener().onProgress(chunk.lastRow(), false);
+                }
+            }
+        } catch (Exception e) {
+            aborted.set(true);
+            awaitQuietly(reading);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Streaming import failed: jobId={}, committedRow={}", jobId, counters.committedRow, cause);
+            throw new IllegalStateException("Streaming import failed after row " + counters.committedRow
+                    + ": " + cause.getMessage(), cause);
+        }
+        if (checkpoints != null) {
+            checkpoints.clear(jobId);
+        }
+        if (options.getProgressListener() != null) {
+            options.getProgressListener().onProgress(counters.committedRow, true);
+        }
+
+        log.info("Streaming import completed: jobId={}, format={}, rows={}, failed={}, skipped={}",
+                jobId, format, counters.total, counters.failed, startRow);
+        return ImportResult.<T>builder()
+                .totalRows((int) counters.total)
+                .successRows((int) (counters.total - counters.failed))
+                .failedRows((int) counters.failed)
+                .skippedRows((int) startRow)
+                .errors(counters.errors)
+                .build();
+    }
+
+    public StreamingImportReader getReader(ExportFormat format) {
+        StreamingImportReader reader = readers.get(format);
+        if (reader == null) {
+            throw new UnsupportedExportFormatException(format);
+        }
+        return reader;
+    }
+
+    /**
+     * 解析线程：按分块提交校验并入队，结束时放入 {@link Chunk#END}，失败时放入失败的 Future
+     */
+    private <T> void readChunks(StreamingImportReader reader, InputStream input, Class<T> clazz, long startRow,
+                                StreamingImportOptions<T> options, BlockingQueue<Future<Chunk<T>>> queue,
+                                AtomicBoolean aborted) {
+        int chunkSize = Math.max(1, options.getChunkSize());
+        ImportRowValidator<T> validator = options.getValidator();
+        try {
+            List<List<ImportRow<T>>> pending = new ArrayList<>(1);
+            pending.add(new ArrayList<>(chunkSize));
+            reader.read(input, clazz, startRow, row -> {
+                List<ImportRow<T>> rows = pending.get(0);
+                rows.add(row);
+                if (rows.size() == chunkSize) {
+                    enqueue(queue, validate(rows, validator), aborted);
+                    pending.set(0, new ArrayList<>(chunkSize));
+                }
+            });
+            if (!pending.get(0).isEmpty()) {
+                enqueue(queue, validate(pending.get(0), validator), aborted);
+            }
+            enqueue(queue, CompletableFuture.completedFuture(Chunk.end()), aborted);
+        } catch (Throwable e) {
+            if (!aborted.get()) {
+                enqueue(queue, CompletableFuture.failedFuture(e), aborted);
+            }
+        }
+    }
+
+    private <T> Future<Chunk<T>> validate(List<ImportRow<T>> rows, ImportRowValidator<T> validator) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<T> valid = new ArrayList<>(rows.size());
+            List<ImportRow<T>> failed = new ArrayList<>();
+            for (ImportRow<T> row : rows) {
+                if (!row.isValid()) {
+                    failed.add(row);
+                    continue;
+                }
+                List<String> errors = validator == null ? List.of() : validator.validate(row.data());
+                if (errors == null || errors.isEmpty()) {
+                    valid.add(row.data());
+                } else {
+                    failed.add(ImportRow.failed(row.rowNumber(), String.join("; ", errors)));
+                }
+            }
+            return new Chunk<>(valid, failed, rows.size(), rows.get(rows.size() - 1).rowNumber());
+        }, validationExecutor);
+    }
+
+    /**
+     * 写入线程中止后不再取队列，限时入队以便解析线程及时退出
+     */
+    private static <T> void enqueue(BlockingQueue<Future<Chunk<T>>> queue, Future<Chunk<T>> chunk,
+                                    AtomicBoolean aborted) {
+        try {
+            while (aborted.get() || !queue.offer(chunk, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (aborted.get()) {
+                    throw new CancellationException("Streaming import aborted");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Streaming import interrupted");
+        }
+    }
+
+    private static <T> Chunk<T> await(Future<Chunk<T>> chunk) throws InterruptedException, ExecutionException {
+        return chunk.get();
+    }
+
+    /**
+     * 等待解析线程退出，避免调用方关闭输入流时解析仍在进行
+     */
+    private static void awaitQuietly(Future<?> reading) {
+        try {
+            reading.get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            reading.cancel(true);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    @Override
+    public void close() {
+        readerExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+    }
+
+    /**
+     * 已校验的分块
+     *
+     * @param valid   校验通过的数据
+     * @param failed  解析或校验失败的行
+     * @param size    分块总行数
+     * @param lastRow 分块最后一行的行号
+     */
+    private record Chunk<T>(List<T> valid, List<ImportRow<T>> failed, int size, long lastRow) {
+
+        private static final Chunk<?> END = new Chunk<>(List.of(), List.of(), 0, -1);
+
+        @SuppressWarnings("unchecked")
+        static <T> Chunk<T> end() {
+            return (Chunk<T>) END;
+        }
+    }
+
+    private static final class Counters {
+        private final int maxErrors;
+        private final List<String> errors = new ArrayList<>();
+        private long committedRow;
+        private long total;
+        private long failed;
+
+        Counters(long startRow, int maxErrors) {
+            this.committedRow = startRow;
+            this.maxErrors = maxErrors;
+        }
+
+        void commit(Chunk<?> chunk) {
+            total += chunk.size();
+            failed += chunk.failed().size();
+            committedRow = chunk.lastRow();
+            for (ImportRow<?> row : chunk.failed()) {
+                if (errors.size() >= maxErrors) {
+                    break;
+                }
+                errors.add("Row " + row.rowNumber() + ": " + row.error());
+            }
+        }
+    }
+
+    /**
+     * CSV 错误报告（row,error），每个分块写完后刷新，与断点保持一致
+     */
+    private static final class ErrorReport implements AutoCloseable {
+        private final BufferedWriter writer;
+
+        private ErrorReport(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        static ErrorReport open(Path file, boolean append) throws IOException {
+            if (file == null) {
+                return new ErrorReport(null);
+            }
+            boolean writeHeader = !append || !Files.exists(file) || Files.size(file) == 0;
+            BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+            if (writeHeader) {
+                writer.write("row,error\r\n");
+            }
+            return new ErrorReport(writer);
+        }
+
+        void write(List<? extends ImportRow<?>> rows) {
+            if (writer == null || rows.isEmpty()) {
+                return;
+            }
+            try {
+                for (ImportRow<?> row : rows) {
+                    String error = row.error() == null ? "" : row.error();
+                    writer.write(row.rowNumber() + ",\"" + error.replace("\"", "\"\"") + "\"\r\n");
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write import error report", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
@@ -4,10 +4,18 @@ import com.basebackend.common.export.AsyncExportService;
 import com.basebackend.common.export.ExportManager;
 import com.basebackend.common.export.ExportService;
 import com.basebackend.common.export.ImportService;
+import com.basebackend.common.export.StreamingExportService;
+import com.basebackend.common.export.StreamingImportReader;
+import com.basebackend.common.export.StreamingImportService;
 import com.basebackend.common.export.impl.CsvExportService;
 import com.basebackend.common.export.impl.CsvImportService;
+import com.basebackend.common.export.impl.CsvStreamingExportService;
+import com.basebackend.common.export.impl.CsvStreamingImportReader;
 import com.basebackend.common.export.impl.EasyExcelExportService;
 import com.basebackend.common.export.impl.EasyExcelImportService;
+import com.basebackend.common.export.impl.EasyExcelStreamingExportService;
+import com.basebackend.common.export.impl.EasyExcelStreamingImportReader;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -15,6 +23,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
+import java.nio.file.Path;
 import java.util.List;
 
 @AutoConfiguration
@@ -50,17 +59,56 @@ public class ExportAutoConfiguration {
         return new EasyExcelImportService();
     }
 
+    @Bean
+    @ConditionalOnMissingBean(name = "csvStreamingExportService")
+    @ConditionalOnClass(name = "org.apache.commons.csv.CSVFormat")
+    public StreamingExportService csvStreamingExportService() {
+        return new CsvStreamingExportService();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "excelStreamingExportService")
+    @ConditionalOnClass(name = "com.alibaba.excel.EasyExcel")
+    public StreamingExportService excelStreamingExportService() {
+        return new EasyExcelStreamingExportService();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "csvStreamingImportReader")
+    @ConditionalOnClass(name = "org.apache.commons.csv.CSVFormat")
+    public StreamingImportReader csvStreamingImportReader() {
+        return new CsvStreamingImportReader();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "excelStreamingImportReader")
+    @ConditionalOnClass(name = "com.alibaba.excel.EasyExcel")
+    public StreamingImportReader excelStreamingImportReader() {
+        return new EasyExcelStreamingImportReader();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public StreamingImportService streamingImportService(ObjectProvider<StreamingImportReader> streamingImportReaders,
+                                                         ExportProperties properties) {
+        return new StreamingImportService(streamingImportReaders.orderedStream().toList(),
+                properties.getStreamingImport().getValidationThreads());
+    }
+
     @Bean
     @ConditionalOnMissingBean
-    public ExportManager exportManager(List<ExportService> exportServices) {
-        return new ExportManager(exportServices);
+    public ExportManager exportManager(List<ExportService> exportServices,
+                                       ObjectProvider<StreamingExportService> streamingExportServices) {
+        return new ExportManager(exportServices, streamingExportServices.orderedStream().toList());
     }
 
     @Bean
     @ConditionalOnMissingBean
     public AsyncExportService asyncExportService(ExportManager exportManager, ExportProperties properties) {
+        String tempDir = properties.getAsync().getTempDir();
         return new AsyncExportService(exportManager,
                 properties.getAsync().getThreadPoolSize(),
-                properties.getAsync().getTaskTtlHours());
+                properties.getAsync().getTaskTtlHours(),
+                tempDir == null || tempDir.isBlank() ? null : Path.of(tempDir));
     }
 }
@@ -14,6 +14,11 @@ public class ExportProperties {
      */
     private Async async = new Async();
 
+    /**
+     * 流式导入配置
+     */
+    private StreamingImport streamingImport = new StreamingImport();
+
     @Data
     public static class Async {
         /**
@@ -25,5 +30,18 @@ public class ExportProperties {
          * 任务结果保留时间（小时），过期自动清理
          */
         private long taskTtlHours = 24;
+
+        /**
+         * 流式导出临时文件目录，为空时使用系统临时目录
+         */
+        private String tempDir;
+    }
+
+    @Data
+    public static class StreamingImport {
+        /**
+         * 校验线程数，小于 1 时取 CPU 核数
+         */
+        private int validationThreads = 0;
     }
 }
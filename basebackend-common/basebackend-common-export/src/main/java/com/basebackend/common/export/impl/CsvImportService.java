@@ -1,6 +1,5 @@
 package com.basebackend.common.export.impl;
 
-import com.basebackend.common.export.ExportField;
 import com.basebackend.common.export.ExportFormat;
 import com.basebackend.common.export.ImportResult;
 import com.basebackend.common.export.ImportService;
@@ -23,7 +22,7 @@ public class CsvImportService implements ImportService {
 
     @Override
     public <T> ImportResult<T> importData(InputStream input, Class<T> clazz) {
-        Map<String, Field> labelToField = buildLabelMap(clazz);
+        Map<String, Field> labelToField = ImportFieldMapping.labelMap(clazz);
         List<T> data = new ArrayList<>();
         List<String> errors = new ArrayList<>();
         int total = 0;
@@ -42,7 +41,7 @@ public class CsvImportService implements ImportService {
                         if (value != null && !value.isEmpty()) {
                             Field field = entry.getValue();
                             field.setAccessible(true);
-                            field.set(instance, convertValue(value, field.getType()));
+                            field.set(instance, ImportFieldMapping.convertValue(value, field.getType()));
                         }
                     }
                     data.add(instance);
@@ -63,24 +62,4 @@ public class CsvImportService implements ImportService {
                 .data(data)
                 .build();
     }
-
-    private Map<String, Field> buildLabelMap(Class<?> clazz) {
-        Map<String, Field> map = new LinkedHashMap<>();
-        for (Field field : clazz.getDeclaredFields()) {
-            ExportField annotation = field.getAnnotation(ExportField.class);
-            if (annotation != null) {
-                map.put(annotation.label(), field);
-            }
-        }
-        return map;
-    }
-
-    private Object convertValue(String value, Class<?> type) {
-        if (type == String.class) return value;
-        if (type == int.class || type == Integer.class) return Integer.parseInt(value);
-        if (type == long.class || type == Long.class) return Long.parseLong(value);
-        if (type == double.class || type == Double.class) return Double.parseDouble(value);
-        if (type == boolean.class || type == Boolean.class) return Boolean.parseBoolean(value);
-        return value;
-    }
 }
@@ -0,0 +1,79 @@
+package com.basebackend.common.export.impl;
+
+import com.basebackend.common.export.ExportFormat;
+import com.basebackend.common.export.ExportRowSource;
+import com.basebackend.common.export.StreamingExportOptions;
+import com.basebackend.common.export.StreamingExportService;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV 流式导出服务
+ * <p>
+ * 逐行写入，列与取值规则与 {@link CsvExportService} 一致。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public class CsvStreamingExportService implements StreamingExportService {
+
+    @Override
+    public ExportFormat supportedFormat() {
+        return ExportFormat.CSV;
+    }
+
+    @Override
+    public String fileExtension() {
+        return ".csv";
+    }
+
+    @Override
+    public String contentType() {
+        return "text/csv";
+    }
+
+    @Override
+    public <T> long export(ExportRowSource<T> source, Class<T> clazz, OutputStream out,
+                           StreamingExportOptions options) {
+        List<CsvExportService.FieldMeta> fields = CsvExportService.resolveFields(clazz);
+        fields.forEach(fm -> fm.field.setAccessible(true));
+        StreamingOutputs.Progress progress = new StreamingOutputs.Progress(options);
+        String entryName = StreamingOutputs.baseName(options, clazz) + fileExtension();
+
+        try (OutputStream stream = StreamingOutputs.open(out, options.getCompression(), entryName);
+             OutputStreamWriter writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+             CSVPrinter printer = new CSVPrinter(writer,
+                     CSVFormat.DEFAULT.builder()
+                             .setHeader(fields.stream().map(f -> f.label).toArray(String[]::new))
+                             .build())) {
+
+            Object[] values = new Object[fields.size()];
+            source.forEach(item -> {
+                try {
+                    for (int i = 0; i < values.length; i++) {
+                        Object val = fields.get(i).field.get(item);
+                        values[i] = val != null ? val.toString() : "";
+                    }
+                    printer.printRecord(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+                progress.increment();
+            });
+            printer.flush();
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("CSV export failed", e);
+        }
+        return progress.finish();
+    }
+}
@@ -0,0 +1,79 @@
+package com.basebackend.common.export.impl;
+
+import com.basebackend.common.export.ExportFormat;
+import com.basebackend.common.export.ImportRow;
+import com.basebackend.common.export.StreamingImportReader;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * CSV 流式导入解析器
+ * <p>
+ * 首行为表头，按 {@link com.basebackend.common.export.ExportField#label()} 匹配列，列映射只在读到表头时解析一次。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public class CsvStreamingImportReader implements StreamingImportReader {
+
+    @Override
+    public ExportFormat supportedFormat() {
+        return ExportFormat.CSV;
+    }
+
+    @Override
+    public <T> void read(InputStream input, Class<T> clazz, long skipRows, Consumer<ImportRow<T>> consumer) {
+        Map<String, Field> labelToField = ImportFieldMapping.labelMap(clazz);
+        Constructor<T> constructor = ImportFieldMapping.constructor(clazz);
+
+        try (CSVParser parser = new CSVParser(
+                new InputStreamReader(input, StandardCharsets.UTF_8),
+                CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build())) {
+
+            List<Integer> indexes = new ArrayList<>();
+            List<Field> fields = new ArrayList<>();
+            parser.getHeaderMap().forEach((header, index) -> {
+                Field field = labelToField.get(header);
+                if (field != null) {
+                    indexes.add(index);
+                    fields.add(field);
+                }
+            });
+
+            long rowNumber = 0;
+            for (CSVRecord record : parser) {
+                if (++rowNumber <= skipRows) {
+                    continue;
+                }
+                ImportRow<T> row;
+                try {
+                    T instance = constructor.newInstance();
+                    for (int i = 0; i < fields.size(); i++) {
+                        int index = indexes.get(i);
+                        ImportFieldMapping.setValue(instance, fields.get(i), index < record.size() ? record.get(index) : null);
+                    }
+                    row = ImportRow.of(rowNumber, instance);
+                } catch (Exception e) {
+                    row = ImportRow.failed(rowNumber, e.getMessage());
+                }
+                consumer.accept(row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("CSV parse error: " + e.getMessage(), e);
+        }
+    }
+}
@@ -99,6 +99,13 @@ public class EasyExcelExportService implements ExportService {
             }
         }
 
+        return formatValue(value, meta);
+    }
+
+    /**
+     * 按 {@link ExportField#format()} 格式化日期，其余类型取 toString
+     */
+    static Object formatValue(Object value, ExcelFieldMeta meta) {
         // 日期格式化
         if (!meta.format.isEmpty()) {
             if (value instanceof LocalDateTime ldt) {
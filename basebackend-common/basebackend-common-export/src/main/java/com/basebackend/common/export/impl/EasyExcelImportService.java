@@ -28,7 +28,7 @@ public class EasyExcelImportService implements ImportService {
 
     @Override
     public <T> ImportResult<T> importData(InputStream input, Class<T> clazz) {
-        Map<String, Field> labelToField = buildLabelMap(clazz);
+        Map<String, Field> labelToField = ImportFieldMapping.labelMap(clazz);
         List<T> data = new ArrayList<>();
         List<String> errors = new ArrayList<>();
         int[] counters = {0, 0}; // [total, success]
@@ -57,7 +57,7 @@ public class EasyExcelImportService implements ImportService {
                                     field.setAccessible(true);
                                     String value = entry.getValue();
                                     if (value != null && !value.isEmpty()) {
-                                        field.set(instance, convertValue(value, field.getType()));
+                                        field.set(instance, ImportFieldMapping.convertValue(value, field.getType()));
                                     }
                                 }
                             }
@@ -86,25 +86,4 @@ public class EasyExcelImportService implements ImportService {
                 .data(data)
                 .build();
     }
-
-    private Map<String, Field> buildLabelMap(Class<?> clazz) {
-        Map<String, Field> map = new LinkedHashMap<>();
-        for (Field field : clazz.getDeclaredFields()) {
-            ExportField annotation = field.getAnnotation(ExportField.class);
-            if (annotation != null) {
-                map.put(annotation.label(), field);
-            }
-        }
-        return map;
-    }
-
-    private Object convertValue(String value, Class<?> type) {
-        if (type == String.class) return value;
-        if (type == int.class || type == Integer.class) return Integer.parseInt(value);
-        if (type == long.class || type == Long.class) return Long.parseLong(value);
-        if (type == double.class || type == Double.class) return Double.parseDouble(value);
-        if (type == boolean.class || type == Boolean.class) return Boolean.parseBoolean(value);
-        if (type == float.class || type == Float.class) return Float.parseFloat(value);
-        return value;
-    }
 }
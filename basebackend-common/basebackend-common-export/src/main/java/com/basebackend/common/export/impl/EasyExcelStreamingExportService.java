@@ -0,0 +1,180 @@
+package com.basebackend.common.export.impl;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.metadata.WriteSheet;
+import com.alibaba.excel.write.metadata.style.WriteCellStyle;
+import com.alibaba.excel.write.metadata.style.WriteFont;
+import com.alibaba.excel.write.style.HorizontalCellStyleStrategy;
+import com.basebackend.common.export.ExportFormat;
+import com.basebackend.common.export.ExportRowSource;
+import com.basebackend.common.export.FieldConverter;
+import com.basebackend.common.export.StreamingExportOptions;
+import com.basebackend.common.export.StreamingExportService;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * EasyExcel 流式导出服务
+ * <p>
+ * 使用 EasyExcel 的非内存模式（SXSSF，仅保留少量行在内存中，其余写入临时文件），
+ * 数据按批写入，单表达到 {@link StreamingExportOptions#getMaxRowsPerSheet()} 行时自动新建工作表。
+ * 列与取值规则与 {@link EasyExcelExportService} 一致，自定义转换器每次导出只实例化一次。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public class EasyExcelStreamingExportService implements StreamingExportService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public ExportFormat supportedFormat() {
+        return ExportFormat.XLSX;
+    }
+
+    @Override
+    public String fileExtension() {
+        return ".xlsx";
+    }
+
+    @Override
+    public String contentType() {
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    }
+
+    @Override
+    public <T> long export(ExportRowSource<T> source, Class<T> clazz, OutputStream out,
+                           StreamingExportOptions options) {
+        List<EasyExcelExportService.ExcelFieldMeta> fields = EasyExcelExportService.resolveFields(clazz);
+        List<List<String>> headList = new ArrayList<>();
+        FieldConverter[] converters = new FieldConverter[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            EasyExcelExportService.ExcelFieldMeta fm = fields.get(i);
+            fm.field.setAccessible(true);
+            headList.add(Collections.singletonList(fm.label));
+            converters[i] = instantiate(fm.converterClass);
+        }
+        StreamingOutputs.Progress progress = new StreamingOutputs.Progress(options);
+        String entryName = StreamingOutputs.baseName(options, clazz) + fileExtension();
+
+        try (OutputStream stream = StreamingOutputs.open(out, options.getCompression(), entryName)) {
+            ExcelWriter writer = EasyExcel.write(stream)
+                    .head(headList)
+                    .registerWriteHandler(styleStrategy())
+                    .autoCloseStream(Boolean.FALSE)
+                    .build();
+            try {
+                SheetWriter sheets = new SheetWriter(writer, Math.max(1, options.getMaxRowsPerSheet()));
+                source.forEach(item -> {
+                    List<Object> row = new ArrayList<>(fields.size());
+                    for (int i = 0; i < fields.size(); i++) {
+                        row.add(cellValue(item, fields.get(i), converters[i]));
+                    }
+                    sheets.add(row);
+                    progress.increment();
+                });
+                sheets.flush();
+            } finally {
+                writer.finish();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Excel export failed", e);
+        }
+        return progress.finish();
+    }
+
+    private static Object cellValue(Object item, EasyExcelExportService.ExcelFieldMeta meta,
+                                    FieldConverter converter) {
+        Object value;
+        try {
+            value = meta.field.get(item);
+        } catch (IllegalAccessException e) {
+            return "";
+        }
+        if (value == null) {
+            return "";
+        }
+        if (converter != null) {
+            return converter.convert(value);
+        }
+        return EasyExcelExportService.formatValue(value, meta);
+    }
+
+    private static FieldConverter instantiate(Class<? extends FieldConverter> converterClass) {
+        if (converterClass == null || converterClass == FieldConverter.class) {
+            return null;
+        }
+        try {
+            return converterClass.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            // 转换器实例化失败，使用默认转换
+            return null;
+        }
+    }
+
+    private static HorizontalCellStyleStrategy styleStrategy() {
+        WriteCellStyle headStyle = new WriteCellStyle();
+        WriteFont headFont = new WriteFont();
+        headFont.setBold(true);
+        headStyle.setWriteFont(headFont);
+        headStyle.setHorizontalAlignment(HorizontalAlignment.CENTER);
+        return new HorizontalCellStyleStrategy(headStyle, new WriteCellStyle());
+    }
+
+    /**
+     * 按批写入当前工作表，满行后切换到下一张工作表
+     */
+    private static final class SheetWriter {
+
+        private final ExcelWriter writer;
+        private final int maxRowsPerSheet;
+        private final List<List<Object>> batch = new ArrayList<>(BATCH_SIZE);
+        private WriteSheet sheet;
+        private int sheetNo;
+        private long rowsInSheet;
+        private boolean sheetWritten;
+
+        SheetWriter(ExcelWriter writer, int maxRowsPerSheet) {
+            this.writer = writer;
+            this.maxRowsPerSheet = maxRowsPerSheet;
+            this.sheet = newSheet(0);
+        }
+
+        void add(List<Object> row) {
+            if (rowsInSheet == maxRowsPerSheet) {
+                flush();
+                sheetNo++;
+                sheet = newSheet(sheetNo);
+                sheetWritten = false;
+                rowsInSheet = 0;
+            }
+            batch.add(row);
+            rowsInSheet++;
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * 写出缓冲的行；没有任何数据时也写出表头
+         */
+        void flush() {
+            if (!batch.isEmpty() || !sheetWritten) {
+                writer.write(batch, sheet);
+                batch.clear();
+                sheetWritten = true;
+            }
+        }
+
+        private static WriteSheet newSheet(int sheetNo) {
+            return EasyExcel.writerSheet(sheetNo, "Sheet" + (sheetNo + 1)).build();
+        }
+    }
+}
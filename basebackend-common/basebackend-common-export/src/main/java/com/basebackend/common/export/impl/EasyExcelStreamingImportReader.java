@@ -0,0 +1,80 @@
+package com.basebackend.common.export.impl;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.metadata.data.ReadCellData;
+import com.alibaba.excel.read.listener.ReadListener;
+import com.basebackend.common.export.ExportFormat;
+import com.basebackend.common.export.ImportRow;
+import com.basebackend.common.export.StreamingImportReader;
+
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Excel 流式导入解析器
+ * <p>
+ * 基于 EasyExcel 的 SAX 事件读取，读取全部工作表（与 {@link EasyExcelStreamingExportService} 按行数拆分的多个工作表对应），
+ * 每个工作表按各自表头匹配列，行号跨工作表连续。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public class EasyExcelStreamingImportReader implements StreamingImportReader {
+
+    @Override
+    public ExportFormat supportedFormat() {
+        return ExportFormat.XLSX;
+    }
+
+    @Override
+    public <T> void read(InputStream input, Class<T> clazz, long skipRows, Consumer<ImportRow<T>> consumer) {
+        Map<String, Field> labelToField = ImportFieldMapping.labelMap(clazz);
+        Constructor<T> constructor = ImportFieldMapping.constructor(clazz);
+
+        EasyExcel.read(input, new ReadListener<Map<Integer, String>>() {
+            private Map<Integer, Field> columns = Map.of();
+            private long rowNumber;
+
+            @Override
+            public void invokeHead(Map<Integer, ReadCellData<?>> headMap, AnalysisContext context) {
+                Map<Integer, Field> sheetColumns = new HashMap<>();
+                headMap.forEach((index, cellData) -> {
+                    Field field = labelToField.get(cellData.getStringValue());
+                    if (field != null) {
+                        sheetColumns.put(index, field);
+                    }
+                });
+                columns = sheetColumns;
+            }
+
+            @Override
+            public void invoke(Map<Integer, String> rowData, AnalysisContext context) {
+                if (++rowNumber <= skipRows) {
+                    return;
+                }
+                ImportRow<T> row;
+                try {
+                    T instance = constructor.newInstance();
+                    for (Map.Entry<Integer, Field> column : columns.entrySet()) {
+                        ImportFieldMapping.setValue(instance, column.getValue(), rowData.get(column.getKey()));
+                    }
+                    row = ImportRow.of(rowNumber, instance);
+                } catch (Exception e) {
+                    row = ImportRow.failed(rowNumber, e.getMessage());
+                }
+                consumer.accept(row);
+            }
+
+            @Override
+            public void doAfterAllAnalysed(AnalysisContext context) {
+                // no-op
+            }
+        }).doReadAll();
+    }
+}
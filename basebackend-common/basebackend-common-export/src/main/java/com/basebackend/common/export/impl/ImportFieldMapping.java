@@ -0,0 +1,64 @@
+package com.basebackend.common.export.impl;
+
+import com.basebackend.common.export.ExportField;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 导入时表头到字段的映射与类型转换，各导入实现共用
+ */
+final class ImportFieldMapping {
+
+    private ImportFieldMapping() {
+    }
+
+    /**
+     * {@link ExportField#label()} -> 字段
+     */
+    static Map<String, Field> labelMap(Class<?> clazz) {
+        Map<String, Field> map = new LinkedHashMap<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            ExportField annotation = field.getAnnotation(ExportField.class);
+            if (annotation != null) {
+                field.setAccessible(true);
+                map.put(annotation.label(), field);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 导入对象的无参构造器，解析前取一次，避免逐行反射查找
+     */
+    static <T> Constructor<T> constructor(Class<T> clazz) {
+        try {
+            Constructor<T> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Import class requires a no-arg constructor: " + clazz.getName(), e);
+        }
+    }
+
+    /**
+     * 按字段类型转换后赋值，空值保持字段默认值
+     */
+    static void setValue(Object instance, Field field, String value) throws IllegalAccessException {
+        if (value != null && !value.isEmpty()) {
+            field.set(instance, convertValue(value, field.getType()));
+        }
+    }
+
+    static Object convertValue(String value, Class<?> type) {
+        if (type == String.class) return value;
+        if (type == int.class || type == Integer.class) return Integer.parseInt(value);
+        if (type == long.class || type == Long.class) return Long.parseLong(value);
+        if (type == double.class || type == Double.class) return Double.parseDouble(value);
+        if (type == boolean.class || type == Boolean.class) return Boolean.parseBoolean(value);
+        if (type == float.class || type == Float.class) return Float.parseFloat(value);
+        return value;
+    }
+}
@@ -0,0 +1,91 @@
+package com.basebackend.common.export.impl;
+
+import com.basebackend.common.export.ExportCompression;
+import com.basebackend.common.export.ExportProgressListener;
+import com.basebackend.common.export.StreamingExportOptions;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 流式导出公共逻辑：边写边压缩、进度统计
+ */
+final class StreamingOutputs {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private StreamingOutputs() {
+    }
+
+    static String baseName(StreamingExportOptions options, Class<?> clazz) {
+        String baseName = options.getBaseName();
+        return baseName == null || baseName.isBlank() ? clazz.getSimpleName() : baseName;
+    }
+
+    /**
+     * 按压缩方式包装输出流；关闭返回的流会写完压缩尾部并刷新，但不关闭 {@code out}
+     */
+    static OutputStream open(OutputStream out, ExportCompression compression, String entryName) throws IOException {
+        OutputStream target = new NonClosingOutputStream(out);
+        return switch (compression == null ? ExportCompression.NONE : compression) {
+            case NONE -> new BufferedOutputStream(target, BUFFER_SIZE);
+            case GZIP -> new GZIPOutputStream(target, BUFFER_SIZE);
+            case ZIP -> {
+                ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(target, BUFFER_SIZE));
+                zip.putNextEntry(new ZipEntry(entryName));
+                yield zip;
+            }
+        };
+    }
+
+    /**
+     * 行数统计与进度回调
+     */
+    static final class Progress {
+
+        private final ExportProgressListener listener;
+        private final int interval;
+        private long rows;
+
+        Progress(StreamingExportOptions options) {
+            this.listener = options.getProgressListener();
+            this.interval = Math.max(1, options.getProgressInterval());
+        }
+
+        void increment() {
+            rows++;
+            if (listener != null && rows % interval == 0) {
+                listener.onProgress(rows, false);
+            }
+        }
+
+        long finish() {
+            if (listener != null) {
+                listener.onProgress(rows, true);
+            }
+            return rows;
+        }
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.basebackend.common.export;
+
+/**
+ * 导入测试和基准测试共用的行类型
+ */
+public class ImportTestRow {
+    @ExportField(label = "ID", order = 1)
+    private long id;
+
+    @ExportField(label = "Name", order = 2)
+    private String name;
+
+    public ImportTestRow() {}
+
+    public ImportTestRow(long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,224 @@
+package com.basebackend.common.export;
+
+import com.basebackend.common.export.impl.CsvStreamingExportService;
+import com.basebackend.common.export.impl.EasyExcelStreamingExportService;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 流式导出单元测试
+ */
+class StreamingExportTest {
+
+    private final CsvStreamingExportService csv = new CsvStreamingExportService();
+    private final EasyExcelStreamingExportService excel = new EasyExcelStreamingExportService();
+
+    @Test
+    @DisplayName("CSV 边写边 gzip，进度按间隔回调")
+    void csvGzipWithProgress() throws IOException {
+        List<Long> progress = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = csv.export(ExportRowSource.of(rows(2500)), TestRow.class, out,
+                StreamingExportOptions.builder()
+                        .compression(ExportCompression.GZIP)
+                        .progressInterval(1000)
+                        .progressListener((count, finished) -> progress.add(finished ? -count : count))
+                        .build());
+
+        assertThat(rows).isEqualTo(2500);
+        assertThat(progress).containsExactly(1000L, 2000L, -2500L);
+        String text = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        String[] lines = text.split("\r\n");
+        assertThat(lines).hasSize(2501);
+        assertThat(lines[0]).isEqualTo("ID,Name");
+        assertThat(lines[2500]).isEqualTo("2500,user-2500");
+    }
+
+    @Test
+    @DisplayName("ZIP 条目名使用 baseName，且不关闭调用方的输出流")
+    void csvZipKeepsCallerStreamOpen() throws IOException {
+        ClosableBuffer out = new ClosableBuffer();
+
+        csv.export(ExportRowSource.of(rows(3)), TestRow.class, out,
+                StreamingExportOptions.builder().compression(ExportCompression.ZIP).baseName("users").build());
+
+        assertThat(out.closed).isFalse();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry = zip.getNextEntry();
+            assertThat(entry.getName()).isEqualTo("users.csv");
+            assertThat(new String(zip.readAllBytes(), StandardCharsets.UTF_8)).startsWith("ID,Name\r\n1,user-1");
+        }
+    }
+
+    @Test
+    @DisplayName("键集分页逐页读取直到不足一页")
+    void keysetSourceReadsAllPages() {
+        List<TestRow> all = rows(25);
+        List<Long> requestedKeys = new ArrayList<>();
+        ExportRowSource<TestRow> source = ExportRowSource.keyset(10, (Long lastId, Integer size) -> {
+            requestedKeys.add(lastId);
+            return all.stream().filter(r -> lastId == null || r.id > lastId).limit(size).toList();
+        }, r -> r.id);
+
+        List<TestRow> read = new ArrayList<>();
+        source.forEach(read::add);
+
+        assertThat(read).containsExactlyElementsOf(all);
+        assertThat(requestedKeys).containsExactly(null, 10L, 20L);
+    }
+
+    @Test
+    @DisplayName("Excel 单表满行后新建工作表")
+    void excelRollsOverSheets() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = excel.export(ExportRowSource.of(rows(25)), TestRow.class, out,
+                StreamingExportOptions.builder().maxRowsPerSheet(10).build());
+
+        assertThat(rows).isEqualTo(25);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+            assertThat(workbook.getSheetAt(0).getLastRowNum()).isEqualTo(10);
+            assertThat(workbook.getSheetAt(2).getLastRowNum()).isEqualTo(5);
+            assertThat(workbook.getSheetAt(2).getRow(0).getCell(0).getStringCellValue()).isEqualTo("ID");
+            assertThat(workbook.getSheetAt(2).getRow(5).getCell(1).getStringCellValue()).isEqualTo("user-25");
+        }
+    }
+
+    @Test
+    @DisplayName("流式导出按需拉取数据源，已写出的行不再被引用")
+    void csvExportDoesNotRetainWrittenRows() {
+        List<WeakReference<TestRow>> sampled = new ArrayList<>();
+        AtomicLong produced = new AtomicLong();
+        List<Long> readAhead = new ArrayList<>();
+        List<Integer> retained = new ArrayList<>();
+        CountingOutputStream out = new CountingOutputStream();
+
+        long rows = csv.export(
+                ExportRowSource.stream(() -> LongStream.rangeClosed(1, 200_000).mapToObj(id -> {
+                    TestRow row = new TestRow(id, "user-" + id);
+                    produced.incrementAndGet();
+                    if (id % 1000 == 0) {
+                        sampled.add(new WeakReference<>(row));
+                    }
+                    return row;
+                })),
+                TestRow.class, out,
+                StreamingExportOptions.builder()
+                        .compression(ExportCompression.GZIP)
+                        .progressInterval(50_000)
+                        .progressListener((count, finished) -> {
+                            readAhead.add(produced.get() - count);
+                            retained.add(reachable(sampled));
+                        })
+                        .build());
+
+        assertThat(rows).isEqualTo(200_000);
+        assertThat(out.count).isPositive();
+        assertThat(readAhead).containsOnly(0L);
+        // 回调时只有正在写出的当前行仍被引用
+        assertThat(retained).hasSize(5).allMatch(count -> count <= 1);
+    }
+
+    @Test
+    @DisplayName("异步流式导出写入临时文件并更新进度")
+    void asyncExportWritesTempFile() throws Exception {
+        Path tempDir = Files.createTempDirectory("export-test-");
+        ExportManager manager = new ExportManager(List.of(), List.of(csv));
+        try (AsyncExportService service = new AsyncExportService(manager, 1, 24, tempDir)) {
+            String taskId = service.exportToFileAsync(ExportRowSource.of(rows(100)), TestRow.class,
+                    ExportFormat.CSV, StreamingExportOptions.builder().progressInterval(10).build());
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (service.getExportStatus(taskId).getStatus() != ExportTaskStatus.Status.COMPLETED
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            ExportTaskStatus status = service.getExportStatus(taskId);
+            assertThat(status.getStatus()).isEqualTo(ExportTaskStatus.Status.COMPLETED);
+            assertThat(status.getProcessedRows()).isEqualTo(100);
+            ExportResult result = service.getExportResult(taskId);
+            assertThat(result.getFileName()).isEqualTo("TestRow.csv");
+            assertThat(result.getFile()).startsWith(tempDir);
+            assertThat(Files.readAllLines(result.getFile())).hasSize(101);
+        }
+    }
+
+    private static List<TestRow> rows(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> new TestRow(i, "user-" + i)).toList();
+    }
+
+    public static class TestRow {
+        @ExportField(label = "ID", order = 1)
+        private long id;
+
+        @ExportField(label = "Name", order = 2)
+        private String name;
+
+        public TestRow() {}
+
+        public TestRow(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    /**
+     * 触发 GC 直到采样行中最多剩一个可达（或重试次数用尽），返回仍可达的行数
+     */
+    private static int reachable(List<WeakReference<TestRow>> refs) {
+        int count = Integer.MAX_VALUE;
+        for (int attempt = 0; attempt < 10 && count > 1; attempt++) {
+            System.gc();
+            count = (int) refs.stream().filter(ref -> ref.get() != null).count();
+        }
+        return count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    private static final class ClosableBuffer extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.basebackend.common.export;
+
+import com.basebackend.common.export.impl.CsvImportService;
+import com.basebackend.common.export.impl.CsvStreamingExportService;
+import com.basebackend.common.export.impl.CsvStreamingImportReader;
+import com.basebackend.common.export.impl.EasyExcelImportService;
+import com.basebackend.common.export.impl.EasyExcelStreamingExportService;
+import com.basebackend.common.export.impl.EasyExcelStreamingImportReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+/**
+ * 100 万行文件导入基准测试
+ * <p>
+ * {@code list} 为原有方式：{@link ImportService} 解析成完整列表后逐行校验、按 1000 行分批写入；
+ * {@code pipeline} 为 {@link StreamingImportService}：解析、并行校验、分批写入流水线执行。
+ * 写入目标只消费数据，测的是解析与校验部分；两者的堆占用差异可加 {@code -prof gc} 观察。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class StreamingImportBenchmark {
+
+    private static final long ROWS = 1_000_000;
+    private static final int CHUNK_SIZE = 1000;
+    private static final Pattern NAME = Pattern.compile("user-\\d+");
+
+    @Param({"CSV", "XLSX"})
+    private ExportFormat format;
+
+    @Param({"list", "pipeline"})
+    private String implementation;
+
+    private Path file;
+    private ImportService importService;
+    private StreamingImportService streamingImportService;
+
+    @Setup
+    public void setup() throws IOException {
+        StreamingExportService exporter = format == ExportFormat.CSV
+                ? new CsvStreamingExportService() : new EasyExcelStreamingExportService();
+        file = Files.createTempFile("import-benchmark-", exporter.fileExtension());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            exporter.export(ExportRowSource.stream(() -> LongStream.rangeClosed(1, ROWS)
+                            .mapToObj(id -> new ImportTestRow(id, "user-" + id))),
+                    ImportTestRow.class, out, StreamingExportOptions.defaults());
+        }
+        importService = format == ExportFormat.CSV ? new CsvImportService() : new EasyExcelImportService();
+        streamingImportService = new StreamingImportService(
+                List.of(new CsvStreamingImportReader(), new EasyExcelStreamingImportReader()), 0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        streamingImportService.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long importFile(Blackhole blackhole) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            if ("list".equals(implementation)) {
+                ImportResult<ImportTestRow> result = importService.importData(input, ImportTestRow.class);
+                List<ImportTestRow> data = result.getData().stream().filter(row -> validate(row).isEmpty()).toList();
+                for (int from = 0; from < data.size(); from += CHUNK_SIZE) {
+                    blackhole.consume(data.subList(from, Math.min(from + CHUNK_SIZE, data.size())));
+                }
+                return data.size();
+            }
+            ImportResult<ImportTestRow> result = streamingImportService.importData(input, ImportTestRow.class, format,
+                    blackhole::consume,
+                    StreamingImportOptions.<ImportTestRow>builder()
+                            .chunkSize(CHUNK_SIZE)
+                            .validator(StreamingImportBenchmark::validate)
+                            .build());
+            return result.getSuccessRows();
+        }
+    }
+
+    private static List<String> validate(ImportTestRow row) {
+        return row.getId() > 0 && NAME.matcher(row.getName()).matches() ? List.of() : List.of("invalid row");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StreamingImportBenchmark.class.getSimpleName()).build()).run();
+    }
+}
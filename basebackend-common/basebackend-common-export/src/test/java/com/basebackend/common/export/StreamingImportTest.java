@@ -0,0 +1,148 @@
+package com.basebackend.common.export;
+
+import com.basebackend.common.export.impl.CsvStreamingImportReader;
+import com.basebackend.common.export.impl.EasyExcelStreamingExportService;
+import com.basebackend.common.export.impl.EasyExcelStreamingImportReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 流水线导入单元测试
+ */
+class StreamingImportTest {
+
+    private final StreamingImportService service = new StreamingImportService(
+            List.of(new CsvStreamingImportReader(), new EasyExcelStreamingImportReader()), 4);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("按分块顺序批量写入，解析和校验失败的行写入错误报告")
+    void csvImportWritesChunksInOrderAndReportsErrors() throws IOException {
+        List<List<ImportTestRow>> batches = new ArrayList<>();
+        Path report = tempDir.resolve("errors.csv");
+
+        ImportResult<ImportTestRow> result = service.importData(csv(2500), ImportTestRow.class, ExportFormat.CSV,
+                batches::add,
+                StreamingImportOptions.<ImportTestRow>builder()
+                        .chunkSize(1000)
+                        .validator(row -> row.getId() % 250 == 0 ? List.of("id \"" + row.getId() + "\" rejected") : List.of())
+                        .errorReport(report)
+                        .build());
+
+        // 第 7、107、...、2407 行解析失败（25 行），250 的倍数校验失败（10 行）
+        assertThat(result.getTotalRows()).isEqualTo(2500);
+        assertThat(result.getFailedRows()).isEqualTo(35);
+        assertThat(result.getSuccessRows()).isEqualTo(2465);
+        assertThat(result.getData()).isNull();
+        assertThat(result.getErrors()).first().asString().startsWith("Row 7: ");
+        assertThat(batches).hasSize(3);
+        List<Long> ids = batches.stream().flatMap(List::stream).map(ImportTestRow::getId).toList();
+        assertThat(ids).hasSize(2465).isSorted();
+
+        List<String> lines = Files.readAllLines(report);
+        assertThat(lines).hasSize(36);
+        assertThat(lines.get(0)).isEqualTo("row,error");
+        assertThat(lines).contains("250,\"id \"\"250\"\" rejected\"");
+    }
+
+    @Test
+    @DisplayName("写入失败后以相同 jobId 重新导入，从断点继续；导入成功后删除断点")
+    void resumesFromCheckpointAfterSinkFailure() throws IOException {
+        ImportCheckpointStore checkpoints = ImportCheckpointStore.directory(tempDir.resolve("checkpoints"));
+        Path report = tempDir.resolve("errors.csv");
+        StreamingImportOptions<ImportTestRow> options = StreamingImportOptions.<ImportTestRow>builder()
+                .chunkSize(1000)
+                .jobId("job-1")
+                .checkpointStore(checkpoints)
+                .errorReport(report)
+                .build();
+
+        List<ImportTestRow> written = new ArrayList<>();
+        assertThatThrownBy(() -> service.importData(csv(2500), ImportTestRow.class, ExportFormat.CSV, rows -> {
+            if (!written.isEmpty()) {
+                throw new IllegalStateException("database unavailable");
+            }
+            written.addAll(rows);
+        }, options))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("after row 1000")
+                .hasRootCauseMessage("database unavailable");
+        assertThat(checkpoints.load("job-1")).isEqualTo(1000);
+
+        ImportResult<ImportTestRow> result = service.importData(csv(2500), ImportTestRow.class, ExportFormat.CSV,
+                written::addAll, options);
+
+        assertThat(result.getSkippedRows()).isEqualTo(1000);
+        assertThat(result.getTotalRows()).isEqualTo(1500);
+        assertThat(written).extracting(ImportTestRow::getId).doesNotHaveDuplicates().hasSize(2475);
+        assertThat(checkpoints.load("job-1")).isZero();
+        // 续传追加错误报告，表头只写一次
+        assertThat(Files.readAllLines(report)).hasSize(26).filteredOn("row,error"::equals).hasSize(1);
+
+        // 断点已删除，相同 jobId 再次导入从头开始
+        ImportResult<ImportTestRow> again = service.importData(csv(2500), ImportTestRow.class, ExportFormat.CSV,
+                rows -> { }, options);
+        assertThat(again.getSkippedRows()).isZero();
+        assertThat(again.getTotalRows()).isEqualTo(2500);
+    }
+
+    @Test
+    @DisplayName("Excel 读取全部工作表，行号跨工作表连续")
+    void excelImportReadsAllSheets() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new EasyExcelStreamingExportService().export(ExportRowSource.of(rows(25)), ImportTestRow.class, out,
+                StreamingExportOptions.builder().maxRowsPerSheet(10).build());
+        List<Long> progress = new ArrayList<>();
+        List<ImportTestRow> written = new ArrayList<>();
+
+        ImportResult<ImportTestRow> result = service.importData(new ByteArrayInputStream(out.toByteArray()),
+                ImportTestRow.class, ExportFormat.XLSX, written::addAll,
+                StreamingImportOptions.<ImportTestRow>builder()
+                        .chunkSize(10)
+                        .progressListener((rows, finished) -> progress.add(rows))
+                        .build());
+
+        assertThat(result.getTotalRows()).isEqualTo(25);
+        assertThat(written).extracting(ImportTestRow::getId).containsExactlyElementsOf(
+                IntStream.rangeClosed(1, 25).mapToObj(Long::valueOf).toList());
+        assertThat(written.get(24).getName()).isEqualTo("user-25");
+        assertThat(progress).containsExactly(10L, 20L, 25L, 25L);
+    }
+
+    /**
+     * 第 7、107、207... 行的 ID 不是数字
+     */
+    private static ByteArrayInputStream csv(int rows) {
+        StringBuilder sb = new StringBuilder("ID,Name\r\n");
+        for (int i = 1; i <= rows; i++) {
+            sb.append(i % 100 == 7 ? "x" + i : String.valueOf(i)).append(",user-").append(i).append("\r\n");
+        }
+        return new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<ImportTestRow> rows(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> new ImportTestRow(i, "user-" + i)).toList();
+    }
+}
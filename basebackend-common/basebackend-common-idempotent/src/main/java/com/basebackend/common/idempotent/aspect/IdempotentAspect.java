@@ -1,6 +1,7 @@
 package com.basebackend.common.idempotent.aspect;
 
 import com.basebackend.common.context.UserContextHolder;
+import com.basebackend.common.expression.MethodExpressionEvaluator;
 import com.basebackend.common.idempotent.annotation.Idempotent;
 import com.basebackend.common.idempotent.config.IdempotentProperties;
 import com.basebackend.common.idempotent.enums.IdempotentStrategy;
@@ -15,10 +16,6 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
-import org.springframework.core.DefaultParameterNameDiscoverer;
-import org.springframework.core.ParameterNameDiscoverer;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -46,8 +43,7 @@ public class IdempotentAspect {
     private final IdempotentProperties properties;
     private final IdempotentTokenService idempotentTokenService;
 
-    private static final ExpressionParser PARSER = new SpelExpressionParser();
-    private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+    private static final MethodExpressionEvaluator EVALUATOR = MethodExpressionEvaluator.shared();
     private static final String IDEMPOTENT_KEY_PREFIX = "idempotent:";
 
     @Around("@annotation(idempotent)")
@@ -119,11 +115,11 @@ public class IdempotentAspect {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
 
-        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
-                joinPoint.getTarget(), method, joinPoint.getArgs(), NAME_DISCOVERER
+        MethodBasedEvaluationContext context = EVALUATOR.createContext(
+                joinPoint.getTarget(), method, joinPoint.getArgs()
         );
 
-        Object value = PARSER.parseExpression(spelExpression).getValue(context);
+        Object value = EVALUATOR.getValue(spelExpression, method, context);
         return IDEMPOTENT_KEY_PREFIX + "spel:" + (value != null ? value.toString() : "null");
     }
 
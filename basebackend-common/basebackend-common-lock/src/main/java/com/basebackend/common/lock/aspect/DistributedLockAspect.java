@@ -1,5 +1,6 @@
 package com.basebackend.common.lock.aspect;
 
+import com.basebackend.common.expression.MethodExpressionEvaluator;
 import com.basebackend.common.lock.annotation.DistributedLock;
 import com.basebackend.common.lock.exception.LockAcquisitionException;
 import com.basebackend.common.lock.config.LockProperties;
@@ -11,10 +12,6 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
-import org.springframework.core.DefaultParameterNameDiscoverer;
-import org.springframework.core.ParameterNameDiscoverer;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 import java.lang.reflect.Method;
 
@@ -36,8 +33,7 @@ public class DistributedLockAspect {
     private final DistributedLockProvider lockProvider;
     private final LockProperties lockProperties;
 
-    private static final ExpressionParser PARSER = new SpelExpressionParser();
-    private static final ParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+    private static final MethodExpressionEvaluator EVALUATOR = MethodExpressionEvaluator.shared();
 
     @Around("@annotation(distributedLock)")
     public Object around(ProceedingJoinPoint joinPoint, DistributedLock distributedLock) throws Throwable {
@@ -89,11 +85,11 @@ public class DistributedLockAspect {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
 
-        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
-                joinPoint.getTarget(), method, joinPoint.getArgs(), NAME_DISCOVERER
+        MethodBasedEvaluationContext context = EVALUATOR.createContext(
+                joinPoint.getTarget(), method, joinPoint.getArgs()
         );
 
-        Object value = PARSER.parseExpression(spelExpression).getValue(context);
+        Object value = EVALUATOR.getValue(spelExpression, method, context);
         return value != null ? value.toString() : "null";
     }
 }
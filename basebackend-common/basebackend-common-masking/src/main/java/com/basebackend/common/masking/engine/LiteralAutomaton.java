@@ -0,0 +1,162 @@
+package com.basebackend.common.masking.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 规则字面量前缀的 Aho-Corasick 自动机
+ * <p>
+ * 输入字符统一转小写后推进。ASCII 字符走预先展开的稠密转移表（每步一次数组访问），
+ * 非 ASCII 字符走 goto/fail 链。每个状态预先合并了 fail 链上的全部输出，命中时无需回溯。
+ */
+final class LiteralAutomaton {
+
+    private final int[][] asciiNext;
+    private final List<Map<Character, Integer>> children;
+    private final int[] fail;
+    /**
+     * 状态命中的字面量长度及对应规则位图，长度相同的规则合并；第 i 个长度的位图占 [i * words, (i + 1) * words)
+     */
+    private final int[][] outputLengths;
+    private final long[][] outputMasks;
+    private final int words;
+    private final int maxLength;
+
+    private LiteralAutomaton(int[][] asciiNext, List<Map<Character, Integer>> children, int[] fail,
+                             int[][] outputLengths, long[][] outputMasks, int words, int maxLength) {
+        this.asciiNext = asciiNext;
+        this.children = children;
+        this.fail = fail;
+        this.outputLengths = outputLengths;
+        this.outputMasks = outputMasks;
+        this.words = words;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @param literals 规则下标 -> 该规则的字面量前缀（已转小写）
+     * @param words    规则位图的 long 个数
+     */
+    static LiteralAutomaton build(Map<Integer, ? extends Iterable<String>> literals, int words) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Map<Integer, long[]>> outputs = new ArrayList<>();
+        children.add(new HashMap<>());
+        outputs.add(new HashMap<>());
+        int maxLength = 0;
+        for (Map.Entry<Integer, ? extends Iterable<String>> entry : literals.entrySet()) {
+            long[] bit = new long[words];
+            bit[entry.getKey() >>> 6] = 1L << entry.getKey();
+            for (String literal : entry.getValue()) {
+                int state = 0;
+                for (int i = 0; i < literal.length(); i++) {
+                    Integer next = children.get(state).get(literal.charAt(i));
+                    if (next == null) {
+                        next = children.size();
+                        children.add(new HashMap<>());
+                        outputs.add(new HashMap<>());
+                        children.get(state).put(literal.charAt(i), next);
+                    }
+                    state = next;
+                }
+                outputs.get(state).merge(literal.length(), bit, LiteralAutomaton::or);
+                maxLength = Math.max(maxLength, literal.length());
+            }
+        }
+
+        int size = children.size();
+        int[] fail = new int[size];
+        int[][] asciiNext = new int[size][128];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Character, Integer> edge : children.get(0).entrySet()) {
+            queue.add(edge.getValue());
+            if (edge.getKey() < 128) {
+                asciiNext[0][edge.getKey()] = edge.getValue();
+            }
+        }
+        // BFS 保证处理某状态时其 fail 状态已经展开完毕
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int failState = fail[state];
+            outputs.get(failState).forEach((length, mask) -> outputs.get(state).merge(length, mask, LiteralAutomaton::or));
+            System.arraycopy(asciiNext[failState], 0, asciiNext[state], 0, 128);
+            for (Map.Entry<Character, Integer> edge : children.get(state).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                fail[child] = state == 0 ? 0 : step(children, fail, failState, c);
+                if (c < 128) {
+                    asciiNext[state][c] = child;
+                }
+                queue.add(child);
+            }
+        }
+
+        int[][] outputLengths = new int[size][];
+        long[][] outputMasks = new long[size][];
+        for (int state = 0; state < size; state++) {
+            Map<Integer, long[]> output = outputs.get(state);
+            outputLengths[state] = output.keySet().stream().mapToInt(Integer::intValue).toArray();
+            outputMasks[state] = new long[outputLengths[state].length * words];
+            for (int i = 0; i < outputLengths[state].length; i++) {
+                System.arraycopy(output.get(outputLengths[state][i]), 0, outputMasks[state], i * words, words);
+            }
+        }
+        return new LiteralAutomaton(asciiNext, children, fail, outputLengths, outputMasks, words, maxLength);
+    }
+
+    /**
+     * 最长字面量的长度，扫描时需要按此长度延迟判定起点
+     */
+    int maxLength() {
+        return maxLength;
+    }
+
+    int next(int state, char c) {
+        if (c < 128) {
+            return asciiNext[state][c];
+        }
+        return step(children, fail, state, c);
+    }
+
+    boolean hasOutput(int state) {
+        return outputLengths[state].length > 0;
+    }
+
+    /**
+     * 把在 end 处结束的字面量按起点写入环形缓冲，每个槽位占 words 个 long
+     */
+    void collect(int state, int end, long[] pending, int ringMask) {
+        int[] lengths = outputLengths[state];
+        long[] masks = outputMasks[state];
+        for (int i = 0; i < lengths.length; i++) {
+            int slot = ((end - lengths[i] + 1) & ringMask) * words;
+            for (int w = 0, from = i * words; w < words; w++) {
+                pending[slot + w] |= masks[from + w];
+            }
+        }
+    }
+
+    private static long[] or(long[] a, long[] b) {
+        long[] merged = a.clone();
+        for (int w = 0; w < merged.length; w++) {
+            merged[w] |= b[w];
+        }
+        return merged;
+    }
+
+    private static int step(List<Map<Character, Integer>> children, int[] fail, int state, char c) {
+        while (true) {
+            Integer next = children.get(state).get(c);
+            if (next != null) {
+                return next;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = fail[state];
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.basebackend.common.masking.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 单遍多规则脱敏引擎
+ * <p>
+ * 各脱敏器原先按规则逐条 {@code replaceAll}：N 条规则扫描 N 遍，且每遍都新建字符串。本引擎把所有规则编译进
+ * 一次从左到右的扫描：
+ * <ol>
+ *     <li>构建时分析每条规则的起点特征：字面量前缀（如 {@code password|pwd}）进入 Aho-Corasick 自动机，
+ *     字符类起点（如 {@code \d}、{@code [\w.-]}）进入 128 项首字符位图表，无法分析的规则在每个位置都是候选</li>
+ *     <li>规则中必然出现的符号（如邮箱的 {@code @}）作为必需字符，输入中不存在时整条规则在本次调用中失效；
+ *     {@link String#indexOf(int)} 是向量化的内建实现，比逐位置尝试正则便宜得多</li>
+ *     <li>扫描时每个位置的候选规则 = 首字符位图 | 自动机在此处起点命中的字面量，绝大多数位置为 0，直接跳过；
+ *     字符集合规则还要求开头的连续段足够长（如手机号规则需要 11 位连续数字），日期、耗时等短数字串不会启动正则</li>
+ *     <li>只有候选位置才用规则自身的正则做锚定验证（{@link Matcher#lookingAt()}，透明边界，
+ *     {@code \b}、环视的语义与全文匹配一致）</li>
+ * </ol>
+ * 匹配语义：最左优先；同一位置按规则注册顺序取第一条匹配的规则；替换后从匹配末尾继续，替换结果不会再被其他规则处理；
+ * 空匹配忽略。单条规则时结果与 {@code Matcher.replaceAll} 完全一致。
+ * <p>
+ * 规则数不设上限：候选集合是按规则下标排列的多字位图，每 64 条规则占一个 long，按字从低到高遍历即注册顺序。
+ * 单条规则的正则或替换函数抛出异常（如回溯过深导致的 {@link StackOverflowError}）时只跳过该规则，
+ * 并在本次调用的剩余部分停用它，其余规则照常脱敏。
+ * <p>
+ * 没有任何匹配时返回原字符串实例本身，调用方可以用 {@code ==} 判断是否发生脱敏；规则不超过 64 条时不分配任何对象。
+ * 引擎不可变、线程安全，规则变更时重新构建即可。
+ */
+@Slf4j
+public final class MaskingEngine {
+
+    private static final MaskingEngine EMPTY = new MaskingEngine(new Rule[0]);
+
+    private final Rule[] rules;
+    /**
+     * 位图的 long 个数，规则 i 位于第 i / 64 个字的第 i % 64 位
+     */
+    private final int words;
+    /**
+     * 首字符位图表，字符 c 的位图占 [c * words, (c + 1) * words)
+     */
+    private final long[] asciiCandidates;
+    private final long[] nonAsciiCandidates;
+    private final LiteralAutomaton automaton;
+    private final char[] requiredChars;
+    /**
+     * 必需字符对应的规则位图，第 k 个必需字符占 [k * words, (k + 1) * words)
+     */
+    private final long[] requiredMasks;
+    private final int lag;
+    private final int ringMask;
+
+    private MaskingEngine(Rule[] rules) {
+        this.rules = rules;
+        this.words = Math.max(1, (rules.length + Long.SIZE - 1) / Long.SIZE);
+        this.asciiCandidates = new long[128 * words];
+        this.nonAsciiCandidates = new long[words];
+        Map<Integer, Set<String>> literals = new LinkedHashMap<>();
+        Map<Character, long[]> required = new LinkedHashMap<>();
+        for (int i = 0; i < rules.length; i++) {
+            int word = i / Long.SIZE;
+            long bit = 1L << i;
+            if (rules[i].requiredChar() >= 0) {
+                required.computeIfAbsent((char) rules[i].requiredChar(), c -> new long[words])[word] |= bit;
+            }
+            RulePrefix prefix = rules[i].prefix();
+            if (prefix.isLiteral()) {
+                literals.put(i, prefix.literals());
+            } else if (prefix.isAny()) {
+                for (int c = 0; c < 128; c++) {
+                    asciiCandidates[c * words + word] |= bit;
+                }
+                nonAsciiCandidates[word] |= bit;
+            } else {
+                for (char c = 0; c < 128; c++) {
+                    if (prefix.matchesAscii(c)) {
+                        asciiCandidates[c * words + word] |= bit;
+                    }
+                }
+                if (prefix.matchesNonAscii()) {
+                    nonAsciiCandidates[word] |= bit;
+                }
+            }
+        }
+        this.requiredChars = new char[required.size()];
+        this.requiredMasks = new long[required.size() * words];
+        int k = 0;
+        for (Map.Entry<Character, long[]> entry : required.entrySet()) {
+            requiredChars[k] = entry.getKey();
+            System.arraycopy(entry.getValue(), 0, requiredMasks, k++ * words, words);
+        }
+        this.automaton = literals.isEmpty() ? null : LiteralAutomaton.build(literals, words);
+        this.lag = automaton == null ? 0 : automaton.maxLength() - 1;
+        this.ringMask = lag == 0 ? 0 : Integer.highestOneBit(lag) * 2 - 1;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 不含任何规则的引擎
+     */
+    public static MaskingEngine empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * 按注册顺序返回规则名
+     */
+    public List<String> ruleNames() {
+        return Arrays.stream(rules).map(Rule::name).toList();
+    }
+
+    /**
+     * 脱敏
+     *
+     * @param input 原始文本
+     * @return 脱敏后的文本；没有任何规则命中时返回 input 本身
+     */
+    public String mask(String input) {
+        if (input == null || input.isEmpty() || rules.length == 0) {
+            return input;
+        }
+        // 第一个字的启用位单独用局部变量保存，规则不超过 64 条时不需要分配启用位图
+        long firstEnabled = -1L;
+        long[] enabled = null;
+        for (int k = 0; k < requiredChars.length; k++) {
+            if (input.indexOf(requiredChars[k]) < 0) {
+                int from = k * words;
+                firstEnabled &= ~requiredMasks[from];
+                for (int w = 1; w < words; w++) {
+                    if (requiredMasks[from + w] != 0) {
+                        enabled = enabled == null ? newEnabled() : enabled;
+                        enabled[w] &= ~requiredMasks[from + w];
+                    }
+                }
+            }
+        }
+        int length = input.length();
+        int state = 0;
+        long[] pending = null;
+        Matcher[] matchers = null;
+        StringBuilder out = null;
+        int copied = 0;
+        int resume = 0;
+
+        // 自动机在字面量末尾才报告命中，因此判定位置比扫描位置滞后 lag 个字符，保证最左优先
+        for (int i = 0, last = length + lag; i < last; i++) {
+            if (automaton != null && i < length) {
+                state = automaton.next(state, fold(input.charAt(i)));
+                if (automaton.hasOutput(state)) {
+                    if (pending == null) {
+                        pending = new long[(ringMask + 1) * words];
+                    }
+                    automaton.collect(state, i, pending, ringMask);
+                }
+            }
+            int position = i - lag;
+            if (position < 0) {
+                continue;
+            }
+            char c = input.charAt(position);
+            int base = c < 128 ? c * words : -1;
+            int slot = (position & ringMask) * words;
+            boolean matched = false;
+            // 命中后仍要走完剩余的字，清空环形缓冲中该位置的槽位
+            for (int w = 0; w < words; w++) {
+                long candidates = base >= 0 ? asciiCandidates[base + w] : nonAsciiCandidates[w];
+                if (pending != null) {
+                    candidates |= pending[slot + w];
+                    pending[slot + w] = 0;
+                }
+                candidates &= w == 0 ? firstEnabled : enabled == null ? -1L : enabled[w];
+                if (matched || candidates == 0 || position < resume) {
+                    continue;
+                }
+
+                if (matchers == null) {
+                    matchers = new Matcher[rules.length];
+                }
+                while (candidates != 0) {
+                    int index = w * Long.SIZE + Long.numberOfTrailingZeros(candidates);
+                    candidates &= candidates - 1;
+                    if (!hasRun(rules[index].prefix(), input, position)) {
+                        continue;
+                    }
+                    Matcher matcher = matchers[index];
+                    if (matcher == null) {
+                        matcher = rules[index].pattern().matcher(input)
+                                .useTransparentBounds(true)
+                                .useAnchoringBounds(false);
+                        matchers[index] = matcher;
+                    }
+                    String replacement;
+                    try {
+                        matcher.region(position, length);
+                        if (!matcher.lookingAt() || matcher.end() == position) {
+                            continue;
+                        }
+                        replacement = rules[index].replacer().replace(matcher);
+                    } catch (RuntimeException | StackOverflowError e) {
+                        // 单条规则失败不影响其他规则；本次调用内停用该规则，避免在后续位置反复失败
+                        log.warn("脱敏规则执行失败，本次已跳过: rule={}, error={}", rules[index].name(), e.toString());
+                        if (w == 0) {
+                            firstEnabled &= ~(1L << index);
+                        } else {
+                            enabled = enabled == null ? newEnabled() : enabled;
+                            enabled[w] &= ~(1L << index);
+                        }
+                        continue;
+                    }
+                    if (replacement != null) {
+                        if (out == null) {
+                            out = new StringBuilder(length + 16);
+                        }
+                        out.append(input, copied, position).append(replacement);
+                        copied = matcher.end();
+                    }
+                    resume = matcher.end();
+                    matched = true;
+                    break;
+                }
+            }
+        }
+        if (out == null) {
+            return input;
+        }
+        return out.append(input, copied, length).toString();
+    }
+
+    private long[] newEnabled() {
+        long[] enabled = new long[words];
+        Arrays.fill(enabled, -1L);
+        return enabled;
+    }
+
+    /**
+     * 从 position 开始是否有足够长的、落在规则首字符集合内的连续段
+     */
+    private static boolean hasRun(RulePrefix prefix, String input, int position) {
+        int run = prefix.minRun();
+        if (run <= 1) {
+            return true;
+        }
+        if (position + run > input.length()) {
+            return false;
+        }
+        for (int i = position + 1, end = position + run; i < end; i++) {
+            char c = input.charAt(i);
+            if (c < 128 ? !prefix.matchesAscii(c) : !prefix.matchesNonAscii()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private record Rule(String name, Pattern pattern, MatchReplacer replacer, RulePrefix prefix, int requiredChar) {
+    }
+
+    public static final class Builder {
+
+        private final List<Rule> rules = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 注册规则，先注册的规则在同一起点上优先
+         *
+         * @throws IllegalArgumentException 替换模板引用了不存在的分组
+         */
+        public Builder rule(String name, Pattern pattern, MatchReplacer replacer) {
+            if (replacer instanceof MatchReplacer.Template template
+                    && template.maxGroup() > pattern.matcher("").groupCount()) {
+                throw new IllegalArgumentException("替换模板引用了不存在的分组: rule=" + name);
+            }
+            rules.add(new Rule(name, pattern, replacer, RulePrefix.of(pattern), RulePrefix.requiredChar(pattern)));
+            return this;
+        }
+
+        public MaskingEngine build() {
+            return rules.isEmpty() ? EMPTY : new MaskingEngine(rules.toArray(Rule[]::new));
+        }
+    }
+}
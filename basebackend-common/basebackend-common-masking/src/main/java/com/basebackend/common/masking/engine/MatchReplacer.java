@@ -0,0 +1,111 @@
+package com.basebackend.common.masking.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+
+/**
+ * 匹配结果替换函数
+ * <p>
+ * 传入的 {@link MatchResult} 是引擎内部复用的 Matcher，只能在回调内读取，不要保存引用。
+ * 返回 null 表示保留原文。
+ */
+@FunctionalInterface
+public interface MatchReplacer {
+
+    String replace(MatchResult match);
+
+    /**
+     * 固定文本替换
+     */
+    static MatchReplacer constant(String text) {
+        return match -> text;
+    }
+
+    /**
+     * {@code $1****$2} 形式的替换模板，语义与 {@link java.util.regex.Matcher#replaceAll(String)} 相同：
+     * {@code $0}~{@code $9} 引用分组（未参与匹配的分组替换为空串），{@code \} 转义下一个字符。
+     * 模板在创建时解析一次，替换时不再扫描模板。
+     */
+    static MatchReplacer template(String template) {
+        return Template.parse(template);
+    }
+
+    /**
+     * 预解析的替换模板
+     */
+    final class Template implements MatchReplacer {
+
+        private final String[] literals;
+        private final int[] groups;
+        private final int maxGroup;
+
+        private Template(String[] literals, int[] groups, int maxGroup) {
+            this.literals = literals;
+            this.groups = groups;
+            this.maxGroup = maxGroup;
+        }
+
+        static Template parse(String template) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> groups = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int maxGroup = 0;
+            int i = 0;
+            while (i < template.length()) {
+                char c = template.charAt(i);
+                if (c == '\\') {
+                    if (i + 1 >= template.length()) {
+                        throw new IllegalArgumentException("替换模板以转义符结尾: " + template);
+                    }
+                    literal.append(template.charAt(i + 1));
+                    i += 2;
+                } else if (c == '$') {
+                    int j = i + 1;
+                    if (j >= template.length() || !isDigit(template.charAt(j))) {
+                        throw new IllegalArgumentException("替换模板仅支持 $0-$9 分组引用: " + template);
+                    }
+                    int group = template.charAt(j++) - '0';
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    groups.add(group);
+                    maxGroup = Math.max(maxGroup, group);
+                    i = j;
+                } else {
+                    literal.append(c);
+                    i++;
+                }
+            }
+            literals.add(literal.toString());
+            return new Template(literals.toArray(String[]::new),
+                    groups.stream().mapToInt(Integer::intValue).toArray(), maxGroup);
+        }
+
+        /**
+         * 模板引用的最大分组号
+         */
+        public int maxGroup() {
+            return maxGroup;
+        }
+
+        @Override
+        public String replace(MatchResult match) {
+            if (groups.length == 0) {
+                return literals[0];
+            }
+            StringBuilder sb = new StringBuilder(32);
+            for (int i = 0; i < groups.length; i++) {
+                sb.append(literals[i]);
+                String value = match.group(groups[i]);
+                if (value != null) {
+                    sb.append(value);
+                }
+            }
+            return sb.append(literals[groups.length]).toString();
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+    }
+}
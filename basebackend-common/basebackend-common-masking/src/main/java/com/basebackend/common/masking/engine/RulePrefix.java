@@ -0,0 +1,624 @@
+package com.basebackend.common.masking.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 规则的匹配起点特征，由正则源码静态分析得到
+ * <p>
+ * 三种形态：
+ * <ul>
+ *     <li>字面量前缀：所有匹配都以其中某个字面量开头（已转小写），交给 Aho-Corasick 自动机定位</li>
+ *     <li>首字符集合：所有匹配的第一个字符都在集合内，如 {@code \d}、{@code [\w.-]}</li>
+ *     <li>{@link #ANY}：无法分析，每个位置都要验证</li>
+ * </ul>
+ * 首字符集合还记录"最短连续段"：匹配开头至少有多少个字符都落在该集合内，例如 {@code (\d{3})\d{4}(\d{4})} 为 11。
+ * 扫描时先检查连续段长度，不够的位置不必启动正则。
+ * <p>
+ * 分析只求"不漏"：结果允许比真实起点宽（例如字面量总是按忽略大小写处理），最终以正则验证为准。
+ */
+final class RulePrefix {
+
+    static final RulePrefix ANY = new RulePrefix(null, null, true, 1, false);
+
+    /**
+     * 字面量前缀的最大长度，更长的字面量截断为前缀（仍然是匹配的必要条件）
+     */
+    static final int MAX_LITERAL_LENGTH = 16;
+
+    private static final int UNSUPPORTED_FLAGS = Pattern.COMMENTS | Pattern.LITERAL | Pattern.CANON_EQ
+            | Pattern.UNICODE_CHARACTER_CLASS;
+
+    private final Set<String> literals;
+    private final boolean[] ascii;
+    private final boolean nonAscii;
+    private final int minRun;
+    /**
+     * 整个（子）表达式匹配的每个字符都落在集合内，可以与后续同集合原子拼接连续段
+     */
+    private final boolean pure;
+
+    private RulePrefix(Set<String> literals, boolean[] ascii, boolean nonAscii, int minRun, boolean pure) {
+        this.literals = literals;
+        this.ascii = ascii;
+        this.nonAscii = nonAscii;
+        this.minRun = minRun;
+        this.pure = pure;
+    }
+
+    static RulePrefix of(Pattern pattern) {
+        if ((pattern.flags() & UNSUPPORTED_FLAGS) != 0) {
+            return ANY;
+        }
+        try {
+            Parser parser = new Parser(pattern.pattern(), (pattern.flags() & Pattern.CASE_INSENSITIVE) != 0);
+            RulePrefix prefix = parser.alternation();
+            if (parser.pos != parser.source.length()) {
+                return ANY;
+            }
+            return prefix;
+        } catch (RuntimeException e) {
+            // 不认识的语法一律退化为逐位置验证
+            return ANY;
+        }
+    }
+
+    /**
+     * 规则匹配必然包含的字符：顶层（无分支）序列中第一个必须出现的非字母数字字面量，如邮箱规则的 {@code @}。
+     * 输入中不含该字符时整条规则不可能命中
+     *
+     * @return 必需字符，没有时返回 -1
+     */
+    static int requiredChar(Pattern pattern) {
+        if ((pattern.flags() & UNSUPPORTED_FLAGS) != 0) {
+            return -1;
+        }
+        try {
+            Parser parser = new Parser(pattern.pattern(), (pattern.flags() & Pattern.CASE_INSENSITIVE) != 0);
+            parser.alternation();
+            return parser.pos == parser.source.length() ? parser.requiredChar : -1;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    boolean isAny() {
+        return literals == null && ascii == null;
+    }
+
+    boolean isLiteral() {
+        return literals != null;
+    }
+
+    Set<String> literals() {
+        return literals;
+    }
+
+    boolean matchesAscii(char c) {
+        return ascii[c];
+    }
+
+    boolean matchesNonAscii() {
+        return nonAscii;
+    }
+
+    /**
+     * 匹配开头至少有多少个字符落在首字符集合内（仅首字符集合形态有意义）
+     */
+    int minRun() {
+        return minRun;
+    }
+
+    private static RulePrefix literal(String literal) {
+        return new RulePrefix(Set.of(literal), null, false, 1, false);
+    }
+
+    private static RulePrefix chars(boolean[] ascii, boolean nonAscii) {
+        return new RulePrefix(null, ascii, nonAscii, 1, true);
+    }
+
+    private RulePrefix withRun(int minRun, boolean pure) {
+        return new RulePrefix(null, ascii, nonAscii, minRun, pure);
+    }
+
+    private boolean isCharSet() {
+        return ascii != null;
+    }
+
+    /**
+     * other 的字符都落在本集合内
+     */
+    private boolean contains(RulePrefix other) {
+        if (other.nonAscii && !nonAscii) {
+            return false;
+        }
+        for (int c = 0; c < 128; c++) {
+            if (other.ascii[c] && !ascii[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 字面量字符（含其大小写形式）落在本集合内
+     */
+    private boolean contains(char c) {
+        if (c >= 128) {
+            return nonAscii;
+        }
+        return ascii[Character.toLowerCase(c)] && ascii[Character.toUpperCase(c)];
+    }
+
+    /**
+     * 合并分支：任一分支无法分析则整体无法分析；全是字面量则合并字面量；否则退化为首字符集合
+     */
+    private static RulePrefix union(List<RulePrefix> branches) {
+        if (branches.size() == 1) {
+            return branches.get(0);
+        }
+        boolean allLiteral = true;
+        for (RulePrefix branch : branches) {
+            if (branch.isAny()) {
+                return ANY;
+            }
+            allLiteral &= branch.isLiteral();
+        }
+        if (allLiteral) {
+            Set<String> literals = new LinkedHashSet<>();
+            branches.forEach(branch -> literals.addAll(branch.literals));
+            return new RulePrefix(Set.copyOf(literals), null, false, 1, false);
+        }
+        boolean[] ascii = new boolean[128];
+        boolean nonAscii = false;
+        for (RulePrefix branch : branches) {
+            if (branch.isLiteral()) {
+                for (String literal : branch.literals) {
+                    nonAscii |= addFolded(ascii, literal.charAt(0));
+                }
+            } else {
+                for (int c = 0; c < 128; c++) {
+                    ascii[c] |= branch.ascii[c];
+                }
+                nonAscii |= branch.nonAscii;
+            }
+        }
+        return new RulePrefix(null, ascii, nonAscii, 1, false);
+    }
+
+    /**
+     * 加入字符的大小写形式，返回是否为非 ASCII 字符
+     */
+    private static boolean addFolded(boolean[] ascii, char c) {
+        if (c >= 128) {
+            return true;
+        }
+        ascii[Character.toLowerCase(c)] = true;
+        ascii[Character.toUpperCase(c)] = true;
+        return false;
+    }
+
+    /**
+     * 只解析到能确定起点特征为止的简化正则语法分析器，其余部分仅做结构性跳过
+     */
+    private static final class Parser {
+
+        private static final boolean[] DIGIT = range('0', '9');
+        private static final boolean[] WORD = word();
+        private static final boolean[] SPACE = spaces();
+
+        private final String source;
+        private boolean caseInsensitive;
+        private int pos;
+        private int depth;
+        private int requiredChar = -1;
+
+        Parser(String source, boolean caseInsensitive) {
+            this.source = source;
+            this.caseInsensitive = caseInsensitive;
+        }
+
+        RulePrefix alternation() {
+            List<RulePrefix> branches = new ArrayList<>();
+            branches.add(sequence());
+            while (pos < source.length() && source.charAt(pos) == '|') {
+                if (depth == 0) {
+                    // 顶层有分支时，单个分支的必需字符不再是整条规则的必需字符
+                    requiredChar = -2;
+                }
+                pos++;
+                branches.add(sequence());
+            }
+            if (depth == 0 && requiredChar == -2) {
+                requiredChar = -1;
+            }
+            return union(branches);
+        }
+
+        /**
+         * 解析一个分支：累积开头的字面量，或以第一个字符集合原子为起点累计连续段；确定后剩余原子只跳过
+         */
+        private RulePrefix sequence() {
+            StringBuilder literal = new StringBuilder();
+            RulePrefix result = null;
+            boolean done = false;
+            int run = 0;
+            boolean running = false;
+            while (pos < source.length() && source.charAt(pos) != '|' && source.charAt(pos) != ')') {
+                Atom atom = atom();
+                Quantifier quantifier = quantifier();
+                boolean optional = quantifier.min() == 0;
+                if (depth == 0 && requiredChar == -1 && atom.prefix() == null && !optional
+                        && !Character.isLetterOrDigit(atom.literal())) {
+                    requiredChar = atom.literal();
+                }
+                if (atom.zeroWidth()) {
+                    continue;
+                }
+                if (running) {
+                    // 后续原子的字符仍在首字符集合内时延长连续段
+                    if (optional) {
+                        running = false;
+                    } else if (atom.prefix() == null ? result.contains(atom.literal())
+                            : atom.prefix().isCharSet() && result.contains(atom.prefix())) {
+                        RulePrefix prefix = atom.prefix();
+                        run += (prefix == null ? 1 : prefix.minRun) * quantifier.min();
+                        running = prefix == null || prefix.pure;
+                    } else {
+                        running = false;
+                    }
+                    continue;
+                }
+                if (done) {
+                    continue;
+                }
+                if (atom.prefix() == null && literal.length() < MAX_LITERAL_LENGTH) {
+                    if (optional) {
+                        done = true;
+                    } else {
+                        literal.append(Character.toLowerCase(atom.literal()));
+                        // a+ / a{2,} 只能确定第一个 a
+                        done = !quantifier.once();
+                    }
+                    continue;
+                }
+                done = true;
+                if (literal.isEmpty()) {
+                    result = optional ? ANY : atom.prefix();
+                    if (result.isCharSet()) {
+                        run = result.pure ? result.minRun * quantifier.min() : result.minRun;
+                        running = result.pure;
+                    }
+                }
+            }
+            if (!literal.isEmpty()) {
+                return literal(literal.toString());
+            }
+            if (result == null) {
+                return ANY;
+            }
+            return result.isCharSet() ? result.withRun(run, running) : result;
+        }
+
+        private Atom atom() {
+            char c = source.charAt(pos++);
+            return switch (c) {
+                case '^', '$' -> Atom.ZERO_WIDTH;
+                case '.' -> Atom.of(ANY);
+                case '[' -> Atom.of(charClass());
+                case '(' -> group();
+                case '\\' -> escape();
+                case '*', '+', '?', '{' -> throw new IllegalArgumentException("dangling quantifier");
+                default -> Atom.literal(c);
+            };
+        }
+
+        private Atom group() {
+            boolean zeroWidth = false;
+            if (source.startsWith("?", pos)) {
+                pos++;
+                char c = source.charAt(pos);
+                if (c == ':' || c == '>') {
+                    pos++;
+                } else if (c == '=' || c == '!') {
+                    pos++;
+                    zeroWidth = true;
+                } else if (c == '<') {
+                    pos++;
+                    char next = source.charAt(pos);
+                    if (next == '=' || next == '!') {
+                        pos++;
+                        zeroWidth = true;
+                    } else {
+                        while (source.charAt(pos) != '>') {
+                            pos++;
+                        }
+                        pos++;
+                    }
+                } else {
+                    // 内联标志 (?i) / (?i:...)
+                    while (source.charAt(pos) != ')' && source.charAt(pos) != ':') {
+                        char flag = source.charAt(pos++);
+                        if (flag == 'x' || flag == 'U') {
+                            throw new IllegalArgumentException("unsupported inline flag");
+                        }
+                        if (flag == 'i') {
+                            caseInsensitive = true;
+                        }
+                    }
+                    if (source.charAt(pos++) == ')') {
+                        return Atom.ZERO_WIDTH;
+                    }
+                }
+            }
+            depth++;
+            RulePrefix inner = alternation();
+            depth--;
+            expect(')');
+            return zeroWidth ? Atom.ZERO_WIDTH : Atom.of(inner);
+        }
+
+        private Atom escape() {
+            char c = source.charAt(pos++);
+            switch (c) {
+                case 'd':
+                    return Atom.of(chars(fold(DIGIT), false));
+                case 'w':
+                    return Atom.of(chars(fold(WORD), false));
+                case 's':
+                    return Atom.of(chars(fold(SPACE), false));
+                case 'b':
+                case 'B':
+                case 'A':
+                case 'G':
+                case 'z':
+                case 'Z':
+                    return Atom.ZERO_WIDTH;
+                case 't':
+                    return Atom.literal('\t');
+                case 'n':
+                    return Atom.literal('\n');
+                case 'r':
+                    return Atom.literal('\r');
+                case 'f':
+                    return Atom.literal('\f');
+                case 'e':
+                    return Atom.literal('\u001B');
+                case 'a':
+                    return Atom.literal('\u0007');
+                default:
+                    if (Character.isLetterOrDigit(c)) {
+                        skipEscapeBody(c);
+                        return Atom.of(ANY);
+                    }
+                    return Atom.literal(c);
+            }
+        }
+
+        /**
+         * 跳过 \p{..}、\x{..}、\Q..\E 等变长转义的剩余部分
+         */
+        private void skipEscapeBody(char c) {
+            switch (c) {
+                case 'p', 'P', 'x', 'N' -> {
+                    if (source.startsWith("{", pos)) {
+                        pos = source.indexOf('}', pos) + 1;
+                        if (pos == 0) {
+                            throw new IllegalArgumentException("unterminated escape");
+                        }
+                    } else {
+                        pos += c == 'x' ? 2 : 1;
+                    }
+                }
+                case 'u' -> pos += 4;
+                case 'c' -> pos += 1;
+                case 'k' -> pos = source.indexOf('>', pos) + 1;
+                case 'Q' -> {
+                    int end = source.indexOf("\\E", pos);
+                    pos = end < 0 ? source.length() : end + 2;
+                }
+                case '0' -> {
+                    int digits = 0;
+                    while (digits < 3 && pos < source.length() && source.charAt(pos) >= '0' && source.charAt(pos) <= '7') {
+                        pos++;
+                        digits++;
+                    }
+                }
+                default -> {
+                    // 反向引用 \1..\99 及 \D \W \S \h \R 等单字符转义
+                    while (Character.isDigit(c) && pos < source.length() && Character.isDigit(source.charAt(pos))) {
+                        pos++;
+                    }
+                }
+            }
+        }
+
+        /**
+         * 解析字符类，返回首字符集合；取反、交集、属性类等一律视为无法分析
+         */
+        private RulePrefix charClass() {
+            boolean[] set = new boolean[128];
+            boolean nonAscii = false;
+            boolean any = false;
+            if (source.startsWith("^", pos)) {
+                pos++;
+                any = true;
+            }
+            boolean first = true;
+            while (true) {
+                char c = source.charAt(pos++);
+                if (c == ']' && !first) {
+                    break;
+                }
+                first = false;
+                if (c == '[') {
+                    RulePrefix nested = charClass();
+                    if (nested.isAny()) {
+                        any = true;
+                    } else {
+                        for (int i = 0; i < 128; i++) {
+                            set[i] |= nested.ascii[i];
+                        }
+                        nonAscii |= nested.nonAscii;
+                    }
+                    continue;
+                }
+                if (c == '&' && source.startsWith("&", pos)) {
+                    any = true;
+                    continue;
+                }
+                int low;
+                if (c == '\\') {
+                    char e = source.charAt(pos++);
+                    boolean[] predefined = switch (e) {
+                        case 'd' -> DIGIT;
+                        case 'w' -> WORD;
+                        case 's' -> SPACE;
+                        default -> null;
+                    };
+                    if (predefined != null) {
+                        for (int i = 0; i < 128; i++) {
+                            set[i] |= predefined[i];
+                        }
+                        continue;
+                    }
+                    low = switch (e) {
+                        case 't' -> '\t';
+                        case 'n' -> '\n';
+                        case 'r' -> '\r';
+                        case 'f' -> '\f';
+                        default -> Character.isLetterOrDigit(e) ? -1 : e;
+                    };
+                    if (low < 0) {
+                        skipEscapeBody(e);
+                        any = true;
+                        continue;
+                    }
+                } else {
+                    low = c;
+                }
+                int high = low;
+                if (source.startsWith("-", pos) && pos + 1 < source.length() && source.charAt(pos + 1) != ']') {
+                    pos++;
+                    char h = source.charAt(pos++);
+                    if (h == '\\' || h == '[') {
+                        throw new IllegalArgumentException("unsupported range bound");
+                    }
+                    high = h;
+                }
+                for (int i = low; i <= high; i++) {
+                    if (i < 128) {
+                        set[i] = true;
+                    } else {
+                        nonAscii = true;
+                        break;
+                    }
+                }
+            }
+            return any ? ANY : chars(fold(set), nonAscii);
+        }
+
+        /**
+         * 跳过原子后的量词（含惰性/占有后缀）
+         */
+        private Quantifier quantifier() {
+            if (pos >= source.length()) {
+                return Quantifier.ONCE;
+            }
+            char c = source.charAt(pos);
+            Quantifier quantifier;
+            if (c == '?' || c == '*') {
+                pos++;
+                quantifier = Quantifier.OPTIONAL;
+            } else if (c == '+') {
+                pos++;
+                quantifier = new Quantifier(1, false);
+            } else if (c == '{') {
+                int end = source.indexOf('}', pos);
+                String body = source.substring(pos + 1, end);
+                int comma = body.indexOf(',');
+                int min = Integer.parseInt(comma < 0 ? body : body.substring(0, comma));
+                pos = end + 1;
+                quantifier = new Quantifier(min, comma < 0 && min == 1);
+            } else {
+                return Quantifier.ONCE;
+            }
+            if (pos < source.length() && (source.charAt(pos) == '?' || source.charAt(pos) == '+')) {
+                pos++;
+            }
+            return quantifier;
+        }
+
+        private boolean[] fold(boolean[] set) {
+            if (!caseInsensitive) {
+                return set;
+            }
+            boolean[] folded = Arrays.copyOf(set, set.length);
+            for (char c = 'a'; c <= 'z'; c++) {
+                boolean either = set[c] || set[Character.toUpperCase(c)];
+                folded[c] = either;
+                folded[Character.toUpperCase(c)] = either;
+            }
+            return folded;
+        }
+
+        private void expect(char c) {
+            if (source.charAt(pos++) != c) {
+                throw new IllegalArgumentException("expected " + c);
+            }
+        }
+
+        private static boolean[] range(char from, char to) {
+            boolean[] set = new boolean[128];
+            for (char c = from; c <= to; c++) {
+                set[c] = true;
+            }
+            return set;
+        }
+
+        private static boolean[] word() {
+            boolean[] set = new boolean[128];
+            for (int c = 0; c < 128; c++) {
+                set[c] = Character.isLetterOrDigit(c) || c == '_';
+            }
+            return set;
+        }
+
+        private static boolean[] spaces() {
+            boolean[] set = new boolean[128];
+            for (char c : new char[]{' ', '\t', '\n', '\u000B', '\f', '\r'}) {
+                set[c] = true;
+            }
+            return set;
+        }
+    }
+
+    /**
+     * 量词：最少重复次数，以及是否恰好一次
+     */
+    private record Quantifier(int min, boolean once) {
+
+        static final Quantifier ONCE = new Quantifier(1, true);
+        static final Quantifier OPTIONAL = new Quantifier(0, false);
+    }
+
+    /**
+     * 解析出的原子：字面量字符（prefix 为 null）、零宽断言或带起点特征的复合原子
+     */
+    private record Atom(char literal, RulePrefix prefix, boolean zeroWidth) {
+
+        static final Atom ZERO_WIDTH = new Atom((char) 0, ANY, true);
+
+        static Atom literal(char c) {
+            return new Atom(c, null, false);
+        }
+
+        static Atom of(RulePrefix prefix) {
+            return new Atom((char) 0, prefix, false);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.basebackend.common.masking.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 日志脱敏基准
+ * <p>
+ * {@code sequential} 还原各脱敏器改造前的写法（每条规则一次 {@code replaceAll}），
+ * {@code singlePass} 为 {@link MaskingEngine}。规则取日志脱敏的五条预置规则。
+ * {@link #setUp()} 先逐条校验两种写法在样本上的输出一致，不一致直接失败，避免测出一个"更快但结果不同"的实现。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaskingEngineBenchmark {
+
+    private static final List<LegacyRule> RULES = List.of(
+            new LegacyRule("mobile", Pattern.compile("(\\d{3})\\d{4}(\\d{4})"), "$1****$2"),
+            new LegacyRule("idCard", Pattern.compile("(\\d{6})\\d{8}(\\d{4})"), "$1********$2"),
+            new LegacyRule("email", Pattern.compile("(\\w)[\\w.]*@([\\w.-]+)"), "$1***@$2"),
+            new LegacyRule("password", Pattern.compile(
+                    "(password|pwd|passwd)\\s*[:=]\\s*\"?([^\"\\s]+(?:\\s+[^\"\\s]+)*)\"?", Pattern.CASE_INSENSITIVE),
+                    "$1=******"),
+            new LegacyRule("bankCard", Pattern.compile("(\\d{4})\\d{8,12}(\\d{4})"), "$1********$2"));
+
+    /**
+     * 样本日志：clean 为绝大多数不含敏感信息的日志，sensitive 覆盖全部规则
+     */
+    private static final Map<String, String> SAMPLES = Map.of(
+            "clean", "2025-11-22 10:15:30.123 INFO [order-service,traceId=af3c,spanId=b1] "
+                    + "OrderController - query orders finished, status=PAID, page=3, size=20, cost=12ms",
+            "sensitive", "2025-11-22 10:15:30.123 INFO [user-service] UserController - 用户 13800138000 登录成功, "
+                    + "email=zhang.san@example.com, idCard=110101199001011234, password=secret123");
+
+    @Param({"clean", "sensitive"})
+    public String sample;
+
+    private final MaskingEngine engine = buildEngine();
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        for (String line : SAMPLES.values()) {
+            String expected = sequential(line);
+            String actual = engine.mask(line);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("单遍引擎与逐条替换结果不一致: expected=" + expected + ", actual=" + actual);
+            }
+        }
+        input = SAMPLES.get(sample);
+    }
+
+    @Benchmark
+    public String sequential() {
+        return sequential(input);
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return engine.mask(input);
+    }
+
+    private static String sequential(String message) {
+        String masked = message;
+        for (LegacyRule rule : RULES) {
+            masked = rule.pattern().matcher(masked).replaceAll(rule.replacement());
+        }
+        return masked;
+    }
+
+    private static MaskingEngine buildEngine() {
+        MaskingEngine.Builder builder = MaskingEngine.builder();
+        for (LegacyRule rule : RULES) {
+            builder.rule(rule.name(), rule.pattern(), MatchReplacer.template(rule.replacement()));
+        }
+        return builder.build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MaskingEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private record LegacyRule(String name, Pattern pattern, String replacement) {
+    }
+}
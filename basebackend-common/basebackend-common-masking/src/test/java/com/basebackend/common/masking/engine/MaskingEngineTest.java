@@ -0,0 +1,156 @@
+package com.basebackend.common.masking.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MaskingEngine 单遍脱敏引擎测试")
+class MaskingEngineTest {
+
+    private static final String[] FRAGMENTS = {
+            "13812345678", "110101199001011234", "6222021234567890", "user.name@example.com",
+            "password=abc def", "PWD: x1", "Token=aa", "密码：1234", "2025-11-22", " ", ",", "@", "=", "\n"
+    };
+
+    @Test
+    @DisplayName("单条规则的结果与 Matcher.replaceAll 完全一致")
+    void shouldMatchReplaceAllForSingleRule() {
+        List<Pattern> patterns = List.of(
+                Pattern.compile("(\\d{3})\\d{4}(\\d{4})"),
+                Pattern.compile("(\\w)[\\w.]*@([\\w.-]+)"),
+                Pattern.compile("(password|pwd|passwd)\\s*[:=]\\s*\"?([^\"\\s]+(?:\\s+[^\"\\s]+)*)\"?",
+                        Pattern.CASE_INSENSITIVE),
+                Pattern.compile("\\b1\\d{10}\\b"),
+                Pattern.compile("\\b\\d{6}(19|20)\\d{2}\\d{2}\\d{2}\\d{3}[0-9Xx]\\b"),
+                Pattern.compile("(?<!\\d)1[3-9]\\d{9}(?!\\d)"),
+                Pattern.compile("(?i)token=(\\w+)"),
+                Pattern.compile("密码[:：](\\S+)"),
+                Pattern.compile("[^a-z]{3}"));
+        Random random = new Random(42);
+
+        for (Pattern pattern : patterns) {
+            MaskingEngine engine = MaskingEngine.builder()
+                    .rule("rule", pattern, MatchReplacer.template("<$1>"))
+                    .build();
+            for (int i = 0; i < 2_000; i++) {
+                String input = randomInput(random);
+                String expected = pattern.matcher(input).replaceAll("<$1>");
+                assertThat(engine.mask(input)).as("pattern=%s, input=%s", pattern, input).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("没有命中时返回原字符串实例")
+    void shouldReturnSameInstanceWhenNothingMatches() {
+        MaskingEngine engine = MaskingEngine.builder()
+                .rule("mobile", Pattern.compile("1[3-9]\\d{9}"), MatchReplacer.constant("***"))
+                .rule("email", Pattern.compile("\\w+@\\w+"), MatchReplacer.constant("***"))
+                .build();
+        String input = "2025-11-22 10:15:30 query orders finished, page=3, cost=12ms";
+
+        assertThat(engine.mask(input)).isSameAs(input);
+        assertThat(engine.mask("")).isEmpty();
+        assertThat(engine.mask(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("最左匹配优先；同一起点按注册顺序优先；替换结果不再被其他规则处理")
+    void shouldApplyLeftmostThenRegistrationOrder() {
+        MaskingEngine engine = MaskingEngine.builder()
+                .rule("mobile", Pattern.compile("(\\d{3})\\d{4}(\\d{4})"), MatchReplacer.template("$1****$2"))
+                .rule("idCard", Pattern.compile("(\\d{6})\\d{8}(\\d{4})"), MatchReplacer.template("$1********$2"))
+                .rule("star", Pattern.compile("\\*+"), MatchReplacer.constant("#"))
+                .rule("user", Pattern.compile("user=\\w+"), MatchReplacer.constant("user=?"))
+                .build();
+
+        assertThat(engine.mask("user=bob id=110101199001011234 ***"))
+                .isEqualTo("user=? id=110****99001011234 #");
+    }
+
+    @Test
+    @DisplayName("字面量前缀规则按正则自身的大小写语义命中")
+    void shouldRespectCaseSensitivityOfLiteralRules() {
+        MaskingEngine engine = MaskingEngine.builder()
+                .rule("password", Pattern.compile("(password|pwd)\\s*[=:]\\s*\\S+", Pattern.CASE_INSENSITIVE),
+                        MatchReplacer.template("$1=******"))
+                .rule("token", Pattern.compile("token=\\w+"), MatchReplacer.constant("token=?"))
+                .build();
+
+        assertThat(engine.mask("PassWord = s3cret, Pwd:x, TOKEN=abc, token=abc"))
+                .isEqualTo("PassWord=****** Pwd=****** TOKEN=abc, token=?");
+    }
+
+    @Test
+    @DisplayName("替换函数返回 null 时保留原文")
+    void shouldKeepOriginalWhenReplacerReturnsNull() {
+        MaskingEngine engine = MaskingEngine.builder()
+                .rule("digits", Pattern.compile("\\d+"), match -> match.group().length() > 3 ? "#" : null)
+                .build();
+
+        assertThat(engine.mask("a12 b12345 c7")).isEqualTo("a12 b# c7");
+    }
+
+    @Test
+    @DisplayName("无效规则在构建时拒绝")
+    void shouldRejectInvalidRules() {
+        assertThatThrownBy(() -> MaskingEngine.builder()
+                .rule("mobile", Pattern.compile("\\d{11}"), MatchReplacer.template("$1****")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("超过 64 条规则时全部生效，同一起点仍按注册顺序优先")
+    void shouldApplyRulesBeyondSixtyFour() {
+        MaskingEngine.Builder builder = MaskingEngine.builder();
+        for (int i = 0; i < 150; i++) {
+            builder.rule("key" + i, Pattern.compile("key" + i + "=\\w+"), MatchReplacer.constant("key" + i + "=*"));
+        }
+        builder.rule("digits", Pattern.compile("\\d{6,}"), MatchReplacer.constant("#"))
+                .rule("email", Pattern.compile("\\w+@\\w+"), MatchReplacer.constant("@"))
+                .rule("shadowed", Pattern.compile("\\d+"), MatchReplacer.constant("never"));
+        MaskingEngine engine = builder.build();
+
+        assertThat(engine.size()).isEqualTo(153);
+        assertThat(engine.mask("key3=a key70=b key149=c id=1234567 mail=bob@example"))
+                .isEqualTo("key3=* key70=* key149=* id=# mail=@");
+        assertThat(engine.mask("key150=x id=12")).isEqualTo("keynever=x id=never");
+        assertThat(engine.mask("nothing here")).isEqualTo("nothing here");
+    }
+
+    @Test
+    @DisplayName("单条规则抛出异常时只跳过该规则，其余规则照常脱敏")
+    void shouldIsolateFailingRule() {
+        MaskingEngine engine = MaskingEngine.builder()
+                .rule("broken", Pattern.compile("\\d{11}"), match -> {
+                    throw new IllegalStateException("boom");
+                })
+                .rule("mobile", Pattern.compile("(\\d{3})\\d{4}(\\d{4})"), MatchReplacer.template("$1****$2"))
+                .rule("token", Pattern.compile("token=\\w+"), MatchReplacer.constant("token=?"))
+                .build();
+
+        assertThat(engine.mask("a=13812345678 token=abc b=13987654321"))
+                .isEqualTo("a=138****5678 token=? b=139****4321");
+    }
+
+    private static String randomInput(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int parts = random.nextInt(8);
+        for (int i = 0; i < parts; i++) {
+            if (random.nextBoolean()) {
+                sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            } else {
+                for (int j = random.nextInt(12); j > 0; j--) {
+                    sb.append((char) ('0' + random.nextInt(10)));
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -7,7 +7,7 @@ import com.basebackend.common.ratelimit.aspect.RateLimitAspect;
 import com.basebackend.common.ratelimit.impl.FixedWindowRateLimiter;
 import com.basebackend.common.ratelimit.impl.RedisSlidingWindowRateLimiter;
 import com.basebackend.common.ratelimit.impl.RedisTokenBucketRateLimiter;
-import com.basebackend.common.ratelimit.impl.SlidingWindowRateLimiter;
+import com.basebackend.common.ratelimit.impl.SlidingWindowCounterRateLimiter;
 import com.basebackend.common.ratelimit.impl.TokenBucketRateLimiter;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -39,7 +39,7 @@ public class RateLimitAutoConfiguration {
         public RateLimiterRegistry rateLimiterRegistry(RateLimitProperties properties) {
             Map<RateLimitAlgorithm, RateLimiter> limiters = new EnumMap<>(RateLimitAlgorithm.class);
             limiters.put(RateLimitAlgorithm.SLIDING_WINDOW,
-                    new SlidingWindowRateLimiter(properties.getMaxKeys(), properties.getCleanupIntervalMinutes()));
+                    new SlidingWindowCounterRateLimiter(properties.getMaxKeys(), properties.getSlidingWindowSlots()));
             limiters.put(RateLimitAlgorithm.TOKEN_BUCKET, new TokenBucketRateLimiter());
             limiters.put(RateLimitAlgorithm.FIXED_WINDOW, new FixedWindowRateLimiter());
             return new RateLimiterRegistry(properties.getAlgorithm(), limiters);
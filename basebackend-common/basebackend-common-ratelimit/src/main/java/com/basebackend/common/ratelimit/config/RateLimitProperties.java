@@ -27,10 +27,16 @@ public class RateLimitProperties {
     private int maxKeys = 10000;
 
     /**
-     * 自动清理间隔（分钟）（仅内存模式生效）
+     * 自动清理间隔（分钟）（仅旧版 SlidingWindowRateLimiter 使用）
      */
     private int cleanupIntervalMinutes = 5;
 
+    /**
+     * 内存滑动窗口每个窗口的槽数（仅内存模式生效）
+     * <p>槽数越多越接近精确滑动窗口，统计范围最多比窗口多 1/slots，每个key占用 (slots + 1) 个 long</p>
+     */
+    private int slidingWindowSlots = 20;
+
     /**
      * Redis 执行异常时是否放行（fail-open）
      * <p>false：拒绝请求（默认，更安全）；true：放行请求（更高可用）</p>
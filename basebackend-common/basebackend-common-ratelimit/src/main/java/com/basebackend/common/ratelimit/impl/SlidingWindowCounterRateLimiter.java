@@ -0,0 +1,364 @@
+package com.basebackend.common.ratelimit.impl;
+
+import com.basebackend.common.ratelimit.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.PreDestroy;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 滑动窗口计数限流器
+ * <p>
+ * 每个 key 把窗口切成固定数量的时间槽，用一个 {@code long[]} 环形数组记录各槽的请求数，
+ * 槽位值把"槽序号"和"计数"打包在一个 long 中，通过 CAS 无锁更新。每个 key 的内存固定，
+ * 与请求速率无关；判断时累加仍在窗口内的槽。
+ * </p>
+ * <p>
+ * 误差：窗口按槽对齐，实际统计的时间范围在 {@code [window, window + window / slots)} 之间，
+ * 即只会比精确滑动窗口更严格，最多多拒绝一个槽宽内的请求，不会多放行；
+ * 并发请求恰好跨越槽边界时，可能有同时跨边界的少量请求超出上限。
+ * 单个槽最多记录 16777215 次请求。
+ * </p>
+ * <p>
+ * 空闲 key 的清理使用时间轮：key 按"窗口完全过期"的时间挂入对应的轮槽，到期时若期间仍有访问则重新挂入，
+ * 否则移除。被清理的 key 窗口内已无计数，移除不影响限流结果。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public class SlidingWindowCounterRateLimiter implements RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(SlidingWindowCounterRateLimiter.class);
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final int COUNT_BITS = 24;
+    private static final long MAX_COUNT = (1L << COUNT_BITS) - 1;
+
+    private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int WHEEL_SIZE = 512;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final int slots;
+    private final LongSupplier nanoClock;
+    private final long origin;
+    private final TimerWheel wheel;
+    private final ScheduledExecutorService cleanupExecutor;
+
+    /**
+     * 使用默认配置创建限流器（最大10000个key，每个窗口20个槽）
+     */
+    public SlidingWindowCounterRateLimiter() {
+        this(10000, 20);
+    }
+
+    /**
+     * 创建限流器
+     *
+     * @param maxKeys 最大key数量，超出时先清理空闲key，仍超出则淘汰最早到期的key
+     * @param slots   每个窗口的槽数，越大越精确，每个key占用 (slots + 1) 个 long
+     */
+    public SlidingWindowCounterRateLimiter(int maxKeys, int slots) {
+        this(maxKeys, slots, System::nanoTime, true);
+    }
+
+    /**
+     * 创建限流器
+     *
+     * @param maxKeys      最大key数量
+     * @param slots        每个窗口的槽数
+     * @param nanoClock    单调时钟（纳秒）
+     * @param startCleanup 是否启动后台线程定时推进时间轮；为 false 时需手动调用 {@link #cleanup()}
+     */
+    public SlidingWindowCounterRateLimiter(int maxKeys, int slots, LongSupplier nanoClock, boolean startCleanup) {
+        if (slots <= 0) {
+            throw new IllegalArgumentException("slots 必须大于 0");
+        }
+        this.maxKeys = maxKeys;
+        this.slots = slots;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.wheel = new TimerWheel();
+        if (startCleanup) {
+            this.cleanupExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "ratelimit-cleanup");
+                t.setDaemon(true);
+                return t;
+            });
+            this.cleanupExecutor.scheduleAtFixedRate(this::cleanup, TICK_NANOS, TICK_NANOS, TimeUnit.NANOSECONDS);
+        } else {
+            this.cleanupExecutor = null;
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int limit, int windowSeconds) {
+        if (!isValidParams(key, limit, windowSeconds)) {
+            return false;
+        }
+        long now = nanoClock.getAsLong() - origin;
+        Window window = windowFor(key, windowSeconds, now);
+        window.touch(now);
+        return window.tryAcquire(now / window.slotNanos, limit);
+    }
+
+    private Window windowFor(String key, int windowSeconds, long now) {
+        long windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        Window window = windows.get(key);
+        if (window != null && window.windowNanos == windowNanos) {
+            return window;
+        }
+        // 先腾出空间再加入新 key，避免新 key 刚加入就被淘汰
+        if (window == null && windows.size() >= maxKeys) {
+            cleanup(1);
+        }
+        // 同一 key 换了窗口大小时按新窗口重新计数
+        Window created = new Window(key, windowNanos, slots, now);
+        window = windows.merge(key, created, (old, fresh) -> old.windowNanos == windowNanos ? old : fresh);
+        if (window == created) {
+            wheel.schedule(created, created.expiryTick());
+        }
+        return window;
+    }
+
+    private boolean isValidParams(String key, int limit, int windowSeconds) {
+        if (key == null) {
+            log.warn("SlidingWindowCounterRateLimiter key 不能为空");
+            return false;
+        }
+        if (limit <= 0 || windowSeconds <= 0) {
+            log.warn("SlidingWindowCounterRateLimiter 参数非法: key={}, limit={}, windowSeconds={}",
+                    key, limit, windowSeconds);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 推进时间轮，移除窗口已完全过期的空闲key；仍超过最大key数量时淘汰最早到期的key
+     */
+    public void cleanup() {
+        cleanup(0);
+    }
+
+    /**
+     * @param reserve 需要为即将加入的 key 预留的数量
+     */
+    private void cleanup(int reserve) {
+        long nowTick = (nanoClock.getAsLong() - origin) / TICK_NANOS;
+        int removed = wheel.advance(nowTick, window -> {
+            long expiry = window.expiryTick();
+            if (expiry > nowTick) {
+                return expiry;
+            }
+            windows.remove(window.key, window);
+            return -1;
+        });
+        if (removed > 0) {
+            log.debug("RateLimiter cleanup: removed {} idle entries, {} remaining", removed, windows.size());
+        }
+
+        int overflow = windows.size() + reserve - maxKeys;
+        if (overflow > 0) {
+            int evicted = wheel.evictEarliest(overflow, window -> windows.remove(window.key, window));
+            log.info("RateLimiter eviction: removed {} entries to stay within maxKeys={}", evicted, maxKeys);
+        }
+    }
+
+    /**
+     * 关闭清理线程。由 Spring 容器在 Bean 销毁时自动调用，防止线程泄漏。
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (cleanupExecutor != null) {
+            cleanupExecutor.shutdown();
+        }
+        log.debug("SlidingWindowCounterRateLimiter cleanup executor shutdown");
+    }
+
+    /**
+     * 获取当前追踪的key数量（用于监控）
+     *
+     * @return 当前key数量
+     */
+    public int getKeyCount() {
+        return windows.size();
+    }
+
+    private static long pack(long slot, long count) {
+        return (slot << COUNT_BITS) | count;
+    }
+
+    private static long slotOf(long value) {
+        return value >>> COUNT_BITS;
+    }
+
+    private static long countOf(long value) {
+        return value & MAX_COUNT;
+    }
+
+    /**
+     * 单个 key 的环形计数窗口
+     * <p>
+     * 环长 slots + 1：当前时刻所在槽往前数 slots 个槽恰好覆盖整个窗口（含部分过期的最老槽）。
+     * 槽序号从 1 开始编码，0 表示空槽。
+     * </p>
+     */
+    private static final class Window {
+
+        private final String key;
+        private final long windowNanos;
+        private final long slotNanos;
+        private final long[] ring;
+        private volatile long lastAccessTick;
+
+        Window(String key, long windowNanos, int slots, long now) {
+            this.key = key;
+            this.windowNanos = windowNanos;
+            this.slotNanos = Math.max(1, (windowNanos + slots - 1) / slots);
+            this.ring = new long[slots + 1];
+            this.lastAccessTick = now / TICK_NANOS;
+        }
+
+        boolean tryAcquire(long currentSlot, int limit) {
+            long slot = currentSlot + 1;
+            int length = ring.length;
+            int index = (int) (slot % length);
+            while (true) {
+                // 当前槽先读：计数与 CAS 基于同一个值，同槽并发不会超出上限
+                long current = (long) SLOTS.getVolatile(ring, index);
+                long total = 0;
+                for (int i = 0; i < length; i++) {
+                    long value = i == index ? current : (long) SLOTS.getVolatile(ring, i);
+                    if (slot - slotOf(value) < length) {
+                        total += countOf(value);
+                    }
+                }
+                if (total >= limit) {
+                    return false;
+                }
+                long next;
+                if (slotOf(current) >= slot) {
+                    // 同槽累加；其他线程已按更新的时钟写入时也累加到该槽，只会更严格
+                    if (countOf(current) == MAX_COUNT) {
+                        return false;
+                    }
+                    next = current + 1;
+                } else {
+                    next = pack(slot, 1);
+                }
+                if (SLOTS.compareAndSet(ring, index, current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        void touch(long now) {
+            long tick = now / TICK_NANOS;
+            // 同一秒内只写一次，避免热点 key 上的 volatile 写
+            if (lastAccessTick != tick) {
+                lastAccessTick = tick;
+            }
+        }
+
+        /**
+         * 最后一次访问后窗口完全过期的时间轮刻度
+         */
+        long expiryTick() {
+            return lastAccessTick + (windowNanos + slotNanos + TICK_NANOS - 1) / TICK_NANOS + 1;
+        }
+    }
+
+    /**
+     * 哈希时间轮（刻度 1 秒）
+     * <p>
+     * 只由清理线程推进；到期时回调决定移除（返回 -1）还是按新的到期刻度重新挂入。
+     * 到期刻度超出一圈的条目在经过的轮次中原样放回。
+     * </p>
+     */
+    private static final class TimerWheel {
+
+        private final Queue<Timeout>[] buckets;
+        private long currentTick;
+
+        @SuppressWarnings("unchecked")
+        TimerWheel() {
+            this.buckets = new Queue[WHEEL_SIZE];
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                buckets[i] = new ConcurrentLinkedQueue<>();
+            }
+        }
+
+        void schedule(Window window, long expiryTick) {
+            buckets[(int) (expiryTick % WHEEL_SIZE)].add(new Timeout(window, expiryTick));
+        }
+
+        synchronized int advance(long nowTick, ExpiryHandler handler) {
+            int removed = 0;
+            // 停顿超过一圈时只需扫描一圈
+            long from = Math.max(currentTick, nowTick - WHEEL_SIZE + 1);
+            for (long tick = from; tick <= nowTick; tick++) {
+                Queue<Timeout> bucket = buckets[(int) (tick % WHEEL_SIZE)];
+                for (int pending = bucket.size(); pending > 0; pending--) {
+                    Timeout timeout = bucket.poll();
+                    if (timeout == null) {
+                        break;
+                    }
+                    if (timeout.expiryTick > nowTick) {
+                        bucket.add(timeout);
+                        continue;
+                    }
+                    long next = handler.onExpiry(timeout.window);
+                    if (next < 0) {
+                        removed++;
+                    } else {
+                        schedule(timeout.window, next);
+                    }
+                }
+            }
+            currentTick = nowTick + 1;
+            return removed;
+        }
+
+        /**
+         * 从当前刻度起按到期先后淘汰，近似于最久未访问
+         */
+        synchronized int evictEarliest(int count, Predicate<Window> remover) {
+            int evicted = 0;
+            for (int i = 0; i < WHEEL_SIZE && evicted < count; i++) {
+                Queue<Timeout> bucket = buckets[(int) ((currentTick + i) % WHEEL_SIZE)];
+                Timeout timeout;
+                while (evicted < count && (timeout = bucket.poll()) != null) {
+                    if (remover.test(timeout.window)) {
+                        evicted++;
+                    }
+                }
+            }
+            return evicted;
+        }
+    }
+
+    private record Timeout(Window window, long expiryTick) {
+    }
+
+    @FunctionalInterface
+    private interface ExpiryHandler {
+
+        /**
+         * @return 新的到期刻度；返回 -1 表示已移除
+         */
+        long onExpiry(Window window);
+    }
+}
@@ -22,7 +22,10 @@ import java.util.concurrent.TimeUnit;
  *
  * @author BaseBackend Team
  * @since 1.0.0
+ * @deprecated 每个请求保存一个时间戳，内存随请求速率增长且每个 key 一把锁；
+ * 请使用 {@link SlidingWindowCounterRateLimiter}
  */
+@Deprecated
 public class SlidingWindowRateLimiter implements RateLimiter {
 
     private static final Logger log = LoggerFactory.getLogger(SlidingWindowRateLimiter.class);
@@ -1,7 +1,7 @@
 package com.basebackend.common.ratelimit;
 
 import com.basebackend.common.ratelimit.impl.FixedWindowRateLimiter;
-import com.basebackend.common.ratelimit.impl.SlidingWindowRateLimiter;
+import com.basebackend.common.ratelimit.impl.SlidingWindowCounterRateLimiter;
 import com.basebackend.common.ratelimit.impl.TokenBucketRateLimiter;
 import org.junit.jupiter.api.Test;
 
@@ -16,7 +16,7 @@ class RateLimiterTest {
 
     @Test
     void slidingWindow_shouldAllowWithinLimit() {
-        RateLimiter limiter = new SlidingWindowRateLimiter();
+        RateLimiter limiter = new SlidingWindowCounterRateLimiter();
         for (int i = 0; i < 5; i++) {
             assertTrue(limiter.tryAcquire("sw-allow", 5, 60));
         }
@@ -24,7 +24,7 @@ class RateLimiterTest {
 
     @Test
     void slidingWindow_shouldRejectExceedingLimit() {
-        RateLimiter limiter = new SlidingWindowRateLimiter();
+        RateLimiter limiter = new SlidingWindowCounterRateLimiter();
         for (int i = 0; i < 3; i++) {
             assertTrue(limiter.tryAcquire("sw-reject", 3, 60));
         }
@@ -33,7 +33,7 @@ class RateLimiterTest {
 
     @Test
     void slidingWindow_shouldResetAfterWindowExpires() throws InterruptedException {
-        RateLimiter limiter = new SlidingWindowRateLimiter();
+        RateLimiter limiter = new SlidingWindowCounterRateLimiter();
         for (int i = 0; i < 2; i++) {
             assertTrue(limiter.tryAcquire("sw-expire", 2, 1));
         }
@@ -107,7 +107,7 @@ class RateLimiterTest {
     @Test
     void allAlgorithms_shouldIsolateKeys() {
         RateLimiter[] limiters = {
-                new SlidingWindowRateLimiter(),
+                new SlidingWindowCounterRateLimiter(),
                 new TokenBucketRateLimiter(),
                 new FixedWindowRateLimiter()
         };
@@ -122,7 +122,7 @@ class RateLimiterTest {
 
     @Test
     void registry_shouldRouteByAlgorithm() {
-        RateLimiter sw = new SlidingWindowRateLimiter();
+        RateLimiter sw = new SlidingWindowCounterRateLimiter();
         RateLimiter tb = new TokenBucketRateLimiter();
         RateLimiter fw = new FixedWindowRateLimiter();
 
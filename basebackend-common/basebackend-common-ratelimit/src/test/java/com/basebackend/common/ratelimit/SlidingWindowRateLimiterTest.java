@@ -7,6 +7,10 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+/**
+ * 已废弃的时间戳滑动窗口限流器仍对外保留，此处有意继续覆盖其行为
+ */
+@SuppressWarnings("deprecation")
 class SlidingWindowRateLimiterTest {
 
     private SlidingWindowRateLimiter rateLimiter;
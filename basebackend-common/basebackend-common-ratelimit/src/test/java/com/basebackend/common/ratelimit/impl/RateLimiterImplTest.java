@@ -63,13 +63,13 @@ class RateLimiterImplTest {
         }
     }
 
-    // ========== SlidingWindowRateLimiter ==========
+    // ========== SlidingWindowCounterRateLimiter ==========
 
     @Nested
-    @DisplayName("SlidingWindowRateLimiter")
+    @DisplayName("SlidingWindowCounterRateLimiter")
     class SlidingWindowTest {
 
-        private final SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(100, 60);
+        private final SlidingWindowCounterRateLimiter limiter = new SlidingWindowCounterRateLimiter(100, 20);
 
         @Test
         @DisplayName("限制内的请求允许通过")
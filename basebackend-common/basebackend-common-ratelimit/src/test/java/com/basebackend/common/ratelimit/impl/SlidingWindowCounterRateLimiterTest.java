@@ -0,0 +1,119 @@
+package com.basebackend.common.ratelimit.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 滑动窗口计数限流器单元测试（使用可控时钟）
+ */
+@DisplayName("SlidingWindowCounterRateLimiter")
+class SlidingWindowCounterRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SlidingWindowCounterRateLimiter limiter =
+            new SlidingWindowCounterRateLimiter(100, 10, clock::get, false);
+
+    @Test
+    @DisplayName("窗口内超出限制被拒绝，不同 key 互不影响")
+    void shouldRejectOverLimit() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("a", 5, 10)).isTrue();
+        }
+        assertThat(limiter.tryAcquire("a", 5, 10)).isFalse();
+        assertThat(limiter.tryAcquire("b", 5, 10)).isTrue();
+    }
+
+    @Test
+    @DisplayName("请求随时间逐槽滑出窗口")
+    void shouldSlideOutSlotBySlot() {
+        // 10 秒窗口、10 个槽，每槽 1 秒
+        assertThat(limiter.tryAcquire("k", 2, 10)).isTrue();
+        advanceMillis(3000);
+        assertThat(limiter.tryAcquire("k", 2, 10)).isTrue();
+        assertThat(limiter.tryAcquire("k", 2, 10)).isFalse();
+
+        // 第一个请求在 10 秒后仍处于最老的槽内（误差范围内更严格）
+        advanceMillis(7000);
+        assertThat(limiter.tryAcquire("k", 2, 10)).isFalse();
+
+        // 超过窗口 + 一个槽宽后第一个请求滑出，第二个仍在窗口内
+        advanceMillis(1000);
+        assertThat(limiter.tryAcquire("k", 2, 10)).isTrue();
+        assertThat(limiter.tryAcquire("k", 2, 10)).isFalse();
+    }
+
+    @Test
+    @DisplayName("非法参数直接拒绝")
+    void shouldRejectInvalidParams() {
+        assertThat(limiter.tryAcquire(null, 5, 10)).isFalse();
+        assertThat(limiter.tryAcquire("k", 0, 10)).isFalse();
+        assertThat(limiter.tryAcquire("k", 5, 0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("空闲 key 在窗口完全过期后由时间轮清理")
+    void shouldEvictIdleKeys() {
+        limiter.tryAcquire("idle", 5, 2);
+        limiter.tryAcquire("active", 5, 2);
+        assertThat(limiter.getKeyCount()).isEqualTo(2);
+
+        for (int second = 0; second < 6; second++) {
+            advanceMillis(1000);
+            limiter.tryAcquire("active", 5, 2);
+            limiter.cleanup();
+        }
+
+        assertThat(limiter.getKeyCount()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("idle", 1, 2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("超过最大 key 数量时淘汰最早到期的 key")
+    void shouldStayWithinMaxKeys() {
+        for (int i = 0; i < 150; i++) {
+            limiter.tryAcquire("key-" + i, 5, 60);
+        }
+        assertThat(limiter.getKeyCount()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("并发下通过数不超过上限")
+    void shouldNotExceedLimitUnderContention() throws InterruptedException {
+        AtomicInteger passed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire("hot", 500, 10)) {
+                        passed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(passed).hasValue(500);
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,80 @@
+package com.basebackend.common.ratelimit.impl;
+
+import com.basebackend.common.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存滑动窗口限流器基准测试
+ * <p>
+ * 10k 个 key、8 个线程随机访问，每个 key 限制 100 次/秒。目标是计数版在该负载下
+ * 吞吐远高于 1M 次检查/秒；{@code timestamps} 为改造前的时间戳队列实现，作为对照。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@SuppressWarnings("deprecation")
+public class SlidingWindowRateLimiterBenchmark {
+
+    private static final int KEY_COUNT = 10_000;
+
+    @Param({"timestamps", "counter"})
+    private String implementation;
+
+    private RateLimiter limiter;
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = "counter".equals(implementation)
+                ? new SlidingWindowCounterRateLimiter(KEY_COUNT * 2, 20)
+                : new SlidingWindowRateLimiter(KEY_COUNT * 2, 5);
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "user:" + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (limiter instanceof SlidingWindowCounterRateLimiter counter) {
+            counter.shutdown();
+        } else if (limiter instanceof SlidingWindowRateLimiter timestamps) {
+            timestamps.shutdown();
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)], 100, 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SlidingWindowRateLimiterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
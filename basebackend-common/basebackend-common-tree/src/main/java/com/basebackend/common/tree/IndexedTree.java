@@ -0,0 +1,226 @@
+package com.basebackend.common.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 带索引的只读树
+ * <p>
+ * 构建时做一次迭代先序遍历，记录 ID -> 先序位置、父节点位置和子树大小（欧拉序区间），
+ * 之后按 ID 查节点、查父节点、判断祖先关系都是 O(1)，取路径为 O(深度) 且结果会缓存，
+ * 取全部下级节点是先序数组上的一次切片。用来替代 {@link TreeBuilder#findNode}、
+ * {@link TreeBuilder#findPath} 等每次都遍历整棵树的方法。
+ * </p>
+ * <p>
+ * 构建后不应再修改节点的 children；树数据变化时重新构建，或通过 {@link IndexedTreeCache} 按数据版本复用。
+ * </p>
+ */
+public final class IndexedTree<T extends TreeNode<ID>, ID> {
+
+    private static final int NONE = -1;
+
+    private final List<T> roots;
+    private final Map<ID, Integer> positions;
+    private final List<T> preorder;
+    private final int[] parent;
+    private final int[] subtreeSize;
+    private final int[] depth;
+    private final List<?>[] paths;
+
+    private IndexedTree(List<T> roots, Map<ID, Integer> positions, List<T> preorder,
+                        int[] parent, int[] subtreeSize, int[] depth) {
+        this.roots = roots;
+        this.positions = positions;
+        this.preorder = preorder;
+        this.parent = parent;
+        this.subtreeSize = subtreeSize;
+        this.depth = depth;
+        this.paths = new List<?>[preorder.size()];
+    }
+
+    /**
+     * 由扁平节点列表构建树并建立索引
+     */
+    public static <T extends TreeNode<ID>, ID> IndexedTree<T, ID> build(List<T> nodes) {
+        return of(TreeBuilder.buildTree(nodes));
+    }
+
+    /**
+     * 为已构建好的树建立索引
+     *
+     * @throws IllegalArgumentException 树中存在重复 ID 时抛出
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends TreeNode<ID>, ID> IndexedTree<T, ID> of(List<T> roots) {
+        List<T> rootList = roots == null ? List.of() : List.copyOf(roots);
+
+        Map<ID, Integer> positions = new HashMap<>();
+        List<T> preorder = new ArrayList<>();
+        int[] parent = new int[16];
+        int[] depth = new int[16];
+
+        // 迭代先序遍历，栈中保存（节点位置, 下一个待访问子节点下标）
+        int[] stack = new int[16];
+        int[] nextChild = new int[16];
+        for (T root : rootList) {
+            int top = 0;
+            int rootPosition = visit(root, positions, preorder);
+            parent = ensureCapacity(parent, rootPosition);
+            depth = ensureCapacity(depth, rootPosition);
+            parent[rootPosition] = NONE;
+            depth[rootPosition] = 0;
+            stack[top] = rootPosition;
+            nextChild[top++] = 0;
+            while (top > 0) {
+                int position = stack[top - 1];
+                List<T> children = (List<T>) preorder.get(position).getChildren();
+                int index = nextChild[top - 1];
+                if (children == null || index >= children.size()) {
+                    top--;
+                    continue;
+                }
+                nextChild[top - 1] = index + 1;
+                int childPosition = visit(children.get(index), positions, preorder);
+                parent = ensureCapacity(parent, childPosition);
+                depth = ensureCapacity(depth, childPosition);
+                parent[childPosition] = position;
+                depth[childPosition] = depth[position] + 1;
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                    nextChild = Arrays.copyOf(nextChild, top * 2);
+                }
+                stack[top] = childPosition;
+                nextChild[top++] = 0;
+            }
+        }
+
+        int size = preorder.size();
+        parent = Arrays.copyOf(parent, size);
+        depth = Arrays.copyOf(depth, size);
+        // 先序中子树连续：倒序累加子节点的子树大小即可
+        int[] subtreeSize = new int[size];
+        for (int position = size - 1; position >= 0; position--) {
+            subtreeSize[position]++;
+            if (parent[position] != NONE) {
+                subtreeSize[parent[position]] += subtreeSize[position];
+            }
+        }
+        return new IndexedTree<>(rootList, positions, Collections.unmodifiableList(preorder),
+                parent, subtreeSize, depth);
+    }
+
+    private static <T extends TreeNode<ID>, ID> int visit(T node, Map<ID, Integer> positions, List<T> preorder) {
+        int position = preorder.size();
+        if (positions.putIfAbsent(node.getId(), position) != null) {
+            throw new IllegalArgumentException("树中存在重复ID: " + node.getId());
+        }
+        preorder.add(node);
+        return position;
+    }
+
+    private static int[] ensureCapacity(int[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, Math.max(index + 1, array.length * 2));
+    }
+
+    public List<T> getRoots() {
+        return roots;
+    }
+
+    /**
+     * 先序遍历的全部节点，与 {@link TreeBuilder#flatten} 顺序一致
+     */
+    public List<T> flatten() {
+        return preorder;
+    }
+
+    public int size() {
+        return preorder.size();
+    }
+
+    public boolean contains(ID id) {
+        return id != null && positions.containsKey(id);
+    }
+
+    public T getNode(ID id) {
+        int position = positionOf(id);
+        return position == NONE ? null : preorder.get(position);
+    }
+
+    public T getParent(ID id) {
+        int position = positionOf(id);
+        return position == NONE || parent[position] == NONE ? null : preorder.get(parent[position]);
+    }
+
+    /**
+     * 节点深度（根为 0），节点不存在时返回 -1
+     */
+    public int getDepth(ID id) {
+        int position = positionOf(id);
+        return position == NONE ? -1 : depth[position];
+    }
+
+    /**
+     * 从根到该节点的路径（含自身），节点不存在时返回空列表
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getPath(ID id) {
+        int position = positionOf(id);
+        if (position == NONE) {
+            return List.of();
+        }
+        // 不可变列表，并发下重复计算无害
+        List<T> path = (List<T>) paths[position];
+        if (path == null) {
+            Object[] nodes = new Object[depth[position] + 1];
+            for (int p = position; p != NONE; p = parent[p]) {
+                nodes[depth[p]] = preorder.get(p);
+            }
+            path = (List<T>) (List<?>) List.of(nodes);
+            paths[position] = path;
+        }
+        return path;
+    }
+
+    /**
+     * 全部下级节点（不含自身，先序），与 {@link TreeBuilder#findChildren} 顺序一致
+     */
+    public List<T> getDescendants(ID id) {
+        int position = positionOf(id);
+        if (position == NONE) {
+            return List.of();
+        }
+        return preorder.subList(position + 1, position + subtreeSize[position]);
+    }
+
+    /**
+     * {@code ancestorId} 是否为 {@code id} 的祖先（不含自身）
+     */
+    public boolean isAncestor(ID ancestorId, ID id) {
+        int ancestor = positionOf(ancestorId);
+        int position = positionOf(id);
+        return ancestor != NONE && position != NONE
+                && position > ancestor && position < ancestor + subtreeSize[ancestor];
+    }
+
+    /**
+     * {@code id} 是否为 {@code ancestorId} 自身或其下级
+     */
+    public boolean isSelfOrDescendant(ID ancestorId, ID id) {
+        int ancestor = positionOf(ancestorId);
+        int position = positionOf(id);
+        return ancestor != NONE && position != NONE
+                && position >= ancestor && position < ancestor + subtreeSize[ancestor];
+    }
+
+    private int positionOf(ID id) {
+        if (id == null) {
+            return NONE;
+        }
+        Integer position = positions.get(id);
+        return position == null ? NONE : position;
+    }
+}
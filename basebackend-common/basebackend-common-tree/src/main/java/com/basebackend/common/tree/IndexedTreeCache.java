@@ -0,0 +1,63 @@
+package com.basebackend.common.tree;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 按数据版本缓存的 {@link IndexedTree}
+ * <p>
+ * 版本由调用方给出（如表的最后更新时间、变更计数器），版本不变时各请求复用同一棵索引树，
+ * 版本变化时只有一个线程重新加载，其余线程等待并复用其结果。
+ * </p>
+ *
+ * <pre>{@code
+ * private final IndexedTreeCache<MenuNode, Long> menuTree = new IndexedTreeCache<>();
+ *
+ * IndexedTree<MenuNode, Long> tree = menuTree.get(menuVersion.get(), menuMapper::selectAllNodes);
+ * }</pre>
+ */
+public final class IndexedTreeCache<T extends TreeNode<ID>, ID> {
+
+    private volatile Entry<T, ID> entry;
+
+    /**
+     * 获取指定版本的索引树，缓存版本不同时调用 {@code loader} 加载扁平节点列表并重建
+     *
+     * @param version 数据版本，按 {@link Objects#equals} 比较
+     * @param loader  扁平节点加载器，节点会被 {@link TreeBuilder#buildTree} 组装（修改 children）
+     */
+    public IndexedTree<T, ID> get(Object version, Supplier<List<T>> loader) {
+        Entry<T, ID> current = entry;
+        if (current != null && Objects.equals(current.version(), version)) {
+            return current.tree();
+        }
+        synchronized (this) {
+            current = entry;
+            if (current != null && Objects.equals(current.version(), version)) {
+                return current.tree();
+            }
+            IndexedTree<T, ID> tree = IndexedTree.build(loader.get());
+            entry = new Entry<>(version, tree);
+            return tree;
+        }
+    }
+
+    /**
+     * 当前缓存的索引树，未加载时返回 null
+     */
+    public IndexedTree<T, ID> peek() {
+        Entry<T, ID> current = entry;
+        return current == null ? null : current.tree();
+    }
+
+    /**
+     * 丢弃缓存，下次 {@link #get} 时重新加载
+     */
+    public void invalidate() {
+        entry = null;
+    }
+
+    private record Entry<T extends TreeNode<ID>, ID>(Object version, IndexedTree<T, ID> tree) {
+    }
+}
@@ -61,6 +61,16 @@ public final class TreeBuilder {
         }
     }
 
+    /**
+     * 为已构建的树建立索引，需要多次查找节点/路径时使用，避免每次遍历整棵树
+     */
+    public static <T extends TreeNode<ID>, ID> IndexedTree<T, ID> index(List<T> roots) {
+        return IndexedTree.of(roots);
+    }
+
+    /**
+     * 单次查找，每次调用都遍历整棵树；循环中查找请使用 {@link #index}
+     */
     public static <T extends TreeNode<ID>, ID> T findNode(List<T> roots, ID id) {
         if (roots == null || id == null) {
             return null;
@@ -91,6 +101,9 @@ public final class TreeBuilder {
         return null;
     }
 
+    /**
+     * 单次查找，每次调用都遍历整棵树；循环中查找请使用 {@link #index}
+     */
     public static <T extends TreeNode<ID>, ID> List<T> findPath(List<T> roots, ID id) {
         if (roots == null || id == null) {
             return new ArrayList<>();
@@ -148,12 +161,19 @@ public final class TreeBuilder {
 
     @SuppressWarnings("unchecked")
     private static <T extends TreeNode<ID>, ID> void sortTree(List<T> nodes) {
-        if (nodes == null || nodes.isEmpty()) {
-            return;
-        }
-        nodes.sort(Comparator.comparingInt(n -> n.getSort() != null ? n.getSort() : 0));
-        for (T node : nodes) {
-            sortTree((List<T>) node.getChildren());
+        Comparator<T> bySort = Comparator.comparingInt(n -> n.getSort() != null ? n.getSort() : 0);
+        // 迭代处理，避免深层级树栈溢出
+        Deque<List<T>> pending = new ArrayDeque<>();
+        pending.push(nodes);
+        while (!pending.isEmpty()) {
+            List<T> level = pending.pop();
+            if (level == null || level.isEmpty()) {
+                continue;
+            }
+            level.sort(bySort);
+            for (T node : level) {
+                pending.push((List<T>) node.getChildren());
+            }
         }
     }
 }
@@ -0,0 +1,148 @@
+package com.basebackend.common.tree;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * IndexedTree 带索引树单元测试
+ */
+class IndexedTreeTest {
+
+    private SimpleTreeNode<Long> node(Long id, Long parentId, int sort) {
+        var n = new SimpleTreeNode<Long>();
+        n.setId(id);
+        n.setParentId(parentId);
+        n.setLabel("节点" + id);
+        n.setSort(sort);
+        return n;
+    }
+
+    private List<SimpleTreeNode<Long>> sampleNodes() {
+        return new ArrayList<>(List.of(
+                node(1L, null, 1),
+                node(2L, null, 2),
+                node(3L, 1L, 2),
+                node(4L, 1L, 1),
+                node(5L, 3L, 1),
+                node(6L, 2L, 1)
+        ));
+    }
+
+    private static List<Long> ids(List<SimpleTreeNode<Long>> nodes) {
+        return nodes.stream().map(SimpleTreeNode::getId).toList();
+    }
+
+    @Nested
+    @DisplayName("查询")
+    class Query {
+
+        @Test
+        @DisplayName("查找节点与父节点")
+        void shouldFindNodeAndParent() {
+            var tree = IndexedTree.build(sampleNodes());
+            assertThat(tree.size()).isEqualTo(6);
+            assertThat(tree.getNode(5L).getLabel()).isEqualTo("节点5");
+            assertThat(tree.getParent(5L).getId()).isEqualTo(3L);
+            assertThat(tree.getParent(1L)).isNull();
+            assertThat(tree.getNode(999L)).isNull();
+            assertThat(tree.getNode(null)).isNull();
+        }
+
+        @Test
+        @DisplayName("路径与深度")
+        void shouldReturnPathAndDepth() {
+            var tree = IndexedTree.build(sampleNodes());
+            assertThat(ids(tree.getPath(5L))).containsExactly(1L, 3L, 5L);
+            assertThat(tree.getPath(5L)).isSameAs(tree.getPath(5L));
+            assertThat(tree.getPath(999L)).isEmpty();
+            assertThat(tree.getDepth(5L)).isEqualTo(2);
+            assertThat(tree.getDepth(999L)).isEqualTo(-1);
+        }
+
+        @Test
+        @DisplayName("祖先判断")
+        void shouldCheckAncestry() {
+            var tree = IndexedTree.build(sampleNodes());
+            assertThat(tree.isAncestor(1L, 5L)).isTrue();
+            assertThat(tree.isAncestor(5L, 5L)).isFalse();
+            assertThat(tree.isSelfOrDescendant(5L, 5L)).isTrue();
+            assertThat(tree.isAncestor(2L, 5L)).isFalse();
+            assertThat(tree.isAncestor(4L, 5L)).isFalse();
+            assertThat(tree.isAncestor(999L, 5L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("与 TreeBuilder 的遍历结果一致")
+        void shouldMatchTreeBuilder() {
+            var roots = TreeBuilder.buildTree(sampleNodes());
+            var tree = TreeBuilder.index(roots);
+            assertThat(tree.flatten()).containsExactlyElementsOf(TreeBuilder.flatten(roots));
+            for (long id = 1; id <= 6; id++) {
+                assertThat(tree.getPath(id)).containsExactlyElementsOf(TreeBuilder.findPath(roots, id));
+                assertThat(tree.getDescendants(id)).containsExactlyElementsOf(TreeBuilder.findChildren(roots, id));
+            }
+        }
+
+        @Test
+        @DisplayName("深层级树不会栈溢出")
+        void shouldHandleDeepTree() {
+            List<SimpleTreeNode<Long>> nodes = new ArrayList<>();
+            for (long id = 1; id <= 100_000; id++) {
+                nodes.add(node(id, id == 1 ? null : id - 1, 0));
+            }
+            var tree = IndexedTree.build(nodes);
+            assertThat(tree.getDepth(100_000L)).isEqualTo(99_999);
+            assertThat(tree.isAncestor(1L, 100_000L)).isTrue();
+            assertThat(tree.getDescendants(99_999L)).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("重复ID抛出异常")
+        void shouldRejectDuplicateIds() {
+            var roots = TreeBuilder.buildTree(sampleNodes());
+            assertThatThrownBy(() -> IndexedTree.of(List.of(roots.get(0), roots.get(0))))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("IndexedTreeCache")
+    class Cache {
+
+        @Test
+        @DisplayName("版本不变时复用，版本变化时重建")
+        void shouldReuseUntilVersionChanges() {
+            var cache = new IndexedTreeCache<SimpleTreeNode<Long>, Long>();
+            AtomicInteger loads = new AtomicInteger();
+
+            var first = cache.get(1L, () -> {
+                loads.incrementAndGet();
+                return sampleNodes();
+            });
+            var second = cache.get(1L, () -> {
+                loads.incrementAndGet();
+                return sampleNodes();
+            });
+            assertThat(second).isSameAs(first);
+            assertThat(loads).hasValue(1);
+
+            var third = cache.get(2L, () -> {
+                loads.incrementAndGet();
+                return sampleNodes();
+            });
+            assertThat(third).isNotSameAs(first);
+            assertThat(loads).hasValue(2);
+
+            cache.invalidate();
+            assertThat(cache.peek()).isNull();
+        }
+    }
+}
@@ -336,6 +336,57 @@ public class DatabaseEnhancedProperties {
          * 严格模式（数据源不存在时抛异常）
          */
         private boolean strict = true;
+
+        /**
+         * 读写分离配置
+         */
+        private ReadWriteProperties readWrite = new ReadWriteProperties();
+    }
+
+    /**
+     * 读写分离配置
+     */
+    @Data
+    public static class ReadWriteProperties {
+        /**
+         * 是否启用自动读写分离
+         */
+        private boolean enabled = false;
+
+        /**
+         * 从库权重（数据源键 -> 权重），数据源需已注册到 DynamicDataSource
+         */
+        private Map<String, Integer> replicas = new HashMap<>();
+
+        /**
+         * 最大允许复制延迟（毫秒），超过则暂时剔除该从库
+         */
+        private long maxLagMs = 1000;
+
+        /**
+         * 从库延迟与健康探测间隔（毫秒）
+         */
+        private long probeIntervalMs = 2000;
+
+        /**
+         * 探测超时（秒）
+         */
+        private int probeTimeoutSeconds = 2;
+
+        /**
+         * 写后读主库的粘滞窗口（毫秒）
+         */
+        private long stickyWindowMs = 2000;
+
+        /**
+         * 查询复制延迟的 SQL，结果为秒；为空时按数据库厂商使用默认语句
+         */
+        private String lagSql;
+
+        /**
+         * 延迟所在的列名，为空时取第一列
+         */
+        private String lagColumn;
     }
 
     /**
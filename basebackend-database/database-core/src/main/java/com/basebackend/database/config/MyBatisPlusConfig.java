@@ -68,6 +68,12 @@ public class MyBatisPlusConfig {
             interceptor.addInnerInterceptor(tenantInterceptor);
         }
 
+        // 加密拦截器（保存时加密敏感字段；查询时改写盲索引条件，必须在分页插件之前，count 查询才能复用改写结果）
+        InnerInterceptor encryptionInterceptor = encryptionInterceptorProvider.getIfAvailable();
+        if (encryptionInterceptor != null) {
+            interceptor.addInnerInterceptor(encryptionInterceptor);
+        }
+
         // B4: derive DbType from auto-detected database vendor instead of hardcoding MYSQL
         DbType dbType = toMybatisPlusDbType(vendorDetector.detect());
         PaginationInnerInterceptor paginationInnerInterceptor = new PaginationInnerInterceptor(dbType);
@@ -87,12 +93,6 @@ public class MyBatisPlusConfig {
             interceptor.addInnerInterceptor(sqlInjectionInterceptor);
         }
 
-        // 加密拦截器（在保存时加密敏感字段）
-        InnerInterceptor encryptionInterceptor = encryptionInterceptorProvider.getIfAvailable();
-        if (encryptionInterceptor != null) {
-            interceptor.addInnerInterceptor(encryptionInterceptor);
-        }
-
         return interceptor;
     }
 
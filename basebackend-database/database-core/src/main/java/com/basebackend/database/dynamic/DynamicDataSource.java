@@ -2,6 +2,7 @@ package com.basebackend.database.dynamic;
 
 import com.basebackend.database.dynamic.context.DataSourceContextHolder;
 import com.basebackend.database.exception.DataSourceException;
+import com.basebackend.database.routing.ReadWriteRouter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 
@@ -39,6 +40,11 @@ public class DynamicDataSource extends AbstractRoutingDataSource {
      */
     private boolean strict = true;
 
+    /**
+     * 读写路由器（未开启读写分离时为 null）
+     */
+    private volatile ReadWriteRouter readWriteRouter;
+
     // Performance monitoring — instance fields (H1: avoid static state shared across instances)
     private final AtomicLong totalLookups = new AtomicLong(0);
     private final AtomicLong failedLookups = new AtomicLong(0);
@@ -91,6 +97,13 @@ public class DynamicDataSource extends AbstractRoutingDataSource {
         this.strict = strict;
     }
     
+    /**
+     * 设置读写路由器，没有显式数据源时由其决定是否读从库
+     */
+    public void setReadWriteRouter(ReadWriteRouter readWriteRouter) {
+        this.readWriteRouter = readWriteRouter;
+    }
+
     /**
      * 初始化数据源映射
      */
@@ -114,6 +127,12 @@ public class DynamicDataSource extends AbstractRoutingDataSource {
         try {
             String dataSourceKey = DataSourceContextHolder.getDataSourceKey();
 
+            // 没有显式数据源时交给读写路由，读请求可能落到从库
+            ReadWriteRouter router = readWriteRouter;
+            if (dataSourceKey == null && router != null) {
+                dataSourceKey = router.route();
+            }
+
             // 如果没有设置数据源，使用默认数据源
             if (dataSourceKey == null) {
                 dataSourceUsageCounter.computeIfAbsent(primaryDataSourceKey, k -> new AtomicLong(0)).incrementAndGet();
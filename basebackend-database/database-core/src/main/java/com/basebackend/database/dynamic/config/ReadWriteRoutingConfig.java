@@ -0,0 +1,81 @@
+package com.basebackend.database.dynamic.config;
+
+import com.basebackend.database.config.DatabaseEnhancedProperties;
+import com.basebackend.database.config.DatabaseVendorDetector;
+import com.basebackend.database.dynamic.DynamicDataSource;
+import com.basebackend.database.health.spi.DatabaseFailoverIntegration;
+import com.basebackend.database.routing.ReadWriteRouter;
+import com.basebackend.database.routing.ReadWriteRoutingAspect;
+import com.basebackend.database.routing.ReadYourWritesTracker;
+import com.basebackend.database.routing.ReplicaHealthMonitor;
+import com.basebackend.database.routing.ReplicaPool;
+import com.basebackend.database.routing.ReplicationLagProbe;
+import com.basebackend.database.routing.SqlReplicationLagProbe;
+import com.basebackend.database.routing.WriteTrackingInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 读写分离配置
+ * 需同时开启动态数据源；从库需以 read-write.replicas 中的键注册到 DynamicDataSource
+ *
+ * @author basebackend
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "database.enhanced.dynamic-datasource.read-write", name = "enabled", havingValue = "true", matchIfMissing = false)
+public class ReadWriteRoutingConfig {
+
+    private final DatabaseEnhancedProperties.ReadWriteProperties readWrite;
+
+    public ReadWriteRoutingConfig(DatabaseEnhancedProperties properties) {
+        this.readWrite = properties.getDynamicDatasource().getReadWrite();
+    }
+
+    @Bean
+    public ReadWriteRouter readWriteRouter(DynamicDataSource dynamicDataSource) {
+        ReadWriteRouter router = new ReadWriteRouter(new ReplicaPool(readWrite.getReplicas()),
+                new ReadYourWritesTracker(readWrite.getStickyWindowMs()));
+        dynamicDataSource.setReadWriteRouter(router);
+        log.info("Read/write splitting enabled: replicas={}, maxLag={}ms, stickyWindow={}ms",
+                readWrite.getReplicas(), readWrite.getMaxLagMs(), readWrite.getStickyWindowMs());
+        return router;
+    }
+
+    /**
+     * 默认延迟探测：配置了 lag-sql 时使用配置，否则按从库厂商选择
+     */
+    @Bean
+    @ConditionalOnMissingBean(ReplicationLagProbe.class)
+    public ReplicationLagProbe replicationLagProbe(DatabaseVendorDetector vendorDetector) {
+        if (readWrite.getLagSql() != null && !readWrite.getLagSql().isBlank()) {
+            return new SqlReplicationLagProbe(readWrite.getLagSql(), readWrite.getLagColumn(),
+                    readWrite.getProbeTimeoutSeconds());
+        }
+        return SqlReplicationLagProbe.forVendor(vendorDetector.detect(), readWrite.getProbeTimeoutSeconds());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public ReplicaHealthMonitor replicaHealthMonitor(DynamicDataSource dynamicDataSource, ReadWriteRouter router,
+                                                     ReplicationLagProbe replicationLagProbe,
+                                                     ObjectProvider<DatabaseFailoverIntegration> failoverIntegration) {
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(dynamicDataSource, router, replicationLagProbe,
+                readWrite.getMaxLagMs(), readWrite.getProbeIntervalMs(), readWrite.getProbeTimeoutSeconds());
+        failoverIntegration.ifAvailable(monitor::setFailoverIntegration);
+        return monitor;
+    }
+
+    @Bean
+    public ReadWriteRoutingAspect readWriteRoutingAspect() {
+        return new ReadWriteRoutingAspect();
+    }
+
+    @Bean
+    public WriteTrackingInterceptor writeTrackingInterceptor(ReadWriteRouter router) {
+        return new WriteTrackingInterceptor(router);
+    }
+}
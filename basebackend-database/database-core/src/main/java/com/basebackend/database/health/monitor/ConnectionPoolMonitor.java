@@ -119,7 +119,14 @@ public class ConnectionPoolMonitor {
      * 获取连接池使用率
      */
     public double getPoolUsageRate() {
-        if (dataSource instanceof DruidDataSource druidDs) {
+        return getPoolUsageRate(dataSource);
+    }
+
+    /**
+     * 获取指定数据源的连接池使用率（非 Druid 数据源返回 0）
+     */
+    public static double getPoolUsageRate(DataSource dataSource) {
+        if (dataSource instanceof DruidDataSource druidDs && druidDs.getMaxActive() > 0) {
             int activeCount = druidDs.getActiveCount();
             int maxActive = druidDs.getMaxActive();
             return (double) activeCount / maxActive * 100;
@@ -20,4 +20,21 @@ public interface DatabaseFailoverIntegration {
      * 执行从库恢复检测
      */
     void performRecoveryCheck();
+
+    /**
+     * 处理从库连接故障
+     *
+     * @param slaveKey 从库键
+     */
+    default void handleSlaveFailure(String slaveKey) {
+    }
+
+    /**
+     * 从库探测成功时检查是否需要从故障列表恢复
+     *
+     * @param slaveKey   从库键
+     * @param dataSource 从库数据源
+     */
+    default void checkSlaveRecovery(String slaveKey, DataSource dataSource) {
+    }
 }
@@ -0,0 +1,70 @@
+package com.basebackend.database.routing;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 读写路由意图上下文
+ * 与 DataSourceContextHolder 一样使用栈结构支持嵌套；外层 {@link MasterOnly} 会覆盖内层的读意图
+ */
+public final class ReadWriteContextHolder {
+
+    /**
+     * 路由意图
+     */
+    public enum Intent {
+        /**
+         * 优先读从库
+         */
+        READ,
+        /**
+         * 强制主库
+         */
+        MASTER
+    }
+
+    private static final ThreadLocal<Deque<Intent>> CONTEXT_HOLDER = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private ReadWriteContextHolder() {
+    }
+
+    /**
+     * 压入路由意图；外层已是 MASTER 时保持 MASTER
+     */
+    public static void push(Intent intent) {
+        Deque<Intent> stack = CONTEXT_HOLDER.get();
+        stack.push(stack.peek() == Intent.MASTER ? Intent.MASTER : intent);
+    }
+
+    /**
+     * 弹出栈顶意图，栈空时清理 ThreadLocal
+     */
+    public static void pop() {
+        Deque<Intent> stack = CONTEXT_HOLDER.get();
+        if (!stack.isEmpty()) {
+            stack.pop();
+        }
+        if (stack.isEmpty()) {
+            CONTEXT_HOLDER.remove();
+        }
+    }
+
+    /**
+     * 当前路由意图，没有时返回 null
+     */
+    public static Intent current() {
+        Deque<Intent> stack = CONTEXT_HOLDER.get();
+        Intent intent = stack.peek();
+        if (intent == null) {
+            CONTEXT_HOLDER.remove();
+        }
+        return intent;
+    }
+
+    /**
+     * 完全清空
+     */
+    public static void clear() {
+        CONTEXT_HOLDER.remove();
+    }
+}
@@ -0,0 +1,93 @@
+package com.basebackend.database.routing;
+
+import com.basebackend.common.context.UserContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 读写路由器
+ * 在没有显式 {@code @DS} 数据源时由 {@link com.basebackend.database.dynamic.DynamicDataSource} 调用：
+ * <ul>
+ *   <li>{@link MasterOnly} 或写操作：主库</li>
+ *   <li>{@link SlavePreferred} 或只读事务：会话处于写后粘滞窗口内走主库，否则按权重选择延迟达标的从库</li>
+ *   <li>没有可用从库：主库</li>
+ * </ul>
+ */
+public class ReadWriteRouter {
+
+    private final ReplicaPool replicaPool;
+    private final ReadYourWritesTracker tracker;
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+
+    public ReadWriteRouter(ReplicaPool replicaPool, ReadYourWritesTracker tracker) {
+        this.replicaPool = replicaPool;
+        this.tracker = tracker;
+    }
+
+    /**
+     * 决定当前语句的目标从库
+     *
+     * @return 从库键；返回 null 表示使用主库
+     */
+    public String route() {
+        ReadWriteContextHolder.Intent intent = ReadWriteContextHolder.current();
+        if (intent == ReadWriteContextHolder.Intent.MASTER) {
+            return null;
+        }
+        if (intent != ReadWriteContextHolder.Intent.READ
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        if (tracker.isSticky(currentSessionKey())) {
+            stickyReads.increment();
+            return null;
+        }
+        String replica = replicaPool.select();
+        if (replica == null) {
+            fallbackReads.increment();
+            return null;
+        }
+        replicaReads.increment();
+        return replica;
+    }
+
+    /**
+     * 记录当前会话发生了写入
+     */
+    public void markWrite() {
+        tracker.markWrite(currentSessionKey());
+    }
+
+    public ReplicaPool getReplicaPool() {
+        return replicaPool;
+    }
+
+    public ReadYourWritesTracker getTracker() {
+        return tracker;
+    }
+
+    /**
+     * 路由统计
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "replicaReads", replicaReads.sum(),
+                "stickyReads", stickyReads.sum(),
+                "fallbackReads", fallbackReads.sum(),
+                "availableReplicas", replicaPool.availableReplicas(),
+                "trackedSessions", tracker.trackedSessions());
+    }
+
+    /**
+     * 会话键：登录用户按用户 ID，其余按线程跟踪
+     */
+    private static String currentSessionKey() {
+        Long userId = UserContextHolder.getUserId();
+        return userId == null ? null : "user:" + userId;
+    }
+}
@@ -0,0 +1,77 @@
+package com.basebackend.database.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+
+/**
+ * 读写路由切面
+ * 处理 {@link MasterOnly}、{@link SlavePreferred} 与 {@code @Transactional(readOnly = true)}，设置读写路由意图。
+ * 必须在事务切面之前执行：事务开始时就会获取连接，此时只读标志尚未绑定到当前线程
+ */
+@Slf4j
+@Aspect
+@Order(2) // 在 DataSourceAspect 之后、事务切面之前执行
+public class ReadWriteRoutingAspect {
+
+    @Pointcut("@annotation(com.basebackend.database.routing.MasterOnly) "
+            + "|| @within(com.basebackend.database.routing.MasterOnly) "
+            + "|| @annotation(com.basebackend.database.routing.SlavePreferred) "
+            + "|| @within(com.basebackend.database.routing.SlavePreferred) "
+            + "|| @annotation(org.springframework.transaction.annotation.Transactional) "
+            + "|| @within(org.springframework.transaction.annotation.Transactional)")
+    public void routingPointcut() {
+    }
+
+    @Around("routingPointcut()")
+    public Object around(ProceedingJoinPoint point) throws Throwable {
+        ReadWriteContextHolder.Intent intent = resolveIntent(point);
+        if (intent == null) {
+            return point.proceed();
+        }
+        ReadWriteContextHolder.push(intent);
+        try {
+            return point.proceed();
+        } finally {
+            ReadWriteContextHolder.pop();
+        }
+    }
+
+    /**
+     * 方法上的注解优先于类上的注解
+     */
+    private ReadWriteContextHolder.Intent resolveIntent(ProceedingJoinPoint point) {
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        ReadWriteContextHolder.Intent intent = intentOf(method.getAnnotation(MasterOnly.class),
+                method.getAnnotation(SlavePreferred.class), AnnotationUtils.findAnnotation(method, Transactional.class));
+        if (intent != null) {
+            return intent;
+        }
+        Class<?> targetClass = point.getTarget().getClass();
+        return intentOf(AnnotationUtils.findAnnotation(targetClass, MasterOnly.class),
+                AnnotationUtils.findAnnotation(targetClass, SlavePreferred.class),
+                AnnotationUtils.findAnnotation(targetClass, Transactional.class));
+    }
+
+    private static ReadWriteContextHolder.Intent intentOf(MasterOnly masterOnly, SlavePreferred slavePreferred,
+                                                          Transactional transactional) {
+        if (masterOnly != null) {
+            return ReadWriteContextHolder.Intent.MASTER;
+        }
+        if (slavePreferred != null) {
+            return ReadWriteContextHolder.Intent.READ;
+        }
+        if (transactional != null) {
+            return transactional.readOnly() ? ReadWriteContextHolder.Intent.READ : ReadWriteContextHolder.Intent.MASTER;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.basebackend.database.routing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 写后读粘滞跟踪
+ * 会话写入后的一个短窗口内，该会话的读请求回到主库，避免读到尚未复制的旧数据
+ *
+ * 会话键为空（如后台任务、未登录请求）时按线程跟踪；线程复用只会让读请求多走一次主库，不会破坏一致性
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> threadLastWrite = new ThreadLocal<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this(windowMillis, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(long windowMillis, LongSupplier nanoClock) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMillis));
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 记录会话刚发生写入
+     */
+    public void markWrite(String sessionKey) {
+        if (windowNanos == 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (sessionKey == null) {
+            threadLastWrite.set(now);
+        } else {
+            lastWrites.put(sessionKey, now);
+        }
+    }
+
+    /**
+     * 会话是否仍在写后粘滞窗口内
+     */
+    public boolean isSticky(String sessionKey) {
+        if (windowNanos == 0) {
+            return false;
+        }
+        Long lastWrite = sessionKey == null ? threadLastWrite.get() : lastWrites.get(sessionKey);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - lastWrite < windowNanos) {
+            return true;
+        }
+        if (sessionKey == null) {
+            threadLastWrite.remove();
+        } else {
+            lastWrites.remove(sessionKey, lastWrite);
+        }
+        return false;
+    }
+
+    /**
+     * 清理已过窗口的会话记录（由后台探测线程顺带调用）
+     */
+    public void purgeExpired() {
+        long now = nanoClock.getAsLong();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    /**
+     * 当前跟踪的会话数
+     */
+    public int trackedSessions() {
+        return lastWrites.size();
+    }
+}
@@ -0,0 +1,138 @@
+package com.basebackend.database.routing;
+
+import com.basebackend.database.dynamic.DynamicDataSource;
+import com.basebackend.database.health.monitor.ConnectionPoolMonitor;
+import com.basebackend.database.health.spi.DatabaseFailoverIntegration;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从库健康与复制延迟探测
+ * 后台线程按固定间隔探测每个从库：连接可用、复制延迟不超过阈值才参与读路由；
+ * 参与选择的权重按连接池使用率折算，繁忙的从库分到更少的读请求
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    private final DynamicDataSource dynamicDataSource;
+    private final ReadWriteRouter router;
+    private final ReplicationLagProbe lagProbe;
+    private final long maxLagMillis;
+    private final long probeIntervalMillis;
+    private final int probeTimeoutSeconds;
+    /**
+     * 当前不可达的从库，只在状态变化时通知故障转移模块
+     */
+    private final Set<String> unreachableReplicas = ConcurrentHashMap.newKeySet();
+    private volatile DatabaseFailoverIntegration failoverIntegration;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaHealthMonitor(DynamicDataSource dynamicDataSource, ReadWriteRouter router,
+                                ReplicationLagProbe lagProbe, long maxLagMillis,
+                                long probeIntervalMillis, int probeTimeoutSeconds) {
+        this.dynamicDataSource = dynamicDataSource;
+        this.router = router;
+        this.lagProbe = lagProbe;
+        this.maxLagMillis = maxLagMillis;
+        this.probeIntervalMillis = Math.max(100, probeIntervalMillis);
+        this.probeTimeoutSeconds = Math.max(1, probeTimeoutSeconds);
+    }
+
+    /**
+     * 设置故障转移集成（可选），从库不可达/恢复时同步通知
+     */
+    public void setFailoverIntegration(DatabaseFailoverIntegration failoverIntegration) {
+        this.failoverIntegration = failoverIntegration;
+    }
+
+    /**
+     * 立即探测一次并启动定时探测
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probeAllSafely, 0, probeIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Replica health monitor started: replicas={}, maxLag={}ms, interval={}ms",
+                router.getReplicaPool().replicaKeys(), maxLagMillis, probeIntervalMillis);
+    }
+
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 探测所有从库并刷新路由池
+     */
+    public void probeAll() {
+        ReplicaPool pool = router.getReplicaPool();
+        for (String key : pool.replicaKeys()) {
+            pool.update(key, probe(key, pool.weightOf(key)));
+        }
+        router.getTracker().purgeExpired();
+    }
+
+    private void probeAllSafely() {
+        try {
+            probeAll();
+        } catch (Exception e) {
+            log.error("Replica probe round failed", e);
+        }
+    }
+
+    private ReplicaPool.ReplicaStatus probe(String key, int weight) {
+        long now = System.currentTimeMillis();
+        DataSource dataSource = dynamicDataSource.getResolvedDataSources().get(key);
+        if (dataSource == null) {
+            return new ReplicaPool.ReplicaStatus(false, -1, 0, "datasource not registered", now);
+        }
+        long lagMillis;
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(probeTimeoutSeconds)) {
+                return unreachable(key, "connection invalid", now);
+            }
+            lagMillis = lagProbe.probeLagMillis(connection);
+        } catch (Exception e) {
+            log.debug("Replica [{}] probe failed: {}", key, e.getMessage());
+            return unreachable(key, e.getMessage(), now);
+        }
+        if (unreachableReplicas.remove(key)) {
+            DatabaseFailoverIntegration integration = failoverIntegration;
+            if (integration != null) {
+                integration.checkSlaveRecovery(key, dataSource);
+            }
+        }
+        if (lagMillis < 0) {
+            return new ReplicaPool.ReplicaStatus(false, lagMillis, 0, "replication stopped", now);
+        }
+        if (lagMillis > maxLagMillis) {
+            return new ReplicaPool.ReplicaStatus(false, lagMillis, 0, "lag exceeds " + maxLagMillis + "ms", now);
+        }
+        double usage = ConnectionPoolMonitor.getPoolUsageRate(dataSource);
+        int effectiveWeight = Math.max(1, (int) Math.round(weight * (1 - Math.min(usage, 100) / 100)));
+        return new ReplicaPool.ReplicaStatus(true, lagMillis, effectiveWeight, null, now);
+    }
+
+    private ReplicaPool.ReplicaStatus unreachable(String key, String reason, long now) {
+        DatabaseFailoverIntegration integration = failoverIntegration;
+        if (unreachableReplicas.add(key) && integration != null) {
+            integration.handleSlaveFailure(key);
+        }
+        return new ReplicaPool.ReplicaStatus(false, -1, 0, reason, now);
+    }
+}
@@ -0,0 +1,143 @@
+package com.basebackend.database.routing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 加权从库池
+ * 每次选择只读一个不可变快照（可用从库 + 累计权重），一次随机数 + 二分查找，无锁
+ * 快照由后台探测线程在从库状态变化时重建；从库在第一次探测成功前不参与选择
+ */
+@Slf4j
+public class ReplicaPool {
+
+    private final Map<String, Integer> weights;
+    private final Map<String, ReplicaStatus> statuses = new LinkedHashMap<>();
+    private volatile Selection selection = Selection.EMPTY;
+
+    /**
+     * @param weights 从库键 -> 配置权重，权重 <= 0 的从库忽略
+     */
+    public ReplicaPool(Map<String, Integer> weights) {
+        Map<String, Integer> valid = new LinkedHashMap<>();
+        weights.forEach((key, weight) -> {
+            if (key != null && weight != null && weight > 0) {
+                valid.put(key, weight);
+            }
+        });
+        this.weights = Collections.unmodifiableMap(valid);
+        this.weights.keySet().forEach(key -> statuses.put(key, ReplicaStatus.unknown()));
+    }
+
+    /**
+     * 按权重选择一个可用从库
+     *
+     * @return 从库键，没有可用从库时返回 null
+     */
+    public String select() {
+        Selection current = selection;
+        String[] keys = current.keys;
+        if (keys.length == 0) {
+            return null;
+        }
+        if (keys.length == 1) {
+            return keys[0];
+        }
+        int point = ThreadLocalRandom.current().nextInt(current.totalWeight);
+        int index = Arrays.binarySearch(current.cumulativeWeights, point + 1);
+        return keys[index >= 0 ? index : -index - 1];
+    }
+
+    /**
+     * 配置的从库键
+     */
+    public Set<String> replicaKeys() {
+        return weights.keySet();
+    }
+
+    /**
+     * 配置的权重
+     */
+    public int weightOf(String key) {
+        return weights.getOrDefault(key, 0);
+    }
+
+    /**
+     * 更新从库状态，可用集合或权重变化时重建选择快照
+     */
+    public synchronized void update(String key, ReplicaStatus status) {
+        if (!weights.containsKey(key)) {
+            return;
+        }
+        ReplicaStatus previous = statuses.put(key, status);
+        if (previous != null && previous.available() == status.available()
+                && previous.effectiveWeight() == status.effectiveWeight()) {
+            return;
+        }
+        if (previous != null && previous.available() != status.available()) {
+            log.info("Replica [{}] {}: lag={}ms, reason={}", key,
+                    status.available() ? "joined the read pool" : "left the read pool",
+                    status.lagMillis(), status.reason());
+        }
+        rebuild();
+    }
+
+    /**
+     * 当前可用的从库键
+     */
+    public List<String> availableReplicas() {
+        return List.of(selection.keys);
+    }
+
+    /**
+     * 所有从库的最新状态
+     */
+    public synchronized Map<String, ReplicaStatus> getStatuses() {
+        return Map.copyOf(statuses);
+    }
+
+    private void rebuild() {
+        List<String> keys = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, ReplicaStatus> entry : statuses.entrySet()) {
+            ReplicaStatus status = entry.getValue();
+            if (status.available() && status.effectiveWeight() > 0) {
+                total += status.effectiveWeight();
+                keys.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        selection = new Selection(keys.toArray(String[]::new),
+                cumulative.stream().mapToInt(Integer::intValue).toArray(), total);
+    }
+
+    /**
+     * 从库状态
+     *
+     * @param available       是否参与读路由
+     * @param lagMillis       最近一次探测到的复制延迟（毫秒），未知为 -1
+     * @param effectiveWeight 参与选择的实际权重（按连接池负载折算）
+     * @param reason          不可用原因
+     * @param checkedAt       最近一次探测时间（毫秒时间戳）
+     */
+    public record ReplicaStatus(boolean available, long lagMillis, int effectiveWeight, String reason,
+                                long checkedAt) {
+
+        static ReplicaStatus unknown() {
+            return new ReplicaStatus(false, -1, 0, "not probed yet", 0);
+        }
+    }
+
+    private record Selection(String[] keys, int[] cumulativeWeights, int totalWeight) {
+        static final Selection EMPTY = new Selection(new String[0], new int[0], 0);
+    }
+}
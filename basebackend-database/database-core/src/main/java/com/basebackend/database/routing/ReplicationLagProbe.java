@@ -0,0 +1,21 @@
+package com.basebackend.database.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 复制延迟探测
+ * 默认实现为 {@link SqlReplicationLagProbe}；其他复制拓扑（如心跳表）可自行实现并注册为 Bean
+ */
+@FunctionalInterface
+public interface ReplicationLagProbe {
+
+    /**
+     * 在从库连接上探测复制延迟
+     *
+     * @param connection 从库连接（调用方负责关闭）
+     * @return 复制延迟（毫秒）；无法判断（如复制线程已停止）返回 -1
+     * @throws SQLException 探测失败，视为从库不可用
+     */
+    long probeLagMillis(Connection connection) throws SQLException;
+}
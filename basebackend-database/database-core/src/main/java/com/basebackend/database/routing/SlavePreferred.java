@@ -0,0 +1,27 @@
+package com.basebackend.database.routing;
+
+import java.lang.annotation.*;
+
+/**
+ * 从库优先读取注解
+ * 标注的方法（或类中所有方法）中的查询路由到从库池，按权重选择延迟在阈值内的健康从库
+ *
+ * 以下情况仍然读主库：
+ * 1. 当前会话在粘滞窗口内刚写过（写后读一致性）
+ * 2. 所有从库都不可用或延迟超限
+ * 3. 外层方法标注了 {@link MasterOnly}
+ *
+ * 显式的 {@code @DS} 注解优先级最高，不受本注解影响。
+ * {@code @Transactional(readOnly = true)} 的方法无需再标注本注解。
+ *
+ * @author BaseBackend
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SlavePreferred {
+    /**
+     * 描述信息
+     */
+    String value() default "";
+}
@@ -0,0 +1,69 @@
+package com.basebackend.database.routing;
+
+import com.basebackend.database.config.DatabaseVendor;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 基于 SQL 的复制延迟探测
+ * 查询结果为延迟秒数（可带小数）；没有结果行表示该库不是复制从库，延迟按 0 处理；结果为 NULL 表示复制中断
+ */
+public class SqlReplicationLagProbe implements ReplicationLagProbe {
+
+    /**
+     * MySQL 8.0.22+：SHOW REPLICA STATUS 的 Seconds_Behind_Source 列
+     */
+    static final String MYSQL_SQL = "SHOW REPLICA STATUS";
+    static final String MYSQL_COLUMN = "Seconds_Behind_Source";
+
+    /**
+     * PostgreSQL：WAL 已全部回放时延迟为 0，避免主库空闲时把"最后一次回放距今"误判为延迟
+     */
+    static final String POSTGRESQL_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final String sql;
+    private final String column;
+    private final int timeoutSeconds;
+
+    /**
+     * @param sql            延迟查询语句
+     * @param column         延迟所在列名，为 null 时取第一列
+     * @param timeoutSeconds 查询超时（秒）
+     */
+    public SqlReplicationLagProbe(String sql, String column, int timeoutSeconds) {
+        this.sql = sql;
+        this.column = (column == null || column.isBlank()) ? null : column;
+        this.timeoutSeconds = Math.max(0, timeoutSeconds);
+    }
+
+    /**
+     * 按数据库厂商创建默认探测
+     */
+    public static SqlReplicationLagProbe forVendor(DatabaseVendor vendor, int timeoutSeconds) {
+        return vendor == DatabaseVendor.POSTGRESQL
+                ? new SqlReplicationLagProbe(POSTGRESQL_SQL, null, timeoutSeconds)
+                : new SqlReplicationLagProbe(MYSQL_SQL, MYSQL_COLUMN, timeoutSeconds);
+    }
+
+    @Override
+    public long probeLagMillis(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet rs = statement.executeQuery(sql)) {
+                if (!rs.next()) {
+                    return 0;
+                }
+                double seconds = column == null ? rs.getDouble(1) : rs.getDouble(column);
+                if (rs.wasNull()) {
+                    return -1;
+                }
+                return Math.max(0, Math.round(seconds * 1000));
+            }
+        }
+    }
+}
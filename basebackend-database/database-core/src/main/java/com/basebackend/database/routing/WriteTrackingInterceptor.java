@@ -0,0 +1,49 @@
+package com.basebackend.database.routing;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 写操作跟踪拦截器
+ * 拦截 INSERT/UPDATE/DELETE：执行期间压入 MASTER 意图，保证写语句在 {@link SlavePreferred} 方法内、
+ * 或粘滞窗口为 0 时也路由到主库；同时记录当前会话的写入时间，供写后读粘滞判断。
+ * 在事务中时于提交后再记录一次，使粘滞窗口从数据真正可被复制的时刻开始计算
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class WriteTrackingInterceptor implements Interceptor {
+
+    private final ReadWriteRouter router;
+
+    public WriteTrackingInterceptor(ReadWriteRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        router.markWrite();
+        Object result;
+        ReadWriteContextHolder.push(ReadWriteContextHolder.Intent.MASTER);
+        try {
+            result = invocation.proceed();
+        } finally {
+            ReadWriteContextHolder.pop();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    router.markWrite();
+                }
+            });
+        }
+        return result;
+    }
+}
@@ -0,0 +1,174 @@
+package com.basebackend.database.routing;
+
+import com.basebackend.database.dynamic.DynamicDataSource;
+import org.apache.ibatis.plugin.Invocation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 读写分离路由测试
+ * 使用 H2 内存库模拟主从，复制延迟通过从库中的 repl_lag 表模拟
+ */
+@DisplayName("读写分离路由测试")
+class ReadWriteRoutingTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<String, JdbcDataSource> replicas = new LinkedHashMap<>();
+    private DynamicDataSource dynamicDataSource;
+    private ReadWriteRouter router;
+    private ReplicaHealthMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put("master", h2("master"));
+        for (String key : new String[]{"slave1", "slave2"}) {
+            JdbcDataSource replica = h2(key);
+            execute(replica, "CREATE TABLE IF NOT EXISTS repl_lag (seconds DOUBLE)");
+            execute(replica, "DELETE FROM repl_lag");
+            execute(replica, "INSERT INTO repl_lag VALUES (0)");
+            replicas.put(key, replica);
+            targets.put(key, replica);
+        }
+
+        dynamicDataSource = new DynamicDataSource();
+        dynamicDataSource.setSkipValidation(true);
+        dynamicDataSource.setTargetDataSources(targets);
+        dynamicDataSource.afterPropertiesSet();
+
+        router = new ReadWriteRouter(new ReplicaPool(Map.of("slave1", 3, "slave2", 1)),
+                new ReadYourWritesTracker(2000, clock::get));
+        dynamicDataSource.setReadWriteRouter(router);
+        monitor = new ReplicaHealthMonitor(dynamicDataSource, router,
+                new SqlReplicationLagProbe("SELECT seconds FROM repl_lag", null, 1), 1000, 2000, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteContextHolder.clear();
+    }
+
+    @Test
+    @DisplayName("只读请求按权重分配到从库，未标注的请求走主库")
+    void shouldRouteReadsByWeight() throws SQLException {
+        monitor.probeAll();
+
+        assertThat(currentDatabase()).isEqualTo("master");
+
+        Map<String, Integer> counts = new HashMap<>();
+        ReadWriteContextHolder.push(ReadWriteContextHolder.Intent.READ);
+        for (int i = 0; i < 2000; i++) {
+            counts.merge(router.route(), 1, Integer::sum);
+        }
+
+        assertThat(counts).containsOnlyKeys("slave1", "slave2");
+        assertThat(counts.get("slave1")).isGreaterThan(counts.get("slave2") * 2);
+        assertThat(currentDatabase()).startsWith("slave");
+    }
+
+    @Test
+    @DisplayName("延迟超过阈值的从库被剔除，恢复后重新加入")
+    void shouldExcludeLaggingReplica() throws SQLException {
+        execute(replicas.get("slave1"), "UPDATE repl_lag SET seconds = 5");
+        monitor.probeAll();
+
+        assertThat(router.getReplicaPool().availableReplicas()).containsExactly("slave2");
+        assertThat(router.getReplicaPool().getStatuses().get("slave1").lagMillis()).isEqualTo(5000);
+
+        execute(replicas.get("slave1"), "UPDATE repl_lag SET seconds = 0.2");
+        monitor.probeAll();
+
+        assertThat(router.getReplicaPool().availableReplicas()).containsExactlyInAnyOrder("slave1", "slave2");
+    }
+
+    @Test
+    @DisplayName("写入后粘滞窗口内读主库")
+    void shouldReadMasterWithinStickyWindow() {
+        monitor.probeAll();
+        ReadWriteContextHolder.push(ReadWriteContextHolder.Intent.READ);
+
+        router.markWrite();
+        assertThat(router.route()).isNull();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2000));
+        assertThat(router.route()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("读意图内的写语句走主库，不依赖粘滞窗口")
+    void shouldRouteWritesToMasterWithoutStickyWindow() throws Throwable {
+        monitor.probeAll();
+        ReadWriteRouter noSticky = new ReadWriteRouter(router.getReplicaPool(), new ReadYourWritesTracker(0, clock::get));
+        WriteTrackingInterceptor interceptor = new WriteTrackingInterceptor(noSticky);
+        Invocation invocation = mock(Invocation.class);
+        when(invocation.proceed()).thenAnswer(call -> noSticky.route());
+        ReadWriteContextHolder.push(ReadWriteContextHolder.Intent.READ);
+
+        assertThat(interceptor.intercept(invocation)).isNull();
+        assertThat(noSticky.route()).startsWith("slave");
+    }
+
+    @Test
+    @DisplayName("MasterOnly 意图覆盖内层的读意图")
+    void shouldHonourOuterMasterIntent() {
+        monitor.probeAll();
+
+        ReadWriteContextHolder.push(ReadWriteContextHolder.Intent.MASTER);
+        ReadWriteContextHolder.push(ReadWriteContextHolder.Intent.READ);
+
+        assertThat(router.route()).isNull();
+    }
+
+    @Test
+    @DisplayName("所有从库不可用时回退到主库")
+    void shouldFallBackToMasterWhenNoReplicaAvailable() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("connection refused"));
+        dynamicDataSource.addDataSource("slave1", broken);
+        execute(replicas.get("slave2"), "DELETE FROM repl_lag");
+        execute(replicas.get("slave2"), "INSERT INTO repl_lag VALUES (NULL)");
+        monitor.probeAll();
+
+        assertThat(router.getReplicaPool().availableReplicas()).isEmpty();
+        ReadWriteContextHolder.push(ReadWriteContextHolder.Intent.READ);
+        assertThat(currentDatabase()).isEqualTo("master");
+        assertThat(router.getStats()).containsEntry("fallbackReads", 1L);
+    }
+
+    private String currentDatabase() throws SQLException {
+        try (Connection connection = dynamicDataSource.getConnection()) {
+            String url = connection.getMetaData().getURL();
+            int end = url.indexOf(';');
+            return url.substring(url.indexOf("rw_") + 3, end < 0 ? url.length() : end);
+        }
+    }
+
+    private static JdbcDataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:rw_" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -30,4 +30,14 @@ public class DatabaseFailoverIntegrationImpl implements DatabaseFailoverIntegrat
     public void performRecoveryCheck() {
         recoveryManager.performRecoveryCheck();
     }
+
+    @Override
+    public void handleSlaveFailure(String slaveKey) {
+        failoverHandler.handleSlaveFailure(slaveKey);
+    }
+
+    @Override
+    public void checkSlaveRecovery(String slaveKey, DataSource dataSource) {
+        failoverHandler.checkSlaveRecovery(slaveKey, dataSource);
+    }
 }
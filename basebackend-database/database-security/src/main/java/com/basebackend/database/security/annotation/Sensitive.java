@@ -23,6 +23,11 @@ import java.lang.annotation.Target;
  *     // 不需要特定权限，但会根据VIEW_SENSITIVE_DATA权限决定是否脱敏
  *     @Sensitive
  *     private String address;
+ *
+ *     // 加密存储，同时把 HMAC 盲索引写入 mobileHash 字段，mobile = ? 查询自动改写为 mobile_hash = ?
+ *     @Sensitive(type = SensitiveType.PHONE, blindIndex = "mobileHash")
+ *     private String mobile;
+ *     private String mobileHash;
  * }
  * </pre>
  */
@@ -62,4 +67,11 @@ public @interface Sensitive {
      * - VIEW_ADDRESS: 查看地址
      */
     String requiredPermission() default "";
+
+    /**
+     * 盲索引影子字段名（同一实体中的 String 字段）
+     * 非空时，保存前把明文的 HMAC 写入该字段，按本字段的等值查询自动改写为按影子字段列查询，
+     * 从而可以走索引。盲索引只支持精确匹配，不支持 LIKE 和范围查询。
+     */
+    String blindIndex() default "";
 }
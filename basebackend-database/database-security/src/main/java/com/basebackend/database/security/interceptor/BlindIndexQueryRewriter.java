@@ -0,0 +1,215 @@
+package com.basebackend.database.security.interceptor;
+
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.basebackend.database.security.metadata.SensitiveClassMetadata;
+import com.basebackend.database.security.metadata.SensitiveFieldAccessor;
+import com.basebackend.database.security.service.EncryptionService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 盲索引查询改写
+ * <p>
+ * 加密列存的是随机 IV 的密文，{@code phone = ?} 永远匹配不到。对配置了
+ * {@code @Sensitive(blindIndex = "...")} 的字段，把等值条件改写为影子列上的等值条件，
+ * 并把参数替换为明文的盲索引：{@code phone = ?} → {@code phone_hash = ?}，这样查询可以走影子列索引。
+ * <p>
+ * 表名通过 FROM/JOIN 子句识别（与 DataScopeInterceptor 一样基于正则），列名来自 MyBatis-Plus 的 TableInfo。
+ * 多表查询时只改写带表名或别名限定的列，避免误改其他表的同名列。
+ */
+@Slf4j
+public class BlindIndexQueryRewriter {
+
+    static final String PARAMETER_PREFIX = "__blind_index_";
+
+    private static final Pattern TABLE_PATTERN = Pattern.compile(
+            "\\b(?:FROM|JOIN)\\s+[`\"]?(\\w+)[`\"]?(?:\\s+(?:AS\\s+)?(\\w+))?", Pattern.CASE_INSENSITIVE);
+
+    private static final Set<String> KEYWORDS = Set.of(
+            "WHERE", "LEFT", "RIGHT", "INNER", "OUTER", "FULL", "CROSS", "JOIN", "ON", "USING",
+            "GROUP", "ORDER", "HAVING", "LIMIT", "OFFSET", "UNION", "FOR", "WINDOW");
+
+    private final EncryptionService encryptionService;
+
+    /**
+     * 表名 -> 该表需要改写的列（无盲索引的表缓存空列表）
+     */
+    private final Map<String, List<IndexedColumn>> columnsByTable = new ConcurrentHashMap<>();
+
+    public BlindIndexQueryRewriter(EncryptionService encryptionService) {
+        this.encryptionService = encryptionService;
+    }
+
+    /**
+     * 改写查询中的加密列等值条件
+     *
+     * @return 改写的条件数
+     */
+    public int rewrite(MappedStatement ms, BoundSql boundSql) {
+        String sql = boundSql.getSql();
+        if (sql == null || sql.indexOf('?') < 0) {
+            return 0;
+        }
+
+        Map<String, String> tablesByQualifier = new HashMap<>();
+        List<String> tables = new ArrayList<>();
+        Matcher tableMatcher = TABLE_PATTERN.matcher(sql);
+        while (tableMatcher.find()) {
+            String table = tableMatcher.group(1);
+            tables.add(table);
+            tablesByQualifier.put(table.toLowerCase(Locale.ROOT), table);
+            String alias = tableMatcher.group(2);
+            if (alias != null && !KEYWORDS.contains(alias.toUpperCase(Locale.ROOT))) {
+                tablesByQualifier.put(alias.toLowerCase(Locale.ROOT), table);
+            }
+        }
+
+        List<Replacement> replacements = new ArrayList<>();
+        for (String table : tables) {
+            for (IndexedColumn column : columnsOf(table)) {
+                Matcher matcher = column.pattern().matcher(sql);
+                while (matcher.find()) {
+                    String qualifier = matcher.group(1);
+                    boolean sameTable = qualifier == null
+                            ? tables.size() == 1
+                            : table.equals(tablesByQualifier.get(qualifier.toLowerCase(Locale.ROOT)));
+                    if (sameTable) {
+                        replacements.add(new Replacement(matcher.start(2), matcher.end(2), column.shadowColumn(),
+                                countPlaceholders(sql, matcher.end() - 1)));
+                    }
+                }
+            }
+        }
+        if (replacements.isEmpty()) {
+            return 0;
+        }
+        replacements.sort(Comparator.comparingInt(Replacement::start));
+
+        Configuration configuration = ms.getConfiguration();
+        List<ParameterMapping> mappings = new ArrayList<>(boundSql.getParameterMappings());
+        StringBuilder rewritten = new StringBuilder(sql.length() + 16 * replacements.size());
+        int copied = 0;
+        int applied = 0;
+        for (Replacement replacement : replacements) {
+            if (replacement.start() < copied || replacement.parameterIndex() >= mappings.size()) {
+                continue;
+            }
+            ParameterMapping mapping = mappings.get(replacement.parameterIndex());
+            Object value = parameterValue(configuration, boundSql, mapping.getProperty());
+            if (!(value instanceof String text) || text.isEmpty() || encryptionService.isEncrypted(text)) {
+                continue;
+            }
+
+            String property = PARAMETER_PREFIX + replacement.parameterIndex();
+            boundSql.setAdditionalParameter(property, encryptionService.blindIndex(text));
+            mappings.set(replacement.parameterIndex(),
+                    new ParameterMapping.Builder(configuration, property, String.class).build());
+            rewritten.append(sql, copied, replacement.start()).append(replacement.shadowColumn());
+            copied = replacement.end();
+            applied++;
+        }
+        if (applied == 0) {
+            return 0;
+        }
+        rewritten.append(sql, copied, sql.length());
+
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        mpBoundSql.sql(rewritten.toString());
+        mpBoundSql.parameterMappings(mappings);
+        log.debug("Rewrote {} encrypted equality predicate(s) to blind index: mapperId={}", applied, ms.getId());
+        return applied;
+    }
+
+    /**
+     * 清除表结构缓存
+     */
+    public void clearCache() {
+        columnsByTable.clear();
+    }
+
+    private List<IndexedColumn> columnsOf(String table) {
+        return columnsByTable.computeIfAbsent(table, key -> {
+            TableInfo tableInfo = TableInfoHelper.getTableInfo(key);
+            if (tableInfo == null) {
+                return List.of();
+            }
+            List<IndexedColumn> columns = new ArrayList<>();
+            for (SensitiveFieldAccessor accessor : SensitiveClassMetadata.of(tableInfo.getEntityType()).getEncryptedFields()) {
+                if (accessor.hasBlindIndex()) {
+                    String column = columnOf(tableInfo, accessor.getName());
+                    columns.add(new IndexedColumn(columnOf(tableInfo, accessor.getBlindIndexField()), Pattern.compile(
+                            "(?<![\\w.`\"])(?:[`\"]?(\\w+)[`\"]?\\.)?([`\"]?" + Pattern.quote(column) + "[`\"]?)\\s*=\\s*\\?",
+                            Pattern.CASE_INSENSITIVE)));
+                }
+            }
+            return List.copyOf(columns);
+        });
+    }
+
+    private static String columnOf(TableInfo tableInfo, String property) {
+        for (TableFieldInfo fieldInfo : tableInfo.getFieldList()) {
+            if (fieldInfo.getProperty().equals(property)) {
+                return fieldInfo.getColumn().replace("`", "").replace("\"", "");
+            }
+        }
+        return StringUtils.camelToUnderline(property);
+    }
+
+    /**
+     * 与 DefaultParameterHandler 相同的取值顺序
+     */
+    private static Object parameterValue(Configuration configuration, BoundSql boundSql, String property) {
+        if (boundSql.hasAdditionalParameter(property)) {
+            return boundSql.getAdditionalParameter(property);
+        }
+        Object parameterObject = boundSql.getParameterObject();
+        if (parameterObject == null) {
+            return null;
+        }
+        if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+            return parameterObject;
+        }
+        return configuration.newMetaObject(parameterObject).getValue(property);
+    }
+
+    /**
+     * 统计 position 之前（不含字符串字面量中）的占位符个数，即 position 处占位符的下标
+     */
+    private static int countPlaceholders(String sql, int position) {
+        int count = 0;
+        boolean inLiteral = false;
+        for (int i = 0; i < position; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            } else if (c == '?' && !inLiteral) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private record IndexedColumn(String shadowColumn, Pattern pattern) {
+    }
+
+    private record Replacement(int start, int end, String shadowColumn, int parameterIndex) {
+    }
+}
@@ -1,7 +1,8 @@
 package com.basebackend.database.security.interceptor;
 
 import com.basebackend.database.config.DatabaseEnhancedProperties;
-import com.basebackend.database.security.annotation.Sensitive;
+import com.basebackend.database.security.metadata.SensitiveClassMetadata;
+import com.basebackend.database.security.metadata.SensitiveFieldAccessor;
 import com.basebackend.database.security.service.EncryptionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,9 +13,11 @@ import org.apache.ibatis.plugin.Invocation;
 import org.apache.ibatis.plugin.Signature;
 import org.springframework.core.annotation.Order;
 
-import java.lang.reflect.Field;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 解密拦截器
@@ -62,101 +65,53 @@ public class DecryptionInterceptor implements Interceptor {
     
     /**
      * 解密结果集
+     * 按实体类分组后逐列批量解密：同一列的密文一次交给 {@link EncryptionService#decryptBatch(List)}，
+     * 访问器与 Cipher 在整列范围内复用
      */
-    private void decryptResult(Object result) throws IllegalAccessException {
+    private void decryptResult(Object result) {
         if (result == null) {
             return;
         }
-        
-        if (result instanceof List<?> list) {
-            // 处理列表结果
-            for (Object item : list) {
-                decryptObject(item);
+
+        List<?> rows = result instanceof List<?> list ? list : List.of(result);
+        Map<Class<?>, List<Object>> rowsByClass = new LinkedHashMap<>();
+        for (Object row : rows) {
+            if (row != null) {
+                rowsByClass.computeIfAbsent(row.getClass(), k -> new ArrayList<>()).add(row);
             }
-        } else {
-            // 处理单个对象
-            decryptObject(result);
-        }
-    }
-    
-    /**
-     * 解密对象中的敏感字段
-     */
-    private void decryptObject(Object obj) throws IllegalAccessException {
-        if (obj == null) {
-            return;
         }
-        
-        Class<?> clazz = obj.getClass();
-        
-        // 跳过基本类型和包装类
-        if (clazz.isPrimitive() || clazz.getName().startsWith("java.")) {
-            return;
-        }
-        
-        // 遍历所有字段
-        Field[] fields = clazz.getDeclaredFields();
-        for (Field field : fields) {
-            // 检查是否有@Sensitive注解
-            Sensitive sensitive = field.getAnnotation(Sensitive.class);
-            if (sensitive == null || !sensitive.encrypt()) {
-                continue;
-            }
-            
-            // 只处理String类型的字段
-            if (field.getType() != String.class) {
-                continue;
-            }
-            
-            field.setAccessible(true);
-            String value = (String) field.get(obj);
-            
-            if (value != null && !value.isEmpty()) {
-                // 解密字段值
-                String decryptedValue = encryptionService.decrypt(value);
-                field.set(obj, decryptedValue);
-                
-                log.debug("Decrypted field: {}.{}", clazz.getSimpleName(), field.getName());
+
+        for (Map.Entry<Class<?>, List<Object>> entry : rowsByClass.entrySet()) {
+            SensitiveClassMetadata metadata = SensitiveClassMetadata.of(entry.getKey());
+            for (SensitiveFieldAccessor accessor : metadata.getEncryptedFields()) {
+                decryptColumn(entry.getValue(), accessor);
             }
         }
-        
-        // 处理父类字段
-        Class<?> superClass = clazz.getSuperclass();
-        if (superClass != null && superClass != Object.class) {
-            decryptSuperClassFields(obj, superClass);
-        }
     }
-    
+
     /**
-     * 解密父类中的敏感字段
+     * 批量解密同一字段
      */
-    private void decryptSuperClassFields(Object obj, Class<?> superClass) throws IllegalAccessException {
-        Field[] superFields = superClass.getDeclaredFields();
-        for (Field field : superFields) {
-            Sensitive sensitive = field.getAnnotation(Sensitive.class);
-            if (sensitive == null || !sensitive.encrypt()) {
-                continue;
-            }
-            
-            if (field.getType() != String.class) {
-                continue;
-            }
-            
-            field.setAccessible(true);
-            String value = (String) field.get(obj);
-            
+    private void decryptColumn(List<Object> rows, SensitiveFieldAccessor accessor) {
+        List<Object> targets = new ArrayList<>(rows.size());
+        List<String> cipherTexts = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            String value = accessor.get(row);
             if (value != null && !value.isEmpty()) {
-                String decryptedValue = encryptionService.decrypt(value);
-                field.set(obj, decryptedValue);
-                
-                log.debug("Decrypted parent field: {}.{}", superClass.getSimpleName(), field.getName());
+                targets.add(row);
+                cipherTexts.add(value);
             }
         }
-        
-        // 递归处理更上层的父类
-        Class<?> grandSuperClass = superClass.getSuperclass();
-        if (grandSuperClass != null && grandSuperClass != Object.class) {
-            decryptSuperClassFields(obj, grandSuperClass);
+        if (cipherTexts.isEmpty()) {
+            return;
         }
+
+        List<String> plainTexts = encryptionService.decryptBatch(cipherTexts);
+        for (int i = 0; i < targets.size(); i++) {
+            accessor.set(targets.get(i), plainTexts.get(i));
+        }
+
+        log.debug("Decrypted field: {}.{}, rows={}",
+                rows.get(0).getClass().getSimpleName(), accessor.getName(), targets.size());
     }
 }
@@ -3,29 +3,29 @@ package com.basebackend.database.security.interceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
 import com.basebackend.database.config.DatabaseEnhancedProperties;
 import com.basebackend.database.exception.EncryptionException;
-import com.basebackend.database.security.annotation.Sensitive;
+import com.basebackend.database.security.metadata.SensitiveClassMetadata;
+import com.basebackend.database.security.metadata.SensitiveFieldAccessor;
 import com.basebackend.database.security.service.AlertService;
 import com.basebackend.database.security.service.EncryptionService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 加密拦截器
  * 在保存数据时自动加密标记为@Sensitive的字段
  * 支持严格模式：加密失败时阻止业务操作
+ * 配置了盲索引的字段：保存时写入 HMAC 影子字段，查询时把等值条件改写到影子列（见 {@link BlindIndexQueryRewriter}）
  */
 @Slf4j
 public class EncryptionInterceptor implements InnerInterceptor {
@@ -33,14 +33,13 @@ public class EncryptionInterceptor implements InnerInterceptor {
     private final EncryptionService encryptionService;
     private final AlertService alertService;
     private final DatabaseEnhancedProperties properties;
+    private final BlindIndexQueryRewriter blindIndexQueryRewriter;
 
     // Performance monitoring
     private static final AtomicLong TOTAL_ENCRYPTION_OPERATIONS = new AtomicLong(0);
     private static final AtomicLong FAILED_ENCRYPTION_OPERATIONS = new AtomicLong(0);
     private static final AtomicLong TOTAL_FIELDS_ENCRYPTED = new AtomicLong(0);
-
-    // Field cache for sensitive fields (class -> list of sensitive fields)
-    private static final ConcurrentHashMap<Class<?>, Field[]> SENSITIVE_FIELD_CACHE = new ConcurrentHashMap<>();
+    private static final AtomicLong TOTAL_QUERIES_REWRITTEN = new AtomicLong(0);
 
     // Operation ID generator
     private static final AtomicLong OPERATION_ID_GENERATOR = new AtomicLong(0);
@@ -51,6 +50,24 @@ public class EncryptionInterceptor implements InnerInterceptor {
         this.encryptionService = encryptionService;
         this.alertService = alertService;
         this.properties = properties;
+        this.blindIndexQueryRewriter = new BlindIndexQueryRewriter(encryptionService);
+    }
+
+    @Override
+    public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds,
+                            ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        if (!properties.getSecurity().getEncryption().isEnabled()) {
+            return;
+        }
+
+        try {
+            if (blindIndexQueryRewriter.rewrite(ms, boundSql) > 0) {
+                TOTAL_QUERIES_REWRITTEN.incrementAndGet();
+            }
+        } catch (Exception e) {
+            // 改写失败时按原 SQL 执行：加密列等值条件查不到数据，但不会泄露或写坏数据
+            log.error("Blind index query rewrite failed: mapperId={}, error={}", ms.getId(), e.getMessage(), e);
+        }
     }
 
     @Override
@@ -111,7 +128,7 @@ public class EncryptionInterceptor implements InnerInterceptor {
     /**
      * 加密敏感字段
      */
-    private void encryptSensitiveFields(Object parameter, long operationId) throws IllegalAccessException {
+    private void encryptSensitiveFields(Object parameter, long operationId) {
         if (parameter == null) {
             log.trace("Encryption skipped: operationId={}, parameter is null", operationId);
             return;
@@ -140,131 +157,38 @@ public class EncryptionInterceptor implements InnerInterceptor {
     }
 
     /**
-     * 加密对象中的敏感字段
+     * 加密对象中的敏感字段，配置了盲索引的字段同时写入影子字段
      */
-    private int encryptObject(Object obj, long operationId) throws IllegalAccessException {
+    private int encryptObject(Object obj, long operationId) {
         if (obj == null) {
             return 0;
         }
 
-        Class<?> clazz = obj.getClass();
-
-        // 跳过基本类型和包装类
-        if (clazz.isPrimitive() || clazz.getName().startsWith("java.")) {
-            return 0;
-        }
-
+        SensitiveClassMetadata metadata = SensitiveClassMetadata.of(obj.getClass());
         int encryptedCount = 0;
-
-        // 获取缓存的敏感字段
-        Field[] sensitiveFields = getCachedSensitiveFields(clazz);
-
-        // 遍历所有敏感字段
-        for (Field field : sensitiveFields) {
-            // 只处理String类型的字段
-            if (field.getType() != String.class) {
-                log.warn("Field {} is marked as @Sensitive but is not a String type, skipping encryption: operationId={}",
-                        field.getName(), operationId);
+        for (SensitiveFieldAccessor accessor : metadata.getEncryptedFields()) {
+            String value = accessor.get(obj);
+            if (value == null || value.isEmpty() || encryptionService.isEncrypted(value)) {
                 continue;
             }
 
-            String value = (String) field.get(obj);
-
-            if (value != null && !value.isEmpty()) {
-                try {
-                    // 加密字段值
-                    String encryptedValue = encryptionService.encrypt(value);
-                    field.set(obj, encryptedValue);
-                    encryptedCount++;
-                    TOTAL_FIELDS_ENCRYPTED.incrementAndGet();
-
-                    log.trace("Encrypted field: {}.{}, operationId={}",
-                        clazz.getSimpleName(), field.getName(), operationId);
-                } catch (Exception e) {
-                    log.error("Failed to encrypt field {}.{}: operationId={}, error={}",
-                        clazz.getSimpleName(), field.getName(), operationId, e.getMessage(), e);
-                    throw e;
+            try {
+                if (accessor.hasBlindIndex()) {
+                    accessor.setBlindIndex(obj, encryptionService.blindIndex(value));
                 }
+                accessor.set(obj, encryptionService.encrypt(value));
+                encryptedCount++;
+                TOTAL_FIELDS_ENCRYPTED.incrementAndGet();
+
+                log.trace("Encrypted field: {}.{}, operationId={}",
+                    obj.getClass().getSimpleName(), accessor.getName(), operationId);
+            } catch (Exception e) {
+                log.error("Failed to encrypt field {}.{}: operationId={}, error={}",
+                    obj.getClass().getSimpleName(), accessor.getName(), operationId, e.getMessage(), e);
+                throw e;
             }
         }
 
-        // 递归处理父类敏感字段
-        Class<?> superClass = clazz.getSuperclass();
-        if (superClass != null && superClass != Object.class) {
-            encryptedCount += encryptSuperClassFields(obj, superClass, operationId);
-        }
-
-        return encryptedCount;
-    }
-
-    /**
-     * 获取缓存的敏感字段
-     */
-    private Field[] getCachedSensitiveFields(Class<?> clazz) {
-        return SENSITIVE_FIELD_CACHE.computeIfAbsent(clazz, k -> {
-            List<Field> sensitiveFields = new ArrayList<>();
-            Class<?> current = clazz;
-
-            // 遍历类层次结构，查找所有@Sensitive注解的字段
-            while (current != null && current != Object.class) {
-                Field[] declaredFields = current.getDeclaredFields();
-                for (Field field : declaredFields) {
-                    Sensitive sensitive = field.getAnnotation(Sensitive.class);
-                    if (sensitive != null && sensitive.encrypt()) {
-                        sensitiveFields.add(field);
-                        field.setAccessible(true); // Pre-set accessible for performance
-                    }
-                }
-                current = current.getSuperclass();
-            }
-
-            return sensitiveFields.toArray(new Field[0]);
-        });
-    }
-
-    /**
-     * 加密父类中的敏感字段
-     */
-    private int encryptSuperClassFields(Object obj, Class<?> superClass, long operationId) throws IllegalAccessException {
-        if (superClass == null || superClass == Object.class) {
-            return 0;
-        }
-
-        int encryptedCount = 0;
-
-        // 获取缓存的父类敏感字段
-        Field[] sensitiveFields = getCachedSensitiveFields(superClass);
-
-        for (Field field : sensitiveFields) {
-            if (field.getType() != String.class) {
-                continue;
-            }
-
-            String value = (String) field.get(obj);
-
-            if (value != null && !value.isEmpty()) {
-                try {
-                    String encryptedValue = encryptionService.encrypt(value);
-                    field.set(obj, encryptedValue);
-                    encryptedCount++;
-                    TOTAL_FIELDS_ENCRYPTED.incrementAndGet();
-
-                    log.trace("Encrypted parent field: {}.{}, operationId={}",
-                        superClass.getSimpleName(), field.getName(), operationId);
-                } catch (Exception e) {
-                    log.error("Failed to encrypt parent field {}.{}: operationId={}, error={}",
-                        superClass.getSimpleName(), field.getName(), operationId, e.getMessage(), e);
-                    throw e;
-                }
-            }
-        }
-
-        // 递归处理更上层的父类
-        Class<?> grandSuperClass = superClass.getSuperclass();
-        if (grandSuperClass != null && grandSuperClass != Object.class) {
-            encryptedCount += encryptSuperClassFields(obj, grandSuperClass, operationId);
-        }
-
         return encryptedCount;
     }
 
@@ -279,7 +203,8 @@ public class EncryptionInterceptor implements InnerInterceptor {
         stats.put("successRate", TOTAL_ENCRYPTION_OPERATIONS.get() > 0 ?
             ((double) (TOTAL_ENCRYPTION_OPERATIONS.get() - FAILED_ENCRYPTION_OPERATIONS.get())
                 / TOTAL_ENCRYPTION_OPERATIONS.get()) * 100 : 0);
-        stats.put("cachedClassTypes", SENSITIVE_FIELD_CACHE.size());
+        stats.put("totalQueriesRewritten", TOTAL_QUERIES_REWRITTEN.get());
+        stats.put("cachedClassTypes", SensitiveClassMetadata.cacheSize());
         return stats;
     }
 
@@ -290,6 +215,7 @@ public class EncryptionInterceptor implements InnerInterceptor {
         TOTAL_ENCRYPTION_OPERATIONS.set(0);
         FAILED_ENCRYPTION_OPERATIONS.set(0);
         TOTAL_FIELDS_ENCRYPTED.set(0);
+        TOTAL_QUERIES_REWRITTEN.set(0);
         log.info("Encryption interceptor performance counters reset");
     }
 
@@ -297,7 +223,8 @@ public class EncryptionInterceptor implements InnerInterceptor {
      * 清除字段缓存（用于测试或内存管理）
      */
     public void clearFieldCache() {
-        SENSITIVE_FIELD_CACHE.clear();
+        SensitiveClassMetadata.clearCache();
+        blindIndexQueryRewriter.clearCache();
         log.info("Encryption interceptor field cache cleared");
     }
 }
@@ -2,14 +2,17 @@ package com.basebackend.database.security.masking;
 
 import ch.qos.logback.classic.pattern.MessageConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.basebackend.common.masking.engine.MaskingEngine;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.regex.Matcher;
+import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
 
 /**
  * 日志脱敏转换器
  * 用于Logback日志框架，自动脱敏日志中的敏感信息
+ * 所有规则编译为一个 {@link MaskingEngine}，每条日志只扫描一遍；同一位置按手机号、身份证、银行卡、邮箱、密码的顺序优先，
+ * 不再出现先按手机号截断身份证中间 11 位导致身份证规则失效的情况
  * 
  * 配置方式（在logback-spring.xml中）：
  * <pre>
@@ -40,6 +43,14 @@ public class LogMaskingConverter extends MessageConverter {
     
     private static final String MASK_CHAR = "*";
     
+    private static final MaskingEngine ENGINE = MaskingEngine.builder()
+            .rule("phone", PHONE_PATTERN, match -> maskPhone(match.group()))
+            .rule("idCard", ID_CARD_PATTERN, match -> maskIdCard(match.group()))
+            .rule("bankCard", BANK_CARD_PATTERN, match -> maskBankCard(match.group()))
+            .rule("email", EMAIL_PATTERN, match -> maskEmail(match.group()))
+            .rule("password", PASSWORD_PATTERN, LogMaskingConverter::maskPassword)
+            .build();
+    
     @Override
     public String convert(ILoggingEvent event) {
         String message = event.getFormattedMessage();
@@ -49,21 +60,7 @@ public class LogMaskingConverter extends MessageConverter {
         }
         
         try {
-            // 脱敏手机号
-            message = maskPattern(message, PHONE_PATTERN, this::maskPhone);
-            
-            // 脱敏身份证号
-            message = maskPattern(message, ID_CARD_PATTERN, this::maskIdCard);
-            
-            // 脱敏银行卡号
-            message = maskPattern(message, BANK_CARD_PATTERN, this::maskBankCard);
-            
-            // 脱敏邮箱
-            message = maskPattern(message, EMAIL_PATTERN, this::maskEmail);
-            
-            // 脱敏密码
-            message = maskPassword(message);
-            
+            message = ENGINE.mask(message);
         } catch (Exception e) {
             // 脱敏失败不应该影响日志输出
             log.error("Failed to mask sensitive data in log", e);
@@ -72,27 +69,10 @@ public class LogMaskingConverter extends MessageConverter {
         return message;
     }
     
-    /**
-     * 使用正则模式脱敏
-     */
-    private String maskPattern(String message, Pattern pattern, MaskFunction maskFunction) {
-        Matcher matcher = pattern.matcher(message);
-        StringBuffer sb = new StringBuffer();
-        
-        while (matcher.find()) {
-            String matched = matcher.group();
-            String masked = maskFunction.mask(matched);
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(masked));
-        }
-        
-        matcher.appendTail(sb);
-        return sb.toString();
-    }
-    
     /**
      * 脱敏手机号
      */
-    private String maskPhone(String phone) {
+    private static String maskPhone(String phone) {
         if (phone.length() != 11) {
             return phone;
         }
@@ -102,7 +82,7 @@ public class LogMaskingConverter extends MessageConverter {
     /**
      * 脱敏身份证号
      */
-    private String maskIdCard(String idCard) {
+    private static String maskIdCard(String idCard) {
         if (idCard.length() != 18) {
             return idCard;
         }
@@ -112,7 +92,7 @@ public class LogMaskingConverter extends MessageConverter {
     /**
      * 脱敏银行卡号
      */
-    private String maskBankCard(String bankCard) {
+    private static String maskBankCard(String bankCard) {
         if (bankCard.length() < 8) {
             return MASK_CHAR.repeat(bankCard.length());
         }
@@ -125,7 +105,7 @@ public class LogMaskingConverter extends MessageConverter {
     /**
      * 脱敏邮箱
      */
-    private String maskEmail(String email) {
+    private static String maskEmail(String email) {
         int atIndex = email.indexOf('@');
         if (atIndex <= 0) {
             return email;
@@ -142,27 +122,10 @@ public class LogMaskingConverter extends MessageConverter {
     }
     
     /**
-     * 脱敏密码
-     */
-    private String maskPassword(String message) {
-        Matcher matcher = PASSWORD_PATTERN.matcher(message);
-        StringBuffer sb = new StringBuffer();
-        
-        while (matcher.find()) {
-            String key = matcher.group(1);
-            String replacement = key + matcher.group(0).substring(key.length(), matcher.group(0).indexOf(matcher.group(2))) + MASK_CHAR.repeat(6);
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
-        }
-        
-        matcher.appendTail(sb);
-        return sb.toString();
-    }
-    
-    /**
-     * 脱敏函数接口
+     * 脱敏密码：保留关键字和分隔符，值替换为 6 个掩码字符
      */
-    @FunctionalInterface
-    private interface MaskFunction {
-        String mask(String input);
+    private static String maskPassword(MatchResult match) {
+        String matched = match.group();
+        return matched.substring(0, match.start(2) - match.start()) + MASK_CHAR.repeat(6);
     }
 }
@@ -0,0 +1,101 @@
+package com.basebackend.database.security.metadata;
+
+import com.basebackend.database.security.annotation.Sensitive;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 实体类的加密字段元数据
+ * 每个类只解析一次（含父类字段），之后加密、解密、盲索引查询改写都复用同一份访问器
+ */
+@Slf4j
+public final class SensitiveClassMetadata {
+
+    private static final SensitiveClassMetadata NONE = new SensitiveClassMetadata(List.of());
+
+    private static final ConcurrentHashMap<Class<?>, SensitiveClassMetadata> CACHE = new ConcurrentHashMap<>();
+
+    private final List<SensitiveFieldAccessor> encryptedFields;
+
+    private SensitiveClassMetadata(List<SensitiveFieldAccessor> encryptedFields) {
+        this.encryptedFields = encryptedFields;
+    }
+
+    /**
+     * 获取类的元数据；基本类型、JDK 类型（如 Map 结果）返回空元数据
+     */
+    public static SensitiveClassMetadata of(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.getName().startsWith("java.")) {
+            return NONE;
+        }
+        return CACHE.computeIfAbsent(clazz, SensitiveClassMetadata::resolve);
+    }
+
+    /**
+     * 需要加密存储（{@code @Sensitive(encrypt = true)}）的 String 字段
+     */
+    public List<SensitiveFieldAccessor> getEncryptedFields() {
+        return encryptedFields;
+    }
+
+    public boolean isEmpty() {
+        return encryptedFields.isEmpty();
+    }
+
+    public static int cacheSize() {
+        return CACHE.size();
+    }
+
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static SensitiveClassMetadata resolve(Class<?> clazz) {
+        List<SensitiveFieldAccessor> accessors = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                Sensitive sensitive = field.getAnnotation(Sensitive.class);
+                if (sensitive == null || !sensitive.encrypt() || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (field.getType() != String.class) {
+                    log.warn("Field {}.{} is marked as @Sensitive but is not a String type, skipping encryption",
+                            current.getSimpleName(), field.getName());
+                    continue;
+                }
+                try {
+                    accessors.add(new SensitiveFieldAccessor(field, sensitive, findBlindIndexField(clazz, field, sensitive)));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    throw new IllegalStateException("无法访问敏感字段: " + current.getName() + "." + field.getName(), e);
+                }
+            }
+        }
+        return accessors.isEmpty() ? NONE : new SensitiveClassMetadata(List.copyOf(accessors));
+    }
+
+    private static Field findBlindIndexField(Class<?> clazz, Field field, Sensitive sensitive) {
+        String name = sensitive.blindIndex();
+        if (name.isEmpty()) {
+            return null;
+        }
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                Field candidate = current.getDeclaredField(name);
+                if (candidate.getType() == String.class && !Modifier.isStatic(candidate.getModifiers())) {
+                    return candidate;
+                }
+                break;
+            } catch (NoSuchFieldException ignored) {
+                // 继续在父类中查找
+            }
+        }
+        log.warn("Blind index field {} for {}.{} does not exist or is not a String, blind index disabled",
+                name, clazz.getSimpleName(), field.getName());
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.basebackend.database.security.metadata;
+
+import com.basebackend.database.security.annotation.Sensitive;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * 敏感字段访问器
+ * 用预先解析好的 MethodHandle 读写字段，避免每行数据都走反射访问检查
+ */
+public final class SensitiveFieldAccessor {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(String.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, String.class);
+
+    private final String name;
+    private final Sensitive sensitive;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final String blindIndexField;
+    private final MethodHandle blindIndexSetter;
+
+    SensitiveFieldAccessor(Field field, Sensitive sensitive, Field blindIndexField) throws IllegalAccessException {
+        this.name = field.getName();
+        this.sensitive = sensitive;
+        field.setAccessible(true);
+        this.getter = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+        this.setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+        if (blindIndexField != null) {
+            blindIndexField.setAccessible(true);
+            this.blindIndexField = blindIndexField.getName();
+            this.blindIndexSetter = LOOKUP.unreflectSetter(blindIndexField).asType(SETTER_TYPE);
+        } else {
+            this.blindIndexField = null;
+            this.blindIndexSetter = null;
+        }
+    }
+
+    /**
+     * 字段名
+     */
+    public String getName() {
+        return name;
+    }
+
+    public Sensitive getSensitive() {
+        return sensitive;
+    }
+
+    /**
+     * 盲索引影子字段名，未配置时为 null
+     */
+    public String getBlindIndexField() {
+        return blindIndexField;
+    }
+
+    public boolean hasBlindIndex() {
+        return blindIndexSetter != null;
+    }
+
+    public String get(Object target) {
+        try {
+            return (String) getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw new IllegalStateException("读取敏感字段失败: " + name, e);
+        }
+    }
+
+    public void set(Object target, String value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("写入敏感字段失败: " + name, e);
+        }
+    }
+
+    public void setBlindIndex(Object target, String value) {
+        try {
+            blindIndexSetter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw new IllegalStateException("写入盲索引字段失败: " + blindIndexField, e);
+        }
+    }
+}
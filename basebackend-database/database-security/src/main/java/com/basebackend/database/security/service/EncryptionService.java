@@ -1,5 +1,8 @@
 package com.basebackend.database.security.service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 加密服务接口
  * 提供数据加密和解密功能
@@ -29,4 +32,28 @@ public interface EncryptionService {
      * @return true表示已加密，false表示未加密
      */
     boolean isEncrypted(String text);
+
+    /**
+     * 批量解密
+     * 默认逐个调用 {@link #decrypt(String)}，实现类可以复用同一个 Cipher 等资源一次处理整列数据
+     *
+     * @param cipherTexts 密文列表（元素可为 null）
+     * @return 与输入等长、顺序一致的明文列表
+     */
+    default List<String> decryptBatch(List<String> cipherTexts) {
+        List<String> plainTexts = new ArrayList<>(cipherTexts.size());
+        for (String cipherText : cipherTexts) {
+            plainTexts.add(decrypt(cipherText));
+        }
+        return plainTexts;
+    }
+
+    /**
+     * 计算盲索引（确定性的 keyed hash，用于密文字段的等值查询）
+     * 相同明文必须得到相同结果，且密钥应与加密密钥相互独立
+     *
+     * @param plainText 明文
+     * @return 盲索引
+     */
+    String blindIndex(String plainText);
 }
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import javax.crypto.Cipher;
+import javax.crypto.Mac;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
@@ -17,13 +18,20 @@ import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
 
 /**
  * AES加密服务实现
  * 使用AES算法进行数据加密和解密
+ * <p>
+ * Cipher/Mac 按线程复用：{@code Cipher.getInstance} 需要查找 Provider，开销远大于加解密本身；
+ * 同一线程反复用同一个密钥 init 时，JCE 也会复用已展开的轮密钥。
+ * 盲索引使用从主密钥派生的独立 HMAC-SHA256 密钥，与加密密钥互不影响。
  */
 @Slf4j
 @Service
@@ -36,10 +44,18 @@ public class AESEncryptionService implements EncryptionService {
     private static final String V2_PREFIX = "v2:";
     private static final int GCM_TAG_LENGTH_BITS = 128;
     private static final int GCM_IV_LENGTH_BYTES = 12;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String BLIND_INDEX_CONTEXT = "basebackend-blind-index-v1";
+
+    private static final ThreadLocal<Cipher> GCM_CIPHER = ThreadLocal.withInitial(() -> newCipher(TRANSFORMATION));
+    private static final ThreadLocal<Cipher> LEGACY_CIPHER =
+            ThreadLocal.withInitial(() -> newCipher(LEGACY_TRANSFORMATION));
     
     private final SecretKey secretKey;
     private final SecretKey legacySecretKey;
     private final SecretKey sha1PrngLegacySecretKey;
+    private final SecretKey blindIndexKey;
+    private final ThreadLocal<Mac> blindIndexMac;
     private final boolean enabled;
     private final SecureRandom secureRandom = new SecureRandom();
     
@@ -54,10 +70,31 @@ public class AESEncryptionService implements EncryptionService {
             this.secretKey = generateSecretKey(secretKeyStr);
             this.legacySecretKey = generateLegacySecretKey(secretKeyStr);
             this.sha1PrngLegacySecretKey = generateSha1PrngLegacySecretKey(secretKeyStr);
+            this.blindIndexKey = generateBlindIndexKey(secretKeyStr);
         } else {
             this.secretKey = null;
             this.legacySecretKey = null;
             this.sha1PrngLegacySecretKey = null;
+            this.blindIndexKey = null;
+        }
+        this.blindIndexMac = ThreadLocal.withInitial(this::newBlindIndexMac);
+    }
+
+    private static Cipher newCipher(String transformation) {
+        try {
+            return Cipher.getInstance(transformation);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Failed to create cipher: " + transformation, e);
+        }
+    }
+
+    private Mac newBlindIndexMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(blindIndexKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Failed to create blind index MAC", e);
         }
     }
     
@@ -95,6 +132,20 @@ public class AESEncryptionService implements EncryptionService {
         }
     }
 
+    /**
+     * 派生盲索引密钥：HMAC(主密钥, 固定上下文)，上下文一经上线不可修改，否则已有盲索引全部失效
+     */
+    private SecretKey generateBlindIndexKey(String keyStr) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(keyStr.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            byte[] keyBytes = mac.doFinal(BLIND_INDEX_CONTEXT.getBytes(StandardCharsets.UTF_8));
+            return new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new EncryptionException("Failed to generate blind index key", e);
+        }
+    }
+
     /**
      * 兼容更早期的 SHA1PRNG 派生方式，用于解密历史遗留 ECB 密文。
      */
@@ -129,7 +180,7 @@ public class AESEncryptionService implements EncryptionService {
             byte[] iv = new byte[GCM_IV_LENGTH_BYTES];
             secureRandom.nextBytes(iv);
 
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            Cipher cipher = GCM_CIPHER.get();
             cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
             byte[] encryptedBytes = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
 
@@ -160,18 +211,55 @@ public class AESEncryptionService implements EncryptionService {
         }
         
         try {
-            String encryptedData = cipherText.substring(ENCRYPTED_PREFIX.length());
-
-            if (encryptedData.startsWith(V2_PREFIX)) {
-                return decryptV2(encryptedData.substring(V2_PREFIX.length()));
-            }
-
-            return decryptLegacy(encryptedData);
+            return decryptPayload(GCM_CIPHER.get(), cipherText);
         } catch (Exception e) {
             log.error("Failed to decrypt data", e);
             throw new EncryptionException("Failed to decrypt data", e);
         }
     }
+
+    /**
+     * 批量解密：整批只取一次线程内 Cipher，逐个 init/doFinal
+     */
+    @Override
+    public List<String> decryptBatch(List<String> cipherTexts) {
+        if (!enabled) {
+            return new ArrayList<>(cipherTexts);
+        }
+
+        Cipher cipher = GCM_CIPHER.get();
+        List<String> plainTexts = new ArrayList<>(cipherTexts.size());
+        for (String cipherText : cipherTexts) {
+            if (!StringUtils.hasText(cipherText) || !cipherText.startsWith(ENCRYPTED_PREFIX)) {
+                plainTexts.add(cipherText);
+                continue;
+            }
+            try {
+                plainTexts.add(decryptPayload(cipher, cipherText));
+            } catch (Exception e) {
+                log.error("Failed to decrypt data in batch", e);
+                throw new EncryptionException("Failed to decrypt data", e);
+            }
+        }
+        return plainTexts;
+    }
+
+    @Override
+    public String blindIndex(String plainText) {
+        if (!enabled || plainText == null) {
+            return plainText;
+        }
+
+        byte[] digest = blindIndexMac.get().doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private String decryptPayload(Cipher gcmCipher, String cipherText) throws Exception {
+        if (cipherText.startsWith(V2_PREFIX, ENCRYPTED_PREFIX.length())) {
+            return decryptV2(gcmCipher, cipherText.substring(ENCRYPTED_PREFIX.length() + V2_PREFIX.length()));
+        }
+        return decryptLegacy(cipherText.substring(ENCRYPTED_PREFIX.length()));
+    }
     
     @Override
     public boolean isEncrypted(String text) {
@@ -192,26 +280,23 @@ public class AESEncryptionService implements EncryptionService {
         return isValidBase64(encryptedData);
     }
 
-    private String decryptV2(String encodedPayload) throws Exception {
+    private String decryptV2(Cipher cipher, String encodedPayload) throws Exception {
         byte[] payload = Base64.getDecoder().decode(encodedPayload);
         if (payload.length <= GCM_IV_LENGTH_BYTES) {
             throw new EncryptionException("Invalid encrypted payload format");
         }
 
-        byte[] iv = Arrays.copyOfRange(payload, 0, GCM_IV_LENGTH_BYTES);
-        byte[] encryptedBytes = Arrays.copyOfRange(payload, GCM_IV_LENGTH_BYTES, payload.length);
-
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
-        byte[] decryptedBytes = cipher.doFinal(encryptedBytes);
+        cipher.init(Cipher.DECRYPT_MODE, secretKey,
+                new GCMParameterSpec(GCM_TAG_LENGTH_BITS, payload, 0, GCM_IV_LENGTH_BYTES));
+        byte[] decryptedBytes = cipher.doFinal(payload, GCM_IV_LENGTH_BYTES, payload.length - GCM_IV_LENGTH_BYTES);
         return new String(decryptedBytes, StandardCharsets.UTF_8);
     }
 
     private String decryptLegacy(String encodedPayload) throws Exception {
         byte[] encryptedBytes = Base64.getDecoder().decode(encodedPayload);
 
+        Cipher cipher = LEGACY_CIPHER.get();
         try {
-            Cipher cipher = Cipher.getInstance(LEGACY_TRANSFORMATION);
             cipher.init(Cipher.DECRYPT_MODE, legacySecretKey);
             byte[] decryptedBytes = cipher.doFinal(encryptedBytes);
             return new String(decryptedBytes, StandardCharsets.UTF_8);
@@ -220,7 +305,6 @@ public class AESEncryptionService implements EncryptionService {
                 throw primaryFailure;
             }
 
-            Cipher cipher = Cipher.getInstance(LEGACY_TRANSFORMATION);
             cipher.init(Cipher.DECRYPT_MODE, sha1PrngLegacySecretKey);
             byte[] decryptedBytes = cipher.doFinal(encryptedBytes);
             return new String(decryptedBytes, StandardCharsets.UTF_8);
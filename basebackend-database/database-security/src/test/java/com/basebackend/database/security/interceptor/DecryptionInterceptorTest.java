@@ -13,6 +13,7 @@ import java.sql.Statement;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -28,6 +29,7 @@ class DecryptionInterceptorTest {
 
         EncryptionService encryptionService = mock(EncryptionService.class);
         when(encryptionService.decrypt(anyString())).thenThrow(new RuntimeException("decrypt failed"));
+        when(encryptionService.decryptBatch(anyList())).thenCallRealMethod();
 
         DecryptionInterceptor interceptor = new DecryptionInterceptor(encryptionService, properties);
         Invocation invocation = newInvocation(List.of(new SensitiveEntity("encrypted_value")));
@@ -0,0 +1,133 @@
+package com.basebackend.database.security.interceptor;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.basebackend.database.config.DatabaseEnhancedProperties;
+import com.basebackend.database.security.annotation.Sensitive;
+import com.basebackend.database.security.service.AlertService;
+import com.basebackend.database.security.service.impl.AESEncryptionService;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EncryptionInterceptor 盲索引测试")
+class EncryptionInterceptorTest {
+
+    private static final Configuration CONFIGURATION = new MybatisConfiguration();
+
+    private AESEncryptionService encryptionService;
+    private EncryptionInterceptor interceptor;
+
+    @BeforeAll
+    static void registerTable() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(CONFIGURATION, "");
+        assistant.setCurrentNamespace("test.SecureUserMapper");
+        TableInfoHelper.initTableInfo(assistant, SecureUser.class);
+    }
+
+    @BeforeEach
+    void setUp() {
+        DatabaseEnhancedProperties properties = new DatabaseEnhancedProperties();
+        properties.getSecurity().getEncryption().setEnabled(true);
+        properties.getSecurity().getEncryption().setSecretKey("unit-test-secret-key");
+        encryptionService = new AESEncryptionService(properties);
+        interceptor = new EncryptionInterceptor(encryptionService, new AlertService(), properties);
+    }
+
+    @Test
+    @DisplayName("保存时应加密字段并写入盲索引影子字段")
+    void shouldEncryptAndPopulateBlindIndexOnInsert() throws Exception {
+        SecureUser user = new SecureUser();
+        user.phone = "13800138000";
+
+        interceptor.beforeUpdate(null, statement("SecureUserMapper.insert", SqlCommandType.INSERT, "INSERT"), user);
+
+        assertThat(encryptionService.isEncrypted(user.phone)).isTrue();
+        assertThat(encryptionService.decrypt(user.phone)).isEqualTo("13800138000");
+        assertThat(user.phoneHash).isEqualTo(encryptionService.blindIndex("13800138000"));
+    }
+
+    @Test
+    @DisplayName("加密字段等值查询应改写为影子列并替换参数")
+    void shouldRewriteEqualityPredicateToBlindIndexColumn() throws Exception {
+        BoundSql boundSql = boundSql("SELECT id,phone FROM sys_secure_user WHERE (phone = ? AND status = ?)",
+                Map.of("phone", "13800138000", "status", 1), "phone", "status");
+
+        interceptor.beforeQuery(null, statement("SecureUserMapper.selectList", SqlCommandType.SELECT, "SELECT"),
+                boundSql.getParameterObject(), null, null, boundSql);
+
+        assertThat(boundSql.getSql()).isEqualTo("SELECT id,phone FROM sys_secure_user WHERE (phone_hash = ? AND status = ?)");
+        String property = boundSql.getParameterMappings().get(0).getProperty();
+        assertThat(property).startsWith(BlindIndexQueryRewriter.PARAMETER_PREFIX);
+        assertThat(boundSql.getAdditionalParameter(property)).isEqualTo(encryptionService.blindIndex("13800138000"));
+        assertThat(boundSql.getParameterMappings().get(1).getProperty()).isEqualTo("status");
+    }
+
+    @Test
+    @DisplayName("多表查询只改写限定到加密表的列")
+    void shouldOnlyRewriteQualifiedColumnsInJoin() throws Exception {
+        BoundSql boundSql = boundSql(
+                "SELECT u.id FROM sys_secure_user u LEFT JOIN sys_contact c ON c.user_id = u.id WHERE c.phone = ? AND u.phone = ?",
+                Map.of("contactPhone", "010-1234", "phone", "13800138000"), "contactPhone", "phone");
+
+        interceptor.beforeQuery(null, statement("SecureUserMapper.selectJoin", SqlCommandType.SELECT, "SELECT"),
+                boundSql.getParameterObject(), null, null, boundSql);
+
+        assertThat(boundSql.getSql()).endsWith("WHERE c.phone = ? AND u.phone_hash = ?");
+        assertThat(boundSql.getParameterMappings().get(0).getProperty()).isEqualTo("contactPhone");
+        assertThat(boundSql.getAdditionalParameter(boundSql.getParameterMappings().get(1).getProperty()))
+                .isEqualTo(encryptionService.blindIndex("13800138000"));
+    }
+
+    @Test
+    @DisplayName("非等值条件不改写")
+    void shouldNotRewriteLikePredicate() throws Exception {
+        String sql = "SELECT id FROM sys_secure_user WHERE phone LIKE ?";
+        BoundSql boundSql = boundSql(sql, Map.of("phone", "%138%"), "phone");
+
+        interceptor.beforeQuery(null, statement("SecureUserMapper.selectLike", SqlCommandType.SELECT, sql),
+                boundSql.getParameterObject(), null, null, boundSql);
+
+        assertThat(boundSql.getSql()).isEqualTo(sql);
+        assertThat(boundSql.getParameterMappings().get(0).getProperty()).isEqualTo("phone");
+    }
+
+    private static MappedStatement statement(String id, SqlCommandType type, String sql) {
+        return new MappedStatement.Builder(CONFIGURATION, id, new StaticSqlSource(CONFIGURATION, sql), type).build();
+    }
+
+    private static BoundSql boundSql(String sql, Map<String, Object> parameters, String... properties) {
+        List<ParameterMapping> mappings = Arrays.stream(properties)
+                .map(property -> new ParameterMapping.Builder(CONFIGURATION, property, Object.class).build())
+                .toList();
+        return new BoundSql(CONFIGURATION, sql, mappings, new HashMap<>(parameters));
+    }
+
+    @TableName("sys_secure_user")
+    static class SecureUser {
+        private Long id;
+
+        @Sensitive(blindIndex = "phoneHash")
+        private String phone;
+
+        private String phoneHash;
+
+        private Integer status;
+    }
+}
@@ -11,7 +11,9 @@ import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -86,6 +88,37 @@ class AESEncryptionServiceTest {
                 .hasMessageContaining("Failed to decrypt");
     }
 
+    @Test
+    @DisplayName("批量解密应保持顺序并兼容明文、空值与历史密文")
+    void shouldDecryptBatchInOrder() throws Exception {
+        AESEncryptionService encryptionService = new AESEncryptionService(properties);
+        List<String> cipherTexts = new ArrayList<>();
+        cipherTexts.add(encryptionService.encrypt("first"));
+        cipherTexts.add(null);
+        cipherTexts.add("plain-text");
+        cipherTexts.add(legacyEncrypt("legacy-data", SECRET_KEY));
+        cipherTexts.add(encryptionService.encrypt("第二个"));
+
+        List<String> plainTexts = encryptionService.decryptBatch(cipherTexts);
+
+        assertThat(plainTexts).containsExactly("first", null, "plain-text", "legacy-data", "第二个");
+    }
+
+    @Test
+    @DisplayName("盲索引应确定且与密钥绑定")
+    void shouldComputeDeterministicKeyedBlindIndex() {
+        AESEncryptionService encryptionService = new AESEncryptionService(properties);
+        properties.getSecurity().getEncryption().setSecretKey("another-secret-key");
+        AESEncryptionService otherKeyService = new AESEncryptionService(properties);
+
+        String index = encryptionService.blindIndex("13800138000");
+
+        assertThat(index).isEqualTo(encryptionService.blindIndex("13800138000"));
+        assertThat(index).isNotEqualTo(encryptionService.blindIndex("13800138001"));
+        assertThat(index).isNotEqualTo(otherKeyService.blindIndex("13800138000"));
+        assertThat(index).doesNotContain("13800138000").hasSize(43);
+    }
+
     private String legacyEncrypt(String plainText, String keyStr) throws Exception {
         KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
         SecureRandom secureRandom = SecureRandom.getInstance("SHA1PRNG");
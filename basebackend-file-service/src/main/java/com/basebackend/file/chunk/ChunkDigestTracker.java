@@ -0,0 +1,178 @@
+package com.basebackend.file.chunk;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * 分块 MD5 增量追踪器
+ * <p>
+ * 分块到达时即时推进整文件 MD5，合并阶段无需再读一遍文件：
+ * <ul>
+ *     <li>分块先写入同目录的临时文件，完整后原子移动到落盘路径；读取网络数据时不持有锁，
+ *     同一上传任务的分块可以并行写盘</li>
+ *     <li>锁内只按序把已落盘的连续分块追加到摘要（刚写入的分块通常仍在页缓存中），
+ *     乱序到达的分块待前序分块补齐后一并追加</li>
+ *     <li>已纳入摘要的分块被重新上传时摘要可能基于旧内容，此时放弃增量状态，合并时回退为流式计算</li>
+ * </ul>
+ * 摘要状态仅保存在本节点内存（{@link MessageDigest} 无法序列化到 Redis）；
+ * 节点重启或状态过期时 {@link #digestIfComplete} 返回 null，调用方需回退为上传时流式计算。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Slf4j
+public class ChunkDigestTracker {
+
+    private final Map<String, DigestState> states = new ConcurrentHashMap<>();
+    private final Duration expireAfter;
+
+    public ChunkDigestTracker(Duration expireAfter) {
+        this.expireAfter = expireAfter;
+    }
+
+    /**
+     * 开始追踪一个上传任务
+     */
+    public void start(String uploadId, int totalChunks) {
+        evictExpired();
+        states.put(uploadId, new DigestState(totalChunks));
+    }
+
+    /**
+     * 保存分块，随后把从下一个期望分块起已落盘的连续分块追加到摘要
+     *
+     * @param uploadId    上传ID
+     * @param chunkIndex  分块索引
+     * @param source      分块数据流
+     * @param target      分块落盘路径
+     * @param chunkLookup 分块索引到磁盘路径的映射
+     * @return 是否由追踪器完成了写盘（false 表示无追踪状态，调用方需自行写盘）
+     */
+    public boolean write(String uploadId, int chunkIndex, InputStream source, Path target,
+                         IntFunction<Path> chunkLookup) throws IOException {
+        DigestState state = states.get(uploadId);
+        if (state == null) {
+            return false;
+        }
+        state.touch();
+        boolean rewrite = !state.received.add(chunkIndex);
+        // 落盘路径上只出现完整分块，advance 不会读到写了一半的文件
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName() + "-", ".part");
+        try (source) {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        synchronized (state) {
+            if (rewrite && chunkIndex < state.nextIndex) {
+                log.warn("已纳入摘要的分块被重新上传，放弃增量摘要: uploadId={}, chunkIndex={}", uploadId, chunkIndex);
+                states.remove(uploadId);
+                return true;
+            }
+            try {
+                advance(state, chunkLookup);
+            } catch (IOException e) {
+                // 摘要可能已混入不完整数据：放弃增量状态，合并时回退为流式计算；分块本身已完整落盘
+                log.warn("追加分块摘要失败，放弃增量摘要: uploadId={}, error={}", uploadId, e.getMessage());
+                states.remove(uploadId);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 所有分块已纳入摘要时返回十六进制 MD5，否则返回 null
+     */
+    public String digestIfComplete(String uploadId, IntFunction<Path> chunkLookup) {
+        DigestState state = states.get(uploadId);
+        if (state == null) {
+            return null;
+        }
+        synchronized (state) {
+            try {
+                advance(state, chunkLookup);
+            } catch (IOException e) {
+                log.warn("追加分块摘要失败: uploadId={}, error={}", uploadId, e.getMessage());
+                return null;
+            }
+            if (state.nextIndex < state.totalChunks) {
+                return null;
+            }
+            if (state.hex == null) {
+                state.hex = HexFormat.of().formatHex(state.digest.digest());
+            }
+            return state.hex;
+        }
+    }
+
+    /**
+     * 结束追踪并释放状态
+     */
+    public void remove(String uploadId) {
+        states.remove(uploadId);
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    private void advance(DigestState state, IntFunction<Path> chunkLookup) throws IOException {
+        while (state.nextIndex < state.totalChunks) {
+            Path next = chunkLookup.apply(state.nextIndex);
+            if (!Files.exists(next)) {
+                return;
+            }
+            try (InputStream in = Files.newInputStream(next)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    state.digest.update(buffer, 0, read);
+                }
+            }
+            state.nextIndex++;
+        }
+    }
+
+    private void evictExpired() {
+        long deadline = System.currentTimeMillis() - expireAfter.toMillis();
+        states.entrySet().removeIf(e -> e.getValue().lastAccess < deadline);
+    }
+
+    private static final class DigestState {
+        private final MessageDigest digest;
+        private final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        private final int totalChunks;
+        private int nextIndex;
+        private String hex;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private DigestState(int totalChunks) {
+            this.totalChunks = totalChunks;
+            try {
+                this.digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("MD5 algorithm not available", e);
+            }
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
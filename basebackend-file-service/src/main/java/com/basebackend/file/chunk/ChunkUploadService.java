@@ -1,6 +1,7 @@
 package com.basebackend.file.chunk;
 
 import com.basebackend.common.exception.BusinessException;
+import com.basebackend.file.storage.PartsInputStream;
 import com.basebackend.file.storage.StorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +14,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.Duration;
 import java.time.format.DateTimeFormatter;
@@ -53,6 +55,9 @@ public class ChunkUploadService {
 
     private static final DateTimeFormatter STORAGE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd");
 
+    /** 分块到达时增量计算整文件 MD5，合并时无需重读 */
+    private final ChunkDigestTracker digestTracker = new ChunkDigestTracker(UPLOAD_EXPIRE);
+
     /**
      * 初始化分块上传
      */
@@ -85,6 +90,7 @@ public class ChunkUploadService {
         info.setStatus(ChunkUploadInfo.UploadStatus.INITIALIZED);
 
         saveUploadInfo(info);
+        digestTracker.start(uploadId, totalChunks);
 
         log.info("初始化分块上传: uploadId={}, filename={}, fileSize={}, totalChunks={}, targetPath={}",
                 uploadId, filename, fileSize, totalChunks, safeTargetPath);
@@ -135,6 +141,10 @@ public class ChunkUploadService {
 
     /**
      * 合并分块并完成上传
+     * <p>
+     * 不再生成本地合并文件：分块按序直接写入存储（本地存储走 {@code FileChannel.transferTo}）。
+     * 增量摘要完整时上传前校验 MD5；否则在上传流上同步计算，校验失败则删除已写入对象。
+     * </p>
      */
     public String completeUpload(String uploadId) {
         ChunkUploadInfo info = getUploadInfo(uploadId);
@@ -147,24 +157,29 @@ public class ChunkUploadService {
                     String.format("分块上传未完成: %d/%d", info.getUploadedChunks(), info.getTotalChunks()));
         }
 
-        Path mergedFile = null;
         try {
-            mergedFile = mergeChunksToDisk(uploadId, info.getTotalChunks());
-
-            if (info.getFileMd5() != null && !info.getFileMd5().isEmpty()) {
-                String actualMd5 = calculateFileMd5(mergedFile);
-                if (!info.getFileMd5().equalsIgnoreCase(actualMd5)) {
-                    throw BusinessException.paramError("文件MD5校验失败");
-                }
+            List<Path> parts = collectChunkFiles(uploadId, info.getTotalChunks());
+            long totalSize = 0;
+            for (Path part : parts) {
+                totalSize += Files.size(part);
             }
 
+            String expectedMd5 = info.getFileMd5();
             String storagePath;
-            try (InputStream is = new BufferedInputStream(Files.newInputStream(mergedFile))) {
-                storagePath = storageService.upload(
-                        is,
-                        info.getTargetPath(),
-                        info.getContentType(),
-                        Files.size(mergedFile));
+            if (expectedMd5 == null || expectedMd5.isEmpty()) {
+                storagePath = storageService.uploadParts(
+                        parts, info.getTargetPath(), info.getContentType(), totalSize);
+            } else {
+                String incrementalMd5 = digestTracker.digestIfComplete(uploadId, i -> getChunkFile(uploadId, i));
+                if (incrementalMd5 != null) {
+                    if (!expectedMd5.equalsIgnoreCase(incrementalMd5)) {
+                        throw BusinessException.paramError("文件MD5校验失败");
+                    }
+                    storagePath = storageService.uploadParts(
+                            parts, info.getTargetPath(), info.getContentType(), totalSize);
+                } else {
+                    storagePath = uploadWithStreamingDigest(info, parts, totalSize, expectedMd5);
+                }
             }
 
             info.setStatus(ChunkUploadInfo.UploadStatus.COMPLETED);
@@ -173,7 +188,7 @@ public class ChunkUploadService {
 
             cleanupUpload(uploadId);
 
-            log.info("分块上传完成: uploadId={}, path={}, size={}", uploadId, storagePath, Files.size(mergedFile));
+            log.info("分块上传完成: uploadId={}, path={}, size={}", uploadId, storagePath, totalSize);
 
             return storagePath;
         } catch (BusinessException e) {
@@ -183,14 +198,30 @@ public class ChunkUploadService {
             info.setStatus(ChunkUploadInfo.UploadStatus.FAILED);
             saveUploadInfo(info);
             throw BusinessException.fileUploadFailed("合并分块失败: " + e.getMessage());
-        } finally {
-            if (mergedFile != null) {
-                try {
-                    Files.deleteIfExists(mergedFile);
-                } catch (IOException ignored) {
-                }
+        }
+    }
+
+    /**
+     * 增量摘要不可用（如节点重启）时，在上传流上同步计算 MD5，保证分块只被读取一次
+     */
+    private String uploadWithStreamingDigest(ChunkUploadInfo info, List<Path> parts, long totalSize,
+            String expectedMd5) throws IOException, NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("MD5");
+        String storagePath;
+        try (InputStream is = new DigestInputStream(new PartsInputStream(parts), md)) {
+            storagePath = storageService.upload(is, info.getTargetPath(), info.getContentType(), totalSize);
+            // 补读剩余字节，保证摘要覆盖完整内容
+            byte[] buffer = new byte[8192];
+            while (is.read(buffer) != -1) {
+                // digest is updated automatically
             }
         }
+        String actualMd5 = HexFormat.of().formatHex(md.digest());
+        if (!expectedMd5.equalsIgnoreCase(actualMd5)) {
+            storageService.delete(info.getTargetPath());
+            throw BusinessException.paramError("文件MD5校验失败");
+        }
+        return storagePath;
     }
 
     /**
@@ -319,30 +350,23 @@ public class ChunkUploadService {
         Files.createDirectories(chunkDir);
 
         Path chunkFile = getChunkFile(uploadId, chunkIndex);
-        chunk.transferTo(chunkFile);
+        boolean written = digestTracker.write(uploadId, chunkIndex, chunk.getInputStream(), chunkFile,
+                i -> getChunkFile(uploadId, i));
+        if (!written) {
+            chunk.transferTo(chunkFile);
+        }
     }
 
-    private Path mergeChunksToDisk(String uploadId, int totalChunks) throws IOException {
-        Path chunkDir = getChunkDir(uploadId);
-        Path mergedFile = CHUNK_TEMP_DIR.resolve(uploadId + "_merged");
-
-        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(mergedFile))) {
-            byte[] buffer = new byte[8192];
-            for (int i = 0; i < totalChunks; i++) {
-                Path chunkFile = chunkDir.resolve(String.valueOf(i));
-                if (!Files.exists(chunkFile)) {
-                    throw new IOException("分块 " + i + " 数据丢失");
-                }
-                try (InputStream in = new BufferedInputStream(Files.newInputStream(chunkFile))) {
-                    int bytesRead;
-                    while ((bytesRead = in.read(buffer)) != -1) {
-                        out.write(buffer, 0, bytesRead);
-                    }
-                }
+    private List<Path> collectChunkFiles(String uploadId, int totalChunks) throws IOException {
+        List<Path> parts = new ArrayList<>(totalChunks);
+        for (int i = 0; i < totalChunks; i++) {
+            Path chunkFile = getChunkFile(uploadId, i);
+            if (!Files.exists(chunkFile)) {
+                throw new IOException("分块 " + i + " 数据丢失");
             }
+            parts.add(chunkFile);
         }
-
-        return mergedFile;
+        return parts;
     }
 
     private void cleanupUpload(String uploadId) {
@@ -363,32 +387,11 @@ public class ChunkUploadService {
 
             // 清理Redis中的分块状态
             redisTemplate.delete(CHUNK_KEY_PREFIX + uploadId);
+            digestTracker.remove(uploadId);
 
             log.debug("清理上传临时数据: uploadId={}", uploadId);
         } catch (Exception e) {
             log.warn("清理上传临时数据失败: uploadId={}, error={}", uploadId, e.getMessage());
         }
     }
-
-    private String calculateFileMd5(Path file) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            try (InputStream is = new DigestInputStream(
-                    new BufferedInputStream(Files.newInputStream(file)), md)) {
-                byte[] buffer = new byte[8192];
-                while (is.read(buffer) != -1) {
-                    // digest is updated automatically
-                }
-            }
-            byte[] digest = md.digest();
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
-        } catch (Exception e) {
-            log.error("计算MD5失败", e);
-            return "";
-        }
-    }
 }
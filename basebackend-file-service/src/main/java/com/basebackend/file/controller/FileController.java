@@ -6,6 +6,7 @@ import com.basebackend.common.dto.PageResult;
 import com.basebackend.common.model.Result;
 import com.basebackend.api.model.file.FileMetadataDTO;
 import com.basebackend.api.model.file.FileVersionDTO;
+import com.basebackend.file.download.RangeDownloadHandler;
 import com.basebackend.file.entity.FileMetadata;
 import com.basebackend.file.entity.FileOperationLog;
 import com.basebackend.file.entity.FilePermission;
@@ -21,12 +22,10 @@ import com.basebackend.file.limit.RateLimiter;
 import com.basebackend.file.limit.RateLimitPolicy;
 import com.basebackend.file.service.FileService;
 import com.basebackend.common.exception.BusinessException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
@@ -35,8 +34,6 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -55,6 +52,7 @@ public class FileController {
     private final FileService fileService;
     private final FileManagementService fileManagementService;
     private final RateLimiter rateLimiter;
+    private final RangeDownloadHandler rangeDownloadHandler;
 
     private static final RateLimitPolicy UPLOAD_RATE_LIMIT =
             RateLimitPolicy.slidingWindowLimit(60, 10, TimeUnit.SECONDS);
@@ -160,24 +158,14 @@ public class FileController {
      * 下载文件 (增强版本 - 支持权限控制)
      */
     @GetMapping("/download-v2/{fileId}")
-    public ResponseEntity<InputStreamResource> downloadFileV2(@PathVariable String fileId) {
+    public ResponseEntity<?> downloadFileV2(@PathVariable String fileId, HttpServletRequest request) {
         Long userId = UserContextHolder.getUserId();
         checkRateLimit("download:" + userId, DOWNLOAD_RATE_LIMIT);
 
-        FileManagementService.FileDownloadInfo downloadInfo =
-            fileManagementService.downloadFile(fileId, userId);
-
-        String encodedFileName = URLEncoder.encode(
-            downloadInfo.getFileName(),
-            StandardCharsets.UTF_8
-        ).replace("+", "%20");
-
-        return ResponseEntity.ok()
-            .header(HttpHeaders.CONTENT_DISPOSITION,
-                   "attachment; filename*=UTF-8''" + encodedFileName)
-            .contentType(MediaType.parseMediaType(downloadInfo.getContentType()))
-            .contentLength(downloadInfo.getFileSize())
-            .body(new InputStreamResource(downloadInfo.getInputStream()));
+        // 断点续传的后续区间请求不重复计数
+        FileManagementService.FileDownloadInfo downloadInfo = fileManagementService.prepareDownload(
+            fileId, userId, rangeDownloadHandler.isInitialRequest(request));
+        return rangeDownloadHandler.respond(downloadInfo, request);
     }
 
     /**
@@ -271,26 +259,16 @@ public class FileController {
      * 下载指定版本
      */
     @GetMapping("/{fileId}/versions/{versionId}/download")
-    public ResponseEntity<InputStreamResource> downloadVersion(
+    public ResponseEntity<?> downloadVersion(
         @PathVariable String fileId,
-        @PathVariable Long versionId
+        @PathVariable Long versionId,
+        HttpServletRequest request
     ) {
         Long userId = UserContextHolder.getUserId();
 
-        FileManagementService.FileDownloadInfo info =
-            fileManagementService.downloadVersion(fileId, versionId, userId);
-
-        String encodedFileName = URLEncoder.encode(
-            info.getFileName(),
-            StandardCharsets.UTF_8
-        ).replace("+", "%20");
-
-        return ResponseEntity.ok()
-            .header(HttpHeaders.CONTENT_DISPOSITION,
-                "attachment; filename*=UTF-8''" + encodedFileName)
-            .contentType(MediaType.parseMediaType(info.getContentType()))
-            .contentLength(info.getFileSize())
-            .body(new InputStreamResource(info.getInputStream()));
+        FileManagementService.FileDownloadInfo info = fileManagementService.prepareVersionDownload(
+            fileId, versionId, userId);
+        return rangeDownloadHandler.respond(info, request);
     }
 
     /**
@@ -0,0 +1,422 @@
+package com.basebackend.file.download;
+
+import com.basebackend.file.service.FileManagementService.FileDownloadInfo;
+import com.basebackend.file.storage.StorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 区间下载处理器
+ * <p>
+ * 为文件下载接口提供 HTTP Range / 条件请求支持：
+ * <ul>
+ *     <li>单区间返回 206 + Content-Range，多区间返回 multipart/byteranges，不可满足时返回 416</li>
+ *     <li>以内容 MD5 作为强 ETag，支持 If-None-Match / If-Modified-Since（304）和 If-Range</li>
+ *     <li>本地存储在 Tomcat 支持 sendfile 时交由容器零拷贝发送，否则按文件通道定位读取</li>
+ *     <li>对象存储按区间向服务端发起 Range 读取，不下载区间之外的数据</li>
+ * </ul>
+ * 下载字节数按响应声明的长度统计（实际写出发生在控制器返回之后）。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Component
+public class RangeDownloadHandler {
+
+    /** Tomcat sendfile 请求属性（org.apache.catalina.Globals） */
+    static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    /** 小于该大小的文件直接走流式写出，sendfile 的系统调用开销不划算 */
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private static final String METRIC_REQUESTS = "file.download.requests";
+    private static final String METRIC_BYTES = "file.download.bytes";
+
+    private final StorageService storageService;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RangeDownloadHandler(StorageService storageService,
+                                @Autowired(required = false) MeterRegistry meterRegistry) {
+        this.storageService = storageService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 是否为一次下载的首个请求（无 Range 或从第 0 字节开始）
+     * <p>
+     * 用于断点续传场景下只对首个请求计数，后续区间请求不重复累计下载次数。
+     * </p>
+     */
+    public boolean isInitialRequest(HttpServletRequest request) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return true;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.isEmpty() || ranges.getFirst().getRangeStart(Long.MAX_VALUE) == 0;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 根据请求头构建下载响应
+     *
+     * @param info    下载信息（需包含 storagePath 和 fileSize）
+     * @param request 当前请求
+     * @return 200 / 206 / 304 / 416 响应
+     */
+    public ResponseEntity<?> respond(FileDownloadInfo info, HttpServletRequest request) {
+        String etag = info.getEtag() != null ? "\"" + info.getEtag() + "\"" : null;
+        long lastModified = info.getLastModified() != null
+                ? info.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+
+        if (isNotModified(request, etag, lastModified)) {
+            record("not_modified", 0);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .headers(validatorHeaders(etag, lastModified))
+                    .build();
+        }
+
+        Long fileSize = info.getFileSize();
+        Path localFile = storageService.resolveLocalFile(info.getStoragePath());
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (fileSize == null || rangeHeader == null || !ifRangeMatches(request, etag, lastModified)) {
+            return full(info, request, localFile, etag, lastModified);
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return unsatisfiable(fileSize);
+        }
+        if (ranges.isEmpty()) {
+            return full(info, request, localFile, etag, lastModified);
+        }
+
+        List<long[]> bounds = resolveBounds(ranges, fileSize);
+        if (bounds.isEmpty()) {
+            return unsatisfiable(fileSize);
+        }
+
+        HttpHeaders headers = baseHeaders(info, etag, lastModified);
+        if (bounds.size() == 1) {
+            long start = bounds.getFirst()[0];
+            long length = bounds.getFirst()[1];
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + fileSize);
+            headers.setContentType(parseMediaType(info.getContentType()));
+            headers.setContentLength(length);
+            record("range", length);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers);
+            if (trySendfile(request, localFile, start, length)) {
+                return builder.build();
+            }
+            return builder.body(new InputStreamResource(
+                    storageService.download(info.getStoragePath(), start, length)));
+        }
+
+        // 多区间：由 ResourceRegionHttpMessageConverter 写出 multipart/byteranges
+        List<ResourceRegion> regions = new ArrayList<>(bounds.size());
+        long total = 0;
+        for (long[] bound : bounds) {
+            Resource resource = localFile != null
+                    ? new FileSystemResource(localFile)
+                    : new StorageObjectResource(storageService, info.getStoragePath(), info.getFileName(),
+                            fileSize, bound[0] + bound[1]);
+            regions.add(new ResourceRegion(resource, bound[0], bound[1]));
+            total += bound[1];
+        }
+        record("multi_range", total);
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(headers).body(regions);
+    }
+
+    private ResponseEntity<?> full(FileDownloadInfo info, HttpServletRequest request, Path localFile,
+                                   String etag, long lastModified) {
+        HttpHeaders headers = baseHeaders(info, etag, lastModified);
+        headers.setContentType(parseMediaType(info.getContentType()));
+        Long fileSize = info.getFileSize();
+        if (fileSize != null) {
+            headers.setContentLength(fileSize);
+        }
+        record("full", fileSize != null ? fileSize : 0);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().headers(headers);
+        if (fileSize != null && trySendfile(request, localFile, 0, fileSize)) {
+            return builder.build();
+        }
+        // InputStreamResource 不会被 Spring 二次按 Range 处理（If-Range 不匹配时必须返回完整内容）
+        return builder.body(new InputStreamResource(storageService.download(info.getStoragePath())));
+    }
+
+    private ResponseEntity<?> unsatisfiable(long fileSize) {
+        record("unsatisfiable", 0);
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize)
+                .build();
+    }
+
+    /**
+     * 把请求区间换算为 [start, length]，丢弃起点越界的区间；
+     * 区间总长超过文件大小视为放大攻击，整体按不可满足处理
+     */
+    static List<long[]> resolveBounds(List<HttpRange> ranges, long fileSize) {
+        if (fileSize <= 0) {
+            return Collections.emptyList();
+        }
+        List<long[]> bounds = new ArrayList<>(ranges.size());
+        long total = 0;
+        for (HttpRange range : ranges) {
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(fileSize);
+                end = range.getRangeEnd(fileSize);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (start >= fileSize || end < start) {
+                continue;
+            }
+            long length = end - start + 1;
+            total += length;
+            bounds.add(new long[]{start, length});
+        }
+        if (total > fileSize) {
+            return Collections.emptyList();
+        }
+        return bounds;
+    }
+
+    private boolean trySendfile(HttpServletRequest request, Path localFile, long start, long length) {
+        if (localFile == null || length < SENDFILE_MIN_SIZE
+                || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME_ATTR, localFile.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTR, start);
+        request.setAttribute(SENDFILE_END_ATTR, start + length);
+        return true;
+    }
+
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return etag != null && matchesAny(ifNoneMatch, etag);
+        }
+        if (lastModified < 0) {
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * If-Range：实体标签需强匹配，日期需与 Last-Modified 完全一致；缺省时视为匹配
+     */
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return etag != null && etag.equals(ifRange);
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    private static boolean matchesAny(String headerValue, String etag) {
+        for (String candidate : headerValue.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static HttpHeaders baseHeaders(FileDownloadInfo info, String etag, long lastModified) {
+        HttpHeaders headers = validatorHeaders(etag, lastModified);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        String encodedFileName = URLEncoder.encode(info.getFileName(), StandardCharsets.UTF_8)
+                .replace("+", "%20");
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFileName);
+        return headers;
+    }
+
+    private static HttpHeaders validatorHeaders(String etag, long lastModified) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+        return headers;
+    }
+
+    private static MediaType parseMediaType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    private void record(String mode, long bytes) {
+        if (meterRegistry == null) {
+            return;
+        }
+        meterRegistry.counter(METRIC_REQUESTS, "mode", mode).increment();
+        if (bytes > 0) {
+            meterRegistry.counter(METRIC_BYTES, "mode", mode).increment(bytes);
+        }
+    }
+
+    /**
+     * 对象存储中的一个对象，按需对单个区间发起 Range 读取
+     * <p>
+     * {@link ResourceRegion} 写出时先 skip 到区间起点再读取；
+     * 这里把 skip 记为逻辑位置，首次读取时才以该位置向存储发起区间请求。
+     * </p>
+     */
+    static final class StorageObjectResource extends AbstractResource {
+
+        private final StorageService storageService;
+        private final String path;
+        private final String filename;
+        private final long contentLength;
+        private final long windowEnd;
+
+        StorageObjectResource(StorageService storageService, String path, String filename,
+                              long contentLength, long windowEnd) {
+            this.storageService = storageService;
+            this.path = path;
+            this.filename = filename;
+            this.contentLength = contentLength;
+            this.windowEnd = windowEnd;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new LazyRangeInputStream(storageService, path, windowEnd);
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Storage object [" + path + "]";
+        }
+    }
+
+    /**
+     * 延迟打开的区间输入流：skip 只移动逻辑位置，首次 read 时读取 [position, windowEnd)
+     */
+    static final class LazyRangeInputStream extends InputStream {
+
+        private final StorageService storageService;
+        private final String path;
+        private final long windowEnd;
+        private long position;
+        private InputStream delegate;
+
+        LazyRangeInputStream(StorageService storageService, String path, long windowEnd) {
+            this.storageService = storageService;
+            this.path = path;
+            this.windowEnd = windowEnd;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (delegate != null) {
+                return delegate.skip(n);
+            }
+            long skipped = Math.max(0, Math.min(n, windowEnd - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int read() throws IOException {
+            InputStream in = delegate();
+            return in == null ? -1 : in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            InputStream in = delegate();
+            return in == null ? -1 : in.read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+
+        private InputStream delegate() {
+            if (delegate == null && position < windowEnd) {
+                delegate = storageService.download(path, position, windowEnd - position);
+            }
+            return delegate;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.basebackend.file.pipeline;
+
+import com.basebackend.common.exception.BusinessException;
+import com.basebackend.file.antivirus.AntivirusService;
+import com.basebackend.file.antivirus.ScanResult;
+import com.basebackend.file.storage.StorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 单遍上传流水线
+ * <p>
+ * 上传流只读取一次：每个字节依次经过 MD5 摘要、病毒扫描旁路（管道）并写入存储后端，
+ * 取代原先"扫描一遍、算 MD5 一遍、上传再一遍"的三次读取。
+ * </p>
+ * <ul>
+ *     <li>病毒扫描在独立的虚拟线程中消费管道数据，与上传并行；管道有界，扫描慢时自然反压上传</li>
+ *     <li>启用扫描时先写入隔离区（{@code quarantine/} 前缀），扫描通过后才移动到目标路径，
+ *     目标路径上不会出现未通过扫描的内容</li>
+ *     <li>扫描未通过或扫描失败时删除隔离区中的对象并抛出业务异常</li>
+ *     <li>扫描旁路异常（如引擎提前断开）不会中断主上传流，结果按扫描失败处理</li>
+ * </ul>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class StreamingUploadPipeline {
+
+    /** 扫描旁路管道缓冲区：256KB */
+    private static final int SCAN_PIPE_SIZE = 256 * 1024;
+
+    private static final int DRAIN_BUFFER_SIZE = 8192;
+
+    /** 待扫描对象的隔离区前缀 */
+    static final String QUARANTINE_PREFIX = "quarantine/";
+
+    private final AntivirusService antivirusService;
+    private final Executor scanExecutor;
+
+    @Autowired
+    public StreamingUploadPipeline(
+            @Autowired(required = false) AntivirusService antivirusService,
+            @Qualifier("commonExecutor") Executor scanExecutor) {
+        this.antivirusService = antivirusService;
+        this.scanExecutor = scanExecutor;
+    }
+
+    /**
+     * 单遍完成摘要、扫描与存储
+     *
+     * @param source         上传源数据流（由调用方负责关闭）
+     * @param storageService 目标存储服务
+     * @param storagePath    存储路径
+     * @param contentType    文件类型
+     * @param size           文件大小
+     * @param filename       原始文件名（用于扫描日志）
+     * @return 流水线结果
+     */
+    public PipelineResult upload(InputStream source, StorageService storageService, String storagePath,
+                                 String contentType, long size, String filename) {
+        MessageDigest md5 = newMd5();
+        boolean scanEnabled = antivirusService != null && antivirusService.isAvailable();
+
+        ScanBranch scanBranch = scanEnabled ? ScanBranch.open(antivirusService, filename, scanExecutor) : null;
+        CountingTeeInputStream pipelineStream = new CountingTeeInputStream(
+                new DigestInputStream(source, md5), scanBranch);
+        String uploadPath = scanBranch != null ? QUARANTINE_PREFIX + storagePath : storagePath;
+
+        String url;
+        try {
+            url = storageService.upload(pipelineStream, uploadPath, contentType, size);
+            // 存储实现按 size 读取时可能未读到 EOF，补读剩余字节保证摘要和扫描覆盖完整内容
+            pipelineStream.drain();
+        } catch (IOException e) {
+            abortScan(scanBranch);
+            storageService.delete(uploadPath);
+            throw BusinessException.fileUploadFailed("文件上传失败: " + e.getMessage());
+        } catch (RuntimeException e) {
+            abortScan(scanBranch);
+            throw e;
+        }
+
+        ScanResult scanResult = null;
+        if (scanBranch != null) {
+            scanResult = scanBranch.finish();
+            if (!scanResult.isSafe()) {
+                log.warn("文件病毒扫描未通过，删除隔离区对象: filename={}, path={}, threat={}",
+                        filename, uploadPath, scanResult.getThreatName());
+                storageService.delete(uploadPath);
+                throw new BusinessException("文件安全检测未通过: " + scanResult.getMessage());
+            }
+            log.debug("文件病毒扫描通过: filename={}, engine={}, cost={}ms",
+                    filename, scanResult.getEngineName(), scanResult.getScanTimeMs());
+            url = promote(storageService, uploadPath, storagePath);
+        }
+
+        return new PipelineResult(url, HexFormat.of().formatHex(md5.digest()),
+                pipelineStream.getBytesRead(), scanResult);
+    }
+
+    /**
+     * 扫描通过后把隔离区对象移动到目标路径
+     */
+    private String promote(StorageService storageService, String quarantinePath, String storagePath) {
+        try {
+            storageService.move(quarantinePath, storagePath);
+        } catch (RuntimeException e) {
+            try {
+                storageService.delete(quarantinePath);
+            } catch (RuntimeException deleteError) {
+                log.warn("清理隔离区对象失败: path={}, error={}", quarantinePath, deleteError.getMessage());
+            }
+            throw BusinessException.fileUploadFailed("文件转存失败: " + e.getMessage());
+        }
+        return storageService.getUrl(storagePath);
+    }
+
+    private void abortScan(ScanBranch scanBranch) {
+        if (scanBranch != null) {
+            scanBranch.abort();
+        }
+    }
+
+    private static MessageDigest newMd5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 algorithm not available", e);
+        }
+    }
+
+    /**
+     * 流水线结果
+     *
+     * @param url        文件访问URL
+     * @param md5        内容 MD5（十六进制小写）
+     * @param size       实际读取的字节数
+     * @param scanResult 病毒扫描结果（未启用扫描时为 null）
+     */
+    public record PipelineResult(String url, String md5, long size, ScanResult scanResult) {
+    }
+
+    /**
+     * 计数并向扫描旁路复制数据的输入流
+     */
+    static final class CountingTeeInputStream extends FilterInputStream {
+
+        private final ScanBranch branch;
+        private long bytesRead;
+
+        CountingTeeInputStream(InputStream in, ScanBranch branch) {
+            super(in);
+            this.branch = branch;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                bytesRead++;
+                if (branch != null) {
+                    branch.write(new byte[]{(byte) b}, 0, 1);
+                }
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                bytesRead += n;
+                if (branch != null) {
+                    branch.write(b, off, n);
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // skip 会绕过摘要和扫描，改为读取后丢弃
+            byte[] buffer = new byte[(int) Math.min(n, DRAIN_BUFFER_SIZE)];
+            long remaining = n;
+            while (remaining > 0) {
+                int read = read(buffer, 0, (int) Math.min(remaining, buffer.length));
+                if (read < 0) {
+                    break;
+                }
+                remaining -= read;
+            }
+            return n - remaining;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // 源流由调用方管理；存储实现关闭流时不应提前截断流水线
+        }
+
+        void drain() throws IOException {
+            byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+            while (read(buffer, 0, buffer.length) != -1) {
+                // 摘要与扫描旁路在 read 中同步更新
+            }
+        }
+
+        long getBytesRead() {
+            return bytesRead;
+        }
+    }
+
+    /**
+     * 病毒扫描旁路：通过有界管道把数据交给扫描线程
+     */
+    static final class ScanBranch {
+
+        private final PipedOutputStream pipe;
+        private final CompletableFuture<ScanResult> result;
+        private final String engineName;
+        private volatile boolean broken;
+
+        private ScanBranch(PipedOutputStream pipe, CompletableFuture<ScanResult> result, String engineName) {
+            this.pipe = pipe;
+            this.result = result;
+            this.engineName = engineName;
+        }
+
+        static ScanBranch open(AntivirusService antivirusService, String filename, Executor executor) {
+            try {
+                PipedInputStream scanInput = new PipedInputStream(SCAN_PIPE_SIZE);
+                PipedOutputStream pipe = new PipedOutputStream(scanInput);
+                CompletableFuture<ScanResult> result = CompletableFuture.supplyAsync(() -> {
+                    try (scanInput) {
+                        return antivirusService.scan(scanInput, filename);
+                    } catch (IOException e) {
+                        return ScanResult.error(e.getMessage(), antivirusService.getEngineName());
+                    }
+                }, executor);
+                return new ScanBranch(pipe, result, antivirusService.getEngineName());
+            } catch (IOException e) {
+                throw BusinessException.fileUploadFailed("病毒扫描通道初始化失败: " + e.getMessage());
+            }
+        }
+
+        void write(byte[] b, int off, int len) {
+            if (broken) {
+                return;
+            }
+            try {
+                pipe.write(b, off, len);
+            } catch (IOException e) {
+                // 扫描端已关闭：停止旁路，主上传继续，最终按扫描失败处理
+                broken = true;
+                log.warn("病毒扫描旁路中断: {}", e.getMessage());
+            }
+        }
+
+        ScanResult finish() {
+            closeQuietly(pipe);
+            try {
+                ScanResult scanResult = result.join();
+                if (broken && scanResult.isSafe()) {
+                    return ScanResult.error("扫描数据不完整", engineName);
+                }
+                return scanResult;
+            } catch (RuntimeException e) {
+                return ScanResult.error(e.getMessage(), engineName);
+            }
+        }
+
+        void abort() {
+            broken = true;
+            closeQuietly(pipe);
+            result.cancel(true);
+        }
+
+        private static void closeQuietly(OutputStream out) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
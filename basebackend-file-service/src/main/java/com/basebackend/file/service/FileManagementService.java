@@ -9,8 +9,6 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.basebackend.common.exception.BusinessException;
 import com.basebackend.common.dto.PageResult;
-import com.basebackend.file.antivirus.AntivirusService;
-import com.basebackend.file.antivirus.ScanResult;
 import com.basebackend.file.config.FileProperties;
 import com.basebackend.file.entity.*;
 import com.basebackend.file.mapper.FileMetadataMapper;
@@ -19,11 +17,11 @@ import com.basebackend.file.mapper.FileRecycleBinMapper;
 import com.basebackend.file.model.FileStatistics;
 import com.basebackend.file.model.FileStatistics.FileTypeDistribution;
 import com.basebackend.file.model.StorageUsageSummary;
+import com.basebackend.file.pipeline.StreamingUploadPipeline;
 import com.basebackend.file.security.FileSecurityValidator;
 import com.basebackend.file.storage.StorageService;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -57,8 +55,8 @@ public class FileManagementService {
     private final FileOperationLogMapper fileOperationLogMapper;
     private final FileSecurityValidator fileSecurityValidator;
 
-    /** 病毒扫描服务（可选依赖，无 ClamAV 时为 null） */
-    private final AntivirusService antivirusService;
+    /** 单遍上传流水线（摘要 + 病毒扫描 + 存储） */
+    private final StreamingUploadPipeline uploadPipeline;
 
     // ========== 子服务 ==========
     private final FilePermissionService filePermissionService;
@@ -75,7 +73,7 @@ public class FileManagementService {
             FileRecycleBinMapper fileRecycleBinMapper,
             FileOperationLogMapper fileOperationLogMapper,
             FileSecurityValidator fileSecurityValidator,
-            @Autowired(required = false) AntivirusService antivirusService,
+            StreamingUploadPipeline uploadPipeline,
             FilePermissionService filePermissionService,
             FileVersionService fileVersionService,
             FileShareService fileShareService,
@@ -87,7 +85,7 @@ public class FileManagementService {
         this.fileRecycleBinMapper = fileRecycleBinMapper;
         this.fileOperationLogMapper = fileOperationLogMapper;
         this.fileSecurityValidator = fileSecurityValidator;
-        this.antivirusService = antivirusService;
+        this.uploadPipeline = uploadPipeline;
         this.filePermissionService = filePermissionService;
         this.fileVersionService = fileVersionService;
         this.fileShareService = fileShareService;
@@ -109,34 +107,25 @@ public class FileManagementService {
         // 1. 安全验证：文件类型 + MIME检测 + 文件名安全性
         fileSecurityValidator.validateFile(file, fileProperties.getAllowedTypes());
 
-        // 2. 病毒扫描（可选，无杀毒服务时跳过）
-        if (antivirusService != null && antivirusService.isAvailable()) {
-            try {
-                ScanResult scanResult = antivirusService.scan(file.getInputStream(), file.getOriginalFilename());
-                if (!scanResult.isSafe()) {
-                    log.warn("文件病毒扫描未通过: filename={}, threat={}", file.getOriginalFilename(), scanResult.getThreatName());
-                    throw new BusinessException("文件安全检测未通过: " + scanResult.getMessage());
-                }
-                log.debug("文件病毒扫描通过: filename={}, engine={}, cost={}ms",
-                    file.getOriginalFilename(), scanResult.getEngineName(), scanResult.getScanTimeMs());
-            } catch (IOException e) {
-                log.error("病毒扫描IO异常", e);
-                throw new BusinessException("文件安全检测失败: " + e.getMessage());
-            }
+        // 2. 生成文件标识
+        String fileId = IdUtil.simpleUUID();
+        String originalName = file.getOriginalFilename();
+        String extension = FileUtil.extName(originalName);
+        String storagePath = generateStoragePath(fileId, extension);
+
+        // 3. 单遍流水线：MD5 + 病毒扫描（可选） + 上传到存储后端，上传流只读取一次
+        StreamingUploadPipeline.PipelineResult pipelineResult;
+        try (InputStream inputStream = file.getInputStream()) {
+            pipelineResult = uploadPipeline.upload(inputStream, storageService, storagePath,
+                file.getContentType(), file.getSize(), originalName);
+        } catch (IOException e) {
+            log.error("文件上传失败", e);
+            throw new BusinessException("文件上传失败: " + e.getMessage());
         }
+        String md5 = pipelineResult.md5();
 
         try {
-            // 3. 生成文件标识
-            String fileId = IdUtil.simpleUUID();
-            String originalName = file.getOriginalFilename();
-            String extension = FileUtil.extName(originalName);
-
-            // 4. 计算MD5
-            InputStream inputStream = file.getInputStream();
-            String md5 = DigestUtils.md5Hex(inputStream);
-            inputStream.close();
-
-            // 5. 检查文件是否已存在（去重）
+            // 4. 检查文件是否已存在（去重）：MD5 只能在读流后得到，命中时删除刚写入的对象
             FileMetadata existingFile = fileMetadataMapper.selectOne(
                 new LambdaQueryWrapper<FileMetadata>()
                     .eq(FileMetadata::getMd5, md5)
@@ -146,21 +135,11 @@ public class FileManagementService {
 
             if (existingFile != null) {
                 log.info("文件已存在，返回已有文件: fileId={}", existingFile.getFileId());
+                deleteQuietly(storagePath);
                 return existingFile;
             }
 
-            // 6. 生成存储路径
-            String storagePath = generateStoragePath(fileId, extension);
-
-            // 7. 上传到存储后端
-            String url = storageService.upload(
-                file.getInputStream(),
-                storagePath,
-                file.getContentType(),
-                file.getSize()
-            );
-
-            // 8. 创建文件元数据
+            // 5. 创建文件元数据
             FileMetadata metadata = new FileMetadata();
             metadata.setFileId(fileId);
             metadata.setFileName(fileId + "." + extension);
@@ -182,18 +161,27 @@ public class FileManagementService {
 
             fileMetadataMapper.insert(metadata);
 
-            // 9. 创建初始版本
+            // 6. 创建初始版本
             fileVersionService.createVersion(fileId, storagePath, file.getSize(), md5, "初始版本", userId, userName);
 
-            // 10. 记录操作日志
+            // 7. 记录操作日志
             logOperation(fileId, "UPLOAD", userId, userName, "上传文件: " + originalName);
 
             log.info("文件上传成功: fileId={}, path={}", fileId, storagePath);
             return metadata;
 
-        } catch (IOException e) {
-            log.error("文件上传失败", e);
-            throw new BusinessException("文件上传失败: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // 元数据写入失败时回收已上传对象，避免存储孤儿文件
+            deleteQuietly(storagePath);
+            throw e;
+        }
+    }
+
+    private void deleteQuietly(String storagePath) {
+        try {
+            storageService.delete(storagePath);
+        } catch (Exception e) {
+            log.warn("清理已上传对象失败: path={}, error={}", storagePath, e.getMessage());
         }
     }
 
@@ -201,27 +189,48 @@ public class FileManagementService {
      * 下载文件
      */
     public FileDownloadInfo downloadFile(String fileId, Long userId) {
+        FileDownloadInfo downloadInfo = prepareDownload(fileId, userId, true);
+        downloadInfo.setInputStream(storageService.download(downloadInfo.getStoragePath()));
+        return downloadInfo;
+    }
+
+    /**
+     * 准备下载：校验权限并返回下载元信息，不打开数据流
+     * <p>
+     * 数据由调用方整段或按区间读取。断点续传的后续区间请求传入 {@code countDownload = false}，
+     * 避免同一次下载按区间请求次数被重复计数；每次访问都会记录操作日志。
+     * </p>
+     *
+     * @param fileId        文件ID
+     * @param userId        用户ID
+     * @param countDownload 是否累计下载次数
+     * @return 下载信息（inputStream 为 null）
+     */
+    public FileDownloadInfo prepareDownload(String fileId, Long userId, boolean countDownload) {
         FileMetadata metadata = getFileMetadata(fileId);
 
         if (!filePermissionService.hasPermission(fileId, userId, FilePermissionService.PermissionType.READ)) {
             throw new BusinessException("无权限下载该文件");
         }
 
-        InputStream inputStream = storageService.download(metadata.getFilePath());
-
-        // 原子更新下载次数（避免并发丢失计数）
-        fileMetadataMapper.update(null,
-            new LambdaUpdateWrapper<FileMetadata>()
-                .eq(FileMetadata::getFileId, fileId)
-                .setSql("download_count = download_count + 1"));
+        if (countDownload) {
+            // 原子更新下载次数（避免并发丢失计数）
+            fileMetadataMapper.update(null,
+                new LambdaUpdateWrapper<FileMetadata>()
+                    .eq(FileMetadata::getFileId, fileId)
+                    .setSql("download_count = download_count + 1"));
+        }
 
-        logOperation(fileId, "DOWNLOAD", userId, null, "下载文件");
+        logOperation(fileId, "DOWNLOAD", userId, null, countDownload ? "下载文件" : "下载文件（续传区间）");
 
         FileDownloadInfo downloadInfo = new FileDownloadInfo();
-        downloadInfo.setInputStream(inputStream);
+        downloadInfo.setStoragePath(metadata.getFilePath());
         downloadInfo.setFileName(metadata.getOriginalName());
         downloadInfo.setContentType(metadata.getContentType());
         downloadInfo.setFileSize(metadata.getFileSize());
+        downloadInfo.setEtag(metadata.getMd5());
+        downloadInfo.setLastModified(metadata.getUpdateTime() != null
+            ? metadata.getUpdateTime() : metadata.getCreateTime());
         return downloadInfo;
     }
 
@@ -545,6 +554,10 @@ public class FileManagementService {
         return fileVersionService.downloadVersion(fileId, versionId, userId);
     }
 
+    public FileDownloadInfo prepareVersionDownload(String fileId, Long versionId, Long userId) {
+        return fileVersionService.prepareVersionDownload(fileId, versionId, userId);
+    }
+
     // --- 分享 ---
 
     @Transactional(rollbackFor = Exception.class)
@@ -700,5 +713,10 @@ public class FileManagementService {
         private String fileName;
         private String contentType;
         private Long fileSize;
+        /** 存储路径（区间下载时由调用方按需读取） */
+        private String storagePath;
+        /** 内容 MD5，用作强 ETag */
+        private String etag;
+        private LocalDateTime lastModified;
     }
 }
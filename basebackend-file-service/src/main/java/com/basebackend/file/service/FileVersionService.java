@@ -120,6 +120,16 @@ public class FileVersionService {
      */
     public FileManagementService.FileDownloadInfo downloadVersion(String fileId,
                                                                    Long versionId, Long userId) {
+        FileManagementService.FileDownloadInfo info = prepareVersionDownload(fileId, versionId, userId);
+        info.setInputStream(storageService.download(info.getStoragePath()));
+        return info;
+    }
+
+    /**
+     * 准备版本下载：校验权限、记录操作日志并返回下载元信息，不打开数据流
+     */
+    public FileManagementService.FileDownloadInfo prepareVersionDownload(String fileId, Long versionId,
+                                                                          Long userId) {
         FileVersion version = fileVersionMapper.selectById(versionId);
         if (version == null || !fileId.equals(version.getFileId())) {
             throw new BusinessException("版本不存在");
@@ -129,13 +139,14 @@ public class FileVersionService {
             throw new BusinessException("无权限下载该版本");
         }
         FileMetadata metadata = getFileMetadata(fileId);
-        InputStream inputStream = storageService.download(version.getFilePath());
 
         FileManagementService.FileDownloadInfo info = new FileManagementService.FileDownloadInfo();
-        info.setInputStream(inputStream);
+        info.setStoragePath(version.getFilePath());
         info.setFileName(metadata.getOriginalName() + "_v" + version.getVersionNumber());
         info.setContentType(metadata.getContentType());
         info.setFileSize(version.getFileSize());
+        info.setEtag(version.getMd5());
+        info.setLastModified(version.getCreateTime());
 
         logOperation(fileId, "DOWNLOAD_VERSION", userId, null,
             "下载版本: v" + version.getVersionNumber());
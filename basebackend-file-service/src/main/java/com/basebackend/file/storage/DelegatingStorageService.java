@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -52,6 +53,12 @@ public class DelegatingStorageService implements StorageService {
         return service.upload(inputStream, path, contentType, size);
     }
 
+    @Override
+    public String uploadParts(List<Path> parts, String path, String contentType, long size) {
+        StorageService service = resolveService(null, path, null);
+        return service.uploadParts(parts, path, contentType, size);
+    }
+
     /**
      * 新版上传方法（推荐使用）
      *
@@ -108,6 +115,18 @@ public class DelegatingStorageService implements StorageService {
         return service.download(path);
     }
 
+    @Override
+    public InputStream download(String path, long offset, long length) {
+        StorageService service = resolveService(null, path, null);
+        return service.download(path, offset, length);
+    }
+
+    @Override
+    public Path resolveLocalFile(String path) {
+        StorageService service = resolveService(null, path, null);
+        return service.resolveLocalFile(path);
+    }
+
     @Override
     public void delete(String path) {
         StorageService service = resolveService(null, path, null);
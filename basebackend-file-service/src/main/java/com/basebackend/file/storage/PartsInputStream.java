@@ -0,0 +1,82 @@
+package com.basebackend.file.storage;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 按顺序串联多个分片文件的输入流
+ * <p>
+ * 分片按需逐个打开、读完即关，任意时刻只持有一个文件句柄，
+ * 用于在不生成合并文件的情况下把分片作为一个整体流式上传。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public class PartsInputStream extends InputStream {
+
+    private final Iterator<Path> parts;
+    private InputStream current;
+
+    public PartsInputStream(List<Path> parts) {
+        this.parts = parts.iterator();
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (nextStreamIfNeeded()) {
+            int b = current.read();
+            if (b != -1) {
+                return b;
+            }
+            closeCurrent();
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (nextStreamIfNeeded()) {
+            int n = current.read(b, off, len);
+            if (n > 0) {
+                return n;
+            }
+            closeCurrent();
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeCurrent();
+    }
+
+    private boolean nextStreamIfNeeded() throws IOException {
+        if (current != null) {
+            return true;
+        }
+        if (!parts.hasNext()) {
+            return false;
+        }
+        current = new BufferedInputStream(Files.newInputStream(parts.next()));
+        return true;
+    }
+
+    private void closeCurrent() throws IOException {
+        if (current != null) {
+            try {
+                current.close();
+            } finally {
+                current = null;
+            }
+        }
+    }
+}
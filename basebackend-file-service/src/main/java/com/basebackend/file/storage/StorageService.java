@@ -1,6 +1,12 @@
 package com.basebackend.file.storage;
 
+import com.basebackend.common.exception.BusinessException;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -20,6 +26,28 @@ public interface StorageService {
      */
     String upload(InputStream inputStream, String path, String contentType, long size);
 
+    /**
+     * 按顺序拼接多个本地分片并上传为一个对象
+     * <p>
+     * 默认实现把分片串联成一个顺序流交给 {@link #upload}，不在本地落合并文件；
+     * 对象存储 SDK 会按 size 自动切分 multipart 流式上传。
+     * 支持零拷贝的实现（如本地存储）可覆盖为 {@code FileChannel.transferTo}。
+     * </p>
+     *
+     * @param parts       按顺序排列的分片文件
+     * @param path        存储路径
+     * @param contentType 文件类型
+     * @param size        分片总大小
+     * @return 文件访问URL
+     */
+    default String uploadParts(List<Path> parts, String path, String contentType, long size) {
+        try (InputStream in = new PartsInputStream(parts)) {
+            return upload(in, path, contentType, size);
+        } catch (IOException e) {
+            throw BusinessException.fileUploadFailed("分片上传失败: " + e.getMessage());
+        }
+    }
+
     /**
      * 下载文件
      *
@@ -28,6 +56,45 @@ public interface StorageService {
      */
     InputStream download(String path);
 
+    /**
+     * 区间下载
+     * <p>
+     * 默认实现打开完整数据流后跳过前 offset 字节并截断到 length；
+     * 对象存储实现应覆盖为服务端 Range 读取，本地存储覆盖为按位置读取文件通道。
+     * </p>
+     *
+     * @param path   存储路径
+     * @param offset 起始偏移（含）
+     * @param length 读取长度
+     * @return 仅包含指定区间的输入流
+     */
+    default InputStream download(String path, long offset, long length) {
+        InputStream in = download(path);
+        try {
+            in.skipNBytes(offset);
+            return BoundedInputStream.builder()
+                    .setInputStream(in)
+                    .setMaxCount(length)
+                    .get();
+        } catch (IOException e) {
+            IOUtils.closeQuietly(in);
+            throw new BusinessException("文件下载失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 解析为本地文件路径
+     * <p>
+     * 仅本地存储返回非 null，供下载接口走零拷贝（sendfile / 文件通道）路径。
+     * </p>
+     *
+     * @param path 存储路径
+     * @return 本地文件路径，非本地存储或文件不存在时返回 null
+     */
+    default Path resolveLocalFile(String path) {
+        return null;
+    }
+
     /**
      * 删除文件
      *
@@ -7,14 +7,18 @@ import com.basebackend.file.storage.StorageServiceRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
@@ -79,6 +83,40 @@ public class LocalStorageServiceImpl implements StorageService {
         }
     }
 
+    /**
+     * 分片合并：逐个分片 {@code FileChannel.transferTo} 到目标文件，由内核完成拷贝，不经过用户态缓冲
+     */
+    @Override
+    public String uploadParts(List<Path> parts, String path, String contentType, long size) {
+        try {
+            Path fullPath = resolveSecurePath(path);
+
+            Path parentDir = fullPath.getParent();
+            if (parentDir != null && !Files.exists(parentDir)) {
+                Files.createDirectories(parentDir);
+            }
+
+            try (FileChannel target = FileChannel.open(fullPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Path part : parts) {
+                    try (FileChannel source = FileChannel.open(part, StandardOpenOption.READ)) {
+                        long position = 0;
+                        long partSize = source.size();
+                        while (position < partSize) {
+                            position += source.transferTo(position, partSize - position, target);
+                        }
+                    }
+                }
+            }
+
+            log.info("本地存储：分片合并上传成功 path={}, parts={}", path, parts.size());
+            return getUrl(path);
+        } catch (IOException e) {
+            log.error("本地存储：分片合并上传失败 path={}", path, e);
+            throw new BusinessException("文件上传失败: " + e.getMessage());
+        }
+    }
+
     @Override
     public InputStream download(String path) {
         try {
@@ -95,6 +133,34 @@ public class LocalStorageServiceImpl implements StorageService {
         }
     }
 
+    /**
+     * 区间下载：直接定位文件通道，不读取 offset 之前的数据
+     */
+    @Override
+    public InputStream download(String path, long offset, long length) {
+        Path fullPath = resolveSecurePath(path);
+        if (!Files.exists(fullPath)) {
+            throw new BusinessException("文件不存在: " + path);
+        }
+        try {
+            FileChannel channel = FileChannel.open(fullPath, StandardOpenOption.READ);
+            channel.position(offset);
+            return BoundedInputStream.builder()
+                    .setInputStream(Channels.newInputStream(channel))
+                    .setMaxCount(length)
+                    .get();
+        } catch (IOException e) {
+            log.error("本地存储：区间下载失败 path={}, offset={}, length={}", path, offset, length, e);
+            throw new BusinessException("文件下载失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Path resolveLocalFile(String path) {
+        Path fullPath = resolveSecurePath(path);
+        return Files.isRegularFile(fullPath) ? fullPath : null;
+    }
+
     @Override
     public void delete(String path) {
         try {
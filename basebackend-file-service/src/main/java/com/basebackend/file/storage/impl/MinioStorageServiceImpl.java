@@ -81,6 +81,22 @@ public class MinioStorageServiceImpl implements StorageService {
         }
     }
 
+    @Override
+    public InputStream download(String path, long offset, long length) {
+        try {
+            return minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(minioProperties.getBucketName())
+                            .object(path)
+                            .offset(offset)
+                            .length(length)
+                            .build());
+        } catch (Exception e) {
+            log.error("MinIO存储：区间下载失败 path={}, offset={}, length={}", path, offset, length, e);
+            throw new BusinessException("文件下载失败: " + e.getMessage());
+        }
+    }
+
     @Override
     public void delete(String path) {
         try {
@@ -80,6 +80,20 @@ public class OssStorageServiceImpl implements StorageService {
         }
     }
 
+    @Override
+    public InputStream download(String path, long offset, long length) {
+        try {
+            GetObjectRequest request = new GetObjectRequest(ossProperties.getBucketName(), path);
+            request.setRange(offset, offset + length - 1);
+            // 标准 Range 行为：非法区间返回错误而不是静默回退为整个对象
+            request.addHeader("x-oss-range-behavior", "standard");
+            return ossClient.getObject(request).getObjectContent();
+        } catch (Exception e) {
+            log.error("OSS存储：区间下载失败 path={}, offset={}, length={}", path, offset, length, e);
+            throw new BusinessException("文件下载失败: " + e.getMessage());
+        }
+    }
+
     @Override
     public void delete(String path) {
         try {
@@ -36,6 +36,16 @@ import java.util.concurrent.TimeUnit;
 @ConditionalOnProperty(name = "file.storage.type", havingValue = "aws_s3")
 public class S3StorageServiceImpl implements StorageService {
 
+    /**
+     * 单次 CopyObject 允许的最大对象大小（5GB），超过时改用分片复制
+     */
+    private static final long MAX_SINGLE_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+
+    /**
+     * 分片复制的分片大小；S3 最多 10000 个分片，512MB 可覆盖 5TB 的对象上限
+     */
+    private static final long COPY_PART_SIZE = 512L * 1024 * 1024;
+
     private final AmazonS3 s3Client;
     private final S3Properties s3Properties;
     private final StorageServiceRegistry storageServiceRegistry;
@@ -87,6 +97,18 @@ public class S3StorageServiceImpl implements StorageService {
         }
     }
 
+    @Override
+    public InputStream download(String path, long offset, long length) {
+        try {
+            GetObjectRequest request = new GetObjectRequest(s3Properties.getBucketName(), path)
+                    .withRange(offset, offset + length - 1);
+            return s3Client.getObject(request).getObjectContent();
+        } catch (Exception e) {
+            log.error("S3存储：区间下载失败 path={}, offset={}, length={}", path, offset, length, e);
+            throw new BusinessException("文件下载失败: " + e.getMessage());
+        }
+    }
+
     @Override
     public void delete(String path) {
         try {
@@ -101,6 +123,12 @@ public class S3StorageServiceImpl implements StorageService {
     @Override
     public void copy(String sourcePath, String targetPath) {
         try {
+            ObjectMetadata sourceMetadata = s3Client.getObjectMetadata(s3Properties.getBucketName(), sourcePath);
+            if (sourceMetadata.getContentLength() > MAX_SINGLE_COPY_SIZE) {
+                multipartCopy(sourcePath, targetPath, sourceMetadata);
+                return;
+            }
+
             // 使用S3的COPY API
             CopyObjectRequest copyObjectRequest = new CopyObjectRequest(
                     s3Properties.getBucketName(), sourcePath,
@@ -203,6 +231,50 @@ public class S3StorageServiceImpl implements StorageService {
         return StorageType.AWS_S3;
     }
 
+    /**
+     * 分片复制大于 5GB 的对象
+     * <p>
+     * 按 {@link #COPY_PART_SIZE} 逐段执行服务端 UploadPartCopy，数据不经过本服务；
+     * 任一分片失败时中止分片上传，避免残留未完成的分片。
+     * </p>
+     */
+    private void multipartCopy(String sourcePath, String targetPath, ObjectMetadata sourceMetadata) {
+        String bucket = s3Properties.getBucketName();
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(sourceMetadata.getContentType());
+        metadata.setUserMetadata(sourceMetadata.getUserMetadata());
+        String uploadId = s3Client.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucket, targetPath, metadata)).getUploadId();
+        try {
+            long size = sourceMetadata.getContentLength();
+            List<PartETag> partETags = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += COPY_PART_SIZE, partNumber++) {
+                CopyPartRequest copyPartRequest = new CopyPartRequest()
+                        .withSourceBucketName(bucket)
+                        .withSourceKey(sourcePath)
+                        .withDestinationBucketName(bucket)
+                        .withDestinationKey(targetPath)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withFirstByte(offset)
+                        .withLastByte(Math.min(offset + COPY_PART_SIZE, size) - 1);
+                partETags.add(s3Client.copyPart(copyPartRequest).getPartETag());
+            }
+            CompleteMultipartUploadResult result = s3Client.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucket, targetPath, uploadId, partETags));
+            log.info("S3存储：分片复制成功 from={} to={}, parts={}, etag={}",
+                    sourcePath, targetPath, partETags.size(), result.getETag());
+        } catch (RuntimeException e) {
+            try {
+                s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, targetPath, uploadId));
+            } catch (RuntimeException abortError) {
+                log.warn("S3存储：中止分片复制失败 to={}, uploadId={}", targetPath, uploadId, abortError);
+            }
+            throw e;
+        }
+    }
+
     /**
      * 确保bucket存在
      */
@@ -0,0 +1,151 @@
+package com.basebackend.file.chunk;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ChunkDigestTracker 测试
+ */
+@DisplayName("ChunkDigestTracker 分块增量摘要测试")
+class ChunkDigestTrackerTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private final ChunkDigestTracker tracker = new ChunkDigestTracker(Duration.ofHours(1));
+    private IntFunction<Path> chunkLookup;
+
+    @BeforeEach
+    void setUp() {
+        chunkLookup = i -> tempDir.resolve(String.valueOf(i));
+    }
+
+    @Test
+    @DisplayName("乱序到达的分块在前序分块补齐后追加到摘要")
+    void shouldCatchUpOutOfOrderChunks() throws Exception {
+        byte[][] chunks = randomChunks(4);
+        tracker.start("u1", chunks.length);
+
+        write("u1", 2, chunks[2]);
+        write("u1", 3, chunks[3]);
+        write("u1", 1, chunks[1]);
+        assertThat(tracker.digestIfComplete("u1", chunkLookup)).isNull();
+
+        write("u1", 0, chunks[0]);
+
+        assertThat(tracker.digestIfComplete("u1", chunkLookup)).isEqualTo(DigestUtils.md5Hex(concat(chunks)));
+        assertThat(Files.readAllBytes(chunkLookup.apply(2))).isEqualTo(chunks[2]);
+    }
+
+    @Test
+    @DisplayName("并发写入同一上传任务的分块，摘要与顺序拼接一致且不残留临时文件")
+    void shouldDigestChunksWrittenConcurrently() throws Exception {
+        byte[][] chunks = randomChunks(32);
+        tracker.start("u2", chunks.length);
+        List<Integer> order = new ArrayList<>(IntStream.range(0, chunks.length).boxed().toList());
+        Collections.shuffle(order, new Random(7));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int index : order) {
+                futures.add(executor.submit(() -> tracker.write("u2", index,
+                        new ByteArrayInputStream(chunks[index]), chunkLookup.apply(index), chunkLookup)));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        }
+
+        assertThat(tracker.digestIfComplete("u2", chunkLookup)).isEqualTo(DigestUtils.md5Hex(concat(chunks)));
+        try (var files = Files.list(tempDir)) {
+            assertThat(files.map(p -> p.getFileName().toString())).noneMatch(name -> name.endsWith(".part"));
+        }
+    }
+
+    @Test
+    @DisplayName("重新上传已纳入摘要的分块时放弃增量摘要")
+    void shouldDropDigestWhenDigestedChunkIsRewritten() throws Exception {
+        byte[][] chunks = randomChunks(3);
+        tracker.start("u3", chunks.length);
+        write("u3", 0, chunks[0]);
+        write("u3", 1, chunks[1]);
+        write("u3", 2, chunks[2]);
+
+        byte[] replaced = chunks[0].clone();
+        replaced[0] ^= 1;
+        write("u3", 0, replaced);
+
+        assertThat(tracker.digestIfComplete("u3", chunkLookup)).isNull();
+        assertThat(Files.readAllBytes(chunkLookup.apply(0))).isEqualTo(replaced);
+    }
+
+    @Test
+    @DisplayName("重新上传尚未纳入摘要的分块时摘要以新内容为准")
+    void shouldDigestLatestContentOfPendingChunk() throws Exception {
+        byte[][] chunks = randomChunks(3);
+        tracker.start("u4", chunks.length);
+        write("u4", 2, chunks[2]);
+        chunks[2][0] ^= 1;
+        write("u4", 2, chunks[2]);
+        write("u4", 1, chunks[1]);
+        write("u4", 0, chunks[0]);
+
+        assertThat(tracker.digestIfComplete("u4", chunkLookup)).isEqualTo(DigestUtils.md5Hex(concat(chunks)));
+    }
+
+    @Test
+    @DisplayName("无追踪状态时不写盘，由调用方处理")
+    void shouldSkipWhenNotTracked() throws Exception {
+        boolean written = tracker.write("unknown", 0, new ByteArrayInputStream(new byte[]{1}),
+                chunkLookup.apply(0), chunkLookup);
+
+        assertThat(written).isFalse();
+        assertThat(Files.exists(chunkLookup.apply(0))).isFalse();
+        assertThat(tracker.digestIfComplete("unknown", chunkLookup)).isNull();
+    }
+
+    private void write(String uploadId, int index, byte[] data) throws Exception {
+        assertThat(tracker.write(uploadId, index, new ByteArrayInputStream(data), chunkLookup.apply(index),
+                chunkLookup)).isTrue();
+    }
+
+    private static byte[][] randomChunks(int count) {
+        Random random = new Random(42);
+        byte[][] chunks = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            chunks[i] = new byte[CHUNK_SIZE + i];
+            random.nextBytes(chunks[i]);
+        }
+        return chunks;
+    }
+
+    private static byte[] concat(byte[][] chunks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] chunk : chunks) {
+            out.writeBytes(chunk);
+        }
+        return out.toByteArray();
+    }
+}
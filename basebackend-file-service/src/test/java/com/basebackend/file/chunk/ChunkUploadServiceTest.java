@@ -0,0 +1,152 @@
+package com.basebackend.file.chunk;
+
+import com.basebackend.common.exception.BusinessException;
+import com.basebackend.file.config.FileProperties;
+import com.basebackend.file.storage.StorageServiceRegistry;
+import com.basebackend.file.storage.impl.LocalStorageServiceImpl;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ChunkUploadService 合并流程测试
+ */
+@DisplayName("ChunkUploadService 分块合并测试")
+class ChunkUploadServiceTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<String, Map<Object, Object>> hashes = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+
+    private LocalStorageServiceImpl storageService;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        FileProperties fileProperties = mock(FileProperties.class);
+        when(fileProperties.getUploadPath()).thenReturn(tempDir.toString());
+        when(fileProperties.getAccessPrefix()).thenReturn("/files");
+        storageService = new LocalStorageServiceImpl(fileProperties, mock(StorageServiceRegistry.class));
+
+        // 以内存 Map 模拟 Redis 中的上传信息和分块状态
+        redisTemplate = mock(StringRedisTemplate.class);
+        HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+        SetOperations<String, String> setOps = mock(SetOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOps);
+        when(redisTemplate.opsForSet()).thenReturn(setOps);
+        doAnswer(inv -> {
+            hashes.computeIfAbsent(inv.getArgument(0), k -> new ConcurrentHashMap<>())
+                    .putAll(inv.getArgument(1));
+            return null;
+        }).when(hashOps).putAll(anyString(), any(Map.class));
+        when(hashOps.entries(anyString()))
+                .thenAnswer(inv -> new HashMap<>(hashes.getOrDefault(inv.getArgument(0), Map.of())));
+        when(setOps.add(anyString(), any(String[].class))).thenAnswer(inv -> {
+            Set<String> set = sets.computeIfAbsent(inv.getArgument(0), k -> ConcurrentHashMap.newKeySet());
+            return set.add(inv.getArgument(1)) ? 1L : 0L;
+        });
+        when(setOps.isMember(anyString(), any()))
+                .thenAnswer(inv -> sets.getOrDefault(inv.getArgument(0), Set.of()).contains(inv.getArgument(1)));
+        when(redisTemplate.delete(anyString())).thenAnswer(inv -> sets.remove(inv.<String>getArgument(0)) != null);
+    }
+
+    @Test
+    @DisplayName("乱序上传的分块按增量摘要校验后写入存储，并清理临时分块")
+    void shouldCompleteUploadWithIncrementalDigest() throws Exception {
+        byte[] content = randomContent(3 * CHUNK_SIZE + 123);
+        ChunkUploadService service = new ChunkUploadService(storageService, redisTemplate);
+        ChunkUploadInfo info = service.initUpload("report.bin", content.length, DigestUtils.md5Hex(content),
+                "application/octet-stream", null, CHUNK_SIZE);
+
+        for (int index : new int[]{3, 1, 0, 2}) {
+            service.uploadChunk(info.getUploadId(), index, chunk(content, index));
+        }
+        String storagePath = service.completeUpload(info.getUploadId());
+
+        assertThat(storagePath).isEqualTo("/files/" + info.getTargetPath());
+        assertThat(Files.readAllBytes(tempDir.resolve(info.getTargetPath()))).isEqualTo(content);
+        assertThat(service.getUploadInfo(info.getUploadId()).getStatus())
+                .isEqualTo(ChunkUploadInfo.UploadStatus.COMPLETED);
+        assertThat(chunkDir(info.getUploadId())).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("增量摘要不可用时在上传流上校验 MD5")
+    void shouldFallBackToStreamingDigestWithoutTrackerState() throws Exception {
+        byte[] content = randomContent(2 * CHUNK_SIZE + 7);
+        ChunkUploadService service = new ChunkUploadService(storageService, redisTemplate);
+        ChunkUploadInfo info = service.initUpload("report.bin", content.length, DigestUtils.md5Hex(content),
+                "application/octet-stream", null, CHUNK_SIZE);
+        for (int index = 0; index < info.getTotalChunks(); index++) {
+            service.uploadChunk(info.getUploadId(), index, chunk(content, index));
+        }
+
+        // 另一节点（或重启后）没有该任务的增量摘要状态
+        ChunkUploadService otherNode = new ChunkUploadService(storageService, redisTemplate);
+        otherNode.completeUpload(info.getUploadId());
+
+        assertThat(Files.readAllBytes(tempDir.resolve(info.getTargetPath()))).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("MD5 不一致时拒绝合并，不写入存储")
+    void shouldRejectMismatchedMd5() throws Exception {
+        byte[] content = randomContent(2 * CHUNK_SIZE);
+        ChunkUploadService service = new ChunkUploadService(storageService, redisTemplate);
+        ChunkUploadInfo info = service.initUpload("report.bin", content.length, DigestUtils.md5Hex("other"),
+                "application/octet-stream", null, CHUNK_SIZE);
+        for (int index = 0; index < info.getTotalChunks(); index++) {
+            service.uploadChunk(info.getUploadId(), index, chunk(content, index));
+        }
+
+        assertThatThrownBy(() -> service.completeUpload(info.getUploadId()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("文件MD5校验失败");
+        assertThat(tempDir.resolve(info.getTargetPath())).doesNotExist();
+        service.cancelUpload(info.getUploadId());
+    }
+
+    private static MockMultipartFile chunk(byte[] content, int index) {
+        int from = index * CHUNK_SIZE;
+        int to = Math.min(content.length, from + CHUNK_SIZE);
+        return new MockMultipartFile("file", Arrays.copyOfRange(content, from, to));
+    }
+
+    private static Path chunkDir(String uploadId) {
+        return Path.of(System.getProperty("java.io.tmpdir"), "chunk_upload", uploadId);
+    }
+
+    private static byte[] randomContent(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+}
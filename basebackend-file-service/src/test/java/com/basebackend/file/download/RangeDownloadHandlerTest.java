@@ -0,0 +1,157 @@
+package com.basebackend.file.download;
+
+import com.basebackend.file.config.FileProperties;
+import com.basebackend.file.service.FileManagementService.FileDownloadInfo;
+import com.basebackend.file.storage.StorageServiceRegistry;
+import com.basebackend.file.storage.impl.LocalStorageServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * RangeDownloadHandler 测试
+ */
+@DisplayName("RangeDownloadHandler 区间下载测试")
+class RangeDownloadHandlerTest {
+
+    private static final String MD5 = "0123456789abcdef0123456789abcdef";
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RangeDownloadHandler handler;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FileProperties fileProperties = mock(FileProperties.class);
+        when(fileProperties.getUploadPath()).thenReturn(tempDir.toString());
+        LocalStorageServiceImpl storageService =
+                new LocalStorageServiceImpl(fileProperties, mock(StorageServiceRegistry.class));
+        handler = new RangeDownloadHandler(storageService, meterRegistry);
+
+        content = new byte[100 * 1024];
+        new Random(7).nextBytes(content);
+        Files.write(tempDir.resolve("data.bin"), content);
+    }
+
+    @Test
+    @DisplayName("单区间返回 206 且只读取区间内字节")
+    void shouldServeSingleRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+
+        ResponseEntity<?> response = handler.respond(info(), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE))
+                .isEqualTo("bytes 100-199/" + content.length);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(100);
+        try (InputStream in = ((InputStreamResource) response.getBody()).getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+        }
+        assertThat(meterRegistry.counter("file.download.bytes", "mode", "range").count()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("多区间返回 ResourceRegion 列表")
+    void shouldServeMultipleRanges() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9,-10");
+
+        ResponseEntity<?> response = handler.respond(info(), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        @SuppressWarnings("unchecked")
+        List<ResourceRegion> regions = (List<ResourceRegion>) response.getBody();
+        assertThat(regions).hasSize(2);
+        assertThat(regions.get(1).getPosition()).isEqualTo(content.length - 10);
+        assertThat(regions.get(1).getCount()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("起点越界返回 416")
+    void shouldRejectUnsatisfiableRange() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=" + content.length + "-");
+
+        ResponseEntity<?> response = handler.respond(info(), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + content.length);
+    }
+
+    @Test
+    @DisplayName("ETag 匹配时返回 304")
+    void shouldReturnNotModifiedWhenEtagMatches() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + MD5 + "\"");
+
+        ResponseEntity<?> response = handler.respond(info(), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("If-Range 不匹配时忽略 Range 返回完整内容")
+    void shouldIgnoreRangeWhenIfRangeMismatch() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+        ResponseEntity<?> response = handler.respond(info(), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(content.length);
+        assertThat(handler.isInitialRequest(request)).isTrue();
+    }
+
+    @Test
+    @DisplayName("容器支持 sendfile 时本地文件交由容器零拷贝发送")
+    void shouldDelegateToSendfileForLocalFile() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(RangeDownloadHandler.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=1024-");
+
+        ResponseEntity<?> response = handler.respond(info(), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getBody()).isNull();
+        assertThat(request.getAttribute(RangeDownloadHandler.SENDFILE_START_ATTR)).isEqualTo(1024L);
+        assertThat(request.getAttribute(RangeDownloadHandler.SENDFILE_END_ATTR)).isEqualTo((long) content.length);
+        assertThat(handler.isInitialRequest(request)).isFalse();
+    }
+
+    private FileDownloadInfo info() {
+        FileDownloadInfo info = new FileDownloadInfo();
+        info.setStoragePath("data.bin");
+        info.setFileName("data.bin");
+        info.setContentType("application/octet-stream");
+        info.setFileSize((long) content.length);
+        info.setEtag(MD5);
+        info.setLastModified(LocalDateTime.now().withNano(0));
+        return info;
+    }
+}
@@ -0,0 +1,151 @@
+package com.basebackend.file.pipeline;
+
+import com.basebackend.common.exception.BusinessException;
+import com.basebackend.file.antivirus.AntivirusService;
+import com.basebackend.file.antivirus.MockAntivirusService;
+import com.basebackend.file.antivirus.ScanResult;
+import com.basebackend.file.config.FileProperties;
+import com.basebackend.file.storage.StorageServiceRegistry;
+import com.basebackend.file.storage.impl.LocalStorageServiceImpl;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * StreamingUploadPipeline 测试
+ */
+@DisplayName("StreamingUploadPipeline 单遍上传流水线测试")
+class StreamingUploadPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalStorageServiceImpl storageService;
+    private final Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @BeforeEach
+    void setUp() {
+        FileProperties fileProperties = mock(FileProperties.class);
+        when(fileProperties.getUploadPath()).thenReturn(tempDir.toString());
+        when(fileProperties.getAccessPrefix()).thenReturn("/files");
+        storageService = new LocalStorageServiceImpl(fileProperties, mock(StorageServiceRegistry.class));
+    }
+
+    @Test
+    @DisplayName("单遍读取同时得到 MD5、扫描结果和存储文件")
+    void shouldHashScanAndStoreInOnePass() throws Exception {
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+        StreamingUploadPipeline pipeline = new StreamingUploadPipeline(new MockAntivirusService(), executor);
+
+        StreamingUploadPipeline.PipelineResult result = pipeline.upload(new ByteArrayInputStream(content),
+                storageService, "a/b.bin", "application/octet-stream", content.length, "b.bin");
+
+        assertThat(result.md5()).isEqualTo(DigestUtils.md5Hex(content));
+        assertThat(result.size()).isEqualTo(content.length);
+        assertThat(result.scanResult().isSafe()).isTrue();
+        assertThat(Files.readAllBytes(tempDir.resolve("a/b.bin"))).isEqualTo(content);
+        assertThat(Files.exists(tempDir.resolve("quarantine/a/b.bin"))).isFalse();
+        assertThat(result.url()).isEqualTo("/files/a/b.bin");
+    }
+
+    @Test
+    @DisplayName("扫描结束前内容只存在于隔离区，目标路径不可见")
+    void shouldKeepUnscannedContentInQuarantine() {
+        byte[] content = "pending".getBytes(StandardCharsets.UTF_8);
+        AtomicBoolean targetVisibleDuringScan = new AtomicBoolean(true);
+        AntivirusService antivirus = new AntivirusService() {
+            @Override
+            public ScanResult scan(InputStream inputStream, String filename) {
+                try {
+                    inputStream.readAllBytes();
+                } catch (IOException e) {
+                    return ScanResult.error(e.getMessage(), getEngineName());
+                }
+                targetVisibleDuringScan.set(Files.exists(tempDir.resolve("pending.txt")));
+                return ScanResult.safe(getEngineName(), 0);
+            }
+
+            @Override
+            public ScanResult scan(byte[] data, String filename) {
+                return ScanResult.safe(getEngineName(), 0);
+            }
+
+            @Override
+            public boolean isAvailable() {
+                return true;
+            }
+
+            @Override
+            public String getEngineName() {
+                return "test";
+            }
+        };
+        StreamingUploadPipeline pipeline = new StreamingUploadPipeline(antivirus, executor);
+
+        pipeline.upload(new ByteArrayInputStream(content),
+                storageService, "pending.txt", "text/plain", content.length, "pending.txt");
+
+        assertThat(targetVisibleDuringScan).isFalse();
+        assertThat(Files.exists(tempDir.resolve("pending.txt"))).isTrue();
+        assertThat(Files.exists(tempDir.resolve("quarantine/pending.txt"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("扫描未通过时删除已写入对象")
+    void shouldDeleteStoredObjectWhenThreatDetected() {
+        byte[] content = "X5O!P%@AP[4\\PZX54(P^)7CC)7}$EICAR-STANDARD-ANTIVIRUS-TEST-FILE!$H+H*"
+                .getBytes(StandardCharsets.UTF_8);
+        StreamingUploadPipeline pipeline = new StreamingUploadPipeline(new MockAntivirusService(), executor);
+
+        assertThatThrownBy(() -> pipeline.upload(new ByteArrayInputStream(content),
+                storageService, "virus.txt", "text/plain", content.length, "virus.txt"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("文件安全检测未通过");
+        assertThat(Files.exists(tempDir.resolve("virus.txt"))).isFalse();
+        assertThat(Files.exists(tempDir.resolve("quarantine/virus.txt"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("无杀毒服务时仅计算摘要并存储")
+    void shouldSkipScanWhenAntivirusAbsent() {
+        byte[] content = "plain".getBytes(StandardCharsets.UTF_8);
+        StreamingUploadPipeline pipeline = new StreamingUploadPipeline(null, executor);
+
+        StreamingUploadPipeline.PipelineResult result = pipeline.upload(new ByteArrayInputStream(content),
+                storageService, "plain.txt", "text/plain", content.length, "plain.txt");
+
+        assertThat(result.scanResult()).isNull();
+        assertThat(result.md5()).isEqualTo(DigestUtils.md5Hex(content));
+    }
+
+    @Test
+    @DisplayName("本地存储分片合并与顺序拼接结果一致")
+    void shouldMergePartsWithTransferTo() throws Exception {
+        Path part0 = Files.write(tempDir.resolve("p0"), "hello ".getBytes(StandardCharsets.UTF_8));
+        Path part1 = Files.write(tempDir.resolve("p1"), "world".getBytes(StandardCharsets.UTF_8));
+
+        storageService.uploadParts(List.of(part0, part1), "merged/out.txt", "text/plain", 11);
+
+        assertThat(Files.readString(tempDir.resolve("merged/out.txt"))).isEqualTo("hello world");
+    }
+}
@@ -2,16 +2,17 @@ package com.basebackend.file.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.basebackend.common.dto.PageResult;
 import com.basebackend.common.exception.BusinessException;
-import com.basebackend.file.antivirus.AntivirusService;
 import com.basebackend.file.config.FileProperties;
 import com.basebackend.file.entity.FileMetadata;
 import com.basebackend.file.entity.FileOperationLog;
 import com.basebackend.file.mapper.FileMetadataMapper;
 import com.basebackend.file.mapper.FileOperationLogMapper;
 import com.basebackend.file.mapper.FileRecycleBinMapper;
+import com.basebackend.file.pipeline.StreamingUploadPipeline;
 import com.basebackend.file.security.FileSecurityValidator;
 import com.basebackend.file.storage.StorageService;
 import org.junit.jupiter.api.DisplayName;
@@ -27,6 +28,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -54,7 +56,7 @@ class FileManagementServiceAccessTest {
     private FileSecurityValidator fileSecurityValidator;
 
     @Mock
-    private AntivirusService antivirusService;
+    private StreamingUploadPipeline uploadPipeline;
 
     @Mock
     private FilePermissionService filePermissionService;
@@ -180,4 +182,45 @@ class FileManagementServiceAccessTest {
                 .doesNotContain("is_public")
                 .doesNotContain("owner_id");
     }
+
+    @Test
+    @DisplayName("首次下载请求应累计下载次数并记录操作日志")
+    void shouldCountAndLogInitialDownload() {
+        mockReadableFile();
+
+        fileManagementService.prepareDownload("file-001", 7L, true);
+
+        verify(fileMetadataMapper).update(any(), any(LambdaUpdateWrapper.class));
+        ArgumentCaptor<FileOperationLog> logCaptor = ArgumentCaptor.forClass(FileOperationLog.class);
+        verify(fileOperationLogMapper).insert(logCaptor.capture());
+        assertThat(logCaptor.getValue().getOperationType()).isEqualTo("DOWNLOAD");
+        assertThat(logCaptor.getValue().getOperatorId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("断点续传的后续区间请求不累计下载次数，但仍记录操作日志")
+    void shouldLogRangeContinuationWithoutCounting() {
+        mockReadableFile();
+
+        fileManagementService.prepareDownload("file-001", 7L, false);
+
+        verify(fileMetadataMapper, never()).update(any(), any(LambdaUpdateWrapper.class));
+        ArgumentCaptor<FileOperationLog> logCaptor = ArgumentCaptor.forClass(FileOperationLog.class);
+        verify(fileOperationLogMapper).insert(logCaptor.capture());
+        assertThat(logCaptor.getValue().getOperationType()).isEqualTo("DOWNLOAD");
+        assertThat(logCaptor.getValue().getOperatorId()).isEqualTo(7L);
+    }
+
+    private void mockReadableFile() {
+        FileMetadata metadata = new FileMetadata();
+        metadata.setFileId("file-001");
+        metadata.setOwnerId(99L);
+        metadata.setIsDeleted(false);
+        metadata.setFilePath("2026/01/file-001.bin");
+        metadata.setOriginalName("report.bin");
+
+        when(fileMetadataMapper.selectOne(any(LambdaQueryWrapper.class))).thenReturn(metadata);
+        when(filePermissionService.hasPermission("file-001", 7L, FilePermissionService.PermissionType.READ))
+                .thenReturn(true);
+    }
 }
@@ -0,0 +1,120 @@
+package com.basebackend.file.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.CopyObjectResult;
+import com.amazonaws.services.s3.model.CopyPartRequest;
+import com.amazonaws.services.s3.model.CopyPartResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.basebackend.common.exception.BusinessException;
+import com.basebackend.file.config.S3Properties;
+import com.basebackend.file.storage.impl.S3StorageServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * S3StorageServiceImpl测试类
+ * 测试服务端复制在 5GB 上下的分流
+ */
+@DisplayName("S3StorageService AWS S3存储服务测试")
+class S3StorageServiceTest {
+
+    private static final long GB = 1024L * 1024 * 1024;
+
+    private final AmazonS3 s3Client = mock(AmazonS3.class);
+    private S3StorageServiceImpl s3StorageService;
+
+    @BeforeEach
+    void setUp() {
+        S3Properties properties = new S3Properties();
+        properties.setBucketName("bucket");
+        s3StorageService = new S3StorageServiceImpl(s3Client, properties, mock(StorageServiceRegistry.class));
+    }
+
+    @Test
+    @DisplayName("不超过 5GB 的对象使用单次 CopyObject")
+    void shouldUseSingleCopyUpToFiveGigabytes() {
+        when(s3Client.getObjectMetadata("bucket", "src")).thenReturn(metadata(5 * GB));
+        when(s3Client.copyObject(any(CopyObjectRequest.class))).thenReturn(new CopyObjectResult());
+
+        s3StorageService.copy("src", "dst");
+
+        verify(s3Client).copyObject(any(CopyObjectRequest.class));
+        verify(s3Client, never()).initiateMultipartUpload(any());
+    }
+
+    @Test
+    @DisplayName("超过 5GB 的对象按分片复制并覆盖全部字节")
+    void shouldUseMultipartCopyAboveFiveGigabytes() {
+        long size = 6 * GB + 1;
+        when(s3Client.getObjectMetadata("bucket", "src")).thenReturn(metadata(size));
+        InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+        initiated.setUploadId("upload-1");
+        when(s3Client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiated);
+        when(s3Client.copyPart(any(CopyPartRequest.class))).thenAnswer(invocation -> {
+            CopyPartRequest request = invocation.getArgument(0);
+            CopyPartResult result = new CopyPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber());
+            return result;
+        });
+        when(s3Client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(new CompleteMultipartUploadResult());
+
+        s3StorageService.copy("src", "dst");
+
+        ArgumentCaptor<CopyPartRequest> parts = ArgumentCaptor.forClass(CopyPartRequest.class);
+        verify(s3Client, atLeastOnce()).copyPart(parts.capture());
+        List<CopyPartRequest> requests = parts.getAllValues();
+        long expectedFirstByte = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            CopyPartRequest request = requests.get(i);
+            assertThat(request.getPartNumber()).isEqualTo(i + 1);
+            assertThat(request.getFirstByte()).isEqualTo(expectedFirstByte);
+            expectedFirstByte = request.getLastByte() + 1;
+        }
+        assertThat(expectedFirstByte).isEqualTo(size);
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().getPartETags()).hasSize(requests.size());
+        verify(s3Client, never()).copyObject(any(CopyObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("分片复制失败时中止分片上传")
+    void shouldAbortMultipartCopyOnFailure() {
+        when(s3Client.getObjectMetadata("bucket", "src")).thenReturn(metadata(6 * GB));
+        InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+        initiated.setUploadId("upload-2");
+        when(s3Client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiated);
+        when(s3Client.copyPart(any(CopyPartRequest.class))).thenThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> s3StorageService.copy("src", "dst")).isInstanceOf(BusinessException.class);
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any());
+    }
+
+    private static ObjectMetadata metadata(long contentLength) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(contentLength);
+        metadata.setContentType("application/octet-stream");
+        return metadata;
+    }
+}
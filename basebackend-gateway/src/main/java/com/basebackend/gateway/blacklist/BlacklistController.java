@@ -7,13 +7,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * 黑白名单管理 API
  * <p>
- * 提供运行时动态管理 IP / 路径封禁的 REST 接口。
+ * 提供运行时动态管理 IP / 路径封禁的 REST 接口。修改类接口在新规则生效后才响应，规则重建不占用事件循环线程。
  */
 @Slf4j
 @RestController
@@ -37,32 +38,37 @@ public class BlacklistController {
         )));
     }
 
-    /** 封禁 IP */
+    /** 封禁 IP 或 CIDR 网段，省略 ttlSeconds 表示永久，传入时必须为正数 */
     @PostMapping("/ip/deny")
     public Mono<ResponseEntity<String>> denyIp(@RequestParam String ip,
-                                                @RequestParam(defaultValue = "手动封禁") String reason) {
-        blacklistManager.denyIp(ip, reason);
-        return Mono.just(ResponseEntity.ok("已封禁 IP: " + ip));
+                                                @RequestParam(defaultValue = "手动封禁") String reason,
+                                                @RequestParam(required = false) Long ttlSeconds) {
+        if (ttlSeconds != null && ttlSeconds <= 0) {
+            return Mono.just(ResponseEntity.badRequest().body("ttlSeconds 必须大于 0，永久封禁请省略该参数"));
+        }
+        Duration ttl = ttlSeconds != null ? Duration.ofSeconds(ttlSeconds) : null;
+        return Mono.fromFuture(blacklistManager.denyIp(ip, reason, ttl))
+                .thenReturn(ResponseEntity.ok("已封禁 IP: " + ip));
     }
 
     /** 解封 IP */
     @DeleteMapping("/ip/deny")
     public Mono<ResponseEntity<String>> allowIp(@RequestParam String ip) {
-        blacklistManager.allowIp(ip);
-        return Mono.just(ResponseEntity.ok("已解封 IP: " + ip));
+        return Mono.fromFuture(blacklistManager.allowIp(ip))
+                .thenReturn(ResponseEntity.ok("已解封 IP: " + ip));
     }
 
     /** 封禁路径 */
     @PostMapping("/path/deny")
     public Mono<ResponseEntity<String>> denyPath(@RequestParam String path) {
-        blacklistManager.denyPath(path);
-        return Mono.just(ResponseEntity.ok("已封禁路径: " + path));
+        return Mono.fromFuture(blacklistManager.denyPath(path))
+                .thenReturn(ResponseEntity.ok("已封禁路径: " + path));
     }
 
     /** 解封路径 */
     @DeleteMapping("/path/deny")
     public Mono<ResponseEntity<String>> allowPath(@RequestParam String path) {
-        blacklistManager.allowPath(path);
-        return Mono.just(ResponseEntity.ok("已解封路径: " + path));
+        return Mono.fromFuture(blacklistManager.allowPath(path))
+                .thenReturn(ResponseEntity.ok("已解封路径: " + path));
     }
 }
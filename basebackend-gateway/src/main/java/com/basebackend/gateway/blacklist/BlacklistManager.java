@@ -1,21 +1,32 @@
 package com.basebackend.gateway.blacklist;
 
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * IP 黑白名单管理器
  * <p>
  * 支持静态配置（yml）和运行时动态管理（API），提供 IP 和路径两个维度的访问控制。
+ * IP 条目支持单个地址和 CIDR 网段（IPv4 / IPv6），动态封禁可设置有效期。
  *
  * <pre>
  * gateway:
@@ -28,6 +39,15 @@ import java.util.concurrent.ConcurrentHashMap;
  *     denied-paths:
  *       - /admin/debug/**
  * </pre>
+ *
+ * <h3>匹配结构</h3>
+ * 所有规则编译为不可变快照：IP 段前缀树（{@link IpRangeTrie}）与路径段前缀树（{@link PathPatternTrie}），
+ * 请求线程只读取 volatile 快照，查找耗时与规则数量无关。
+ *
+ * <h3>规则变更</h3>
+ * 规则来源集合不对外暴露可变引用，只能通过配置 setter 和动态管理方法修改；每次修改递增版本号并提交异步重建，
+ * 多次修改合并为一次重建。请求线程（Netty 事件循环）从不执行重建：动态封禁到期时同样只提交异步重建，
+ * 到期条目在查找时已被忽略。动态管理方法返回的 Future 在包含本次修改的快照生效后完成。
  */
 @Slf4j
 @Data
@@ -38,14 +58,14 @@ public class BlacklistManager {
     /** 是否启用黑白名单 */
     private boolean enabled = false;
 
-    /** 静态黑名单 IP 列表（配置文件） */
-    private List<String> deniedIps = new ArrayList<>();
+    /** 静态黑名单 IP / CIDR 列表（配置文件，不可变） */
+    private volatile List<String> deniedIps = List.of();
 
-    /** 静态白名单 IP 列表（配置文件，非空时启用白名单模式） */
-    private List<String> allowedIps = new ArrayList<>();
+    /** 静态白名单 IP / CIDR 列表（配置文件，不可变，非空时启用白名单模式） */
+    private volatile List<String> allowedIps = List.of();
 
-    /** 静态黑名单路径列表 */
-    private List<String> deniedPaths = new ArrayList<>();
+    /** 静态黑名单路径列表（不可变） */
+    private volatile List<String> deniedPaths = List.of();
 
     /**
      * 受信代理 CIDR 列表，仅当来源命中此列表时才信任 X-Forwarded-For / X-Real-IP
@@ -56,18 +76,79 @@ public class BlacklistManager {
             "::1/128"
     ));
 
-    /** 动态黑名单 IP（运行时通过 API 添加） */
+    /** 动态黑名单 IP / CIDR（运行时通过 API 添加） */
+    @Getter(AccessLevel.NONE)
     private final Set<String> dynamicDeniedIps = ConcurrentHashMap.newKeySet();
 
     /** 动态白名单 IP */
+    @Getter(AccessLevel.NONE)
     private final Set<String> dynamicAllowedIps = ConcurrentHashMap.newKeySet();
 
     /** 动态黑名单路径 */
+    @Getter(AccessLevel.NONE)
     private final Set<String> dynamicDeniedPaths = ConcurrentHashMap.newKeySet();
 
     /** IP 封禁原因记录 */
+    @Getter(AccessLevel.NONE)
     private final Map<String, String> banReasons = new ConcurrentHashMap<>();
 
+    /** 动态封禁的过期时间戳（毫秒），未记录的为永久封禁 */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Long> banExpiries = new ConcurrentHashMap<>();
+
+    /** 规则版本号，规则来源每次修改递增 */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final AtomicLong version = new AtomicLong();
+
+    /** 当前生效的规则快照 */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /** 已提交、尚未开始执行的异步重建 */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile CompletableFuture<Void> pendingRebuild;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Object rebuildLock = new Object();
+
+    /**
+     * 配置绑定完成后编译规则
+     */
+    @PostConstruct
+    public void init() {
+        rebuild();
+        Snapshot current = snapshot;
+        log.info("黑白名单规则已编译: 黑名单 IP {} 条, 白名单 IP {} 条, 路径 {} 条",
+                current.denied().size(), current.allowed().size(), current.paths().size());
+    }
+
+    public void setDeniedIps(List<String> deniedIps) {
+        this.deniedIps = deniedIps != null ? List.copyOf(deniedIps) : List.of();
+        changed();
+    }
+
+    public void setAllowedIps(List<String> allowedIps) {
+        this.allowedIps = allowedIps != null ? List.copyOf(allowedIps) : List.of();
+        changed();
+    }
+
+    public void setDeniedPaths(List<String> deniedPaths) {
+        this.deniedPaths = deniedPaths != null ? List.copyOf(deniedPaths) : List.of();
+        changed();
+    }
+
     /**
      * 检查 IP 是否被拒绝
      *
@@ -79,13 +160,16 @@ public class BlacklistManager {
             return false;
         }
 
+        long now = System.currentTimeMillis();
+        Snapshot current = currentSnapshot(now);
+
         // 白名单模式：只有白名单中的 IP 才允许
-        if (!allowedIps.isEmpty() || !dynamicAllowedIps.isEmpty()) {
-            return !allowedIps.contains(ip) && !dynamicAllowedIps.contains(ip);
+        if (!current.allowed().isEmpty()) {
+            return !current.allowed().contains(ip, now);
         }
 
         // 黑名单模式
-        return deniedIps.contains(ip) || dynamicDeniedIps.contains(ip);
+        return current.denied().contains(ip, now);
     }
 
     /**
@@ -99,41 +183,87 @@ public class BlacklistManager {
             return false;
         }
 
-        return deniedPaths.stream().anyMatch(p -> matchPath(path, p))
-                || dynamicDeniedPaths.stream().anyMatch(p -> matchPath(path, p));
+        return currentSnapshot(System.currentTimeMillis()).paths().matches(path);
     }
 
     // --- 动态管理 API ---
 
-    /** 动态封禁 IP */
-    public void denyIp(String ip, String reason) {
-        dynamicDeniedIps.add(ip);
+    /** 动态封禁 IP 或 CIDR 网段（永久） */
+    public CompletableFuture<Void> denyIp(String ip, String reason) {
+        return denyIp(ip, reason, null);
+    }
+
+    /**
+     * 动态封禁 IP 或 CIDR 网段
+     *
+     * @param ip     IP 或 CIDR（如 203.0.113.0/24）
+     * @param reason 封禁原因
+     * @param ttl    封禁时长，null 或非正数表示永久
+     * @return 封禁生效后完成
+     */
+    public CompletableFuture<Void> denyIp(String ip, String reason, Duration ttl) {
         banReasons.put(ip, reason);
-        log.info("动态封禁 IP: {}, 原因: {}", ip, reason);
+        if (ttl != null && !ttl.isNegative() && !ttl.isZero()) {
+            banExpiries.put(ip, System.currentTimeMillis() + ttl.toMillis());
+        } else {
+            banExpiries.remove(ip);
+        }
+        dynamicDeniedIps.add(ip);
+        log.info("动态封禁 IP: {}, 原因: {}, 时长: {}", ip, reason, ttl != null ? ttl : "永久");
+        return changed();
     }
 
     /** 动态解封 IP */
-    public void allowIp(String ip) {
+    public CompletableFuture<Void> allowIp(String ip) {
         dynamicDeniedIps.remove(ip);
         banReasons.remove(ip);
+        banExpiries.remove(ip);
         log.info("动态解封 IP: {}", ip);
+        return changed();
+    }
+
+    /** 动态加入白名单 IP 或 CIDR 网段 */
+    public CompletableFuture<Void> addAllowedIp(String ip) {
+        dynamicAllowedIps.add(ip);
+        log.info("动态加入白名单: {}", ip);
+        return changed();
+    }
+
+    /** 动态移出白名单 */
+    public CompletableFuture<Void> removeAllowedIp(String ip) {
+        dynamicAllowedIps.remove(ip);
+        log.info("动态移出白名单: {}", ip);
+        return changed();
     }
 
     /** 动态封禁路径 */
-    public void denyPath(String path) {
+    public CompletableFuture<Void> denyPath(String path) {
         dynamicDeniedPaths.add(path);
         log.info("动态封禁路径: {}", path);
+        return changed();
     }
 
     /** 动态解封路径 */
-    public void allowPath(String path) {
+    public CompletableFuture<Void> allowPath(String path) {
         dynamicDeniedPaths.remove(path);
         log.info("动态解封路径: {}", path);
+        return changed();
     }
 
-    /** 获取封禁原因 */
+    /**
+     * 获取封禁原因：优先精确匹配，其次取覆盖该 IP 的最长封禁网段
+     */
     public String getBanReason(String ip) {
-        return banReasons.get(ip);
+        if (ip == null) {
+            return null;
+        }
+        String reason = banReasons.get(ip);
+        if (reason != null) {
+            return reason;
+        }
+        long now = System.currentTimeMillis();
+        IpRangeTrie.Entry entry = currentSnapshot(now).denied().match(ip, now);
+        return entry != null ? entry.reason() : null;
     }
 
     /** 获取所有动态封禁 IP */
@@ -141,27 +271,122 @@ public class BlacklistManager {
         return Set.copyOf(dynamicDeniedIps);
     }
 
+    /** 获取所有动态白名单 IP */
+    public Set<String> getDynamicAllowedIps() {
+        return Set.copyOf(dynamicAllowedIps);
+    }
+
     /** 获取所有动态封禁路径 */
     public Set<String> getDynamicDeniedPaths() {
         return Set.copyOf(dynamicDeniedPaths);
     }
 
-    // --- 路径匹配（简易 Ant 风格） ---
+    /** 当前规则版本号 */
+    public long getRulesVersion() {
+        return version.get();
+    }
+
+    // --- 规则快照 ---
+
+    /**
+     * 重新编译规则并原子替换快照，同时清理已到期的动态封禁
+     * <p>
+     * 同步执行，仅供启动阶段和测试直接调用；运行期的修改经 {@link #changed()} 异步重建。
+     */
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        banExpiries.forEach((ip, expiresAt) -> {
+            if (expiresAt <= now && banExpiries.remove(ip, expiresAt)) {
+                dynamicDeniedIps.remove(ip);
+                banReasons.remove(ip);
+                version.incrementAndGet();
+                log.info("动态封禁到期解除: {}", ip);
+            }
+        });
+
+        // 先取版本号再读来源：读取期间的修改会再触发一次重建，不会丢失
+        long builtVersion = version.get();
 
-    private boolean matchPath(String path, String pattern) {
-        if (pattern.endsWith("/**")) {
-            String prefix = pattern.substring(0, pattern.length() - 3);
-            return path.equals(prefix) || path.startsWith(prefix + "/");
+        IpRangeTrie.Builder denied = IpRangeTrie.builder();
+        addAll(denied, deniedIps);
+        for (String ip : dynamicDeniedIps) {
+            denied.add(ip, banReasons.get(ip), banExpiries.getOrDefault(ip, IpRangeTrie.NEVER_EXPIRES));
         }
-        if (pattern.endsWith("/*")) {
-            String prefix = pattern.substring(0, pattern.length() - 2);
-            // 匹配 prefix/ 后面只有一层路径（不含更多 /）
-            if (!path.startsWith(prefix + "/")) {
-                return false;
+
+        IpRangeTrie.Builder allowed = IpRangeTrie.builder();
+        addAll(allowed, allowedIps);
+        addAll(allowed, dynamicAllowedIps);
+
+        List<String> paths = new ArrayList<>(deniedPaths);
+        paths.addAll(dynamicDeniedPaths);
+
+        snapshot = new Snapshot(denied.build(), allowed.build(), PathPatternTrie.compile(paths), builtVersion);
+    }
+
+    private static void addAll(IpRangeTrie.Builder builder, Collection<String> ips) {
+        for (String ip : ips) {
+            builder.add(ip, null, IpRangeTrie.NEVER_EXPIRES);
+        }
+    }
+
+    /**
+     * 记录一次规则修改并提交异步重建
+     */
+    private CompletableFuture<Void> changed() {
+        version.incrementAndGet();
+        return requestRebuild();
+    }
+
+    /**
+     * 提交异步重建；已有尚未开始的重建时直接复用，它开始执行时会读到此前的全部修改
+     */
+    private CompletableFuture<Void> requestRebuild() {
+        synchronized (rebuildLock) {
+            CompletableFuture<Void> pending = pendingRebuild;
+            if (pending == null) {
+                pending = CompletableFuture.runAsync(this::runScheduledRebuild);
+                pendingRebuild = pending;
             }
-            String remaining = path.substring(prefix.length() + 1);
-            return !remaining.isEmpty() && !remaining.contains("/");
+            return pending;
+        }
+    }
+
+    private void runScheduledRebuild() {
+        synchronized (rebuildLock) {
+            pendingRebuild = null;
+        }
+        Snapshot current = snapshot;
+        if (current.version() == version.get() && current.nextExpiry() > System.currentTimeMillis()) {
+            return;
+        }
+        rebuild();
+    }
+
+    /**
+     * 读取当前快照，请求线程上只做一次 volatile 读
+     * <p>
+     * 有动态封禁到期时提交异步重建，当前请求仍使用旧快照（到期条目在查找时已被忽略）。
+     */
+    private Snapshot currentSnapshot(long now) {
+        Snapshot current = snapshot;
+        if (current.nextExpiry() <= now && pendingRebuild == null) {
+            requestRebuild();
+        }
+        return current;
+    }
+
+    /**
+     * 规则快照：一经创建不再修改
+     *
+     * @param version 构建时的规则版本号
+     */
+    private record Snapshot(IpRangeTrie denied, IpRangeTrie allowed, PathPatternTrie paths, long version) {
+
+        static final Snapshot EMPTY = new Snapshot(IpRangeTrie.empty(), IpRangeTrie.empty(),
+                PathPatternTrie.empty(), 0L);
+
+        long nextExpiry() {
+            return Math.min(denied.nextExpiry(), allowed.nextExpiry());
         }
-        return path.equals(pattern);
     }
 }
@@ -0,0 +1,420 @@
+package com.basebackend.gateway.blacklist;
+
+import org.springframework.lang.Nullable;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 不可变 IP 段前缀树（IPv4 / IPv6）
+ * <p>
+ * 按二进制位组织的路径压缩前缀树（Patricia Trie）：只有分叉点和 CIDR 终点才建节点，
+ * 节点数不超过 2N。查找沿地址逐位下行，最多访问 32（IPv4）/ 128（IPv6）位，
+ * 与条目数量无关；返回命中的最长且未过期的 CIDR。
+ * <p>
+ * 实例构建后不可修改，由 {@link Builder} 在请求路径之外构建后整体替换（copy-on-write）。
+ * 不是合法 IP / CIDR 的条目按字符串精确匹配，与旧版 contains 语义保持一致。
+ */
+public final class IpRangeTrie {
+
+    /** 永不过期 */
+    public static final long NEVER_EXPIRES = 0L;
+
+    private static final IpRangeTrie EMPTY = new Builder().build();
+
+    /**
+     * 命中的 IP 段
+     *
+     * @param cidr      原始配置（如 10.0.0.0/8）
+     * @param reason    封禁原因，静态配置为 null
+     * @param expiresAt 过期时间戳（毫秒），{@link #NEVER_EXPIRES} 表示永久
+     */
+    public record Entry(String cidr, @Nullable String reason, long expiresAt) {
+
+        boolean isActive(long now) {
+            return expiresAt == NEVER_EXPIRES || expiresAt > now;
+        }
+    }
+
+    private final Tree v4;
+    private final Tree v6;
+    private final Map<String, Entry> literals;
+    private final int size;
+    private final long nextExpiry;
+
+    private IpRangeTrie(Tree v4, Tree v6, Map<String, Entry> literals, int size, long nextExpiry) {
+        this.v4 = v4;
+        this.v6 = v6;
+        this.literals = literals;
+        this.size = size;
+        this.nextExpiry = nextExpiry;
+    }
+
+    public static IpRangeTrie empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 查找覆盖该 IP 的最长未过期条目
+     *
+     * @param ip  IP 字符串
+     * @param now 当前时间戳（毫秒）
+     * @return 命中的条目，未命中返回 null
+     */
+    @Nullable
+    public Entry match(String ip, long now) {
+        if (ip == null || ip.isEmpty()) {
+            return null;
+        }
+        byte[] address = parseAddress(ip);
+        if (address == null) {
+            Entry literal = literals.get(ip);
+            return literal != null && literal.isActive(now) ? literal : null;
+        }
+        return (address.length == 4 ? v4 : v6).match(address, now);
+    }
+
+    public boolean contains(String ip, long now) {
+        return match(ip, now) != null;
+    }
+
+    /** 条目数 */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 最早的过期时间（毫秒），没有会过期的条目时为 {@link Long#MAX_VALUE}
+     */
+    public long nextExpiry() {
+        return nextExpiry;
+    }
+
+    /**
+     * 解析 IP 字面量为字节数组（IPv4 4 字节，IPv6 16 字节）
+     * <p>
+     * 只接受字面量，不会触发 DNS 解析；IPv4 映射的 IPv6 地址按 IPv4 处理。
+     *
+     * @return 非法地址返回 null
+     */
+    @Nullable
+    static byte[] parseAddress(String ip) {
+        if (ip.indexOf(':') < 0) {
+            return parseIpv4(ip);
+        }
+        // 忽略 IPv6 作用域（如 fe80::1%eth0）
+        int zone = ip.indexOf('%');
+        String literal = zone < 0 ? ip : ip.substring(0, zone);
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            boolean valid = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')
+                    || c == ':' || c == '.';
+            if (!valid) {
+                return null;
+            }
+        }
+        try {
+            // 含 ':' 的字面量不会触发 DNS 查询
+            return InetAddress.getByName(literal).getAddress();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static byte[] parseIpv4(String ip) {
+        byte[] result = new byte[4];
+        int part = 0;
+        int value = -1;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c == '.') {
+                if (value < 0 || part == 3) {
+                    return null;
+                }
+                result[part++] = (byte) value;
+                value = -1;
+            } else if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        if (value < 0 || part != 3) {
+            return null;
+        }
+        result[3] = (byte) value;
+        return result;
+    }
+
+    private static int bit(byte[] address, int index) {
+        return (address[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+
+    /**
+     * 单一地址族的压缩前缀树，节点以并列数组存储
+     */
+    private static final class Tree {
+
+        private final Prefix[] prefixes;
+        /** 节点结束位置（从根算起的位数） */
+        private final int[] depth;
+        /** 节点代表前缀（用于校验压缩掉的位） */
+        private final int[] representative;
+        /** 以该节点结束的 CIDR，-1 表示无 */
+        private final int[] value;
+        private final int[] zero;
+        private final int[] one;
+        private final int root;
+
+        private Tree(Prefix[] prefixes, int[] depth, int[] representative, int[] value,
+                     int[] zero, int[] one, int root) {
+            this.prefixes = prefixes;
+            this.depth = depth;
+            this.representative = representative;
+            this.value = value;
+            this.zero = zero;
+            this.one = one;
+            this.root = root;
+        }
+
+        @Nullable
+        Entry match(byte[] address, long now) {
+            Entry best = null;
+            int node = root;
+            int from = 0;
+            int width = address.length * 8;
+            while (node >= 0) {
+                int to = depth[node];
+                byte[] network = prefixes[representative[node]].network;
+                for (int i = from; i < to; i++) {
+                    if (bit(address, i) != bit(network, i)) {
+                        return best;
+                    }
+                }
+                int v = value[node];
+                if (v >= 0 && prefixes[v].entry.isActive(now)) {
+                    best = prefixes[v].entry;
+                }
+                if (to == width) {
+                    break;
+                }
+                from = to;
+                node = bit(address, to) == 0 ? zero[node] : one[node];
+            }
+            return best;
+        }
+
+        static Tree build(List<Prefix> input) {
+            Prefix[] prefixes = input.toArray(new Prefix[0]);
+            // 排序后同一子树的前缀连续，便于按位切分
+            Arrays.sort(prefixes, Prefix.ORDER);
+            TreeBuilder builder = new TreeBuilder(prefixes);
+            int root = prefixes.length == 0 ? -1 : builder.build(0, prefixes.length);
+            return new Tree(prefixes,
+                    Arrays.copyOf(builder.depth, builder.count),
+                    Arrays.copyOf(builder.representative, builder.count),
+                    Arrays.copyOf(builder.value, builder.count),
+                    Arrays.copyOf(builder.zero, builder.count),
+                    Arrays.copyOf(builder.one, builder.count),
+                    root);
+        }
+    }
+
+    private static final class TreeBuilder {
+
+        private final Prefix[] prefixes;
+        private int[] depth;
+        private int[] representative;
+        private int[] value;
+        private int[] zero;
+        private int[] one;
+        private int count;
+
+        TreeBuilder(Prefix[] prefixes) {
+            this.prefixes = prefixes;
+            int capacity = Math.max(1, prefixes.length * 2);
+            depth = new int[capacity];
+            representative = new int[capacity];
+            value = new int[capacity];
+            zero = new int[capacity];
+            one = new int[capacity];
+        }
+
+        /**
+         * 为已排序区间 [from, to) 建子树：节点长度取区间内所有前缀的公共位数，
+         * 恰好在此结束的前缀（排序后位于区间首位）作为节点值，其余按下一位分到两侧
+         */
+        int build(int from, int to) {
+            Prefix first = prefixes[from];
+            Prefix last = prefixes[to - 1];
+            int common = Math.min(first.length, commonBits(first.network, last.network, last.length));
+
+            int node = count++;
+            depth[node] = common;
+            representative[node] = from;
+            value[node] = -1;
+            zero[node] = -1;
+            one[node] = -1;
+
+            int start = from;
+            if (first.length == common) {
+                value[node] = from;
+                start++;
+            }
+            if (start < to) {
+                int split = start;
+                while (split < to && bit(prefixes[split].network, common) == 0) {
+                    split++;
+                }
+                if (split > start) {
+                    zero[node] = build(start, split);
+                }
+                if (split < to) {
+                    one[node] = build(split, to);
+                }
+            }
+            return node;
+        }
+
+        private static int commonBits(byte[] a, byte[] b, int max) {
+            int i = 0;
+            while (i < max && bit(a, i) == bit(b, i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    /**
+     * 规范化后的 CIDR（网络地址已按掩码清零）
+     */
+    private record Prefix(byte[] network, int length, Entry entry) {
+
+        /** 按位字典序排序，同一前缀下短前缀在前 */
+        static final Comparator<Prefix> ORDER = (a, b) -> {
+            int common = Math.min(a.length, b.length);
+            for (int i = 0; i < common; i++) {
+                int diff = bit(a.network, i) - bit(b.network, i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return Integer.compare(a.length, b.length);
+        };
+
+        String key() {
+            return Arrays.toString(network) + "/" + length;
+        }
+    }
+
+    /**
+     * 前缀树构建器（非线程安全，构建完成后丢弃）
+     */
+    public static final class Builder {
+
+        private final Map<String, Prefix> v4 = new HashMap<>();
+        private final Map<String, Prefix> v6 = new HashMap<>();
+        private final Map<String, Entry> literals = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 添加 IP 或 CIDR；同一网段重复添加时保留过期时间更晚的一条
+         *
+         * @param cidr      IP 或 CIDR（如 198.51.100.10、10.0.0.0/8、2001:db8::/32）
+         * @param reason    原因，可为 null
+         * @param expiresAt 过期时间戳（毫秒），{@link #NEVER_EXPIRES} 表示永久
+         * @return 是否按 IP 段收录（false 表示按字符串精确匹配收录）
+         */
+        public boolean add(String cidr, @Nullable String reason, long expiresAt) {
+            if (cidr == null || cidr.isBlank()) {
+                return false;
+            }
+            String trimmed = cidr.trim();
+            Entry entry = new Entry(trimmed, reason, expiresAt);
+            Prefix prefix = toPrefix(trimmed, entry);
+            if (prefix == null) {
+                literals.merge(trimmed, entry, Builder::later);
+                return false;
+            }
+            Map<String, Prefix> target = prefix.network.length == 4 ? v4 : v6;
+            target.merge(prefix.key(), prefix, (a, b) -> later(a.entry, b.entry) == a.entry ? a : b);
+            return true;
+        }
+
+        public IpRangeTrie build() {
+            long nextExpiry = Long.MAX_VALUE;
+            for (Prefix prefix : v4.values()) {
+                nextExpiry = earlier(nextExpiry, prefix.entry.expiresAt);
+            }
+            for (Prefix prefix : v6.values()) {
+                nextExpiry = earlier(nextExpiry, prefix.entry.expiresAt);
+            }
+            for (Entry entry : literals.values()) {
+                nextExpiry = earlier(nextExpiry, entry.expiresAt);
+            }
+            return new IpRangeTrie(
+                    Tree.build(new ArrayList<>(v4.values())),
+                    Tree.build(new ArrayList<>(v6.values())),
+                    Map.copyOf(literals),
+                    v4.size() + v6.size() + literals.size(),
+                    nextExpiry);
+        }
+
+        @Nullable
+        private static Prefix toPrefix(String cidr, Entry entry) {
+            int slash = cidr.indexOf('/');
+            String ip = slash < 0 ? cidr : cidr.substring(0, slash);
+            byte[] network = parseAddress(ip);
+            if (network == null) {
+                return null;
+            }
+            int width = network.length * 8;
+            int length;
+            try {
+                length = slash < 0 ? width : Integer.parseInt(cidr.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (length < 0 || length > width) {
+                return null;
+            }
+            for (int i = length; i < width; i++) {
+                network[i >>> 3] &= (byte) ~(1 << (7 - (i & 7)));
+            }
+            return new Prefix(network, length, entry);
+        }
+
+        private static Entry later(Entry a, Entry b) {
+            if (a.expiresAt == NEVER_EXPIRES) {
+                return a;
+            }
+            if (b.expiresAt == NEVER_EXPIRES) {
+                return b;
+            }
+            return a.expiresAt >= b.expiresAt ? a : b;
+        }
+
+        private static long earlier(long current, long expiresAt) {
+            return expiresAt == NEVER_EXPIRES ? current : Math.min(current, expiresAt);
+        }
+    }
+}
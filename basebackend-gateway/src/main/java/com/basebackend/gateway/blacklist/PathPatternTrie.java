@@ -0,0 +1,131 @@
+package com.basebackend.gateway.blacklist;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 路径黑名单规则编译出的不可变段前缀树
+ * <p>
+ * 规则按 '/' 切分为路径段建树，一次从左到右扫描请求路径即可判断是否命中任意规则，
+ * 耗时只与路径段数有关，与规则数量无关。支持的写法与原线性匹配一致：
+ * <ul>
+ *     <li>{@code /a/b}：精确匹配</li>
+ *     <li>{@code /a/**}：{@code /a} 本身及其下任意层级</li>
+ *     <li>{@code /a/*}：{@code /a} 下恰好一层非空路径</li>
+ * </ul>
+ */
+public final class PathPatternTrie {
+
+    private static final PathPatternTrie EMPTY = compile(List.of());
+
+    private final Node root;
+    private final int size;
+
+    private PathPatternTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static PathPatternTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 编译规则集合
+     */
+    public static PathPatternTrie compile(Collection<String> patterns) {
+        MutableNode root = new MutableNode();
+        int size = 0;
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            size++;
+            if (pattern.endsWith("/**")) {
+                root.descend(pattern.substring(0, pattern.length() - 3)).subtree = true;
+            } else if (pattern.endsWith("/*")) {
+                root.descend(pattern.substring(0, pattern.length() - 2)).singleLevel = true;
+            } else {
+                root.descend(pattern).exact = true;
+            }
+        }
+        return new PathPatternTrie(root.freeze(), size);
+    }
+
+    /**
+     * 路径是否命中任意规则
+     */
+    public boolean matches(String path) {
+        if (path == null || size == 0) {
+            return false;
+        }
+        Node node = root;
+        int start = 0;
+        int length = path.length();
+        while (true) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.children.get(path.substring(start, end));
+            if (node == null) {
+                return false;
+            }
+            if (end == length) {
+                // 路径已走完：精确规则或 /** 规则（匹配前缀本身）
+                return node.exact || node.subtree;
+            }
+            if (node.subtree) {
+                return true;
+            }
+            start = end + 1;
+            if (node.singleLevel) {
+                int next = path.indexOf('/', start);
+                if (next < 0 && start < length) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /** 规则数量 */
+    public int size() {
+        return size;
+    }
+
+    private record Node(Map<String, Node> children, boolean exact, boolean subtree, boolean singleLevel) {
+    }
+
+    private static final class MutableNode {
+
+        private final Map<String, MutableNode> children = new HashMap<>();
+        private boolean exact;
+        private boolean subtree;
+        private boolean singleLevel;
+
+        /**
+         * 按 '/' 切分（保留空段）逐段下行，返回末段节点
+         */
+        MutableNode descend(String prefix) {
+            MutableNode node = this;
+            int start = 0;
+            while (true) {
+                int end = prefix.indexOf('/', start);
+                String segment = end < 0 ? prefix.substring(start) : prefix.substring(start, end);
+                node = node.children.computeIfAbsent(segment, k -> new MutableNode());
+                if (end < 0) {
+                    return node;
+                }
+                start = end + 1;
+            }
+        }
+
+        Node freeze() {
+            Map<String, Node> frozen = new HashMap<>(children.size() * 2);
+            children.forEach((segment, child) -> frozen.put(segment, child.freeze()));
+            return new Node(Map.copyOf(frozen), exact, subtree, singleLevel);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.basebackend.gateway.cache;
+
+import java.util.List;
+
+/**
+ * 响应缓存键：128 位非加密哈希
+ * <p>
+ * 取代原先的 MD5 + 十六进制字符串拼接：请求方法、路径、查询串、Authorization、Cookie 等字段
+ * 以长度前缀方式拼接后做一次 MurmurHash3 (x64, 128 位) 计算，结果是两个 long，
+ * 作为 Map 键时比较和哈希都只需常数时间。128 位输出下不同请求碰撞的概率可以忽略。
+ *
+ * @param hi 高 64 位
+ * @param lo 低 64 位
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public record CacheKey(long hi, long lo) {
+
+    private static final long SEED = 0x9747b28cL;
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(hi) + Long.toHexString(lo);
+    }
+
+    /**
+     * 键构建器：字段按 “长度:值” 追加，避免不同字段组合拼出相同字符串
+     */
+    public static final class Builder {
+
+        private final StringBuilder buffer = new StringBuilder(128);
+
+        private Builder() {
+        }
+
+        public Builder add(String value) {
+            if (value == null) {
+                buffer.append('-').append(';');
+            } else {
+                buffer.append(value.length()).append(':').append(value).append(';');
+            }
+            return this;
+        }
+
+        /**
+         * 追加多值请求头，null 或空列表视为缺失
+         */
+        public Builder add(List<String> values) {
+            if (values == null || values.isEmpty()) {
+                return add((String) null);
+            }
+            buffer.append(values.size()).append('#');
+            for (String value : values) {
+                add(value);
+            }
+            return this;
+        }
+
+        public Builder add(CacheKey key) {
+            buffer.append(key.hi).append('.').append(key.lo).append(';');
+            return this;
+        }
+
+        public CacheKey build() {
+            return hash(buffer);
+        }
+    }
+
+    /**
+     * MurmurHash3 x64_128，按 UTF-16 码元（每个 char 16 位）分块
+     */
+    static CacheKey hash(CharSequence s) {
+        long h1 = SEED;
+        long h2 = SEED;
+        int length = s.length();
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            long k1 = s.charAt(i) | (long) s.charAt(i + 1) << 16
+                    | (long) s.charAt(i + 2) << 32 | (long) s.charAt(i + 3) << 48;
+            long k2 = s.charAt(i + 4) | (long) s.charAt(i + 5) << 16
+                    | (long) s.charAt(i + 6) << 32 | (long) s.charAt(i + 7) << 48;
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long k1 = 0;
+        long k2 = 0;
+        int remaining = length - i;
+        for (int j = 0; j < remaining; j++) {
+            long c = s.charAt(i + j);
+            if (j < 4) {
+                k1 |= c << (16 * j);
+            } else {
+                k2 |= c << (16 * (j - 4));
+            }
+        }
+        if (remaining > 4) {
+            h2 ^= mixK2(k2);
+        }
+        if (remaining > 0) {
+            h1 ^= mixK1(k1);
+        }
+
+        h1 ^= length * 2L;
+        h2 ^= length * 2L;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new CacheKey(h1, h2);
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,169 @@
+package com.basebackend.gateway.cache;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 缓存的响应体
+ * <p>
+ * 小响应体保存在堆内 byte[]；达到阈值的大响应体保存在堆外 {@link MemorySegment} 中，
+ * 不占用 GC 扫描的堆空间。可选 gzip 压缩（压缩后不变小则保留原文）。
+ * <p>
+ * 堆外内存通过引用计数释放：缓存持有一份引用，读取时临时 {@link #retain()}，
+ * 条目被淘汰且没有读取者时才关闭 {@link Arena}，避免读到已释放的内存。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public final class CachedBody {
+
+    /** 条目元数据（状态码、响应头、时间戳）的估算开销，计入缓存权重 */
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    @Nullable
+    private final byte[] heap;
+    @Nullable
+    private final MemorySegment segment;
+    @Nullable
+    private final Arena arena;
+    /** 存储长度（压缩后） */
+    private final int storedLength;
+    /** 原始长度 */
+    private final int length;
+    private final boolean compressed;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private CachedBody(@Nullable byte[] heap, @Nullable MemorySegment segment, @Nullable Arena arena,
+                       int storedLength, int length, boolean compressed) {
+        this.heap = heap;
+        this.segment = segment;
+        this.arena = arena;
+        this.storedLength = storedLength;
+        this.length = length;
+        this.compressed = compressed;
+    }
+
+    /**
+     * 创建缓存响应体
+     *
+     * @param data               原始响应体
+     * @param compressMinBytes   达到该长度才尝试压缩，非正数表示不压缩
+     * @param offHeapMinBytes    存储长度达到该值时放入堆外内存，非正数表示全部放堆内
+     */
+    public static CachedBody of(byte[] data, int compressMinBytes, int offHeapMinBytes) {
+        byte[] stored = data;
+        boolean compressed = false;
+        if (compressMinBytes > 0 && data.length >= compressMinBytes) {
+            byte[] gzipped = gzip(data);
+            if (gzipped.length < data.length) {
+                stored = gzipped;
+                compressed = true;
+            }
+        }
+
+        if (offHeapMinBytes > 0 && stored.length >= offHeapMinBytes) {
+            Arena arena = Arena.ofShared();
+            MemorySegment segment = arena.allocate(stored.length);
+            MemorySegment.copy(stored, 0, segment, ValueLayout.JAVA_BYTE, 0, stored.length);
+            return new CachedBody(null, segment, arena, stored.length, data.length, compressed);
+        }
+        return new CachedBody(stored, null, null, stored.length, data.length, compressed);
+    }
+
+    /** 原始（解压后）长度 */
+    public int length() {
+        return length;
+    }
+
+    /** 缓存权重：存储长度 + 元数据开销 */
+    public int weight() {
+        return storedLength + ENTRY_OVERHEAD_BYTES;
+    }
+
+    public boolean isOffHeap() {
+        return segment != null;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * 复制为响应 DataBuffer
+     *
+     * @return 内存已被释放（条目刚被淘汰）时返回 null，调用方按未命中处理
+     */
+    @Nullable
+    public DataBuffer toDataBuffer(DataBufferFactory bufferFactory) {
+        if (segment == null) {
+            return bufferFactory.wrap(compressed ? gunzip(heap) : heap);
+        }
+        if (!retain()) {
+            return null;
+        }
+        try {
+            if (compressed) {
+                return bufferFactory.wrap(gunzip(segment.toArray(ValueLayout.JAVA_BYTE)));
+            }
+            DataBuffer buffer = bufferFactory.allocateBuffer(storedLength);
+            buffer.write(segment.asByteBuffer());
+            return buffer;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * 增加一次引用；已释放时返回 false
+     */
+    boolean retain() {
+        while (true) {
+            int current = references.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (references.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 释放一次引用，归零时回收堆外内存（缓存淘汰条目时调用）
+     */
+    public void release() {
+        if (references.decrementAndGet() == 0 && arena != null) {
+            arena.close();
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
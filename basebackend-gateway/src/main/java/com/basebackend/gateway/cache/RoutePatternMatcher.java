@@ -0,0 +1,96 @@
+package com.basebackend.gateway.cache;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 预编译的 Ant 风格路径匹配器
+ * <p>
+ * 构造时把规则按形态分类，匹配时按代价从低到高依次尝试：
+ * <ul>
+ *     <li>不含通配符的规则：放入哈希集合，一次查找</li>
+ *     <li>{@code 字面量前缀/**} 规则：前缀放入哈希集合，按请求路径的每个 '/' 边界各查一次</li>
+ *     <li>其他规则（段内 *、?、{var}、中间的 **）：回退到 {@link AntPathMatcher}</li>
+ * </ul>
+ * 除含空段（{@code //}）的非规范路径外，匹配结果与逐条 {@link AntPathMatcher#match(String, String)} 一致。
+ * 实例不可变，可并发使用。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public final class RoutePatternMatcher {
+
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private final Set<String> exactPaths;
+    private final Set<String> subtreePrefixes;
+    private final List<String> antPatterns;
+    private final boolean matchAll;
+
+    private RoutePatternMatcher(Set<String> exactPaths, Set<String> subtreePrefixes,
+                                List<String> antPatterns, boolean matchAll) {
+        this.exactPaths = exactPaths;
+        this.subtreePrefixes = subtreePrefixes;
+        this.antPatterns = antPatterns;
+        this.matchAll = matchAll;
+    }
+
+    public static RoutePatternMatcher compile(List<String> patterns) {
+        Set<String> exact = new HashSet<>();
+        Set<String> prefixes = new HashSet<>();
+        List<String> ant = new ArrayList<>();
+        boolean matchAll = false;
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                if (pattern == null || pattern.isEmpty()) {
+                    continue;
+                }
+                if ("/**".equals(pattern)) {
+                    matchAll = true;
+                } else if (!ANT_PATH_MATCHER.isPattern(pattern)) {
+                    exact.add(pattern);
+                } else if (pattern.endsWith("/**")
+                        && !ANT_PATH_MATCHER.isPattern(pattern.substring(0, pattern.length() - 3))) {
+                    prefixes.add(pattern.substring(0, pattern.length() - 3));
+                } else {
+                    ant.add(pattern);
+                }
+            }
+        }
+        return new RoutePatternMatcher(Set.copyOf(exact), Set.copyOf(prefixes), List.copyOf(ant), matchAll);
+    }
+
+    public boolean isEmpty() {
+        return !matchAll && exactPaths.isEmpty() && subtreePrefixes.isEmpty() && antPatterns.isEmpty();
+    }
+
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        if ((matchAll && path.startsWith("/")) || exactPaths.contains(path)) {
+            return true;
+        }
+        if (!subtreePrefixes.isEmpty()) {
+            // prefix/** 匹配 prefix 本身及 prefix/ 开头的路径
+            if (subtreePrefixes.contains(path)) {
+                return true;
+            }
+            for (int slash = path.indexOf('/', 1); slash > 0; slash = path.indexOf('/', slash + 1)) {
+                if (subtreePrefixes.contains(path.substring(0, slash))) {
+                    return true;
+                }
+            }
+        }
+        for (String pattern : antPatterns) {
+            if (ANT_PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
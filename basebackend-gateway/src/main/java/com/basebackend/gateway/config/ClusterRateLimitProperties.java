@@ -0,0 +1,98 @@
+package com.basebackend.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 集群限流（Redis 令牌桶 + 本地租约）配置
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit.cluster")
+public class ClusterRateLimitProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 租约有效期，到期未用完的令牌归还 Redis
+     */
+    private Duration leaseTtl = Duration.ofSeconds(1);
+
+    /**
+     * 单次租约最少令牌数
+     */
+    private long minLeaseSize = 1;
+
+    /**
+     * 单次租约最多占 limit 的比例，防止单个节点囤积配额
+     */
+    private double maxLeaseFraction = 0.1;
+
+    /**
+     * 本地剩余令牌低于上次租约的该比例时提前异步续租
+     */
+    private double prefetchRatio = 0.2;
+
+    /**
+     * Redis 调用超时
+     */
+    private Duration storeTimeout = Duration.ofMillis(200);
+
+    /**
+     * Redis 不可用时是否放行
+     */
+    private boolean allowOnStoreFailure = false;
+
+    /**
+     * Redis 调用失败后的退避时间，期间直接按 allowOnStoreFailure 判定
+     */
+    private Duration storeFailureBackoff = Duration.ofSeconds(1);
+
+    /**
+     * 限流规则
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        /**
+         * 规则名，作为 Redis 键的一部分
+         */
+        private String name;
+
+        /**
+         * 生效路径（Ant 风格）
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * 窗口内允许的请求数（集群总量）
+         */
+        private long limit = 100;
+
+        private Duration window = Duration.ofSeconds(1);
+
+        private KeyType keyType = KeyType.GLOBAL;
+    }
+
+    /**
+     * 限流维度
+     */
+    public enum KeyType {
+        /** 规则内所有请求共享一个桶 */
+        GLOBAL,
+        /** 按客户端 IP */
+        IP,
+        /** 按 X-User-Id，匿名请求按 IP */
+        USER
+    }
+}
@@ -100,6 +100,11 @@ public class GatewaySecurityProperties {
      */
     private boolean debugLogging = false;
 
+    /**
+     * 会话近端缓存配置
+     */
+    private SessionCache sessionCache = new SessionCache();
+
     /**
      * 获取合并后的完整白名单
      * 包括基础白名单、用户配置白名单和 actuator 白名单。
@@ -125,4 +130,58 @@ public class GatewaySecurityProperties {
 
         return SAFE_USER_AUTH_WHITELIST.contains(pattern);
     }
+
+    /**
+     * 会话近端缓存配置
+     * <p>
+     * 网关节点在本地缓存 userId → 登录 Token，减少每个请求一次的 Redis 往返。
+     * 登出/强制下线通过 Redis 频道广播失效，TTL 兜底限制最大不一致时间。
+     */
+    @Data
+    public static class SessionCache {
+
+        /**
+         * 是否启用近端缓存，关闭时每个请求都回源 Redis（仍合并并发查询）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 缓存条目的新鲜期，超过后下一次请求回源 Redis
+         */
+        private Duration ttl = Duration.ofSeconds(5);
+
+        /**
+         * 新鲜期之后继续保留的时长，仅在 FAIL_OPEN 策略下 Redis 不可用时使用
+         */
+        private Duration maxStale = Duration.ofSeconds(60);
+
+        /**
+         * 最大缓存用户数
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * Redis 超时或异常时的处理策略
+         */
+        private FailurePolicy failurePolicy = FailurePolicy.FAIL_CLOSED;
+
+        /**
+         * 会话失效广播频道，需与业务服务发布端保持一致
+         */
+        private String invalidationChannel = "gateway:session:invalidate";
+    }
+
+    /**
+     * Redis 会话校验失败时的处理策略
+     */
+    public enum FailurePolicy {
+        /**
+         * 拒绝请求（返回认证服务繁忙/异常）
+         */
+        FAIL_CLOSED,
+        /**
+         * 优先使用过期的本地条目判定；没有本地条目时仅依据 JWT 校验结果放行
+         */
+        FAIL_OPEN
+    }
 }
@@ -0,0 +1,41 @@
+package com.basebackend.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 区间延迟直方图配置
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.monitor.latency")
+public class LatencyMetricsProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 统计周期，每个周期结束时切换直方图并刷新指标
+     */
+    private Duration interval = Duration.ofSeconds(10);
+
+    /**
+     * 最多跟踪的序列（路由）数，超出后归入 "_other"；每个序列每个状态码分组约占 14KB
+     */
+    private int maxSeries = 256;
+
+    /**
+     * 是否把每个周期的直方图发布到 Redis，用于跨节点合并
+     */
+    private boolean clusterEnabled = false;
+
+    /**
+     * 节点标识，为空时使用 主机名:进程号
+     */
+    private String nodeId;
+}
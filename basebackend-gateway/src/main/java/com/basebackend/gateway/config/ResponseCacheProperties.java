@@ -21,6 +21,41 @@ public class ResponseCacheProperties {
 
     private long maxCacheableBodyBytes = 1024 * 1024;
 
+    /**
+     * 缓存响应体总权重上限（字节），超出后按 W-TinyLFU 淘汰
+     */
+    private long maxWeightBytes = 64L * 1024 * 1024;
+
+    /**
+     * 过期后仍可直接返回旧响应、同时后台刷新的窗口；响应 Cache-Control 中的 stale-while-revalidate 优先
+     */
+    private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+
+    /**
+     * 上游出错（异常或 5xx）时仍可返回旧响应的窗口；响应 Cache-Control 中的 stale-if-error 优先
+     */
+    private Duration staleIfError = Duration.ofMinutes(5);
+
+    /**
+     * 合并回源时跟随请求等待首个请求的最长时间，超时后自行回源
+     */
+    private Duration collapseTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 是否 gzip 压缩缓存的响应体
+     */
+    private boolean compressionEnabled = false;
+
+    /**
+     * 响应体达到该长度才压缩
+     */
+    private int compressionMinBytes = 2048;
+
+    /**
+     * 响应体（压缩后）达到该长度时存放到堆外内存，0 表示全部放堆内
+     */
+    private int offHeapThresholdBytes = 64 * 1024;
+
     private List<String> cachePaths = new ArrayList<>();
 
     private List<String> excludePaths = new ArrayList<>();
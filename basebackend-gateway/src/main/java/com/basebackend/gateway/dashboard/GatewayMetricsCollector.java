@@ -1,6 +1,10 @@
 package com.basebackend.gateway.dashboard;
 
+import com.basebackend.gateway.metrics.LatencyRecorderRegistry;
+import com.basebackend.gateway.metrics.LatencySnapshot;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -14,6 +18,7 @@ import java.util.concurrent.atomic.LongAdder;
  * <p>
  * 实时收集网关请求的流量数据，按路由/状态码/时间维度统计。
  * 数据存储在内存中，适用于单实例场景。集群环境建议替换为 Redis 实现。
+ * 存在 {@link LatencyRecorderRegistry} 时，路由统计附带上一统计周期的 p50/p99/p999。
  */
 @Slf4j
 @Component
@@ -30,6 +35,19 @@ public class GatewayMetricsCollector {
     /** 启动时间 */
     private final Instant startTime = Instant.now();
 
+    /** 区间延迟直方图（可选） */
+    @Nullable
+    private final LatencyRecorderRegistry latencyRecorders;
+
+    public GatewayMetricsCollector() {
+        this(null);
+    }
+
+    @Autowired
+    public GatewayMetricsCollector(@Nullable LatencyRecorderRegistry latencyRecorders) {
+        this.latencyRecorders = latencyRecorders;
+    }
+
     /**
      * 记录一次请求
      *
@@ -75,7 +93,7 @@ public class GatewayMetricsCollector {
      */
     public List<Map<String, Object>> getRouteMetrics() {
         return routeMetricsMap.values().stream()
-                .map(RouteMetrics::toMap)
+                .map(metrics -> metrics.toMap(latencyRecorders))
                 .sorted(Comparator.<Map<String, Object>, Long>comparing(m -> (Long) m.get("totalRequests")).reversed())
                 .toList();
     }
@@ -85,7 +103,7 @@ public class GatewayMetricsCollector {
      */
     public Map<String, Object> getRouteMetrics(String routeId) {
         RouteMetrics metrics = routeMetricsMap.get(routeId);
-        return metrics != null ? metrics.toMap() : Map.of("error", "路由不存在: " + routeId);
+        return metrics != null ? metrics.toMap(latencyRecorders) : Map.of("error", "路由不存在: " + routeId);
     }
 
     /**
@@ -125,7 +143,7 @@ public class GatewayMetricsCollector {
             statusCodeCounts.computeIfAbsent(statusCode, k -> new LongAdder()).increment();
         }
 
-        Map<String, Object> toMap() {
+        Map<String, Object> toMap(@Nullable LatencyRecorderRegistry latencyRecorders) {
             long total = requests.sum();
             long err = errors.sum();
             long latency = totalLatencyMs.sum();
@@ -142,6 +160,17 @@ public class GatewayMetricsCollector {
             statusCodeCounts.forEach((code, count) -> statusCodes.put(String.valueOf(code), count.sum()));
             map.put("statusCodes", statusCodes);
 
+            if (latencyRecorders != null) {
+                LatencySnapshot interval = latencyRecorders.snapshot(routeId);
+                Map<String, Object> intervalLatency = new LinkedHashMap<>();
+                intervalLatency.put("requests", interval.count());
+                intervalLatency.put("p50Ms", interval.valueAtPercentileMillis(50.0));
+                intervalLatency.put("p99Ms", interval.valueAtPercentileMillis(99.0));
+                intervalLatency.put("p999Ms", interval.valueAtPercentileMillis(99.9));
+                intervalLatency.put("maxMs", interval.max() / 1000.0);
+                map.put("intervalLatency", intervalLatency);
+            }
+
             return map;
         }
     }
@@ -3,16 +3,17 @@ package com.basebackend.gateway.filter;
 import com.basebackend.gateway.config.GatewaySecurityProperties;
 import com.basebackend.gateway.constant.GatewayConstants;
 import com.basebackend.gateway.enums.GatewayErrorCode;
+import com.basebackend.gateway.session.SessionNearCache;
 import com.basebackend.common.util.JsonUtils;
 import com.basebackend.common.model.Result;
 import com.basebackend.jwt.JwtUtil;
+import com.basebackend.jwt.ParsedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
@@ -23,7 +24,6 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
 
@@ -37,9 +37,9 @@ import java.util.concurrent.TimeoutException;
  * <h3>安全特性：</h3>
  * <ul>
  * <li>JWT Token 验证</li>
- * <li>Redis 会话双重校验（防止强制下线后仍能访问）</li>
+ * <li>Redis 会话双重校验（防止强制下线后仍能访问），经 {@link SessionNearCache} 本地缓存</li>
  * <li>可配置的白名单路径</li>
- * <li>Redis 操作超时保护</li>
+ * <li>Redis 操作超时保护，可配置 FAIL_OPEN / FAIL_CLOSED 策略</li>
  * <li>默认受限的 actuator 端点访问</li>
  * <li>统一的错误码枚举（{@link GatewayErrorCode}）</li>
  * </ul>
@@ -53,18 +53,11 @@ import java.util.concurrent.TimeoutException;
 public class AuthenticationFilter implements GlobalFilter, Ordered {
 
     private final JwtUtil jwtUtil;
-    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final SessionNearCache sessionNearCache;
     private final GatewaySecurityProperties securityProperties;
 
     private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
-    private static final String LOGIN_TOKEN_KEY = "login_tokens:";
-
-    /**
-     * 默认 Redis 超时时间（当配置未设置时使用）
-     */
-    private static final Duration DEFAULT_REDIS_TIMEOUT = Duration.ofSeconds(2);
-
     /**
      * Exchange 属性：标记认证是否已完成（防止响应式流重复触发）
      */
@@ -106,13 +99,14 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
             return unauthorized(exchange.getResponse(), GatewayErrorCode.TOKEN_MISSING);
         }
 
-        if (!jwtUtil.validateToken(token)) {
+        // 一次解析完成验签、过期和黑名单校验，后续字段直接从解析结果读取
+        ParsedToken parsedToken = jwtUtil.tryParseToken(token);
+        if (parsedToken == null) {
             log.warn("请求路径 {} 的Token无效", path);
             return unauthorized(exchange.getResponse(), GatewayErrorCode.TOKEN_INVALID);
         }
 
-        // 从Token中获取用户ID
-        Long userId = jwtUtil.getUserIdFromToken(token);
+        Long userId = parsedToken.getUserId();
 
         // 防御性检查：userId不能为null
         if (userId == null) {
@@ -124,30 +118,17 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
             log.debug("Token验证成功，用户id: {}", userId);
         }
 
-        // 获取超时时间
-        Duration timeout = securityProperties.getRedisTimeout() != null
-                ? securityProperties.getRedisTimeout()
-                : DEFAULT_REDIS_TIMEOUT;
-
-        // 检查Redis中的Token是否存在（防止强制下线后仍能访问）
-        // 添加超时控制，防止 Redis 操作无限等待
-        String redisTokenKey = LOGIN_TOKEN_KEY + userId;
+        // 检查Token是否为该用户当前的登录Token（防止强制下线后仍能访问）
+        // 近端缓存命中时不访问 Redis；回源带超时控制，超时/异常按配置策略处理
         final Long finalUserId = userId;
-        final String finalToken = token;
-
-        return reactiveRedisTemplate.opsForValue().get(redisTokenKey)
-                .timeout(timeout)
-                .defaultIfEmpty("TOKEN_NOT_FOUND_MARKER")
-                .flatMap(redisToken -> {
-                    // 防止NPE：显式检查null (虽然现在用了defaultIfEmpty不会为null，但保持严谨)
-                    if (redisToken == null || "TOKEN_NOT_FOUND_MARKER".equals(redisToken)) {
+
+        return sessionNearCache.check(userId, token)
+                .flatMap(outcome -> {
+                    if (outcome == SessionNearCache.Outcome.NOT_FOUND) {
                         log.warn("用户 {} 的Token在Redis中不存在，可能已被强制下线", finalUserId);
                         return unauthorized(exchange.getResponse(), GatewayErrorCode.TOKEN_EXPIRED);
                     }
-
-                    // 安全地转换为字符串进行比较
-                    String redisTokenStr = String.valueOf(redisToken);
-                    if (!finalToken.equals(redisTokenStr)) {
+                    if (outcome == SessionNearCache.Outcome.MISMATCH) {
                         log.warn("用户 {} 的Token与Redis中的Token不一致", finalUserId);
                         return unauthorized(exchange.getResponse(), GatewayErrorCode.TOKEN_MISMATCH);
                     }
@@ -1,14 +1,25 @@
 package com.basebackend.gateway.filter;
 
+import com.basebackend.gateway.cache.CacheKey;
+import com.basebackend.gateway.cache.CachedBody;
+import com.basebackend.gateway.cache.RoutePatternMatcher;
 import com.basebackend.gateway.config.ResponseCacheProperties;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -16,52 +27,194 @@ import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
-import org.springframework.util.DigestUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
+/**
+ * 网关响应缓存
+ * <p>
+ * 在原有按 Vary 区分变体的基础上增加：
+ * <ul>
+ *     <li>合并回源：同一资源的并发未命中只有首个请求转发上游，其余请求等待其写入缓存后直接命中</li>
+ *     <li>stale-while-revalidate：过期后窗口内直接返回旧响应（X-Cache: STALE），并在后台刷新</li>
+ *     <li>stale-if-error：上游异常或返回 5xx 时，窗口内返回旧响应</li>
+ *     <li>按响应体字节数计权的容量上限，响应体可选 gzip 压缩，大响应体存放在堆外内存</li>
+ * </ul>
+ * 指标：{@code gateway.response.cache.requests}（result=hit/stale/miss/collapsed/stale_if_error）、
+ * {@code gateway.response.cache.revalidations}、{@code gateway.response.cache.size}、
+ * {@code gateway.response.cache.weight}。
+ */
 @Slf4j
 @Component
 public class ResponseCacheFilter implements GlobalFilter, Ordered {
 
+    private static final String X_CACHE = "X-Cache";
+
     private final ResponseCacheProperties properties;
-    private final Cache<String, CachedResponse> cache;
-    private final Cache<String, List<String>> varyHeadersByBaseKey;
-    private final ConcurrentMap<String, Set<String>> variantKeysByBaseKey = new ConcurrentHashMap<>();
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Ticker ticker;
+    private final Cache<CacheKey, CachedResponse> cache;
+    /**
+     * 基础键 -> Vary 头及已缓存的变体键，保留到最晚一个变体过期，容量与条目数上限一致
+     */
+    private final Cache<CacheKey, VariantIndex> variantIndexByBaseKey;
+    private final RoutePatternMatcher cachePathMatcher;
+    private final RoutePatternMatcher excludePathMatcher;
+
+    /**
+     * 正在回源的资源（按基础键），跟随请求订阅对应的完成信号
+     */
+    private final ConcurrentMap<CacheKey, Sinks.Empty<Void>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 正在后台刷新的变体键，避免同一条目被重复刷新
+     */
+    private final Set<CacheKey> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collapsedHits = new LongAdder();
+    private final LongAdder staleIfErrorHits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
 
     public ResponseCacheFilter(ResponseCacheProperties properties) {
+        this(properties, null, Ticker.systemTicker());
+    }
+
+    @Autowired
+    public ResponseCacheFilter(ResponseCacheProperties properties, @Nullable MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    ResponseCacheFilter(ResponseCacheProperties properties, @Nullable MeterRegistry meterRegistry, Ticker ticker) {
         this.properties = properties;
+        this.ticker = ticker;
         this.cache = Caffeine.newBuilder()
-                .maximumSize(properties.getMaxCacheSize())
-                .expireAfterWrite(properties.getDefaultTtl())
+                .ticker(ticker)
+                .maximumWeight(properties.getMaxWeightBytes())
+                .weigher((CacheKey key, CachedResponse value) -> value.body().weight())
+                .expireAfter(new RetentionExpiry<>(CachedResponse::retainUntil))
+                .removalListener((CacheKey key, CachedResponse value, RemovalCause cause) -> {
+                    if (value != null) {
+                        value.body().release();
+                        if (cause != RemovalCause.REPLACED) {
+                            forgetVariantKey(value.baseKey(), key);
+                        }
+                    }
+                })
                 .build();
-        this.varyHeadersByBaseKey = Caffeine.newBuilder()
+        this.variantIndexByBaseKey = Caffeine.newBuilder()
+                .ticker(ticker)
                 .maximumSize(properties.getMaxCacheSize())
-                .expireAfterWrite(properties.getDefaultTtl())
+                .expireAfter(new RetentionExpiry<>(VariantIndex::retainUntil))
+                .removalListener((CacheKey key, VariantIndex value, RemovalCause cause) -> {
+                    // 索引因容量被淘汰后其变体已无法按基础键失效，一并清除
+                    if (value != null && cause == RemovalCause.SIZE) {
+                        cache.invalidateAll(value.variantKeys());
+                    }
+                })
                 .build();
-        log.info("ResponseCacheFilter initialized - enabled={}, ttl={}, maxSize={}, maxBodyBytes={}",
-                properties.isEnabled(), properties.getDefaultTtl(), properties.getMaxCacheSize(),
-                properties.getMaxCacheableBodyBytes());
+        this.cachePathMatcher = RoutePatternMatcher.compile(properties.getCachePaths());
+        this.excludePathMatcher = RoutePatternMatcher.compile(properties.getExcludePaths());
+
+        if (meterRegistry != null) {
+            registerRequestCounter(meterRegistry, "hit", hits);
+            registerRequestCounter(meterRegistry, "stale", staleHits);
+            registerRequestCounter(meterRegistry, "miss", misses);
+            registerRequestCounter(meterRegistry, "collapsed", collapsedHits);
+            registerRequestCounter(meterRegistry, "stale_if_error", staleIfErrorHits);
+            FunctionCounter.builder("gateway.response.cache.revalidations", revalidations, LongAdder::sum)
+                    .description("响应缓存后台刷新次数")
+                    .register(meterRegistry);
+            Gauge.builder("gateway.response.cache.size", cache, Cache::estimatedSize)
+                    .description("响应缓存条目数")
+                    .register(meterRegistry);
+            Gauge.builder("gateway.response.cache.weight", this, ResponseCacheFilter::weightedSize)
+                    .description("响应缓存占用字节数（压缩后）")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+        log.info("ResponseCacheFilter initialized - enabled={}, ttl={}, swr={}, sie={}, maxWeightBytes={}, maxBodyBytes={}",
+                properties.isEnabled(), properties.getDefaultTtl(), properties.getStaleWhileRevalidate(),
+                properties.getStaleIfError(), properties.getMaxWeightBytes(), properties.getMaxCacheableBodyBytes());
     }
 
-    record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {}
+    /**
+     * 缓存条目，时间均为 {@link Ticker} 纳秒
+     */
+    record CachedResponse(CacheKey baseKey, HttpStatusCode status, HttpHeaders headers, CachedBody body,
+                          long freshUntil, long revalidateUntil, long errorUntil) {
+
+        boolean isFresh(long now) {
+            return now < freshUntil;
+        }
+
+        boolean canServeWhileRevalidating(long now) {
+            return now < revalidateUntil;
+        }
+
+        boolean canServeOnError(long now) {
+            return now < errorUntil;
+        }
+
+        long retainUntil() {
+            return Math.max(revalidateUntil, errorUntil);
+        }
+    }
+
+    /**
+     * 基础键下的 Vary 头（空列表表示不区分变体）与已缓存的变体键
+     *
+     * @param retainUntil 各变体保留截止时间的最大值，{@link Ticker} 纳秒
+     */
+    private record VariantIndex(List<String> varyHeaders, Set<CacheKey> variantKeys, long retainUntil) {
+    }
+
+    /**
+     * 条目保留到 stale-while-revalidate 与 stale-if-error 窗口都结束
+     */
+    private static final class RetentionExpiry<V> implements Expiry<CacheKey, V> {
+
+        private final ToLongFunction<V> retainUntil;
+
+        RetentionExpiry(ToLongFunction<V> retainUntil) {
+            this.retainUntil = retainUntil;
+        }
+
+        @Override
+        public long expireAfterCreate(CacheKey key, V value, long currentTime) {
+            return Math.max(1L, retainUntil.applyAsLong(value) - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(CacheKey key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(CacheKey key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
@@ -80,64 +233,133 @@ public class ResponseCacheFilter implements GlobalFilter, Ordered {
         }
 
         String path = request.getPath().toString();
-        if (!matchesAny(path, properties.getCachePaths()) || matchesAny(path, properties.getExcludePaths())) {
+        if (!cachePathMatcher.matches(path) || excludePathMatcher.matches(path)) {
             return chain.filter(exchange);
         }
 
-        String baseCacheKey = buildBaseCacheKey(request);
-        List<String> varyHeaders = varyHeadersByBaseKey.getIfPresent(baseCacheKey);
-        String cacheKey = buildVariantCacheKey(baseCacheKey, request.getHeaders(), varyHeaders);
+        CacheKey baseCacheKey = buildBaseCacheKey(request);
+        CacheKey cacheKey = buildVariantCacheKey(baseCacheKey, request.getHeaders(), varyHeaders(baseCacheKey));
         CachedResponse cached = cache.getIfPresent(cacheKey);
         if (cached != null) {
-            return writeCachedResponse(exchange, cached);
+            long now = ticker.read();
+            if (cached.isFresh(now)) {
+                Mono<Void> hit = writeCachedResponse(exchange, cached, "HIT");
+                if (hit != null) {
+                    hits.increment();
+                    return hit;
+                }
+            } else if (cached.canServeWhileRevalidating(now)) {
+                Mono<Void> stale = writeCachedResponse(exchange, cached, "STALE");
+                if (stale != null) {
+                    staleHits.increment();
+                    return stale.doFinally(signal -> revalidate(exchange, chain, baseCacheKey, cacheKey));
+                }
+            }
         }
+        return Mono.defer(() -> collapseAndForward(exchange, chain, baseCacheKey, cached));
+    }
 
-        return chain.filter(exchange.mutate()
-                .response(new CachingResponseDecorator(exchange.getResponse(), baseCacheKey, request.getHeaders()))
-                .build());
+    /**
+     * 同一资源只允许一个请求回源；其余请求等待回源完成后重新查缓存，仍未命中（如 Vary 变体不同、
+     * 响应不可缓存或等待超时）时再自行回源
+     */
+    private Mono<Void> collapseAndForward(ServerWebExchange exchange, GatewayFilterChain chain,
+                                          CacheKey baseCacheKey, @Nullable CachedResponse stale) {
+        Sinks.Empty<Void> leader = Sinks.empty();
+        Sinks.Empty<Void> existing = inFlight.putIfAbsent(baseCacheKey, leader);
+        if (existing == null) {
+            misses.increment();
+            return forward(exchange, chain, baseCacheKey, stale)
+                    .doFinally(signal -> {
+                        inFlight.remove(baseCacheKey, leader);
+                        leader.tryEmitEmpty();
+                    });
+        }
+
+        return existing.asMono()
+                .timeout(properties.getCollapseTimeout())
+                .onErrorResume(error -> Mono.empty())
+                .then(Mono.defer(() -> {
+                    HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+                    CacheKey cacheKey = buildVariantCacheKey(baseCacheKey, requestHeaders, varyHeaders(baseCacheKey));
+                    CachedResponse cached = cache.getIfPresent(cacheKey);
+                    if (cached != null && cached.isFresh(ticker.read())) {
+                        Mono<Void> hit = writeCachedResponse(exchange, cached, "HIT");
+                        if (hit != null) {
+                            collapsedHits.increment();
+                            return hit;
+                        }
+                    }
+                    misses.increment();
+                    return forward(exchange, chain, baseCacheKey, cached != null ? cached : stale);
+                }));
     }
 
-    private boolean matchesAny(String path, List<String> patterns) {
-        if (patterns == null || patterns.isEmpty()) {
-            return false;
+    private Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain,
+                               CacheKey baseCacheKey, @Nullable CachedResponse stale) {
+        ServerHttpResponse response = exchange.getResponse();
+        Mono<Void> result = chain.filter(exchange.mutate()
+                .response(new CachingResponseDecorator(response, baseCacheKey,
+                        exchange.getRequest().getHeaders(), stale))
+                .build());
+        if (stale == null) {
+            return result;
         }
-        for (String pattern : patterns) {
-            if (pathMatcher.match(pattern, path)) {
-                return true;
+        return result.onErrorResume(error -> {
+            if (response.isCommitted() || !stale.canServeOnError(ticker.read())) {
+                return Mono.error(error);
             }
-        }
-        return false;
+            response.getHeaders().clear();
+            Mono<Void> fallback = writeCachedResponse(exchange, stale, "STALE");
+            if (fallback == null) {
+                return Mono.error(error);
+            }
+            staleIfErrorHits.increment();
+            log.warn("Upstream failed, serving stale response: path={}, error={}",
+                    exchange.getRequest().getPath(), error.toString());
+            return fallback;
+        });
     }
 
-    private String buildBaseCacheKey(ServerHttpRequest request) {
-        String method = request.getMethod() != null ? request.getMethod().name() : "GET";
-        String path = request.getPath().toString();
-        String query = request.getURI().getRawQuery();
-        String requestKey = query != null ? method + ":" + path + "?" + query : method + ":" + path;
-        String authorizationKey = hashHeaderValues(request.getHeaders().get(HttpHeaders.AUTHORIZATION));
-        String cookieKey = hashHeaderValues(request.getHeaders().get(HttpHeaders.COOKIE));
-        return requestKey + "|auth=" + authorizationKey + "|cookie=" + cookieKey;
+    /**
+     * 后台刷新：用不写回客户端的响应装饰器重新执行过滤链，结果只写入缓存
+     */
+    private void revalidate(ServerWebExchange exchange, GatewayFilterChain chain,
+                            CacheKey baseCacheKey, CacheKey cacheKey) {
+        if (!revalidating.add(cacheKey)) {
+            return;
+        }
+        revalidations.increment();
+        DetachedResponse detached = new DetachedResponse(exchange.getResponse(), baseCacheKey,
+                exchange.getRequest().getHeaders());
+        chain.filter(exchange.mutate().response(detached).build())
+                .doFinally(signal -> revalidating.remove(cacheKey))
+                .subscribe(null, error -> log.warn("Response cache revalidation failed: path={}, error={}",
+                        exchange.getRequest().getPath(), error.toString()));
+    }
+
+    private CacheKey buildBaseCacheKey(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return CacheKey.builder()
+                .add(request.getMethod() != null ? request.getMethod().name() : "GET")
+                .add(request.getPath().toString())
+                .add(request.getURI().getRawQuery())
+                .add(headers.get(HttpHeaders.AUTHORIZATION))
+                .add(headers.get(HttpHeaders.COOKIE))
+                .build();
     }
 
-    private String buildVariantCacheKey(String baseCacheKey, HttpHeaders requestHeaders, List<String> varyHeaders) {
+    private CacheKey buildVariantCacheKey(CacheKey baseCacheKey, HttpHeaders requestHeaders,
+                                          @Nullable List<String> varyHeaders) {
         if (varyHeaders == null || varyHeaders.isEmpty()) {
             return baseCacheKey;
         }
 
-        String varySignature = varyHeaders.stream()
-                .map(varyHeader -> varyHeader + "=" + hashHeaderValues(requestHeaders.get(varyHeader)))
-                .reduce((left, right) -> left + "|" + right)
-                .orElse("none");
-        String varyHash = DigestUtils.md5DigestAsHex(varySignature.getBytes(StandardCharsets.UTF_8));
-        return baseCacheKey + "|vary=" + varyHash;
-    }
-
-    private String hashHeaderValues(List<String> headerValues) {
-        if (headerValues == null || headerValues.isEmpty()) {
-            return "none";
+        CacheKey.Builder builder = CacheKey.builder().add(baseCacheKey);
+        for (String varyHeader : varyHeaders) {
+            builder.add(varyHeader).add(requestHeaders.get(varyHeader));
         }
-        String mergedHeaderValue = String.join("\n", headerValues);
-        return DigestUtils.md5DigestAsHex(mergedHeaderValue.getBytes(StandardCharsets.UTF_8));
+        return builder.build();
     }
 
     private boolean shouldSkipResponseCache(HttpHeaders headers) {
@@ -165,6 +387,33 @@ public class ResponseCacheFilter implements GlobalFilter, Ordered {
         return false;
     }
 
+    /**
+     * 读取响应 Cache-Control 中 {@code directive=秒数} 形式的指令（RFC 5861），缺失或非法时返回默认值
+     */
+    private Duration cacheControlSeconds(HttpHeaders headers, String directive, Duration defaultValue) {
+        List<String> cacheControlHeaders = headers.get(HttpHeaders.CACHE_CONTROL);
+        if (cacheControlHeaders == null) {
+            return defaultValue;
+        }
+        String prefix = directive + "=";
+        for (String cacheControl : cacheControlHeaders) {
+            if (cacheControl == null) {
+                continue;
+            }
+            for (String token : cacheControl.split(",")) {
+                String trimmed = token.trim().toLowerCase(Locale.ROOT);
+                if (trimmed.startsWith(prefix)) {
+                    try {
+                        return Duration.ofSeconds(Long.parseLong(trimmed.substring(prefix.length()).trim()));
+                    } catch (NumberFormatException e) {
+                        return defaultValue;
+                    }
+                }
+            }
+        }
+        return defaultValue;
+    }
+
     private List<String> resolveVaryHeaders(HttpHeaders responseHeaders) {
         List<String> varyHeaderValues = responseHeaders.get(HttpHeaders.VARY);
         if (varyHeaderValues == null || varyHeaderValues.isEmpty()) {
@@ -182,129 +431,309 @@ public class ResponseCacheFilter implements GlobalFilter, Ordered {
                 .toList();
     }
 
-    private void trackVariantKey(String baseCacheKey, String variantCacheKey) {
-        variantKeysByBaseKey.computeIfAbsent(baseCacheKey, key -> ConcurrentHashMap.newKeySet())
-                .add(variantCacheKey);
+    @Nullable
+    private List<String> varyHeaders(CacheKey baseCacheKey) {
+        VariantIndex index = variantIndexByBaseKey.getIfPresent(baseCacheKey);
+        return index == null ? null : index.varyHeaders();
     }
 
-    private void invalidateVariantKeys(String baseCacheKey) {
-        Set<String> variantKeys = variantKeysByBaseKey.remove(baseCacheKey);
-        if (variantKeys != null && !variantKeys.isEmpty()) {
-            cache.invalidateAll(variantKeys);
+    /**
+     * 变体条目过期或被淘汰后从索引中移除；同一键已被重新写入时保留
+     */
+    private void forgetVariantKey(CacheKey baseCacheKey, CacheKey variantCacheKey) {
+        VariantIndex index = variantIndexByBaseKey.getIfPresent(baseCacheKey);
+        if (index != null && !cache.asMap().containsKey(variantCacheKey)) {
+            index.variantKeys().remove(variantCacheKey);
         }
     }
 
-    private void purgeBaseCache(String baseCacheKey) {
-        varyHeadersByBaseKey.invalidate(baseCacheKey);
-        invalidateVariantKeys(baseCacheKey);
+    private void purgeBaseCache(CacheKey baseCacheKey) {
+        VariantIndex index = variantIndexByBaseKey.asMap().remove(baseCacheKey);
+        if (index != null) {
+            cache.invalidateAll(index.variantKeys());
+        }
     }
 
-    private Mono<Void> writeCachedResponse(ServerWebExchange exchange, CachedResponse cached) {
+    /**
+     * 上游响应写入缓存（5xx、不可缓存或 Vary: * 的响应除外）
+     */
+    private void storeResponse(CacheKey baseCacheKey, HttpHeaders requestHeaders, @Nullable HttpStatusCode status,
+                               HttpHeaders responseHeaders, byte[] body) {
+        if (status == null) {
+            status = HttpStatus.OK;
+        }
+        if (status.is5xxServerError() || shouldSkipResponseCache(responseHeaders)) {
+            return;
+        }
+
+        List<String> varyHeaders = resolveVaryHeaders(responseHeaders);
+        if (varyHeaders.contains("*")) {
+            purgeBaseCache(baseCacheKey);
+            return;
+        }
+
+        CacheKey finalCacheKey = buildVariantCacheKey(baseCacheKey, requestHeaders, varyHeaders);
+        HttpHeaders cachedHeaders = new HttpHeaders();
+        cachedHeaders.putAll(responseHeaders);
+        cachedHeaders.remove(X_CACHE);
+
+        long now = ticker.read();
+        long freshUntil = now + properties.getDefaultTtl().toNanos();
+        long revalidateUntil = freshUntil + cacheControlSeconds(responseHeaders, "stale-while-revalidate",
+                properties.getStaleWhileRevalidate()).toNanos();
+        long errorUntil = freshUntil + cacheControlSeconds(responseHeaders, "stale-if-error",
+                properties.getStaleIfError()).toNanos();
+        CachedBody cachedBody = CachedBody.of(body,
+                properties.isCompressionEnabled() ? properties.getCompressionMinBytes() : 0,
+                properties.getOffHeapThresholdBytes());
+        CachedResponse cached = new CachedResponse(baseCacheKey, status, cachedHeaders, cachedBody,
+                freshUntil, revalidateUntil, errorUntil);
+
+        // Vary 头变化时旧变体全部失效；索引的保留时间覆盖最晚过期的变体
+        variantIndexByBaseKey.asMap().compute(baseCacheKey, (key, index) -> {
+            if (index != null && !index.varyHeaders().equals(varyHeaders)) {
+                cache.invalidateAll(index.variantKeys());
+                index = null;
+            }
+            Set<CacheKey> variantKeys = index != null ? index.variantKeys() : ConcurrentHashMap.newKeySet();
+            variantKeys.add(finalCacheKey);
+            long retainUntil = index != null
+                    ? Math.max(index.retainUntil(), cached.retainUntil())
+                    : cached.retainUntil();
+            return new VariantIndex(varyHeaders, variantKeys, retainUntil);
+        });
+        cache.put(finalCacheKey, cached);
+    }
+
+    /**
+     * 写出缓存响应
+     *
+     * @return 条目的堆外内存已被淘汰释放时返回 null，调用方按未命中处理
+     */
+    @Nullable
+    private Mono<Void> writeCachedResponse(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
         ServerHttpResponse response = exchange.getResponse();
+        DataBuffer buffer = cached.body().toDataBuffer(response.bufferFactory());
+        if (buffer == null) {
+            return null;
+        }
         response.setStatusCode(cached.status());
         cached.headers().forEach((name, values) -> {
             if (!name.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)) {
                 response.getHeaders().put(name, values);
             }
         });
-        response.getHeaders().set("X-Cache", "HIT");
-        response.getHeaders().setContentLength(cached.body().length);
-
-        DataBuffer buffer = response.bufferFactory().wrap(cached.body());
+        response.getHeaders().set(X_CACHE, cacheStatus);
+        response.getHeaders().setContentLength(cached.body().length());
         return response.writeWith(Mono.just(buffer));
     }
 
     public void evictAll() {
         cache.invalidateAll();
-        varyHeadersByBaseKey.invalidateAll();
-        variantKeysByBaseKey.clear();
+        variantIndexByBaseKey.invalidateAll();
         log.info("Response cache evicted");
     }
 
+    private void registerRequestCounter(MeterRegistry meterRegistry, String result, LongAdder counter) {
+        FunctionCounter.builder("gateway.response.cache.requests", counter, LongAdder::sum)
+                .description("响应缓存请求数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private double weightedSize() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
     @Override
     public int getOrder() {
         return -30;
     }
 
+    /**
+     * 边写回客户端边收集响应体的缓冲区；超过上限后放弃收集
+     */
+    private final class BodyCollector {
+
+        private final long limit = properties.getMaxCacheableBodyBytes();
+        private final AtomicBoolean cacheable;
+        private final ByteArrayOutputStream bodyStream = new ByteArrayOutputStream();
+
+        BodyCollector(boolean cacheable) {
+            this.cacheable = new AtomicBoolean(cacheable && limit > 0);
+        }
+
+        void collect(DataBuffer dataBuffer) {
+            if (!cacheable.get()) {
+                return;
+            }
+            int readableBytes = dataBuffer.readableByteCount();
+            if (bodyStream.size() + (long) readableBytes > limit) {
+                cacheable.set(false);
+                bodyStream.reset();
+                return;
+            }
+            byte[] chunk = new byte[readableBytes];
+            dataBuffer.toByteBuffer(dataBuffer.readPosition(), ByteBuffer.wrap(chunk), 0, readableBytes);
+            bodyStream.write(chunk, 0, readableBytes);
+        }
+
+        boolean isCacheable() {
+            return cacheable.get();
+        }
+
+        byte[] toByteArray() {
+            return bodyStream.toByteArray();
+        }
+    }
+
     private class CachingResponseDecorator extends ServerHttpResponseDecorator {
 
-        private final String baseCacheKey;
+        private final CacheKey baseCacheKey;
         private final HttpHeaders requestHeaders;
+        @Nullable
+        private final CachedResponse stale;
 
-        CachingResponseDecorator(ServerHttpResponse delegate, String baseCacheKey, HttpHeaders requestHeaders) {
+        CachingResponseDecorator(ServerHttpResponse delegate, CacheKey baseCacheKey, HttpHeaders requestHeaders,
+                                 @Nullable CachedResponse stale) {
             super(delegate);
             this.baseCacheKey = baseCacheKey;
             this.requestHeaders = HttpHeaders.readOnlyHttpHeaders(requestHeaders);
+            this.stale = stale;
         }
-
+
         @Override
         public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
-            getDelegate().getHeaders().set("X-Cache", "MISS");
+            HttpStatusCode statusCode = getDelegate().getStatusCode();
+            if (stale != null && statusCode != null && statusCode.is5xxServerError()
+                    && stale.canServeOnError(ticker.read())) {
+                return writeStaleInsteadOf(body, statusCode);
+            }
 
-            long maxCacheableBodyBytes = properties.getMaxCacheableBodyBytes();
-            AtomicBoolean cacheable = new AtomicBoolean(maxCacheableBodyBytes > 0
-                    && !shouldSkipResponseCache(getDelegate().getHeaders()));
-            AtomicLong cachedBodySize = new AtomicLong(0L);
-            ByteArrayOutputStream cachedBodyStream = new ByteArrayOutputStream();
+            getDelegate().getHeaders().set(X_CACHE, "MISS");
+            BodyCollector collector = new BodyCollector(!shouldSkipResponseCache(getDelegate().getHeaders()));
+            Flux<? extends DataBuffer> responseBody = Flux.from(body).doOnNext(collector::collect);
 
-            Flux<? extends DataBuffer> responseBody = Flux.from(body)
-                    .doOnNext(dataBuffer -> {
-                        if (!cacheable.get()) {
-                            return;
+            return getDelegate().writeWith(responseBody)
+                    .doOnSuccess(unused -> {
+                        if (collector.isCacheable()) {
+                            storeResponse(baseCacheKey, requestHeaders, getDelegate().getStatusCode(),
+                                    getDelegate().getHeaders(), collector.toByteArray());
                         }
+                    });
+        }
 
-                        int readableBytes = dataBuffer.readableByteCount();
-                        long totalSize = cachedBodySize.addAndGet(readableBytes);
-                        if (totalSize > maxCacheableBodyBytes) {
-                            cacheable.set(false);
-                            cachedBodyStream.reset();
-                            return;
-                        }
+        /**
+         * 丢弃上游 5xx 响应体，改为写出旧响应
+         */
+        private Mono<Void> writeStaleInsteadOf(Publisher<? extends DataBuffer> body, HttpStatusCode statusCode) {
+            DataBuffer buffer = stale.body().toDataBuffer(bufferFactory());
+            if (buffer == null) {
+                return getDelegate().writeWith(body);
+            }
+            staleIfErrorHits.increment();
+            log.warn("Upstream returned {}, serving stale response", statusCode.value());
+            return Flux.from(body)
+                    .doOnNext(DataBufferUtils::release)
+                    .then(Mono.defer(() -> {
+                        HttpHeaders headers = getDelegate().getHeaders();
+                        headers.clear();
+                        getDelegate().setStatusCode(stale.status());
+                        stale.headers().forEach((name, values) -> {
+                            if (!name.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)) {
+                                headers.put(name, values);
+                            }
+                        });
+                        headers.set(X_CACHE, "STALE");
+                        headers.setContentLength(stale.body().length());
+                        return getDelegate().writeWith(Mono.just(buffer));
+                    }));
+        }
 
-                        ByteBuffer byteBuffer = dataBuffer.asByteBuffer().asReadOnlyBuffer();
-                        byte[] chunk = new byte[byteBuffer.remaining()];
-                        byteBuffer.get(chunk);
-                        cachedBodyStream.write(chunk, 0, chunk.length);
-                    });
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).flatMapSequential(p -> p));
+        }
+    }
 
-            return getDelegate().writeWith(responseBody)
-                    .doOnSuccess(unused -> {
-                        if (!cacheable.get()) {
-                            return;
-                        }
-                        HttpHeaders responseHeaders = getDelegate().getHeaders();
-                        if (shouldSkipResponseCache(responseHeaders)) {
-                            return;
-                        }
+    /**
+     * 后台刷新使用的响应：状态码、响应头独立保存，响应体只收集不写出，原始响应（已写回客户端）不受影响
+     */
+    private class DetachedResponse extends ServerHttpResponseDecorator {
 
-                        List<String> varyHeaders = resolveVaryHeaders(responseHeaders);
-                        if (varyHeaders.contains("*")) {
-                            purgeBaseCache(baseCacheKey);
-                            return;
-                        }
+        private final CacheKey baseCacheKey;
+        private final HttpHeaders requestHeaders;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final AtomicBoolean committed = new AtomicBoolean();
+        @Nullable
+        private volatile HttpStatusCode statusCode;
 
-                        List<String> previousVaryHeaders = varyHeadersByBaseKey.getIfPresent(baseCacheKey);
-                        if (!Objects.equals(previousVaryHeaders, varyHeaders)) {
-                            invalidateVariantKeys(baseCacheKey);
-                        }
+        DetachedResponse(ServerHttpResponse delegate, CacheKey baseCacheKey, HttpHeaders requestHeaders) {
+            super(delegate);
+            this.baseCacheKey = baseCacheKey;
+            this.requestHeaders = HttpHeaders.readOnlyHttpHeaders(requestHeaders);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
 
-                        if (varyHeaders.isEmpty()) {
-                            varyHeadersByBaseKey.invalidate(baseCacheKey);
-                        } else {
-                            varyHeadersByBaseKey.put(baseCacheKey, varyHeaders);
-                        }
+        @Override
+        public boolean setStatusCode(@Nullable HttpStatusCode status) {
+            if (committed.get()) {
+                return false;
+            }
+            this.statusCode = status;
+            return true;
+        }
 
-                        String finalCacheKey = buildVariantCacheKey(baseCacheKey, requestHeaders, varyHeaders);
-                        HttpHeaders cachedHeaders = new HttpHeaders();
-                        cachedHeaders.putAll(responseHeaders);
-                        HttpStatusCode statusCode = getDelegate().getStatusCode();
-                        if (statusCode == null) {
-                            statusCode = HttpStatus.OK;
+        @Override
+        @Nullable
+        public HttpStatusCode getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return committed.get();
+        }
+
+        @Override
+        public void beforeCommit(Supplier<? extends Mono<Void>> action) {
+            // 不会真正提交，忽略提交前回调
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            committed.set(true);
+            BodyCollector collector = new BodyCollector(!shouldSkipResponseCache(headers));
+            return Flux.from(body)
+                    .doOnNext(dataBuffer -> {
+                        try {
+                            collector.collect(dataBuffer);
+                        } finally {
+                            DataBufferUtils.release(dataBuffer);
                         }
-                        cache.put(finalCacheKey, new CachedResponse(
-                                statusCode, cachedHeaders, cachedBodyStream.toByteArray()));
-                        trackVariantKey(baseCacheKey, finalCacheKey);
-                    });
+                    })
+                    .then(Mono.fromRunnable(() -> {
+                        if (collector.isCacheable()) {
+                            storeResponse(baseCacheKey, requestHeaders, statusCode, headers, collector.toByteArray());
+                        }
+                    }));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).flatMapSequential(p -> p));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            committed.set(true);
+            return Mono.empty();
         }
     }
 }
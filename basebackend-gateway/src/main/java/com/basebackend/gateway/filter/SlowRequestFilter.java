@@ -1,5 +1,6 @@
 package com.basebackend.gateway.filter;
 
+import com.basebackend.gateway.metrics.LatencyRecorderRegistry;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
@@ -7,6 +8,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
@@ -26,7 +29,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * <ul>
  * <li>记录请求耗时到 Micrometer</li>
  * <li>识别和记录慢请求（可配置阈值）</li>
- * <li>按路由/路径分组统计</li>
+ * <li>按路由和状态码分组的区间直方图（精确 p99/p999，内存固定）</li>
  * <li>慢请求详细日志</li>
  * </ul>
  *
@@ -38,8 +41,8 @@ import java.util.concurrent.atomic.AtomicLong;
 @ConditionalOnClass(MeterRegistry.class)
 public class SlowRequestFilter implements GlobalFilter, Ordered {
 
-    private final MeterRegistry meterRegistry;
     private final Timer requestTimer;
+    private final LatencyRecorderRegistry latencyRecorders;
 
     /**
      * 慢请求阈值（毫秒）
@@ -69,8 +72,8 @@ public class SlowRequestFilter implements GlobalFilter, Ordered {
      */
     private final AtomicLong verySlowRequestCount = new AtomicLong(0);
 
-    public SlowRequestFilter(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+    public SlowRequestFilter(MeterRegistry meterRegistry, LatencyRecorderRegistry latencyRecorders) {
+        this.latencyRecorders = latencyRecorders;
 
         // 创建请求计时器
         this.requestTimer = Timer.builder("gateway.request.duration")
@@ -102,7 +105,7 @@ public class SlowRequestFilter implements GlobalFilter, Ordered {
                     long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
 
                     // 记录到 Micrometer
-                    recordMetrics(method, path, durationNanos, exchange);
+                    recordMetrics(durationNanos, exchange);
 
                     // 检查是否为慢请求
                     if (slowRequestLogEnabled) {
@@ -114,24 +117,20 @@ public class SlowRequestFilter implements GlobalFilter, Ordered {
     /**
      * 记录请求指标
      */
-    private void recordMetrics(String method, String path, long durationNanos,
-            ServerWebExchange exchange) {
+    private void recordMetrics(long durationNanos, ServerWebExchange exchange) {
         int statusCode = exchange.getResponse().getStatusCode() != null
                 ? exchange.getResponse().getStatusCode().value()
                 : 0;
 
-        // 简化路径，避免高基数问题
-        String normalizedPath = normalizePath(path);
-
         requestTimer.record(durationNanos, TimeUnit.NANOSECONDS);
 
-        // 按路径和方法分组的计时器
-        Timer.builder("gateway.request.duration.by_path")
-                .tag("method", method)
-                .tag("path", normalizedPath)
-                .tag("status", String.valueOf(statusCode / 100) + "xx")
-                .register(meterRegistry)
-                .record(durationNanos, TimeUnit.NANOSECONDS);
+        // 按路由和状态码分组的区间直方图（路由数有限，不存在路径高基数问题）
+        latencyRecorders.record(routeId(exchange), statusCode, durationNanos);
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
     }
 
     /**
@@ -146,9 +145,9 @@ public class SlowRequestFilter implements GlobalFilter, Ordered {
         if (durationMs >= verySlowRequestThreshold) {
             // 超慢请求
             verySlowRequestCount.incrementAndGet();
-            log.error("[VERY_SLOW] [{}] {} {} - {}ms - status={} - 超慢请求警告！",
+            log.error("[VERY_SLOW] [{}] {} {} - {}ms - status={} - routeP99={}ms - 超慢请求警告！",
                     traceId != null ? traceId : "-",
-                    method, path, durationMs, statusCode);
+                    method, path, durationMs, statusCode, routeP99(exchange));
 
             // 记录更多诊断信息
             logSlowRequestDetails(exchange, durationMs, "VERY_SLOW");
@@ -156,9 +155,9 @@ public class SlowRequestFilter implements GlobalFilter, Ordered {
         } else if (durationMs >= slowRequestThreshold) {
             // 慢请求
             slowRequestCount.incrementAndGet();
-            log.warn("[SLOW] [{}] {} {} - {}ms - status={}",
+            log.warn("[SLOW] [{}] {} {} - {}ms - status={} - routeP99={}ms",
                     traceId != null ? traceId : "-",
-                    method, path, durationMs, statusCode);
+                    method, path, durationMs, statusCode, routeP99(exchange));
 
             logSlowRequestDetails(exchange, durationMs, "SLOW");
         }
@@ -193,33 +192,10 @@ public class SlowRequestFilter implements GlobalFilter, Ordered {
     }
 
     /**
-     * 规范化路径（降低指标基数）
-     * 将路径参数替换为占位符
+     * 路由上一统计周期的 p99（毫秒），用于判断慢请求是个例还是整体变慢
      */
-    private String normalizePath(String path) {
-        if (path == null || path.isEmpty()) {
-            return "/";
-        }
-
-        // 替换常见的 ID 模式
-        // /api/users/12345 -> /api/users/{id}
-        // /api/orders/abc-123 -> /api/orders/{id}
-        String normalized = path;
-
-        // 替换纯数字 ID
-        normalized = normalized.replaceAll("/\\d+(?=/|$)", "/{id}");
-
-        // 替换 UUID 格式的 ID
-        normalized = normalized.replaceAll(
-                "/[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}(?=/|$)",
-                "/{uuid}");
-
-        // 限制路径长度
-        if (normalized.length() > 100) {
-            normalized = normalized.substring(0, 100) + "...";
-        }
-
-        return normalized;
+    private double routeP99(ServerWebExchange exchange) {
+        return latencyRecorders.snapshot(routeId(exchange)).valueAtPercentileMillis(99.0);
     }
 
     /**
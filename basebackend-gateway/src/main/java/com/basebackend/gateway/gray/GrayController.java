@@ -0,0 +1,67 @@
+package com.basebackend.gateway.gray;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 灰度发布管理 API
+ * <p>
+ * 提供灰度版本与稳定版本的延迟对比查询，开启集群延迟统计时结果覆盖全部网关节点。
+ */
+@RestController
+@RequestMapping("/actuator/gateway/gray")
+@RequiredArgsConstructor
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "gateway.gray", name = "enabled", havingValue = "true")
+public class GrayController {
+
+    private final GrayMetricsCollector grayMetricsCollector;
+
+    private final GrayRouteProperties grayRouteProperties;
+
+    /**
+     * 对比服务灰度版本与稳定版本上一统计周期的延迟
+     * <p>
+     * baseline / canary 为空时取该服务灰度规则中的稳定版本 / 灰度版本。
+     */
+    @GetMapping("/latency/{service}")
+    public Mono<ResponseEntity<Map<String, Object>>> compareLatency(
+            @PathVariable String service,
+            @RequestParam(required = false) String baseline,
+            @RequestParam(required = false) String canary) {
+        GrayRouteProperties.GrayRule rule = findRule(service);
+        String baselineVersion = StringUtils.hasText(baseline) ? baseline
+                : rule != null ? rule.getStableVersion() : null;
+        String canaryVersion = StringUtils.hasText(canary) ? canary
+                : rule != null ? rule.getGrayVersion() : null;
+        if (!StringUtils.hasText(baselineVersion) || !StringUtils.hasText(canaryVersion)) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of(
+                    "service", service,
+                    "message", "未配置灰度规则，需指定 baseline 和 canary 版本")));
+        }
+        return grayMetricsCollector.compareVersionLatency(service, baselineVersion, canaryVersion)
+                .map(ResponseEntity::ok);
+    }
+
+    private GrayRouteProperties.GrayRule findRule(String service) {
+        List<GrayRouteProperties.GrayRule> rules = grayRouteProperties.getRules();
+        if (rules == null) {
+            return null;
+        }
+        return rules.stream()
+                .filter(Objects::nonNull)
+                .filter(rule -> service.equals(rule.getServiceName()))
+                .findFirst()
+                .orElse(null);
+    }
+}
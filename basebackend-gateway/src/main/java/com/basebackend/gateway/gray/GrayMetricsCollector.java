@@ -1,5 +1,7 @@
 package com.basebackend.gateway.gray;
 
+import com.basebackend.gateway.metrics.LatencyRecorderRegistry;
+import com.basebackend.gateway.metrics.LatencySnapshot;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
@@ -7,9 +9,11 @@ import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -24,6 +28,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * <li>灰度策略命中率</li>
  * <li>路由决策耗时</li>
  * <li>实例选择统计</li>
+ * <li>各版本区间延迟分位数对比（基于 {@link LatencyRecorderRegistry}）</li>
  * </ul>
  * </p>
  *
@@ -37,6 +42,8 @@ public class GrayMetricsCollector {
 
     private final MeterRegistry meterRegistry;
 
+    private final LatencyRecorderRegistry latencyRecorders;
+
     /**
      * 度量名称前缀
      */
@@ -87,8 +94,9 @@ public class GrayMetricsCollector {
      */
     private final AtomicLong activeVersionsGauge = new AtomicLong(0);
 
-    public GrayMetricsCollector(MeterRegistry meterRegistry) {
+    public GrayMetricsCollector(MeterRegistry meterRegistry, LatencyRecorderRegistry latencyRecorders) {
         this.meterRegistry = meterRegistry;
+        this.latencyRecorders = latencyRecorders;
 
         // 初始化固定的度量
         this.routingTimer = Timer.builder(METRIC_PREFIX + ".routing.time")
@@ -188,6 +196,62 @@ public class GrayMetricsCollector {
         routingTimer.record(duration);
     }
 
+    /**
+     * 记录某个版本的请求耗时
+     *
+     * @param service       服务名称
+     * @param version       实例版本
+     * @param statusCode    HTTP 状态码
+     * @param durationNanos 耗时（纳秒）
+     */
+    public void recordVersionLatency(String service, String version, int statusCode, long durationNanos) {
+        latencyRecorders.record(versionSeries(service, version), statusCode, durationNanos);
+    }
+
+    /**
+     * 对比两个版本上一统计周期的延迟分布（毫秒）
+     * <p>
+     * 开启集群模式时合并全部网关节点的直方图，否则只统计本节点。
+     *
+     * @param service         服务名称
+     * @param baselineVersion 基线版本
+     * @param canaryVersion   灰度版本
+     * @return 两个版本的请求数与 p50/p99/p999，以及灰度/基线的 p99 比值
+     */
+    public Mono<Map<String, Object>> compareVersionLatency(String service, String baselineVersion,
+                                                           String canaryVersion) {
+        return Mono.zip(latencyRecorders.clusterSnapshot(versionSeries(service, baselineVersion)),
+                        latencyRecorders.clusterSnapshot(versionSeries(service, canaryVersion)))
+                .map(snapshots -> latencyComparison(service, baselineVersion, snapshots.getT1(),
+                        canaryVersion, snapshots.getT2()));
+    }
+
+    private static Map<String, Object> latencyComparison(String service,
+                                                         String baselineVersion, LatencySnapshot baseline,
+                                                         String canaryVersion, LatencySnapshot canary) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("service", service);
+        result.put("baseline", latencySummary(baselineVersion, baseline));
+        result.put("canary", latencySummary(canaryVersion, canary));
+        double baselineP99 = baseline.valueAtPercentileMillis(99.0);
+        result.put("p99Ratio", baselineP99 > 0 ? canary.valueAtPercentileMillis(99.0) / baselineP99 : 0.0);
+        return result;
+    }
+
+    private static Map<String, Object> latencySummary(String version, LatencySnapshot snapshot) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("version", version);
+        summary.put("requests", snapshot.count());
+        summary.put("p50Ms", snapshot.valueAtPercentileMillis(50.0));
+        summary.put("p99Ms", snapshot.valueAtPercentileMillis(99.0));
+        summary.put("p999Ms", snapshot.valueAtPercentileMillis(99.9));
+        return summary;
+    }
+
+    private static String versionSeries(String service, String version) {
+        return "gray:" + service + ":" + version;
+    }
+
     /**
      * 记录会话黏性命中
      */
@@ -0,0 +1,69 @@
+package com.basebackend.gateway.gray;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * 灰度版本延迟统计过滤器
+ * <p>
+ * 请求完成后读取负载均衡选中的实例，按实例元数据中的 {@code version} 把耗时记录到
+ * {@link GrayMetricsCollector#recordVersionLatency}，供灰度版本延迟对比使用。
+ * 未启用灰度或实例未声明版本时不记录。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnClass(MeterRegistry.class)
+public class GrayVersionLatencyFilter implements GlobalFilter, Ordered {
+
+    static final String VERSION_METADATA = "version";
+
+    private final GrayMetricsCollector grayMetricsCollector;
+
+    private final GrayRouteProperties grayRouteProperties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!Boolean.TRUE.equals(grayRouteProperties.getEnabled())) {
+            return chain.filter(exchange);
+        }
+        long startTime = System.nanoTime();
+        return chain.filter(exchange).doFinally(signalType -> recordLatency(exchange, System.nanoTime() - startTime));
+    }
+
+    private void recordLatency(ServerWebExchange exchange, long durationNanos) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(
+                ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        ServiceInstance instance = lbResponse.getServer();
+        String version = instance.getMetadata() != null ? instance.getMetadata().get(VERSION_METADATA) : null;
+        if (!StringUtils.hasText(version)) {
+            return;
+        }
+        int statusCode = exchange.getResponse().getStatusCode() != null
+                ? exchange.getResponse().getStatusCode().value()
+                : 0;
+        grayMetricsCollector.recordVersionLatency(instance.getServiceId(), version, statusCode, durationNanos);
+    }
+
+    @Override
+    public int getOrder() {
+        // 在最外层，计时覆盖完整的下游调用
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
@@ -0,0 +1,63 @@
+package com.basebackend.gateway.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按统计周期切换的无锁延迟记录器
+ * <p>
+ * 内部有两个 {@link LatencyHistogram}：写入者只写活动直方图；{@link #swap()} 把活动直方图换下并返回其快照，
+ * 同时换上清零后的备用直方图。切换使用 writer-reader phaser（与 HdrHistogram Recorder 相同的算法）：
+ * 写入路径只有两次原子自增，不加锁；读取方等待换下前已进入的写入全部结束后再读取，保证不丢、不重复计数。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public final class IntervalLatencyRecorder {
+
+    private volatile LatencyHistogram active = new LatencyHistogram();
+    private LatencyHistogram inactive = new LatencyHistogram();
+
+    private final AtomicLong startEpoch = new AtomicLong(0);
+    private final AtomicLong evenEndEpoch = new AtomicLong(0);
+    private final AtomicLong oddEndEpoch = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * 记录一次延迟（微秒）
+     */
+    public void record(long micros) {
+        long epoch = startEpoch.getAndIncrement();
+        try {
+            active.record(micros);
+        } finally {
+            (epoch < 0 ? oddEndEpoch : evenEndEpoch).getAndIncrement();
+        }
+    }
+
+    /**
+     * 结束当前统计周期
+     *
+     * @return 刚结束的周期内记录的数据
+     */
+    public synchronized LatencySnapshot swap() {
+        LatencyHistogram finished = active;
+        inactive.reset();
+        active = inactive;
+        flipPhase();
+        inactive = finished;
+        return finished.snapshot();
+    }
+
+    /**
+     * 切换相位并等待旧相位的写入者全部退出
+     */
+    private void flipPhase() {
+        boolean nextPhaseIsEven = startEpoch.get() < 0;
+        long initialStartValue = nextPhaseIsEven ? 0 : Long.MIN_VALUE;
+        (nextPhaseIsEven ? evenEndEpoch : oddEndEpoch).set(initialStartValue);
+        long startValueAtFlip = startEpoch.getAndSet(initialStartValue);
+        AtomicLong previousEndEpoch = nextPhaseIsEven ? oddEndEpoch : evenEndEpoch;
+        while (previousEndEpoch.get() != startValueAtFlip) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.basebackend.gateway.metrics;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定内存的对数-线性延迟直方图（HdrHistogram 同类结构）
+ * <p>
+ * 单位为微秒，可记录 0 ~ 2^32 µs（约 71 分钟），超出上限按上限计。小于 128µs 的值精确计数；
+ * 更大的值按最高位分组，每组 64 个线性子桶，相对误差不超过 0.8%（取桶中点）。
+ * 共 {@value #BUCKET_COUNT} 个 int 计数器，约 7KB，与记录次数无关。
+ * <p>
+ * 记录操作只有几次原子更新，无锁、无分配；计数器为 int，单个统计周期内同一桶不超过 2^31 次。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    static final long MAX_VALUE = (1L << 32) - 1;
+    static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 记录一个值（微秒）
+     */
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0L), MAX_VALUE);
+        counts.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * 清零（仅在没有写入者时调用）
+     */
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.set(0L);
+    }
+
+    /**
+     * 复制为不可变快照
+     */
+    public LatencySnapshot snapshot() {
+        int highest = -1;
+        long total = 0;
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            int count = counts.get(i);
+            if (count != 0) {
+                copy[i] = count;
+                total += count;
+                highest = i;
+            }
+        }
+        if (total == 0) {
+            return LatencySnapshot.EMPTY;
+        }
+        long[] trimmed = new long[highest + 1];
+        System.arraycopy(copy, 0, trimmed, 0, highest + 1);
+        return new LatencySnapshot(trimmed, total, sum.sum(), max.get());
+    }
+
+    /**
+     * 值所在的桶
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        int top = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (top - SUB_BUCKET_HALF);
+    }
+
+    /**
+     * 桶下界
+     */
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF + 1;
+        long top = SUB_BUCKET_HALF + offset % SUB_BUCKET_HALF;
+        return top << shift;
+    }
+
+    /**
+     * 桶代表值（中点）
+     */
+    static long bucketValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        return bucketLowerBound(index) + ((1L << shift) >> 1);
+    }
+}
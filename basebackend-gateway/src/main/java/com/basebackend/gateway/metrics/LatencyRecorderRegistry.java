@@ -0,0 +1,329 @@
+package com.basebackend.gateway.metrics;
+
+import com.basebackend.gateway.config.LatencyMetricsProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 按序列（路由、灰度版本等）和状态码分组的区间延迟记录器
+ * <p>
+ * 每个 (序列, 状态码分组) 对应一个 {@link IntervalLatencyRecorder}，按状态码分组懒创建。
+ * 每个统计周期结束时切换所有记录器，得到的周期快照：
+ * <ul>
+ * <li>通过 Micrometer Gauge {@code gateway.latency.interval} 暴露 p50/p99/p999/max（毫秒）</li>
+ * <li>供慢请求日志、路由看板、灰度版本对比查询</li>
+ * <li>开启集群模式时编码写入 Redis Hash {@code gateway:latency:{series}:{status}}，字段为节点标识，
+ * 任一节点都可以合并出全集群的分位数</li>
+ * </ul>
+ * 序列数超过上限后归入 {@value #OVERFLOW_SERIES}，内存占用有上界。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class LatencyRecorderRegistry {
+
+    public static final String OVERFLOW_SERIES = "_other";
+
+    static final String CLUSTER_KEY_PREFIX = "gateway:latency:";
+
+    private static final String METRIC_NAME = "gateway.latency.interval";
+
+    private static final String[] STATUS_CLASSES = {"none", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private static final double[] PUBLISHED_PERCENTILES = {50.0, 99.0, 99.9};
+
+    private static final String[] QUANTILE_TAGS = {"0.5", "0.99", "0.999"};
+
+    private final LatencyMetricsProperties properties;
+    @Nullable
+    private final MeterRegistry meterRegistry;
+    @Nullable
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final String nodeId;
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    private volatile Disposable reporter;
+
+    public LatencyRecorderRegistry(LatencyMetricsProperties properties) {
+        this(properties, null, null);
+    }
+
+    @Autowired
+    public LatencyRecorderRegistry(LatencyMetricsProperties properties,
+                                   @Nullable MeterRegistry meterRegistry,
+                                   @Nullable ReactiveRedisTemplate<String, Object> reactiveRedisTemplate) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.nodeId = StringUtils.hasText(properties.getNodeId()) ? properties.getNodeId() : defaultNodeId();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        reporter = Flux.interval(properties.getInterval())
+                .subscribe(tick -> swap(), error -> log.error("区间延迟直方图切换任务异常终止", error));
+        log.info("区间延迟直方图已启用 - 周期: {}, 最大序列数: {}, 集群合并: {}",
+                properties.getInterval(), properties.getMaxSeries(), properties.isClusterEnabled());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Disposable current = reporter;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * 记录一次请求耗时
+     *
+     * @param name          序列名（如路由 ID）
+     * @param statusCode    HTTP 状态码，未知时为 0
+     * @param durationNanos 耗时（纳秒）
+     */
+    public void record(String name, int statusCode, long durationNanos) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Series target = series.get(name);
+        if (target == null) {
+            target = register(name);
+        }
+        target.recorder(statusIndex(statusCode)).record(durationNanos / 1_000L);
+    }
+
+    /**
+     * 结束当前统计周期，刷新各序列的周期快照
+     */
+    public void swap() {
+        long now = System.currentTimeMillis();
+        for (Series current : series.values()) {
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                IntervalLatencyRecorder recorder = current.recorders.get(i);
+                if (recorder == null) {
+                    continue;
+                }
+                LatencySnapshot snapshot = recorder.swap();
+                current.lastSnapshots.set(i, snapshot);
+                if (snapshot.count() > 0) {
+                    publish(current.name, STATUS_CLASSES[i], snapshot, now);
+                }
+            }
+        }
+    }
+
+    /**
+     * 本节点上一个统计周期的快照（合并所有状态码分组）
+     */
+    public LatencySnapshot snapshot(String name) {
+        Series target = series.get(name);
+        if (target == null) {
+            return LatencySnapshot.EMPTY;
+        }
+        LatencySnapshot merged = LatencySnapshot.EMPTY;
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            merged = merged.merge(target.lastSnapshots.get(i));
+        }
+        return merged;
+    }
+
+    /**
+     * 本节点上一个统计周期的快照
+     *
+     * @param statusClass 状态码分组，如 "2xx"、"5xx"
+     */
+    public LatencySnapshot snapshot(String name, String statusClass) {
+        Series target = series.get(name);
+        int index = statusClassIndex(statusClass);
+        return target == null || index < 0 ? LatencySnapshot.EMPTY : target.lastSnapshots.get(index);
+    }
+
+    /**
+     * 全集群上一个统计周期的快照（合并所有节点、所有状态码分组）
+     * <p>
+     * 超过两个周期未更新的节点数据视为过期，不参与合并。未开启集群模式时返回本节点快照。
+     */
+    public Mono<LatencySnapshot> clusterSnapshot(String name) {
+        if (!clusterEnabled()) {
+            return Mono.just(snapshot(name));
+        }
+        return Flux.fromArray(STATUS_CLASSES)
+                .flatMap(statusClass -> clusterSnapshot(name, statusClass))
+                .reduce(LatencySnapshot.EMPTY, LatencySnapshot::merge);
+    }
+
+    /**
+     * 全集群上一个统计周期的快照
+     *
+     * @param statusClass 状态码分组，如 "2xx"、"5xx"
+     */
+    public Mono<LatencySnapshot> clusterSnapshot(String name, String statusClass) {
+        if (!clusterEnabled()) {
+            return Mono.just(snapshot(name, statusClass));
+        }
+        long freshAfter = System.currentTimeMillis() - properties.getInterval().toMillis() * 2;
+        return reactiveRedisTemplate.opsForHash()
+                .values(clusterKey(name, statusClass))
+                .map(String::valueOf)
+                .flatMap(value -> Mono.justOrEmpty(decodeIfFresh(value, freshAfter)))
+                .reduce(LatencySnapshot.EMPTY, LatencySnapshot::merge)
+                .onErrorResume(e -> {
+                    log.warn("读取集群延迟直方图失败, series={}, status={}: {}", name, statusClass, e.getMessage());
+                    return Mono.just(snapshot(name, statusClass));
+                });
+    }
+
+    /**
+     * 当前跟踪的序列名
+     */
+    public List<String> seriesNames() {
+        return new ArrayList<>(series.keySet());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private Series register(String name) {
+        String key = series.size() >= properties.getMaxSeries() && !series.containsKey(name) ? OVERFLOW_SERIES : name;
+        return series.computeIfAbsent(key, Series::new);
+    }
+
+    private void publish(String name, String statusClass, LatencySnapshot snapshot, long now) {
+        if (!clusterEnabled()) {
+            return;
+        }
+        String key = clusterKey(name, statusClass);
+        reactiveRedisTemplate.opsForHash()
+                .put(key, nodeId, now + ":" + snapshot.encode())
+                .then(reactiveRedisTemplate.expire(key, properties.getInterval().multipliedBy(3)))
+                .subscribe(null, e -> log.warn("发布延迟直方图失败, key={}: {}", key, e.getMessage()));
+    }
+
+    @Nullable
+    private static LatencySnapshot decodeIfFresh(String value, long freshAfter) {
+        int separator = value.indexOf(':');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            long publishedAt = Long.parseLong(value, 0, separator, 10);
+            return publishedAt >= freshAfter ? LatencySnapshot.decode(value.substring(separator + 1)) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("忽略无法解析的延迟直方图: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean clusterEnabled() {
+        return properties.isClusterEnabled() && reactiveRedisTemplate != null;
+    }
+
+    private static String clusterKey(String name, String statusClass) {
+        return CLUSTER_KEY_PREFIX + name + ":" + statusClass;
+    }
+
+    private static int statusIndex(int statusCode) {
+        int statusClass = statusCode / 100;
+        return statusClass >= 1 && statusClass <= 5 ? statusClass : 0;
+    }
+
+    private static int statusClassIndex(String statusClass) {
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            if (STATUS_CLASSES[i].equals(statusClass)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+
+    /**
+     * 单个序列：各状态码分组的记录器及其上一周期快照
+     */
+    private final class Series {
+
+        private final String name;
+        private final AtomicReferenceArray<IntervalLatencyRecorder> recorders =
+                new AtomicReferenceArray<>(STATUS_CLASSES.length);
+        private final AtomicReferenceArray<LatencySnapshot> lastSnapshots =
+                new AtomicReferenceArray<>(STATUS_CLASSES.length);
+
+        private Series(String name) {
+            this.name = name;
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                lastSnapshots.set(i, LatencySnapshot.EMPTY);
+            }
+        }
+
+        private IntervalLatencyRecorder recorder(int index) {
+            IntervalLatencyRecorder recorder = recorders.get(index);
+            if (recorder != null) {
+                return recorder;
+            }
+            IntervalLatencyRecorder created = new IntervalLatencyRecorder();
+            if (!recorders.compareAndSet(index, null, created)) {
+                return recorders.get(index);
+            }
+            registerGauges(index);
+            return created;
+        }
+
+        private void registerGauges(int index) {
+            if (meterRegistry == null) {
+                return;
+            }
+            String status = STATUS_CLASSES[index];
+            for (int p = 0; p < PUBLISHED_PERCENTILES.length; p++) {
+                double percentile = PUBLISHED_PERCENTILES[p];
+                Gauge.builder(METRIC_NAME, lastSnapshots, s -> s.get(index).valueAtPercentileMillis(percentile))
+                        .description("上一统计周期的请求耗时分位数")
+                        .baseUnit("milliseconds")
+                        .tags("series", name, "status", status, "quantile", QUANTILE_TAGS[p])
+                        .register(meterRegistry);
+            }
+            Gauge.builder(METRIC_NAME, lastSnapshots, s -> s.get(index).max() / 1000.0)
+                    .description("上一统计周期的请求耗时分位数")
+                    .baseUnit("milliseconds")
+                    .tags("series", name, "status", status, "quantile", "max")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_NAME + ".count", lastSnapshots, s -> s.get(index).count())
+                    .description("上一统计周期的请求数")
+                    .tags("series", name, "status", status)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.basebackend.gateway.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * 延迟直方图的不可变快照
+ * <p>
+ * 快照之间可合并（逐桶相加），合并结果的分位数与把所有原始值放进同一直方图完全一致，
+ * 因此多个统计周期、多个状态码分组、多个网关节点的数据可以无损汇总。
+ * {@link #encode()} 输出只包含非零桶的变长编码（最多几 KB），用于跨节点传输。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public final class LatencySnapshot {
+
+    public static final LatencySnapshot EMPTY = new LatencySnapshot(new long[0], 0L, 0L, 0L);
+
+    private static final byte ENCODING_VERSION = 1;
+
+    private final long[] counts;
+    private final long totalCount;
+    private final long sum;
+    private final long max;
+
+    LatencySnapshot(long[] counts, long totalCount, long sum, long max) {
+        this.counts = counts;
+        this.totalCount = totalCount;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /** 记录次数 */
+    public long count() {
+        return totalCount;
+    }
+
+    /** 最大值（微秒，精确值） */
+    public long max() {
+        return max;
+    }
+
+    /** 平均值（微秒，精确值） */
+    public double mean() {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    /**
+     * 分位数（微秒）
+     *
+     * @param percentile 百分位，如 99.9
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0L;
+        }
+        double clamped = Math.min(100.0, Math.max(0.0, percentile));
+        long target = Math.max(1L, (long) Math.ceil(clamped / 100.0 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(LatencyHistogram.bucketValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 分位数（毫秒）
+     */
+    public double valueAtPercentileMillis(double percentile) {
+        return valueAtPercentile(percentile) / 1000.0;
+    }
+
+    public LatencySnapshot merge(LatencySnapshot other) {
+        if (other.totalCount == 0) {
+            return this;
+        }
+        if (totalCount == 0) {
+            return other;
+        }
+        long[] merged = new long[Math.max(counts.length, other.counts.length)];
+        for (int i = 0; i < counts.length; i++) {
+            merged[i] = counts[i];
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            merged[i] += other.counts[i];
+        }
+        return new LatencySnapshot(merged, totalCount + other.totalCount, sum + other.sum, Math.max(max, other.max));
+    }
+
+    public static LatencySnapshot mergeAll(Collection<LatencySnapshot> snapshots) {
+        LatencySnapshot result = EMPTY;
+        for (LatencySnapshot snapshot : snapshots) {
+            result = result.merge(snapshot);
+        }
+        return result;
+    }
+
+    /**
+     * 编码为 URL 安全的 Base64 字符串：版本、sum、max，随后为 (桶下标增量, 计数) 变长整数对
+     */
+    public String encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(ENCODING_VERSION);
+        writeVarLong(out, sum);
+        writeVarLong(out, max);
+        int previous = -1;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                writeVarLong(out, i - previous);
+                writeVarLong(out, counts[i]);
+                previous = i;
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+    }
+
+    /**
+     * 解码 {@link #encode()} 的输出
+     *
+     * @throws IllegalArgumentException 格式不正确
+     */
+    public static LatencySnapshot decode(String encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(encoded));
+        if (!buffer.hasRemaining() || buffer.get() != ENCODING_VERSION) {
+            throw new IllegalArgumentException("不支持的延迟快照编码");
+        }
+        long sum = readVarLong(buffer);
+        long max = readVarLong(buffer);
+        long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+        int index = -1;
+        int highest = -1;
+        long total = 0;
+        while (buffer.hasRemaining()) {
+            index += (int) readVarLong(buffer);
+            if (index < 0 || index >= counts.length) {
+                throw new IllegalArgumentException("延迟快照桶下标越界: " + index);
+            }
+            long count = readVarLong(buffer);
+            counts[index] = count;
+            total += count;
+            highest = index;
+        }
+        if (total == 0) {
+            return EMPTY;
+        }
+        long[] trimmed = new long[highest + 1];
+        System.arraycopy(counts, 0, trimmed, 0, highest + 1);
+        return new LatencySnapshot(trimmed, total, sum, max);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IllegalArgumentException("延迟快照编码被截断");
+            }
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("延迟快照变长整数过长");
+    }
+}
@@ -0,0 +1,155 @@
+package com.basebackend.gateway.ratelimit;
+
+import com.basebackend.common.model.Result;
+import com.basebackend.common.util.JsonUtils;
+import com.basebackend.gateway.cache.RoutePatternMatcher;
+import com.basebackend.gateway.config.ClusterRateLimitProperties;
+import com.basebackend.gateway.config.ClusterRateLimitProperties.KeyType;
+import com.basebackend.gateway.enums.GatewayErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 集群限流过滤器
+ * <p>
+ * 按 {@code gateway.rate-limit.cluster.rules} 对匹配路径的请求做集群级限流，令牌由
+ * {@link QuotaLeasingRateLimiter} 从 Redis 批量租用后在本地消费。与 Sentinel 单机规则互不影响。
+ * 在认证过滤器之后执行，以便按 X-User-Id 限流。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class ClusterRateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final String HEADER_USER_ID = "X-User-Id";
+    private static final String UNKNOWN = "unknown";
+
+    private final QuotaLeasingRateLimiter rateLimiter;
+    private final ClusterRateLimitProperties properties;
+    private final List<CompiledRule> rules;
+
+    public ClusterRateLimitFilter(QuotaLeasingRateLimiter rateLimiter, ClusterRateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (ClusterRateLimitProperties.Rule rule : properties.getRules()) {
+            if (StringUtils.hasText(rule.getName()) && rule.getPaths() != null && !rule.getPaths().isEmpty()) {
+                compiled.add(new CompiledRule(rule, RoutePatternMatcher.compile(rule.getPaths())));
+            }
+        }
+        this.rules = List.copyOf(compiled);
+    }
+
+    private record CompiledRule(ClusterRateLimitProperties.Rule rule, RoutePatternMatcher matcher) {
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || rules.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        String path = exchange.getRequest().getPath().value();
+        List<CompiledRule> matched = null;
+        for (CompiledRule rule : rules) {
+            if (rule.matcher().matches(path)) {
+                if (matched == null) {
+                    matched = new ArrayList<>(2);
+                }
+                matched.add(rule);
+            }
+        }
+        if (matched == null) {
+            return chain.filter(exchange);
+        }
+        return check(exchange, chain, matched, 0);
+    }
+
+    /**
+     * 依次检查命中的规则，任一规则拒绝即返回 429
+     */
+    private Mono<Void> check(ServerWebExchange exchange, GatewayFilterChain chain,
+                             List<CompiledRule> matched, int index) {
+        if (index >= matched.size()) {
+            return chain.filter(exchange);
+        }
+        ClusterRateLimitProperties.Rule rule = matched.get(index).rule();
+        String key = rule.getName() + ":" + resolveDiscriminator(exchange.getRequest(), rule.getKeyType());
+        return rateLimiter.tryAcquire(key, rule.getLimit(), rule.getWindow())
+                .flatMap(allowed -> {
+                    if (allowed) {
+                        return check(exchange, chain, matched, index + 1);
+                    }
+                    log.warn("触发集群限流: rule={}, key={}, path={}", rule.getName(), key,
+                            exchange.getRequest().getPath());
+                    return tooManyRequests(exchange.getResponse(), errorCode(rule.getKeyType()));
+                });
+    }
+
+    private String resolveDiscriminator(ServerHttpRequest request, KeyType keyType) {
+        return switch (keyType) {
+            case GLOBAL -> "*";
+            case IP -> "ip:" + resolveRemoteIp(request);
+            case USER -> {
+                String userId = request.getHeaders().getFirst(HEADER_USER_ID);
+                yield StringUtils.hasText(userId) ? "user:" + userId : "ip:" + resolveRemoteIp(request);
+            }
+        };
+    }
+
+    private String resolveRemoteIp(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return UNKNOWN;
+        }
+        return remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+    }
+
+    private GatewayErrorCode errorCode(KeyType keyType) {
+        return switch (keyType) {
+            case GLOBAL -> GatewayErrorCode.API_RATE_LIMITED;
+            case IP -> GatewayErrorCode.IP_RATE_LIMITED;
+            case USER -> GatewayErrorCode.USER_RATE_LIMITED;
+        };
+    }
+
+    private Mono<Void> tooManyRequests(ServerHttpResponse response, GatewayErrorCode errorCode) {
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+
+        response.getHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+
+        Result<?> result = Result.error(errorCode);
+        String body = JsonUtils.toJsonString(result);
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    @Override
+    public int getOrder() {
+        // 在认证（-100）之后、幂等（-50）之前执行
+        return -90;
+    }
+}
@@ -0,0 +1,365 @@
+package com.basebackend.gateway.ratelimit;
+
+import com.basebackend.gateway.config.ClusterRateLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 配额租约限流器
+ * <p>
+ * 集群总配额由 {@link QuotaStore}（Redis 令牌桶）维护。每个网关节点按 key 一次租用一批令牌，
+ * 请求到来时只在本地做一次 CAS 扣减，热路径上没有远程调用；由于本地消费的每个令牌都先从共享桶中扣除，
+ * 集群总放行量不会超过令牌桶的上限。
+ * </p>
+ *
+ * <h3>租约：</h3>
+ * <ul>
+ * <li>租约大小按本节点观测到的请求速率自适应（速率 × 租约有效期），限制在
+ * [minLeaseSize, limit × maxLeaseFraction] 之间，低流量节点不会囤积配额</li>
+ * <li>剩余令牌低于上次租约的 prefetchRatio 时异步续租，请求无需等待</li>
+ * <li>租约到期后未用完的令牌归还共享桶，供其他节点使用</li>
+ * <li>共享桶耗尽时，按桶补充 minLeaseSize 个令牌所需的时间在本地直接拒绝，不再访问 Redis</li>
+ * </ul>
+ *
+ * <h3>指标：</h3>
+ * {@code gateway.ratelimit.cluster.decisions}（result=allowed/denied）、{@code gateway.ratelimit.cluster.leases}、
+ * {@code gateway.ratelimit.cluster.returned}（归还的令牌数）、{@code gateway.ratelimit.cluster.keys}。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class QuotaLeasingRateLimiter {
+
+    private static final Mono<Boolean> ALLOWED = Mono.just(Boolean.TRUE);
+    private static final Mono<Boolean> DENIED = Mono.just(Boolean.FALSE);
+
+    /**
+     * 续租结果：存储不可用
+     */
+    private static final long STORE_UNAVAILABLE = -1L;
+
+    /**
+     * 无有效租约
+     */
+    private static final long NO_LEASE = Long.MIN_VALUE;
+
+    /**
+     * 空闲超过该租约周期数的 key 被清理
+     */
+    private static final int IDLE_LEASE_PERIODS = 10;
+
+    private final QuotaStore quotaStore;
+    private final ClusterRateLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final long leaseTtlNanos;
+
+    private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder denied = new LongAdder();
+    private final LongAdder leaseCount = new LongAdder();
+    private final LongAdder returnedTokens = new LongAdder();
+
+    private volatile Disposable sweeper;
+
+    public QuotaLeasingRateLimiter(QuotaStore quotaStore,
+                                   ClusterRateLimitProperties properties,
+                                   @Autowired(required = false) @Nullable MeterRegistry meterRegistry) {
+        this(quotaStore, properties, meterRegistry, System::nanoTime);
+    }
+
+    QuotaLeasingRateLimiter(QuotaStore quotaStore, ClusterRateLimitProperties properties,
+                            @Nullable MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.quotaStore = quotaStore;
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.leaseTtlNanos = properties.getLeaseTtl().toNanos();
+
+        if (meterRegistry != null) {
+            FunctionCounter.builder("gateway.ratelimit.cluster.decisions", allowed, LongAdder::sum)
+                    .description("集群限流判定次数")
+                    .tag("result", "allowed")
+                    .register(meterRegistry);
+            FunctionCounter.builder("gateway.ratelimit.cluster.decisions", denied, LongAdder::sum)
+                    .description("集群限流判定次数")
+                    .tag("result", "denied")
+                    .register(meterRegistry);
+            FunctionCounter.builder("gateway.ratelimit.cluster.leases", leaseCount, LongAdder::sum)
+                    .description("向 Redis 租用令牌的次数")
+                    .register(meterRegistry);
+            FunctionCounter.builder("gateway.ratelimit.cluster.returned", returnedTokens, LongAdder::sum)
+                    .description("租约到期归还的令牌数")
+                    .register(meterRegistry);
+            Gauge.builder("gateway.ratelimit.cluster.keys", leases, ConcurrentHashMap::size)
+                    .description("本地持有租约的限流 key 数")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 定期归还到期租约、清理空闲 key
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        sweeper = Flux.interval(properties.getLeaseTtl())
+                .subscribe(tick -> sweep(), error -> log.error("集群限流租约清理任务异常终止", error));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Disposable current = sweeper;
+        if (current != null) {
+            current.dispose();
+        }
+        // 下线前归还全部未用令牌
+        leases.values().forEach(lease -> returnUnused(lease, true));
+        leases.clear();
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param key    限流 key
+     * @param limit  窗口内集群总配额
+     * @param window 窗口
+     * @return 是否放行；本地租约有余量时同步返回，不访问 Redis
+     */
+    public Mono<Boolean> tryAcquire(String key, long limit, Duration window) {
+        if (limit <= 0) {
+            denied.increment();
+            return DENIED;
+        }
+
+        long now = nanoClock.getAsLong();
+        // 热路径只做无锁读取，仅在首次访问或规则变更时进入 compute 加桶锁
+        Lease lease = leases.get(key);
+        if (lease == null || lease.limit != limit || !lease.window.equals(window)) {
+            lease = leases.compute(key, (k, existing) -> {
+                if (existing == null) {
+                    return new Lease(k, limit, window, now);
+                }
+                if (existing.limit != limit || !existing.window.equals(window)) {
+                    // 规则变更：旧租约作废并归还
+                    returnUnused(existing, true);
+                    return new Lease(k, limit, window, now);
+                }
+                return existing;
+            });
+        }
+        lease.lastAccess = now;
+        returnIfExpired(lease, now);
+
+        long left = lease.tryConsume();
+        if (left >= 0) {
+            allowed.increment();
+            if (left < lease.lowWatermark) {
+                refill(lease, now).subscribe();
+            }
+            return ALLOWED;
+        }
+
+        if (now - lease.unavailableUntil < 0) {
+            return decide(properties.isAllowOnStoreFailure());
+        }
+        if (now - lease.exhaustedUntil < 0) {
+            return decide(false);
+        }
+
+        return refill(lease, now).map(granted -> {
+            if (granted == STORE_UNAVAILABLE && lease.remaining.get() <= 0) {
+                return record(properties.isAllowOnStoreFailure());
+            }
+            return record(lease.tryConsume() >= 0);
+        });
+    }
+
+    /**
+     * 归还所有到期租约，清理长时间未访问的 key
+     */
+    public void sweep() {
+        long now = nanoClock.getAsLong();
+        long idleNanos = leaseTtlNanos * IDLE_LEASE_PERIODS;
+        leases.values().removeIf(lease -> {
+            returnIfExpired(lease, now);
+            boolean idle = now - lease.lastAccess > idleNanos && lease.expiresAt.get() == NO_LEASE
+                    && lease.refilling.get() == null;
+            if (idle) {
+                returnUnused(lease, true);
+            }
+            return idle;
+        });
+    }
+
+    private Mono<Boolean> decide(boolean allow) {
+        return record(allow) ? ALLOWED : DENIED;
+    }
+
+    private boolean record(boolean allow) {
+        (allow ? allowed : denied).increment();
+        return allow;
+    }
+
+    /**
+     * 续租（同一 key 同一时刻只有一个续租请求）
+     *
+     * @return 领取的令牌数，存储不可用时为 {@link #STORE_UNAVAILABLE}
+     */
+    private Mono<Long> refill(Lease lease, long now) {
+        Mono<Long> current = lease.refilling.get();
+        if (current != null) {
+            return current;
+        }
+        if (now - lease.exhaustedUntil < 0 || now - lease.unavailableUntil < 0) {
+            return Mono.just(0L);
+        }
+
+        long requested = lease.nextLeaseSize(now);
+        Mono<Long> call = quotaStore.acquire(lease.key, requested, lease.limit, lease.window)
+                .timeout(properties.getStoreTimeout())
+                .doOnNext(granted -> onGranted(lease, requested, granted))
+                .onErrorResume(error -> {
+                    log.warn("集群限流租约获取失败, key={}, allowOnFailure={}, error={}",
+                            lease.key, properties.isAllowOnStoreFailure(), error.toString());
+                    lease.unavailableUntil = nanoClock.getAsLong() + properties.getStoreFailureBackoff().toNanos();
+                    return Mono.just(STORE_UNAVAILABLE);
+                })
+                .doFinally(signal -> lease.refilling.set(null))
+                .cache();
+        if (lease.refilling.compareAndSet(null, call)) {
+            return call;
+        }
+        Mono<Long> other = lease.refilling.get();
+        return other != null ? other : Mono.just(0L);
+    }
+
+    private void onGranted(Lease lease, long requested, long granted) {
+        leaseCount.increment();
+        long now = nanoClock.getAsLong();
+        if (granted > 0) {
+            lease.remaining.addAndGet(granted);
+            lease.expiresAt.set(now + leaseTtlNanos);
+            lease.lowWatermark = Math.max(1L, (long) (requested * properties.getPrefetchRatio()));
+        }
+        if (granted < requested) {
+            // 共享桶已耗尽：等待桶补充一个最小租约的时间后再访问 Redis
+            long refillNanos = lease.window.toNanos() / lease.limit * Math.max(1L, properties.getMinLeaseSize());
+            lease.exhaustedUntil = now + refillNanos;
+        }
+    }
+
+    private void returnIfExpired(Lease lease, long now) {
+        long expiresAt = lease.expiresAt.get();
+        if (expiresAt != NO_LEASE && now - expiresAt >= 0 && lease.expiresAt.compareAndSet(expiresAt, NO_LEASE)) {
+            returnUnused(lease, false);
+        }
+    }
+
+    private void returnUnused(Lease lease, boolean invalidate) {
+        if (invalidate) {
+            lease.expiresAt.set(NO_LEASE);
+        }
+        long unused = lease.remaining.getAndSet(0);
+        if (unused <= 0) {
+            return;
+        }
+        returnedTokens.add(unused);
+        quotaStore.release(lease.key, unused, lease.limit, lease.window)
+                .timeout(properties.getStoreTimeout())
+                .subscribe(null, error -> log.debug("集群限流令牌归还失败, key={}, tokens={}, error={}",
+                        lease.key, unused, error.toString()));
+    }
+
+    /**
+     * 单个 key 的本地租约
+     */
+    private final class Lease {
+
+        final String key;
+        final long limit;
+        final Duration window;
+        final long maxLeaseSize;
+
+        /** 本地剩余令牌 */
+        final AtomicLong remaining = new AtomicLong();
+        /** 租约到期时间，无租约时为 {@link #NO_LEASE} */
+        final AtomicLong expiresAt = new AtomicLong(NO_LEASE);
+        /** 本租约周期内已消费的令牌，用于估算速率 */
+        final LongAdder consumed = new LongAdder();
+        final AtomicReference<Mono<Long>> refilling = new AtomicReference<>();
+
+        volatile long lowWatermark = 1L;
+        volatile long exhaustedUntil;
+        volatile long unavailableUntil;
+        volatile long lastAccess;
+
+        /** 观测速率（令牌/纳秒），指数加权平均；只在续租时更新 */
+        private double ratePerNano;
+        private long lastRefillAt;
+
+        Lease(String key, long limit, Duration window, long now) {
+            this.key = key;
+            this.limit = limit;
+            this.window = window;
+            this.maxLeaseSize = Math.max(properties.getMinLeaseSize(),
+                    (long) (limit * properties.getMaxLeaseFraction()));
+            this.exhaustedUntil = now;
+            this.unavailableUntil = now;
+            this.lastAccess = now;
+            this.lastRefillAt = now;
+        }
+
+        /**
+         * 无锁扣减一个令牌
+         *
+         * @return 扣减后的剩余令牌数，没有令牌时返回 -1
+         */
+        long tryConsume() {
+            while (true) {
+                long current = remaining.get();
+                if (current <= 0) {
+                    return -1L;
+                }
+                if (remaining.compareAndSet(current, current - 1)) {
+                    consumed.increment();
+                    return current - 1;
+                }
+            }
+        }
+
+        /**
+         * 按观测速率计算下一次租约大小
+         */
+        synchronized long nextLeaseSize(long now) {
+            long elapsed = now - lastRefillAt;
+            if (elapsed > 0) {
+                double observed = (double) consumed.sumThenReset() / elapsed;
+                ratePerNano = ratePerNano == 0 ? observed : (ratePerNano + observed) / 2;
+                lastRefillAt = now;
+            }
+            long target = (long) Math.ceil(ratePerNano * leaseTtlNanos);
+            return Math.min(maxLeaseSize, Math.max(properties.getMinLeaseSize(), target));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.basebackend.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 集群共享的令牌桶存储
+ * <p>
+ * 桶容量为 limit，按 limit / window 的速率补充。各网关节点通过 {@link #acquire} 一次领取一批令牌（租约），
+ * 在本地消费；租约到期未用完的令牌通过 {@link #release} 归还。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public interface QuotaStore {
+
+    /**
+     * 从桶中领取最多 requested 个令牌
+     *
+     * @return 实际领取的令牌数，桶内不足时可能小于 requested，耗尽时为 0
+     */
+    Mono<Long> acquire(String key, long requested, long limit, Duration window);
+
+    /**
+     * 归还未使用的令牌，桶内令牌数不会超过容量
+     */
+    Mono<Void> release(String key, long tokens, long limit, Duration window);
+}
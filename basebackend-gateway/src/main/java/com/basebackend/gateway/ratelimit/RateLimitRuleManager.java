@@ -8,17 +8,30 @@ import com.alibaba.csp.sentinel.adapter.gateway.common.api.GatewayApiDefinitionM
 import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRule;
 import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayParamFlowItem;
 import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayRuleManager;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * 限流规则管理器
@@ -29,12 +42,17 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  *
  * <h3>优化特性：</h3>
  * <ul>
- * <li>增量更新：只更新变化的规则</li>
- * <li>规则缓存：本地缓存规则，减少 Sentinel 调用</li>
- * <li>并发安全：使用读写锁保护规则更新</li>
- * <li>批量操作：支持批量添加/删除规则</li>
+ * <li>增量更新：每次变更先与当前规则做差异比较（新增/删除/修改），无差异时不触碰 Sentinel；
+ * 未变化的规则沿用原实例，Sentinel 按规则相等性复用其统计窗口，只有受影响资源的计数被重置</li>
+ * <li>版本化发布：规则集合以不可变的 {@link RuleGeneration} 整体替换，读取无锁，
+ * 保留最近若干代历史，可按版本回滚</li>
+ * <li>批量操作：支持批量添加/删除规则，以及按期望的完整规则集合整体替换（配置推送）</li>
  * </ul>
  *
+ * <h3>指标：</h3>
+ * {@code gateway.ratelimit.rules.apply}（发布耗时）、{@code gateway.ratelimit.rules.affected}（每次发布受影响的资源数）、
+ * {@code gateway.ratelimit.rules.version}（当前版本号）。
+ *
  * @author BaseBackend Team
  * @since 1.0.0
  */
@@ -44,24 +62,52 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 public class RateLimitRuleManager {
 
         /**
-         * 规则本地缓存（按资源名索引）
+         * 保留的历史版本数
          */
-        private final Map<String, GatewayFlowRule> ruleCache = new ConcurrentHashMap<>();
+        static final int HISTORY_LIMIT = 10;
 
         /**
-         * API 定义本地缓存
+         * 当前生效的规则（不可变，整体替换）
          */
-        private final Map<String, ApiDefinition> apiCache = new ConcurrentHashMap<>();
+        private volatile RuleGeneration current = RuleGeneration.EMPTY;
 
         /**
-         * 读写锁保护规则更新
+         * 历史版本（最新在前，不含当前版本）
          */
-        private final ReadWriteLock ruleLock = new ReentrantReadWriteLock();
+        private final Deque<RuleGeneration> history = new ArrayDeque<>();
 
         /**
-         * 规则变更标记
+         * API 定义本地缓存
          */
-        private volatile boolean rulesDirty = false;
+        private final Map<String, ApiDefinition> apiCache = new ConcurrentHashMap<>();
+
+        @Nullable
+        private final Timer applyTimer;
+        @Nullable
+        private final DistributionSummary affectedResourcesSummary;
+
+        public RateLimitRuleManager() {
+                this(null);
+        }
+
+        @Autowired
+        public RateLimitRuleManager(@Nullable MeterRegistry meterRegistry) {
+                if (meterRegistry != null) {
+                        this.applyTimer = Timer.builder("gateway.ratelimit.rules.apply")
+                                        .description("限流规则发布耗时")
+                                        .register(meterRegistry);
+                        this.affectedResourcesSummary = DistributionSummary
+                                        .builder("gateway.ratelimit.rules.affected")
+                                        .description("每次发布受影响的资源数")
+                                        .register(meterRegistry);
+                        Gauge.builder("gateway.ratelimit.rules.version", this, manager -> manager.current.version())
+                                        .description("当前限流规则版本号")
+                                        .register(meterRegistry);
+                } else {
+                        this.applyTimer = null;
+                        this.affectedResourcesSummary = null;
+                }
+        }
 
         @PostConstruct
         public void initRules() {
@@ -107,96 +153,73 @@ public class RateLimitRuleManager {
          * 初始化网关限流规则
          */
         private void initGatewayRules() {
-                ruleLock.writeLock().lock();
-                try {
-                        Set<GatewayFlowRule> rules = new HashSet<>();
-
-                        // 1. 全局限流：整个网关每秒最多 1000 个请求
-                        GatewayFlowRule globalRule = new GatewayFlowRule()
-                                        .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME)
-                                        .setResource("global")
-                                        .setCount(1000)
-                                        .setIntervalSec(1);
-                        rules.add(globalRule);
-                        cacheRule("global", globalRule);
-
-                        // 2. 接口限流：登录接口每秒最多 10 个请求
-                        GatewayFlowRule authApiRule = new GatewayFlowRule("auth_api")
-                                        .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME)
-                                        .setCount(10)
-                                        .setIntervalSec(1);
-                        rules.add(authApiRule);
-                        cacheRule("auth_api", authApiRule);
-
-                        // 3. 接口限流：用户 API 每秒最多 50 个请求
-                        GatewayFlowRule userApiRule = new GatewayFlowRule("user_api")
-                                        .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME)
-                                        .setCount(50)
-                                        .setIntervalSec(1);
-                        rules.add(userApiRule);
-                        cacheRule("user_api", userApiRule);
-
-                        // 4. IP 限流：单个 IP 每秒最多 20 个请求
-                        GatewayFlowRule ipLimitRule = new GatewayFlowRule("user-api")
-                                        .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_ROUTE_ID)
-                                        .setCount(20)
-                                        .setIntervalSec(1)
-                                        .setParamItem(new GatewayParamFlowItem()
-                                                        .setParseStrategy(
-                                                                        SentinelGatewayConstants.PARAM_PARSE_STRATEGY_CLIENT_IP));
-                        rules.add(ipLimitRule);
-                        cacheRule("user-api:ip", ipLimitRule);
-
-                        // 5. 用户限流：单个用户每秒最多 30 个请求
-                        GatewayFlowRule userLimitRule = new GatewayFlowRule("user-api")
-                                        .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_ROUTE_ID)
-                                        .setCount(30)
-                                        .setIntervalSec(1)
-                                        .setParamItem(new GatewayParamFlowItem()
-                                                        .setParseStrategy(
-                                                                        SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HEADER)
-                                                        .setFieldName("X-User-Id"));
-                        rules.add(userLimitRule);
-                        cacheRule("user-api:user", userLimitRule);
-
-                        // 6. 文件上传限流：每秒最多 5 个请求
-                        GatewayFlowRule fileUploadRule = new GatewayFlowRule("file_api")
-                                        .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME)
-                                        .setCount(5)
-                                        .setIntervalSec(1);
-                        rules.add(fileUploadRule);
-                        cacheRule("file_api", fileUploadRule);
-
-                        GatewayRuleManager.loadRules(rules);
-                        rulesDirty = false;
-                        log.info("初始化限流规则完成, 共{}条", rules.size());
-                } finally {
-                        ruleLock.writeLock().unlock();
-                }
-        }
-
-        /**
-         * 缓存规则
-         */
-        private void cacheRule(String key, GatewayFlowRule rule) {
-                ruleCache.put(key, rule);
+                Map<String, GatewayFlowRule> rules = new HashMap<>();
+
+                // 1. 全局限流：整个网关每秒最多 1000 个请求
+                GatewayFlowRule globalRule = new GatewayFlowRule()
+                                .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME)
+                                .setResource("global")
+                                .setCount(1000)
+                                .setIntervalSec(1);
+                rules.put(generateRuleKey(globalRule), globalRule);
+
+                // 2. 接口限流：登录接口每秒最多 10 个请求
+                GatewayFlowRule authApiRule = new GatewayFlowRule("auth_api")
+                                .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME)
+                                .setCount(10)
+                                .setIntervalSec(1);
+                rules.put(generateRuleKey(authApiRule), authApiRule);
+
+                // 3. 接口限流：用户 API 每秒最多 50 个请求
+                GatewayFlowRule userApiRule = new GatewayFlowRule("user_api")
+                                .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME)
+                                .setCount(50)
+                                .setIntervalSec(1);
+                rules.put(generateRuleKey(userApiRule), userApiRule);
+
+                // 4. IP 限流：单个 IP 每秒最多 20 个请求
+                GatewayFlowRule ipLimitRule = new GatewayFlowRule("user-api")
+                                .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_ROUTE_ID)
+                                .setCount(20)
+                                .setIntervalSec(1)
+                                .setParamItem(new GatewayParamFlowItem()
+                                                .setParseStrategy(
+                                                                SentinelGatewayConstants.PARAM_PARSE_STRATEGY_CLIENT_IP));
+                rules.put(generateRuleKey(ipLimitRule), ipLimitRule);
+
+                // 5. 用户限流：单个用户每秒最多 30 个请求
+                GatewayFlowRule userLimitRule = new GatewayFlowRule("user-api")
+                                .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_ROUTE_ID)
+                                .setCount(30)
+                                .setIntervalSec(1)
+                                .setParamItem(new GatewayParamFlowItem()
+                                                .setParseStrategy(
+                                                                SentinelGatewayConstants.PARAM_PARSE_STRATEGY_HEADER)
+                                                .setFieldName("X-User-Id"));
+                rules.put(generateRuleKey(userLimitRule), userLimitRule);
+
+                // 6. 文件上传限流：每秒最多 5 个请求
+                GatewayFlowRule fileUploadRule = new GatewayFlowRule("file_api")
+                                .setResourceMode(SentinelGatewayConstants.RESOURCE_MODE_CUSTOM_API_NAME)
+                                .setCount(5)
+                                .setIntervalSec(1);
+                rules.put(generateRuleKey(fileUploadRule), fileUploadRule);
+
+                RuleDiff diff = publish(next -> {
+                        next.clear();
+                        next.putAll(rules);
+                });
+                log.info("初始化限流规则完成, 共{}条, 变更: {}", rules.size(), diff);
         }
 
         /**
-         * 动态添加限流规则（增量更新）
+         * 动态添加限流规则，与已有规则 key 相同时覆盖原规则
          *
          * @param rule 限流规则
          */
         public void addRule(GatewayFlowRule rule) {
-                ruleLock.writeLock().lock();
-                try {
-                        String key = generateRuleKey(rule);
-                        ruleCache.put(key, rule);
-                        flushRulesToSentinel();
-                        log.info("添加限流规则: {}", rule);
-                } finally {
-                        ruleLock.writeLock().unlock();
-                }
+                RuleDiff diff = publish(next -> next.put(generateRuleKey(rule), rule));
+                log.info("添加限流规则: {}, 变更: {}", rule, diff);
         }
 
         /**
@@ -209,17 +232,12 @@ public class RateLimitRuleManager {
                         return;
                 }
 
-                ruleLock.writeLock().lock();
-                try {
+                RuleDiff diff = publish(next -> {
                         for (GatewayFlowRule rule : rules) {
-                                String key = generateRuleKey(rule);
-                                ruleCache.put(key, rule);
+                                next.put(generateRuleKey(rule), rule);
                         }
-                        flushRulesToSentinel();
-                        log.info("批量添加限流规则: {}条", rules.size());
-                } finally {
-                        ruleLock.writeLock().unlock();
-                }
+                });
+                log.info("批量添加限流规则: {}条, 变更: {}", rules.size(), diff);
         }
 
         /**
@@ -228,16 +246,8 @@ public class RateLimitRuleManager {
          * @param resource 资源名称
          */
         public void removeRule(String resource) {
-                ruleLock.writeLock().lock();
-                try {
-                        // 移除匹配的规则
-                        ruleCache.entrySet().removeIf(entry -> entry.getKey().equals(resource)
-                                        || entry.getKey().startsWith(resource + ":"));
-                        flushRulesToSentinel();
-                        log.info("删除限流规则: {}", resource);
-                } finally {
-                        ruleLock.writeLock().unlock();
-                }
+                RuleDiff diff = publish(next -> removeResource(next, resource));
+                log.info("删除限流规则: {}, 变更: {}", resource, diff);
         }
 
         /**
@@ -250,17 +260,8 @@ public class RateLimitRuleManager {
                         return;
                 }
 
-                ruleLock.writeLock().lock();
-                try {
-                        for (String resource : resources) {
-                                ruleCache.entrySet().removeIf(entry -> entry.getKey().equals(resource)
-                                                || entry.getKey().startsWith(resource + ":"));
-                        }
-                        flushRulesToSentinel();
-                        log.info("批量删除限流规则: {}条", resources.size());
-                } finally {
-                        ruleLock.writeLock().unlock();
-                }
+                RuleDiff diff = publish(next -> resources.forEach(resource -> removeResource(next, resource)));
+                log.info("批量删除限流规则: {}条, 变更: {}", resources.size(), diff);
         }
 
         /**
@@ -270,28 +271,118 @@ public class RateLimitRuleManager {
          * @param rule     新规则
          */
         public void updateRule(String resource, GatewayFlowRule rule) {
-                ruleLock.writeLock().lock();
-                try {
-                        String key = generateRuleKey(rule);
-                        if (ruleCache.containsKey(key)) {
-                                ruleCache.put(key, rule);
-                                flushRulesToSentinel();
-                                log.info("更新限流规则: {}", rule);
-                        } else {
-                                log.warn("规则不存在，无法更新: {}", resource);
+                String key = generateRuleKey(rule);
+                if (!current.rules().containsKey(key)) {
+                        log.warn("规则不存在，无法更新: {}", resource);
+                        return;
+                }
+                RuleDiff diff = publish(next -> next.computeIfPresent(key, (k, old) -> rule));
+                log.info("更新限流规则: {}, 变更: {}", rule, diff);
+        }
+
+        /**
+         * 以期望的完整规则集合整体替换当前规则（如配置中心推送），只应用差异部分
+         * <p>
+         * 规则按 {@link #generateRuleKey} 生成的 key 与当前规则逐条比较，未出现在集合中的规则会被删除。
+         * </p>
+         *
+         * @param rules 期望的规则集合
+         * @return 本次变更
+         */
+        public RuleDiff replaceRules(Collection<GatewayFlowRule> rules) {
+                Map<String, GatewayFlowRule> desired = new HashMap<>();
+                if (rules != null) {
+                        for (GatewayFlowRule rule : rules) {
+                                desired.put(generateRuleKey(rule), rule);
                         }
-                } finally {
-                        ruleLock.writeLock().unlock();
                 }
+                RuleDiff diff = publish(next -> {
+                        next.clear();
+                        next.putAll(desired);
+                });
+                log.info("替换限流规则: {}条, 变更: {}", desired.size(), diff);
+                return diff;
         }
 
         /**
-         * 将缓存的规则刷新到 Sentinel
+         * 回滚到指定历史版本（以新版本号重新发布该版本的规则）
+         *
+         * @param version 历史版本号
+         * @return 是否回滚成功（版本不在保留的历史中时返回 false）
          */
-        private void flushRulesToSentinel() {
-                Set<GatewayFlowRule> rules = new HashSet<>(ruleCache.values());
-                GatewayRuleManager.loadRules(rules);
-                rulesDirty = false;
+        public synchronized boolean rollbackTo(long version) {
+                RuleGeneration target = null;
+                for (RuleGeneration generation : history) {
+                        if (generation.version() == version) {
+                                target = generation;
+                                break;
+                        }
+                }
+                if (target == null) {
+                        log.warn("限流规则版本不存在或已过期，无法回滚: {}", version);
+                        return false;
+                }
+                Map<String, GatewayFlowRule> rules = target.rules();
+                RuleDiff diff = publish(next -> {
+                        next.clear();
+                        next.putAll(rules);
+                });
+                log.warn("限流规则已回滚到版本 {}, 当前版本 {}, 变更: {}", version, current.version(), diff);
+                return true;
+        }
+
+        /**
+         * 回滚到上一个版本
+         *
+         * @return 是否回滚成功
+         */
+        public synchronized boolean rollback() {
+                RuleGeneration previous = history.peekFirst();
+                return previous != null && rollbackTo(previous.version());
+        }
+
+        /**
+         * 在当前规则的副本上应用修改，计算差异后发布新一代规则
+         * <p>
+         * 无差异时不生成新版本、不调用 Sentinel；未变化的规则保留原实例。
+         * </p>
+         */
+        private synchronized RuleDiff publish(Consumer<Map<String, GatewayFlowRule>> mutation) {
+                long startNanos = System.nanoTime();
+                RuleGeneration previous = current;
+                Map<String, GatewayFlowRule> next = new HashMap<>(previous.rules());
+                mutation.accept(next);
+
+                RuleDiff diff = RuleDiff.compute(previous.rules(), next);
+                if (diff.isEmpty()) {
+                        return diff;
+                }
+
+                // 未变化的规则沿用旧实例，Sentinel 据此保留这些资源的统计
+                previous.rules().forEach((key, rule) -> next.computeIfPresent(key,
+                                (k, candidate) -> candidate.equals(rule) ? rule : candidate));
+
+                RuleGeneration generation = new RuleGeneration(previous.version() + 1, next, Instant.now());
+                GatewayRuleManager.loadRules(new HashSet<>(generation.rules().values()));
+                current = generation;
+                if (previous != RuleGeneration.EMPTY) {
+                        history.addFirst(previous);
+                        while (history.size() > HISTORY_LIMIT) {
+                                history.removeLast();
+                        }
+                }
+
+                if (applyTimer != null) {
+                        applyTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                }
+                if (affectedResourcesSummary != null) {
+                        affectedResourcesSummary.record(diff.affectedResources().size());
+                }
+                return diff;
+        }
+
+        private void removeResource(Map<String, GatewayFlowRule> rules, String resource) {
+                rules.keySet().removeIf(key -> key.equals(resource) || key.startsWith(resource + ":"));
         }
 
         /**
@@ -319,12 +410,7 @@ public class RateLimitRuleManager {
          * @return 规则集合
          */
         public Set<GatewayFlowRule> getAllRules() {
-                ruleLock.readLock().lock();
-                try {
-                        return new HashSet<>(ruleCache.values());
-                } finally {
-                        ruleLock.readLock().unlock();
-                }
+                return new HashSet<>(current.rules().values());
         }
 
         /**
@@ -334,12 +420,27 @@ public class RateLimitRuleManager {
          * @return 规则（如果存在）
          */
         public Optional<GatewayFlowRule> getRule(String resource) {
-                ruleLock.readLock().lock();
-                try {
-                        return Optional.ofNullable(ruleCache.get(resource));
-                } finally {
-                        ruleLock.readLock().unlock();
-                }
+                return Optional.ofNullable(current.rules().get(resource));
+        }
+
+        /**
+         * 获取当前生效的规则版本
+         *
+         * @return 当前版本
+         */
+        public RuleGeneration getCurrentGeneration() {
+                return current;
+        }
+
+        /**
+         * 获取保留的历史版本号（最新在前）
+         *
+         * @return 版本号列表
+         */
+        public synchronized List<Long> getHistoryVersions() {
+                List<Long> versions = new ArrayList<>(history.size());
+                history.forEach(generation -> versions.add(generation.version()));
+                return versions;
         }
 
         /**
@@ -348,7 +449,7 @@ public class RateLimitRuleManager {
          * @return 规则数量
          */
         public int getRuleCount() {
-                return ruleCache.size();
+                return current.rules().size();
         }
 
         /**
@@ -387,29 +488,17 @@ public class RateLimitRuleManager {
          * 清除所有规则
          */
         public void clearAllRules() {
-                ruleLock.writeLock().lock();
-                try {
-                        ruleCache.clear();
-                        GatewayRuleManager.loadRules(new HashSet<>());
-                        log.warn("已清除所有限流规则");
-                } finally {
-                        ruleLock.writeLock().unlock();
-                }
+                publish(Map::clear);
+                log.warn("已清除所有限流规则");
         }
 
         /**
          * 重新加载所有规则
          */
         public void reloadRules() {
-                ruleLock.writeLock().lock();
-                try {
-                        ruleCache.clear();
-                        apiCache.clear();
-                        initApiDefinitions();
-                        initGatewayRules();
-                        log.info("已重新加载所有限流规则");
-                } finally {
-                        ruleLock.writeLock().unlock();
-                }
+                apiCache.clear();
+                initApiDefinitions();
+                initGatewayRules();
+                log.info("已重新加载所有限流规则");
         }
 }
@@ -0,0 +1,96 @@
+package com.basebackend.gateway.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 基于 Redis Lua 脚本的令牌桶
+ * <p>
+ * 桶状态保存在 Hash {@code gateway:ratelimit:quota:{key}}（tokens、ts 两个字段），
+ * 补充计算使用 Redis 服务器时间，避免各网关节点时钟不一致。
+ * 脚本参数按字符串写入，不经过模板的 JSON 序列化。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisQuotaStore implements QuotaStore {
+
+    static final String KEY_PREFIX = "gateway:ratelimit:quota:";
+
+    private static final String ACQUIRE_SCRIPT = """
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local ttl = tonumber(ARGV[4])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local last = tonumber(state[2])
+            if tokens == nil or last == nil then
+                tokens = capacity
+                last = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - last) * rate)
+            local granted = math.max(0, math.min(requested, math.floor(tokens)))
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], ttl)
+            return granted
+            """;
+
+    private static final String RELEASE_SCRIPT = """
+            local capacity = tonumber(ARGV[1])
+            local tokens = tonumber(redis.call('HGET', KEYS[1], 'tokens'))
+            if tokens == nil then
+                return 0
+            end
+            tokens = math.min(capacity, tokens + tonumber(ARGV[2]))
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens))
+            return 1
+            """;
+
+    private static final RedisScript<Long> ACQUIRE = new DefaultRedisScript<>(ACQUIRE_SCRIPT, Long.class);
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(RELEASE_SCRIPT, Long.class);
+
+    private static final RedisElementWriter<String> ARGS_WRITER = RedisElementWriter.from(RedisSerializer.string());
+    private static final RedisElementReader<Long> RESULT_READER =
+            RedisElementReader.from(new GenericToStringSerializer<>(Long.class));
+
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @Override
+    public Mono<Long> acquire(String key, long requested, long limit, Duration window) {
+        long windowMillis = Math.max(1L, window.toMillis());
+        double ratePerMilli = (double) limit / windowMillis;
+        List<String> args = List.of(
+                String.valueOf(limit),
+                String.valueOf(ratePerMilli),
+                String.valueOf(requested),
+                // 桶补满所需时间的两倍后过期，过期即视为满桶
+                String.valueOf(windowMillis * 2));
+        return reactiveRedisTemplate.execute(ACQUIRE, List.of(KEY_PREFIX + key), args, ARGS_WRITER, RESULT_READER)
+                .next()
+                .defaultIfEmpty(0L);
+    }
+
+    @Override
+    public Mono<Void> release(String key, long tokens, long limit, Duration window) {
+        List<String> args = List.of(String.valueOf(limit), String.valueOf(tokens));
+        return reactiveRedisTemplate.execute(RELEASE, List.of(KEY_PREFIX + key), args, ARGS_WRITER, RESULT_READER)
+                .then();
+    }
+}
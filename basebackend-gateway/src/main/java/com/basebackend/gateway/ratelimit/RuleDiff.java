@@ -0,0 +1,66 @@
+package com.basebackend.gateway.ratelimit;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRule;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 两代限流规则之间的差异（按规则 key 比较）
+ *
+ * @param added   新增的规则
+ * @param removed 删除的规则
+ * @param changed 内容变化的规则（值为新规则）
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public record RuleDiff(Map<String, GatewayFlowRule> added,
+                       Map<String, GatewayFlowRule> removed,
+                       Map<String, GatewayFlowRule> changed) {
+
+    public static RuleDiff compute(Map<String, GatewayFlowRule> previous, Map<String, GatewayFlowRule> next) {
+        Map<String, GatewayFlowRule> added = new HashMap<>();
+        Map<String, GatewayFlowRule> changed = new HashMap<>();
+        for (Map.Entry<String, GatewayFlowRule> entry : next.entrySet()) {
+            GatewayFlowRule old = previous.get(entry.getKey());
+            if (old == null) {
+                added.put(entry.getKey(), entry.getValue());
+            } else if (!Objects.equals(old, entry.getValue())) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Map<String, GatewayFlowRule> removed = new HashMap<>();
+        for (Map.Entry<String, GatewayFlowRule> entry : previous.entrySet()) {
+            if (!next.containsKey(entry.getKey())) {
+                removed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new RuleDiff(Collections.unmodifiableMap(added), Collections.unmodifiableMap(removed),
+                Collections.unmodifiableMap(changed));
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    /**
+     * 受影响的 Sentinel 资源名
+     */
+    public Set<String> affectedResources() {
+        Set<String> resources = new LinkedHashSet<>();
+        added.values().forEach(rule -> resources.add(rule.getResource()));
+        removed.values().forEach(rule -> resources.add(rule.getResource()));
+        changed.values().forEach(rule -> resources.add(rule.getResource()));
+        return resources;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleDiff{added=" + added.keySet() + ", removed=" + removed.keySet()
+                + ", changed=" + changed.keySet() + "}";
+    }
+}
@@ -0,0 +1,24 @@
+package com.basebackend.gateway.ratelimit;
+
+import com.alibaba.csp.sentinel.adapter.gateway.common.rule.GatewayFlowRule;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 一代不可变的限流规则集合
+ *
+ * @param version     版本号，每次发布递增（回滚也会生成新版本）
+ * @param rules       规则（按规则 key 索引，不可修改）
+ * @param publishedAt 发布时间
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public record RuleGeneration(long version, Map<String, GatewayFlowRule> rules, Instant publishedAt) {
+
+    static final RuleGeneration EMPTY = new RuleGeneration(0L, Map.of(), Instant.EPOCH);
+
+    public RuleGeneration {
+        rules = Map.copyOf(rules);
+    }
+}
@@ -0,0 +1,316 @@
+package com.basebackend.gateway.session;
+
+import com.basebackend.gateway.config.GatewaySecurityProperties;
+import com.basebackend.gateway.config.GatewaySecurityProperties.FailurePolicy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 网关登录会话近端缓存
+ * <p>
+ * 认证过滤器原先对每个请求都执行一次 {@code GET login_tokens:{userId}}，
+ * 此缓存在网关节点本地保存 userId → 登录 Token，新鲜期（默认 5 秒）内直接本地比对。
+ * </p>
+ *
+ * <h3>一致性保证：</h3>
+ * <ul>
+ * <li>登出/强制下线时业务服务向 {@code gateway:session:invalidate} 频道发布 userId（或 {@code *}），
+ * 各节点收到后立即删除本地条目</li>
+ * <li>失效消息先于回源结果到达时，回源结果不写入缓存（失效纪元校验）</li>
+ * <li>订阅断开期间可能漏收消息，重连前清空整个缓存；新鲜期 TTL 兜底限制最大不一致时间</li>
+ * <li>Redis 中不存在的会话不做负缓存，重新登录后立即可用</li>
+ * </ul>
+ *
+ * <h3>回源：</h3>
+ * 同一用户的并发请求共享同一次 Redis 查询（single-flight），回源超时取
+ * {@code gateway.security.redis-timeout}。超时或异常时按 {@link FailurePolicy} 处理。
+ *
+ * <h3>指标：</h3>
+ * {@code gateway.session.cache.requests}（result=hit/miss）、{@code gateway.session.cache.hit.ratio}、
+ * {@code gateway.session.cache.staleness}（命中条目的存活时长，毫秒）、{@code gateway.session.cache.fail_open}、
+ * {@code gateway.session.cache.invalidations}、{@code gateway.session.cache.size}。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SessionNearCache {
+
+    /**
+     * 登录 Token 在 Redis 中的键前缀（与 user-api 保持一致）
+     */
+    public static final String LOGIN_TOKEN_KEY = "login_tokens:";
+
+    /**
+     * 失效消息：清空所有用户
+     */
+    public static final String INVALIDATE_ALL = "*";
+
+    /**
+     * 默认 Redis 超时时间（当配置未设置时使用）
+     */
+    private static final Duration DEFAULT_REDIS_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * 会话校验结果
+     */
+    public enum Outcome {
+        /** 与 Redis 中的登录 Token 一致 */
+        VALID,
+        /** Redis 中不存在登录 Token（已登出或被强制下线） */
+        NOT_FOUND,
+        /** 与 Redis 中的登录 Token 不一致（已在别处重新登录） */
+        MISMATCH
+    }
+
+    private record Entry(String token, long loadedAtNanos) {
+    }
+
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final GatewaySecurityProperties securityProperties;
+    private final GatewaySecurityProperties.SessionCache config;
+    private final long ttlNanos;
+
+    private final Cache<Long, Entry> cache;
+    private final ConcurrentHashMap<Long, Mono<Optional<String>>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 失效纪元：每收到一条失效消息加一，回源期间纪元变化则放弃写入
+     */
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder failOpens = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Nullable
+    private final DistributionSummary stalenessSummary;
+
+    private volatile Disposable subscription;
+
+    public SessionNearCache(ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
+                            GatewaySecurityProperties securityProperties,
+                            @Autowired(required = false) @Nullable MeterRegistry meterRegistry) {
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.securityProperties = securityProperties;
+        this.config = securityProperties.getSessionCache();
+        this.ttlNanos = config.getTtl().toNanos();
+
+        // 条目保留 ttl + maxStale：新鲜期内直接命中，之后只作为 FAIL_OPEN 的兜底
+        Duration retention = config.getFailurePolicy() == FailurePolicy.FAIL_OPEN
+                ? config.getTtl().plus(config.getMaxStale())
+                : config.getTtl();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(retention)
+                .build();
+
+        if (meterRegistry != null) {
+            FunctionCounter.builder("gateway.session.cache.requests", hits, LongAdder::sum)
+                    .description("会话近端缓存请求数")
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("gateway.session.cache.requests", misses, LongAdder::sum)
+                    .description("会话近端缓存请求数")
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            FunctionCounter.builder("gateway.session.cache.fail_open", failOpens, LongAdder::sum)
+                    .description("Redis 不可用时按 FAIL_OPEN 策略放行的请求数")
+                    .register(meterRegistry);
+            FunctionCounter.builder("gateway.session.cache.invalidations", invalidations, LongAdder::sum)
+                    .description("收到的会话失效消息数")
+                    .register(meterRegistry);
+            Gauge.builder("gateway.session.cache.hit.ratio", this, SessionNearCache::hitRatio)
+                    .description("会话近端缓存命中率")
+                    .register(meterRegistry);
+            Gauge.builder("gateway.session.cache.size", cache, Cache::estimatedSize)
+                    .description("会话近端缓存条目数")
+                    .register(meterRegistry);
+            this.stalenessSummary = DistributionSummary.builder("gateway.session.cache.staleness")
+                    .description("命中时缓存条目距上次回源的时长")
+                    .baseUnit("milliseconds")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+        } else {
+            this.stalenessSummary = null;
+        }
+    }
+
+    /**
+     * 订阅会话失效频道
+     */
+    @PostConstruct
+    public void subscribe() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        String channel = config.getInvalidationChannel();
+        subscription = reactiveRedisTemplate.listenToChannel(channel)
+                .doOnNext(message -> onInvalidation(message.getMessage()))
+                .doOnError(e -> {
+                    // 订阅断开期间的失效消息无法补收，清空本地缓存后再重连
+                    log.warn("会话失效频道订阅中断，清空近端缓存后重连: {}", e.getMessage());
+                    invalidateAll();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+        log.info("会话近端缓存已启用 - TTL: {}, 失败策略: {}, 失效频道: {}",
+                config.getTtl(), config.getFailurePolicy(), channel);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * 校验请求 Token 是否为该用户当前的登录 Token
+     * <p>
+     * FAIL_CLOSED 策略下 Redis 超时/异常以错误信号返回，由调用方映射为对应错误码。
+     *
+     * @param userId 用户ID
+     * @param token  请求携带的 Token（已通过 JWT 校验）
+     */
+    public Mono<Outcome> check(Long userId, String token) {
+        Entry entry = config.isEnabled() ? cache.getIfPresent(userId) : null;
+        long now = System.nanoTime();
+        if (entry != null && now - entry.loadedAtNanos() < ttlNanos) {
+            hits.increment();
+            recordStaleness(entry, now);
+            return Mono.just(compare(entry.token(), token));
+        }
+        misses.increment();
+        return lookup(userId)
+                .map(stored -> stored.map(s -> compare(s, token)).orElse(Outcome.NOT_FOUND))
+                .onErrorResume(e -> onLookupFailure(userId, token, entry, e));
+    }
+
+    /**
+     * 删除单个用户的本地条目
+     */
+    public void invalidate(Long userId) {
+        invalidationEpoch.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void invalidateAll() {
+        invalidationEpoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * 命中率（自启动以来）
+     */
+    public double hitRatio() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    /**
+     * 回源 Redis；同一用户的并发请求共享同一次查询
+     */
+    private Mono<Optional<String>> lookup(Long userId) {
+        return inFlight.computeIfAbsent(userId, id -> {
+            long epoch = invalidationEpoch.get();
+            return reactiveRedisTemplate.opsForValue().get(LOGIN_TOKEN_KEY + id)
+                    .map(value -> Optional.of(String.valueOf(value)))
+                    .defaultIfEmpty(Optional.empty())
+                    .timeout(redisTimeout())
+                    .doOnNext(stored -> store(id, stored, epoch))
+                    .doFinally(signal -> inFlight.remove(id))
+                    .cache();
+        });
+    }
+
+    private void store(Long userId, Optional<String> stored, long epoch) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (stored.isEmpty()) {
+            // 不做负缓存；同时丢弃可能存在的过期条目
+            cache.invalidate(userId);
+            return;
+        }
+        if (invalidationEpoch.get() != epoch) {
+            // 回源期间收到失效消息，结果可能已过时
+            return;
+        }
+        cache.put(userId, new Entry(stored.get(), System.nanoTime()));
+    }
+
+    private Mono<Outcome> onLookupFailure(Long userId, String token, @Nullable Entry staleEntry, Throwable e) {
+        if (config.getFailurePolicy() != FailurePolicy.FAIL_OPEN) {
+            return Mono.error(e);
+        }
+        failOpens.increment();
+        if (staleEntry != null) {
+            recordStaleness(staleEntry, System.nanoTime());
+            log.warn("Redis会话校验失败，使用本地过期条目判定，用户ID: {}, 原因: {}", userId, e.toString());
+            return Mono.just(compare(staleEntry.token(), token));
+        }
+        log.warn("Redis会话校验失败，按 FAIL_OPEN 策略放行，用户ID: {}, 原因: {}", userId, e.toString());
+        return Mono.just(Outcome.VALID);
+    }
+
+    private void onInvalidation(@Nullable Object message) {
+        invalidations.increment();
+        String payload = message == null ? "" : String.valueOf(message).trim();
+        if (payload.length() >= 2 && payload.startsWith("\"") && payload.endsWith("\"")) {
+            payload = payload.substring(1, payload.length() - 1);
+        }
+        if (INVALIDATE_ALL.equals(payload)) {
+            invalidateAll();
+            return;
+        }
+        try {
+            invalidate(Long.parseLong(payload));
+        } catch (NumberFormatException e) {
+            log.warn("无法识别的会话失效消息: {}，清空近端缓存", payload);
+            invalidateAll();
+        }
+    }
+
+    private void recordStaleness(Entry entry, long nowNanos) {
+        if (stalenessSummary != null) {
+            stalenessSummary.record((nowNanos - entry.loadedAtNanos()) / 1_000_000.0);
+        }
+    }
+
+    private Duration redisTimeout() {
+        Duration timeout = securityProperties.getRedisTimeout();
+        return timeout != null ? timeout : DEFAULT_REDIS_TIMEOUT;
+    }
+
+    private static Outcome compare(String stored, String token) {
+        return token.equals(stored) ? Outcome.VALID : Outcome.MISMATCH;
+    }
+}
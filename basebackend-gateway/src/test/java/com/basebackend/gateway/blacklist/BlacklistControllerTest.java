@@ -0,0 +1,46 @@
+package com.basebackend.gateway.blacklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BlacklistController 测试")
+class BlacklistControllerTest {
+
+    private BlacklistManager manager;
+    private BlacklistController controller;
+
+    @BeforeEach
+    void setUp() {
+        manager = new BlacklistManager();
+        manager.setEnabled(true);
+        controller = new BlacklistController(manager);
+    }
+
+    @Test
+    @DisplayName("ttlSeconds 非正数时返回 400 且不封禁")
+    void rejectNonPositiveTtl() {
+        ResponseEntity<String> zero = controller.denyIp("10.0.0.1", "测试", 0L).block();
+        ResponseEntity<String> negative = controller.denyIp("10.0.0.1", "测试", -60L).block();
+
+        assertThat(zero.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(negative.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(manager.isIpDenied("10.0.0.1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("省略 ttlSeconds 为永久封禁，正数为限时封禁")
+    void denyPermanentlyOrWithTtl() {
+        ResponseEntity<String> permanent = controller.denyIp("10.0.0.1", "测试", null).block();
+        ResponseEntity<String> temporary = controller.denyIp("10.0.0.2", "测试", 600L).block();
+
+        assertThat(permanent.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(temporary.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(manager.isIpDenied("10.0.0.1")).isTrue();
+        assertThat(manager.isIpDenied("10.0.0.2")).isTrue();
+    }
+}
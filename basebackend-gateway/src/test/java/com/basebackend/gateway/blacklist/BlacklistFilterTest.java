@@ -14,6 +14,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,7 +42,8 @@ class BlacklistFilterTest {
     @Test
     @DisplayName("非可信来源伪造 X-Forwarded-For 不生效")
     void forgedXForwardedForFromUntrustedSourceShouldNotTakeEffect() {
-        blacklistManager.getDeniedIps().add("203.0.113.100");
+        blacklistManager.setDeniedIps(List.of("203.0.113.100"));
+        blacklistManager.rebuild();
         when(filterChain.filter(any())).thenReturn(Mono.empty());
 
         MockServerHttpRequest request = MockServerHttpRequest.get("/api/test")
@@ -60,7 +62,8 @@ class BlacklistFilterTest {
     @Test
     @DisplayName("可信来源下 X-Forwarded-For 生效")
     void xForwardedForFromTrustedSourceShouldTakeEffect() {
-        blacklistManager.getDeniedIps().add("203.0.113.100");
+        blacklistManager.setDeniedIps(List.of("203.0.113.100"));
+        blacklistManager.rebuild();
 
         MockServerHttpRequest request = MockServerHttpRequest.get("/api/test")
                 .header("X-Forwarded-For", "203.0.113.100")
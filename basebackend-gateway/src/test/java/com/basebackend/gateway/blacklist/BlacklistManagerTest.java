@@ -4,6 +4,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("BlacklistManager 测试")
@@ -22,7 +27,8 @@ class BlacklistManagerTest {
     @Test
     @DisplayName("静态黑名单 IP 被拒绝")
     void staticDeniedIp() {
-        manager.getDeniedIps().add("198.51.100.100");
+        manager.setDeniedIps(List.of("198.51.100.100"));
+        manager.rebuild();
         assertThat(manager.isIpDenied("198.51.100.100")).isTrue();
         assertThat(manager.isIpDenied("198.51.100.101")).isFalse();
     }
@@ -30,7 +36,7 @@ class BlacklistManagerTest {
     @Test
     @DisplayName("动态封禁 IP")
     void dynamicDenyIp() {
-        manager.denyIp("10.0.0.1", "恶意请求");
+        manager.denyIp("10.0.0.1", "恶意请求").join();
         assertThat(manager.isIpDenied("10.0.0.1")).isTrue();
         assertThat(manager.getBanReason("10.0.0.1")).isEqualTo("恶意请求");
     }
@@ -38,18 +44,64 @@ class BlacklistManagerTest {
     @Test
     @DisplayName("动态解封 IP")
     void dynamicAllowIp() {
-        manager.denyIp("10.0.0.1", "测试");
-        manager.allowIp("10.0.0.1");
+        manager.denyIp("10.0.0.1", "测试").join();
+        manager.allowIp("10.0.0.1").join();
         assertThat(manager.isIpDenied("10.0.0.1")).isFalse();
         assertThat(manager.getBanReason("10.0.0.1")).isNull();
     }
 
+    // ==================== CIDR 网段 ====================
+
+    @Test
+    @DisplayName("静态黑名单 CIDR 网段")
+    void staticDeniedCidr() {
+        manager.setDeniedIps(List.of("10.0.0.0/8", "2001:db8::/32"));
+        manager.rebuild();
+        assertThat(manager.isIpDenied("10.20.30.40")).isTrue();
+        assertThat(manager.isIpDenied("11.0.0.1")).isFalse();
+        assertThat(manager.isIpDenied("2001:db8:1::1")).isTrue();
+        assertThat(manager.isIpDenied("2001:db9::1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("动态封禁网段，封禁原因取最长匹配")
+    void dynamicDenyCidrReason() {
+        manager.denyIp("203.0.113.0/24", "扫描").join();
+        manager.denyIp("203.0.113.128/25", "撞库").join();
+        assertThat(manager.isIpDenied("203.0.113.7")).isTrue();
+        assertThat(manager.getBanReason("203.0.113.7")).isEqualTo("扫描");
+        assertThat(manager.getBanReason("203.0.113.200")).isEqualTo("撞库");
+    }
+
+    @Test
+    @DisplayName("动态封禁到期后自动失效")
+    void dynamicDenyExpires() throws InterruptedException {
+        manager.denyIp("198.51.100.9", "临时封禁", Duration.ofMillis(20)).join();
+        assertThat(manager.isIpDenied("198.51.100.9")).isTrue();
+
+        Thread.sleep(50);
+        assertThat(manager.isIpDenied("198.51.100.9")).isFalse();
+
+        manager.rebuild();
+        assertThat(manager.getDynamicDeniedIps()).doesNotContain("198.51.100.9");
+    }
+
+    @Test
+    @DisplayName("白名单模式支持 CIDR")
+    void whitelistCidr() {
+        manager.setAllowedIps(List.of("192.168.0.0/16"));
+        manager.rebuild();
+        assertThat(manager.isIpDenied("192.168.3.4")).isFalse();
+        assertThat(manager.isIpDenied("192.169.0.1")).isTrue();
+    }
+
     // ==================== IP 白名单模式 ====================
 
     @Test
     @DisplayName("白名单模式：仅允许列表中的 IP")
     void whitelistMode() {
-        manager.getAllowedIps().add("198.51.100.1");
+        manager.setAllowedIps(List.of("198.51.100.1"));
+        manager.rebuild();
         assertThat(manager.isIpDenied("198.51.100.1")).isFalse();   // 在白名单中
         assertThat(manager.isIpDenied("198.51.100.2")).isTrue();    // 不在白名单中
     }
@@ -57,11 +109,12 @@ class BlacklistManagerTest {
     @Test
     @DisplayName("白名单模式：动态添加白名单 IP")
     void whitelistModeDynamic() {
-        manager.getAllowedIps().add("198.51.100.1");
+        manager.setAllowedIps(List.of("198.51.100.1"));
+        manager.rebuild();
         assertThat(manager.isIpDenied("10.0.0.1")).isTrue();
 
         // 动态加入白名单
-        manager.getDynamicAllowedIps().add("10.0.0.1");
+        manager.addAllowedIp("10.0.0.1").join();
         assertThat(manager.isIpDenied("10.0.0.1")).isFalse();
     }
 
@@ -70,7 +123,8 @@ class BlacklistManagerTest {
     @Test
     @DisplayName("静态路径黑名单 — 精确匹配")
     void staticDeniedPathExact() {
-        manager.getDeniedPaths().add("/admin/debug");
+        manager.setDeniedPaths(List.of("/admin/debug"));
+        manager.rebuild();
         assertThat(manager.isPathDenied("/admin/debug")).isTrue();
         assertThat(manager.isPathDenied("/admin/other")).isFalse();
     }
@@ -78,7 +132,8 @@ class BlacklistManagerTest {
     @Test
     @DisplayName("静态路径黑名单 — /** 通配符")
     void staticDeniedPathWildcard() {
-        manager.getDeniedPaths().add("/admin/debug/**");
+        manager.setDeniedPaths(List.of("/admin/debug/**"));
+        manager.rebuild();
         assertThat(manager.isPathDenied("/admin/debug/test")).isTrue();
         assertThat(manager.isPathDenied("/admin/debug/a/b/c")).isTrue();
         assertThat(manager.isPathDenied("/admin/other")).isFalse();
@@ -87,7 +142,8 @@ class BlacklistManagerTest {
     @Test
     @DisplayName("静态路径黑名单 — /* 单层通配符")
     void staticDeniedPathSingleWildcard() {
-        manager.getDeniedPaths().add("/api/internal/*");
+        manager.setDeniedPaths(List.of("/api/internal/*"));
+        manager.rebuild();
         assertThat(manager.isPathDenied("/api/internal/test")).isTrue();
         assertThat(manager.isPathDenied("/api/internal/a/b")).isFalse();
     }
@@ -95,15 +151,15 @@ class BlacklistManagerTest {
     @Test
     @DisplayName("动态封禁路径")
     void dynamicDenyPath() {
-        manager.denyPath("/temp/danger/**");
+        manager.denyPath("/temp/danger/**").join();
         assertThat(manager.isPathDenied("/temp/danger/x")).isTrue();
     }
 
     @Test
     @DisplayName("动态解封路径")
     void dynamicAllowPath() {
-        manager.denyPath("/temp/**");
-        manager.allowPath("/temp/**");
+        manager.denyPath("/temp/**").join();
+        manager.allowPath("/temp/**").join();
         assertThat(manager.isPathDenied("/temp/x")).isFalse();
     }
 
@@ -113,7 +169,8 @@ class BlacklistManagerTest {
     @DisplayName("未启用时不拦截")
     void disabledDoesNotBlock() {
         manager.setEnabled(false);
-        manager.getDeniedIps().add("10.0.0.1");
+        manager.setDeniedIps(List.of("10.0.0.1"));
+        manager.rebuild();
         assertThat(manager.isIpDenied("10.0.0.1")).isFalse();
     }
 
@@ -134,7 +191,7 @@ class BlacklistManagerTest {
     @Test
     @DisplayName("getDynamicDeniedIps 返回不可变副本")
     void dynamicDeniedIpsImmutable() {
-        manager.denyIp("1.1.1.1", "test");
+        manager.denyIp("1.1.1.1", "test").join();
         assertThat(manager.getDynamicDeniedIps()).containsExactly("1.1.1.1");
         assertThatThrownBy(() -> manager.getDynamicDeniedIps().add("2.2.2.2"))
                 .isInstanceOf(UnsupportedOperationException.class);
@@ -143,9 +200,58 @@ class BlacklistManagerTest {
     @Test
     @DisplayName("getDynamicDeniedPaths 返回不可变副本")
     void dynamicDeniedPathsImmutable() {
-        manager.denyPath("/x");
+        manager.denyPath("/x").join();
         assertThat(manager.getDynamicDeniedPaths()).containsExactly("/x");
         assertThatThrownBy(() -> manager.getDynamicDeniedPaths().add("/y"))
                 .isInstanceOf(UnsupportedOperationException.class);
     }
+
+    @Test
+    @DisplayName("静态规则列表不可直接修改")
+    void staticListsImmutable() {
+        manager.setDeniedIps(new ArrayList<>(List.of("10.0.0.1")));
+        assertThatThrownBy(() -> manager.getDeniedIps().add("10.0.0.2"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> manager.getDynamicAllowedIps().add("10.0.0.2"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    // ==================== 规则版本与异步重建 ====================
+
+    @Test
+    @DisplayName("修改规则递增版本号，返回的 Future 完成后新规则生效")
+    void mutationBumpsVersionAndCompletesWhenVisible() {
+        manager.init();
+        long before = manager.getRulesVersion();
+
+        CompletableFuture<Void> applied = manager.denyIp("10.0.0.1", "test");
+        assertThat(manager.getRulesVersion()).isGreaterThan(before);
+
+        applied.join();
+        assertThat(manager.isIpDenied("10.0.0.1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("连续修改合并重建，最后一个 Future 完成时全部生效")
+    void consecutiveMutationsAllVisible() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[50];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = manager.denyIp("10.0.1." + i, "batch");
+        }
+        CompletableFuture.allOf(futures).join();
+
+        for (int i = 0; i < futures.length; i++) {
+            assertThat(manager.isIpDenied("10.0.1." + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("配置 setter 修改静态规则后异步重建")
+    void setterSchedulesRebuild() {
+        manager.init();
+        manager.setDeniedPaths(List.of("/admin/**"));
+        manager.denyPath("/tmp").join();
+
+        assertThat(manager.isPathDenied("/admin/x")).isTrue();
+    }
 }
@@ -0,0 +1,96 @@
+package com.basebackend.gateway.blacklist;
+
+import com.basebackend.gateway.util.IpAddressUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 黑名单 IP 段查找基准
+ * <ul>
+ *     <li>{@code trieLookup}：{@link IpRangeTrie} 查找，rangeCount 从 1k 增至 100k 时耗时应基本不变</li>
+ *     <li>{@code linearScan}：逐条 {@link IpAddressUtil.CidrMatcher} 匹配（旧实现思路），耗时随条目数线性增长，
+ *     100k 条时单次在毫秒级</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IpRangeTrieBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"1000", "100000"})
+    private int rangeCount;
+
+    private IpRangeTrie trie;
+    private List<IpAddressUtil.CidrMatcher> matchers;
+    private String[] probes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        IpRangeTrie.Builder builder = IpRangeTrie.builder();
+        matchers = new ArrayList<>(rangeCount);
+        for (int i = 0; i < rangeCount; i++) {
+            String cidr = random.nextInt(224) + "." + random.nextInt(256) + "." + random.nextInt(256) + ".0/24";
+            builder.add(cidr, null, IpRangeTrie.NEVER_EXPIRES);
+            matchers.add(new IpAddressUtil.CidrMatcher(cidr));
+        }
+        trie = builder.build();
+
+        probes = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = random.nextInt(224) + "." + random.nextInt(256) + "." + random.nextInt(256) + "."
+                    + random.nextInt(256);
+        }
+    }
+
+    private String nextProbe() {
+        cursor = (cursor + 1) & (PROBES - 1);
+        return probes[cursor];
+    }
+
+    @Benchmark
+    public boolean trieLookup() {
+        return trie.contains(nextProbe(), System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        String ip = nextProbe();
+        for (IpAddressUtil.CidrMatcher matcher : matchers) {
+            if (matcher.matches(ip)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IpRangeTrieBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
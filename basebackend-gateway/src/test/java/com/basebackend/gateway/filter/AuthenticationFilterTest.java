@@ -2,7 +2,10 @@ package com.basebackend.gateway.filter;
 
 import com.basebackend.gateway.config.GatewaySecurityProperties;
 import com.basebackend.gateway.enums.GatewayErrorCode;
+import com.basebackend.gateway.session.SessionNearCache;
 import com.basebackend.jwt.JwtUtil;
+import com.basebackend.jwt.ParsedToken;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -76,7 +79,7 @@ class AuthenticationFilterTest {
 
                 authenticationFilter = new AuthenticationFilter(
                                 jwtUtil,
-                                reactiveRedisTemplate,
+                                new SessionNearCache(reactiveRedisTemplate, securityProperties, null),
                                 securityProperties);
         }
 
@@ -103,7 +106,7 @@ class AuthenticationFilterTest {
                                         .verifyComplete();
 
                         verify(filterChain).filter(exchange);
-                        verify(jwtUtil, never()).validateToken(anyString());
+                        verify(jwtUtil, never()).tryParseToken(anyString());
                 }
 
                 @Test
@@ -198,7 +201,7 @@ class AuthenticationFilterTest {
                                         .build();
                         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-                        when(jwtUtil.validateToken(invalidToken)).thenReturn(false);
+                        when(jwtUtil.tryParseToken(invalidToken)).thenReturn(null);
 
                         // When
                         Mono<Void> result = authenticationFilter.filter(exchange, filterChain);
@@ -223,8 +226,7 @@ class AuthenticationFilterTest {
                                         .build();
                         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-                        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-                        when(jwtUtil.getUserIdFromToken(validToken)).thenReturn(userId);
+                        when(jwtUtil.tryParseToken(validToken)).thenReturn(parsedToken(validToken, userId));
                         when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
                         when(valueOperations.get("login_tokens:" + userId)).thenReturn(Mono.just(validToken));
                         when(filterChain.filter(any())).thenReturn(Mono.empty());
@@ -253,8 +255,7 @@ class AuthenticationFilterTest {
                                         .build();
                         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-                        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-                        when(jwtUtil.getUserIdFromToken(validToken)).thenReturn(userId);
+                        when(jwtUtil.tryParseToken(validToken)).thenReturn(parsedToken(validToken, userId));
                         when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
                         when(valueOperations.get("login_tokens:" + userId)).thenReturn(Mono.just(differentToken));
 
@@ -281,8 +282,7 @@ class AuthenticationFilterTest {
                                         .build();
                         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-                        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-                        when(jwtUtil.getUserIdFromToken(validToken)).thenReturn(userId);
+                        when(jwtUtil.tryParseToken(validToken)).thenReturn(parsedToken(validToken, userId));
                         when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
                         when(valueOperations.get("login_tokens:" + userId)).thenReturn(Mono.empty());
 
@@ -314,8 +314,7 @@ class AuthenticationFilterTest {
                                         .build();
                         MockServerWebExchange exchange = MockServerWebExchange.from(request);
 
-                        when(jwtUtil.validateToken(validToken)).thenReturn(true);
-                        when(jwtUtil.getUserIdFromToken(validToken)).thenReturn(userId);
+                        when(jwtUtil.tryParseToken(validToken)).thenReturn(parsedToken(validToken, userId));
                         when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
                         // 模拟 Redis 延迟响应（超过配置的 2 秒）
                         when(valueOperations.get("login_tokens:" + userId))
@@ -391,4 +390,8 @@ class AuthenticationFilterTest {
                         verify(filterChain, never()).filter(any());
                 }
         }
+
+        private static ParsedToken parsedToken(String token, Long userId) {
+                return new ParsedToken(token, Jwts.claims().subject(String.valueOf(userId)).add("userId", userId).build());
+        }
 }
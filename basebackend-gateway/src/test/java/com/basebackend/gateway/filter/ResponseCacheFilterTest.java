@@ -11,12 +11,14 @@ import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -91,15 +93,172 @@ class ResponseCacheFilterTest {
         assertThat(secondExchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
     }
 
+    @Test
+    @DisplayName("并发未命中时只有一个请求回源，其余请求共享其结果")
+    void shouldCollapseConcurrentMissesIntoSingleUpstreamCall() {
+        ResponseCacheFilter filter = createFilter();
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        Sinks.Empty<Void> upstreamGate = Sinks.empty();
+        GatewayFilterChain delegate = buildChain(downstreamCalls,
+                (invocation, exchange) -> new DownstreamReply(new HttpHeaders(), "payload-" + invocation));
+        GatewayFilterChain slowChain = exchange -> upstreamGate.asMono().then(delegate.filter(exchange));
+
+        MockServerWebExchange leaderExchange = createExchange("zh-CN");
+        MockServerWebExchange followerExchange = createExchange("zh-CN");
+        Mono<Void> leader = filter.filter(leaderExchange, slowChain).cache();
+        Mono<Void> follower = filter.filter(followerExchange, slowChain).cache();
+        leader.subscribe();
+        follower.subscribe();
+
+        upstreamGate.tryEmitEmpty();
+        StepVerifier.create(leader).verifyComplete();
+        StepVerifier.create(follower).verifyComplete();
+
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+        assertThat(leaderExchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(followerExchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(followerExchange.getResponse().getBodyAsString().block()).isEqualTo("payload-1");
+    }
+
+    @Test
+    @DisplayName("过期后在 stale-while-revalidate 窗口内返回旧响应并在后台刷新")
+    void shouldServeStaleAndRevalidateInBackground() {
+        AtomicLong clock = new AtomicLong();
+        ResponseCacheFilter filter = createFilter(clock);
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        GatewayFilterChain chain = buildChain(downstreamCalls,
+                (invocation, exchange) -> new DownstreamReply(new HttpHeaders(), "payload-" + invocation));
+
+        StepVerifier.create(filter.filter(createExchange("zh-CN"), chain)).verifyComplete();
+        clock.addAndGet(Duration.ofSeconds(70).toNanos());
+
+        MockServerWebExchange staleExchange = createExchange("zh-CN");
+        StepVerifier.create(filter.filter(staleExchange, chain)).verifyComplete();
+        assertThat(staleExchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("STALE");
+        assertThat(staleExchange.getResponse().getBodyAsString().block()).isEqualTo("payload-1");
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+
+        MockServerWebExchange refreshedExchange = createExchange("zh-CN");
+        StepVerifier.create(filter.filter(refreshedExchange, chain)).verifyComplete();
+        assertThat(refreshedExchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(refreshedExchange.getResponse().getBodyAsString().block()).isEqualTo("payload-2");
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("上游返回 5xx 时在 stale-if-error 窗口内返回旧响应")
+    void shouldServeStaleWhenUpstreamReturnsServerError() {
+        AtomicLong clock = new AtomicLong();
+        ResponseCacheFilter filter = createFilter(clock);
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        GatewayFilterChain chain = exchange -> {
+            int invocation = downstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(invocation == 1 ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE);
+            DataBuffer buffer = exchange.getResponse().bufferFactory()
+                    .wrap(("payload-" + invocation).getBytes(StandardCharsets.UTF_8));
+            return exchange.getResponse().writeWith(Mono.just(buffer));
+        };
+
+        StepVerifier.create(filter.filter(createExchange("zh-CN"), chain)).verifyComplete();
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        MockServerWebExchange errorExchange = createExchange("zh-CN");
+        StepVerifier.create(filter.filter(errorExchange, chain)).verifyComplete();
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+        assertThat(errorExchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(errorExchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("STALE");
+        assertThat(errorExchange.getResponse().getBodyAsString().block()).isEqualTo("payload-1");
+    }
+
+    @Test
+    @DisplayName("上游异常时在 stale-if-error 窗口内返回旧响应，窗口外透传异常")
+    void shouldServeStaleWhenUpstreamFails() {
+        AtomicLong clock = new AtomicLong();
+        ResponseCacheFilter filter = createFilter(clock);
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        GatewayFilterChain healthy = buildChain(downstreamCalls,
+                (invocation, exchange) -> new DownstreamReply(new HttpHeaders(), "payload-" + invocation));
+        GatewayFilterChain failing = exchange -> Mono.error(new IllegalStateException("connection refused"));
+
+        StepVerifier.create(filter.filter(createExchange("zh-CN"), healthy)).verifyComplete();
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        MockServerWebExchange fallbackExchange = createExchange("zh-CN");
+        StepVerifier.create(filter.filter(fallbackExchange, failing)).verifyComplete();
+        assertThat(fallbackExchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("STALE");
+        assertThat(fallbackExchange.getResponse().getBodyAsString().block()).isEqualTo("payload-1");
+
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        StepVerifier.create(filter.filter(createExchange("zh-CN"), failing))
+                .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("响应声明的 stale-if-error 长于默认值时，Vary 变体在整个窗口内仍可兜底")
+    void shouldKeepVaryIndexForResponseDeclaredStaleWindow() {
+        AtomicLong clock = new AtomicLong();
+        ResponseCacheFilter filter = createFilter(clock);
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        GatewayFilterChain healthy = buildChain(downstreamCalls, (invocation, exchange) -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+            headers.add(HttpHeaders.CACHE_CONTROL, "max-age=60, stale-if-error=3600");
+            return new DownstreamReply(headers, "payload-" + invocation);
+        });
+        GatewayFilterChain failing = exchange -> Mono.error(new IllegalStateException("connection refused"));
+
+        StepVerifier.create(filter.filter(createExchange("zh-CN"), healthy)).verifyComplete();
+        clock.addAndGet(Duration.ofMinutes(30).toNanos());
+
+        MockServerWebExchange fallbackExchange = createExchange("zh-CN");
+        StepVerifier.create(filter.filter(fallbackExchange, failing)).verifyComplete();
+        assertThat(fallbackExchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("STALE");
+        assertThat(fallbackExchange.getResponse().getBodyAsString().block()).isEqualTo("payload-1");
+        StepVerifier.create(filter.filter(createExchange("en-US"), failing))
+                .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("启用压缩和堆外存储时命中缓存返回原始响应体")
+    void shouldRoundTripCompressedOffHeapBody() {
+        ResponseCacheProperties properties = createProperties();
+        properties.setCompressionEnabled(true);
+        properties.setCompressionMinBytes(16);
+        properties.setOffHeapThresholdBytes(16);
+        ResponseCacheFilter filter = new ResponseCacheFilter(properties);
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        String payload = "cached-payload-".repeat(200);
+        GatewayFilterChain chain = buildChain(downstreamCalls,
+                (invocation, exchange) -> new DownstreamReply(new HttpHeaders(), payload));
+
+        StepVerifier.create(filter.filter(createExchange("zh-CN"), chain)).verifyComplete();
+        MockServerWebExchange hitExchange = createExchange("zh-CN");
+        StepVerifier.create(filter.filter(hitExchange, chain)).verifyComplete();
+
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+        assertThat(hitExchange.getResponse().getHeaders().getContentLength()).isEqualTo(payload.length());
+        assertThat(hitExchange.getResponse().getBodyAsString().block()).isEqualTo(payload);
+    }
+
     private ResponseCacheFilter createFilter() {
+        return new ResponseCacheFilter(createProperties());
+    }
+
+    private ResponseCacheFilter createFilter(AtomicLong clock) {
+        return new ResponseCacheFilter(createProperties(), null, clock::get);
+    }
+
+    private ResponseCacheProperties createProperties() {
         ResponseCacheProperties properties = new ResponseCacheProperties();
         properties.setEnabled(true);
         properties.setDefaultTtl(Duration.ofMinutes(1));
+        properties.setStaleWhileRevalidate(Duration.ofSeconds(30));
+        properties.setStaleIfError(Duration.ofMinutes(5));
         properties.setMaxCacheSize(256);
         properties.setMaxCacheableBodyBytes(1024 * 1024);
         properties.setCachePaths(List.of("/api/cache/**"));
         properties.setExcludePaths(List.of());
-        return new ResponseCacheFilter(properties);
+        return properties;
     }
 
     private MockServerWebExchange createExchange(String acceptLanguage) {
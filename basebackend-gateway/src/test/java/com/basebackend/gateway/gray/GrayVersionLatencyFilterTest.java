@@ -0,0 +1,93 @@
+package com.basebackend.gateway.gray;
+
+import com.basebackend.gateway.config.LatencyMetricsProperties;
+import com.basebackend.gateway.metrics.LatencyRecorderRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GrayVersionLatencyFilter 单元测试
+ * <p>
+ * 过滤器按选中实例的版本记录耗时，{@link GrayMetricsCollector#compareVersionLatency} 在周期切换后读出对比结果。
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@DisplayName("GrayVersionLatencyFilter 单元测试")
+class GrayVersionLatencyFilterTest {
+
+    private GrayRouteProperties grayRouteProperties;
+    private LatencyRecorderRegistry latencyRecorders;
+    private GrayMetricsCollector grayMetricsCollector;
+    private GrayVersionLatencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        grayRouteProperties = new GrayRouteProperties();
+        grayRouteProperties.setEnabled(true);
+        latencyRecorders = new LatencyRecorderRegistry(new LatencyMetricsProperties());
+        grayMetricsCollector = new GrayMetricsCollector(new SimpleMeterRegistry(), latencyRecorders);
+        filter = new GrayVersionLatencyFilter(grayMetricsCollector, grayRouteProperties);
+    }
+
+    private void route(String version, HttpStatus status) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users").build());
+        Map<String, String> metadata = version != null ? Map.of("version", version) : Map.of();
+        GatewayFilterChain chain = current -> {
+            current.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR,
+                    new DefaultResponse(new DefaultServiceInstance(
+                            "user-" + version, "user-service", "10.0.0.1", 8080, false, metadata)));
+            current.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long requests(Map<String, Object> comparison, String side) {
+        return ((Number) ((Map<String, Object>) comparison.get(side)).get("requests")).longValue();
+    }
+
+    @Test
+    @DisplayName("请求完成后按实例版本记录延迟，可对比灰度与稳定版本")
+    void shouldRecordLatencyPerInstanceVersion() {
+        route("v1", HttpStatus.OK);
+        route("v1", HttpStatus.OK);
+        route("v2", HttpStatus.SERVICE_UNAVAILABLE);
+        latencyRecorders.swap();
+
+        Map<String, Object> comparison = grayMetricsCollector.compareVersionLatency("user-service", "v1", "v2")
+                .block();
+
+        assertThat(comparison).containsEntry("service", "user-service");
+        assertThat(requests(comparison, "baseline")).isEqualTo(2);
+        assertThat(requests(comparison, "canary")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("实例未声明版本或灰度未启用时不记录")
+    void shouldSkipWithoutVersionOrWhenDisabled() {
+        route(null, HttpStatus.OK);
+        grayRouteProperties.setEnabled(false);
+        route("v1", HttpStatus.OK);
+        latencyRecorders.swap();
+
+        assertThat(latencyRecorders.seriesNames()).isEmpty();
+    }
+}
@@ -0,0 +1,179 @@
+package com.basebackend.gateway.metrics;
+
+import com.basebackend.gateway.config.LatencyMetricsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 区间延迟直方图单元测试
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@DisplayName("区间延迟直方图单元测试")
+class IntervalLatencyRecorderTest {
+
+    @Test
+    @DisplayName("分位数相对误差不超过 1%")
+    void shouldReportPercentilesWithinRelativeError() {
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextGaussian() * 1.5 + 9);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(values.length);
+        assertThat(snapshot.max()).isEqualTo(values[values.length - 1]);
+        for (double percentile : new double[]{50.0, 90.0, 99.0, 99.9, 99.99}) {
+            long exact = values[(int) Math.ceil(percentile / 100.0 * values.length) - 1];
+            assertThat((double) snapshot.valueAtPercentile(percentile))
+                    .as("p%s", percentile)
+                    .isCloseTo(exact, within(exact * 0.01));
+        }
+    }
+
+    @Test
+    @DisplayName("小于 128µs 的值精确计数")
+    void shouldRecordSmallValuesExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.valueAtPercentile(50.0)).isEqualTo(50);
+        assertThat(snapshot.valueAtPercentile(99.0)).isEqualTo(99);
+        assertThat(snapshot.mean()).isEqualTo(50.5);
+    }
+
+    @Test
+    @DisplayName("桶边界连续且覆盖整个取值范围")
+    void shouldHaveContiguousBuckets() {
+        for (int i = 1; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long lower = LatencyHistogram.bucketLowerBound(i);
+            assertThat(LatencyHistogram.bucketIndex(lower)).isEqualTo(i);
+            assertThat(LatencyHistogram.bucketIndex(lower - 1)).isEqualTo(i - 1);
+        }
+        assertThat(LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE))
+                .isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    @DisplayName("合并结果与单个直方图一致")
+    void shouldMergeLosslessly() {
+        LatencyHistogram nodeA = new LatencyHistogram();
+        LatencyHistogram nodeB = new LatencyHistogram();
+        LatencyHistogram combined = new LatencyHistogram();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextInt(500_000);
+            (i % 3 == 0 ? nodeA : nodeB).record(value);
+            combined.record(value);
+        }
+
+        LatencySnapshot merged = LatencySnapshot.mergeAll(List.of(nodeA.snapshot(), nodeB.snapshot()));
+        LatencySnapshot expected = combined.snapshot();
+
+        assertThat(merged.count()).isEqualTo(expected.count());
+        assertThat(merged.max()).isEqualTo(expected.max());
+        assertThat(merged.mean()).isEqualTo(expected.mean());
+        for (double percentile : new double[]{50.0, 99.0, 99.9}) {
+            assertThat(merged.valueAtPercentile(percentile)).isEqualTo(expected.valueAtPercentile(percentile));
+        }
+    }
+
+    @Test
+    @DisplayName("编码后解码保持不变，非法输入抛出异常")
+    void shouldRoundTripEncoding() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 5_000; i++) {
+            histogram.record(i * 37L);
+        }
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        LatencySnapshot decoded = LatencySnapshot.decode(snapshot.encode());
+
+        assertThat(decoded.count()).isEqualTo(snapshot.count());
+        assertThat(decoded.max()).isEqualTo(snapshot.max());
+        assertThat(decoded.valueAtPercentile(99.9)).isEqualTo(snapshot.valueAtPercentile(99.9));
+        assertThat(LatencySnapshot.decode(LatencySnapshot.EMPTY.encode()).count()).isZero();
+        assertThatThrownBy(() -> LatencySnapshot.decode("AA"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("并发写入时切换周期不丢失、不重复计数")
+    void shouldNotLoseRecordsAcrossSwaps() throws Exception {
+        IntervalLatencyRecorder recorder = new IntervalLatencyRecorder();
+        int threads = 4;
+        int perThread = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    recorder.record(i % 5_000);
+                }
+            });
+        }
+        executor.shutdown();
+
+        long total = 0;
+        while (!executor.isTerminated()) {
+            total += recorder.swap().count();
+        }
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        total += recorder.swap().count();
+
+        assertThat(total).isEqualTo((long) threads * perThread);
+        assertThat(recorder.swap().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("注册表按路由和状态码分组，超过上限归入溢出序列")
+    void shouldGroupByStatusClassAndCapSeries() {
+        LatencyMetricsProperties properties = new LatencyMetricsProperties();
+        properties.setMaxSeries(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LatencyRecorderRegistry registry = new LatencyRecorderRegistry(properties, meterRegistry, null);
+
+        for (int i = 1; i <= 100; i++) {
+            registry.record("user-service", 200, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        registry.record("user-service", 503, TimeUnit.SECONDS.toNanos(2));
+        registry.record("order-service", 200, TimeUnit.MILLISECONDS.toNanos(5));
+        registry.record("file-service", 200, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(registry.snapshot("user-service").count()).isZero();
+        registry.swap();
+
+        assertThat(registry.snapshot("user-service").count()).isEqualTo(101);
+        assertThat(registry.snapshot("user-service", "2xx").valueAtPercentileMillis(99.0))
+                .isCloseTo(99.0, within(1.0));
+        assertThat(registry.snapshot("user-service", "5xx").max()).isEqualTo(2_000_000L);
+        assertThat(registry.seriesNames())
+                .containsExactlyInAnyOrder("user-service", "order-service", LatencyRecorderRegistry.OVERFLOW_SERIES);
+        assertThat(meterRegistry.get("gateway.latency.interval")
+                .tags("series", "user-service", "status", "5xx", "quantile", "max")
+                .gauge().value()).isEqualTo(2000.0);
+
+        registry.swap();
+        assertThat(registry.snapshot("user-service").count()).isZero();
+    }
+}
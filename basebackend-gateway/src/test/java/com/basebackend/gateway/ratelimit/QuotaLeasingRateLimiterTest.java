@@ -0,0 +1,218 @@
+package com.basebackend.gateway.ratelimit;
+
+import com.basebackend.gateway.config.ClusterRateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * QuotaLeasingRateLimiter 单元测试
+ * <p>
+ * 多个限流器实例模拟多个网关节点，共享同一个 {@link InMemoryQuotaStore}（与 Redis Lua 脚本语义一致的内存实现），
+ * 时钟由测试推进。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@DisplayName("QuotaLeasingRateLimiter 单元测试")
+class QuotaLeasingRateLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(1);
+    private static final long ONE_MILLI = Duration.ofMillis(1).toNanos();
+
+    private AtomicLong clock;
+    private InMemoryQuotaStore store;
+    private ClusterRateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000_000_000L);
+        store = new InMemoryQuotaStore(clock);
+        properties = new ClusterRateLimitProperties();
+        properties.setEnabled(true);
+        properties.setLeaseTtl(Duration.ofSeconds(1));
+    }
+
+    private QuotaLeasingRateLimiter node() {
+        return new QuotaLeasingRateLimiter(store, properties, null, clock::get);
+    }
+
+    private boolean acquire(QuotaLeasingRateLimiter limiter, String key, long limit, Duration window) {
+        return Boolean.TRUE.equals(limiter.tryAcquire(key, limit, window).block());
+    }
+
+    @Test
+    @DisplayName("低于配额时全部放行，且远程调用远少于请求数")
+    void shouldAdmitAllBelowLimitWithFewRemoteCalls() {
+        QuotaLeasingRateLimiter nodeA = node();
+        QuotaLeasingRateLimiter nodeB = node();
+        int admitted = 0;
+        int requests = 0;
+
+        // 每个节点 250 次/秒，集群配额 1000 次/秒，持续 5 秒
+        for (int ms = 0; ms < 5000; ms++) {
+            if (ms % 4 == 0) {
+                admitted += acquire(nodeA, "api", 1000, WINDOW) ? 1 : 0;
+                admitted += acquire(nodeB, "api", 1000, WINDOW) ? 1 : 0;
+                requests += 2;
+            }
+            clock.addAndGet(ONE_MILLI);
+        }
+
+        assertThat(admitted).isEqualTo(requests);
+        assertThat(store.acquireCalls()).isLessThan(requests / 20);
+    }
+
+    @Test
+    @DisplayName("超出配额时集群总放行量不超过令牌桶上限，且各节点公平分配")
+    void shouldBoundGlobalAdmissionsAndShareFairlyUnderOverload() {
+        QuotaLeasingRateLimiter nodeA = node();
+        QuotaLeasingRateLimiter nodeB = node();
+        Random random = new Random(7);
+        int admittedA = 0;
+        int admittedB = 0;
+        int requests = 0;
+
+        // 每个节点 10000 次/秒，集群配额 1000 次/秒，持续 3 秒；两节点请求先后顺序随机交错
+        for (int ms = 0; ms < 3000; ms++) {
+            for (int i = 0; i < 10; i++) {
+                boolean aFirst = random.nextBoolean();
+                if (aFirst) {
+                    admittedA += acquire(nodeA, "api", 1000, WINDOW) ? 1 : 0;
+                    admittedB += acquire(nodeB, "api", 1000, WINDOW) ? 1 : 0;
+                } else {
+                    admittedB += acquire(nodeB, "api", 1000, WINDOW) ? 1 : 0;
+                    admittedA += acquire(nodeA, "api", 1000, WINDOW) ? 1 : 0;
+                }
+                requests += 2;
+            }
+            clock.addAndGet(ONE_MILLI);
+        }
+
+        // 满桶 1000 + 3 秒补充 3000
+        int total = admittedA + admittedB;
+        assertThat(total).isLessThanOrEqualTo(4000).isGreaterThanOrEqualTo(3800);
+        assertThat(Math.abs(admittedA - admittedB)).isLessThan(total / 10);
+        assertThat(store.acquireCalls()).isLessThan(requests / 5);
+    }
+
+    @Test
+    @DisplayName("租约到期后未使用的令牌归还共享桶，其他节点可继续使用")
+    void shouldReturnUnusedQuotaWhenLeaseExpires() {
+        properties.setMinLeaseSize(50);
+        Duration longWindow = Duration.ofSeconds(100);
+        QuotaLeasingRateLimiter nodeA = node();
+        QuotaLeasingRateLimiter nodeB = node();
+
+        assertThat(acquire(nodeA, "report", 100, longWindow)).isTrue();
+        assertThat(store.tokens("report")).isEqualTo(50.0);
+
+        clock.addAndGet(Duration.ofMillis(1100).toNanos());
+        nodeA.sweep();
+        assertThat(store.tokens("report")).isGreaterThanOrEqualTo(99.0);
+
+        int admittedB = 0;
+        for (int i = 0; i < 150; i++) {
+            admittedB += acquire(nodeB, "report", 100, longWindow) ? 1 : 0;
+        }
+        assertThat(admittedB).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("共享桶耗尽后在补充前本地直接拒绝，不再访问存储")
+    void shouldDenyLocallyWhileBucketIsExhausted() {
+        QuotaLeasingRateLimiter limiter = node();
+        for (int i = 0; i < 10; i++) {
+            acquire(limiter, "login", 10, WINDOW);
+        }
+        int callsAfterDrain = store.acquireCalls();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(acquire(limiter, "login", 10, WINDOW)).isFalse();
+        }
+        assertThat(store.acquireCalls()).isLessThanOrEqualTo(callsAfterDrain + 1);
+
+        clock.addAndGet(Duration.ofMillis(200).toNanos());
+        assertThat(acquire(limiter, "login", 10, WINDOW)).isTrue();
+    }
+
+    @Test
+    @DisplayName("存储不可用时按 allowOnStoreFailure 判定")
+    void shouldApplyFailurePolicyWhenStoreUnavailable() {
+        QuotaStore failingStore = new QuotaStore() {
+            @Override
+            public Mono<Long> acquire(String key, long requested, long limit, Duration window) {
+                return Mono.error(new IllegalStateException("redis unavailable"));
+            }
+
+            @Override
+            public Mono<Void> release(String key, long tokens, long limit, Duration window) {
+                return Mono.error(new IllegalStateException("redis unavailable"));
+            }
+        };
+
+        QuotaLeasingRateLimiter denyByDefault = new QuotaLeasingRateLimiter(failingStore, properties, null, clock::get);
+        assertThat(acquire(denyByDefault, "api", 100, WINDOW)).isFalse();
+
+        properties.setAllowOnStoreFailure(true);
+        QuotaLeasingRateLimiter allowOnFailure = new QuotaLeasingRateLimiter(failingStore, properties, null, clock::get);
+        assertThat(acquire(allowOnFailure, "api", 100, WINDOW)).isTrue();
+        assertThat(acquire(allowOnFailure, "api", 100, WINDOW)).isTrue();
+    }
+
+    /**
+     * Redis 令牌桶的内存替身，语义与 {@link RedisQuotaStore} 的 Lua 脚本一致（毫秒精度补充、容量封顶）
+     */
+    static final class InMemoryQuotaStore implements QuotaStore {
+
+        private final AtomicLong clock;
+        private final Map<String, double[]> buckets = new HashMap<>();
+        private final AtomicInteger acquireCalls = new AtomicInteger();
+
+        InMemoryQuotaStore(AtomicLong clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public synchronized Mono<Long> acquire(String key, long requested, long limit, Duration window) {
+            acquireCalls.incrementAndGet();
+            long now = clock.get() / 1_000_000L;
+            double rate = (double) limit / Math.max(1L, window.toMillis());
+            double[] bucket = buckets.computeIfAbsent(key, k -> new double[]{limit, now});
+            double tokens = Math.min(limit, bucket[0] + Math.max(0, now - bucket[1]) * rate);
+            long granted = Math.max(0, Math.min(requested, (long) Math.floor(tokens)));
+            bucket[0] = tokens - granted;
+            bucket[1] = now;
+            return Mono.just(granted);
+        }
+
+        @Override
+        public synchronized Mono<Void> release(String key, long tokens, long limit, Duration window) {
+            double[] bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket[0] = Math.min(limit, bucket[0] + tokens);
+            }
+            return Mono.empty();
+        }
+
+        synchronized double tokens(String key) {
+            double[] bucket = buckets.get(key);
+            return bucket == null ? -1 : bucket[0];
+        }
+
+        int acquireCalls() {
+            return acquireCalls.get();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.HashSet;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -230,6 +231,100 @@ class RateLimitRuleManagerTest {
         }
     }
 
+    @Nested
+    @DisplayName("增量发布与版本回滚测试")
+    class GenerationTests {
+
+        @BeforeEach
+        void initRules() {
+            rateLimitRuleManager.initRules();
+        }
+
+        @Test
+        @DisplayName("无差异的变更不应生成新版本")
+        void shouldNotPublishWhenNothingChanged() {
+            // Given
+            RuleGeneration before = rateLimitRuleManager.getCurrentGeneration();
+            GatewayFlowRule sameAuthRule = new GatewayFlowRule("auth_api")
+                    .setResourceMode(before.rules().get("auth_api").getResourceMode())
+                    .setCount(10)
+                    .setIntervalSec(1);
+
+            // When
+            rateLimitRuleManager.addRule(sameAuthRule);
+            rateLimitRuleManager.initRules();
+
+            // Then
+            assertSame(before, rateLimitRuleManager.getCurrentGeneration());
+        }
+
+        @Test
+        @DisplayName("以当前规则整体替换时不应产生差异")
+        void shouldKeyInitialRulesConsistentlyWithReplace() {
+            // Given
+            RuleGeneration before = rateLimitRuleManager.getCurrentGeneration();
+
+            // When
+            RuleDiff diff = rateLimitRuleManager.replaceRules(before.rules().values());
+
+            // Then
+            assertTrue(diff.isEmpty());
+            assertSame(before, rateLimitRuleManager.getCurrentGeneration());
+            assertTrue(before.rules().containsKey("user-api:header:X-User-Id"));
+        }
+
+        @Test
+        @DisplayName("变更只影响对应资源，未变化的规则保留原实例")
+        void shouldOnlyReplaceChangedRules() {
+            // Given
+            RuleGeneration before = rateLimitRuleManager.getCurrentGeneration();
+            Set<GatewayFlowRule> desired = new HashSet<>(before.rules().values());
+            desired.removeIf(rule -> "file_api".equals(rule.getResource()));
+            desired.add(new GatewayFlowRule("report_api").setCount(20).setIntervalSec(1));
+            GatewayFlowRule oldAuth = before.rules().get("auth_api");
+            desired.remove(oldAuth);
+            desired.add(new GatewayFlowRule("auth_api")
+                    .setResourceMode(oldAuth.getResourceMode())
+                    .setCount(5)
+                    .setIntervalSec(1));
+
+            // When
+            RuleDiff diff = rateLimitRuleManager.replaceRules(desired);
+
+            // Then
+            assertEquals(Set.of("report_api"), diff.added().keySet());
+            assertEquals(Set.of("file_api"), diff.removed().keySet());
+            assertEquals(Set.of("auth_api"), diff.changed().keySet());
+            assertEquals(Set.of("report_api", "file_api", "auth_api"), diff.affectedResources());
+
+            RuleGeneration after = rateLimitRuleManager.getCurrentGeneration();
+            assertEquals(before.version() + 1, after.version());
+            assertSame(before.rules().get("global"), after.rules().get("global"));
+            assertSame(before.rules().get("user-api:ip"), after.rules().get("user-api:ip"));
+            assertEquals(5, after.rules().get("auth_api").getCount());
+        }
+
+        @Test
+        @DisplayName("回滚应恢复历史版本的规则并生成新版本号")
+        void shouldRollbackToPreviousGeneration() {
+            // Given
+            RuleGeneration original = rateLimitRuleManager.getCurrentGeneration();
+            rateLimitRuleManager.removeRule("auth_api");
+            rateLimitRuleManager.addRule(new GatewayFlowRule("test_api").setCount(100).setIntervalSec(1));
+            assertEquals(original.version() + 2, rateLimitRuleManager.getCurrentGeneration().version());
+
+            // When
+            boolean rolledBack = rateLimitRuleManager.rollbackTo(original.version());
+
+            // Then
+            assertTrue(rolledBack);
+            RuleGeneration current = rateLimitRuleManager.getCurrentGeneration();
+            assertEquals(original.version() + 3, current.version());
+            assertEquals(original.rules(), current.rules());
+            assertFalse(rateLimitRuleManager.rollbackTo(999L));
+        }
+    }
+
     @Nested
     @DisplayName("边界条件测试")
     class EdgeCaseTests {
@@ -0,0 +1,119 @@
+package com.basebackend.gateway.ratelimit;
+
+import com.basebackend.gateway.config.RedisConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RedisQuotaStore 集成测试
+ * <p>
+ * 在真实 Redis 上执行 ACQUIRE / RELEASE Lua 脚本，模板与 {@link RedisConfig} 生产配置一致（值使用 JSON 序列化），
+ * 验证脚本参数按字符串传递。无 Docker 环境时跳过。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("RedisQuotaStore 集成测试")
+class RedisQuotaStoreTest {
+
+    private static final Duration LONG_WINDOW = Duration.ofHours(1);
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static ReactiveRedisTemplate<String, Object> template;
+
+    private RedisQuotaStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getFirstMappedPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new RedisConfig().reactiveRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        template.execute(connection -> connection.serverCommands().flushAll()).blockLast();
+        store = new RedisQuotaStore(template);
+    }
+
+    private long acquire(String key, long requested, long limit, Duration window) {
+        return store.acquire(key, requested, limit, window).block();
+    }
+
+    @Test
+    @DisplayName("首次租用按满桶计算，之后按剩余令牌发放")
+    void shouldGrantFromFullBucketThenRemaining() {
+        assertThat(acquire("api", 30, 100, LONG_WINDOW)).isEqualTo(30);
+        assertThat(acquire("api", 100, 100, LONG_WINDOW)).isEqualTo(70);
+        assertThat(acquire("api", 10, 100, LONG_WINDOW)).isZero();
+    }
+
+    @Test
+    @DisplayName("令牌按窗口速率补充，且不超过容量")
+    void shouldRefillAtWindowRate() throws InterruptedException {
+        assertThat(acquire("login", 10, 10, Duration.ofSeconds(1))).isEqualTo(10);
+
+        Thread.sleep(350);
+        assertThat(acquire("login", 10, 10, Duration.ofSeconds(1))).isBetween(3L, 5L);
+
+        Thread.sleep(1500);
+        assertThat(acquire("login", 100, 10, Duration.ofSeconds(1))).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("桶状态在补满时间的两倍后过期")
+    void shouldExpireBucketAfterTwoWindows() {
+        acquire("report", 1, 100, Duration.ofSeconds(30));
+
+        Duration ttl = template.getExpire(RedisQuotaStore.KEY_PREFIX + "report").block();
+        assertThat(ttl).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    @DisplayName("归还的令牌可再次租用，归还后不超过容量")
+    void shouldReturnTokensCappedAtCapacity() {
+        acquire("api", 100, 100, LONG_WINDOW);
+
+        store.release("api", 40, 100, LONG_WINDOW).block();
+        assertThat(acquire("api", 100, 100, LONG_WINDOW)).isEqualTo(40);
+
+        store.release("api", 1000, 100, LONG_WINDOW).block();
+        assertThat(acquire("api", 1000, 100, LONG_WINDOW)).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("桶不存在时归还不创建状态")
+    void shouldIgnoreReleaseForMissingBucket() {
+        store.release("missing", 10, 100, LONG_WINDOW).block();
+
+        assertThat(template.hasKey(RedisQuotaStore.KEY_PREFIX + "missing").block()).isFalse();
+        assertThat(acquire("missing", 1000, 100, LONG_WINDOW)).isEqualTo(100);
+    }
+}
@@ -0,0 +1,157 @@
+package com.basebackend.gateway.session;
+
+import com.basebackend.gateway.config.GatewaySecurityProperties;
+import com.basebackend.gateway.config.GatewaySecurityProperties.FailurePolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * SessionNearCache 单元测试
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionNearCache 单元测试")
+class SessionNearCacheTest {
+
+    private static final Long USER_ID = 12345L;
+    private static final String KEY = SessionNearCache.LOGIN_TOKEN_KEY + USER_ID;
+    private static final String TOKEN = "valid.jwt.token";
+
+    @Mock
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, Object> valueOperations;
+
+    private GatewaySecurityProperties securityProperties;
+
+    @BeforeEach
+    void setUp() {
+        securityProperties = new GatewaySecurityProperties();
+        securityProperties.setRedisTimeout(Duration.ofMillis(200));
+        securityProperties.getSessionCache().setTtl(Duration.ofMinutes(1));
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    private SessionNearCache newCache() {
+        return new SessionNearCache(reactiveRedisTemplate, securityProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("新鲜期内命中本地缓存，不再访问 Redis")
+    void shouldServeFromCacheWithinTtl() {
+        when(valueOperations.get(KEY)).thenReturn(Mono.just(TOKEN));
+        SessionNearCache cache = newCache();
+
+        StepVerifier.create(cache.check(USER_ID, TOKEN)).expectNext(SessionNearCache.Outcome.VALID).verifyComplete();
+        StepVerifier.create(cache.check(USER_ID, TOKEN)).expectNext(SessionNearCache.Outcome.VALID).verifyComplete();
+        StepVerifier.create(cache.check(USER_ID, "other.jwt.token"))
+                .expectNext(SessionNearCache.Outcome.MISMATCH).verifyComplete();
+
+        verify(valueOperations, times(1)).get(KEY);
+        assertThat(cache.hitRatio()).isGreaterThan(0.6);
+    }
+
+    @Test
+    @DisplayName("同一用户的并发回源共享一次 Redis 查询")
+    void shouldCoalesceConcurrentLookups() {
+        Sinks.One<Object> pending = Sinks.one();
+        when(valueOperations.get(KEY)).thenReturn(pending.asMono());
+        SessionNearCache cache = newCache();
+
+        Mono<SessionNearCache.Outcome> first = cache.check(USER_ID, TOKEN);
+        Mono<SessionNearCache.Outcome> second = cache.check(USER_ID, TOKEN);
+        StepVerifier.Step<SessionNearCache.Outcome> firstStep = StepVerifier.create(first);
+        StepVerifier.Step<SessionNearCache.Outcome> secondStep = StepVerifier.create(second);
+
+        pending.tryEmitValue(TOKEN);
+        firstStep.expectNext(SessionNearCache.Outcome.VALID).verifyComplete();
+        secondStep.expectNext(SessionNearCache.Outcome.VALID).verifyComplete();
+
+        verify(valueOperations, times(1)).get(KEY);
+    }
+
+    @Test
+    @DisplayName("收到失效消息后重新回源")
+    void shouldReloadAfterInvalidation() {
+        when(valueOperations.get(KEY)).thenReturn(Mono.just(TOKEN), Mono.empty());
+        SessionNearCache cache = newCache();
+
+        StepVerifier.create(cache.check(USER_ID, TOKEN)).expectNext(SessionNearCache.Outcome.VALID).verifyComplete();
+        cache.invalidate(USER_ID);
+
+        StepVerifier.create(cache.check(USER_ID, TOKEN))
+                .expectNext(SessionNearCache.Outcome.NOT_FOUND).verifyComplete();
+        verify(valueOperations, times(2)).get(KEY);
+    }
+
+    @Test
+    @DisplayName("回源期间收到失效消息时不缓存回源结果")
+    void shouldDiscardLookupRacingWithInvalidation() {
+        Sinks.One<Object> pending = Sinks.one();
+        when(valueOperations.get(KEY)).thenReturn(pending.asMono(), Mono.empty());
+        SessionNearCache cache = newCache();
+
+        StepVerifier.Step<SessionNearCache.Outcome> step = StepVerifier.create(cache.check(USER_ID, TOKEN));
+        cache.invalidate(USER_ID);
+        pending.tryEmitValue(TOKEN);
+        step.expectNext(SessionNearCache.Outcome.VALID).verifyComplete();
+
+        StepVerifier.create(cache.check(USER_ID, TOKEN))
+                .expectNext(SessionNearCache.Outcome.NOT_FOUND).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("FAIL_CLOSED 策略下 Redis 超时返回错误")
+    void failClosedShouldPropagateTimeout() {
+        when(valueOperations.get(KEY)).thenReturn(Mono.never());
+        SessionNearCache cache = newCache();
+
+        StepVerifier.create(cache.check(USER_ID, TOKEN)).expectError(TimeoutException.class).verify();
+    }
+
+    @Test
+    @DisplayName("FAIL_OPEN 策略下 Redis 不可用时使用过期条目判定")
+    void failOpenShouldUseStaleEntry() {
+        securityProperties.getSessionCache().setTtl(Duration.ZERO);
+        securityProperties.getSessionCache().setFailurePolicy(FailurePolicy.FAIL_OPEN);
+        when(valueOperations.get(KEY)).thenReturn(Mono.just("current.jwt.token"),
+                Mono.error(new IllegalStateException("redis down")));
+        SessionNearCache cache = newCache();
+
+        StepVerifier.create(cache.check(USER_ID, "current.jwt.token"))
+                .expectNext(SessionNearCache.Outcome.VALID).verifyComplete();
+        // 过期条目仍能识别被顶替的旧 Token
+        StepVerifier.create(cache.check(USER_ID, TOKEN))
+                .expectNext(SessionNearCache.Outcome.MISMATCH).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("FAIL_OPEN 策略下无本地条目时放行")
+    void failOpenShouldAllowWithoutEntry() {
+        securityProperties.getSessionCache().setFailurePolicy(FailurePolicy.FAIL_OPEN);
+        when(valueOperations.get(KEY)).thenReturn(Mono.never());
+        SessionNearCache cache = newCache();
+
+        StepVerifier.create(cache.check(USER_ID, TOKEN))
+                .expectNext(SessionNearCache.Outcome.VALID).verifyComplete();
+    }
+}
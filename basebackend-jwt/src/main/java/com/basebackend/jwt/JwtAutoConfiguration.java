@@ -24,8 +24,9 @@ public class JwtAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public JwtTokenBlacklist jwtTokenBlacklist(
-            @Nullable StringRedisTemplate redisTemplate) {
-        return new JwtTokenBlacklist(redisTemplate);
+            @Nullable StringRedisTemplate redisTemplate,
+            JwtProperties properties) {
+        return new JwtTokenBlacklist(redisTemplate, properties);
     }
 
     @Bean
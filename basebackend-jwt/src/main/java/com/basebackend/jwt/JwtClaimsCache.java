@@ -0,0 +1,94 @@
+package com.basebackend.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * 已验签 Claims 缓存
+ * <p>
+ * 同一 Token 在有效期内会被网关、过滤器和业务代码反复解析，每次都要 Base64 解码、
+ * HMAC 验签和 JSON 反序列化。此缓存以 Token 的 SHA-256 摘要为键（不在堆中保留原始 Token），
+ * 保存签名、issuer/audience 均已通过校验的 claims，条目在 min(Token exp, 最大 TTL) 时失效，
+ * 因此缓存命中不会放行已过期的 Token。
+ * <p>
+ * 黑名单不在缓存范围内：命中后仍逐次检查 jti，吊销即时生效。
+ * 密钥轮换/停用时由 {@link JwtKeyManager} 回调 {@link #invalidateAll()} 整体清空。
+ */
+public class JwtClaimsCache {
+
+    private final Cache<String, Claims> cache;
+
+    /**
+     * @param maximumSize  最大条目数
+     * @param maxTtlMillis 单个条目最长保留时间（毫秒），实际不超过 Token 剩余有效期
+     */
+    public JwtClaimsCache(long maximumSize, long maxTtlMillis) {
+        Duration maxTtl = Duration.ofMillis(Math.max(1, maxTtlMillis));
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String key, Claims claims) -> ttlOf(claims, maxTtl)))
+                .build();
+    }
+
+    /**
+     * 获取已验签的 claims，未命中返回 null
+     */
+    public Claims getIfPresent(String token) {
+        return cache.getIfPresent(keyOf(token));
+    }
+
+    /**
+     * 缓存已验签的 claims；已过期或无剩余有效期的不缓存
+     */
+    public void put(String token, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration != null && expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(keyOf(token), claims);
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(keyOf(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static Duration ttlOf(Claims claims, Duration maxTtl) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return maxTtl;
+        }
+        long remaining = expiration.getTime() - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return Duration.ZERO;
+        }
+        Duration untilExpiry = Duration.ofMillis(remaining);
+        return untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+    }
+
+    static String keyOf(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -6,9 +6,11 @@ import lombok.extern.slf4j.Slf4j;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * JWT 密钥管理器 — 支持多密钥管理和平滑密钥轮换
@@ -37,6 +39,9 @@ public class JwtKeyManager {
     /** 旧密钥保留时间（毫秒） */
     private final long gracePeriodMillis;
 
+    /** 密钥变更监听器（轮换、停用、过渡期结束时回调） */
+    private final List<Runnable> keyChangeListeners = new CopyOnWriteArrayList<>();
+
     /**
      * 通过 JwtProperties 初始化密钥管理器
      */
@@ -106,6 +111,7 @@ public class JwtKeyManager {
                         kid, elapsed, gracePeriodMillis);
                 keyStore.remove(kid);
                 retiredAt.remove(kid);
+                fireKeyChanged();
                 return null;
             }
         }
@@ -149,6 +155,7 @@ public class JwtKeyManager {
 
         // 切换活跃密钥
         this.activeKeyId = newKeyId;
+        fireKeyChanged();
 
         log.info("Key rotated: {} -> {}. Old key enters grace period ({}ms)",
                 oldKeyId, newKeyId, gracePeriodMillis);
@@ -166,6 +173,7 @@ public class JwtKeyManager {
         }
         keyStore.remove(keyId);
         retiredAt.remove(keyId);
+        fireKeyChanged();
         log.info("Key retired immediately: kid={}", keyId);
     }
 
@@ -176,6 +184,26 @@ public class JwtKeyManager {
         return Collections.unmodifiableSet(keyStore.keySet());
     }
 
+    // ========== 密钥变更通知 ==========
+
+    /**
+     * 注册密钥变更监听器。JwtUtil 借此在密钥轮换/停用时清空验签缓存，
+     * 避免已停用密钥签发的 Token 通过缓存继续生效。
+     */
+    public void addKeyChangeListener(Runnable listener) {
+        keyChangeListeners.add(listener);
+    }
+
+    private void fireKeyChanged() {
+        for (Runnable listener : keyChangeListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.warn("Key change listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
     // ========== 内部方法 ==========
 
     private static SecretKey deriveKey(String secret) {
@@ -101,6 +101,47 @@ public class JwtProperties {
      */
     private boolean auditPublishSpringEvents = false;
 
+    // ========== 验签结果缓存 ==========
+
+    /**
+     * 是否缓存已验签的 claims（默认 true）。
+     * 同一 Token 在有效期内重复解析时跳过验签，黑名单仍逐次检查。
+     */
+    private boolean claimsCacheEnabled = true;
+
+    /**
+     * 验签缓存最大条目数（默认 10000）
+     */
+    private long claimsCacheMaxSize = 10000;
+
+    /**
+     * 验签缓存条目最长保留时间（毫秒，默认 5 分钟），实际不超过 Token 剩余有效期
+     */
+    private long claimsCacheTtl = 300000;
+
+    // ========== 吊销列表本地副本 ==========
+
+    /**
+     * 是否在每个节点维护吊销列表的本地副本（默认 true，仅 Redis 可用时生效）。
+     * 开启后吊销检查为本地查找，通过 Redis Stream 同步其他节点的吊销事件。
+     */
+    private boolean revocationReplicaEnabled = true;
+
+    /**
+     * 吊销事件流拉取间隔（毫秒，默认 500），即跨节点吊销生效的最大延迟
+     */
+    private long revocationPollInterval = 500;
+
+    /**
+     * 全量重新同步间隔（毫秒，默认 10 分钟），0 表示仅在检测到漏读时同步
+     */
+    private long revocationResyncInterval = 600000;
+
+    /**
+     * 吊销事件流保留的最大长度（近似裁剪，默认 100000）
+     */
+    private long revocationStreamMaxLength = 100000;
+
     @PostConstruct
     void validate() {
         if (secret == null || secret.isBlank()) {
@@ -4,10 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.lang.Nullable;
 
-import java.time.Duration;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -16,25 +14,56 @@ import java.util.concurrent.TimeUnit;
  * JWT Token 黑名单/吊销管理
  * <p>
  * 优先使用 Redis（key: jwt:blacklist:{jti}，TTL = Token 剩余有效期）。
- * 当 Redis 不可用时降级为内存 ConcurrentHashMap + 定时清理。
+ * 当 Redis 不可用时降级为内存索引 + 定时清理。
+ * <p>
+ * 本地副本（jwt.revocation-replica-enabled，默认开启）：每个节点在内存中维护完整的吊销索引
+ * （布隆过滤器 + 精确表），启动时从 Redis 全量加载，之后按偏移量续读 Redis Stream 中的吊销事件。
+ * 副本就绪后 {@link #isRevoked(String)} 只做本地查找，不再访问 Redis；
+ * 其他节点的吊销最迟在一个拉取间隔后生效。检测到事件流被裁剪导致漏读时自动全量重新同步，
+ * 另有定期全量同步兜底。
  */
 @Slf4j
 public class JwtTokenBlacklist {
 
-    private static final String REDIS_KEY_PREFIX = "jwt:blacklist:";
-    private static final String BLACKLIST_VALUE = "1";
+    /** 单次拉取的最大事件数 */
+    private static final int POLL_BATCH = 500;
 
     @Nullable
-    private final StringRedisTemplate redisTemplate;
+    private final RevocationStore store;
+    private final boolean replicaEnabled;
+    private final long pollIntervalMillis;
+    private final long resyncIntervalMillis;
 
-    /** 降级用内存黑名单：jti -> 过期时间戳 */
-    private final Map<String, Long> memoryBlacklist = new ConcurrentHashMap<>();
+    /** 本地吊销索引：降级内存黑名单与 Redis 副本共用 */
+    private final RevocationIndex index = new RevocationIndex(4096);
     private volatile ScheduledExecutorService cleanupExecutor;
+    private volatile ScheduledExecutorService replicaExecutor;
+
+    /** 副本是否已完成全量加载 */
+    private volatile boolean replicaReady;
+    /** 已应用的最后一个事件偏移量（仅同步线程读写） */
+    private String lastOffset = RevocationStore.INITIAL_OFFSET;
+    private long lastResyncAt;
 
     public JwtTokenBlacklist(@Nullable StringRedisTemplate redisTemplate) {
-        this.redisTemplate = redisTemplate;
-        if (!isRedisAvailable()) {
-            startMemoryCleanup();
+        this(redisTemplate, new JwtProperties());
+    }
+
+    public JwtTokenBlacklist(@Nullable StringRedisTemplate redisTemplate, JwtProperties properties) {
+        this(redisTemplate != null
+                        ? new RedisRevocationStore(redisTemplate, properties.getRevocationStreamMaxLength())
+                        : null,
+                properties, true);
+    }
+
+    JwtTokenBlacklist(@Nullable RevocationStore store, JwtProperties properties, boolean startReplica) {
+        this.store = store;
+        this.replicaEnabled = store != null && properties.isRevocationReplicaEnabled();
+        this.pollIntervalMillis = Math.max(50, properties.getRevocationPollInterval());
+        this.resyncIntervalMillis = properties.getRevocationResyncInterval();
+        startMemoryCleanup();
+        if (replicaEnabled && startReplica) {
+            startReplica();
         }
     }
 
@@ -51,14 +80,19 @@ public class JwtTokenBlacklist {
             return;
         }
 
-        if (tryRedisRevoke(jti, ttlMillis)) {
+        // 本节点立即生效；其他节点通过事件流同步
+        index.add(jti, expiresAt);
+
+        if (store == null) {
+            log.debug("Token {} added to in-memory blacklist, expires at {}", jti, expiresAt);
             return;
         }
-
-        // 降级到内存
-        ensureMemoryCleanupStarted();
-        memoryBlacklist.put(jti, expiresAt);
-        log.debug("Token {} added to in-memory blacklist, expires at {}", jti, expiresAt);
+        try {
+            store.publish(jti, expiresAt);
+            log.debug("Token {} added to Redis blacklist, TTL {}ms", jti, ttlMillis);
+        } catch (Exception e) {
+            log.warn("Redis blacklist write failed, kept in memory only: {}", e.getMessage());
+        }
     }
 
     /**
@@ -68,67 +102,128 @@ public class JwtTokenBlacklist {
         if (jti == null || jti.isBlank()) {
             return false;
         }
-
-        // 先查 Redis
-        if (tryRedisCheck(jti)) {
+        if (index.contains(jti, System.currentTimeMillis())) {
             return true;
         }
-
-        // 再查内存
-        Long expiresAt = memoryBlacklist.get(jti);
-        if (expiresAt == null) {
+        // 副本就绪时本地结果即为全量结果
+        if (store == null || replicaReady) {
             return false;
         }
-        if (System.currentTimeMillis() > expiresAt) {
-            memoryBlacklist.remove(jti);
+        try {
+            return store.contains(jti);
+        } catch (Exception e) {
+            log.warn("Redis blacklist check failed: {}", e.getMessage());
             return false;
         }
-        return true;
     }
 
-    private boolean tryRedisRevoke(String jti, long ttlMillis) {
-        if (!isRedisAvailable()) {
-            return false;
+    /**
+     * 本地副本是否已就绪（已完成全量加载）
+     */
+    public boolean isReplicaReady() {
+        return replicaReady;
+    }
+
+    /**
+     * 本地索引中的条目数
+     */
+    public int localSize() {
+        return index.size();
+    }
+
+    /**
+     * 停止后台线程（Spring 容器关闭时自动调用）
+     */
+    public void shutdown() {
+        if (replicaExecutor != null) {
+            replicaExecutor.shutdownNow();
         }
+        if (cleanupExecutor != null) {
+            cleanupExecutor.shutdownNow();
+        }
+    }
+
+    // ========== 副本同步 ==========
+
+    private void startReplica() {
+        replicaExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jwt-blacklist-replica");
+            t.setDaemon(true);
+            return t;
+        });
+        // 首次执行即全量加载，不阻塞应用启动
+        replicaExecutor.scheduleWithFixedDelay(this::syncQuietly, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("JWT blacklist replica started, poll interval {}ms", pollIntervalMillis);
+    }
+
+    private void syncQuietly() {
         try {
-            redisTemplate.opsForValue().set(
-                    REDIS_KEY_PREFIX + jti,
-                    BLACKLIST_VALUE,
-                    Duration.ofMillis(ttlMillis));
-            log.debug("Token {} added to Redis blacklist, TTL {}ms", jti, ttlMillis);
-            return true;
+            sync();
         } catch (Exception e) {
-            log.warn("Redis blacklist write failed, falling back to memory: {}", e.getMessage());
-            return false;
+            log.warn("JWT blacklist replica sync failed, will retry: {}", e.getMessage());
         }
     }
 
-    private boolean tryRedisCheck(String jti) {
-        if (!isRedisAvailable()) {
-            return false;
+    /**
+     * 同步一轮：未就绪或到期时全量加载，否则续读事件流（同步线程或测试中调用）
+     */
+    void sync() {
+        if (!replicaEnabled) {
+            return;
         }
-        try {
-            return Boolean.TRUE.equals(redisTemplate.hasKey(REDIS_KEY_PREFIX + jti));
-        } catch (Exception e) {
-            log.warn("Redis blacklist check failed: {}", e.getMessage());
-            return false;
+        long now = System.currentTimeMillis();
+        if (!replicaReady || (resyncIntervalMillis > 0 && now - lastResyncAt >= resyncIntervalMillis)) {
+            resync();
+        } else if (hasGap()) {
+            log.warn("JWT blacklist stream trimmed past offset {}, resyncing", lastOffset);
+            resync();
         }
+        pollEvents();
     }
 
-    private boolean isRedisAvailable() {
-        return redisTemplate != null;
+    /**
+     * 全量加载：先记下事件流位置再读快照，快照期间的新事件随后重放（幂等）
+     */
+    private void resync() {
+        String offset = store.latestOffset();
+        Map<String, Long> snapshot = store.loadAll();
+        index.addAll(snapshot);
+        lastOffset = offset;
+        lastResyncAt = System.currentTimeMillis();
+        if (!replicaReady) {
+            replicaReady = true;
+            log.info("JWT blacklist replica ready: {} revoked tokens loaded", snapshot.size());
+        } else {
+            log.debug("JWT blacklist replica resynced: {} revoked tokens", snapshot.size());
+        }
     }
 
-    private void ensureMemoryCleanupStarted() {
-        if (cleanupExecutor == null) {
-            synchronized (this) {
-                if (cleanupExecutor == null) {
-                    startMemoryCleanup();
+    /**
+     * 已应用的最后事件已被裁剪出事件流，说明其后可能有事件未读到
+     */
+    private boolean hasGap() {
+        if (RevocationStore.INITIAL_OFFSET.equals(lastOffset)) {
+            return false;
+        }
+        String earliest = store.earliestOffset();
+        return earliest != null && RevocationStore.compareOffsets(earliest, lastOffset) > 0;
+    }
+
+    private void pollEvents() {
+        List<RevocationStore.RevocationEvent> events;
+        do {
+            events = store.readAfter(lastOffset, POLL_BATCH);
+            for (RevocationStore.RevocationEvent event : events) {
+                if (event.jti() != null && event.expiresAt() > 0) {
+                    index.add(event.jti(), event.expiresAt());
                 }
+                lastOffset = event.offset();
             }
-        }
+        } while (events.size() >= POLL_BATCH);
     }
 
+    // ========== 过期清理 ==========
+
     private void startMemoryCleanup() {
         cleanupExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "jwt-blacklist-cleanup");
@@ -136,21 +231,13 @@ public class JwtTokenBlacklist {
             return t;
         });
         cleanupExecutor.scheduleAtFixedRate(this::cleanupExpiredEntries, 5, 5, TimeUnit.MINUTES);
-        log.info("In-memory JWT blacklist cleanup scheduler started");
+        log.info("JWT blacklist cleanup scheduler started");
     }
 
     private void cleanupExpiredEntries() {
-        long now = System.currentTimeMillis();
-        Iterator<Map.Entry<String, Long>> it = memoryBlacklist.entrySet().iterator();
-        int removed = 0;
-        while (it.hasNext()) {
-            if (now > it.next().getValue()) {
-                it.remove();
-                removed++;
-            }
-        }
+        int removed = index.purgeExpired(System.currentTimeMillis());
         if (removed > 0) {
-            log.debug("Cleaned up {} expired blacklist entries, remaining: {}", removed, memoryBlacklist.size());
+            log.debug("Cleaned up {} expired blacklist entries, remaining: {}", removed, index.size());
         }
     }
 }
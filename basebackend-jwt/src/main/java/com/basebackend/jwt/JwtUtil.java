@@ -43,6 +43,8 @@ public class JwtUtil {
     private final JwtDeviceManager deviceManager;
     @Nullable
     private final JwtAuditLogger auditLogger;
+    @Nullable
+    private final JwtClaimsCache claimsCache;
 
     public JwtUtil(JwtProperties properties,
             JwtKeyManager keyManager,
@@ -54,6 +56,14 @@ public class JwtUtil {
         this.blacklist = blacklist;
         this.deviceManager = deviceManager;
         this.auditLogger = auditLogger;
+        if (properties.isClaimsCacheEnabled()) {
+            this.claimsCache = new JwtClaimsCache(properties.getClaimsCacheMaxSize(),
+                    properties.getClaimsCacheTtl());
+            // 密钥轮换/停用后，旧密钥签发的 Token 必须重新验签
+            keyManager.addKeyChangeListener(claimsCache::invalidateAll);
+        } else {
+            this.claimsCache = null;
+        }
     }
 
     // ========== Token 生成（向后兼容） ==========
@@ -232,10 +242,67 @@ public class JwtUtil {
      * <p>
      * P2: 先从 Token header 中提取 kid，然后使用 JwtKeyManager 获取对应密钥验证。
      * 如果 Token 没有 kid header（旧 Token），使用默认密钥验证（向后兼容）。
+     * <p>
+     * 验签结果按 Token 缓存至其过期（见 {@link JwtClaimsCache}），黑名单每次检查。
      *
      * @throws JwtException 携带 ErrorType 的结构化异常
      */
     public Claims parseClaimsStrict(String token) {
+        Claims claims = verifyClaims(token);
+
+        // 黑名单检查（不缓存，吊销即时生效）
+        String jti = claims.getId();
+        if (jti != null && blacklist.isRevoked(jti)) {
+            throw new JwtException(JwtException.ErrorType.REVOKED,
+                    "Token has been revoked (jti=" + jti + ")");
+        }
+        return claims;
+    }
+
+    /**
+     * 解析并验证 Token，返回可在请求内传递的 {@link ParsedToken}
+     * <p>
+     * 调用方拿到结果后应直接读取其字段，而不是再调用 getUserIdFromToken 等方法重复解析。
+     *
+     * @throws JwtException 携带 ErrorType 的结构化异常
+     */
+    public ParsedToken parseToken(String token) {
+        return new ParsedToken(token, parseClaimsStrict(token));
+    }
+
+    /**
+     * 解析并验证 Token，失败时返回 null
+     */
+    @Nullable
+    public ParsedToken tryParseToken(String token) {
+        try {
+            return parseToken(token);
+        } catch (JwtException e) {
+            log.debug("Token验证失败: {} ({})", e.getMessage(), e.getErrorType());
+            return null;
+        }
+    }
+
+    /**
+     * 验签并返回 claims（不含黑名单检查），优先命中验签缓存
+     */
+    private Claims verifyClaims(String token) {
+        if (claimsCache == null || token == null || token.isEmpty()) {
+            return verifySignature(token);
+        }
+        Claims cached = claimsCache.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = verifySignature(token);
+        claimsCache.put(token, claims);
+        return claims;
+    }
+
+    /**
+     * 验证签名、issuer、audience 和过期时间
+     */
+    private Claims verifySignature(String token) {
         try {
             // P2: 从 Token header 提取 kid，选择对应密钥
             SecretKey verificationKey = resolveVerificationKey(token);
@@ -255,18 +322,9 @@ public class JwtUtil {
                 parserBuilder.requireAudience(audience);
             }
 
-            Claims claims = parserBuilder.build()
+            return parserBuilder.build()
                     .parseSignedClaims(token)
                     .getPayload();
-
-            // 黑名单检查
-            String jti = claims.getId();
-            if (jti != null && blacklist.isRevoked(jti)) {
-                throw new JwtException(JwtException.ErrorType.REVOKED,
-                        "Token has been revoked (jti=" + jti + ")");
-            }
-
-            return claims;
         } catch (JwtException e) {
             throw e;
         } catch (ExpiredJwtException e) {
@@ -375,24 +433,11 @@ public class JwtUtil {
             return null;
         }
 
-        Object userIdObj = claims.get("userId");
-        if (userIdObj instanceof Integer i) {
-            return i.longValue();
-        } else if (userIdObj instanceof Long l) {
-            return l;
+        Long userId = new ParsedToken(token, claims).getUserId();
+        if (userId == null) {
+            log.warn("Token中未找到有效的用户ID");
         }
-
-        String subject = claims.getSubject();
-        if (subject != null && subject.matches("\\d+")) {
-            try {
-                return Long.parseLong(subject);
-            } catch (NumberFormatException e) {
-                log.warn("无法解析用户ID: subject={}", subject);
-            }
-        }
-
-        log.warn("Token中未找到有效的用户ID");
-        return null;
+        return userId;
     }
 
     /**
@@ -400,16 +445,7 @@ public class JwtUtil {
      */
     public String getUsernameFromToken(String token) {
         Claims claims = getClaimsFromToken(token);
-        if (claims == null) {
-            return null;
-        }
-
-        Object usernameObj = claims.get("username");
-        if (usernameObj instanceof String s) {
-            return s;
-        }
-
-        return claims.getSubject();
+        return claims != null ? new ParsedToken(token, claims).getUsername() : null;
     }
 
     /**
@@ -417,18 +453,7 @@ public class JwtUtil {
      */
     public Long getDeptIdFromToken(String token) {
         Claims claims = getClaimsFromToken(token);
-        if (claims == null) {
-            return null;
-        }
-
-        Object deptIdObj = claims.get("deptId");
-        if (deptIdObj instanceof Integer i) {
-            return i.longValue();
-        } else if (deptIdObj instanceof Long l) {
-            return l;
-        }
-
-        return null;
+        return claims != null ? new ParsedToken(token, claims).getDeptId() : null;
     }
 
     /**
@@ -488,6 +513,9 @@ public class JwtUtil {
             // 先尝试正常解析
             Claims claims = parseClaimsStrict(token);
             doRevoke(claims);
+            if (claimsCache != null) {
+                claimsCache.invalidate(token);
+            }
             auditTokenRevoked(claims.getSubject(), claims.getId());
         } catch (JwtException e) {
             if (e.getErrorType() == JwtException.ErrorType.EXPIRED && e.getCause() instanceof ExpiredJwtException ex) {
@@ -514,24 +542,8 @@ public class JwtUtil {
      */
     public boolean isTokenRevoked(String token) {
         try {
-            // 直接解析 Token 提取 jti，不经过 parseClaimsStrict（后者会抛 REVOKED 异常）
-            SecretKey verificationKey = resolveVerificationKey(token);
-            var parserBuilder = Jwts.parser().verifyWith(verificationKey);
-
-            String issuer = properties.getIssuer();
-            if (issuer != null && !issuer.isBlank()) {
-                parserBuilder.requireIssuer(issuer);
-            }
-            String audience = properties.getAudience();
-            if (audience != null && !audience.isBlank()) {
-                parserBuilder.requireAudience(audience);
-            }
-
-            Claims claims = parserBuilder.build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            String jti = claims.getId();
+            // 只验签提取 jti，不经过 parseClaimsStrict（后者会抛 REVOKED 异常）
+            String jti = verifyClaims(token).getId();
             return jti != null && blacklist.isRevoked(jti);
         } catch (Exception e) {
             return false;
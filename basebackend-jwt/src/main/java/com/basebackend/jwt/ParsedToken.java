@@ -0,0 +1,115 @@
+package com.basebackend.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * 已验证的 Token — 签名、issuer/audience、过期时间和黑名单均已校验
+ * <p>
+ * 由 {@link JwtUtil#parseToken(String)} 创建。过滤器和服务在同一请求内传递此对象，
+ * 读取用户ID、用户名、部门ID等字段时不再重复解析和验签。
+ * 字段读取规则与 {@link JwtUtil#getUserIdFromToken(String)} 等便捷方法保持一致。
+ */
+public final class ParsedToken {
+
+    private final String token;
+    private final Claims claims;
+
+    public ParsedToken(String token, Claims claims) {
+        this.token = Objects.requireNonNull(token, "token");
+        this.claims = Objects.requireNonNull(claims, "claims");
+    }
+
+    /**
+     * 原始 Token 字符串
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * 已验证的 claims（只读）
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    public String getJti() {
+        return claims.getId();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    /**
+     * Token 类型（access / refresh），旧 Token 可能为 null
+     */
+    public String getTokenType() {
+        return claims.get(JwtUtil.CLAIM_TOKEN_TYPE, String.class);
+    }
+
+    /**
+     * 用户ID：优先 userId claim，其次纯数字的 subject
+     */
+    public Long getUserId() {
+        Long userId = toLong(claims.get("userId"));
+        if (userId != null) {
+            return userId;
+        }
+        String subject = claims.getSubject();
+        if (subject != null && !subject.isEmpty() && subject.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            try {
+                return Long.parseLong(subject);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 用户名：优先 username claim，其次 subject
+     */
+    public String getUsername() {
+        if (claims.get("username") instanceof String s) {
+            return s;
+        }
+        return claims.getSubject();
+    }
+
+    public Long getDeptId() {
+        return toLong(claims.get("deptId"));
+    }
+
+    /**
+     * 构建 JwtUserDetails（用户ID、用户名规则同上）
+     */
+    public JwtUserDetails toUserDetails() {
+        JwtUserDetails details = JwtUserDetails.fromClaims(claims);
+        details.setUserId(getUserId());
+        details.setUsername(getUsername());
+        return details;
+    }
+
+    private static Long toLong(Object value) {
+        if (value instanceof Integer i) {
+            return i.longValue();
+        } else if (value instanceof Long l) {
+            return l;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        // 不输出原始 Token
+        return "ParsedToken{subject=" + getSubject() + ", jti=" + getJti() + "}";
+    }
+}
@@ -0,0 +1,137 @@
+package com.basebackend.jwt;
+
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisCallback;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于 Redis 的吊销存储
+ * <p>
+ * 吊销记录：{@code jwt:blacklist:{jti}}，TTL = Token 剩余有效期（与旧版格式兼容，用于全量快照）。
+ * 变更流：{@code jwt:blacklist:stream}，字段 jti / exp，按近似 MAXLEN 裁剪。
+ */
+class RedisRevocationStore implements RevocationStore {
+
+    static final String KEY_PREFIX = "jwt:blacklist:";
+    static final String STREAM_KEY = "jwt:blacklist:stream";
+    private static final String VALUE = "1";
+    private static final String FIELD_JTI = "jti";
+    private static final String FIELD_EXP = "exp";
+    private static final int SCAN_BATCH = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final long streamMaxLength;
+
+    RedisRevocationStore(StringRedisTemplate redisTemplate, long streamMaxLength) {
+        this.redisTemplate = redisTemplate;
+        this.streamMaxLength = streamMaxLength;
+    }
+
+    @Override
+    public void publish(String jti, long expiresAt) {
+        long ttlMillis = expiresAt - System.currentTimeMillis();
+        redisTemplate.opsForValue().set(KEY_PREFIX + jti, VALUE, Duration.ofMillis(ttlMillis));
+        redisTemplate.opsForStream().add(StreamRecords.string(
+                Map.of(FIELD_JTI, jti, FIELD_EXP, String.valueOf(expiresAt))).withStreamKey(STREAM_KEY));
+        redisTemplate.opsForStream().trim(STREAM_KEY, streamMaxLength, true);
+    }
+
+    @Override
+    public boolean contains(String jti) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + jti));
+    }
+
+    @Override
+    public Map<String, Long> loadAll() {
+        Map<String, Long> snapshot = new HashMap<>();
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_BATCH).build();
+        List<String> batch = new ArrayList<>(SCAN_BATCH);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                if (!STREAM_KEY.equals(key)) {
+                    batch.add(key);
+                }
+                if (batch.size() == SCAN_BATCH) {
+                    loadTtls(batch, snapshot);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            loadTtls(batch, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 管道批量读取剩余 TTL，换算为过期时间戳
+     */
+    private void loadTtls(List<String> keys, Map<String, Long> snapshot) {
+        long now = System.currentTimeMillis();
+        List<Object> ttls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        for (int i = 0; i < keys.size(); i++) {
+            if (ttls.get(i) instanceof Long ttl && ttl > 0) {
+                snapshot.put(keys.get(i).substring(KEY_PREFIX.length()), now + ttl);
+            }
+        }
+    }
+
+    @Override
+    public String latestOffset() {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .reverseRange(STREAM_KEY, Range.unbounded(), Limit.limit().count(1));
+        return records == null || records.isEmpty() ? INITIAL_OFFSET : records.getFirst().getId().getValue();
+    }
+
+    @Override
+    public String earliestOffset() {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(STREAM_KEY, Range.unbounded(), Limit.limit().count(1));
+        return records == null || records.isEmpty() ? null : records.getFirst().getId().getValue();
+    }
+
+    @Override
+    public List<RevocationEvent> readAfter(String offset, int count) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                StreamReadOptions.empty().count(count),
+                StreamOffset.create(STREAM_KEY, ReadOffset.from(offset)));
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+        List<RevocationEvent> events = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            Object jti = record.getValue().get(FIELD_JTI);
+            Object exp = record.getValue().get(FIELD_EXP);
+            long expiresAt = 0;
+            try {
+                expiresAt = exp != null ? Long.parseLong(exp.toString()) : 0;
+            } catch (NumberFormatException ignored) {
+                // 格式错误的事件保留偏移量、不应用
+            }
+            events.add(new RevocationEvent(record.getId().getValue(),
+                    jti != null ? jti.toString() : null, expiresAt));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,165 @@
+package com.basebackend.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 本地吊销索引：布隆过滤器 + 精确表
+ * <p>
+ * 绝大多数请求携带的是未吊销的 Token，布隆过滤器先行判定"一定不在"，
+ * 只有可能命中时才查询精确表（jti -> 过期时间戳）。精确表条目在 Token 过期后失效，
+ * 布隆过滤器无法删除，在 {@link #purgeExpired(long)} 时按存活条目重建。
+ * <p>
+ * 读路径无锁；写入与重建串行化，保证重建期间的新增不会丢失。
+ */
+final class RevocationIndex {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    private final Map<String, Long> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloom;
+
+    RevocationIndex(int expectedEntries) {
+        this.bloom = new BloomFilter(Math.max(MIN_CAPACITY, expectedEntries));
+    }
+
+    synchronized void add(String jti, long expiresAt) {
+        entries.merge(jti, expiresAt, Math::max);
+        if (entries.size() > bloom.capacity()) {
+            rebuild(bloom.capacity() * 2);
+        } else {
+            bloom.put(jti);
+        }
+    }
+
+    synchronized void addAll(Map<String, Long> snapshot) {
+        snapshot.forEach((jti, expiresAt) -> entries.merge(jti, expiresAt, Math::max));
+        if (entries.size() > bloom.capacity()) {
+            rebuild(entries.size() * 2);
+        } else {
+            snapshot.keySet().forEach(bloom::put);
+        }
+    }
+
+    boolean contains(String jti, long now) {
+        if (!bloom.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = entries.get(jti);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (now > expiresAt) {
+            entries.remove(jti, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 清除已过期条目并重建布隆过滤器
+     *
+     * @return 清除的条目数
+     */
+    synchronized int purgeExpired(long now) {
+        int removed = 0;
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (now > it.next().getValue()) {
+                it.remove();
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            rebuild(Math.max(MIN_CAPACITY, Math.max(bloom.capacity() / 2, entries.size() * 2)));
+        }
+        return removed;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void rebuild(int capacity) {
+        BloomFilter rebuilt = new BloomFilter(capacity);
+        entries.keySet().forEach(rebuilt::put);
+        bloom = rebuilt;
+    }
+
+    /**
+     * 定长布隆过滤器（约 1% 误判率，7 个哈希函数，双重哈希）
+     */
+    static final class BloomFilter {
+
+        private static final int HASH_FUNCTIONS = 7;
+        /** 每个元素约 9.6 bit 对应 1% 误判率 */
+        private static final int BITS_PER_ENTRY = 10;
+
+        private final int capacity;
+        private final long bitCount;
+        private final AtomicLongArray words;
+
+        BloomFilter(int capacity) {
+            this.capacity = capacity;
+            this.bitCount = (long) capacity * BITS_PER_ENTRY;
+            this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        }
+
+        int capacity() {
+            return capacity;
+        }
+
+        void put(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+                long bit = index(h1 + i * h2);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= HASH_FUNCTIONS; i++) {
+                long bit = index(h1 + i * h2);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long index(int combined) {
+            return (combined & 0x7FFFFFFFL) % bitCount;
+        }
+
+        /**
+         * FNV-1a 64 位哈希 + 末尾混淆
+         */
+        private static long hash64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.basebackend.jwt;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 吊销列表的共享存储 — 持久化吊销记录并提供按偏移量续读的变更流
+ * <p>
+ * 生产实现为 {@link RedisRevocationStore}（key + Stream），测试可替换为内存实现。
+ * 偏移量格式与 Redis Stream ID 一致：{@code <毫秒>-<序号>}，空流为 {@value #INITIAL_OFFSET}。
+ */
+interface RevocationStore {
+
+    String INITIAL_OFFSET = "0-0";
+
+    /**
+     * 写入吊销记录（TTL = Token 剩余有效期）并追加一条变更事件
+     */
+    void publish(String jti, long expiresAt);
+
+    /**
+     * 直接查询共享存储（本地副本未就绪时使用）
+     */
+    boolean contains(String jti);
+
+    /**
+     * 全量快照：jti -> 过期时间戳（毫秒）
+     */
+    Map<String, Long> loadAll();
+
+    /**
+     * 变更流中最新事件的偏移量，空流返回 {@value #INITIAL_OFFSET}
+     */
+    String latestOffset();
+
+    /**
+     * 变更流中仍保留的最早事件偏移量，空流返回 null
+     */
+    String earliestOffset();
+
+    /**
+     * 读取偏移量之后的事件（不含该偏移量）
+     */
+    List<RevocationEvent> readAfter(String offset, int count);
+
+    /**
+     * 吊销事件
+     *
+     * @param offset    事件偏移量
+     * @param jti       JWT ID
+     * @param expiresAt Token 过期时间戳（毫秒）
+     */
+    record RevocationEvent(String offset, String jti, long expiresAt) {
+    }
+
+    /**
+     * 比较两个偏移量的先后
+     */
+    static int compareOffsets(String a, String b) {
+        int dashA = a.indexOf('-');
+        int dashB = b.indexOf('-');
+        int result = Long.compare(Long.parseLong(a.substring(0, dashA)), Long.parseLong(b.substring(0, dashB)));
+        if (result != 0) {
+            return result;
+        }
+        return Long.compare(Long.parseLong(a.substring(dashA + 1)), Long.parseLong(b.substring(dashB + 1)));
+    }
+}
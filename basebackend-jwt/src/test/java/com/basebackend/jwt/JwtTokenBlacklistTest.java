@@ -0,0 +1,225 @@
+package com.basebackend.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JwtTokenBlacklist 本地副本测试
+ * <p>
+ * 使用内存版 Redis 替身（key + TTL、带裁剪的 Stream），由测试显式驱动同步轮次。
+ */
+@DisplayName("JwtTokenBlacklist 本地副本测试")
+class JwtTokenBlacklistTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private InMemoryRevocationStore redis;
+    private JwtProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemoryRevocationStore();
+        properties = new JwtProperties();
+        properties.setRevocationResyncInterval(0);
+    }
+
+    private JwtTokenBlacklist node() {
+        return new JwtTokenBlacklist(redis, properties, false);
+    }
+
+    @Test
+    @DisplayName("启动时全量加载，之后吊销检查不访问 Redis")
+    void shouldBootstrapAndCheckLocally() {
+        long exp = System.currentTimeMillis() + HOUR;
+        node().revoke("jti-1", exp);
+
+        JwtTokenBlacklist nodeB = node();
+        nodeB.sync();
+        int lookups = redis.containsCalls.get();
+
+        assertThat(nodeB.isReplicaReady()).isTrue();
+        assertThat(nodeB.isRevoked("jti-1")).isTrue();
+        assertThat(nodeB.isRevoked("jti-2")).isFalse();
+        assertThat(redis.containsCalls.get()).isEqualTo(lookups);
+    }
+
+    @Test
+    @DisplayName("其他节点的吊销通过事件流同步")
+    void shouldApplyRemoteRevocations() {
+        JwtTokenBlacklist nodeA = node();
+        JwtTokenBlacklist nodeB = node();
+        nodeB.sync();
+
+        nodeA.revoke("jti-remote", System.currentTimeMillis() + HOUR);
+        assertThat(nodeB.isRevoked("jti-remote")).isFalse();
+
+        nodeB.sync();
+        assertThat(nodeB.isRevoked("jti-remote")).isTrue();
+    }
+
+    @Test
+    @DisplayName("事件流被裁剪导致漏读时全量重新同步后收敛")
+    void shouldConvergeAfterMissedEvents() {
+        JwtTokenBlacklist nodeA = node();
+        JwtTokenBlacklist nodeB = node();
+        nodeA.revoke("jti-0", System.currentTimeMillis() + HOUR);
+        nodeB.sync();
+
+        // 节点 B 离线期间发生大量吊销，事件流只保留最后 2 条
+        for (int i = 1; i <= 10; i++) {
+            nodeA.revoke("jti-" + i, System.currentTimeMillis() + HOUR);
+        }
+        redis.trimTo(2);
+
+        nodeB.sync();
+
+        for (int i = 0; i <= 10; i++) {
+            assertThat(nodeB.isRevoked("jti-" + i)).as("jti-" + i).isTrue();
+        }
+        assertThat(redis.loadAllCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Redis 不可用时本地吊销仍生效，恢复后继续同步")
+    void shouldSurviveStoreOutage() {
+        JwtTokenBlacklist nodeA = node();
+        JwtTokenBlacklist nodeB = node();
+        nodeB.sync();
+
+        redis.failing = true;
+        nodeA.revoke("jti-local", System.currentTimeMillis() + HOUR);
+        assertThat(nodeA.isRevoked("jti-local")).isTrue();
+
+        redis.failing = false;
+        nodeA.revoke("jti-after", System.currentTimeMillis() + HOUR);
+        nodeB.sync();
+        assertThat(nodeB.isRevoked("jti-after")).isTrue();
+    }
+
+    @Test
+    @DisplayName("过期条目不再视为吊销")
+    void expiredEntriesShouldNotBeRevoked() {
+        JwtTokenBlacklist nodeB = node();
+        nodeB.sync();
+        redis.appendEvent("jti-old", System.currentTimeMillis() - 1);
+
+        nodeB.sync();
+
+        assertThat(nodeB.isRevoked("jti-old")).isFalse();
+    }
+
+    @Test
+    @DisplayName("布隆过滤器无漏判")
+    void bloomFilterShouldHaveNoFalseNegatives() {
+        RevocationIndex.BloomFilter bloom = new RevocationIndex.BloomFilter(1024);
+        for (int i = 0; i < 1024; i++) {
+            bloom.put("token-" + i);
+        }
+        for (int i = 0; i < 1024; i++) {
+            assertThat(bloom.mightContain("token-" + i)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloom.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    /**
+     * 内存版 Redis 替身：吊销 key（带过期时间）+ 可裁剪的事件流
+     */
+    static class InMemoryRevocationStore implements RevocationStore {
+
+        private final Map<String, Long> keys = new ConcurrentHashMap<>();
+        private final TreeMap<Long, RevocationEvent> stream = new TreeMap<>();
+        private long sequence;
+        volatile boolean failing;
+        final AtomicInteger containsCalls = new AtomicInteger();
+        final AtomicInteger loadAllCalls = new AtomicInteger();
+
+        @Override
+        public synchronized void publish(String jti, long expiresAt) {
+            checkAvailable();
+            keys.put(jti, expiresAt);
+            appendEvent(jti, expiresAt);
+        }
+
+        synchronized void appendEvent(String jti, long expiresAt) {
+            sequence++;
+            stream.put(sequence, new RevocationEvent(sequence + "-0", jti, expiresAt));
+        }
+
+        synchronized void trimTo(int maxLength) {
+            while (stream.size() > maxLength) {
+                stream.pollFirstEntry();
+            }
+        }
+
+        @Override
+        public boolean contains(String jti) {
+            checkAvailable();
+            containsCalls.incrementAndGet();
+            Long expiresAt = keys.get(jti);
+            return expiresAt != null && expiresAt > System.currentTimeMillis();
+        }
+
+        @Override
+        public Map<String, Long> loadAll() {
+            checkAvailable();
+            loadAllCalls.incrementAndGet();
+            long now = System.currentTimeMillis();
+            Map<String, Long> snapshot = new HashMap<>();
+            keys.forEach((jti, exp) -> {
+                if (exp > now) {
+                    snapshot.put(jti, exp);
+                }
+            });
+            return snapshot;
+        }
+
+        @Override
+        public synchronized String latestOffset() {
+            checkAvailable();
+            return stream.isEmpty() ? INITIAL_OFFSET : stream.lastEntry().getValue().offset();
+        }
+
+        @Override
+        public synchronized String earliestOffset() {
+            checkAvailable();
+            return stream.isEmpty() ? null : stream.firstEntry().getValue().offset();
+        }
+
+        @Override
+        public synchronized List<RevocationEvent> readAfter(String offset, int count) {
+            checkAvailable();
+            long after = Long.parseLong(offset.substring(0, offset.indexOf('-')));
+            List<RevocationEvent> events = new ArrayList<>();
+            for (RevocationEvent event : stream.tailMap(after, false).values()) {
+                if (events.size() == count) {
+                    break;
+                }
+                events.add(event);
+            }
+            return events;
+        }
+
+        private void checkAvailable() {
+            if (failing) {
+                throw new IllegalStateException("redis unavailable");
+            }
+        }
+    }
+}
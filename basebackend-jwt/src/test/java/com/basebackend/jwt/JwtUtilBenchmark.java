@@ -0,0 +1,91 @@
+package com.basebackend.jwt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单次认证请求的 Token 解析开销基准
+ * <p>
+ * 一次认证请求的典型调用序列为 validateToken + getUserId/getUsername/getDeptId：
+ * <ul>
+ *     <li>{@code uncachedRequest}：关闭验签缓存，每次调用都验签，共 4 次 HMAC + JSON 解码</li>
+ *     <li>{@code cachedRequest}：相同调用序列，验签缓存命中后 0 次验签</li>
+ *     <li>{@code parsedTokenRequest}：parseToken 一次，字段直接从 {@link ParsedToken} 读取</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-must-be-at-least-256-bits-long!!";
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = create(false);
+        cached = create(true);
+        token = cached.generateAccessToken("10086",
+                Map.of("userId", 10086L, "username", "benchmark", "deptId", 7L));
+    }
+
+    private static JwtUtil create(boolean cacheEnabled) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAudience("benchmark");
+        properties.setClaimsCacheEnabled(cacheEnabled);
+        return new JwtUtil(properties, new JwtKeyManager(properties),
+                new JwtTokenBlacklist(null), null, null);
+    }
+
+    @Benchmark
+    public void uncachedRequest(Blackhole bh) {
+        bh.consume(uncached.validateToken(token));
+        bh.consume(uncached.getUserIdFromToken(token));
+        bh.consume(uncached.getUsernameFromToken(token));
+        bh.consume(uncached.getDeptIdFromToken(token));
+    }
+
+    @Benchmark
+    public void cachedRequest(Blackhole bh) {
+        bh.consume(cached.validateToken(token));
+        bh.consume(cached.getUserIdFromToken(token));
+        bh.consume(cached.getUsernameFromToken(token));
+        bh.consume(cached.getDeptIdFromToken(token));
+    }
+
+    @Benchmark
+    public void parsedTokenRequest(Blackhole bh) {
+        ParsedToken parsed = cached.parseToken(token);
+        bh.consume(parsed.getUserId());
+        bh.consume(parsed.getUsername());
+        bh.consume(parsed.getDeptId());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
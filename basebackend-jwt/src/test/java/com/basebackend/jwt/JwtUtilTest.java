@@ -926,4 +926,62 @@ class JwtUtilTest {
                     });
         }
     }
+
+    @Nested
+    @DisplayName("验签缓存测试")
+    class ClaimsCacheTest {
+
+        @Test
+        @DisplayName("同一 Token 重复解析复用已验签的 claims")
+        void shouldReuseVerifiedClaims() {
+            String token = jwtUtil.generateAccessToken("1", Map.of("userId", 1L, "deptId", 3L));
+
+            ParsedToken first = jwtUtil.parseToken(token);
+            ParsedToken second = jwtUtil.parseToken(token);
+
+            assertThat(second.getClaims()).isSameAs(first.getClaims());
+            assertThat(second.getUserId()).isEqualTo(1L);
+            assertThat(second.getDeptId()).isEqualTo(3L);
+            assertThat(second.getTokenType()).isEqualTo(JwtUtil.TOKEN_TYPE_ACCESS);
+        }
+
+        @Test
+        @DisplayName("缓存命中后吊销仍即时生效")
+        void revokedTokenShouldBeRejectedDespiteCache() {
+            String token = jwtUtil.generateToken("user1");
+            jwtUtil.parseToken(token);
+
+            jwtUtil.revokeToken(token);
+
+            assertThat(jwtUtil.tryParseToken(token)).isNull();
+            assertThat(jwtUtil.isTokenRevoked(token)).isTrue();
+        }
+
+        @Test
+        @DisplayName("密钥轮换后清空缓存，停用密钥签发的 Token 不再通过")
+        void keyRotationShouldFlushCache() {
+            String token = jwtUtil.generateToken("user1");
+            Claims before = jwtUtil.parseToken(token).getClaims();
+
+            keyManager.rotateKey("k2", "rotated-secret-key-for-jwt-unit-tests-must-be-256-bits!!");
+            assertThat(jwtUtil.parseToken(token).getClaims()).isNotSameAs(before);
+
+            keyManager.retireKey(JwtKeyManager.DEFAULT_KID);
+            assertThatThrownBy(() -> jwtUtil.parseToken(token))
+                    .isInstanceOf(JwtException.class)
+                    .satisfies(e -> assertThat(((JwtException) e).getErrorType())
+                            .isEqualTo(JwtException.ErrorType.INVALID_SIGNATURE));
+        }
+
+        @Test
+        @DisplayName("关闭缓存时每次重新验签")
+        void shouldVerifyEveryTimeWhenDisabled() {
+            jwtProperties.setClaimsCacheEnabled(false);
+            JwtUtil util = createJwtUtil(jwtProperties);
+            String token = util.generateToken("user1");
+
+            assertThat(util.parseToken(token).getClaims())
+                    .isNotSameAs(util.parseToken(token).getClaims());
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.basebackend.logging.masking;
 
+import com.basebackend.common.masking.engine.MaskingEngine;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -13,14 +14,13 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * PII数据脱敏核心服务
  *
  * 核心特性：
- * 1. 高性能脱敏：预编译正则 + 复用缓冲，处理时间<5ms
+ * 1. 高性能脱敏：全部正则规则编译为一个 MaskingEngine，单遍扫描，无命中时零分配返回原串
  * 2. 多维度匹配：支持正则表达式和JSON路径两种匹配方式
  * 3. 多种脱敏策略：掩码、部分、哈希、移除、自定义
  * 4. 嵌套对象支持：支持JSON对象的深度脱敏
@@ -48,11 +48,6 @@ public class PiiMaskingService {
         }
     });
 
-    /**
-     * 最大缓冲区大小（防止超大日志导致内存问题）
-     */
-    private static final int MAX_BUFFER = 8 * 1024;
-
     /**
      * 配置属性
      */
@@ -73,6 +68,11 @@ public class PiiMaskingService {
      */
     private volatile List<CompiledRule> compiledRules;
 
+    /**
+     * 正则规则编译后的单遍脱敏引擎，与 compiledRules 一同更新
+     */
+    private volatile MaskingEngine regexEngine;
+
     /**
      * 构造函数
      */
@@ -81,6 +81,7 @@ public class PiiMaskingService {
         this.metrics = metrics;
         this.mapper = mapper;
         this.compiledRules = compile(properties.getRules());
+        this.regexEngine = buildRegexEngine(compiledRules);
     }
 
     /**
@@ -152,7 +153,9 @@ public class PiiMaskingService {
      * 重新加载规则（支持热更新）
      */
     public void reloadRules(List<MaskingRule> rules) {
-        this.compiledRules = compile(rules);
+        List<CompiledRule> compiled = compile(rules);
+        this.regexEngine = buildRegexEngine(compiled);
+        this.compiledRules = compiled;
     }
 
     /**
@@ -181,26 +184,24 @@ public class PiiMaskingService {
     }
 
     /**
-     * 应用正则规则
+     * 构建正则规则的脱敏引擎，同一位置按规则配置顺序优先
      */
-    private String applyRegexRules(String input) {
-        String out = input;
-        for (CompiledRule rule : compiledRules) {
+    private MaskingEngine buildRegexEngine(List<CompiledRule> rules) {
+        MaskingEngine.Builder builder = MaskingEngine.builder();
+        for (CompiledRule rule : rules) {
             if (rule.pattern == null) {
                 continue;
             }
-            Matcher matcher = rule.pattern.matcher(out);
-            StringBuffer sb = new StringBuffer(Math.min(out.length(), MAX_BUFFER));
-            boolean found = false;
-            while (matcher.find()) {
-                found = true;
-                String masked = maskValue(matcher.group(), rule.rule);
-                matcher.appendReplacement(sb, Matcher.quoteReplacement(masked));
-            }
-            matcher.appendTail(sb);
-            out = found ? sb.toString() : out;
+            builder.rule(rule.rule.getName(), rule.pattern, match -> maskValue(match.group(), rule.rule));
         }
-        return out;
+        return builder.build();
+    }
+
+    /**
+     * 应用正则规则
+     */
+    private String applyRegexRules(String input) {
+        return regexEngine.mask(input);
     }
 
     /**
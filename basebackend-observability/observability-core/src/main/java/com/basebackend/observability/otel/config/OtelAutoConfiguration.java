@@ -112,7 +112,8 @@ public class OtelAutoConfiguration implements DisposableBean {
      * <ul>
      *     <li>如果存在自定义 Sampler Bean（如 SamplerConfiguration 创建的采样器链），则使用自定义采样器</li>
      *     <li>否则使用默认的 TraceIdRatioBased 采样器</li>
-     *     <li>注册所有可用的 SpanProcessor Bean（包括 BatchSpanProcessor 和 SamplingCountingSpanProcessor）</li>
+     *     <li>注册所有可用的 SpanProcessor Bean（如 SamplingCountingSpanProcessor、TailSamplingSpanProcessor），
+     *     再注册 BatchSpanProcessor</li>
      * </ul>
      * </p>
      */
@@ -150,7 +151,6 @@ public class OtelAutoConfiguration implements DisposableBean {
         // 构建 TracerProvider
         var builder = SdkTracerProvider.builder()
                 .setResource(resource)
-                .addSpanProcessor(batchSpanProcessor)  // 始终添加批量处理器
                 .setSampler(sampler);
 
         // 注册自定义 SpanProcessor Bean（如 SamplingCountingSpanProcessor）
@@ -161,6 +161,10 @@ public class OtelAutoConfiguration implements DisposableBean {
             }
         }
 
+        // 批量处理器最后注册：关闭时按注册顺序执行，尾部采样处理器共用同一个导出器，
+        // 必须在 BatchSpanProcessor 关闭导出器之前导出剩余的 trace
+        builder.addSpanProcessor(batchSpanProcessor);
+
         this.tracerProvider = builder.build();
 
         log.info("SdkTracerProvider 已创建，SpanProcessor 数量: {}",
@@ -3,18 +3,29 @@ package com.basebackend.observability.tracing.config;
 import com.basebackend.observability.tracing.sampler.DynamicSamplingManager;
 import com.basebackend.observability.tracing.sampler.ErrorBasedSampler;
 import com.basebackend.observability.tracing.sampler.LatencyAwareSampler;
+import com.basebackend.observability.tracing.sampler.RecordingSampler;
 import com.basebackend.observability.tracing.sampler.RuleBasedSampler;
 import com.basebackend.observability.tracing.sampler.SamplingCountingSpanProcessor;
+import com.basebackend.observability.tracing.sampler.TailSamplingSpanProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 import jakarta.annotation.PreDestroy;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -22,8 +33,9 @@ import java.util.function.Supplier;
  * <p>
  * 创建采样器链，按以下顺序组装：
  * <pre>
- * ErrorBasedSampler (如果启用)
- *   └─> LatencyAwareSampler (如果启用)
+ * RecordingSampler (如果启用尾部采样)
+ *   └─> ErrorBasedSampler (如果启用)
+ *     └─> LatencyAwareSampler (如果启用)
  *       └─> RuleBasedSampler (如果有规则)
  *           └─> DynamicSampler (如果启用动态采样)
  *               └─> TraceIdRatioBased (默认固定采样率)
@@ -69,6 +81,14 @@ import java.util.function.Supplier;
  *         max-rate: 1.0
  *         target-spans-per-minute: 1000
  *         adjust-interval: 30s
+ *       tail:
+ *         enabled: false              # 是否启用进程内尾部采样
+ *         decision-wait: 10s
+ *         max-buffered-spans: 50000
+ *         latency-threshold-ms: 1000
+ *         attribute-policies:
+ *           - key: http.route
+ *             value-pattern: "/api/pay/.*"
  * </pre>
  * </p>
  *
@@ -141,7 +161,12 @@ public class SamplerConfiguration {
         Supplier<Sampler> baseSamplerSupplier = createBaseSamplerSupplier(samplerProps, dynamicSamplingManager);
 
         // 第 4 层：规则采样器
-        Sampler sampler = new RuleBasedSampler(samplerProps, baseSamplerSupplier);
+        RuleBasedSampler ruleBasedSampler = new RuleBasedSampler(samplerProps, baseSamplerSupplier);
+        if (dynamicSamplingManager != null) {
+            // 动态下发的规则编译后原子替换规则采样器的决策树
+            dynamicSamplingManager.addRuleListener(ruleBasedSampler::updateRules);
+        }
+        Sampler sampler = ruleBasedSampler;
         log.info("已创建规则采样器: rules={}", samplerProps.getRules().size());
 
         // 第 3 层：延迟感知采样器
@@ -154,12 +179,18 @@ public class SamplerConfiguration {
             log.info("已创建延迟感知采样器: thresholdMs={}", samplerProps.getLatencyThresholdMs());
         }
 
-        // 第 2 层（最外层）：错误感知采样器
+        // 第 2 层：错误感知采样器
         if (samplerProps.isAlwaysSampleErrors()) {
             sampler = new ErrorBasedSampler(true, sampler);
             log.info("已创建错误感知采样器");
         }
 
+        // 第 1 层（最外层）：尾部采样需要头部未选中的 Span 也被记录
+        if (samplerProps.getTail().isEnabled()) {
+            sampler = new RecordingSampler(sampler);
+            log.info("已启用尾部采样，头部未选中的 Span 以 RECORD_ONLY 记录");
+        }
+
         log.info("采样器链创建完成: {}", sampler.getDescription());
         return sampler;
     }
@@ -219,4 +250,68 @@ public class SamplerConfiguration {
         log.info("创建采样计数 SpanProcessor");
         return new SamplingCountingSpanProcessor(dynamicSamplingManager);
     }
+
+    /**
+     * 创建尾部采样 SpanProcessor（仅在启用尾部采样时）
+     * <p>
+     * 与 BatchSpanProcessor 共用同一个 SpanExporter，只导出头部未采样但被尾部策略保留的 trace。
+     * 同样由 {@link com.basebackend.observability.otel.config.OtelAutoConfiguration} 注册到 SdkTracerProvider，
+     * 且先于 BatchSpanProcessor 注册，关闭时剩余的 trace 能在导出器关闭前导出。
+     * </p>
+     *
+     * @param spanExporter           Span 导出器
+     * @param dynamicSamplingManager 动态采样管理器（可能为 null）
+     * @param meterRegistry          指标注册表（可能为 null）
+     * @return TailSamplingSpanProcessor 实例
+     */
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "observability.tracing.sampler.tail",
+            name = "enabled",
+            havingValue = "true"
+    )
+    public SpanProcessor tailSamplingSpanProcessor(
+            SpanExporter spanExporter,
+            @org.springframework.beans.factory.annotation.Autowired(required = false)
+            DynamicSamplingManager dynamicSamplingManager,
+            @org.springframework.beans.factory.annotation.Autowired(required = false)
+            MeterRegistry meterRegistry) {
+        log.info("创建尾部采样 SpanProcessor");
+        return new TailSamplingSpanProcessor(tracingProperties.getSampler().getTail(), spanExporter,
+                dynamicSamplingManager, meterRegistry);
+    }
+
+    /**
+     * 配置刷新时重新下发采样规则（仅在引入 Spring Cloud Context 且启用动态采样时）
+     * <p>
+     * 配置中心变更触发刷新后会发布 {@link EnvironmentChangeEvent}；变更的 key 涉及采样规则时，
+     * 从 Environment 重新绑定规则并经 {@link DynamicSamplingManager#updateRules(List)} 推给规则采样器。
+     * 规则直接从 Environment 绑定，不依赖 {@link TracingProperties} 与本监听器的重绑定先后顺序。
+     * </p>
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.cloud.context.environment.EnvironmentChangeEvent")
+    @ConditionalOnProperty(
+            prefix = "observability.tracing.sampler.dynamic",
+            name = "enabled",
+            havingValue = "true"
+    )
+    static class SamplingRuleRefreshConfiguration {
+
+        private static final String RULES_PREFIX = "observability.tracing.sampler.rules";
+
+        @Bean
+        public ApplicationListener<EnvironmentChangeEvent> samplingRuleRefreshListener(
+                DynamicSamplingManager dynamicSamplingManager, Environment environment) {
+            return event -> {
+                if (event.getKeys().stream().noneMatch(key -> key.startsWith(RULES_PREFIX))) {
+                    return;
+                }
+                List<TracingProperties.Sampler.SamplingRule> rules = Binder.get(environment)
+                        .bind(RULES_PREFIX, Bindable.listOf(TracingProperties.Sampler.SamplingRule.class))
+                        .orElseGet(List::of);
+                dynamicSamplingManager.updateRules(rules);
+            };
+        }
+    }
 }
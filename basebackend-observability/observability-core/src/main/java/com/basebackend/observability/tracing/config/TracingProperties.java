@@ -269,6 +269,12 @@ public class TracingProperties {
         @Valid
         private Dynamic dynamic = new Dynamic();
 
+        /**
+         * 尾部采样配置
+         */
+        @Valid
+        private Tail tail = new Tail();
+
         public double getDefaultRate() {
             return defaultRate;
         }
@@ -317,6 +323,14 @@ public class TracingProperties {
             this.dynamic = dynamic;
         }
 
+        public Tail getTail() {
+            return tail;
+        }
+
+        public void setTail(Tail tail) {
+            this.tail = tail;
+        }
+
         /**
          * 采样规则
          * <p>
@@ -499,6 +513,159 @@ public class TracingProperties {
                 this.adjustInterval = adjustInterval;
             }
         }
+
+        /**
+         * 尾部采样配置
+         * <p>
+         * 头部采样未选中的 Span 先按 traceId 缓存在进程内，窗口结束后按整条 trace 的
+         * 错误、延迟、属性策略决定是否导出。头部已采样的 trace 照常由批量处理器导出，不受影响。
+         * </p>
+         */
+        public static class Tail {
+
+            /**
+             * 是否启用尾部采样
+             * <p>
+             * 启用后头部采样未选中的 Span 也会被记录（RECORD_ONLY），有额外的 CPU 与内存开销。
+             * </p>
+             */
+            private boolean enabled = false;
+
+            /**
+             * 决策等待窗口
+             * <p>
+             * trace 的第一个 Span 结束后等待多久再做决策，应覆盖绝大多数请求的完整耗时。
+             * </p>
+             */
+            private Duration decisionWait = Duration.ofSeconds(10);
+
+            /**
+             * 缓存的最大 Span 数
+             * <p>
+             * 超出后淘汰最早的 trace（不导出），并计入淘汰指标。
+             * </p>
+             */
+            @Min(1)
+            private int maxBufferedSpans = 50_000;
+
+            /**
+             * 单个 trace 最多缓存的 Span 数，超出的 Span 直接丢弃
+             */
+            @Min(1)
+            private int maxSpansPerTrace = 1_000;
+
+            /**
+             * 是否保留包含错误 Span 的 trace
+             */
+            private boolean keepErrors = true;
+
+            /**
+             * 延迟阈值（毫秒）
+             * <p>
+             * trace 中任一 Span 耗时达到阈值即保留；0 表示不按延迟保留。
+             * </p>
+             */
+            @Min(0)
+            private long latencyThresholdMs = 1000;
+
+            /**
+             * 属性策略：trace 中任一 Span 的属性命中任一策略即保留
+             */
+            @Valid
+            private List<AttributePolicy> attributePolicies = new ArrayList<>();
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getDecisionWait() {
+                return decisionWait;
+            }
+
+            public void setDecisionWait(Duration decisionWait) {
+                this.decisionWait = decisionWait;
+            }
+
+            public int getMaxBufferedSpans() {
+                return maxBufferedSpans;
+            }
+
+            public void setMaxBufferedSpans(int maxBufferedSpans) {
+                this.maxBufferedSpans = maxBufferedSpans;
+            }
+
+            public int getMaxSpansPerTrace() {
+                return maxSpansPerTrace;
+            }
+
+            public void setMaxSpansPerTrace(int maxSpansPerTrace) {
+                this.maxSpansPerTrace = maxSpansPerTrace;
+            }
+
+            public boolean isKeepErrors() {
+                return keepErrors;
+            }
+
+            public void setKeepErrors(boolean keepErrors) {
+                this.keepErrors = keepErrors;
+            }
+
+            public long getLatencyThresholdMs() {
+                return latencyThresholdMs;
+            }
+
+            public void setLatencyThresholdMs(long latencyThresholdMs) {
+                this.latencyThresholdMs = latencyThresholdMs;
+            }
+
+            public List<AttributePolicy> getAttributePolicies() {
+                return attributePolicies;
+            }
+
+            public void setAttributePolicies(List<AttributePolicy> attributePolicies) {
+                this.attributePolicies = (attributePolicies == null) ? new ArrayList<>() : new ArrayList<>(attributePolicies);
+            }
+
+            /**
+             * 属性策略
+             * <p>
+             * 示例：{@code key: http.route, value-pattern: "/api/pay/.*"}；
+             * 不配置 valuePattern 时只要求属性存在。
+             * </p>
+             */
+            public static class AttributePolicy {
+
+                /**
+                 * 属性键
+                 */
+                private String key;
+
+                /**
+                 * 属性值正则（对属性值的字符串形式做完整匹配）
+                 */
+                private String valuePattern;
+
+                public String getKey() {
+                    return key;
+                }
+
+                public void setKey(String key) {
+                    this.key = key;
+                }
+
+                public String getValuePattern() {
+                    return valuePattern;
+                }
+
+                public void setValuePattern(String valuePattern) {
+                    this.valuePattern = valuePattern;
+                }
+            }
+        }
     }
 
     /**
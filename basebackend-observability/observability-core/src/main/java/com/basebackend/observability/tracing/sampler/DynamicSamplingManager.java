@@ -6,11 +6,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * 动态采样管理器
@@ -26,6 +31,7 @@ import java.util.concurrent.atomic.AtomicReference;
  *     <li><b>平滑调整</b>：使用比例调整算法，避免剧烈波动</li>
  *     <li><b>线程安全</b>：使用 AtomicReference 实现无锁采样器切换</li>
  *     <li><b>资源管理</b>：支持优雅关闭，释放后台线程</li>
+ *     <li><b>规则下发</b>：{@link #updateRules(List)} 把新规则推给已注册的监听器（如 {@link RuleBasedSampler#updateRules(List)}），配置刷新时自动触发</li>
  * </ul>
  * </p>
  * <p>
@@ -84,6 +90,8 @@ public final class DynamicSamplingManager {
     private final AtomicReference<Sampler> currentSampler;
     private final AtomicLong spanCount = new AtomicLong(0);
     private volatile long lastAdjustmentTime = System.currentTimeMillis();
+    private final List<Consumer<List<TracingProperties.Sampler.SamplingRule>>> ruleListeners =
+            new CopyOnWriteArrayList<>();
 
     private ScheduledExecutorService scheduler;
     private volatile boolean started = false;
@@ -196,6 +204,40 @@ public final class DynamicSamplingManager {
         spanCount.incrementAndGet();
     }
 
+    /**
+     * 注册采样规则监听器
+     *
+     * @param listener 规则更新时回调，参数为新规则的不可变副本
+     */
+    public void addRuleListener(Consumer<List<TracingProperties.Sampler.SamplingRule>> listener) {
+        ruleListeners.add(listener);
+    }
+
+    /**
+     * 下发新的采样规则
+     * <p>
+     * 依次通知已注册的监听器；单个监听器编译规则失败（如正则非法）时记录错误并保留其原规则，
+     * 不影响其余监听器。
+     * </p>
+     *
+     * @param rules 新的采样规则列表
+     */
+    public void updateRules(List<TracingProperties.Sampler.SamplingRule> rules) {
+        List<TracingProperties.Sampler.SamplingRule> snapshot = (rules == null)
+                ? List.of()
+                : Collections.unmodifiableList(new ArrayList<>(rules));
+        int failed = 0;
+        for (Consumer<List<TracingProperties.Sampler.SamplingRule>> listener : ruleListeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (RuntimeException ex) {
+                failed++;
+                log.error("采样规则监听器处理失败，保留原规则: listener={}", listener, ex);
+            }
+        }
+        log.info("采样规则已下发: rules={}, listeners={}, failed={}", snapshot.size(), ruleListeners.size(), failed);
+    }
+
     /**
      * 调整采样率（后台线程调用）
      * <p>
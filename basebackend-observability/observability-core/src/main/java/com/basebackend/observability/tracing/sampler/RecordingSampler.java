@@ -0,0 +1,57 @@
+package com.basebackend.observability.tracing.sampler;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 尾部采样的头部配合采样器
+ * <p>
+ * 把委托采样器的 {@code DROP} 决策改为 {@code RECORD_ONLY}：Span 不设置采样标志、不会被
+ * BatchSpanProcessor 导出，但仍然被记录并交给 {@link TailSamplingSpanProcessor}，由其在 trace
+ * 结束后决定是否补充导出。{@code RECORD_AND_SAMPLE} 原样返回。
+ * </p>
+ * <p>
+ * 装饰器模式：作为采样器链的最外层使用。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public final class RecordingSampler implements Sampler {
+
+    private final Sampler delegate;
+
+    /**
+     * 构造函数
+     *
+     * @param delegate 委托采样器
+     */
+    public RecordingSampler(Sampler delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        SamplingResult result = delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+        if (result.getDecision() != SamplingDecision.DROP) {
+            return result;
+        }
+        return result.getAttributes().isEmpty()
+                ? SamplingResult.recordOnly()
+                : SamplingResult.create(SamplingDecision.RECORD_ONLY, result.getAttributes());
+    }
+
+    @Override
+    public String getDescription() {
+        return "RecordingSampler{" + delegate.getDescription() + "}";
+    }
+}
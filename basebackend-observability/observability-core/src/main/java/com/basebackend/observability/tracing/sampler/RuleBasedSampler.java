@@ -10,16 +10,14 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
-import java.util.regex.Pattern;
 
 /**
  * 基于 URL/方法/用户规则的采样器（head-sampling）
@@ -32,8 +30,9 @@ import java.util.regex.Pattern;
  * <ul>
  *     <li><b>规则匹配</b>：支持 URL 模式、HTTP 方法、用户 ID 模式的组合匹配</li>
  *     <li><b>父级尊重</b>：已采样的父 Span 强制采样，未采样的父 Span 直接丢弃（保持 trace 一致性）</li>
- *     <li><b>性能优化</b>：正则表达式预编译、采样器缓存</li>
- *     <li><b>动态支持</b>：支持动态采样率提供者</li>
+ *     <li><b>性能优化</b>：规则编译为 {@link SamplingRuleTree}，精确路径查表、正则只作回退，
+ *     路由模板的决策有界缓存；相同采样率共享采样器</li>
+ *     <li><b>动态支持</b>：支持动态采样率提供者；{@link #updateRules(List)} 原子替换决策树</li>
  * </ul>
  * </p>
  * <p>
@@ -59,6 +58,8 @@ import java.util.regex.Pattern;
  */
 public final class RuleBasedSampler implements Sampler {
 
+    private static final Logger log = LoggerFactory.getLogger(RuleBasedSampler.class);
+
     // OpenTelemetry 语义约定属性键
     private static final AttributeKey<String> HTTP_METHOD = AttributeKey.stringKey("http.method");
     private static final AttributeKey<String> HTTP_ROUTE = AttributeKey.stringKey("http.route");
@@ -67,9 +68,9 @@ public final class RuleBasedSampler implements Sampler {
     private static final AttributeKey<String> USER_ID = AttributeKey.stringKey("user.id");
     private static final AttributeKey<String> ENDUSER_ID = AttributeKey.stringKey("enduser.id");
 
-    private final List<CompiledRule> compiledRules;
     private final Supplier<Sampler> defaultSamplerSupplier;
     private final Map<Double, Sampler> ratioSamplers = new ConcurrentHashMap<>();
+    private volatile SamplingRuleTree ruleTree;
 
     /**
      * 构造函数
@@ -79,7 +80,7 @@ public final class RuleBasedSampler implements Sampler {
      */
     public RuleBasedSampler(TracingProperties.Sampler samplerProps, Supplier<Sampler> defaultSamplerSupplier) {
         this.defaultSamplerSupplier = Objects.requireNonNull(defaultSamplerSupplier, "defaultSamplerSupplier");
-        this.compiledRules = compileRules(samplerProps.getRules());
+        this.ruleTree = compileRules(samplerProps.getRules());
         // 预热默认采样率，避免首次请求时创建 Sampler
         ratioSamplers.computeIfAbsent(samplerProps.getDefaultRate(), Sampler::traceIdRatioBased);
     }
@@ -95,39 +96,61 @@ public final class RuleBasedSampler implements Sampler {
         }
 
         // 查找匹配的规则
-        CompiledRule rule = findMatchingRule(name, attributes);
-        Sampler sampler = (rule != null) ? rule.sampler : defaultSamplerSupplier.get();
+        Sampler sampler = findMatchingSampler(name, attributes);
+        if (sampler == null) {
+            sampler = defaultSamplerSupplier.get();
+        }
         return sampler.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
     }
 
     @Override
     public String getDescription() {
-        return "RuleBasedSampler{rules=" + compiledRules.size() + "}";
+        return "RuleBasedSampler{rules=" + ruleTree.size() + "}";
+    }
+
+    /**
+     * 替换采样规则
+     * <p>
+     * 新规则先完整编译，再一次性替换决策树（连同其决策缓存）；
+     * 正在采样的线程要么看到旧树、要么看到新树，不会看到部分更新的规则。
+     * </p>
+     *
+     * @param rules 新的采样规则列表
+     * @throws java.util.regex.PatternSyntaxException 规则中的正则非法，此时保留原规则
+     */
+    public void updateRules(List<TracingProperties.Sampler.SamplingRule> rules) {
+        SamplingRuleTree tree = compileRules(rules);
+        this.ruleTree = tree;
+        log.info("采样规则已更新: {}", tree);
     }
 
     /**
-     * 查找第一个匹配的规则
+     * 查找第一个匹配规则的采样器
      *
      * @param name       Span 名称
      * @param attributes Span 属性
-     * @return 匹配的规则，如果没有匹配则返回 null
+     * @return 匹配规则的采样器，如果没有匹配则返回 null
      */
-    private CompiledRule findMatchingRule(String name, Attributes attributes) {
+    private Sampler findMatchingSampler(String name, Attributes attributes) {
+        SamplingRuleTree tree = this.ruleTree;
+        if (tree.size() == 0) {
+            return null;
+        }
         String method = attributes.get(HTTP_METHOD);
-        String path = resolvePath(attributes, name);
         String userId = resolveUserId(attributes);
-        for (CompiledRule rule : compiledRules) {
-            if (rule.matches(method, path, userId)) {
-                return rule;
-            }
+        // 路由模板是低基数的，可以使用决策缓存
+        String route = attributes.get(HTTP_ROUTE);
+        if (route != null && !route.isEmpty()) {
+            return tree.find(method, route, userId, true);
         }
-        return null;
+        String path = resolvePath(attributes, name);
+        return tree.find(method, path, userId, path == null);
     }
 
     /**
-     * 解析 HTTP 路径
+     * 解析 HTTP 路径（没有 http.route 时）
      * <p>
-     * 优先级：http.route > http.target > http.url > Span 名称兜底
+     * 优先级：http.target > http.url > Span 名称兜底
      * </p>
      *
      * @param attributes Span 属性
@@ -135,12 +158,7 @@ public final class RuleBasedSampler implements Sampler {
      * @return HTTP 路径，如果无法解析则返回 null
      */
     private String resolvePath(Attributes attributes, String name) {
-        // 优先使用 http.route（路由模式，如 /api/users/{id}）
-        String route = attributes.get(HTTP_ROUTE);
-        if (route != null && !route.isEmpty()) {
-            return route;
-        }
-        // 其次使用 http.target（路径+查询参数）
+        // 优先使用 http.target（路径+查询参数）
         String target = attributes.get(HTTP_TARGET);
         if (target != null && !target.isEmpty()) {
             return target;
@@ -184,88 +202,15 @@ public final class RuleBasedSampler implements Sampler {
     /**
      * 编译采样规则
      * <p>
-     * 将配置的规则转换为可快速匹配的编译规则，包括：
-     * <ul>
-     *     <li>正则表达式预编译</li>
-     *     <li>采样器缓存（相同采样率共享采样器实例）</li>
-     * </ul>
+     * 将配置的规则编译为决策树，相同采样率共享采样器实例。
      * </p>
      *
      * @param rules 配置的采样规则列表
-     * @return 编译后的规则列表（不可修改）
+     * @return 决策树
      */
-    private List<CompiledRule> compileRules(List<TracingProperties.Sampler.SamplingRule> rules) {
-        if (rules == null || rules.isEmpty()) {
-            return List.of();
-        }
-        List<CompiledRule> compiled = new ArrayList<>();
-        for (TracingProperties.Sampler.SamplingRule rule : rules) {
-            if (rule == null) {
-                continue;
-            }
-            // 编译 URL 模式
-            Pattern urlPattern = (rule.getUrlPattern() == null || rule.getUrlPattern().isBlank())
-                    ? null
-                    : Pattern.compile(rule.getUrlPattern());
-            // 编译用户 ID 模式
-            Pattern userPattern = (rule.getUserIdPattern() == null || rule.getUserIdPattern().isBlank())
-                    ? null
-                    : Pattern.compile(rule.getUserIdPattern());
-            // 规范化 HTTP 方法为大写
-            String method = (rule.getHttpMethod() == null) ? null : rule.getHttpMethod().toUpperCase(Locale.ROOT);
-            // 限制采样率在 [0.0, 1.0] 范围内
-            double rate = Math.min(1.0d, Math.max(0.0d, rule.getRate()));
-            // 缓存采样器（相同采样率共享实例）
-            Sampler sampler = ratioSamplers.computeIfAbsent(rate, Sampler::traceIdRatioBased);
-            compiled.add(new CompiledRule(urlPattern, userPattern, method, sampler));
-        }
-        return Collections.unmodifiableList(compiled);
-    }
-
-    /**
-     * 编译后的规则
-     * <p>
-     * 内部类，用于快速匹配和采样决策。
-     * </p>
-     */
-    private static final class CompiledRule {
-        private final Pattern urlPattern;
-        private final Pattern userPattern;
-        private final String httpMethod;
-        private final Sampler sampler;
-
-        private CompiledRule(Pattern urlPattern, Pattern userPattern, String httpMethod, Sampler sampler) {
-            this.urlPattern = urlPattern;
-            this.userPattern = userPattern;
-            this.httpMethod = httpMethod;
-            this.sampler = sampler;
-        }
-
-        /**
-         * 检查是否匹配此规则
-         * <p>
-         * 所有配置的条件都必须匹配才返回 true。
-         * </p>
-         *
-         * @param method HTTP 方法
-         * @param path   HTTP 路径
-         * @param userId 用户 ID
-         * @return true 如果匹配，false 否则
-         */
-        private boolean matches(String method, String path, String userId) {
-            // 检查 HTTP 方法
-            if (httpMethod != null && (method == null || !httpMethod.equalsIgnoreCase(method))) {
-                return false;
-            }
-            // 检查 URL 模式
-            if (urlPattern != null && (path == null || !urlPattern.matcher(path).matches())) {
-                return false;
-            }
-            // 检查用户 ID 模式
-            if (userPattern != null && (userId == null || !userPattern.matcher(userId).matches())) {
-                return false;
-            }
-            return true;
-        }
+    private SamplingRuleTree compileRules(List<TracingProperties.Sampler.SamplingRule> rules) {
+        return SamplingRuleTree.compile(rules,
+                rate -> ratioSamplers.computeIfAbsent(rate, Sampler::traceIdRatioBased),
+                SamplingRuleTree.DEFAULT_CACHE_SIZE);
     }
 }
@@ -0,0 +1,248 @@
+package com.basebackend.observability.tracing.sampler;
+
+import com.basebackend.observability.tracing.config.TracingProperties;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleFunction;
+import java.util.regex.Pattern;
+
+/**
+ * 编译后的采样规则决策树
+ * <p>
+ * 原实现对每个根 Span 按顺序逐条尝试规则，每条都要跑一次 URL 正则。编译后按规则形态分三类：
+ * <ul>
+ *     <li><b>精确路径</b>：URL 模式不含正则元字符（如 {@code /actuator/health}），按路径进入哈希索引，一次查表</li>
+ *     <li><b>无路径条件</b>：只限定方法或用户的规则，不涉及 URL 正则</li>
+ *     <li><b>正则回退</b>：其余规则，只有排在已命中规则之前的才需要执行正则</li>
+ * </ul>
+ * 语义与按顺序逐条匹配完全一致：先用前两类找到候选规则下标，再只检查下标更小的正则规则。
+ * </p>
+ * <p>
+ * 决策只取决于 (方法, 路径, 用户)。路径来自路由模板（{@code http.route}）或没有路径时，
+ * (方法, 路由) 是稳定且低基数的，命中的规则会缓存在有界表中；{@code http.target}/{@code http.url}
+ * 含路径参数和查询串，不缓存。存在用户规则且 Span 带用户 ID 时同样不缓存。
+ * 缓存随决策树一起替换，规则更新后不会残留旧决策；缓存写满后不再写入，未缓存的请求照常走决策树。
+ * </p>
+ */
+final class SamplingRuleTree {
+
+    /**
+     * 默认的决策缓存容量（路由模板数 x 方法数）
+     */
+    static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private static final String REGEX_META = "\\.[]{}()*+?^$|";
+
+    /**
+     * 缓存中表示"没有规则命中"的占位（ConcurrentHashMap 不接受 null）
+     */
+    private static final Rule NO_MATCH = new Rule(-1, null, null, null, null, null);
+
+    private static final int[] NONE = new int[0];
+
+    private final List<Rule> rules;
+    private final Map<String, int[]> exactPaths;
+    private final int[] pathlessRules;
+    private final int[] regexRules;
+    private final boolean userDependent;
+    private final int cacheSize;
+    private final Map<RouteKey, Rule> decisions = new ConcurrentHashMap<>();
+
+    private SamplingRuleTree(List<Rule> rules, int cacheSize) {
+        this.rules = rules;
+        this.cacheSize = cacheSize;
+        Map<String, List<Integer>> exact = new HashMap<>();
+        List<Integer> pathless = new ArrayList<>();
+        List<Integer> regex = new ArrayList<>();
+        boolean user = false;
+        for (Rule rule : rules) {
+            if (rule.literalPath != null) {
+                exact.computeIfAbsent(rule.literalPath, k -> new ArrayList<>()).add(rule.index);
+            } else if (rule.urlPattern != null) {
+                regex.add(rule.index);
+            } else {
+                pathless.add(rule.index);
+            }
+            user |= rule.userPattern != null;
+        }
+        Map<String, int[]> exactPaths = new HashMap<>(exact.size() * 2);
+        exact.forEach((path, indexes) -> exactPaths.put(path, toArray(indexes)));
+        this.exactPaths = exactPaths;
+        this.pathlessRules = toArray(pathless);
+        this.regexRules = toArray(regex);
+        this.userDependent = user;
+    }
+
+    /**
+     * 编译规则列表
+     *
+     * @param rules          配置的采样规则，null 元素跳过
+     * @param samplerFactory 按采样率获取采样器（调用方负责缓存共享）
+     * @param cacheSize      决策缓存容量
+     * @return 决策树
+     * @throws java.util.regex.PatternSyntaxException URL 或用户 ID 模式不是合法正则
+     */
+    static SamplingRuleTree compile(List<TracingProperties.Sampler.SamplingRule> rules,
+                                    DoubleFunction<Sampler> samplerFactory, int cacheSize) {
+        if (rules == null) {
+            return new SamplingRuleTree(List.of(), Math.max(0, cacheSize));
+        }
+        List<Rule> compiled = new ArrayList<>(rules.size());
+        for (TracingProperties.Sampler.SamplingRule rule : rules) {
+            if (rule == null) {
+                continue;
+            }
+            String url = (rule.getUrlPattern() == null || rule.getUrlPattern().isBlank()) ? null : rule.getUrlPattern();
+            Pattern urlPattern = url == null ? null : Pattern.compile(url);
+            Pattern userPattern = (rule.getUserIdPattern() == null || rule.getUserIdPattern().isBlank())
+                    ? null
+                    : Pattern.compile(rule.getUserIdPattern());
+            String method = (rule.getHttpMethod() == null) ? null : rule.getHttpMethod().toUpperCase(Locale.ROOT);
+            double rate = Math.min(1.0d, Math.max(0.0d, rule.getRate()));
+            compiled.add(new Rule(compiled.size(), urlPattern, isLiteral(url) ? url : null, userPattern, method,
+                    samplerFactory.apply(rate)));
+        }
+        return new SamplingRuleTree(List.copyOf(compiled), Math.max(0, cacheSize));
+    }
+
+    int size() {
+        return rules.size();
+    }
+
+    /**
+     * 当前缓存的决策数
+     */
+    int cachedDecisions() {
+        return decisions.size();
+    }
+
+    /**
+     * 查找第一条命中的规则
+     *
+     * @param method     HTTP 方法
+     * @param path       HTTP 路径
+     * @param userId     用户 ID
+     * @param stablePath path 是否为路由模板（或为 null），只有此时才读写决策缓存
+     * @return 命中规则的采样器，没有命中返回 null
+     */
+    Sampler find(String method, String path, String userId, boolean stablePath) {
+        if (rules.isEmpty()) {
+            return null;
+        }
+        if (!stablePath || (userId != null && userDependent)) {
+            return samplerOf(evaluate(method, path, userId));
+        }
+        RouteKey key = new RouteKey(method, path);
+        Rule cached = decisions.get(key);
+        if (cached == null) {
+            Rule rule = evaluate(method, path, userId);
+            cached = rule == null ? NO_MATCH : rule;
+            if (decisions.size() < cacheSize) {
+                decisions.putIfAbsent(key, cached);
+            }
+        }
+        return samplerOf(cached);
+    }
+
+    private Rule evaluate(String method, String path, String userId) {
+        int best = Integer.MAX_VALUE;
+        if (path != null) {
+            for (int index : exactPaths.getOrDefault(path, NONE)) {
+                Rule rule = rules.get(index);
+                if (rule.methodMatches(method) && rule.userMatches(userId)) {
+                    best = index;
+                    break;
+                }
+            }
+        }
+        for (int index : pathlessRules) {
+            if (index >= best) {
+                break;
+            }
+            Rule rule = rules.get(index);
+            if (rule.methodMatches(method) && rule.userMatches(userId)) {
+                best = index;
+                break;
+            }
+        }
+        if (path != null) {
+            // 只有排在候选之前的正则规则可能改变结果
+            for (int index : regexRules) {
+                if (index >= best) {
+                    break;
+                }
+                Rule rule = rules.get(index);
+                if (rule.methodMatches(method) && rule.urlPattern.matcher(path).matches() && rule.userMatches(userId)) {
+                    best = index;
+                    break;
+                }
+            }
+        }
+        return best == Integer.MAX_VALUE ? null : rules.get(best);
+    }
+
+    private static Sampler samplerOf(Rule rule) {
+        return rule == null ? null : rule.sampler;
+    }
+
+    /**
+     * 不含正则元字符的模式，{@code matches()} 等价于字符串相等
+     */
+    private static boolean isLiteral(String pattern) {
+        if (pattern == null) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            if (REGEX_META.indexOf(pattern.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] toArray(List<Integer> indexes) {
+        return indexes.isEmpty() ? NONE : indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public String toString() {
+        return "SamplingRuleTree{rules=" + rules.size() + ", exactPaths=" + exactPaths.size()
+                + ", regex=" + regexRules.length + "}";
+    }
+
+    private record RouteKey(String method, String route) {
+    }
+
+    private static final class Rule {
+        private final int index;
+        private final Pattern urlPattern;
+        private final String literalPath;
+        private final Pattern userPattern;
+        private final String httpMethod;
+        private final Sampler sampler;
+
+        private Rule(int index, Pattern urlPattern, String literalPath, Pattern userPattern, String httpMethod,
+                     Sampler sampler) {
+            this.index = index;
+            this.urlPattern = urlPattern;
+            this.literalPath = literalPath;
+            this.userPattern = userPattern;
+            this.httpMethod = httpMethod;
+            this.sampler = sampler;
+        }
+
+        private boolean methodMatches(String method) {
+            return httpMethod == null || (method != null && httpMethod.equalsIgnoreCase(method));
+        }
+
+        private boolean userMatches(String userId) {
+            return userPattern == null || (userId != null && userPattern.matcher(userId).matches());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.basebackend.observability.tracing.sampler;
+
+import com.basebackend.observability.tracing.config.TracingProperties;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 尾部采样策略
+ * <p>
+ * 对单个已结束的 Span 判断是否"值得保留"：错误（Span 状态为 ERROR 或 HTTP 状态码 >= 500）、
+ * 耗时达到阈值、属性命中配置的策略。trace 中任一 Span 命中即保留整条 trace。
+ * </p>
+ */
+final class TailSamplingPolicy {
+
+    private static final AttributeKey<Long> HTTP_STATUS = AttributeKey.longKey("http.status_code");
+    private static final AttributeKey<Long> HTTP_RESPONSE_STATUS = AttributeKey.longKey("http.response.status_code");
+
+    private final boolean keepErrors;
+    private final long latencyThresholdNanos;
+    /**
+     * 属性键 -> 值正则（null 表示只要求属性存在）
+     */
+    private final Map<String, List<Pattern>> attributePolicies;
+
+    TailSamplingPolicy(boolean keepErrors, long latencyThresholdMs, Map<String, List<Pattern>> attributePolicies) {
+        this.keepErrors = keepErrors;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, latencyThresholdMs));
+        this.attributePolicies = Map.copyOf(attributePolicies);
+    }
+
+    static TailSamplingPolicy from(TracingProperties.Sampler.Tail config) {
+        Map<String, List<Pattern>> policies = new HashMap<>();
+        for (TracingProperties.Sampler.Tail.AttributePolicy policy : config.getAttributePolicies()) {
+            if (policy == null || policy.getKey() == null || policy.getKey().isBlank()) {
+                continue;
+            }
+            Pattern pattern = (policy.getValuePattern() == null || policy.getValuePattern().isBlank())
+                    ? null
+                    : Pattern.compile(policy.getValuePattern());
+            policies.computeIfAbsent(policy.getKey(), k -> new ArrayList<>()).add(pattern);
+        }
+        return new TailSamplingPolicy(config.isKeepErrors(), config.getLatencyThresholdMs(), policies);
+    }
+
+    /**
+     * 判断 Span 是否命中任一保留策略
+     */
+    boolean matches(SpanData span) {
+        if (keepErrors && isError(span)) {
+            return true;
+        }
+        if (latencyThresholdNanos > 0 && span.getEndEpochNanos() - span.getStartEpochNanos() >= latencyThresholdNanos) {
+            return true;
+        }
+        return !attributePolicies.isEmpty() && matchesAttributes(span);
+    }
+
+    private static boolean isError(SpanData span) {
+        if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+            return true;
+        }
+        Long status = span.getAttributes().get(HTTP_RESPONSE_STATUS);
+        if (status == null) {
+            status = span.getAttributes().get(HTTP_STATUS);
+        }
+        return status != null && status >= 500;
+    }
+
+    private boolean matchesAttributes(SpanData span) {
+        boolean[] matched = new boolean[1];
+        span.getAttributes().forEach((key, value) -> {
+            if (matched[0]) {
+                return;
+            }
+            List<Pattern> patterns = attributePolicies.get(key.getKey());
+            if (patterns == null) {
+                return;
+            }
+            String text = String.valueOf(value);
+            for (Pattern pattern : patterns) {
+                if (pattern == null || pattern.matcher(text).matches()) {
+                    matched[0] = true;
+                    return;
+                }
+            }
+        });
+        return matched[0];
+    }
+}
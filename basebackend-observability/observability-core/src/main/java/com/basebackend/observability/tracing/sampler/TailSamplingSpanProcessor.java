@@ -0,0 +1,410 @@
+package com.basebackend.observability.tracing.sampler;
+
+import com.basebackend.observability.tracing.config.TracingProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 进程内尾部采样 SpanProcessor
+ * <p>
+ * 头部采样只能在请求开始时决策，慢请求和失败请求在头部未被选中时就丢了。本处理器配合
+ * {@link RecordingSampler}（头部未选中的 Span 以 RECORD_ONLY 记录）工作：
+ * <ol>
+ *     <li>头部已采样的 Span 直接跳过，照常由 BatchSpanProcessor 导出</li>
+ *     <li>其余 Span 结束时按 traceId 缓存，并用 {@link TailSamplingPolicy} 判断是否命中错误/延迟/属性策略</li>
+ *     <li>trace 的第一个 Span 结束后经过 {@code decisionWait}，整条 trace 一次性决策：
+ *     命中过策略则导出全部缓存的 Span，否则丢弃</li>
+ *     <li>已保留的 trace 在决策之后才结束的 Span（异步任务等）会继承保留决策</li>
+ * </ol>
+ * </p>
+ * <p>
+ * <b>内存上限：</b>缓存的 Span 总数超过 {@code maxBufferedSpans} 时按到达顺序淘汰最早的 trace
+ * （已命中策略的提前导出，未决策的丢弃）；单个 trace 超过 {@code maxSpansPerTrace} 的 Span 直接丢弃。
+ * 淘汰和丢弃都有计数指标（{@code tracing.tail.*}）。
+ * </p>
+ * <p>
+ * 保留的 trace 中的根 Span 计入 {@link DynamicSamplingManager}，动态采样率会把尾部补充导出的量一并考虑在内。
+ * </p>
+ *
+ * @author BaseBackend Team
+ * @since 1.0.0
+ */
+public final class TailSamplingSpanProcessor implements SpanProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(TailSamplingSpanProcessor.class);
+
+    /**
+     * 记住最近保留的 traceId 数量，用于迟到 Span 继承保留决策
+     */
+    private static final int KEPT_TRACE_MEMORY = 10_000;
+    private static final int EXPORT_BATCH_SIZE = 512;
+    private static final long EXPORT_TIMEOUT_SECONDS = 10;
+
+    private final SpanExporter exporter;
+    private final TailSamplingPolicy policy;
+    private final DynamicSamplingManager dynamicSamplingManager;
+    private final LongSupplier nanoClock;
+    private final long decisionWaitNanos;
+    private final int maxBufferedSpans;
+    private final int maxSpansPerTrace;
+
+    private final Map<String, TraceBuffer> traces = new ConcurrentHashMap<>();
+    /**
+     * 按创建顺序排列的 trace 缓冲，队头最早到期，也是内存超限时最先淘汰的
+     */
+    private final Queue<TraceBuffer> arrivalOrder = new ConcurrentLinkedQueue<>();
+    private final Queue<List<SpanData>> readyToExport = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedSpans = new AtomicInteger();
+    private final Map<String, Boolean> keptTraceIds = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > KEPT_TRACE_MEMORY;
+                }
+            });
+
+    private final LongAdder keptTraces = new LongAdder();
+    private final LongAdder droppedTraces = new LongAdder();
+    private final LongAdder evictedTraces = new LongAdder();
+    private final LongAdder evictedSpans = new LongAdder();
+    private final LongAdder overflowSpans = new LongAdder();
+
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean shutdown = new AtomicBoolean(false);
+
+    /**
+     * 构造函数，启动后台决策线程
+     *
+     * @param config                 尾部采样配置
+     * @param exporter               导出器（与 BatchSpanProcessor 共用，本处理器须先于 BatchSpanProcessor 注册）
+     * @param dynamicSamplingManager 动态采样管理器，可为 null
+     * @param meterRegistry          指标注册表，可为 null
+     */
+    public TailSamplingSpanProcessor(TracingProperties.Sampler.Tail config, SpanExporter exporter,
+                                     DynamicSamplingManager dynamicSamplingManager, MeterRegistry meterRegistry) {
+        this(config, exporter, dynamicSamplingManager, meterRegistry, System::nanoTime, true);
+    }
+
+    TailSamplingSpanProcessor(TracingProperties.Sampler.Tail config, SpanExporter exporter,
+                              DynamicSamplingManager dynamicSamplingManager, MeterRegistry meterRegistry,
+                              LongSupplier nanoClock, boolean startScheduler) {
+        this.exporter = Objects.requireNonNull(exporter, "exporter");
+        this.policy = TailSamplingPolicy.from(config);
+        this.dynamicSamplingManager = dynamicSamplingManager;
+        this.nanoClock = nanoClock;
+        Duration wait = (config.getDecisionWait() != null) ? config.getDecisionWait() : Duration.ofSeconds(10);
+        this.decisionWaitNanos = wait.toNanos();
+        this.maxBufferedSpans = Math.max(1, config.getMaxBufferedSpans());
+        this.maxSpansPerTrace = Math.max(1, config.getMaxSpansPerTrace());
+        if (meterRegistry != null) {
+            registerMetrics(meterRegistry);
+        }
+        if (startScheduler) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "otel-tail-sampling");
+                t.setDaemon(true);
+                return t;
+            });
+            // 决策延迟最多多出一个检查周期
+            long periodMs = Math.min(1_000L, Math.max(100L, wait.toMillis() / 4));
+            scheduler.scheduleWithFixedDelay(this::safeFlushExpired, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+        log.info("尾部采样 SpanProcessor 已初始化: decisionWait={}ms, maxBufferedSpans={}, maxSpansPerTrace={}",
+                wait.toMillis(), maxBufferedSpans, maxSpansPerTrace);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+        // 不需要在 onStart 中处理
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        // 头部已采样的 Span 由 BatchSpanProcessor 导出
+        if (span.getSpanContext().isSampled() || shutdown.get()) {
+            return;
+        }
+        try {
+            SpanData data = span.toSpanData();
+            boolean matched = policy.matches(data);
+            String traceId = data.getTraceId();
+            while (true) {
+                TraceBuffer buffer = traces.computeIfAbsent(traceId, this::newBuffer);
+                int result = buffer.add(data, matched, maxSpansPerTrace);
+                if (result == TraceBuffer.CLOSED) {
+                    // 该缓冲刚被决策或淘汰，换一个新缓冲（已保留的 trace 会继承决策）
+                    traces.remove(traceId, buffer);
+                    continue;
+                }
+                if (result == TraceBuffer.FULL) {
+                    overflowSpans.increment();
+                } else if (bufferedSpans.incrementAndGet() > maxBufferedSpans) {
+                    evictOldest();
+                }
+                return;
+            }
+        } catch (Exception ex) {
+            // 异常安全：SpanProcessor 失败不应影响业务逻辑
+            log.debug("尾部采样缓存 Span 失败", ex);
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    /**
+     * 立即对所有缓存的 trace 做决策并导出保留的部分
+     */
+    @Override
+    public CompletableResultCode forceFlush() {
+        TraceBuffer buffer;
+        while ((buffer = arrivalOrder.poll()) != null) {
+            complete(buffer, false);
+        }
+        return exportReady();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        if (!shutdown.compareAndSet(false, true)) {
+            return CompletableResultCode.ofSuccess();
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                    scheduler.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                scheduler.shutdownNow();
+            }
+        }
+        // 导出器与 BatchSpanProcessor 共用并由其关闭；本处理器先于它注册、先被关闭，导出器此时仍可用
+        CompletableResultCode result = forceFlush();
+        log.info("尾部采样 SpanProcessor 已关闭: kept={}, dropped={}, evicted={}",
+                keptTraces.sum(), droppedTraces.sum(), evictedTraces.sum());
+        return result;
+    }
+
+    /**
+     * 决策所有已到期的 trace 并导出保留的部分（后台线程周期调用）
+     */
+    void flushExpired() {
+        long now = nanoClock.getAsLong();
+        TraceBuffer head;
+        while ((head = arrivalOrder.peek()) != null && now - head.createdNanos >= decisionWaitNanos) {
+            // 与淘汰线程竞争队头，remove 成功的一方负责处理
+            if (arrivalOrder.remove(head)) {
+                complete(head, false);
+            }
+        }
+        exportReady();
+    }
+
+    int bufferedSpans() {
+        return bufferedSpans.get();
+    }
+
+    long keptTraces() {
+        return keptTraces.sum();
+    }
+
+    long droppedTraces() {
+        return droppedTraces.sum();
+    }
+
+    long evictedTraces() {
+        return evictedTraces.sum();
+    }
+
+    private void safeFlushExpired() {
+        try {
+            flushExpired();
+        } catch (Exception ex) {
+            log.warn("尾部采样决策失败", ex);
+        }
+    }
+
+    private TraceBuffer newBuffer(String traceId) {
+        TraceBuffer buffer = new TraceBuffer(traceId, nanoClock.getAsLong(), keptTraceIds.containsKey(traceId));
+        arrivalOrder.add(buffer);
+        return buffer;
+    }
+
+    private void evictOldest() {
+        TraceBuffer oldest;
+        while (bufferedSpans.get() > maxBufferedSpans && (oldest = arrivalOrder.poll()) != null) {
+            complete(oldest, true);
+        }
+    }
+
+    /**
+     * 关闭缓冲并执行决策
+     *
+     * @param buffer  trace 缓冲
+     * @param evicted 是否因内存超限被淘汰
+     */
+    private void complete(TraceBuffer buffer, boolean evicted) {
+        List<SpanData> spans;
+        boolean keep;
+        int roots;
+        synchronized (buffer) {
+            keep = buffer.keep;
+            if (keep) {
+                // 先记住决策再关闭，保证看到 CLOSED 的写入方新建的缓冲一定能继承保留决策
+                keptTraceIds.put(buffer.traceId, Boolean.TRUE);
+            }
+            buffer.closed = true;
+            spans = buffer.spans;
+            roots = buffer.roots;
+        }
+        traces.remove(buffer.traceId, buffer);
+        bufferedSpans.addAndGet(-spans.size());
+        if (keep) {
+            keptTraces.increment();
+            if (!spans.isEmpty()) {
+                readyToExport.add(spans);
+            }
+            if (dynamicSamplingManager != null) {
+                for (int i = 0; i < roots; i++) {
+                    dynamicSamplingManager.recordSpan();
+                }
+            }
+        } else if (evicted) {
+            evictedTraces.increment();
+            evictedSpans.add(spans.size());
+        } else {
+            droppedTraces.increment();
+        }
+    }
+
+    private CompletableResultCode exportReady() {
+        List<CompletableResultCode> results = new ArrayList<>();
+        List<SpanData> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        List<SpanData> spans;
+        while ((spans = readyToExport.poll()) != null) {
+            for (SpanData span : spans) {
+                batch.add(span);
+                if (batch.size() >= EXPORT_BATCH_SIZE) {
+                    results.add(export(batch));
+                    batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            results.add(export(batch));
+        }
+        return CompletableResultCode.ofAll(results);
+    }
+
+    private CompletableResultCode export(List<SpanData> batch) {
+        CompletableResultCode result = exporter.export(batch);
+        result.join(EXPORT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (!result.isSuccess()) {
+            log.warn("尾部采样导出失败: spans={}", batch.size());
+        }
+        return result;
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("tracing.tail.traces", keptTraces, LongAdder::doubleValue)
+                .tag("decision", "kept")
+                .description("尾部采样保留的 trace 数")
+                .register(registry);
+        FunctionCounter.builder("tracing.tail.traces", droppedTraces, LongAdder::doubleValue)
+                .tag("decision", "dropped")
+                .description("尾部采样丢弃的 trace 数")
+                .register(registry);
+        FunctionCounter.builder("tracing.tail.traces", evictedTraces, LongAdder::doubleValue)
+                .tag("decision", "evicted")
+                .description("缓存超限被淘汰的 trace 数")
+                .register(registry);
+        FunctionCounter.builder("tracing.tail.spans.evicted", evictedSpans, LongAdder::doubleValue)
+                .description("缓存超限被淘汰的 Span 数")
+                .register(registry);
+        FunctionCounter.builder("tracing.tail.spans.overflow", overflowSpans, LongAdder::doubleValue)
+                .description("超过单 trace 上限被丢弃的 Span 数")
+                .register(registry);
+        Gauge.builder("tracing.tail.buffer.spans", bufferedSpans, AtomicInteger::get)
+                .description("当前缓存的 Span 数")
+                .register(registry);
+        Gauge.builder("tracing.tail.buffer.traces", traces, Map::size)
+                .description("当前缓存的 trace 数")
+                .register(registry);
+    }
+
+    /**
+     * 单个 trace 的 Span 缓冲，所有字段在自身锁内访问
+     */
+    private static final class TraceBuffer {
+        static final int ADDED = 0;
+        static final int FULL = 1;
+        static final int CLOSED = 2;
+
+        final String traceId;
+        final long createdNanos;
+        final List<SpanData> spans = new ArrayList<>();
+        boolean keep;
+        boolean closed;
+        int roots;
+
+        TraceBuffer(String traceId, long createdNanos, boolean keep) {
+            this.traceId = traceId;
+            this.createdNanos = createdNanos;
+            this.keep = keep;
+        }
+
+        synchronized int add(SpanData span, boolean matched, int maxSpans) {
+            if (closed) {
+                return CLOSED;
+            }
+            keep |= matched;
+            if (spans.size() >= maxSpans) {
+                return FULL;
+            }
+            spans.add(span);
+            if (!span.getParentSpanContext().isValid()) {
+                roots++;
+            }
+            return ADDED;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.basebackend.observability.tracing.sampler;
+
+import com.basebackend.observability.tracing.config.TracingProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DynamicSamplingManager 规则下发测试")
+class DynamicSamplingManagerTest {
+
+    private final DynamicSamplingManager manager =
+            new DynamicSamplingManager(new TracingProperties.Sampler.Dynamic());
+
+    @Test
+    @DisplayName("单个监听器失败不影响其余监听器")
+    void shouldNotifyRemainingListenersWhenOneFails() {
+        List<List<TracingProperties.Sampler.SamplingRule>> received = new ArrayList<>();
+        manager.addRuleListener(rules -> {
+            throw new IllegalArgumentException("非法正则");
+        });
+        manager.addRuleListener(received::add);
+
+        TracingProperties.Sampler.SamplingRule rule = new TracingProperties.Sampler.SamplingRule();
+        manager.updateRules(List.of(rule));
+
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0)).containsExactly(rule);
+    }
+
+    @Test
+    @DisplayName("null 规则按空列表下发")
+    void shouldTreatNullAsEmptyRules() {
+        List<List<TracingProperties.Sampler.SamplingRule>> received = new ArrayList<>();
+        manager.addRuleListener(received::add);
+
+        manager.updateRules(null);
+
+        assertThat(received).containsExactly(List.of());
+    }
+}
@@ -0,0 +1,106 @@
+package com.basebackend.observability.tracing.sampler;
+
+import com.basebackend.observability.tracing.config.TracingProperties;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SamplingRuleTree 采样规则决策树测试")
+class SamplingRuleTreeTest {
+
+    private static final String[] METHODS = {null, "GET", "post", "DELETE"};
+    private static final String[] PATHS = {
+            null, "/actuator/health", "/api/auth/login", "/api/users/{id}", "/api/users/42",
+            "/api/reports/daily", "/api/public/news", "/api/admin/users", "/api/orders"
+    };
+    private static final String[] USERS = {null, "admin-1", "user-7", "guest"};
+
+    private final Map<Double, Sampler> samplers = new HashMap<>();
+
+    @Test
+    @DisplayName("决策结果与按顺序逐条匹配完全一致")
+    void shouldMatchLinearEvaluation() {
+        List<TracingProperties.Sampler.SamplingRule> rules = List.of(
+                rule("/actuator/health", null, null, 0.01),
+                rule("/api/auth/.*", null, null, 0.02),
+                rule("/api/users/\\d+", "GET", null, 0.03),
+                rule(null, "DELETE", null, 0.04),
+                rule("/api/orders", "POST", null, 0.05),
+                rule("/api/reports/.*", "GET", null, 0.06),
+                rule(null, null, "admin-.*", 0.07),
+                rule("/api/orders", null, null, 0.08),
+                rule("/api/.*", null, "user-\\d+", 0.09));
+        SamplingRuleTree tree = SamplingRuleTree.compile(rules, this::sampler, 16);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5_000; i++) {
+            String method = METHODS[random.nextInt(METHODS.length)];
+            String path = PATHS[random.nextInt(PATHS.length)];
+            String user = USERS[random.nextInt(USERS.length)];
+            boolean stable = random.nextBoolean();
+            assertThat(tree.find(method, path, user, stable))
+                    .as("method=%s, path=%s, user=%s", method, path, user)
+                    .isSameAs(linear(rules, method, path, user));
+        }
+        assertThat(tree.cachedDecisions()).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    @DisplayName("只缓存路由模板的决策，带用户 ID 且存在用户规则时不缓存")
+    void shouldCacheOnlyStableRoutes() {
+        SamplingRuleTree tree = SamplingRuleTree.compile(List.of(
+                rule("/api/users/.*", null, null, 0.5),
+                rule(null, null, "admin-.*", 1.0)), this::sampler, 16);
+
+        tree.find("GET", "/api/users/42?x=1", null, false);
+        assertThat(tree.cachedDecisions()).isZero();
+
+        tree.find("GET", "/api/orders", "admin-1", true);
+        assertThat(tree.cachedDecisions()).isZero();
+
+        assertThat(tree.find("GET", "/api/users/{id}", null, true)).isSameAs(samplers.get(0.5));
+        assertThat(tree.find("GET", "/api/orders", null, true)).isNull();
+        assertThat(tree.cachedDecisions()).isEqualTo(2);
+        assertThat(tree.find("GET", "/api/orders", "admin-1", true)).isSameAs(samplers.get(1.0));
+    }
+
+    private Sampler linear(List<TracingProperties.Sampler.SamplingRule> rules, String method, String path,
+                           String user) {
+        for (TracingProperties.Sampler.SamplingRule rule : rules) {
+            if (rule.getHttpMethod() != null && (method == null || !rule.getHttpMethod().equalsIgnoreCase(method))) {
+                continue;
+            }
+            if (rule.getUrlPattern() != null
+                    && (path == null || !Pattern.compile(rule.getUrlPattern()).matcher(path).matches())) {
+                continue;
+            }
+            if (rule.getUserIdPattern() != null
+                    && (user == null || !Pattern.compile(rule.getUserIdPattern()).matcher(user).matches())) {
+                continue;
+            }
+            return samplers.get(rule.getRate());
+        }
+        return null;
+    }
+
+    private Sampler sampler(double rate) {
+        return samplers.computeIfAbsent(rate, Sampler::traceIdRatioBased);
+    }
+
+    private static TracingProperties.Sampler.SamplingRule rule(String url, String method, String user, double rate) {
+        TracingProperties.Sampler.SamplingRule rule = new TracingProperties.Sampler.SamplingRule();
+        rule.setUrlPattern(url);
+        rule.setHttpMethod(method);
+        rule.setUserIdPattern(user);
+        rule.setRate(rate);
+        return rule;
+    }
+}
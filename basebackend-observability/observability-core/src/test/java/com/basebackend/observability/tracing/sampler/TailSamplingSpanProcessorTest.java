@@ -0,0 +1,177 @@
+package com.basebackend.observability.tracing.sampler;
+
+import com.basebackend.observability.tracing.config.TracingProperties;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TailSamplingSpanProcessor 尾部采样测试")
+class TailSamplingSpanProcessorTest {
+
+    private final List<SpanData> exported = new CopyOnWriteArrayList<>();
+    private final AtomicLong clock = new AtomicLong();
+    private SdkTracerProvider provider;
+    private TailSamplingSpanProcessor processor;
+    private Tracer tracer;
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.close();
+        }
+    }
+
+    @Test
+    @DisplayName("窗口结束后只导出命中策略的完整 trace")
+    void shouldExportOnlyTracesMatchingPolicy() {
+        start(config(0), Sampler.alwaysOff());
+
+        Span failed = tracer.spanBuilder("GET /api/orders").startSpan();
+        try (Scope ignored = failed.makeCurrent()) {
+            Span child = tracer.spanBuilder("SELECT orders").startSpan();
+            child.setStatus(StatusCode.ERROR);
+            child.end();
+        }
+        failed.end();
+        tracer.spanBuilder("GET /api/users").startSpan().end();
+
+        processor.flushExpired();
+        assertThat(exported).isEmpty();
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        processor.flushExpired();
+
+        assertThat(exported).hasSize(2)
+                .allMatch(span -> span.getTraceId().equals(failed.getSpanContext().getTraceId()));
+        assertThat(processor.keptTraces()).isEqualTo(1);
+        assertThat(processor.droppedTraces()).isEqualTo(1);
+        assertThat(processor.bufferedSpans()).isZero();
+    }
+
+    @Test
+    @DisplayName("任一 Span 耗时达到阈值时保留整条 trace")
+    void shouldKeepSlowTraces() {
+        start(config(1000), Sampler.alwaysOff());
+
+        Span slow = tracer.spanBuilder("POST /api/reports").setStartTimestamp(0, TimeUnit.MILLISECONDS).startSpan();
+        slow.end(1500, TimeUnit.MILLISECONDS);
+        Span fast = tracer.spanBuilder("GET /api/health").setStartTimestamp(0, TimeUnit.MILLISECONDS).startSpan();
+        fast.end(5, TimeUnit.MILLISECONDS);
+
+        processor.forceFlush();
+
+        assertThat(exported).extracting(SpanData::getName).containsExactly("POST /api/reports");
+    }
+
+    @Test
+    @DisplayName("头部已采样的 Span 不进入缓冲")
+    void shouldIgnoreHeadSampledSpans() {
+        start(config(0), Sampler.alwaysOn());
+
+        tracer.spanBuilder("GET /api/orders").startSpan().end();
+
+        assertThat(processor.bufferedSpans()).isZero();
+    }
+
+    @Test
+    @DisplayName("缓存超限时淘汰最早的 trace")
+    void shouldEvictOldestTraceWhenBufferIsFull() {
+        TracingProperties.Sampler.Tail config = config(0);
+        config.setMaxBufferedSpans(2);
+        start(config, Sampler.alwaysOff());
+
+        for (int i = 0; i < 3; i++) {
+            tracer.spanBuilder("job-" + i).startSpan().end();
+        }
+
+        assertThat(processor.bufferedSpans()).isEqualTo(2);
+        assertThat(processor.evictedTraces()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("关闭 TracerProvider 时仍在缓冲中的 trace 在共享导出器关闭前导出")
+    void shouldExportBufferedTracesWhenProviderCloses() {
+        CollectingExporter exporter = new CollectingExporter();
+        processor = new TailSamplingSpanProcessor(config(0), exporter, null, null, clock::get, false);
+        // 与 OtelAutoConfiguration 相同的注册顺序：尾部采样在前，BatchSpanProcessor 在后
+        provider = SdkTracerProvider.builder()
+                .setSampler(new RecordingSampler(Sampler.alwaysOff()))
+                .addSpanProcessor(processor)
+                .addSpanProcessor(BatchSpanProcessor.builder(exporter).build())
+                .build();
+        tracer = provider.get("test");
+
+        Span failed = tracer.spanBuilder("GET /api/orders").startSpan();
+        failed.setStatus(StatusCode.ERROR);
+        failed.end();
+        assertThat(processor.bufferedSpans()).isEqualTo(1);
+
+        provider.close();
+        provider = null;
+
+        assertThat(exported).extracting(SpanData::getName).containsExactly("GET /api/orders");
+        assertThat(exporter.shutdown).isTrue();
+    }
+
+    private void start(TracingProperties.Sampler.Tail config, Sampler headSampler) {
+        processor = new TailSamplingSpanProcessor(config, new CollectingExporter(), null, null, clock::get, false);
+        provider = SdkTracerProvider.builder()
+                .setSampler(new RecordingSampler(headSampler))
+                .addSpanProcessor(processor)
+                .build();
+        tracer = provider.get("test");
+    }
+
+    private static TracingProperties.Sampler.Tail config(long latencyThresholdMs) {
+        TracingProperties.Sampler.Tail config = new TracingProperties.Sampler.Tail();
+        config.setEnabled(true);
+        config.setDecisionWait(Duration.ofSeconds(10));
+        config.setLatencyThresholdMs(latencyThresholdMs);
+        return config;
+    }
+
+    private final class CollectingExporter implements SpanExporter {
+
+        private volatile boolean shutdown;
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            // 与 OTLP 导出器一致：关闭后拒绝导出
+            if (shutdown) {
+                return CompletableResultCode.ofFailure();
+            }
+            exported.addAll(spans);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            shutdown = true;
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
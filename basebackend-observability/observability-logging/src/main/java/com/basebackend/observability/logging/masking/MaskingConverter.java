@@ -2,6 +2,8 @@ package com.basebackend.observability.logging.masking;
 
 import ch.qos.logback.classic.pattern.MessageConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.basebackend.common.masking.engine.MaskingEngine;
+import com.basebackend.common.masking.engine.MatchReplacer;
 import com.basebackend.observability.logging.config.LoggingProperties;
 
 import java.nio.charset.StandardCharsets;
@@ -10,7 +12,6 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -18,6 +19,8 @@ import java.util.regex.Pattern;
  * <p>
  * 基于正则表达式对日志消息中的敏感信息进行脱敏处理。
  * 支持通过 LoggingProperties 配置动态脱敏规则。
+ * 配置规则与预置规则一起编译为 {@link MaskingEngine}，每条日志只扫描一遍；
+ * 同一位置配置规则优先于预置规则，没有命中时直接返回原消息。
  * </p>
  * <p>
  * <b>支持的脱敏策略：</b>
@@ -60,9 +63,9 @@ public class MaskingConverter extends MessageConverter {
     private static final List<MaskingRule> DEFAULT_RULES = new ArrayList<>();
 
     /**
-     * 配置化脱敏规则（从 LoggingProperties 加载）
+     * 配置规则 + 预置规则编译后的脱敏引擎
      */
-    private static volatile List<MaskingRule> configuredRules = Collections.emptyList();
+    private static volatile MaskingEngine engine;
 
     static {
         // 手机号脱敏：保留前3位和后4位
@@ -105,6 +108,8 @@ public class MaskingConverter extends MessageConverter {
                 MaskingStrategy.PARTIAL,
                 "$1********$2"
         ));
+
+        engine = buildEngine(Collections.emptyList());
     }
 
     /**
@@ -117,7 +122,7 @@ public class MaskingConverter extends MessageConverter {
      */
     public static void setConfiguredRules(List<LoggingProperties.MaskingRule> rules) {
         if (rules == null || rules.isEmpty()) {
-            configuredRules = Collections.emptyList();
+            engine = buildEngine(Collections.emptyList());
             return;
         }
 
@@ -140,7 +145,30 @@ public class MaskingConverter extends MessageConverter {
                 // 规则编译失败时静默忽略
             }
         }
-        configuredRules = Collections.unmodifiableList(converted);
+        engine = buildEngine(converted);
+    }
+
+    /**
+     * 按"配置规则在前、预置规则在后"的优先级构建脱敏引擎
+     *
+     * @param configured 配置化规则
+     * @return 脱敏引擎
+     */
+    private static MaskingEngine buildEngine(List<MaskingRule> configured) {
+        MaskingEngine.Builder builder = MaskingEngine.builder();
+        List<MaskingRule> all = new ArrayList<>(configured);
+        all.addAll(DEFAULT_RULES);
+        for (MaskingRule rule : all) {
+            try {
+                MatchReplacer replacer = rule.strategy == MaskingStrategy.HASH
+                        ? match -> sha256Hash(match.group())
+                        : MatchReplacer.template(rule.replacement);
+                builder.rule(rule.name, rule.pattern, replacer);
+            } catch (IllegalArgumentException e) {
+                // 替换模板引用了不存在的分组：该规则无法执行，静默忽略（原先逐条 replaceAll 时同样会失败并跳过）
+            }
+        }
+        return builder.build();
     }
 
     /**
@@ -205,39 +233,10 @@ public class MaskingConverter extends MessageConverter {
      * @return 脱敏后的消息
      */
     private String maskSensitiveData(String message) {
-        String maskedMessage = message;
-
-        // 先应用配置规则
-        for (MaskingRule rule : configuredRules) {
-            maskedMessage = applyRule(maskedMessage, rule);
-        }
-
-        // 再应用默认规则
-        for (MaskingRule rule : DEFAULT_RULES) {
-            maskedMessage = applyRule(maskedMessage, rule);
-        }
-
-        return maskedMessage;
-    }
-
-    /**
-     * 应用单个脱敏规则
-     *
-     * @param message 消息
-     * @param rule    脱敏规则
-     * @return 脱敏后的消息
-     */
-    private String applyRule(String message, MaskingRule rule) {
         try {
-            Matcher matcher = rule.pattern.matcher(message);
-
-            return switch (rule.strategy) {
-                case HIDE -> matcher.replaceAll(rule.replacement);
-                case HASH -> matcher.replaceAll(matchResult -> sha256Hash(matchResult.group()));
-                default -> matcher.replaceAll(rule.replacement);
-            };
+            return engine.mask(message);
         } catch (Exception e) {
-            // 脱敏失败时静默忽略，不影响日志输出
+            // 单条规则的异常已在引擎内隔离，这里只兜底引擎自身的意外错误，不影响日志输出
             return message;
         }
     }
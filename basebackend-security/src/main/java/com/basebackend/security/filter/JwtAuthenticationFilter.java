@@ -5,6 +5,7 @@ import com.basebackend.common.constant.CommonConstants;
 import com.basebackend.common.model.Result;
 import com.basebackend.jwt.JwtUserDetails;
 import com.basebackend.jwt.JwtUtil;
+import com.basebackend.jwt.ParsedToken;
 import com.basebackend.security.event.SecurityAuditEventPublisher;
 import com.basebackend.security.event.SecurityEventType;
 import com.basebackend.security.exception.TokenBlacklistException;
@@ -94,12 +95,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // 验证Token
-            if (jwtUtil.validateToken(token)) {
-                // 从Token中获取完整用户信息
-                Long userId = jwtUtil.getUserIdFromToken(token);
-                String username = jwtUtil.getUsernameFromToken(token);
-                Long deptId = jwtUtil.getDeptIdFromToken(token);
+            // 验证Token：只解析一次，用户信息直接取自已验证的 claims
+            ParsedToken parsedToken = jwtUtil.tryParseToken(token);
+            if (parsedToken != null) {
+                Long userId = parsedToken.getUserId();
+                String username = parsedToken.getUsername();
+                Long deptId = parsedToken.getDeptId();
 
                 // 创建JwtUserDetails作为principal，包含完整用户信息
                 JwtUserDetails userDetails = JwtUserDetails.builder()
@@ -3,8 +3,11 @@ package com.basebackend.security.filter;
 import com.basebackend.common.model.Result;
 import com.basebackend.jwt.JwtUserDetails;
 import com.basebackend.jwt.JwtUtil;
+import com.basebackend.jwt.ParsedToken;
 import com.basebackend.security.exception.TokenBlacklistException;
 import com.basebackend.security.service.TokenBlacklistService;
+import io.jsonwebtoken.ClaimsBuilder;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -64,20 +67,14 @@ class JwtAuthenticationFilterTest {
         Long deptId = 10L;
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.getUserIdFromToken(token)).thenReturn(userId);
-        when(jwtUtil.getUsernameFromToken(token)).thenReturn(username);
-        when(jwtUtil.getDeptIdFromToken(token)).thenReturn(deptId);
+        when(jwtUtil.tryParseToken(token)).thenReturn(parsedToken(token, userId, username, deptId));
         when(tokenBlacklistService.isBlacklisted(token)).thenReturn(false);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtUtil, times(1)).validateToken(token);
-        verify(jwtUtil, times(1)).getUserIdFromToken(token);
-        verify(jwtUtil, times(1)).getUsernameFromToken(token);
-        verify(jwtUtil, times(1)).getDeptIdFromToken(token);
+        verify(jwtUtil, times(1)).tryParseToken(token);
         verify(tokenBlacklistService, times(1)).isBlacklisted(token);
         verify(filterChain, times(1)).doFilter(request, response);
 
@@ -101,7 +98,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtUtil, never()).tryParseToken(anyString());
         verify(tokenBlacklistService, never()).isBlacklisted(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
 
@@ -120,7 +117,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtUtil, never()).tryParseToken(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -132,14 +129,14 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.clearContext(); // 清理之前的认证信息
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(tokenBlacklistService.isBlacklisted(token)).thenReturn(false);
-        when(jwtUtil.validateToken(token)).thenReturn(false);
+        when(jwtUtil.tryParseToken(token)).thenReturn(null);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
         verify(tokenBlacklistService, times(1)).isBlacklisted(token);
-        verify(jwtUtil, times(1)).validateToken(token);
+        verify(jwtUtil, times(1)).tryParseToken(token);
         verify(filterChain, times(1)).doFilter(request, response);
 
         // SecurityContext应该为空（认证失败）
@@ -164,7 +161,7 @@ class JwtAuthenticationFilterTest {
 
         // Then
         verify(tokenBlacklistService, times(1)).isBlacklisted(token);
-        verify(jwtUtil, never()).validateToken(token);
+        verify(jwtUtil, never()).tryParseToken(token);
         verify(filterChain, never()).doFilter(request, response);
 
         // 验证错误响应
@@ -183,14 +180,14 @@ class JwtAuthenticationFilterTest {
         PrintWriter writer = new PrintWriter(stringWriter);
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenThrow(new RuntimeException("Token parsing error"));
+        when(jwtUtil.tryParseToken(token)).thenThrow(new RuntimeException("Token parsing error"));
         when(response.getWriter()).thenReturn(writer);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtUtil, times(1)).validateToken(token);
+        verify(jwtUtil, times(1)).tryParseToken(token);
         verify(filterChain, never()).doFilter(request, response);
 
         // 验证错误响应
@@ -209,10 +206,7 @@ class JwtAuthenticationFilterTest {
         Long deptId = 20L;
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.getUserIdFromToken(token)).thenReturn(userId);
-        when(jwtUtil.getUsernameFromToken(token)).thenReturn(username);
-        when(jwtUtil.getDeptIdFromToken(token)).thenReturn(deptId);
+        when(jwtUtil.tryParseToken(token)).thenReturn(parsedToken(token, userId, username, deptId));
         when(tokenBlacklistService.isBlacklisted(token)).thenReturn(false);
 
         // When
@@ -235,10 +229,7 @@ class JwtAuthenticationFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(tokenBlacklistService.isBlacklisted(token)).thenReturn(false);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.getUserIdFromToken(token)).thenReturn(null);
-        when(jwtUtil.getUsernameFromToken(token)).thenReturn(username);
-        when(jwtUtil.getDeptIdFromToken(token)).thenReturn(null);
+        when(jwtUtil.tryParseToken(token)).thenReturn(parsedToken(token, null, username, null));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -257,17 +248,14 @@ class JwtAuthenticationFilterTest {
         // Given
         String token = "extracted-token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.getUserIdFromToken(token)).thenReturn(789L);
-        when(jwtUtil.getUsernameFromToken(token)).thenReturn("user789");
-        when(jwtUtil.getDeptIdFromToken(token)).thenReturn(null);
+        when(jwtUtil.tryParseToken(token)).thenReturn(parsedToken(token, 789L, "user789", null));
         when(tokenBlacklistService.isBlacklisted(token)).thenReturn(false);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtUtil, times(1)).validateToken("extracted-token");
+        verify(jwtUtil, times(1)).tryParseToken("extracted-token");
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -282,7 +270,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then - 应该忽略错误格式的header
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtUtil, never()).tryParseToken(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
     }
 
@@ -293,10 +281,7 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.clearContext(); // 清理之前的认证信息
         String token = "valid-token";
         lenient().when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        lenient().when(jwtUtil.validateToken(token)).thenReturn(true);
-        lenient().when(jwtUtil.getUserIdFromToken(token)).thenReturn(100L);
-        lenient().when(jwtUtil.getUsernameFromToken(token)).thenReturn("user100");
-        lenient().when(jwtUtil.getDeptIdFromToken(token)).thenReturn(null);
+        lenient().when(jwtUtil.tryParseToken(token)).thenReturn(parsedToken(token, 100L, "user100", null));
         lenient().when(tokenBlacklistService.isBlacklisted(token)).thenReturn(false);
 
         // When
@@ -319,18 +304,12 @@ class JwtAuthenticationFilterTest {
 
         // 第一次请求
         lenient().when(request.getHeader("Authorization")).thenReturn("Bearer " + token1);
-        lenient().when(jwtUtil.validateToken(token1)).thenReturn(true);
-        lenient().when(jwtUtil.getUserIdFromToken(token1)).thenReturn(200L);
-        lenient().when(jwtUtil.getUsernameFromToken(token1)).thenReturn("user200");
-        lenient().when(jwtUtil.getDeptIdFromToken(token1)).thenReturn(null);
+        lenient().when(jwtUtil.tryParseToken(token1)).thenReturn(parsedToken(token1, 200L, "user200", null));
         lenient().when(tokenBlacklistService.isBlacklisted(token1)).thenReturn(false);
 
         // 第二次请求
         lenient().when(request.getHeader("Authorization")).thenReturn("Bearer " + token2);
-        lenient().when(jwtUtil.validateToken(token2)).thenReturn(true);
-        lenient().when(jwtUtil.getUserIdFromToken(token2)).thenReturn(300L);
-        lenient().when(jwtUtil.getUsernameFromToken(token2)).thenReturn("user300");
-        lenient().when(jwtUtil.getDeptIdFromToken(token2)).thenReturn(null);
+        lenient().when(jwtUtil.tryParseToken(token2)).thenReturn(parsedToken(token2, 300L, "user300", null));
         lenient().when(tokenBlacklistService.isBlacklisted(token2)).thenReturn(false);
 
         // When - 第一次请求
@@ -388,7 +367,7 @@ class JwtAuthenticationFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(tokenBlacklistService.isBlacklisted(token)).thenReturn(false);
-        when(jwtUtil.validateToken(token)).thenThrow(new RuntimeException("JWT error"));
+        when(jwtUtil.tryParseToken(token)).thenThrow(new RuntimeException("JWT error"));
         when(response.getWriter()).thenReturn(writer);
 
         // When
@@ -472,7 +451,18 @@ class JwtAuthenticationFilterTest {
 
         // Then
         verify(tokenBlacklistService, never()).isBlacklisted(anyString());
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtUtil, never()).tryParseToken(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
     }
+
+    private static ParsedToken parsedToken(String token, Long userId, String username, Long deptId) {
+        ClaimsBuilder claims = Jwts.claims().subject(username).add("username", username);
+        if (userId != null) {
+            claims.add("userId", userId);
+        }
+        if (deptId != null) {
+            claims.add("deptId", deptId);
+        }
+        return new ParsedToken(token, claims.build());
+    }
 }
@@ -2,6 +2,8 @@ package com.basebackend.system.controller;
 
 import com.basebackend.security.enums.DataScopeType;
 import com.basebackend.system.dto.DeptDTO;
+import com.basebackend.system.dto.DeptHierarchyCheckDTO;
+import com.basebackend.system.service.DeptHierarchyService;
 import com.basebackend.system.service.DeptService;
 import com.basebackend.common.model.Result;
 import com.basebackend.security.annotation.RequiresPermission;
@@ -28,6 +30,7 @@ import java.util.List;
 public class DeptController {
 
     private final DeptService deptService;
+    private final DeptHierarchyService deptHierarchyService;
 
     /**
      * 统一处理控制器异常，避免向客户端泄露敏感信息
@@ -277,4 +280,34 @@ public class DeptController {
             return handleControllerError("根据父部门ID查询", e);
         }
     }
+
+    /**
+     * 检查部门层级索引一致性
+     */
+    @GetMapping("/hierarchy/check")
+    @Operation(summary = "检查部门层级索引", description = "比对部门闭包表与 parent_id 是否一致")
+    @RequiresPermission("system:dept:update")
+    public Result<DeptHierarchyCheckDTO> checkHierarchy() {
+        log.info("检查部门层级索引");
+        try {
+            return Result.success("检查完成", deptHierarchyService.checkConsistency());
+        } catch (Exception e) {
+            return handleControllerError("检查部门层级索引", e);
+        }
+    }
+
+    /**
+     * 重建部门层级索引
+     */
+    @PostMapping("/hierarchy/rebuild")
+    @Operation(summary = "重建部门层级索引", description = "按 parent_id 重建部门闭包表")
+    @RequiresPermission("system:dept:update")
+    public Result<DeptHierarchyCheckDTO> rebuildHierarchy() {
+        log.info("重建部门层级索引");
+        try {
+            return Result.success("重建完成", deptHierarchyService.rebuild());
+        } catch (Exception e) {
+            return handleControllerError("重建部门层级索引", e);
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package com.basebackend.system.dto;
+
+import java.util.List;
+
+/**
+ * 部门层级索引一致性检查结果
+ */
+public record DeptHierarchyCheckDTO(
+        /** 闭包表是否与 parent_id 完全一致 */
+        boolean consistent,
+
+        /** 参与检查的部门数 */
+        int deptCount,
+
+        /** 按 parent_id 推导的闭包记录数 */
+        long expectedLinks,
+
+        /** 闭包表实际记录数 */
+        long actualLinks,
+
+        /** 闭包表缺失的记录数 */
+        long missingLinks,
+
+        /** 闭包表多余或层级距离错误的记录数 */
+        long staleLinks,
+
+        /** 父部门不存在的部门ID */
+        List<Long> orphanDeptIds,
+
+        /** 父指针成环的部门ID */
+        List<Long> cyclicDeptIds,
+
+        /** 不一致记录样例（祖先->后代@层级） */
+        List<String> samples
+) {
+}
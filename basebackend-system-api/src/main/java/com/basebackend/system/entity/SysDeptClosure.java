@@ -0,0 +1,32 @@
+package com.basebackend.system.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+/**
+ * 部门闭包表实体
+ * 每个 (祖先, 后代) 部门对一条记录，包含 depth = 0 的自身记录
+ */
+@Data
+@TableName("sys_dept_closure")
+public class SysDeptClosure {
+
+    /**
+     * 祖先部门ID
+     */
+    @TableField("ancestor_id")
+    private Long ancestorId;
+
+    /**
+     * 后代部门ID
+     */
+    @TableField("descendant_id")
+    private Long descendantId;
+
+    /**
+     * 层级距离，自身为 0
+     */
+    @TableField("depth")
+    private Integer depth;
+}
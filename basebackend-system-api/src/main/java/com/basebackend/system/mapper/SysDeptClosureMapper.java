@@ -0,0 +1,54 @@
+package com.basebackend.system.mapper;
+
+import com.basebackend.system.entity.SysDeptClosure;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 部门闭包表Mapper接口
+ */
+@Mapper
+public interface SysDeptClosureMapper {
+
+    /**
+     * 为新部门插入闭包记录：父部门的所有祖先 + 自身
+     */
+    int insertNodeLinks(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 删除子树与其原祖先之间的闭包记录（子树内部记录保留）
+     */
+    int deleteSubtreeAncestorLinks(@Param("deptId") Long deptId);
+
+    /**
+     * 将子树挂到新父部门下：新父部门的所有祖先 x 子树所有节点
+     */
+    int insertSubtreeLinks(@Param("deptId") Long deptId, @Param("parentId") Long parentId);
+
+    /**
+     * 查询两个部门之间是否存在祖先-后代关系（含自身）
+     */
+    int countLink(@Param("ancestorId") Long ancestorId, @Param("descendantId") Long descendantId);
+
+    /**
+     * 删除部门的全部闭包记录
+     */
+    int deleteNodeLinks(@Param("deptId") Long deptId);
+
+    /**
+     * 查询全部闭包记录（一致性检查使用）
+     */
+    List<SysDeptClosure> selectAllLinks();
+
+    /**
+     * 清空闭包表
+     */
+    int deleteAllLinks();
+
+    /**
+     * 批量插入闭包记录
+     */
+    int insertBatch(@Param("links") List<SysDeptClosure> links);
+}
@@ -42,4 +42,9 @@ public interface SysDeptMapper extends BaseMapper<SysDept> {
      * 根据用户ID查询部门信息
      */
     SysDept selectDeptByUserId(@Param("userId") Long userId);
+
+    /**
+     * 查询所有部门的ID与父部门ID（构建层级索引使用）
+     */
+    List<SysDept> selectDeptParentList();
 }
@@ -0,0 +1,44 @@
+package com.basebackend.system.service;
+
+import com.basebackend.system.dto.DeptHierarchyCheckDTO;
+
+/**
+ * 部门层级索引服务接口
+ * <p>
+ * 维护部门闭包表（sys_dept_closure），供数据权限"本部门及以下"按闭包表子查询使用。
+ * </p>
+ */
+public interface DeptHierarchyService {
+
+    /**
+     * 部门创建后维护闭包记录
+     */
+    void onDeptCreated(Long deptId, Long parentId);
+
+    /**
+     * 部门移动到新父部门后维护闭包记录（整棵子树随之移动）
+     */
+    void onDeptMoved(Long deptId, Long newParentId);
+
+    /**
+     * 部门删除后清理闭包记录
+     */
+    void onDeptDeleted(Long deptId);
+
+    /**
+     * {@code deptId} 是否为 {@code ancestorId} 自身或其下级部门（以闭包表为准）
+     */
+    boolean isSelfOrDescendant(Long ancestorId, Long deptId);
+
+    /**
+     * 检查闭包表与 parent_id 是否一致
+     */
+    DeptHierarchyCheckDTO checkConsistency();
+
+    /**
+     * 按 parent_id 重建闭包表
+     *
+     * @return 重建后的一致性检查结果
+     */
+    DeptHierarchyCheckDTO rebuild();
+}
@@ -0,0 +1,145 @@
+package com.basebackend.system.service.impl;
+
+import com.basebackend.system.dto.DeptHierarchyCheckDTO;
+import com.basebackend.system.entity.SysDept;
+import com.basebackend.system.entity.SysDeptClosure;
+import com.basebackend.system.mapper.SysDeptClosureMapper;
+import com.basebackend.system.mapper.SysDeptMapper;
+import com.basebackend.system.service.DeptHierarchyService;
+import com.basebackend.system.util.DeptIntervalTree;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 部门层级索引服务实现类
+ * <p>
+ * 闭包表是权威数据，随部门增删改在同一事务中维护；区间树只在一致性检查和重建时按 parent_id 临时构建，
+ * 不在实例内常驻缓存，多实例之间无需同步。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeptHierarchyServiceImpl implements DeptHierarchyService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int SAMPLE_LIMIT = 20;
+
+    private final SysDeptMapper deptMapper;
+    private final SysDeptClosureMapper closureMapper;
+
+    @Override
+    public void onDeptCreated(Long deptId, Long parentId) {
+        closureMapper.insertNodeLinks(deptId, parentId == null ? 0L : parentId);
+    }
+
+    @Override
+    public void onDeptMoved(Long deptId, Long newParentId) {
+        closureMapper.deleteSubtreeAncestorLinks(deptId);
+        closureMapper.insertSubtreeLinks(deptId, newParentId == null ? 0L : newParentId);
+    }
+
+    @Override
+    public void onDeptDeleted(Long deptId) {
+        closureMapper.deleteNodeLinks(deptId);
+    }
+
+    @Override
+    public boolean isSelfOrDescendant(Long ancestorId, Long deptId) {
+        if (ancestorId == null || deptId == null) {
+            return false;
+        }
+        return closureMapper.countLink(ancestorId, deptId) > 0;
+    }
+
+    @Override
+    public DeptHierarchyCheckDTO checkConsistency() {
+        DeptIntervalTree tree = loadTree();
+
+        Map<LinkKey, Integer> expected = new HashMap<>((int) Math.min(Integer.MAX_VALUE, tree.closureLinkCount() * 2));
+        tree.forEachClosureLink((ancestorId, descendantId, depth) ->
+                expected.put(new LinkKey(ancestorId, descendantId), depth));
+
+        List<SysDeptClosure> actual = closureMapper.selectAllLinks();
+        List<String> samples = new ArrayList<>();
+        long matched = 0;
+        long stale = 0;
+        for (SysDeptClosure link : actual) {
+            Integer depth = expected.remove(new LinkKey(link.getAncestorId(), link.getDescendantId()));
+            if (depth != null && depth.equals(link.getDepth())) {
+                matched++;
+            } else {
+                stale++;
+                addSample(samples, "stale " + link.getAncestorId() + "->" + link.getDescendantId() + "@" + link.getDepth());
+            }
+        }
+        expected.forEach((key, depth) ->
+                addSample(samples, "missing " + key.ancestorId() + "->" + key.descendantId() + "@" + depth));
+
+        long missing = tree.closureLinkCount() - matched;
+        List<Long> orphans = Arrays.stream(tree.getOrphanIds()).boxed().toList();
+        List<Long> cyclic = Arrays.stream(tree.getUnreachableIds()).boxed().toList();
+        boolean consistent = missing == 0 && stale == 0 && cyclic.isEmpty();
+        if (!consistent) {
+            log.warn("部门闭包表不一致: missing={}, stale={}, cyclic={}, samples={}", missing, stale, cyclic, samples);
+        }
+        return new DeptHierarchyCheckDTO(consistent, tree.size(), tree.closureLinkCount(), actual.size(),
+                missing, stale, orphans, cyclic, samples);
+    }
+
+    @Override
+    @Transactional
+    public DeptHierarchyCheckDTO rebuild() {
+        log.info("重建部门闭包表");
+        DeptIntervalTree tree = loadTree();
+        closureMapper.deleteAllLinks();
+
+        List<SysDeptClosure> batch = new ArrayList<>(BATCH_SIZE);
+        tree.forEachClosureLink((ancestorId, descendantId, depth) -> {
+            SysDeptClosure link = new SysDeptClosure();
+            link.setAncestorId(ancestorId);
+            link.setDescendantId(descendantId);
+            link.setDepth(depth);
+            batch.add(link);
+            if (batch.size() == BATCH_SIZE) {
+                closureMapper.insertBatch(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            closureMapper.insertBatch(batch);
+        }
+
+        log.info("部门闭包表重建完成: depts={}, links={}", tree.size(), tree.closureLinkCount());
+        return checkConsistency();
+    }
+
+    private DeptIntervalTree loadTree() {
+        List<SysDept> depts = deptMapper.selectDeptParentList();
+        long[] ids = new long[depts.size()];
+        long[] parentIds = new long[depts.size()];
+        for (int i = 0; i < ids.length; i++) {
+            SysDept dept = depts.get(i);
+            ids[i] = dept.getId();
+            parentIds[i] = dept.getParentId() == null ? 0L : dept.getParentId();
+        }
+        return DeptIntervalTree.build(ids, parentIds);
+    }
+
+    private static void addSample(List<String> samples, String sample) {
+        if (samples.size() < SAMPLE_LIMIT) {
+            samples.add(sample);
+        }
+    }
+
+    private record LinkKey(long ancestorId, long descendantId) {
+    }
+}
@@ -4,6 +4,7 @@ import cn.hutool.core.bean.BeanUtil;
 import com.basebackend.system.dto.DeptDTO;
 import com.basebackend.system.entity.SysDept;
 import com.basebackend.system.mapper.SysDeptMapper;
+import com.basebackend.system.service.DeptHierarchyService;
 import com.basebackend.system.service.DeptService;
 import com.basebackend.system.util.AuditHelper;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +28,7 @@ public class DeptServiceImpl implements DeptService {
 
     private final SysDeptMapper deptMapper;
     private final AuditHelper auditHelper;
+    private final DeptHierarchyService deptHierarchyService;
 
     @Override
     public List<DeptDTO> getDeptTree() {
@@ -76,6 +79,7 @@ public class DeptServiceImpl implements DeptService {
         dept.setUpdateBy(currentUserId);
 
         deptMapper.insert(dept);
+        deptHierarchyService.onDeptCreated(dept.getId(), dept.getParentId());
 
         log.info("部门创建成功: {}", dept.getDeptName());
     }
@@ -95,6 +99,13 @@ public class DeptServiceImpl implements DeptService {
             throw new RuntimeException("部门名称已存在");
         }
 
+        // 移动部门时不能挂到自身或其下级部门下
+        Long oldParentId = dept.getParentId();
+        boolean moved = deptDTO.parentId() != null && !Objects.equals(oldParentId, deptDTO.parentId());
+        if (moved && deptHierarchyService.isSelfOrDescendant(dept.getId(), deptDTO.parentId())) {
+            throw new RuntimeException("不能将部门移动到自身或其下级部门下");
+        }
+
         // 更新部门信息
         BeanUtil.copyProperties(deptDTO, dept);
         
@@ -103,6 +114,9 @@ public class DeptServiceImpl implements DeptService {
         dept.setUpdateBy(auditHelper.getCurrentUserId());
 
         deptMapper.updateById(dept);
+        if (moved) {
+            deptHierarchyService.onDeptMoved(dept.getId(), dept.getParentId());
+        }
 
         log.info("部门更新成功: {}", dept.getDeptName());
     }
@@ -124,6 +138,7 @@ public class DeptServiceImpl implements DeptService {
 
         // 逻辑删除
         deptMapper.deleteById(id);
+        deptHierarchyService.onDeptDeleted(id);
 
         log.info("部门删除成功: {}", dept.getDeptName());
     }
@@ -28,6 +28,10 @@ public class MonitorServiceImpl implements MonitorService {
 
     private static final String ONLINE_USER_KEY = "online_users:";
     private static final String LOGIN_TOKEN_KEY = "login_tokens:";
+    /**
+     * 网关会话近端缓存的失效频道（gateway.security.session-cache.invalidation-channel）
+     */
+    private static final String SESSION_INVALIDATION_CHANNEL = "gateway:session:invalidate";
     private static final Map<String, String> MANAGED_CACHE_PATTERNS = Map.ofEntries(
             Map.entry("dict", "sys:dict:*"),
             Map.entry("sys_dict", "sys:dict:*"),
@@ -118,6 +122,11 @@ public class MonitorServiceImpl implements MonitorService {
                         String tokenKey = LOGIN_TOKEN_KEY + username;
                         redisService.delete(tokenKey);
 
+                        // 网关按 login_tokens:{userId} 校验会话，同时删除并通知网关丢弃本地缓存
+                        String userId = key.substring(ONLINE_USER_KEY.length());
+                        redisService.delete(LOGIN_TOKEN_KEY + userId);
+                        redisService.publish(SESSION_INVALIDATION_CHANNEL, userId);
+
                         log.info("用户强制下线成功");
                         return;
                     }
@@ -257,6 +266,9 @@ public class MonitorServiceImpl implements MonitorService {
 
         String cachePattern = resolveManagedCachePattern(cacheName);
         long deletedKeys = redisService.deleteByPattern(cachePattern);
+        if (cachePattern.startsWith(LOGIN_TOKEN_KEY)) {
+            redisService.publish(SESSION_INVALIDATION_CHANNEL, "*");
+        }
         log.info("缓存清空成功: cacheName={}, pattern={}, deletedKeys={}", cacheName, cachePattern, deletedKeys);
     }
 
@@ -268,6 +280,7 @@ public class MonitorServiceImpl implements MonitorService {
         for (String cachePattern : new LinkedHashSet<>(MANAGED_CACHE_PATTERNS.values())) {
             totalDeletedKeys += redisService.deleteByPattern(cachePattern);
         }
+        redisService.publish(SESSION_INVALIDATION_CHANNEL, "*");
         log.info("所有缓存清空成功: deletedKeys={}", totalDeletedKeys);
     }
 
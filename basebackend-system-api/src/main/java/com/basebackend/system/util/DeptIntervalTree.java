@@ -0,0 +1,262 @@
+package com.basebackend.system.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 部门层级区间树（内存中的嵌套集合）
+ * <p>
+ * 按先序遍历给每个部门编号，部门 {@code p} 的整棵子树就是先序数组上的连续区间
+ * {@code [p, p + size[p])}，因此"本部门及以下"是一次数组切片，"是否为下级"是一次区间比较。
+ * 实例不可变，部门变更后整体重建（5 万节点约几毫秒）。
+ * </p>
+ * <p>
+ * parent_id 为 0 或父部门不存在的部门视为根；父指针成环的部门无法从任何根到达，
+ * 不进入区间树，通过 {@link #getUnreachableIds()} 暴露给一致性检查。
+ * </p>
+ */
+public final class DeptIntervalTree {
+
+    private static final int ABSENT = -1;
+
+    /**
+     * 部门ID升序数组及其先序位置，用于 ID -> 位置的二分查找
+     */
+    private final long[] sortedIds;
+    private final int[] positionOfSorted;
+
+    /**
+     * 先序数组：位置 -> 部门ID / 父部门位置 / 子树大小 / 深度
+     */
+    private final long[] preorder;
+    private final int[] parentPosition;
+    private final int[] subtreeSize;
+    private final int[] depth;
+
+    private final long[] orphanIds;
+    private final long[] unreachableIds;
+
+    private DeptIntervalTree(long[] sortedIds, int[] positionOfSorted, long[] preorder, int[] parentPosition,
+                             int[] subtreeSize, int[] depth, long[] orphanIds, long[] unreachableIds) {
+        this.sortedIds = sortedIds;
+        this.positionOfSorted = positionOfSorted;
+        this.preorder = preorder;
+        this.parentPosition = parentPosition;
+        this.subtreeSize = subtreeSize;
+        this.depth = depth;
+        this.orphanIds = orphanIds;
+        this.unreachableIds = unreachableIds;
+    }
+
+    /**
+     * 根据父指针构建区间树
+     *
+     * @param ids       部门ID（不可重复）
+     * @param parentIds 对应的父部门ID，0 表示根
+     * @return 区间树
+     */
+    public static DeptIntervalTree build(long[] ids, long[] parentIds) {
+        if (ids.length != parentIds.length) {
+            throw new IllegalArgumentException("ids 与 parentIds 长度不一致");
+        }
+        int n = ids.length;
+
+        // 按 ID 排序的下标，用于查父节点
+        long[] sortedIds = ids.clone();
+        Arrays.sort(sortedIds);
+        for (int i = 1; i < n; i++) {
+            if (sortedIds[i] == sortedIds[i - 1]) {
+                throw new IllegalArgumentException("部门ID重复: " + sortedIds[i]);
+            }
+        }
+        int[] inputIndexOfSorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            inputIndexOfSorted[Arrays.binarySearch(sortedIds, ids[i])] = i;
+        }
+
+        // 父节点下标（ABSENT 表示根），并按父节点分组子节点（CSR 邻接表）
+        int[] parentIndex = new int[n];
+        int[] childCount = new int[n + 1];
+        List<Long> orphans = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            long parentId = parentIds[i];
+            int sorted = parentId == 0 || parentId == ids[i] ? -1 : Arrays.binarySearch(sortedIds, parentId);
+            if (sorted < 0) {
+                parentIndex[i] = ABSENT;
+                if (parentId != 0) {
+                    orphans.add(ids[i]);
+                }
+                childCount[n]++;
+            } else {
+                parentIndex[i] = inputIndexOfSorted[sorted];
+                childCount[parentIndex[i]]++;
+            }
+        }
+        int[] childStart = new int[n + 2];
+        for (int i = 0; i <= n; i++) {
+            childStart[i + 1] = childStart[i] + childCount[i];
+        }
+        int[] children = new int[n];
+        int[] fill = Arrays.copyOf(childStart, n + 1);
+        for (int i = 0; i < n; i++) {
+            int slot = parentIndex[i] == ABSENT ? n : parentIndex[i];
+            children[fill[slot]++] = i;
+        }
+
+        // 迭代先序遍历，避免深层级部门树栈溢出
+        long[] preorder = new long[n];
+        int[] parentPosition = new int[n];
+        int[] subtreeSize = new int[n];
+        int[] depth = new int[n];
+        int[] positionOfInput = new int[n];
+        Arrays.fill(positionOfInput, ABSENT);
+        int[] stack = new int[n];
+        int[] nextChild = new int[n];
+        int visited = 0;
+        for (int r = childStart[n]; r < childStart[n + 1]; r++) {
+            int top = 0;
+            stack[top++] = children[r];
+            positionOfInput[children[r]] = visited;
+            preorder[visited] = ids[children[r]];
+            parentPosition[visited] = ABSENT;
+            nextChild[children[r]] = childStart[children[r]];
+            visited++;
+            while (top > 0) {
+                int node = stack[top - 1];
+                if (nextChild[node] < childStart[node + 1]) {
+                    int child = children[nextChild[node]++];
+                    int position = visited++;
+                    positionOfInput[child] = position;
+                    preorder[position] = ids[child];
+                    parentPosition[position] = positionOfInput[node];
+                    depth[position] = depth[positionOfInput[node]] + 1;
+                    nextChild[child] = childStart[child];
+                    stack[top++] = child;
+                } else {
+                    top--;
+                    int position = positionOfInput[node];
+                    subtreeSize[position] = visited - position;
+                }
+            }
+        }
+
+        // 成环的部门不可达，从区间树中剔除
+        List<Long> unreachable = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (positionOfInput[i] == ABSENT) {
+                unreachable.add(ids[i]);
+            }
+        }
+        long[] reachableSortedIds = new long[visited];
+        int[] positionOfSorted = new int[visited];
+        int k = 0;
+        for (int s = 0; s < n; s++) {
+            int position = positionOfInput[inputIndexOfSorted[s]];
+            if (position != ABSENT) {
+                reachableSortedIds[k] = sortedIds[s];
+                positionOfSorted[k++] = position;
+            }
+        }
+
+        return new DeptIntervalTree(reachableSortedIds, positionOfSorted,
+                Arrays.copyOf(preorder, visited), Arrays.copyOf(parentPosition, visited),
+                Arrays.copyOf(subtreeSize, visited), Arrays.copyOf(depth, visited),
+                toArray(orphans), toArray(unreachable));
+    }
+
+    /**
+     * 部门及其所有下级部门ID（先序）
+     *
+     * @return 部门不存在时返回 null
+     */
+    public long[] getSelfAndDescendantIds(long deptId) {
+        int position = positionOf(deptId);
+        if (position == ABSENT) {
+            return null;
+        }
+        return Arrays.copyOfRange(preorder, position, position + subtreeSize[position]);
+    }
+
+    /**
+     * {@code deptId} 是否为 {@code ancestorId} 自身或其下级部门
+     */
+    public boolean isSelfOrDescendant(long ancestorId, long deptId) {
+        int ancestor = positionOf(ancestorId);
+        int position = positionOf(deptId);
+        return ancestor != ABSENT && position != ABSENT
+                && position >= ancestor && position < ancestor + subtreeSize[ancestor];
+    }
+
+    /**
+     * 部门深度（根为 0），部门不存在时返回 -1
+     */
+    public int depthOf(long deptId) {
+        int position = positionOf(deptId);
+        return position == ABSENT ? -1 : depth[position];
+    }
+
+    /**
+     * 遍历期望的闭包表记录（含自身、depth = 0 的记录）
+     */
+    public void forEachClosureLink(ClosureLinkConsumer consumer) {
+        for (int position = 0; position < preorder.length; position++) {
+            long descendant = preorder[position];
+            int ancestor = position;
+            while (ancestor != ABSENT) {
+                consumer.accept(preorder[ancestor], descendant, depth[position] - depth[ancestor]);
+                ancestor = parentPosition[ancestor];
+            }
+        }
+    }
+
+    /**
+     * 期望的闭包表记录数
+     */
+    public long closureLinkCount() {
+        long count = 0;
+        for (int d : depth) {
+            count += d + 1;
+        }
+        return count;
+    }
+
+    /**
+     * 区间树中的部门数
+     */
+    public int size() {
+        return preorder.length;
+    }
+
+    /**
+     * 父部门不存在的部门（被当作根处理）
+     */
+    public long[] getOrphanIds() {
+        return orphanIds.clone();
+    }
+
+    /**
+     * 父指针成环、无法从根到达的部门
+     */
+    public long[] getUnreachableIds() {
+        return unreachableIds.clone();
+    }
+
+    private int positionOf(long deptId) {
+        int sorted = Arrays.binarySearch(sortedIds, deptId);
+        return sorted < 0 ? ABSENT : positionOfSorted[sorted];
+    }
+
+    private static long[] toArray(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 闭包表记录消费者
+     */
+    @FunctionalInterface
+    public interface ClosureLinkConsumer {
+
+        void accept(long ancestorId, long descendantId, int depth);
+    }
+}
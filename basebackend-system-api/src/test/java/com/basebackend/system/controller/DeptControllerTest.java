@@ -6,6 +6,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.basebackend.system.base.BaseWebMvcTest;
+import com.basebackend.system.service.DeptHierarchyService;
 import com.basebackend.system.service.DeptService;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -26,6 +27,9 @@ class DeptControllerTest extends BaseWebMvcTest {
     @MockitoBean
     private DeptService deptService;
 
+    @MockitoBean
+    private DeptHierarchyService deptHierarchyService;
+
     @Test
     @DisplayName("GET /api/system/depts/tree - 应返回部门树")
     void shouldReturnDeptTree() throws Exception {
@@ -29,12 +29,14 @@ class DeptServiceTest extends BaseServiceTest {
     private SysDeptMapper deptMapper;
     @Mock
     private  AuditHelper auditHelper;
+    @Mock
+    private DeptHierarchyService deptHierarchyService;
 
     private DeptService deptService;
 
     @BeforeEach
     void setUp() {
-        deptService = new DeptServiceImpl(deptMapper,auditHelper);
+        deptService = new DeptServiceImpl(deptMapper, auditHelper, deptHierarchyService);
     }
 
     @Test
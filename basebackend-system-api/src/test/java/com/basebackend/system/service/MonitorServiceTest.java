@@ -90,6 +90,8 @@ class MonitorServiceTest extends BaseServiceTest {
         // Then
         verify(redisService).delete("online_users:user1");
         verify(redisService).delete("login_tokens:admin");
+        verify(redisService).delete("login_tokens:user1");
+        verify(redisService).publish("gateway:session:invalidate", "user1");
     }
 
     @Test
@@ -145,6 +147,7 @@ class MonitorServiceTest extends BaseServiceTest {
         verify(redisService).deleteByPattern("online_users:*");
         verify(redisService).deleteByPattern("login_tokens:*");
         verify(redisService).deleteByPattern("user:permissions:*");
+        verify(redisService).publish("gateway:session:invalidate", "*");
     }
 
     @Test
@@ -0,0 +1,130 @@
+package com.basebackend.system.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 部门层级"本部门及以下"查找基准（5 万部门）
+ * <p>
+ * {@code findInSetScan} 还原 {@code FIND_IN_SET(deptId, ancestors)} 的代价：每次过滤都扫描全部部门的祖先串；
+ * {@code recursiveChildren} 还原 {@code WITH RECURSIVE} 按 parent_id 逐层展开；
+ * {@code intervalSlice} 为 {@link DeptIntervalTree} 的先序区间切片；{@code rebuild} 为按 parent_id 构建区间树（一致性检查与重建闭包表时）的代价。
+ * {@link #setUp()} 先校验三种写法得到的部门集合一致。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeptIntervalTreeBenchmark {
+
+    private static final int DEPT_COUNT = 50_000;
+
+    /**
+     * large 为一级部门（数千个下级），small 为第三、四层附近的部门（数百个下级）
+     */
+    @Param({"large", "small"})
+    public String subtree;
+
+    private long[] ids;
+    private long[] parentIds;
+    private String[] ancestors;
+    private Map<Long, List<Long>> childrenByParent;
+    private DeptIntervalTree tree;
+    private long deptId;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ids = new long[DEPT_COUNT];
+        parentIds = new long[DEPT_COUNT];
+        ancestors = new String[DEPT_COUNT];
+        childrenByParent = new HashMap<>();
+        for (int i = 0; i < DEPT_COUNT; i++) {
+            ids[i] = i + 1;
+            // 前 8 个为一级部门，其后每个部门随机挂到已创建的部门下（随机递归树，平均约 10 层）
+            int parent = i < 8 ? -1 : random.nextInt(i);
+            parentIds[i] = parent < 0 ? 0 : ids[parent];
+            ancestors[i] = parent < 0 ? "0" : ancestors[parent] + "," + ids[parent];
+            childrenByParent.computeIfAbsent(parentIds[i], k -> new ArrayList<>()).add(ids[i]);
+        }
+        tree = DeptIntervalTree.build(ids, parentIds);
+        deptId = "large".equals(subtree) ? ids[0] : ids[100];
+
+        long[] expected = sorted(findInSetScan());
+        if (!Arrays.equals(expected, sorted(recursiveChildren())) || !Arrays.equals(expected, sorted(intervalSlice()))) {
+            throw new IllegalStateException("三种写法得到的部门集合不一致: deptId=" + deptId);
+        }
+    }
+
+    @Benchmark
+    public long[] findInSetScan() {
+        String token = Long.toString(deptId);
+        long[] result = new long[DEPT_COUNT];
+        int size = 0;
+        for (int i = 0; i < DEPT_COUNT; i++) {
+            if (ids[i] == deptId || Arrays.asList(ancestors[i].split(",")).contains(token)) {
+                result[size++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    @Benchmark
+    public long[] recursiveChildren() {
+        List<Long> result = new ArrayList<>();
+        ArrayDeque<Long> queue = new ArrayDeque<>();
+        queue.add(deptId);
+        while (!queue.isEmpty()) {
+            Long id = queue.poll();
+            result.add(id);
+            queue.addAll(childrenByParent.getOrDefault(id, List.of()));
+        }
+        return result.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Benchmark
+    public long[] intervalSlice() {
+        return tree.getSelfAndDescendantIds(deptId);
+    }
+
+    @Benchmark
+    public DeptIntervalTree rebuild() {
+        return DeptIntervalTree.build(ids, parentIds);
+    }
+
+    private static long[] sorted(long[] values) {
+        long[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DeptIntervalTreeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
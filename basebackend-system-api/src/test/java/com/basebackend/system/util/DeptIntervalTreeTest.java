@@ -0,0 +1,85 @@
+package com.basebackend.system.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 部门区间树测试
+ */
+@DisplayName("DeptIntervalTree 部门区间树测试")
+class DeptIntervalTreeTest {
+
+    /**
+     * 1
+     * ├── 2
+     * │   ├── 4
+     * │   └── 5
+     * │       └── 7
+     * └── 3
+     *     └── 6
+     * 8
+     */
+    private final DeptIntervalTree tree = DeptIntervalTree.build(
+            new long[]{5, 1, 7, 2, 3, 4, 6, 8},
+            new long[]{2, 0, 5, 1, 1, 2, 3, 0});
+
+    @Test
+    @DisplayName("子树为先序数组上的连续区间")
+    void shouldReturnSubtreeAsInterval() {
+        assertThat(tree.getSelfAndDescendantIds(1)).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7);
+        assertThat(tree.getSelfAndDescendantIds(2)).containsExactlyInAnyOrder(2, 4, 5, 7);
+        assertThat(tree.getSelfAndDescendantIds(7)).containsExactly(7);
+        assertThat(tree.getSelfAndDescendantIds(8)).containsExactly(8);
+        assertThat(tree.getSelfAndDescendantIds(99)).isNull();
+    }
+
+    @Test
+    @DisplayName("判断上下级关系与深度")
+    void shouldAnswerAncestryAndDepth() {
+        assertThat(tree.isSelfOrDescendant(2, 7)).isTrue();
+        assertThat(tree.isSelfOrDescendant(2, 2)).isTrue();
+        assertThat(tree.isSelfOrDescendant(2, 6)).isFalse();
+        assertThat(tree.isSelfOrDescendant(7, 2)).isFalse();
+        assertThat(tree.depthOf(1)).isZero();
+        assertThat(tree.depthOf(7)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("生成的闭包记录与层级一致")
+    void shouldGenerateClosureLinks() {
+        List<String> links = new ArrayList<>();
+        tree.forEachClosureLink((ancestor, descendant, depth) -> links.add(ancestor + "->" + descendant + "@" + depth));
+
+        assertThat(links).hasSize((int) tree.closureLinkCount())
+                .contains("7->7@0", "5->7@1", "2->7@2", "1->7@3", "8->8@0")
+                .doesNotContain("3->7@2");
+        assertThat(tree.closureLinkCount()).isEqualTo(19);
+    }
+
+    @Test
+    @DisplayName("识别孤儿部门与成环部门")
+    void shouldReportOrphansAndCycles() {
+        DeptIntervalTree broken = DeptIntervalTree.build(
+                new long[]{1, 2, 3, 4, 5},
+                new long[]{0, 9, 4, 3, 1});
+
+        assertThat(broken.getOrphanIds()).containsExactly(2);
+        assertThat(broken.getUnreachableIds()).containsExactlyInAnyOrder(3, 4);
+        assertThat(broken.getSelfAndDescendantIds(2)).containsExactly(2);
+        assertThat(broken.getSelfAndDescendantIds(3)).isNull();
+        assertThat(broken.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("部门ID重复时拒绝构建")
+    void shouldRejectDuplicateIds() {
+        assertThatThrownBy(() -> DeptIntervalTree.build(new long[]{1, 1}, new long[]{0, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -24,6 +24,10 @@ public class UserSessionServiceImpl implements UserSessionService {
     private static final String USER_PERMISSIONS_KEY = "user_permissions:";
     private static final String USER_ROLES_KEY = "user_roles:";
     private static final String ONLINE_USER_KEY = "online_users:";
+    /**
+     * 网关会话近端缓存的失效频道（gateway.security.session-cache.invalidation-channel）
+     */
+    private static final String SESSION_INVALIDATION_CHANNEL = "gateway:session:invalidate";
 
     private final RedisService redisService;
     private final JwtUtil jwtUtil;
@@ -73,6 +77,8 @@ public class UserSessionServiceImpl implements UserSessionService {
                 USER_ROLES_KEY + userId,
                 ONLINE_USER_KEY + userId
         ));
+        // 通知各网关节点丢弃本地缓存的会话
+        redisService.publish(SESSION_INVALIDATION_CHANNEL, String.valueOf(userId));
     }
 
     private String readStringValue(String key) {
@@ -0,0 +1,25 @@
+-- 部门闭包表：每个 (祖先, 后代) 对一行，含 depth = 0 的自身记录
+-- "本部门及以下" 数据权限通过主键前缀 ancestor_id 做范围查询，不再扫描 sys_dept
+
+CREATE TABLE IF NOT EXISTS `sys_dept_closure` (
+    `ancestor_id` BIGINT NOT NULL COMMENT '祖先部门ID',
+    `descendant_id` BIGINT NOT NULL COMMENT '后代部门ID',
+    `depth` INT NOT NULL COMMENT '层级距离，自身为0',
+    PRIMARY KEY (`ancestor_id`, `descendant_id`),
+    KEY `idx_sys_dept_closure_descendant` (`descendant_id`, `depth`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='部门闭包表';
+
+-- 按现有 parent_id 回填
+INSERT IGNORE INTO `sys_dept_closure` (`ancestor_id`, `descendant_id`, `depth`)
+WITH RECURSIVE dept_path AS (
+    SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth
+    FROM sys_dept
+    WHERE deleted = 0
+
+    UNION ALL
+
+    SELECT p.ancestor_id, d.id, p.depth + 1
+    FROM dept_path p
+    INNER JOIN sys_dept d ON d.parent_id = p.descendant_id AND d.deleted = 0
+)
+SELECT ancestor_id, descendant_id, depth FROM dept_path;